@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2018 - 2024, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.application.mgt.common;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Read access to a stored application artifact, which copies the requested bytes straight from the file, or from the
+ * memory the artifact is cached in, to the target channel without passing them through heap buffers.
+ */
+public class ArtifactChannel implements Closeable {
+
+    private static final String ANY_ETAG = "*";
+    private static final String WEAK_ETAG_PREFIX = "W/";
+
+    private final FileChannel fileChannel;
+    private final ByteBuffer content;
+    private final long size;
+    private final long lastModified;
+    private final String eTag;
+
+    /**
+     * @param fileChannel  channel of the artifact file, which is closed with this instance.
+     * @param size         size of the artifact in bytes.
+     * @param lastModified last modified time of the artifact in milliseconds.
+     * @param eTag         quoted strong entity tag of the artifact.
+     */
+    public ArtifactChannel(FileChannel fileChannel, long size, long lastModified, String eTag) {
+        this.fileChannel = fileChannel;
+        this.content = null;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.eTag = eTag;
+    }
+
+    /**
+     * @param content      read only content of the artifact.
+     * @param lastModified last modified time of the artifact in milliseconds.
+     * @param eTag         quoted strong entity tag of the artifact.
+     */
+    public ArtifactChannel(ByteBuffer content, long lastModified, String eTag) {
+        this.fileChannel = null;
+        this.content = content;
+        this.size = content.remaining();
+        this.lastModified = lastModified;
+        this.eTag = eTag;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * @param ifNoneMatch value of the If-None-Match header of the request, which may be null.
+     * @return true if the client already has the artifact, in which case it is not to be sent again.
+     */
+    public boolean isNotModified(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (ANY_ETAG.equals(tag)) {
+                return true;
+            }
+            if (tag.startsWith(WEAK_ETAG_PREFIX)) {
+                tag = tag.substring(WEAK_ETAG_PREFIX.length());
+            }
+            if (tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes a range of the artifact to the target channel.
+     *
+     * @param position position of the first byte to write.
+     * @param count    number of bytes to write.
+     * @param target   channel to write to.
+     * @return number of bytes written, which is less than the count only if the artifact was truncated meanwhile.
+     * @throws IOException if the range is not within the artifact or an error occurred while writing.
+     */
+    public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+        if (position < 0 || count < 0 || position + count > size) {
+            throw new IOException("Range " + position + "+" + count + " is not within the artifact of size " + size);
+        }
+        if (content != null) {
+            ByteBuffer range = content.duplicate();
+            range.position((int) position);
+            range.limit((int) (position + count));
+            while (range.hasRemaining()) {
+                target.write(range);
+            }
+            return count;
+        }
+        long transferred = 0;
+        while (transferred < count) {
+            long written = fileChannel.transferTo(position + transferred, count - transferred, target);
+            if (written <= 0) {
+                break;
+            }
+            transferred += written;
+        }
+        return transferred;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (fileChannel != null) {
+            fileChannel.close();
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2018 - 2024, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.application.mgt.common;
+
+import io.entgra.device.mgt.core.device.mgt.common.DeviceIdentifier;
+import io.entgra.device.mgt.core.device.mgt.common.operation.mgt.Activity;
+import io.swagger.annotations.ApiModelProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Progress of a bulk app operation which is performed asynchronously, chunk by chunk, after the request is accepted.
+ */
+public class BulkAppOperationJob {
+
+    /**
+     * Stages of the bulk app operation. Each chunk of devices passes through the external store subscription and
+     * operation fan out stages, after the subscribing devices are resolved.
+     */
+    public enum Stage {
+        QUEUED, RESOLVING_DEVICES, EXTERNAL_STORE_SUBSCRIPTION, OPERATION_FAN_OUT, SUBSCRIPTION_PERSISTENCE,
+        COMPLETED, FAILED;
+
+        public boolean isFinished() {
+            return this == COMPLETED || this == FAILED;
+        }
+    }
+
+    @ApiModelProperty(
+            name = "jobId",
+            value = "Id of the bulk app operation job"
+    )
+    private String jobId;
+
+    @ApiModelProperty(
+            name = "applicationUUID",
+            value = "UUID of the application release"
+    )
+    private String applicationUUID;
+
+    @ApiModelProperty(
+            name = "subType",
+            value = "Subscription type. i.e DEVICE, USER, ROLE or GROUP"
+    )
+    private String subType;
+
+    @ApiModelProperty(
+            name = "action",
+            value = "Performing action. i.e INSTALL or UNINSTALL"
+    )
+    private String action;
+
+    @ApiModelProperty(
+            name = "stage",
+            value = "Current stage of the job"
+    )
+    private Stage stage;
+
+    @ApiModelProperty(
+            name = "totalDevices",
+            value = "Number of distinct devices resolved for the subscribers"
+    )
+    private int totalDevices;
+
+    @ApiModelProperty(
+            name = "processedDevices",
+            value = "Number of devices processed so far"
+    )
+    private int processedDevices;
+
+    @ApiModelProperty(
+            name = "totalChunks",
+            value = "Number of chunks the devices are processed in"
+    )
+    private int totalChunks;
+
+    @ApiModelProperty(
+            name = "processedChunks",
+            value = "Number of chunks processed so far"
+    )
+    private int processedChunks;
+
+    @ApiModelProperty(
+            name = "activities",
+            value = "Activities of the operations added so far"
+    )
+    private List<Activity> activities = new ArrayList<>();
+
+    @ApiModelProperty(
+            name = "ignoredDeviceIdentifiers",
+            value = "List of devices which the action is not applicable to, or which already have a pending "
+                    + "operation for the application release.",
+            dataType = "List[io.entgra.device.mgt.core.device.mgt.common.DeviceIdentifier]"
+    )
+    private List<DeviceIdentifier> ignoredDeviceIdentifiers = new ArrayList<>();
+
+    @ApiModelProperty(
+            name = "errorDeviceIdentifiers",
+            value = "List of devices that either device identity is not exist or device type doesn't compatible with "
+                    + "the supported device type of the application.",
+            dataType = "List[io.entgra.device.mgt.core.device.mgt.common.DeviceIdentifier]"
+    )
+    private List<DeviceIdentifier> errorDeviceIdentifiers = new ArrayList<>();
+
+    @ApiModelProperty(
+            name = "failedDeviceIdentifiers",
+            value = "List of devices of the chunks which couldn't be processed.",
+            dataType = "List[io.entgra.device.mgt.core.device.mgt.common.DeviceIdentifier]"
+    )
+    private List<DeviceIdentifier> failedDeviceIdentifiers = new ArrayList<>();
+
+    @ApiModelProperty(
+            name = "message",
+            value = "Reason for the failure of the job or of its chunks"
+    )
+    private String message;
+
+    @ApiModelProperty(
+            name = "createdTime",
+            value = "Time the job was accepted, in milliseconds"
+    )
+    private long createdTime;
+
+    @ApiModelProperty(
+            name = "lastUpdatedTime",
+            value = "Time the progress of the job was last updated, in milliseconds"
+    )
+    private long lastUpdatedTime;
+
+    public BulkAppOperationJob() {
+    }
+
+    /**
+     * Creates a snapshot of a job, so that its progress can be read while the job is updated.
+     *
+     * @param job job to copy.
+     */
+    public BulkAppOperationJob(BulkAppOperationJob job) {
+        this.jobId = job.jobId;
+        this.applicationUUID = job.applicationUUID;
+        this.subType = job.subType;
+        this.action = job.action;
+        this.stage = job.stage;
+        this.totalDevices = job.totalDevices;
+        this.processedDevices = job.processedDevices;
+        this.totalChunks = job.totalChunks;
+        this.processedChunks = job.processedChunks;
+        this.activities = new ArrayList<>(job.activities);
+        this.ignoredDeviceIdentifiers = new ArrayList<>(job.ignoredDeviceIdentifiers);
+        this.errorDeviceIdentifiers = new ArrayList<>(job.errorDeviceIdentifiers);
+        this.failedDeviceIdentifiers = new ArrayList<>(job.failedDeviceIdentifiers);
+        this.message = job.message;
+        this.createdTime = job.createdTime;
+        this.lastUpdatedTime = job.lastUpdatedTime;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getApplicationUUID() {
+        return applicationUUID;
+    }
+
+    public void setApplicationUUID(String applicationUUID) {
+        this.applicationUUID = applicationUUID;
+    }
+
+    public String getSubType() {
+        return subType;
+    }
+
+    public void setSubType(String subType) {
+        this.subType = subType;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public Stage getStage() {
+        return stage;
+    }
+
+    public void setStage(Stage stage) {
+        this.stage = stage;
+    }
+
+    public int getTotalDevices() {
+        return totalDevices;
+    }
+
+    public void setTotalDevices(int totalDevices) {
+        this.totalDevices = totalDevices;
+    }
+
+    public int getProcessedDevices() {
+        return processedDevices;
+    }
+
+    public void setProcessedDevices(int processedDevices) {
+        this.processedDevices = processedDevices;
+    }
+
+    public int getTotalChunks() {
+        return totalChunks;
+    }
+
+    public void setTotalChunks(int totalChunks) {
+        this.totalChunks = totalChunks;
+    }
+
+    public int getProcessedChunks() {
+        return processedChunks;
+    }
+
+    public void setProcessedChunks(int processedChunks) {
+        this.processedChunks = processedChunks;
+    }
+
+    public List<Activity> getActivities() {
+        return activities;
+    }
+
+    public void setActivities(List<Activity> activities) {
+        this.activities = activities;
+    }
+
+    public List<DeviceIdentifier> getIgnoredDeviceIdentifiers() {
+        return ignoredDeviceIdentifiers;
+    }
+
+    public void setIgnoredDeviceIdentifiers(List<DeviceIdentifier> ignoredDeviceIdentifiers) {
+        this.ignoredDeviceIdentifiers = ignoredDeviceIdentifiers;
+    }
+
+    public List<DeviceIdentifier> getErrorDeviceIdentifiers() {
+        return errorDeviceIdentifiers;
+    }
+
+    public void setErrorDeviceIdentifiers(List<DeviceIdentifier> errorDeviceIdentifiers) {
+        this.errorDeviceIdentifiers = errorDeviceIdentifiers;
+    }
+
+    public List<DeviceIdentifier> getFailedDeviceIdentifiers() {
+        return failedDeviceIdentifiers;
+    }
+
+    public void setFailedDeviceIdentifiers(List<DeviceIdentifier> failedDeviceIdentifiers) {
+        this.failedDeviceIdentifiers = failedDeviceIdentifiers;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public long getCreatedTime() {
+        return createdTime;
+    }
+
+    public void setCreatedTime(long createdTime) {
+        this.createdTime = createdTime;
+    }
+
+    public long getLastUpdatedTime() {
+        return lastUpdatedTime;
+    }
+
+    public void setLastUpdatedTime(long lastUpdatedTime) {
+        this.lastUpdatedTime = lastUpdatedTime;
+    }
+}
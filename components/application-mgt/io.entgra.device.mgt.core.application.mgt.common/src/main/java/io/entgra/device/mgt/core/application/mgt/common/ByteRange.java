@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2018 - 2024, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.application.mgt.common;
+
+/**
+ * Byte range of an artifact requested through the HTTP Range header, which lets devices resume interrupted
+ * downloads.
+ */
+public class ByteRange {
+
+    private static final String BYTES_UNIT = "bytes=";
+
+    private final long start;
+    private final long length;
+    private final long size;
+
+    private ByteRange(long start, long length, long size) {
+        this.start = start;
+        this.length = length;
+        this.size = size;
+    }
+
+    /**
+     * Resolves a single byte range against the size of an artifact. Multiple ranges are not supported, hence the
+     * whole artifact is to be sent for them, as allowed for any Range header.
+     *
+     * @param rangeHeader value of the Range header, which may be null.
+     * @param size        size of the artifact in bytes.
+     * @return the requested range, or null if the whole artifact is to be sent.
+     */
+    public static ByteRange parse(String rangeHeader, long size) {
+        if (rangeHeader == null || !rangeHeader.startsWith(BYTES_UNIT) || rangeHeader.indexOf(',') >= 0) {
+            return null;
+        }
+        String range = rangeHeader.substring(BYTES_UNIT.length()).trim();
+        int separator = range.indexOf('-');
+        if (separator < 0) {
+            return null;
+        }
+        try {
+            String first = range.substring(0, separator).trim();
+            String last = range.substring(separator + 1).trim();
+            if (first.isEmpty()) {
+                long suffixLength = Long.parseLong(last);
+                if (suffixLength <= 0 || size == 0) {
+                    return new ByteRange(-1, 0, size);
+                }
+                long length = Math.min(suffixLength, size);
+                return new ByteRange(size - length, length, size);
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (start < 0 || end < start) {
+                return null;
+            }
+            if (start >= size) {
+                return new ByteRange(-1, 0, size);
+            }
+            end = Math.min(end, size - 1);
+            return new ByteRange(start, end - start + 1, size);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return false if the range starts beyond the end of the artifact, in which case the request is to be answered
+     * with 416 Range Not Satisfiable.
+     */
+    public boolean isSatisfiable() {
+        return start >= 0;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * @return value of the Content-Range header of the response.
+     */
+    public String getContentRange() {
+        if (!isSatisfiable()) {
+            return "bytes */" + size;
+        }
+        return "bytes " + start + "-" + (start + length - 1) + "/" + size;
+    }
+}
@@ -22,8 +22,14 @@ package io.entgra.device.mgt.core.application.mgt.common;
 import java.io.InputStream;
 
 public class ChunkDescriptor {
+    /**
+     * Offset of a chunk which is to be written after the data received so far.
+     */
+    public static final long APPEND = -1;
+
     private FileDescriptor associateFileDescriptor;
     private long size;
+    private long offset = APPEND;
     private InputStream chunk;
 
     public FileDescriptor getAssociateFileDescriptor() {
@@ -42,6 +48,14 @@ public class ChunkDescriptor {
         this.size = size;
     }
 
+    public long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(long offset) {
+        this.offset = offset;
+    }
+
     public InputStream getChunk() {
         return chunk;
     }
@@ -26,6 +26,17 @@ public class FileMetaEntry {
     private long size;
     private String absolutePath;
 
+    /***
+     * Size of the chunks the file is uploaded in, where 0 means the file is uploaded in chunks of any size which are
+     * appended in the order they are received.
+     */
+    private long chunkSize;
+
+    /***
+     * Bitmap of the chunks written so far, which lets an interrupted upload resume with the missing chunks.
+     */
+    private long[] receivedChunks;
+
     public String getAbsolutePath() {
         return absolutePath;
     }
@@ -57,4 +68,20 @@ public class FileMetaEntry {
     public void setSize(long size) {
         this.size = size;
     }
+
+    public long getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(long chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public long[] getReceivedChunks() {
+        return receivedChunks;
+    }
+
+    public void setReceivedChunks(long[] receivedChunks) {
+        this.receivedChunks = receivedChunks;
+    }
 }
@@ -19,6 +19,8 @@
 package io.entgra.device.mgt.core.application.mgt.common.services;
 
 import io.entgra.device.mgt.core.application.mgt.common.ApplicationInstaller;
+import io.entgra.device.mgt.core.application.mgt.common.ArtifactChannel;
+import io.entgra.device.mgt.core.application.mgt.common.SpooledArtifact;
 import io.entgra.device.mgt.core.application.mgt.common.dto.ApplicationReleaseDTO;
 import io.entgra.device.mgt.core.application.mgt.common.exception.ApplicationStorageManagementException;
 import io.entgra.device.mgt.core.application.mgt.common.exception.ResourceManagementException;
@@ -69,6 +71,50 @@ public interface ApplicationStorageManager {
     void uploadReleaseArtifact(ApplicationReleaseDTO applicationRelease, String deviceType, InputStream binaryFile,
             int tenantId) throws ResourceManagementException;
 
+    /**
+     * To write a release binary file to the application storage, computing its MD5 and SHA-256 values while it is
+     * written.
+     *
+     * @param binaryFile Binary file of the application.
+     * @param tenantId Tenant Id
+     * @return {@link SpooledArtifact} of the written file, which is to be moved to the release directory with
+     * {@link #uploadReleaseArtifact(ApplicationReleaseDTO, SpooledArtifact, int)} or deleted with
+     * {@link #deleteSpooledArtifact(SpooledArtifact)}.
+     * @throws ApplicationStorageManagementException if IO Exception occurred while writing the binary file.
+     */
+    SpooledArtifact spoolReleaseArtifact(InputStream binaryFile, int tenantId)
+            throws ApplicationStorageManagementException;
+
+    /**
+     * To get App Installer data such as version, package name etc. from a spooled binary file.
+     *
+     * @param spooledArtifact Spooled binary file of the application.
+     * @param deviceType Compatible device type of the application.
+     * @return {@link ApplicationInstaller}
+     * @throws ApplicationStorageManagementException if device type is incorrect or error occurred while parsing binary
+     * data.
+     */
+    ApplicationInstaller getAppInstallerData(SpooledArtifact spooledArtifact, String deviceType)
+            throws ApplicationStorageManagementException;
+
+    /**
+     * To move a spooled binary file to the release directory of an Application.
+     *
+     * @param applicationRelease Application Release Object.
+     * @param spooledArtifact Spooled binary file for the release.
+     * @param tenantId  Tenant Id
+     * @throws ResourceManagementException if IO Exception occurred while moving the binary file.
+     */
+    void uploadReleaseArtifact(ApplicationReleaseDTO applicationRelease, SpooledArtifact spooledArtifact,
+            int tenantId) throws ResourceManagementException;
+
+    /**
+     * To delete a spooled binary file which is not moved to a release directory.
+     *
+     * @param spooledArtifact Spooled binary file.
+     */
+    void deleteSpooledArtifact(SpooledArtifact spooledArtifact);
+
     /**
      * To upload release artifacts for an Application.
      *
@@ -113,6 +159,20 @@ public interface ApplicationStorageManager {
     InputStream getFileStream(String hashVal, String folderName, String fileName, int tenantId)
             throws ApplicationStorageManagementException;
 
+    /**
+     * Get the {@link ArtifactChannel} of the file which is located in filePath, through which the file or a range of
+     * it is written to the response without being copied through heap buffers.
+     *
+     * @param hashVal Hash Value of the application release.
+     * @param folderName Folder name file resides.
+     * @param fileName File name of the file.
+     * @param tenantId Tenant ID
+     * @return {@link ArtifactChannel} which is to be closed by the caller, or null if the file doesn't exist.
+     * @throws ApplicationStorageManagementException throws if an error occurs when accessing the file.
+     */
+    ArtifactChannel getFileChannel(String hashVal, String folderName, String fileName, int tenantId)
+            throws ApplicationStorageManagementException;
+
     /**
      * Get the InputStream of the file which is located in filePath
      *
@@ -18,6 +18,7 @@
 
 package io.entgra.device.mgt.core.application.mgt.common.services;
 
+import io.entgra.device.mgt.core.application.mgt.common.ArtifactChannel;
 import io.entgra.device.mgt.core.application.mgt.common.config.LifecycleState;
 import io.entgra.device.mgt.core.application.mgt.common.exception.ApplicationManagementException;
 import io.entgra.device.mgt.core.application.mgt.common.exception.LifecycleManagementException;
@@ -41,6 +42,18 @@ public interface AppmDataHandler {
     InputStream getArtifactStream(int tenantId, String appHashValue, String folderName, String artifactName)
             throws ApplicationManagementException;
 
+    /**
+     * Get the channel of the Artifact, which supports conditional and range requests
+     * @param tenantId Tenant Id
+     * @param appHashValue Hash Value of the application
+     * @param folderName Folder Name
+     * @param artifactName Artifact Name
+     * @return {@link ArtifactChannel} which is to be closed by the caller
+     * @throws ApplicationManagementException if error occurred while getting channel of the artifact
+     */
+    ArtifactChannel getArtifactChannel(int tenantId, String appHashValue, String folderName, String artifactName)
+            throws ApplicationManagementException;
+
     /**
      * Get agent apk
      *
@@ -28,6 +28,7 @@ import io.entgra.device.mgt.core.device.mgt.common.exceptions.NotFoundException;
 
 import java.io.InputStream;
 import java.net.URL;
+import java.util.List;
 
 public interface FileTransferService {
     /**
@@ -48,6 +49,19 @@ public interface FileTransferService {
      */
     ChunkDescriptor resolve(String artifactHolder, InputStream chunk) throws FileTransferServiceException, NotFoundException;
 
+    /**
+     * Resolve {@link ChunkDescriptor} of a chunk which is to be written at a given offset of the artifact, so that
+     * chunks can be uploaded in parallel and in any order
+     * @param artifactHolder Artifact holder's UUID string
+     * @param chunk Data chunk
+     * @param offset Offset of the chunk in the artifact, which should be a multiple of the chunk size of the upload
+     * @return {@link ChunkDescriptor}
+     * @throws FileTransferServiceException Throws when error encountered while resolving chunk descriptor
+     * @throws NotFoundException Throws when artifact holder not exists in the file system
+     */
+    ChunkDescriptor resolve(String artifactHolder, InputStream chunk, long offset)
+            throws FileTransferServiceException, NotFoundException;
+
     /**
      * Write chunk of data
      * @param chunkDescriptor {@link ChunkDescriptor}
@@ -55,6 +69,15 @@ public interface FileTransferService {
      */
     void writeChunk(ChunkDescriptor chunkDescriptor) throws FileTransferServiceException;
 
+    /**
+     * Get the offsets of the chunks which are yet to be written, so that an interrupted upload can be resumed
+     * @param artifactHolder Artifact holder's UUID string
+     * @return Offsets of the missing chunks, or the offset to append from if the upload is not chunked
+     * @throws FileTransferServiceException Throws when error encountered while reading the upload status
+     * @throws NotFoundException Throws when artifact holder not exists in the file system
+     */
+    List<Long> getPendingChunkOffsets(String artifactHolder) throws FileTransferServiceException, NotFoundException;
+
     /**
      * Check if the provided download url point to a file which exists on the local env or not
      * @param downloadUrl Download URL
@@ -18,6 +18,7 @@
 package io.entgra.device.mgt.core.application.mgt.common.services;
 
 import io.entgra.device.mgt.core.application.mgt.common.ApplicationInstallResponse;
+import io.entgra.device.mgt.core.application.mgt.common.BulkAppOperationJob;
 import io.entgra.device.mgt.core.application.mgt.common.CategorizedSubscriptionResult;
 import io.entgra.device.mgt.core.application.mgt.common.DeviceSubscription;
 import io.entgra.device.mgt.core.application.mgt.common.DeviceSubscriptionData;
@@ -86,6 +87,35 @@ public interface SubscriptionManager {
                                                            boolean isOperationReExecutingDisabled)
             throws ApplicationManagementException;
 
+    /**
+     * Accepts a bulk subscription operation for a given application and a subscriber list, which is performed
+     * asynchronously on the devices of the subscribers, chunk by chunk.
+     * @param applicationUUID UUID of the application to subscribe/unsubscribe
+     * @param params          list of subscribers.
+     *                        This list can be of either {@link DeviceIdentifier} if {@param subType} is equal to
+     *                        DEVICE or {@link String} if {@param subType} is USER, ROLE or GROUP
+     * @param subType         subscription type. E.g. <code>DEVICE, USER, ROLE, GROUP</code>
+     * @param action          subscription action. E.g. <code>INSTALL/UNINSTALL</code>
+     * @param <T>             generic type of the method.
+     * @param properties      Application properties that need to be sent with operation payload to the device
+     * @param isOperationReExecutingDisabled To prevent adding the application subscribing operation to devices that are
+     *                                      already subscribed application successfully.
+     * @return {@link BulkAppOperationJob} which has the id to query the progress of the operation
+     * @throws ApplicationManagementException if the request is invalid, the application doesn't exist or the operation
+     * can't be accepted
+     */
+    <T> BulkAppOperationJob submitBulkAppOperation(String applicationUUID, List<T> params, String subType,
+                                                   String action, Properties properties,
+                                                   boolean isOperationReExecutingDisabled)
+            throws ApplicationManagementException;
+
+    /**
+     * Get the progress of a bulk subscription operation accepted by {@link #submitBulkAppOperation}.
+     * @param jobId Id of the bulk app operation job
+     * @return {@link BulkAppOperationJob}, or null if the job doesn't exist in the tenant or has expired
+     */
+    BulkAppOperationJob getBulkAppOperationJob(String jobId);
+
     /**
      * Create an entry related to the scheduled task in the database.
      *
@@ -17,6 +17,7 @@
  */
 package io.entgra.device.mgt.core.application.mgt.core.config;
 
+import io.entgra.device.mgt.core.application.mgt.common.config.BulkAppOperationConfiguration;
 import io.entgra.device.mgt.core.application.mgt.common.config.LifecycleState;
 import io.entgra.device.mgt.core.application.mgt.common.config.MDMConfig;
 import io.entgra.device.mgt.core.application.mgt.common.config.RatingConfiguration;
@@ -44,6 +45,8 @@ public class Configuration {
 
     private MDMConfig mdmConfig;
 
+    private BulkAppOperationConfiguration bulkAppOperationConfiguration;
+
     @XmlElement(name = "DatasourceName", required = true)
     public String getDatasourceName() {
         return datasourceName;
@@ -95,5 +98,13 @@ public class Configuration {
     public void setMdmConfig(MDMConfig mdmConfig) {
         this.mdmConfig = mdmConfig;
     }
-}
 
+    @XmlElement(name = "BulkAppOperationConfig")
+    public BulkAppOperationConfiguration getBulkAppOperationConfiguration() {
+        return bulkAppOperationConfiguration;
+    }
+
+    public void setBulkAppOperationConfiguration(BulkAppOperationConfiguration bulkAppOperationConfiguration) {
+        this.bulkAppOperationConfiguration = bulkAppOperationConfiguration;
+    }
+}
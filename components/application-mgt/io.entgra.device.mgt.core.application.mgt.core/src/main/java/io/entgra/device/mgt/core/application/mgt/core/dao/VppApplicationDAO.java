@@ -23,6 +23,8 @@ import io.entgra.device.mgt.core.application.mgt.common.dto.VppAssociationDTO;
 import io.entgra.device.mgt.core.application.mgt.common.dto.VppUserDTO;
 import io.entgra.device.mgt.core.application.mgt.core.exception.ApplicationManagementDAOException;
 
+import java.util.List;
+
 
 public interface VppApplicationDAO {
 
@@ -32,6 +34,17 @@ public interface VppApplicationDAO {
 
     VppUserDTO getUserByDMUsername(String emmUsername, int tenantId) throws ApplicationManagementDAOException;
 
+    /**
+     * Get the vpp users of a set of EMM users with a single query
+     *
+     * @param emmUsernames EMM usernames, which are expected to be a bounded chunk since each one is a query parameter
+     * @param tenantId Tenant ID
+     * @return vpp users that exist for the given usernames
+     * @throws ApplicationManagementDAOException thrown if an error occurs while retrieving data
+     */
+    List<VppUserDTO> getUsersByDMUsernames(List<String> emmUsernames, int tenantId)
+            throws ApplicationManagementDAOException;
+
     VppAssetDTO getAssetByAppId(int appId, int tenantId) throws ApplicationManagementDAOException;
 
     int addAsset(VppAssetDTO vppAssetDTO, int tenantId) throws ApplicationManagementDAOException;
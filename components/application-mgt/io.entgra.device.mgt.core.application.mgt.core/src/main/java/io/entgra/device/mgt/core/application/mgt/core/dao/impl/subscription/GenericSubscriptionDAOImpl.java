@@ -59,6 +59,13 @@ import java.util.stream.Collectors;
 public class GenericSubscriptionDAOImpl extends AbstractDAOImpl implements SubscriptionDAO {
     private static final Log log = LogFactory.getLog(GenericSubscriptionDAOImpl.class);
 
+    /**
+     * Maximum number of device or subscription ids bound to a single statement or batch. Subscribing an application
+     * to a large number of devices is executed in chunks of this size, which stay within the parameter limits of the
+     * drivers (e.g. 1000 IN list items in Oracle and 2100 parameters in MSSQL) and are planned as index lookups.
+     */
+    protected static final int ID_CHUNK_SIZE = 1000;
+
     @Override
     public void addDeviceSubscription(String subscribedBy, List<Integer> deviceIds,
             String subscribedFrom, String installStatus, int releaseId, int tenantId)
@@ -78,6 +85,11 @@ public class GenericSubscriptionDAOImpl extends AbstractDAOImpl implements Subsc
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                 Calendar calendar = Calendar.getInstance();
                 Timestamp timestamp = new Timestamp(calendar.getTime().getTime());
+                if (log.isDebugEnabled()) {
+                    log.debug("Adding device subscriptions for " + deviceIds.size() + " devices and application "
+                            + "release which has release id" + releaseId);
+                }
+                int batchSize = 0;
                 for (Integer deviceId : deviceIds) {
                     stmt.setString(1, subscribedBy);
                     stmt.setTimestamp(2, timestamp);
@@ -87,12 +99,14 @@ public class GenericSubscriptionDAOImpl extends AbstractDAOImpl implements Subsc
                     stmt.setInt(6, releaseId);
                     stmt.setInt(7, tenantId);
                     stmt.addBatch();
-                    if (log.isDebugEnabled()) {
-                        log.debug("Adding a device subscription for device id " + deviceId + " and application "
-                                + "release which has release id" + releaseId);
+                    if (++batchSize == ID_CHUNK_SIZE) {
+                        stmt.executeBatch();
+                        batchSize = 0;
                     }
                 }
-                stmt.executeBatch();
+                if (batchSize > 0) {
+                    stmt.executeBatch();
+                }
             }
         } catch (DBConnectionException e) {
             String msg = "Error occured while obtaining database connection to add device subscription for application "
@@ -128,26 +142,29 @@ public class GenericSubscriptionDAOImpl extends AbstractDAOImpl implements Subsc
             sql += "ACTION_TRIGGERED_FROM = ?, " +
                     "STATUS = ? " +
                     "WHERE " +
-                    "DM_DEVICE_ID = ? AND " +
                     "AP_APP_RELEASE_ID = ? AND " +
-                    "TENANT_ID = ?";
+                    "TENANT_ID = ? AND " +
+                    "DM_DEVICE_ID IN (";
 
             Connection conn = this.getDBConnection();
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                Calendar calendar = Calendar.getInstance();
-                Timestamp timestamp = new Timestamp(calendar.getTime().getTime());
-                for (Integer deviceId : deviceIds) {
-                    stmt.setBoolean(1, unsubscribed);
-                    stmt.setString(2, updateBy);
-                    stmt.setTimestamp(3, timestamp);
-                    stmt.setString(4, actionTriggeredFrom);
-                    stmt.setString(5, installStatus);
-                    stmt.setInt(6, deviceId);
-                    stmt.setInt(7, releaseId);
-                    stmt.setInt(8, tenantId);
-                    stmt.addBatch();
+            Calendar calendar = Calendar.getInstance();
+            Timestamp timestamp = new Timestamp(calendar.getTime().getTime());
+            for (List<Integer> deviceIdChunk : partition(deviceIds)) {
+                try (PreparedStatement stmt = conn.prepareStatement(sql + getParameterList(deviceIdChunk.size())
+                        + ")")) {
+                    int index = 1;
+                    stmt.setBoolean(index++, unsubscribed);
+                    stmt.setString(index++, updateBy);
+                    stmt.setTimestamp(index++, timestamp);
+                    stmt.setString(index++, actionTriggeredFrom);
+                    stmt.setString(index++, installStatus);
+                    stmt.setInt(index++, releaseId);
+                    stmt.setInt(index++, tenantId);
+                    for (Integer deviceId : deviceIdChunk) {
+                        stmt.setInt(index++, deviceId);
+                    }
+                    stmt.executeUpdate();
                 }
-                stmt.executeBatch();
             }
         } catch (DBConnectionException e) {
             String msg = "Error occurred while obtaining the DB connection to update device subscriptions of "
@@ -175,16 +192,23 @@ public class GenericSubscriptionDAOImpl extends AbstractDAOImpl implements Subsc
         try {
             Connection conn = this.getDBConnection();
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Adding operation mappings for " + deviceSubscriptionIds.size() + " subscriptions");
+                }
+                int batchSize = 0;
                 for (Integer subId : deviceSubscriptionIds) {
                     stmt.setInt(1, operationId);
                     stmt.setInt(2, subId);
                     stmt.setInt(3, tenantId);
                     stmt.addBatch();
-                    if (log.isDebugEnabled()) {
-                        log.debug("Adding a operation mapping for subscription id " + subId);
+                    if (++batchSize == ID_CHUNK_SIZE) {
+                        stmt.executeBatch();
+                        batchSize = 0;
                     }
                 }
-                stmt.executeBatch();
+                if (batchSize > 0) {
+                    stmt.executeBatch();
+                }
             }
         } catch (DBConnectionException e) {
             String msg = "Error occurred while getting database connection to add operation subscription mapping to DB";
@@ -421,38 +445,29 @@ public class GenericSubscriptionDAOImpl extends AbstractDAOImpl implements Subsc
                 return deviceSubscriptionDTOHashMap;
             }
             Connection conn = this.getDBConnection();
-            int index = 1;
-            StringJoiner joiner = new StringJoiner(",",
-                    "SELECT "
-                            + "DS.ID AS ID, "
-                            + "DS.SUBSCRIBED_BY AS SUBSCRIBED_BY, "
-                            + "DS.SUBSCRIBED_TIMESTAMP AS SUBSCRIBED_AT, "
-                            + "DS.UNSUBSCRIBED AS IS_UNSUBSCRIBED, "
-                            + "DS.UNSUBSCRIBED_BY AS UNSUBSCRIBED_BY, "
-                            + "DS.UNSUBSCRIBED_TIMESTAMP AS UNSUBSCRIBED_AT, "
-                            + "DS.ACTION_TRIGGERED_FROM AS ACTION_TRIGGERED_FROM, "
-                            + "DS.DM_DEVICE_ID AS DEVICE_ID, "
-                            + "DS.STATUS AS STATUS "
-                            + "FROM AP_DEVICE_SUBSCRIPTION DS "
-                            + "WHERE DS.DM_DEVICE_ID IN (", ") AND AP_APP_RELEASE_ID = ? AND TENANT_ID = ?");
-            deviceIds.stream().map(ignored -> "?").forEach(joiner::add);
-            String query = joiner.toString();
-            try (PreparedStatement ps = conn.prepareStatement(query)) {
-                for (Integer deviceId : deviceIds) {
-                    ps.setObject(index++, deviceId);
-                }
-                ps.setInt(index++, appReleaseId);
-                ps.setInt(index, tenantId);
-                try (ResultSet rs = ps.executeQuery()) {
-                    while (rs.next()) {
-                        DeviceSubscriptionDTO deviceSubscriptionDTO = DAOUtil.constructDeviceSubscriptionDTO(rs);
-                        if (deviceSubscriptionDTOHashMap.containsKey(deviceSubscriptionDTO.getDeviceId())){
-                            String msg = "There shouldn't be Device ids in multiple times in AP_DEVICE_SUBSCRIPTION "
-                                    + "table.";
-                            log.error(msg);
-                            throw new ApplicationManagementDAOException(msg);
-                        }
-                        deviceSubscriptionDTOHashMap.put(deviceSubscriptionDTO.getDeviceId(), deviceSubscriptionDTO);
+            String sql = "SELECT "
+                    + "DS.ID AS ID, "
+                    + "DS.SUBSCRIBED_BY AS SUBSCRIBED_BY, "
+                    + "DS.SUBSCRIBED_TIMESTAMP AS SUBSCRIBED_AT, "
+                    + "DS.UNSUBSCRIBED AS IS_UNSUBSCRIBED, "
+                    + "DS.UNSUBSCRIBED_BY AS UNSUBSCRIBED_BY, "
+                    + "DS.UNSUBSCRIBED_TIMESTAMP AS UNSUBSCRIBED_AT, "
+                    + "DS.ACTION_TRIGGERED_FROM AS ACTION_TRIGGERED_FROM, "
+                    + "DS.DM_DEVICE_ID AS DEVICE_ID, "
+                    + "DS.STATUS AS STATUS "
+                    + "FROM AP_DEVICE_SUBSCRIPTION DS "
+                    + "WHERE AP_APP_RELEASE_ID = ? AND TENANT_ID = ? AND DS.DM_DEVICE_ID IN (";
+            for (List<Integer> deviceIdChunk : partition(deviceIds)) {
+                try (PreparedStatement ps = conn.prepareStatement(sql + getParameterList(deviceIdChunk.size())
+                        + ")")) {
+                    int index = 1;
+                    ps.setInt(index++, appReleaseId);
+                    ps.setInt(index++, tenantId);
+                    for (Integer deviceId : deviceIdChunk) {
+                        ps.setInt(index++, deviceId);
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        putDeviceSubscriptions(rs, deviceSubscriptionDTOHashMap);
                     }
                 }
             }
@@ -612,22 +627,22 @@ public class GenericSubscriptionDAOImpl extends AbstractDAOImpl implements Subsc
                 return subscribedDevices;
             }
             Connection conn = this.getDBConnection();
-            int index = 1;
-            StringJoiner joiner = new StringJoiner(",",
-                    "SELECT DS.ID AS DEVICE_SUBSCRIPTION_ID "
-                            + "FROM AP_DEVICE_SUBSCRIPTION DS "
-                            + "WHERE DS.DM_DEVICE_ID IN (", ") AND AP_APP_RELEASE_ID = ? AND TENANT_ID = ?");
-            deviceIds.stream().map(ignored -> "?").forEach(joiner::add);
-            String query = joiner.toString();
-            try (PreparedStatement ps = conn.prepareStatement(query)) {
-                for (Integer deviceId : deviceIds) {
-                    ps.setObject(index++, deviceId);
-                }
-                ps.setInt(index++, applicationReleaseId);
-                ps.setInt(index, tenantId);
-                try (ResultSet rs = ps.executeQuery()) {
-                    while (rs.next()) {
-                        subscribedDevices.add(rs.getInt("DEVICE_SUBSCRIPTION_ID"));
+            String sql = "SELECT DS.ID AS DEVICE_SUBSCRIPTION_ID "
+                    + "FROM AP_DEVICE_SUBSCRIPTION DS "
+                    + "WHERE AP_APP_RELEASE_ID = ? AND TENANT_ID = ? AND DS.DM_DEVICE_ID IN (";
+            for (List<Integer> deviceIdChunk : partition(deviceIds)) {
+                try (PreparedStatement ps = conn.prepareStatement(sql + getParameterList(deviceIdChunk.size())
+                        + ")")) {
+                    int index = 1;
+                    ps.setInt(index++, applicationReleaseId);
+                    ps.setInt(index++, tenantId);
+                    for (Integer deviceId : deviceIdChunk) {
+                        ps.setInt(index++, deviceId);
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            subscribedDevices.add(rs.getInt("DEVICE_SUBSCRIPTION_ID"));
+                        }
                     }
                 }
             }
@@ -2997,4 +3012,42 @@ public class GenericSubscriptionDAOImpl extends AbstractDAOImpl implements Subsc
         return 0;
     }
 
+    /**
+     * Put the device subscriptions of a result set to a map keyed by the device id.
+     *
+     * @param rs result set of device subscriptions
+     * @param deviceSubscriptions map of device subscriptions retrieved so far
+     * @throws SQLException if an error occurred while reading the result set
+     * @throws ApplicationManagementDAOException if a device has more than one subscription
+     */
+    protected void putDeviceSubscriptions(ResultSet rs, Map<Integer, DeviceSubscriptionDTO> deviceSubscriptions)
+            throws SQLException, ApplicationManagementDAOException {
+        while (rs.next()) {
+            DeviceSubscriptionDTO deviceSubscriptionDTO = DAOUtil.constructDeviceSubscriptionDTO(rs);
+            if (deviceSubscriptions.containsKey(deviceSubscriptionDTO.getDeviceId())) {
+                String msg = "There shouldn't be Device ids in multiple times in AP_DEVICE_SUBSCRIPTION table.";
+                log.error(msg);
+                throw new ApplicationManagementDAOException(msg);
+            }
+            deviceSubscriptions.put(deviceSubscriptionDTO.getDeviceId(), deviceSubscriptionDTO);
+        }
+    }
+
+    /**
+     * Split a list of ids into chunks of at most {@link #ID_CHUNK_SIZE} ids.
+     *
+     * @param ids list of ids
+     * @return views of the consecutive chunks of the list
+     */
+    protected static List<List<Integer>> partition(List<Integer> ids) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + ID_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    private static String getParameterList(int size) {
+        return String.join(", ", Collections.nCopies(size, "?"));
+    }
 }
@@ -15,17 +15,261 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-
 package io.entgra.device.mgt.core.application.mgt.core.dao.impl.subscription;
 
+import io.entgra.device.mgt.core.application.mgt.common.SubAction;
+import io.entgra.device.mgt.core.application.mgt.common.dto.DeviceSubscriptionDTO;
+import io.entgra.device.mgt.core.application.mgt.common.exception.DBConnectionException;
+import io.entgra.device.mgt.core.application.mgt.core.exception.ApplicationManagementDAOException;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
- * This handles Application subscribing operations which are specific to MsSQL.
+ * This handles Application subscribing operations which are specific to PostgreSQL. Device and subscription id lists
+ * are bound as a single array parameter, so that subscribing an application to any number of devices is executed as
+ * one set based statement.
  */
 public class PostgreSQLSubscriptionDAOImpl extends GenericSubscriptionDAOImpl {
 
     private static Log log = LogFactory.getLog(PostgreSQLSubscriptionDAOImpl.class);
 
+    @Override
+    public void addDeviceSubscription(String subscribedBy, List<Integer> deviceIds,
+            String subscribedFrom, String installStatus, int releaseId, int tenantId)
+            throws ApplicationManagementDAOException {
+        String sql = "INSERT INTO "
+                + "AP_DEVICE_SUBSCRIPTION("
+                + "SUBSCRIBED_BY, "
+                + "SUBSCRIBED_TIMESTAMP, "
+                + "ACTION_TRIGGERED_FROM, "
+                + "STATUS, "
+                + "DM_DEVICE_ID, "
+                + "AP_APP_RELEASE_ID,"
+                + "TENANT_ID) "
+                + "SELECT ?, ?, ?, ?, D.ID, ?, ? FROM UNNEST(?) AS D(ID)";
+        if (deviceIds.isEmpty()) {
+            return;
+        }
+        try {
+            Connection conn = this.getDBConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                Calendar calendar = Calendar.getInstance();
+                Timestamp timestamp = new Timestamp(calendar.getTime().getTime());
+                stmt.setString(1, subscribedBy);
+                stmt.setTimestamp(2, timestamp);
+                stmt.setString(3, subscribedFrom);
+                stmt.setString(4, installStatus);
+                stmt.setInt(5, releaseId);
+                stmt.setInt(6, tenantId);
+                stmt.setArray(7, createIdArray(conn, deviceIds));
+                if (log.isDebugEnabled()) {
+                    log.debug("Adding device subscriptions for " + deviceIds.size() + " devices and application "
+                            + "release which has release id" + releaseId);
+                }
+                stmt.executeUpdate();
+            }
+        } catch (DBConnectionException e) {
+            String msg = "Error occured while obtaining database connection to add device subscription for application "
+                    + "release which has release Id" + releaseId;
+            log.error(msg, e);
+            throw new ApplicationManagementDAOException(msg, e);
+        } catch (SQLException e) {
+            String msg = "Error occured when processing SQL to add device subscription for application release which"
+                    + " has release Id " + releaseId;
+            log.error(msg, e);
+            throw new ApplicationManagementDAOException(msg, e);
+        }
+    }
+
+    @Override
+    public void updateDeviceSubscription(String updateBy, List<Integer> deviceIds,
+            String action, String actionTriggeredFrom, String installStatus, int releaseId, int tenantId)
+            throws ApplicationManagementDAOException {
+        boolean unsubscribed = false;
+        try {
+            String sql = "UPDATE AP_DEVICE_SUBSCRIPTION SET ";
+
+            if (SubAction.UNINSTALL.toString().equalsIgnoreCase(action)) {
+                sql += "UNSUBSCRIBED = ?, UNSUBSCRIBED_BY = ?, UNSUBSCRIBED_TIMESTAMP = ?, ";
+                unsubscribed = true;
+            } else if (SubAction.INSTALL.toString().equalsIgnoreCase(action)) {
+                sql += "UNSUBSCRIBED = ?, SUBSCRIBED_BY = ?, SUBSCRIBED_TIMESTAMP = ?, ";
+            } else {
+                String msg = "Found invalid action " + action + ". Hence can't construct the query.";
+                log.error(msg);
+                throw new ApplicationManagementDAOException(msg);
+            }
+            sql += "ACTION_TRIGGERED_FROM = ?, " +
+                    "STATUS = ? " +
+                    "WHERE " +
+                    "AP_APP_RELEASE_ID = ? AND " +
+                    "TENANT_ID = ? AND " +
+                    "DM_DEVICE_ID = ANY(?)";
+            if (deviceIds.isEmpty()) {
+                return;
+            }
+
+            Connection conn = this.getDBConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                Calendar calendar = Calendar.getInstance();
+                Timestamp timestamp = new Timestamp(calendar.getTime().getTime());
+                stmt.setBoolean(1, unsubscribed);
+                stmt.setString(2, updateBy);
+                stmt.setTimestamp(3, timestamp);
+                stmt.setString(4, actionTriggeredFrom);
+                stmt.setString(5, installStatus);
+                stmt.setInt(6, releaseId);
+                stmt.setInt(7, tenantId);
+                stmt.setArray(8, createIdArray(conn, deviceIds));
+                stmt.executeUpdate();
+            }
+        } catch (DBConnectionException e) {
+            String msg = "Error occurred while obtaining the DB connection to update device subscriptions of "
+                    + "application. Updated by: " + updateBy + " and updating action triggered from "
+                    + actionTriggeredFrom;
+            log.error(msg, e);
+            throw new ApplicationManagementDAOException(msg, e);
+        } catch (SQLException e) {
+            String msg = "Error occurred while executing SQL to update the device subscriptions of application. "
+                    + "Updated by: " + updateBy + " and updating action triggered from " + actionTriggeredFrom;
+            log.error(msg, e);
+            throw new ApplicationManagementDAOException(msg, e);
+        }
+    }
+
+    @Override
+    public void addOperationMapping(int operationId, List<Integer> deviceSubscriptionIds, int tenantId)
+            throws ApplicationManagementDAOException {
+        String sql = "INSERT INTO "
+                + "AP_APP_SUB_OP_MAPPING("
+                + "OPERATION_ID, "
+                + "AP_DEVICE_SUBSCRIPTION_ID, "
+                + "TENANT_ID) "
+                + "SELECT ?, S.ID, ? FROM UNNEST(?) AS S(ID)";
+        if (deviceSubscriptionIds.isEmpty()) {
+            return;
+        }
+        try {
+            Connection conn = this.getDBConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, operationId);
+                stmt.setInt(2, tenantId);
+                stmt.setArray(3, createIdArray(conn, deviceSubscriptionIds));
+                if (log.isDebugEnabled()) {
+                    log.debug("Adding operation mappings for " + deviceSubscriptionIds.size() + " subscriptions");
+                }
+                stmt.executeUpdate();
+            }
+        } catch (DBConnectionException e) {
+            String msg = "Error occurred while getting database connection to add operation subscription mapping to DB";
+            log.error(msg, e);
+            throw new ApplicationManagementDAOException(msg, e);
+        } catch (SQLException e) {
+            String msg = "Error occurred while executing query to add operation subscription mapping to DB. Executed "
+                    + "query: " + sql;
+            log.error(msg, e);
+            throw new ApplicationManagementDAOException(msg, e);
+        }
+    }
+
+    @Override
+    public Map<Integer, DeviceSubscriptionDTO> getDeviceSubscriptions(List<Integer> deviceIds, int appReleaseId,
+            int tenantId)
+            throws ApplicationManagementDAOException {
+        if (log.isDebugEnabled()) {
+            log.debug("Request received in DAO Layer to get device subscriptions for given device ids.");
+        }
+        try {
+            Map<Integer, DeviceSubscriptionDTO> deviceSubscriptionDTOHashMap = new HashMap<>();
+            if (deviceIds.isEmpty()) {
+                return deviceSubscriptionDTOHashMap;
+            }
+            Connection conn = this.getDBConnection();
+            String sql = "SELECT "
+                    + "DS.ID AS ID, "
+                    + "DS.SUBSCRIBED_BY AS SUBSCRIBED_BY, "
+                    + "DS.SUBSCRIBED_TIMESTAMP AS SUBSCRIBED_AT, "
+                    + "DS.UNSUBSCRIBED AS IS_UNSUBSCRIBED, "
+                    + "DS.UNSUBSCRIBED_BY AS UNSUBSCRIBED_BY, "
+                    + "DS.UNSUBSCRIBED_TIMESTAMP AS UNSUBSCRIBED_AT, "
+                    + "DS.ACTION_TRIGGERED_FROM AS ACTION_TRIGGERED_FROM, "
+                    + "DS.DM_DEVICE_ID AS DEVICE_ID, "
+                    + "DS.STATUS AS STATUS "
+                    + "FROM AP_DEVICE_SUBSCRIPTION DS "
+                    + "WHERE AP_APP_RELEASE_ID = ? AND TENANT_ID = ? AND DS.DM_DEVICE_ID = ANY(?)";
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setInt(1, appReleaseId);
+                ps.setInt(2, tenantId);
+                ps.setArray(3, createIdArray(conn, deviceIds));
+                try (ResultSet rs = ps.executeQuery()) {
+                    putDeviceSubscriptions(rs, deviceSubscriptionDTOHashMap);
+                }
+            }
+            return deviceSubscriptionDTOHashMap;
+        } catch (DBConnectionException e) {
+            String msg = "Error occurred while obtaining the DB connection to get device subscriptions for given device"
+                    + " Ids.";
+            log.error(msg, e);
+            throw new ApplicationManagementDAOException(msg, e);
+        } catch (SQLException e) {
+            String msg = "SQL Error occurred while getting device subscriptions for given device Ids.";
+            log.error(msg, e);
+            throw new ApplicationManagementDAOException(msg, e);
+        }
+    }
+
+    @Override
+    public List<Integer> getDeviceSubIds(List<Integer> deviceIds, int applicationReleaseId,
+            int tenantId)
+            throws ApplicationManagementDAOException {
+        if (log.isDebugEnabled()) {
+            log.debug("Request received to DAO Layer to get already subscribed dvice Ids for given list of device Ids.");
+        }
+        try {
+            List<Integer> subscribedDevices = new ArrayList<>();
+            if (deviceIds.isEmpty()) {
+                return subscribedDevices;
+            }
+            Connection conn = this.getDBConnection();
+            String sql = "SELECT DS.ID AS DEVICE_SUBSCRIPTION_ID "
+                    + "FROM AP_DEVICE_SUBSCRIPTION DS "
+                    + "WHERE AP_APP_RELEASE_ID = ? AND TENANT_ID = ? AND DS.DM_DEVICE_ID = ANY(?)";
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setInt(1, applicationReleaseId);
+                ps.setInt(2, tenantId);
+                ps.setArray(3, createIdArray(conn, deviceIds));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        subscribedDevices.add(rs.getInt("DEVICE_SUBSCRIPTION_ID"));
+                    }
+                }
+            }
+            return subscribedDevices;
+        } catch (DBConnectionException e) {
+            String msg = "Error occurred while obtaining the DB connection to get subscribed device Ids for given "
+                    + "device Id list.";
+            log.error(msg, e);
+            throw new ApplicationManagementDAOException(msg, e);
+        } catch (SQLException e) {
+            String msg = "SQL Error occurred while getting already subscribed device ids for given device Id list.";
+            log.error(msg, e);
+            throw new ApplicationManagementDAOException(msg, e);
+        }
+    }
+
+    private static Array createIdArray(Connection conn, List<Integer> ids) throws SQLException {
+        return conn.createArrayOf("INTEGER", ids.toArray(new Integer[0]));
+    }
 }
@@ -32,7 +32,9 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import java.sql.*;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.StringJoiner;
 
 public class GenericVppApplicationDAOImpl  extends AbstractDAOImpl implements VppApplicationDAO {
     private static final Log log = LogFactory.getLog(GenericVppApplicationDAOImpl.class);
@@ -203,6 +205,54 @@ public class GenericVppApplicationDAOImpl  extends AbstractDAOImpl implements Vp
         }
     }
 
+    @Override
+    public List<VppUserDTO> getUsersByDMUsernames(List<String> emmUsernames, int tenantId)
+            throws ApplicationManagementDAOException {
+        List<VppUserDTO> vppUsers = new ArrayList<>();
+        if (emmUsernames.isEmpty()) {
+            return vppUsers;
+        }
+        StringJoiner joiner = new StringJoiner(",",
+                "SELECT "
+                        + "ID, "
+                        + "CLIENT_USER_ID, "
+                        + "TENANT_ID, "
+                        + "EMAIL, "
+                        + "INVITE_CODE, "
+                        + "STATUS, "
+                        + "CREATED_TIME, "
+                        + "LAST_UPDATED_TIME, "
+                        + "MANAGED_ID, "
+                        + "TEMP_PASSWORD, "
+                        + "DM_USERNAME "
+                        + "FROM AP_VPP_USER "
+                        + "WHERE DM_USERNAME IN (", ") AND TENANT_ID = ?");
+        emmUsernames.stream().map(ignored -> "?").forEach(joiner::add);
+        try {
+            Connection conn = this.getDBConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(joiner.toString())) {
+                int index = 1;
+                for (String emmUsername : emmUsernames) {
+                    stmt.setString(index++, emmUsername);
+                }
+                stmt.setInt(index, tenantId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    vppUsers.addAll(DAOUtil.loadVppUsers(rs));
+                }
+            }
+            return vppUsers;
+        } catch (DBConnectionException e) {
+            String msg = "Error occurred while obtaining database connection when retrieving vpp users by EMM "
+                    + "usernames.";
+            log.error(msg, e);
+            throw new ApplicationManagementDAOException(msg, e);
+        } catch (SQLException e) {
+            String msg = "Error occurred when processing SQL to retrieve vpp users by EMM usernames.";
+            log.error(msg, e);
+            throw new ApplicationManagementDAOException(msg, e);
+        }
+    }
+
     @Override
     public VppAssetDTO getAssetByAppId(int appId, int tenantId)
             throws ApplicationManagementDAOException {
@@ -35,6 +35,7 @@ import io.entgra.device.mgt.core.application.mgt.common.Filter;
 import io.entgra.device.mgt.core.application.mgt.common.LifecycleChanger;
 import io.entgra.device.mgt.core.application.mgt.common.LifecycleState;
 import io.entgra.device.mgt.core.application.mgt.common.Pagination;
+import io.entgra.device.mgt.core.application.mgt.common.SpooledArtifact;
 import io.entgra.device.mgt.core.application.mgt.common.config.RatingConfiguration;
 import io.entgra.device.mgt.core.application.mgt.common.dto.ApplicationDTO;
 import io.entgra.device.mgt.core.application.mgt.common.dto.ApplicationReleaseDTO;
@@ -80,11 +81,9 @@ import io.entgra.device.mgt.core.device.mgt.common.exceptions.DeviceManagementEx
 import io.entgra.device.mgt.core.device.mgt.common.PaginationRequest;
 import io.entgra.device.mgt.core.device.mgt.common.exceptions.MetadataManagementException;
 import io.entgra.device.mgt.core.device.mgt.common.metadata.mgt.Metadata;
-import io.entgra.device.mgt.core.device.mgt.core.common.exception.StorageManagementException;
 import io.entgra.device.mgt.core.device.mgt.core.dto.DeviceType;
 import io.entgra.device.mgt.core.device.mgt.core.service.DeviceManagementProviderService;
 import org.apache.commons.codec.digest.DigestUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringEscapeUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.validator.routines.UrlValidator;
@@ -97,7 +96,6 @@ import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.user.api.UserRealm;
 import org.wso2.carbon.user.api.UserStoreException;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
@@ -723,25 +721,17 @@ public class ApplicationManagerImpl implements ApplicationManager {
             throws ResourceManagementException, ApplicationManagementException {
         int tenantId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId(true);
         ApplicationStorageManager applicationStorageManager = APIUtil.getApplicationStorageManager();
+        SpooledArtifact spooledArtifact = spoolInstaller(applicationArtifact, tenantId);
         try {
-            String md5OfApp = applicationStorageManager.
-                    getMD5(Files.newInputStream(Paths.get(applicationArtifact.getInstallerPath())));
+            String md5OfApp = spooledArtifact.getMd5();
             validateReleaseBinaryFileHash(md5OfApp);
             releaseDTO.setUuid(UUID.randomUUID().toString());
             releaseDTO.setAppHashValue(md5OfApp);
             releaseDTO.setInstallerName(applicationArtifact.getInstallerName());
 
-            applicationStorageManager.uploadReleaseArtifact(releaseDTO, deviceType,
-                    Files.newInputStream(Paths.get(applicationArtifact.getInstallerPath())), tenantId);
-        } catch (IOException e) {
-            String msg = "Error occurred when uploading release artifact into the server";
-            log.error(msg);
-            throw new ApplicationManagementException(msg, e);
-        } catch (StorageManagementException e) {
-            String msg = "Error occurred while md5sum value retrieving process: application UUID "
-                    + releaseDTO.getUuid();
-            log.error(msg, e);
-            throw new ApplicationManagementException(msg, e);
+            applicationStorageManager.uploadReleaseArtifact(releaseDTO, spooledArtifact, tenantId);
+        } finally {
+            applicationStorageManager.deleteSpooledArtifact(spooledArtifact);
         }
         return addImageArtifacts(releaseDTO, applicationArtifact, tenantId);
     }
@@ -778,45 +768,28 @@ public class ApplicationManagerImpl implements ApplicationManager {
     }
 
     /**
-     * Helps to byte content of release binary file of application artifact
-     * This method can be useful when uploading application release binary file or when generating md5hex of release binary
-     *
-     * @param artifact {@link ApplicationArtifact}
-     * @return byte content of application release binary file
-     * @throws ApplicationManagementException if error occurred while getting byte content
-     */
-    private byte[] getByteContentOfApp(ApplicationArtifact artifact) throws ApplicationManagementException{
-        try {
-            return IOUtils.toByteArray(artifact.getInstallerStream());
-        } catch (IOException e) {
-            String msg = "Error occurred while getting byte content of app binary artifact";
-            log.error(msg);
-            throw new ApplicationManagementException(msg, e);
-        }
-    }
-
-    /**
-     * Useful to generate md5hex string of application release
+     * Writes the release binary file of an application artifact to the application storage once, computing its hash
+     * values while it is written, so that the binary file is parsed and moved to the release directory without
+     * being read again.
      *
      * @param applicationArtifact {@link ApplicationArtifact}
-     * @param content byte array content of application release binary file
-     * @return Generated md5hex string
-     * @throws ApplicationManagementException if any error occurred while generating md5hex string
+     * @param tenantId Tenant Id
+     * @return {@link SpooledArtifact} of the release binary file
+     * @throws ApplicationStorageManagementException if error occurred while writing the release binary file
      */
-    private String generateMD5OfApp(ApplicationArtifact applicationArtifact, byte[] content) throws ApplicationManagementException {
+    private SpooledArtifact spoolInstaller(ApplicationArtifact applicationArtifact, int tenantId)
+            throws ApplicationStorageManagementException {
+        ApplicationStorageManager applicationStorageManager = APIUtil.getApplicationStorageManager();
         try {
-            ApplicationStorageManager applicationStorageManager = APIUtil.getApplicationStorageManager();
-            String md5OfApp = applicationStorageManager.getMD5(new ByteArrayInputStream(content));
-            if (md5OfApp == null) {
-                String msg = "Error occurred while generating md5sum value of " + applicationArtifact.getInstallerName();
-                log.error(msg);
-                throw new ApplicationManagementException(msg);
-            }
-            return md5OfApp;
-        } catch(StorageManagementException e) {
-            String msg = "Error occurred while generating md5sum value of " + applicationArtifact.getInstallerName();
+            InputStream installerStream = applicationArtifact.getInstallerPath() != null ?
+                    Files.newInputStream(Paths.get(applicationArtifact.getInstallerPath())) :
+                    applicationArtifact.getInstallerStream();
+            return applicationStorageManager.spoolReleaseArtifact(installerStream, tenantId);
+        } catch (IOException e) {
+            String msg = "Error occurred when getting file input stream. Installer name: " + applicationArtifact
+                    .getInstallerName();
             log.error(msg, e);
-            throw new ApplicationManagementException(msg, e);
+            throw new ApplicationStorageManagementException(msg, e);
         }
     }
 
@@ -859,24 +832,26 @@ public class ApplicationManagerImpl implements ApplicationManager {
 
         String uuid = UUID.randomUUID().toString();
         applicationReleaseDTO.setUuid(uuid);
+        applicationReleaseDTO.setInstallerName(applicationArtifact.getInstallerName());
+        if (DeviceTypes.WINDOWS.toString().equalsIgnoreCase(deviceType)) {
+            String windowsInstallerName = applicationArtifact.getInstallerName();
+            String extension = windowsInstallerName.substring(windowsInstallerName.lastIndexOf(".") + 1);
+            if (!extension.equalsIgnoreCase(Constants.MSI) &&
+                    !extension.equalsIgnoreCase(Constants.APPX)) {
+                String msg = "Application Type doesn't match with supporting application types of " +
+                        deviceType + "platform which are APPX and MSI";
+                log.error(msg);
+                throw new BadRequestException(msg);
+            }
+        }
         // The application executable artifacts such as apks are uploaded.
+        SpooledArtifact spooledArtifact = spoolInstaller(applicationArtifact, tenantId);
         try {
-            applicationReleaseDTO.setInstallerName(applicationArtifact.getInstallerName());
             if (!DeviceTypes.WINDOWS.toString().equalsIgnoreCase(deviceType)) {
                 ApplicationInstaller applicationInstaller = applicationStorageManager
-                        .getAppInstallerData(Files.newInputStream(Paths.get(applicationArtifact.getInstallerPath())), deviceType);
+                        .getAppInstallerData(spooledArtifact, deviceType);
                 applicationReleaseDTO.setVersion(applicationInstaller.getVersion());
                 applicationReleaseDTO.setPackageName(applicationInstaller.getPackageName());
-            } else {
-                String windowsInstallerName = applicationArtifact.getInstallerName();
-                String extension = windowsInstallerName.substring(windowsInstallerName.lastIndexOf(".") + 1);
-                if (!extension.equalsIgnoreCase(Constants.MSI) &&
-                        !extension.equalsIgnoreCase(Constants.APPX)) {
-                    String msg = "Application Type doesn't match with supporting application types of " +
-                            deviceType + "platform which are APPX and MSI";
-                    log.error(msg);
-                    throw new BadRequestException(msg);
-                }
             }
 
             String packageName = applicationReleaseDTO.getPackageName();
@@ -892,14 +867,7 @@ public class ApplicationManagerImpl implements ApplicationManager {
                     log.error(msg);
                     throw new BadRequestException(msg);
                 }
-                String md5OfApp = applicationStorageManager.
-                        getMD5(Files.newInputStream(Paths.get(applicationArtifact.getInstallerPath())));
-                if (md5OfApp == null) {
-                    String msg = "Error occurred while md5sum value retrieving process: application UUID "
-                            + applicationReleaseDTO.getUuid();
-                    log.error(msg);
-                    throw new ApplicationStorageManagementException(msg);
-                }
+                String md5OfApp = spooledArtifact.getMd5();
                 if (this.applicationReleaseDAO.verifyReleaseExistenceByHash(md5OfApp, tenantId)) {
                     String msg =
                             "Application release exists for the uploaded binary file. Device Type: " + deviceType;
@@ -907,14 +875,7 @@ public class ApplicationManagerImpl implements ApplicationManager {
                     throw new BadRequestException(msg);
                 }
                 applicationReleaseDTO.setAppHashValue(md5OfApp);
-                applicationStorageManager
-                        .uploadReleaseArtifact(applicationReleaseDTO, deviceType,
-                                Files.newInputStream(Paths.get(applicationArtifact.getInstallerPath())), tenantId);
-            } catch (StorageManagementException e) {
-                String msg = "Error occurred while md5sum value retrieving process: application UUID "
-                        + applicationReleaseDTO.getUuid();
-                log.error(msg, e);
-                throw new ApplicationStorageManagementException(msg, e);
+                applicationStorageManager.uploadReleaseArtifact(applicationReleaseDTO, spooledArtifact, tenantId);
             } catch (DBConnectionException e) {
                 String msg = "Error occurred when getting database connection for verifying app release data.";
                 log.error(msg, e);
@@ -928,11 +889,8 @@ public class ApplicationManagerImpl implements ApplicationManager {
             } finally {
                 ConnectionManagerUtil.closeDBConnection();
             }
-        } catch (IOException e) {
-            String msg = "Error occurred when getting file input stream. Installer name: " + applicationArtifact
-                    .getInstallerName();
-            log.error(msg, e);
-            throw new ApplicationStorageManagementException(msg, e);
+        } finally {
+            applicationStorageManager.deleteSpooledArtifact(spooledArtifact);
         }
         return applicationReleaseDTO;
     }
@@ -954,19 +912,13 @@ public class ApplicationManagerImpl implements ApplicationManager {
         ApplicationStorageManager applicationStorageManager = APIUtil.getApplicationStorageManager();
 
         // The application executable artifacts such as apks are uploaded.
+        SpooledArtifact spooledArtifact = spoolInstaller(applicationArtifact, tenantId);
         try {
-            String md5OfApp = applicationStorageManager.getMD5(Files.newInputStream(Paths.get(applicationArtifact.getInstallerPath())));
-            if (md5OfApp == null) {
-                String msg = "Error occurred while retrieving md5sum value from the binary file for application "
-                        + "release UUID " + applicationReleaseDTO.getUuid();
-                log.error(msg);
-                throw new ApplicationStorageManagementException(msg);
-            }
-
+            String md5OfApp = spooledArtifact.getMd5();
             if (!applicationReleaseDTO.getAppHashValue().equals(md5OfApp)) {
                 applicationReleaseDTO.setInstallerName(applicationArtifact.getInstallerName());
                 ApplicationInstaller applicationInstaller = applicationStorageManager
-                        .getAppInstallerData(Files.newInputStream(Paths.get(applicationArtifact.getInstallerPath())), deviceType);
+                        .getAppInstallerData(spooledArtifact, deviceType);
                 String packageName = applicationInstaller.getPackageName();
 
                 try {
@@ -996,9 +948,7 @@ public class ApplicationManagerImpl implements ApplicationManager {
                     applicationReleaseDTO.setPackageName(packageName);
                     String deletingAppHashValue = applicationReleaseDTO.getAppHashValue();
                     applicationReleaseDTO.setAppHashValue(md5OfApp);
-                    applicationStorageManager.uploadReleaseArtifact(applicationReleaseDTO, deviceType,
-                            Files.newInputStream(Paths.get(applicationArtifact.getInstallerPath())),
-                            tenantId);
+                    applicationStorageManager.uploadReleaseArtifact(applicationReleaseDTO, spooledArtifact, tenantId);
                     applicationStorageManager.copyImageArtifactsAndDeleteInstaller(deletingAppHashValue,
                             applicationReleaseDTO, tenantId);
                 } catch (DBConnectionException e) {
@@ -1015,16 +965,8 @@ public class ApplicationManagerImpl implements ApplicationManager {
                     ConnectionManagerUtil.closeDBConnection();
                 }
             }
-        } catch (StorageManagementException e) {
-            String msg = "Error occurred while retrieving md5sum value from the binary file for application "
-                    + "release UUID " + applicationReleaseDTO.getUuid();
-            log.error(msg, e);
-            throw new ApplicationStorageManagementException(msg, e);
-        } catch (IOException e) {
-            String msg = "Error occurred when getting file input stream. Installer name: " + applicationArtifact
-                    .getInstallerName();
-            log.error(msg, e);
-            throw new ApplicationStorageManagementException(msg, e);
+        } finally {
+            applicationStorageManager.deleteSpooledArtifact(spooledArtifact);
         }
         return applicationReleaseDTO;
     }
@@ -3594,16 +3536,9 @@ public class ApplicationManagerImpl implements ApplicationManager {
                     && applicationArtifact.getInstallerStream() != null) {
                 DeviceType deviceTypeObj = APIUtil.getDeviceTypeData(applicationDTO.getDeviceTypeId());
                 // The application executable artifacts such as deb are uploaded.
+                SpooledArtifact spooledArtifact = spoolInstaller(applicationArtifact, tenantId);
                 try {
-                    String md5OfApp = applicationStorageManager.getMD5(
-                            Files.newInputStream(Paths.get(applicationArtifact.getInstallerPath())));
-                    if (md5OfApp == null) {
-                        String msg = "Error occurred while retrieving md5sum value from the binary file for "
-                                + "application release UUID " + applicationReleaseDTO.get().getUuid();
-                        log.error(msg);
-                        throw new ApplicationStorageManagementException(msg);
-                    }
-
+                    String md5OfApp = spooledArtifact.getMd5();
                     if (!applicationReleaseDTO.get().getAppHashValue().equals(md5OfApp)) {
                         try {
                             ConnectionManagerUtil.getDBConnection();
@@ -3620,9 +3555,8 @@ public class ApplicationManagerImpl implements ApplicationManager {
                             applicationReleaseDTO.get().setInstallerName(applicationArtifact.getInstallerName());
                             String deletingAppHashValue = applicationReleaseDTO.get().getAppHashValue();
                             applicationReleaseDTO.get().setAppHashValue(md5OfApp);
-                            applicationStorageManager.
-                                    uploadReleaseArtifact(applicationReleaseDTO.get(), deviceTypeObj.getName(),
-                                            Files.newInputStream(Paths.get(applicationArtifact.getInstallerPath())), tenantId);
+                            applicationStorageManager.uploadReleaseArtifact(applicationReleaseDTO.get(),
+                                    spooledArtifact, tenantId);
                             applicationStorageManager.copyImageArtifactsAndDeleteInstaller(deletingAppHashValue,
                                     applicationReleaseDTO.get(), tenantId);
                         } catch (DBConnectionException e) {
@@ -3640,16 +3574,8 @@ public class ApplicationManagerImpl implements ApplicationManager {
                             ConnectionManagerUtil.closeDBConnection();
                         }
                     }
-                } catch (StorageManagementException e) {
-                    String msg = "Error occurred while retrieving md5sum value from the binary file for "
-                            + "application release UUID " + applicationReleaseDTO.get().getUuid();
-                    log.error(msg, e);
-                    throw new ApplicationStorageManagementException(msg, e);
-                } catch (IOException e) {
-                    String msg = "Error occurred when getting byte array of binary file. Installer name: "
-                            + applicationArtifact.getInstallerName();
-                    log.error(msg, e);
-                    throw new ApplicationStorageManagementException(msg, e);
+                } finally {
+                    applicationStorageManager.deleteSpooledArtifact(spooledArtifact);
                 }
             }
             applicationReleaseDTO.set(updateImageArtifacts(applicationReleaseDTO.get(), applicationArtifact, tenantId));
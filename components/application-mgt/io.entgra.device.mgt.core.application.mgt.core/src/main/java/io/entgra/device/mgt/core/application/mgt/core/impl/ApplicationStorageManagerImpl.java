@@ -20,7 +20,9 @@ package io.entgra.device.mgt.core.application.mgt.core.impl;
 
 import com.dd.plist.NSDictionary;
 import io.entgra.device.mgt.core.application.mgt.common.ApplicationInstaller;
+import io.entgra.device.mgt.core.application.mgt.common.ArtifactChannel;
 import io.entgra.device.mgt.core.application.mgt.common.DeviceTypes;
+import io.entgra.device.mgt.core.application.mgt.common.SpooledArtifact;
 import io.entgra.device.mgt.core.application.mgt.common.dto.ApplicationReleaseDTO;
 import io.entgra.device.mgt.core.application.mgt.common.exception.ApplicationStorageManagementException;
 import io.entgra.device.mgt.core.application.mgt.common.exception.ResourceManagementException;
@@ -28,9 +30,11 @@ import io.entgra.device.mgt.core.application.mgt.common.services.ApplicationStor
 import io.entgra.device.mgt.core.application.mgt.core.exception.ParsingException;
 import io.entgra.device.mgt.core.application.mgt.core.util.ArtifactsParser;
 import io.entgra.device.mgt.core.application.mgt.core.util.Constants;
+import io.entgra.device.mgt.core.application.mgt.core.util.HotArtifactCache;
 import io.entgra.device.mgt.core.device.mgt.core.common.exception.StorageManagementException;
 import io.entgra.device.mgt.core.device.mgt.core.common.util.StorageManagementUtil;
 import net.dongliu.apk.parser.bean.ApkMeta;
+import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -38,8 +42,18 @@ import org.apache.commons.logging.LogFactory;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.util.List;
+import java.util.UUID;
 
 import static io.entgra.device.mgt.core.device.mgt.core.common.util.StorageManagementUtil.saveFile;
 
@@ -48,8 +62,10 @@ import static io.entgra.device.mgt.core.device.mgt.core.common.util.StorageManag
  */
 public class ApplicationStorageManagerImpl implements ApplicationStorageManager {
     private static final Log log = LogFactory.getLog(ApplicationStorageManagerImpl.class);
+    private static final long BYTES_PER_MB = 1024L * 1024L;
     private String storagePath;
     private int screenShotMaxCount;
+    private final HotArtifactCache hotArtifactCache;
 
     /**
      * Create a new ApplicationStorageManager Instance
@@ -58,8 +74,25 @@ public class ApplicationStorageManagerImpl implements ApplicationStorageManager
      * @param screenShotMaxCount Maximum Screen-shots count
      */
     public ApplicationStorageManagerImpl(String storagePath, String screenShotMaxCount) {
+        this(storagePath, screenShotMaxCount, "0", "1");
+    }
+
+    /**
+     * Create a new ApplicationStorageManager Instance which keeps the most downloaded application binaries memory
+     * mapped.
+     *
+     * @param storagePath                 Storage Path to save the binary and image files.
+     * @param screenShotMaxCount          Maximum Screen-shots count
+     * @param maxHotArtifactCacheSize     Maximum size of the memory mapped application binaries in MB, where 0
+     *                                    disables mapping.
+     * @param hotArtifactRequestThreshold Number of downloads after which an application binary is memory mapped.
+     */
+    public ApplicationStorageManagerImpl(String storagePath, String screenShotMaxCount,
+            String maxHotArtifactCacheSize, String hotArtifactRequestThreshold) {
         this.storagePath = storagePath;
         this.screenShotMaxCount = Integer.parseInt(screenShotMaxCount);
+        this.hotArtifactCache = new HotArtifactCache(Long.parseLong(maxHotArtifactCacheSize) * BYTES_PER_MB,
+                Integer.parseInt(hotArtifactRequestThreshold));
     }
 
     @Override
@@ -176,6 +209,99 @@ public class ApplicationStorageManagerImpl implements ApplicationStorageManager
         }
     }
 
+    @Override
+    public SpooledArtifact spoolReleaseArtifact(InputStream binaryFile, int tenantId)
+            throws ApplicationStorageManagementException {
+        String spoolDirectoryPath = storagePath + tenantId + File.separator + Constants.SPOOL_ARTIFACT;
+        Path spooledFile = Paths.get(spoolDirectoryPath, UUID.randomUUID().toString());
+        MessageDigest md5Digest = DigestUtils.getMd5Digest();
+        MessageDigest sha256Digest = DigestUtils.getSha256Digest();
+        try (InputStream digestStream = new DigestInputStream(new DigestInputStream(binaryFile, md5Digest),
+                sha256Digest)) {
+            StorageManagementUtil.createArtifactDirectory(spoolDirectoryPath);
+            long size = Files.copy(digestStream, spooledFile);
+            SpooledArtifact spooledArtifact = new SpooledArtifact();
+            spooledArtifact.setAbsolutePath(spooledFile.toAbsolutePath().toString());
+            spooledArtifact.setMd5(Hex.encodeHexString(md5Digest.digest()));
+            spooledArtifact.setSha256(Hex.encodeHexString(sha256Digest.digest()));
+            spooledArtifact.setSize(size);
+            return spooledArtifact;
+        } catch (IOException e) {
+            deleteSpooledFile(spooledFile);
+            String msg = "IO Exception occurred while writing the release binary file to " + spooledFile;
+            log.error(msg, e);
+            throw new ApplicationStorageManagementException(msg, e);
+        } catch (StorageManagementException e) {
+            String msg = "Error occurred while creating the directory " + spoolDirectoryPath;
+            log.error(msg, e);
+            throw new ApplicationStorageManagementException(msg, e);
+        }
+    }
+
+    @Override
+    public ApplicationInstaller getAppInstallerData(SpooledArtifact spooledArtifact, String deviceType)
+            throws ApplicationStorageManagementException {
+        ApplicationInstaller applicationInstaller = new ApplicationInstaller();
+        File binaryFile = new File(spooledArtifact.getAbsolutePath());
+        try {
+            if (DeviceTypes.ANDROID.toString().equalsIgnoreCase(deviceType)) {
+                ApkMeta apkMeta = ArtifactsParser.readAndroidManifestFile(binaryFile);
+                applicationInstaller.setVersion(apkMeta.getVersionName());
+                applicationInstaller.setPackageName(apkMeta.getPackageName());
+            } else if (DeviceTypes.IOS.toString().equalsIgnoreCase(deviceType)) {
+                NSDictionary plistInfo = ArtifactsParser.readiOSManifestFile(binaryFile);
+                applicationInstaller
+                        .setVersion(plistInfo.objectForKey(ArtifactsParser.IPA_BUNDLE_VERSION_KEY).toString());
+                applicationInstaller
+                        .setPackageName(plistInfo.objectForKey(ArtifactsParser.IPA_BUNDLE_IDENTIFIER_KEY).toString());
+            } else {
+                String msg = "Application Type doesn't match with supporting application types " + deviceType;
+                log.error(msg);
+                throw new ApplicationStorageManagementException(msg);
+            }
+        } catch (ParsingException e) {
+            String msg = "Application Type doesn't match with supporting application types " + deviceType;
+            log.error(msg, e);
+            throw new ApplicationStorageManagementException(msg, e);
+        }
+        return applicationInstaller;
+    }
+
+    @Override
+    public void uploadReleaseArtifact(ApplicationReleaseDTO applicationReleaseDTO, SpooledArtifact spooledArtifact,
+            int tenantId) throws ResourceManagementException {
+        try {
+            String artifactDirectoryPath =
+                    storagePath + tenantId + File.separator + applicationReleaseDTO.getAppHashValue() + File.separator
+                            + Constants.APP_ARTIFACT;
+            StorageManagementUtil.createArtifactDirectory(artifactDirectoryPath);
+            Path artifactPath = Paths.get(artifactDirectoryPath, applicationReleaseDTO.getInstallerName());
+            Path spooledFile = Paths.get(spooledArtifact.getAbsolutePath());
+            try {
+                Files.move(spooledFile, artifactPath, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(spooledFile, artifactPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            String msg = "IO Exception while saving the release artifacts in the server for the application UUID "
+                    + applicationReleaseDTO.getUuid();
+            log.error(msg, e);
+            throw new ResourceManagementException(msg, e);
+        } catch (StorageManagementException e) {
+            String msg = "Error occurred while uploading release artifact. UUID: "
+                    + applicationReleaseDTO.getUuid();
+            log.error(msg, e);
+            throw new ResourceManagementException(msg, e);
+        }
+    }
+
+    @Override
+    public void deleteSpooledArtifact(SpooledArtifact spooledArtifact) {
+        if (spooledArtifact != null) {
+            deleteSpooledFile(Paths.get(spooledArtifact.getAbsolutePath()));
+        }
+    }
+
     @Override
     public void copyImageArtifactsAndDeleteInstaller(String deletingAppHashValue,
             ApplicationReleaseDTO applicationReleaseDTO, int tenantId) throws ApplicationStorageManagementException {
@@ -263,6 +389,36 @@ public class ApplicationStorageManagerImpl implements ApplicationStorageManager
         }
     }
 
+    @Override
+    public ArtifactChannel getFileChannel(String hashVal, String folderName, String fileName, int tenantId)
+            throws ApplicationStorageManagementException {
+        Path tenantDirectory = Paths.get(storagePath + tenantId).toAbsolutePath().normalize();
+        Path artifact = tenantDirectory.resolve(Paths.get(hashVal, folderName, fileName)).normalize();
+        if (!artifact.startsWith(tenantDirectory) || !Files.isRegularFile(artifact)) {
+            return null;
+        }
+        try {
+            long size = Files.size(artifact);
+            long lastModified = Files.getLastModifiedTime(artifact).toMillis();
+            // Release binaries are stored under the MD5 of their content and never rewritten, hence the hash value
+            // alone identifies them, whereas images may be replaced under the same hash value.
+            boolean isAppArtifact = Constants.APP_ARTIFACT.equals(folderName);
+            String eTag = isAppArtifact ? "\"" + hashVal + "\"" : "\"" + hashVal + "-" + Long.toHexString(lastModified)
+                    + "-" + Long.toHexString(size) + "\"";
+            if (isAppArtifact) {
+                ByteBuffer content = hotArtifactCache.get(artifact, size, lastModified);
+                if (content != null) {
+                    return new ArtifactChannel(content, lastModified, eTag);
+                }
+            }
+            return new ArtifactChannel(FileChannel.open(artifact, StandardOpenOption.READ), size, lastModified, eTag);
+        } catch (IOException e) {
+            String msg = "Error occured when accessing the file in file path: " + artifact;
+            log.error(msg, e);
+            throw new ApplicationStorageManagementException(msg, e);
+        }
+    }
+
     @Override
     public InputStream getFileStream(String deviceType, String tenantDomain) throws ApplicationStorageManagementException {
         String fileName = Constants.AGENT_FILE_NAMES.get(deviceType);
@@ -288,6 +444,7 @@ public class ApplicationStorageManagerImpl implements ApplicationStorageManager
     private void deleteAppReleaseArtifact(String artifactPath) throws ApplicationStorageManagementException {
         File artifact = new File(artifactPath);
         if (artifact.exists()) {
+            hotArtifactCache.removeAll(artifact.toPath().toAbsolutePath().normalize());
             try {
                 StorageManagementUtil.delete(artifact);
             } catch (IOException e) {
@@ -301,6 +458,19 @@ public class ApplicationStorageManagerImpl implements ApplicationStorageManager
         }
     }
 
+    /**
+     * To delete a spooled release binary file, if it is not moved to the application artifact directory.
+     *
+     * @param spooledFile path of the spooled file
+     */
+    private void deleteSpooledFile(Path spooledFile) {
+        try {
+            Files.deleteIfExists(spooledFile);
+        } catch (IOException e) {
+            log.error("Error occurred while deleting the spooled release binary file " + spooledFile, e);
+        }
+    }
+
     @Override
     public String getMD5(InputStream inputStream) throws StorageManagementException {
         try {
@@ -317,6 +487,7 @@ public class ApplicationStorageManagerImpl implements ApplicationStorageManager
         String folderPath = storagePath + File.separator + tenantId;
         File folder = new File(folderPath);
         if (folder.exists()) {
+            hotArtifactCache.removeAll(folder.toPath().toAbsolutePath().normalize());
             try {
                 StorageManagementUtil.delete(folder);
             } catch (IOException e) {
@@ -18,6 +18,7 @@
 
 package io.entgra.device.mgt.core.application.mgt.core.impl;
 
+import io.entgra.device.mgt.core.application.mgt.common.ArtifactChannel;
 import io.entgra.device.mgt.core.application.mgt.common.config.LifecycleState;
 import io.entgra.device.mgt.core.application.mgt.common.exception.ApplicationManagementException;
 import io.entgra.device.mgt.core.application.mgt.common.exception.ApplicationStorageManagementException;
@@ -74,6 +75,28 @@ public class AppmDataHandlerImpl implements AppmDataHandler {
         }
     }
 
+    @Override
+    public ArtifactChannel getArtifactChannel(int tenantId, String appHashValue, String folderName,
+            String artifactName) throws ApplicationManagementException {
+        ApplicationStorageManager applicationStorageManager = APIUtil.getApplicationStorageManager();
+        validateArtifactDownloadRequest(tenantId, appHashValue, folderName, artifactName);
+        try {
+            ArtifactChannel artifactChannel = applicationStorageManager
+                    .getFileChannel(appHashValue, folderName, artifactName, tenantId);
+            if (artifactChannel == null) {
+                String msg = "Couldn't find the file in the file system. Tenant Id: " + tenantId + " App Has Value: "
+                        + appHashValue + " Folder Name: " + folderName + " Artifact name: " + artifactName;
+                log.error(msg);
+                throw new NotFoundException(msg);
+            }
+            return artifactChannel;
+        } catch (ApplicationStorageManagementException e) {
+            String msg = "Error occurred when getting channel of the " + artifactName + " file.";
+            log.error(msg, e);
+            throw new ApplicationManagementException(msg, e);
+        }
+    }
+
     /**
      * Validate the artifact downloading request
      * @param tenantId Tenat Id
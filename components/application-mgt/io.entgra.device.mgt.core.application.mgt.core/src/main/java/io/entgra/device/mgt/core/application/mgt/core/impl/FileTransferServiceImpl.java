@@ -36,6 +36,7 @@ import java.io.InputStream;
 import java.net.URL;
 import java.nio.file.FileSystems;
 import java.nio.file.Path;
+import java.util.List;
 
 public class FileTransferServiceImpl implements FileTransferService {
     private final static Log log = LogFactory.getLog(FileTransferServiceImpl.class);
@@ -90,6 +91,14 @@ public class FileTransferServiceImpl implements FileTransferService {
         }
     }
 
+    @Override
+    public ChunkDescriptor resolve(String artifactHolder, InputStream chunk, long offset)
+            throws FileTransferServiceException, NotFoundException {
+        ChunkDescriptor chunkDescriptor = resolve(artifactHolder, chunk);
+        chunkDescriptor.setOffset(offset);
+        return chunkDescriptor;
+    }
+
     @Override
     public void writeChunk(ChunkDescriptor chunkDescriptor) throws FileTransferServiceException {
         try {
@@ -101,6 +110,18 @@ public class FileTransferServiceImpl implements FileTransferService {
         }
     }
 
+    @Override
+    public List<Long> getPendingChunkOffsets(String artifactHolder)
+            throws FileTransferServiceException, NotFoundException {
+        try {
+            return FileTransferServiceHelperUtil.getPendingChunkOffsets(artifactHolder);
+        } catch (FileTransferServiceHelperUtilException e) {
+            String msg = "Error occurred while getting pending chunks of " + artifactHolder;
+            log.error(msg, e);
+            throw new FileTransferServiceException(msg, e);
+        }
+    }
+
     @Override
     public boolean isExistsOnLocal(URL downloadUrl) throws FileTransferServiceException {
         try {
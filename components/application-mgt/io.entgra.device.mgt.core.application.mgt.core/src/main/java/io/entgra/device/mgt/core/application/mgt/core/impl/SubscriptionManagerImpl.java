@@ -22,6 +22,7 @@ import com.google.gson.Gson;
 import io.entgra.device.mgt.core.application.mgt.common.ApplicationInstallResponse;
 import io.entgra.device.mgt.core.application.mgt.common.ApplicationSubscriptionInfo;
 import io.entgra.device.mgt.core.application.mgt.common.ApplicationType;
+import io.entgra.device.mgt.core.application.mgt.common.BulkAppOperationJob;
 import io.entgra.device.mgt.core.application.mgt.common.CategorizedSubscriptionResult;
 import io.entgra.device.mgt.core.application.mgt.common.DeviceSubscriptionData;
 import io.entgra.device.mgt.core.application.mgt.common.SubscriptionInfo;
@@ -86,6 +87,7 @@ import io.entgra.device.mgt.core.application.mgt.core.exception.NotFoundExceptio
 import io.entgra.device.mgt.core.application.mgt.core.internal.DataHolder;
 import io.entgra.device.mgt.core.application.mgt.core.lifecycle.LifecycleStateManager;
 import io.entgra.device.mgt.core.application.mgt.core.util.APIUtil;
+import io.entgra.device.mgt.core.application.mgt.core.util.BulkAppOperationJobManager;
 import io.entgra.device.mgt.core.application.mgt.core.util.ConnectionManagerUtil;
 import io.entgra.device.mgt.core.application.mgt.core.util.Constants;
 import io.entgra.device.mgt.core.application.mgt.core.util.HelperUtil;
@@ -131,6 +133,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -180,7 +183,7 @@ public class SubscriptionManagerImpl implements SubscriptionManager {
         ApplicationDTO applicationDTO = getApplicationDTO(applicationUUID);
         ApplicationSubscriptionInfo applicationSubscriptionInfo = getAppSubscriptionInfo(applicationDTO, subType,
                 params);
-        performExternalStoreSubscription(applicationDTO, applicationSubscriptionInfo);
+        performExternalStoreSubscription(applicationDTO, applicationSubscriptionInfo.getDevices());
         ApplicationInstallResponse applicationInstallResponse = performActionOnDevices(
                 applicationSubscriptionInfo.getAppSupportingDeviceTypeName(), applicationSubscriptionInfo.getDevices(),
                 applicationDTO, subType, applicationSubscriptionInfo.getSubscribers(), action, properties, isOperationReExecutingDisabled);
@@ -189,9 +192,205 @@ public class SubscriptionManagerImpl implements SubscriptionManager {
         return applicationInstallResponse;
     }
 
-    private void performExternalStoreSubscription(ApplicationDTO applicationDTO,
-                                                  ApplicationSubscriptionInfo
-                                                          applicationSubscriptionInfo) throws ApplicationManagementException {
+    @Override
+    public <T> BulkAppOperationJob submitBulkAppOperation(String applicationUUID, List<T> params, String subType,
+                                                          String action, Properties properties,
+                                                          boolean isOperationReExecutingDisabled)
+            throws ApplicationManagementException {
+        validateRequest(params, subType, action);
+        ApplicationDTO applicationDTO = getApplicationDTO(applicationUUID);
+        PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+        int tenantId = carbonContext.getTenantId(true);
+        String tenantDomain = carbonContext.getTenantDomain(true);
+        String username = carbonContext.getUsername();
+        List<T> subscribers = new ArrayList<>(params);
+        BulkAppOperationJob bulkAppOperationJob = BulkAppOperationJobManager.getInstance()
+                .submit(tenantId, applicationUUID, subType, action, job -> {
+                    try {
+                        PrivilegedCarbonContext.startTenantFlow();
+                        PrivilegedCarbonContext jobCarbonContext =
+                                PrivilegedCarbonContext.getThreadLocalCarbonContext();
+                        jobCarbonContext.setTenantDomain(tenantDomain);
+                        jobCarbonContext.setTenantId(tenantId);
+                        jobCarbonContext.setUsername(username);
+                        runBulkAppOperationJob(job, applicationDTO, subscribers, subType, action, properties,
+                                isOperationReExecutingDisabled);
+                    } finally {
+                        PrivilegedCarbonContext.endTenantFlow();
+                    }
+                });
+        if (log.isDebugEnabled()) {
+            log.debug("Accepted bulk app operation " + bulkAppOperationJob.getJobId() + " to " + action
+                    + " application release which has UUID " + applicationUUID + " for " + params.size() + " "
+                    + subType + " subscribers.");
+        }
+        return bulkAppOperationJob;
+    }
+
+    @Override
+    public BulkAppOperationJob getBulkAppOperationJob(String jobId) {
+        int tenantId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId(true);
+        return BulkAppOperationJobManager.getInstance().getJob(jobId, tenantId);
+    }
+
+    /**
+     * Performs a bulk app operation accepted by {@link #submitBulkAppOperation}. The subscribing devices are resolved
+     * and de-duplicated first, then each chunk of devices is associated with the external store and the operation is
+     * added to them together with their subscriptions, so that a failure affects only the devices of its chunk.
+     * Finally, the bulk subscribers are persisted if the operation was added to any device.
+     *
+     * @param job            Job to report the progress to
+     * @param applicationDTO Application data
+     * @param params         Subscribers
+     * @param subType        Subscription type (i.e USER, ROLE, GROUP or DEVICE)
+     * @param action         Performing action. (i.e INSTALL or UNINSTALL)
+     * @param properties     Application properties that need to be sent with operation payload to the device
+     * @param isOperationReExecutingDisabled To prevent adding the application subscribing operation to devices that are
+     *                                      already subscribed application successfully.
+     */
+    <T> void runBulkAppOperationJob(BulkAppOperationJob job, ApplicationDTO applicationDTO, List<T> params,
+                                    String subType, String action, Properties properties,
+                                    boolean isOperationReExecutingDisabled) {
+        BulkAppOperationJobManager jobManager = BulkAppOperationJobManager.getInstance();
+        int applicationReleaseId = applicationDTO.getApplicationReleaseDTOs().get(0).getId();
+        ApplicationSubscriptionInfo applicationSubscriptionInfo;
+        List<List<Device>> deviceChunks;
+        try {
+            jobManager.update(job, resolvingJob -> resolvingJob.setStage(BulkAppOperationJob.Stage.RESOLVING_DEVICES));
+            applicationSubscriptionInfo = getAppSubscriptionInfo(applicationDTO, subType, params);
+            List<Device> devices = getDistinctDevices(applicationSubscriptionInfo.getDevices());
+            deviceChunks = new ArrayList<>();
+            for (int from = 0; from < devices.size(); from += Constants.BulkAppOperation.DEVICE_CHUNK_SIZE) {
+                deviceChunks.add(devices.subList(from,
+                        Math.min(from + Constants.BulkAppOperation.DEVICE_CHUNK_SIZE, devices.size())));
+            }
+            jobManager.update(job, resolvedJob -> {
+                resolvedJob.setTotalDevices(devices.size());
+                resolvedJob.setTotalChunks(deviceChunks.size());
+                resolvedJob.getErrorDeviceIdentifiers().addAll(applicationSubscriptionInfo.getErrorDeviceIdentifiers());
+            });
+        } catch (ApplicationManagementException e) {
+            String msg = "Error occurred while resolving the subscribing devices of bulk app operation "
+                    + job.getJobId();
+            log.error(msg, e);
+            jobManager.update(job, failedJob -> {
+                failedJob.setStage(BulkAppOperationJob.Stage.FAILED);
+                failedJob.setMessage(e.getMessage());
+            });
+            return;
+        }
+
+        int totalDeviceCount = deviceChunks.stream().mapToInt(List::size).sum();
+        int skippedDeviceCount = 0;
+        int failedDeviceCount = 0;
+        boolean isOperationAdded = false;
+        for (List<Device> deviceChunk : deviceChunks) {
+            try {
+                jobManager.update(job, chunkJob -> chunkJob
+                        .setStage(BulkAppOperationJob.Stage.EXTERNAL_STORE_SUBSCRIPTION));
+                performExternalStoreSubscription(applicationDTO, deviceChunk);
+
+                jobManager.update(job, chunkJob -> chunkJob.setStage(BulkAppOperationJob.Stage.OPERATION_FAN_OUT));
+                SubscribingDeviceIdHolder subscribingDeviceIdHolder = getSubscribingDeviceIdHolder(deviceChunk,
+                        applicationReleaseId);
+                skippedDeviceCount += subscribingDeviceIdHolder.getSkippedDevices().size();
+                ApplicationInstallResponse applicationInstallResponse = performActionOnDevices(
+                        applicationSubscriptionInfo.getAppSupportingDeviceTypeName(), subscribingDeviceIdHolder,
+                        applicationDTO, subType, new ArrayList<>(), action, properties,
+                        isOperationReExecutingDisabled);
+                if (applicationInstallResponse.getActivities() != null
+                        && !applicationInstallResponse.getActivities().isEmpty()) {
+                    isOperationAdded = true;
+                }
+                jobManager.update(job, chunkJob -> {
+                    if (applicationInstallResponse.getActivities() != null) {
+                        chunkJob.getActivities().addAll(applicationInstallResponse.getActivities());
+                    }
+                    chunkJob.getIgnoredDeviceIdentifiers()
+                            .addAll(applicationInstallResponse.getIgnoredDeviceIdentifiers());
+                    chunkJob.getIgnoredDeviceIdentifiers()
+                            .addAll(subscribingDeviceIdHolder.getSkippedDevices().keySet());
+                    chunkJob.setProcessedDevices(chunkJob.getProcessedDevices() + deviceChunk.size());
+                    chunkJob.setProcessedChunks(chunkJob.getProcessedChunks() + 1);
+                });
+            } catch (ApplicationManagementException e) {
+                String msg = "Error occurred while performing bulk app operation " + job.getJobId() + " on a chunk of "
+                        + deviceChunk.size() + " devices.";
+                log.error(msg, e);
+                failedDeviceCount += deviceChunk.size();
+                jobManager.update(job, chunkJob -> {
+                    for (Device device : deviceChunk) {
+                        chunkJob.getFailedDeviceIdentifiers()
+                                .add(new DeviceIdentifier(device.getDeviceIdentifier(), device.getType()));
+                    }
+                    chunkJob.setMessage(e.getMessage());
+                    chunkJob.setProcessedDevices(chunkJob.getProcessedDevices() + deviceChunk.size());
+                    chunkJob.setProcessedChunks(chunkJob.getProcessedChunks() + 1);
+                });
+            }
+        }
+
+        if (totalDeviceCount > 0 && failedDeviceCount == totalDeviceCount) {
+            jobManager.update(job, failedJob -> failedJob.setStage(BulkAppOperationJob.Stage.FAILED));
+            return;
+        }
+        if (SubAction.INSTALL.toString().equalsIgnoreCase(action) && totalDeviceCount > 0
+                && skippedDeviceCount == totalDeviceCount) {
+            jobManager.update(job, failedJob -> {
+                failedJob.setStage(BulkAppOperationJob.Stage.FAILED);
+                failedJob.setMessage("All devices in the subscription have pending operations for this application.");
+            });
+            return;
+        }
+        if (isOperationAdded && !applicationSubscriptionInfo.getSubscribers().isEmpty()) {
+            try {
+                jobManager.update(job, persistingJob -> persistingJob
+                        .setStage(BulkAppOperationJob.Stage.SUBSCRIPTION_PERSISTENCE));
+                persistBulkSubscribers(applicationReleaseId, applicationSubscriptionInfo.getSubscribers(), subType,
+                        action);
+            } catch (ApplicationManagementException e) {
+                log.error("Error occurred while persisting the subscribers of bulk app operation " + job.getJobId(), e);
+                jobManager.update(job, failedJob -> {
+                    failedJob.setStage(BulkAppOperationJob.Stage.FAILED);
+                    failedJob.setMessage(e.getMessage());
+                });
+                return;
+            }
+        }
+        jobManager.update(job, completedJob -> completedJob.setStage(BulkAppOperationJob.Stage.COMPLETED));
+        if (log.isDebugEnabled()) {
+            log.debug("Completed bulk app operation " + job.getJobId() + " on " + totalDeviceCount + " devices.");
+        }
+    }
+
+    /**
+     * De-duplicate the resolved devices by their primary key, since a device may be resolved through more than one
+     * subscriber, and drop the device identifiers which don't match an enrolled device.
+     *
+     * @param devices Resolved devices
+     * @return Distinct devices in the resolved order
+     */
+    List<Device> getDistinctDevices(List<Device> devices) {
+        Map<Integer, Device> distinctDevices = new LinkedHashMap<>();
+        for (Device device : devices) {
+            if (device != null) {
+                distinctDevices.putIfAbsent(device.getId(), device);
+            }
+        }
+        return new ArrayList<>(distinctDevices.values());
+    }
+
+    /**
+     * Associate the owners of the devices with the application, if the application is a VPP asset. The VPP users of
+     * the owners are retrieved with a query per chunk of owners.
+     *
+     * @param applicationDTO Application data
+     * @param devices        Subscribing devices
+     * @throws ApplicationManagementException if error occurred while retrieving the VPP asset or users, or while
+     *                                        associating the users with the asset.
+     */
+    private void performExternalStoreSubscription(ApplicationDTO applicationDTO, List<Device> devices)
+            throws ApplicationManagementException {
         try {
             // Only for iOS devices
             int tenantId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId(true);
@@ -199,19 +398,23 @@ public class SubscriptionManagerImpl implements SubscriptionManager {
             if(!applicationDTO.getType().equals("WEB_CLIP")){
                 if (DeviceTypes.IOS.toString().equalsIgnoreCase(APIUtil.getDeviceTypeData(applicationDTO
                         .getDeviceTypeId()).getName())) {
-                    // TODO: replace getAssetByAppId with the correct one in DAO
-                    // Check if the app trying to subscribe is a VPP asset.
-                    VppAssetDTO storedAsset = vppApplicationDAO.getAssetByAppId(applicationDTO.getId(), tenantId);
-                    if (storedAsset != null) { // This is a VPP asset
-                        List<VppUserDTO> users = new ArrayList<>();
-                        List<Device> devices = applicationSubscriptionInfo.getDevices();// get
-                        // subscribed device list, so that we can extract the users of those devices.
-                        for (Device device : devices) {
-                            VppUserDTO user = vppApplicationDAO.getUserByDMUsername(device.getEnrolmentInfo()
-                                    .getOwner(), PrivilegedCarbonContext.getThreadLocalCarbonContext()
-                                    .getTenantId(true));
-                            users.add(user);
+                    VppAssetDTO storedAsset;
+                    List<VppUserDTO> users = new ArrayList<>();
+                    try {
+                        ConnectionManagerUtil.openDBConnection();
+                        // TODO: replace getAssetByAppId with the correct one in DAO
+                        // Check if the app trying to subscribe is a VPP asset.
+                        storedAsset = vppApplicationDAO.getAssetByAppId(applicationDTO.getId(), tenantId);
+                        if (storedAsset != null) { // This is a VPP asset
+                            // get subscribed device owners, so that we can extract the users of those devices.
+                            List<String> owners = devices.stream().map(device -> device.getEnrolmentInfo().getOwner())
+                                    .distinct().collect(Collectors.toList());
+                            users = getVppUsers(owners, tenantId);
                         }
+                    } finally {
+                        ConnectionManagerUtil.closeDBConnection();
+                    }
+                    if (storedAsset != null && !users.isEmpty()) {
                         VPPApplicationManager vppManager = APIUtil.getVPPManager();
                         vppManager.addAssociation(storedAsset, users);
                     }
@@ -229,6 +432,10 @@ public class SubscriptionManagerImpl implements SubscriptionManager {
             String msg = "Error while getting the device user";
             log.error(msg, e);
             throw new ApplicationManagementException(msg, e);
+        } catch (DBConnectionException e) {
+            String msg = "Error occurred while obtaining the database connection to get the device users";
+            log.error(msg, e);
+            throw new ApplicationManagementException(msg, e);
         } catch (ApplicationManagementException e) {
             String msg = "Error while associating user";
             log.error(msg, e);
@@ -237,6 +444,24 @@ public class SubscriptionManagerImpl implements SubscriptionManager {
 
     }
 
+    /**
+     * Retrieve the VPP users of the given device owners with a query per chunk of owners. Before invoke this method
+     * it is required to open the DB connection.
+     *
+     * @param owners   Usernames of the device owners
+     * @param tenantId Tenant Id
+     * @return VPP users of the owners
+     * @throws ApplicationManagementDAOException if error occurred while retrieving the VPP users.
+     */
+    List<VppUserDTO> getVppUsers(List<String> owners, int tenantId) throws ApplicationManagementDAOException {
+        List<VppUserDTO> users = new ArrayList<>();
+        for (int from = 0; from < owners.size(); from += Constants.BulkAppOperation.DEVICE_CHUNK_SIZE) {
+            users.addAll(vppApplicationDAO.getUsersByDMUsernames(owners.subList(from,
+                    Math.min(from + Constants.BulkAppOperation.DEVICE_CHUNK_SIZE, owners.size())), tenantId));
+        }
+        return users;
+    }
+
     @Override
     public void createScheduledSubscription(ScheduledSubscriptionDTO subscriptionDTO)
             throws SubscriptionManagementException {
@@ -525,7 +750,7 @@ public class SubscriptionManagerImpl implements SubscriptionManager {
      * @return {@link ApplicationSubscriptionInfo}
      * @throws ApplicationManagementException if error occurred while getting Application subscription info
      */
-    private <T> ApplicationSubscriptionInfo getAppSubscriptionInfo(ApplicationDTO applicationDTO, String subType,
+    <T> ApplicationSubscriptionInfo getAppSubscriptionInfo(ApplicationDTO applicationDTO, String subType,
             List<T> params) throws ApplicationManagementException {
 
         DeviceManagementProviderService deviceManagementProviderService = HelperUtil
@@ -747,12 +972,42 @@ public class SubscriptionManagerImpl implements SubscriptionManager {
                                                               Properties properties,
                                                               boolean isOperationReExecutingDisabled)
             throws ApplicationManagementException {
-        String username = PrivilegedCarbonContext.getThreadLocalCarbonContext().getUsername();
-        String tenantId = String.valueOf(PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId());
-        String tenantDomain = String.valueOf(PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantDomain());
         //Get app subscribing info of each device
         SubscribingDeviceIdHolder subscribingDeviceIdHolder = getSubscribingDeviceIdHolder(devices,
                 applicationDTO.getApplicationReleaseDTOs().get(0).getId());
+        if (SubAction.INSTALL.toString().equalsIgnoreCase(action)) {
+            validatePendingAppSubscription(devices, subscribingDeviceIdHolder);
+        }
+        return performActionOnDevices(deviceType, subscribingDeviceIdHolder, applicationDTO, subType, subscribers,
+                action, properties, isOperationReExecutingDisabled);
+    }
+
+    /**
+     * This method perform given action (i.e APP INSTALL or APP UNINSTALL) on the devices of a subscribing device id
+     * holder. Devices which have pending operations for the application are skipped.
+     *
+     * @param deviceType     Application supported device type.
+     * @param subscribingDeviceIdHolder Subscribing device id holder of the devices that action is triggered.
+     * @param applicationDTO Application data
+     * @param subType        Subscription type (i.e USER, ROLE, GROUP or DEVICE)
+     * @param subscribers    Subscribers
+     * @param action         Performing action. (i.e INSTALL or UNINSTALL)
+     * @param isOperationReExecutingDisabled To prevent adding the application subscribing operation to devices that are
+     *                                      already subscribed application successfully.
+     * @return {@link ApplicationInstallResponse}
+     * @throws ApplicationManagementException if error occurred when adding operation on device or updating subscription
+     *                                        data.
+     */
+    ApplicationInstallResponse performActionOnDevices(String deviceType,
+                                                      SubscribingDeviceIdHolder subscribingDeviceIdHolder,
+                                                      ApplicationDTO applicationDTO, String subType,
+                                                      List<String> subscribers, String action,
+                                                      Properties properties,
+                                                      boolean isOperationReExecutingDisabled)
+            throws ApplicationManagementException {
+        String username = PrivilegedCarbonContext.getThreadLocalCarbonContext().getUsername();
+        String tenantId = String.valueOf(PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId());
+        String tenantDomain = String.valueOf(PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantDomain());
 
         List<Activity> activityList = new ArrayList<>();
         List<DeviceIdentifier> deviceIdentifiers = new ArrayList<>();
@@ -760,7 +1015,6 @@ public class SubscriptionManagerImpl implements SubscriptionManager {
         Map<String, List<DeviceIdentifier>> deviceIdentifierMap = new HashMap<>();
 
         if (SubAction.INSTALL.toString().equalsIgnoreCase(action)) {
-            validatePendingAppSubscription(devices, subscribingDeviceIdHolder);
             deviceIdentifiers.addAll(new ArrayList<>(subscribingDeviceIdHolder.getAppInstallableDevices().keySet()));
             deviceIdentifiers.addAll(new ArrayList<>(subscribingDeviceIdHolder.getAppReInstallableDevices().keySet()));
             if (!isOperationReExecutingDisabled) {
@@ -1038,6 +1292,44 @@ public class SubscriptionManagerImpl implements SubscriptionManager {
         }
     }
 
+    /**
+     * This method is responsible to persist the bulk subscribers of an asynchronous bulk app operation, after the
+     * operation is added to the devices of the subscribers.
+     *
+     * @param applicationReleaseId Application release Id
+     * @param subscribers          Subscribers. i.e user names, role names or group names
+     * @param subType              Subscription type. i.e USER, GROUP or ROLE
+     * @param action               Performing action. i.e INSTALL or UNINSTALL
+     * @throws ApplicationManagementException if error occurred while updating or inserting subscriber entities
+     */
+    private void persistBulkSubscribers(int applicationReleaseId, List<String> subscribers, String subType,
+            String action) throws ApplicationManagementException {
+        int tenantId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId(true);
+        String username = PrivilegedCarbonContext.getThreadLocalCarbonContext().getUsername();
+        try {
+            ConnectionManagerUtil.beginDBTransaction();
+            updateBulkSubscribers(applicationReleaseId, new ArrayList<>(subscribers), subType, action, tenantId,
+                    username);
+            ConnectionManagerUtil.commitDBTransaction();
+        } catch (ApplicationManagementDAOException e) {
+            ConnectionManagerUtil.rollbackDBTransaction();
+            String msg = "Error occurred when adding subscribers for application release ID: " + applicationReleaseId;
+            log.error(msg, e);
+            throw new ApplicationManagementException(msg, e);
+        } catch (DBConnectionException e) {
+            String msg = "Error occurred when getting database connection to add subscribers to application.";
+            log.error(msg, e);
+            throw new ApplicationManagementException(msg, e);
+        } catch (TransactionManagementException e) {
+            String msg = "SQL Error occurred when adding subscribers to application release which has ID: "
+                    + applicationReleaseId;
+            log.error(msg, e);
+            throw new ApplicationManagementException(msg, e);
+        } finally {
+            ConnectionManagerUtil.closeDBConnection();
+        }
+    }
+
     /**
      * This method is responsible to update bulk subscriber's data. i.e USER, ROLE, GROUP. Before invoke this method it
      * is required to start DB transaction
@@ -1053,6 +1345,9 @@ public class SubscriptionManagerImpl implements SubscriptionManager {
      */
     private void updateBulkSubscribers(int applicationReleaseId, List<String> params, String subType, String action,
             int tenantId, String username) throws ApplicationManagementDAOException {
+        if (params.isEmpty()) {
+            return;
+        }
         List<String> subscribedEntities = new ArrayList<>();
         if (SubscriptionType.USER.toString().equalsIgnoreCase(subType)) {
             subscribedEntities = subscriptionDAO.getAppSubscribedUserNames(params, applicationReleaseId, tenantId);
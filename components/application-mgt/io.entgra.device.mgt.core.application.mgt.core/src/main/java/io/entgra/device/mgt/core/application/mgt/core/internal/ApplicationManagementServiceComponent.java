@@ -33,6 +33,7 @@ import io.entgra.device.mgt.core.application.mgt.core.impl.FileTransferServiceIm
 import io.entgra.device.mgt.core.application.mgt.core.lifecycle.LifecycleStateManager;
 import io.entgra.device.mgt.core.application.mgt.core.task.ScheduledAppSubscriptionTaskManager;
 import io.entgra.device.mgt.core.application.mgt.core.util.ApplicationManagementUtil;
+import io.entgra.device.mgt.core.application.mgt.core.util.BulkAppOperationJobManager;
 import io.entgra.device.mgt.core.device.mgt.core.service.DeviceManagementProviderService;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -122,7 +123,10 @@ public class ApplicationManagementServiceComponent {
     @SuppressWarnings("unused")
     @Deactivate
     protected void deactivate(ComponentContext componentContext) {
-        //do nothing
+        BulkAppOperationJobManager jobManager = BulkAppOperationJobManager.getExistingInstance();
+        if (jobManager != null) {
+            jobManager.shutdown();
+        }
     }
 
     @SuppressWarnings("unused")
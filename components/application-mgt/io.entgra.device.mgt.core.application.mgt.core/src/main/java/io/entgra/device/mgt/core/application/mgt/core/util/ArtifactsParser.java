@@ -31,9 +31,10 @@ import org.apache.commons.logging.LogFactory;
 
 import java.io.*;
 import java.nio.file.Files;
+import java.util.Enumeration;
 import java.util.UUID;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.zip.ZipFile;
 
 public class ArtifactsParser {
 
@@ -46,79 +47,98 @@ public class ArtifactsParser {
 
     public static ApkMeta readAndroidManifestFile(InputStream inputStream) throws ParsingException {
         File tempFile = null;
-        ApkMeta apkMeta;
         try {
             tempFile = File.createTempFile("temp" + UUID.randomUUID(), ".apk");
             try (FileOutputStream out = new FileOutputStream(tempFile)) {
                 IOUtils.copy(inputStream, out);
-                try (ApkFile apkFile = new ApkFile(tempFile)) {
-                    apkMeta = apkFile.getApkMeta();
-                }
             }
+            return readAndroidManifestFile(tempFile);
         } catch (IOException e) {
             throw new ParsingException("Error while parsing the apk.", e);
         } finally {
-            if (tempFile != null) {
-                try {
-                    Files.delete(tempFile.toPath());
-                } catch (IOException e) {
-                    log.error("Error occured while deleting the temp file", e);
-                }
-            }
+            deleteTempFile(tempFile);
+        }
+    }
+
+    /**
+     * Reads the manifest of an apk which is already in the file system, without copying it.
+     *
+     * @param apk apk file
+     * @return {@link ApkMeta} of the apk
+     * @throws ParsingException if the apk couldn't be parsed
+     */
+    public static ApkMeta readAndroidManifestFile(File apk) throws ParsingException {
+        try (ApkFile apkFile = new ApkFile(apk)) {
+            return apkFile.getApkMeta();
+        } catch (IOException e) {
+            throw new ParsingException("Error while parsing the apk.", e);
         }
-        return apkMeta;
     }
 
     public static NSDictionary readiOSManifestFile(InputStream inputStream) throws ParsingException {
-        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-        NSDictionary rootDict;
         File tempFile = null;
         try {
             tempFile = File.createTempFile("temp" + UUID.randomUUID(), ".ipa");
             try (FileOutputStream out = new FileOutputStream(tempFile)) {
                 IOUtils.copy(inputStream, out);
-                try (ZipInputStream stream = new ZipInputStream(new FileInputStream(tempFile))) {
-                    ZipEntry entry;
-                    while ((entry = stream.getNextEntry()) != null) {
-                        if (entry.getName().matches("^(Payload/)(.)+(.app/Info.plist)$")) {
-                            InputStream is = stream;
-                            int nRead;
-                            byte[] data = new byte[16384];
-
-                            while ((nRead = is.read(data, 0, data.length)) != -1) {
-                                buffer.write(data, 0, nRead);
-                            }
-                            buffer.flush();
-                            break;
-                        }
-                    }
-                    try {
-                        rootDict = (NSDictionary) BinaryPropertyListParser.parse(buffer.toByteArray());
-                    } catch (IllegalArgumentException e) {
-                        log.debug("Uploaded file didn't have a Binary Plist");
-                        try {
-                            rootDict = (NSDictionary) PropertyListParser.parse(buffer.toByteArray());
-                        } catch (Exception e1) {
-                            throw new ParsingException("Error while parsing the non binary plist.", e1);
-                        }
-                    }
-                }
             }
-        } catch (PropertyListFormatException e1) {
-            throw new ParsingException("Error while parsing the plist.", e1);
+            return readiOSManifestFile(tempFile);
         } catch (FileNotFoundException e) {
             throw new ParsingException("Error while creating temporary file.", e);
         } catch (IOException e) {
             throw new ParsingException("Error while parsing the file.", e);
         } finally {
-            if (tempFile != null) {
+            deleteTempFile(tempFile);
+        }
+    }
+
+    /**
+     * Reads the Info.plist of an ipa which is already in the file system. The plist entry is located through the
+     * central directory of the archive, so the rest of the archive is not read.
+     *
+     * @param ipa ipa file
+     * @return root {@link NSDictionary} of the Info.plist
+     * @throws ParsingException if the ipa or its Info.plist couldn't be parsed
+     */
+    public static NSDictionary readiOSManifestFile(File ipa) throws ParsingException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        NSDictionary rootDict;
+        try (ZipFile zipFile = new ZipFile(ipa)) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.getName().matches("^(Payload/)(.)+(.app/Info.plist)$")) {
+                    try (InputStream is = zipFile.getInputStream(entry)) {
+                        IOUtils.copy(is, buffer);
+                    }
+                    break;
+                }
+            }
+            try {
+                rootDict = (NSDictionary) BinaryPropertyListParser.parse(buffer.toByteArray());
+            } catch (IllegalArgumentException e) {
+                log.debug("Uploaded file didn't have a Binary Plist");
                 try {
-                    Files.delete(tempFile.toPath());
-                } catch (IOException e) {
-                    log.error("Error occured while deleting the temp file", e);
+                    rootDict = (NSDictionary) PropertyListParser.parse(buffer.toByteArray());
+                } catch (Exception e1) {
+                    throw new ParsingException("Error while parsing the non binary plist.", e1);
                 }
             }
+        } catch (PropertyListFormatException e1) {
+            throw new ParsingException("Error while parsing the plist.", e1);
+        } catch (IOException e) {
+            throw new ParsingException("Error while parsing the file.", e);
         }
         return rootDict;
     }
+
+    private static void deleteTempFile(File tempFile) {
+        if (tempFile != null) {
+            try {
+                Files.delete(tempFile.toPath());
+            } catch (IOException e) {
+                log.error("Error occured while deleting the temp file", e);
+            }
+        }
+    }
 }
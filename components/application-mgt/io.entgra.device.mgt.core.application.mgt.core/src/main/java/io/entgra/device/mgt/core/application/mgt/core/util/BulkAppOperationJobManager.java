@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2018 - 2024, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.application.mgt.core.util;
+
+import io.entgra.device.mgt.core.application.mgt.common.BulkAppOperationJob;
+import io.entgra.device.mgt.core.application.mgt.common.config.BulkAppOperationConfiguration;
+import io.entgra.device.mgt.core.application.mgt.common.exception.ApplicationManagementException;
+import io.entgra.device.mgt.core.application.mgt.core.config.Configuration;
+import io.entgra.device.mgt.core.application.mgt.core.config.ConfigurationManager;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs bulk app operations on a bounded pool of workers and keeps their progress, so that the subscription request
+ * can return as soon as the job is accepted. Finished jobs are kept for a retention period to be queried, and jobs
+ * are kept in memory, hence the progress is available only on the node which accepted the job.
+ */
+public class BulkAppOperationJobManager {
+
+    private static final Log log = LogFactory.getLog(BulkAppOperationJobManager.class);
+
+    private static volatile BulkAppOperationJobManager bulkAppOperationJobManager;
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, TenantJob> jobs = new ConcurrentHashMap<>();
+
+    private BulkAppOperationJobManager() {
+        int workerCount = Constants.BulkAppOperation.DEFAULT_WORKER_COUNT;
+        int queueCapacity = Constants.BulkAppOperation.DEFAULT_QUEUE_CAPACITY;
+        Configuration configuration = ConfigurationManager.getInstance().getConfiguration();
+        if (configuration != null && configuration.getBulkAppOperationConfiguration() != null) {
+            BulkAppOperationConfiguration config = configuration.getBulkAppOperationConfiguration();
+            workerCount = config.getWorkerCount() > 0 ? config.getWorkerCount() : workerCount;
+            queueCapacity = config.getQueueCapacity() > 0 ? config.getQueueCapacity() : queueCapacity;
+        }
+        this.executor = new ThreadPoolExecutor(workerCount, workerCount, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                newThreadFactory(Constants.BulkAppOperation.WORKER_THREAD_NAME), new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        if (log.isDebugEnabled()) {
+            log.debug("Bulk app operation workers are started with " + workerCount + " workers and a queue of "
+                    + queueCapacity + " jobs");
+        }
+    }
+
+    public static BulkAppOperationJobManager getInstance() {
+        if (bulkAppOperationJobManager == null) {
+            synchronized (BulkAppOperationJobManager.class) {
+                if (bulkAppOperationJobManager == null) {
+                    bulkAppOperationJobManager = new BulkAppOperationJobManager();
+                }
+            }
+        }
+        return bulkAppOperationJobManager;
+    }
+
+    /**
+     * @return the current instance, or null if the instance is not created yet or is already shut down.
+     */
+    public static BulkAppOperationJobManager getExistingInstance() {
+        return bulkAppOperationJobManager;
+    }
+
+    /**
+     * Registers a job and queues it to be run by a worker.
+     *
+     * @param tenantId        Id of the tenant the job is performed for.
+     * @param applicationUUID UUID of the application release.
+     * @param subType         Subscription type. i.e DEVICE, USER, ROLE or GROUP
+     * @param action          Performing action. i.e INSTALL or UNINSTALL
+     * @param pipeline        stages of the job, which report the progress through {@link #update}.
+     * @return snapshot of the queued job.
+     * @throws ApplicationManagementException if the job can't be queued since too many jobs are pending.
+     */
+    public BulkAppOperationJob submit(int tenantId, String applicationUUID, String subType, String action,
+            Consumer<BulkAppOperationJob> pipeline) throws ApplicationManagementException {
+        evictFinishedJobs();
+        BulkAppOperationJob job = new BulkAppOperationJob();
+        job.setJobId(UUID.randomUUID().toString());
+        job.setApplicationUUID(applicationUUID);
+        job.setSubType(subType);
+        job.setAction(action);
+        job.setStage(BulkAppOperationJob.Stage.QUEUED);
+        job.setCreatedTime(System.currentTimeMillis());
+        job.setLastUpdatedTime(job.getCreatedTime());
+        jobs.put(job.getJobId(), new TenantJob(tenantId, job));
+        try {
+            executor.execute(() -> run(job, pipeline));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getJobId());
+            String msg = "Couldn't accept the bulk app operation on application release " + applicationUUID
+                    + " since " + executor.getQueue().size() + " bulk app operations are pending. Please retry later.";
+            log.error(msg, e);
+            throw new ApplicationManagementException(msg, e);
+        }
+        return getJob(job.getJobId(), tenantId);
+    }
+
+    /**
+     * @param jobId    Id of the job.
+     * @param tenantId Id of the tenant which requests the job.
+     * @return snapshot of the job, or null if the job doesn't exist, has expired or belongs to another tenant.
+     */
+    public BulkAppOperationJob getJob(String jobId, int tenantId) {
+        TenantJob tenantJob = jobs.get(jobId);
+        if (tenantJob == null || tenantJob.tenantId != tenantId) {
+            return null;
+        }
+        synchronized (tenantJob.job) {
+            return new BulkAppOperationJob(tenantJob.job);
+        }
+    }
+
+    /**
+     * Updates the progress of a running job, so that the update is not seen partially by the status requests.
+     *
+     * @param job    running job.
+     * @param update update to apply on the job.
+     */
+    public void update(BulkAppOperationJob job, Consumer<BulkAppOperationJob> update) {
+        synchronized (job) {
+            if (executor.isShutdown() && job.getStage().isFinished()) {
+                return;
+            }
+            update.accept(job);
+            job.setLastUpdatedTime(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Stops the workers. Invoked when the service is shutting down, where the jobs which are still queued or running
+     * are abandoned and marked as failed. A subsequent {@link #getInstance()} creates a new instance.
+     */
+    public void shutdown() {
+        synchronized (BulkAppOperationJobManager.class) {
+            if (bulkAppOperationJobManager == this) {
+                bulkAppOperationJobManager = null;
+            }
+        }
+        List<Runnable> abandonedJobs = executor.shutdownNow();
+        int unfinishedJobs = 0;
+        for (TenantJob tenantJob : jobs.values()) {
+            synchronized (tenantJob.job) {
+                if (!tenantJob.job.getStage().isFinished()) {
+                    tenantJob.job.setStage(BulkAppOperationJob.Stage.FAILED);
+                    tenantJob.job.setMessage("Bulk app operation was abandoned since the service is shutting down.");
+                    tenantJob.job.setLastUpdatedTime(System.currentTimeMillis());
+                    unfinishedJobs++;
+                }
+            }
+        }
+        if (unfinishedJobs > 0) {
+            log.warn(unfinishedJobs + " bulk app operations, " + abandonedJobs.size() + " of which were queued, are "
+                    + "abandoned since the service is shutting down");
+        }
+    }
+
+    private void run(BulkAppOperationJob job, Consumer<BulkAppOperationJob> pipeline) {
+        try {
+            pipeline.accept(job);
+        } catch (RuntimeException e) {
+            log.error("Unexpected error occurred while performing the bulk app operation " + job.getJobId(), e);
+            update(job, failedJob -> {
+                failedJob.setStage(BulkAppOperationJob.Stage.FAILED);
+                failedJob.setMessage("Unexpected error occurred while performing the bulk app operation.");
+            });
+        }
+    }
+
+    private void evictFinishedJobs() {
+        long expiredBefore = System.currentTimeMillis() - Constants.BulkAppOperation.JOB_RETENTION_MILLIS;
+        List<TenantJob> finishedJobs = new ArrayList<>();
+        for (TenantJob tenantJob : jobs.values()) {
+            synchronized (tenantJob.job) {
+                if (tenantJob.job.getStage().isFinished()) {
+                    if (tenantJob.job.getLastUpdatedTime() < expiredBefore) {
+                        jobs.remove(tenantJob.job.getJobId());
+                    } else {
+                        finishedJobs.add(tenantJob);
+                    }
+                }
+            }
+        }
+        int excessJobs = finishedJobs.size() - Constants.BulkAppOperation.MAX_RETAINED_JOBS + 1;
+        if (excessJobs > 0) {
+            finishedJobs.sort(Comparator.comparingLong(tenantJob -> tenantJob.job.getCreatedTime()));
+            for (TenantJob tenantJob : finishedJobs.subList(0, excessJobs)) {
+                jobs.remove(tenantJob.job.getJobId());
+            }
+        }
+    }
+
+    private static ThreadFactory newThreadFactory(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+        return runnable -> {
+            Thread thread = defaultFactory.newThread(runnable);
+            thread.setName(prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class TenantJob {
+
+        private final int tenantId;
+        private final BulkAppOperationJob job;
+
+        private TenantJob(int tenantId, BulkAppOperationJob job) {
+            this.tenantId = tenantId;
+            this.job = job;
+        }
+    }
+}
@@ -166,6 +166,12 @@ public class Constants {
      */
     public static final String APP_ARTIFACT = "app";
 
+    /**
+     * Directory name in which the release binary files are written before they are moved to the application artifact
+     * directory.
+     */
+    public static final String SPOOL_ARTIFACT = ".spool";
+
     public static final int REVIEW_PARENT_ID = -1;
 
     public static final int MAX_RATING = 5;
@@ -225,6 +231,22 @@ public class Constants {
         public static final String ASSOCIATION_USER = "ASSOCIATION_USER";
     }
 
+    /**
+     * Asynchronous bulk app operation related constants
+     */
+    public final class BulkAppOperation {
+        private BulkAppOperation() {
+            throw new AssertionError();
+        }
+
+        public static final int DEVICE_CHUNK_SIZE = 500;
+        public static final int DEFAULT_WORKER_COUNT = 4;
+        public static final int DEFAULT_QUEUE_CAPACITY = 100;
+        public static final long JOB_RETENTION_MILLIS = 24 * 60 * 60 * 1000L;
+        public static final int MAX_RETAINED_JOBS = 1000;
+        public static final String WORKER_THREAD_NAME = "appm-bulk-app-operation-";
+    }
+
     /**
      * App name sanitization related constants
      */
@@ -34,20 +34,41 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class FileTransferServiceHelperUtil {
     private static final Log log = LogFactory.getLog(FileTransferServiceHelperUtil.class);
     private static final String ROOT = "iot-artifact-holder";
     private static final String SYSTEM_PROPERTY_TEMP_DIR = "java.io.tmpdir";
     private static final String META_ENTRY_FILE_NAME = ".meta.json";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
     private static final Gson gson = new Gson();
+
+    /**
+     * Locks of the uploads in progress, keyed by the meta entry of the upload, which serialize the updates of the
+     * chunk bitmap while the chunks themselves are written concurrently. A lock is kept only while a chunk of the
+     * upload is being written, whether the upload completes or fails.
+     */
+    private static final ConcurrentMap<Path, UploadLock> uploadLocks = new ConcurrentHashMap<>();
+
     public static void createDefaultRootStructure() throws FileTransferServiceHelperUtilException {
         try {
             Path root = Paths.get(System.getProperty(SYSTEM_PROPERTY_TEMP_DIR), ROOT);
@@ -67,6 +88,13 @@ public class FileTransferServiceHelperUtil {
     }
 
     public static Path createNewArtifactHolder(FileMetaEntry fileMetaEntry) throws FileTransferServiceHelperUtilException {
+        long chunkSize = fileMetaEntry.getChunkSize();
+        if (chunkSize < 0 || (chunkSize > 0 && (fileMetaEntry.getSize() <= 0
+                || (fileMetaEntry.getSize() - 1) / chunkSize >= Integer.MAX_VALUE))) {
+            throw new FileTransferServiceHelperUtilException("Invalid chunk size " + chunkSize + " for a file of size "
+                    + fileMetaEntry.getSize());
+        }
+        fileMetaEntry.setReceivedChunks(null);
         try {
             Path artifactHolder = Paths.get(System.getProperty(SYSTEM_PROPERTY_TEMP_DIR), ROOT, UUID.randomUUID().toString());
             if (Files.exists(artifactHolder)) {
@@ -89,7 +117,7 @@ public class FileTransferServiceHelperUtil {
         Path metaEntry = locateMetaEntry(holder);
         chunkDescriptor.setChunk(chunk);
         FileDescriptor fileDescriptor = new FileDescriptor();
-        populateFileDescriptor(metaEntry, holder, fileDescriptor);
+        describeArtifact(readMetaEntry(metaEntry), holder, fileDescriptor);
         chunkDescriptor.setAssociateFileDescriptor(fileDescriptor);
     }
 
@@ -101,16 +129,15 @@ public class FileTransferServiceHelperUtil {
     }
 
     public static void populateFileDescriptor(Path metaEntry, Path artifactHolder, FileDescriptor fileDescriptor) throws FileTransferServiceHelperUtilException {
+        FileMetaEntry fileMetaEntry = readMetaEntry(metaEntry);
+        if (fileMetaEntry.getChunkSize() > 0
+                && getReceivedChunks(fileMetaEntry).cardinality() < getChunkCount(fileMetaEntry)) {
+            throw new FileTransferServiceHelperUtilException("Upload of " + fileMetaEntry.getFileName() + "."
+                    + fileMetaEntry.getExtension() + " is not completed");
+        }
+        describeArtifact(fileMetaEntry, artifactHolder, fileDescriptor);
         try {
-            byte []metaEntryByteContent = Files.readAllBytes(metaEntry);
-            FileMetaEntry fileMetaEntry = gson.fromJson(new String(metaEntryByteContent, StandardCharsets.UTF_8), FileMetaEntry.class);
-            fileDescriptor.setFileName(fileMetaEntry.getFileName());
-            fileDescriptor.setActualFileSize(fileMetaEntry.getSize());
-            fileDescriptor.setFullQualifiedName(fileMetaEntry.getFileName() + "." + fileMetaEntry.getExtension());
-            Path artifact = artifactHolder.resolve(fileDescriptor.getFullQualifiedName());
-            fileDescriptor.setAbsolutePath(artifact.toAbsolutePath().toString());
-            fileDescriptor.setExtension(fileMetaEntry.getExtension());
-            fileDescriptor.setFile(Files.newInputStream(artifact));
+            fileDescriptor.setFile(Files.newInputStream(Paths.get(fileDescriptor.getAbsolutePath())));
         } catch (IOException e) {
             String msg = "Error encountered while populating chuck descriptor";
             log.error(msg, e);
@@ -118,6 +145,60 @@ public class FileTransferServiceHelperUtil {
         }
     }
 
+    /**
+     * Get the offsets of the chunks which are yet to be written to an artifact holder.
+     *
+     * @param artifactHolder artifact holder's UUID string
+     * @return offsets of the missing chunks, or the offset to append from if the upload is not chunked
+     */
+    public static List<Long> getPendingChunkOffsets(String artifactHolder)
+            throws FileTransferServiceHelperUtilException, NotFoundException {
+        Path holder = locateArtifactHolder(artifactHolder);
+        FileMetaEntry fileMetaEntry = readMetaEntry(locateMetaEntry(holder));
+        List<Long> pendingChunkOffsets = new ArrayList<>();
+        if (fileMetaEntry.getChunkSize() > 0) {
+            BitSet receivedChunks = getReceivedChunks(fileMetaEntry);
+            int chunkCount = getChunkCount(fileMetaEntry);
+            for (int i = receivedChunks.nextClearBit(0); i < chunkCount; i = receivedChunks.nextClearBit(i + 1)) {
+                pendingChunkOffsets.add(i * fileMetaEntry.getChunkSize());
+            }
+            return pendingChunkOffsets;
+        }
+        Path artifact = holder.resolve(fileMetaEntry.getFileName() + "." + fileMetaEntry.getExtension());
+        try {
+            long receivedSize = Files.size(artifact);
+            if (receivedSize < fileMetaEntry.getSize()) {
+                pendingChunkOffsets.add(receivedSize);
+            }
+            return pendingChunkOffsets;
+        } catch (IOException e) {
+            String msg = "Error encountered while getting the size of " + artifact;
+            log.error(msg, e);
+            throw new FileTransferServiceHelperUtilException(msg, e);
+        }
+    }
+
+    private static FileMetaEntry readMetaEntry(Path metaEntry) throws FileTransferServiceHelperUtilException {
+        try {
+            byte []metaEntryByteContent = Files.readAllBytes(metaEntry);
+            return gson.fromJson(new String(metaEntryByteContent, StandardCharsets.UTF_8), FileMetaEntry.class);
+        } catch (IOException e) {
+            String msg = "Error encountered while reading " + metaEntry;
+            log.error(msg, e);
+            throw new FileTransferServiceHelperUtilException(msg, e);
+        }
+    }
+
+    private static void describeArtifact(FileMetaEntry fileMetaEntry, Path artifactHolder,
+                                         FileDescriptor fileDescriptor) {
+        fileDescriptor.setFileName(fileMetaEntry.getFileName());
+        fileDescriptor.setActualFileSize(fileMetaEntry.getSize());
+        fileDescriptor.setFullQualifiedName(fileMetaEntry.getFileName() + "." + fileMetaEntry.getExtension());
+        Path artifact = artifactHolder.resolve(fileDescriptor.getFullQualifiedName());
+        fileDescriptor.setAbsolutePath(artifact.toAbsolutePath().toString());
+        fileDescriptor.setExtension(fileMetaEntry.getExtension());
+    }
+
     private static Path locateArtifactHolder(String artifactHolder) throws FileTransferServiceHelperUtilException, NotFoundException {
         Path holder = Paths.get(System.getProperty(SYSTEM_PROPERTY_TEMP_DIR), ROOT, artifactHolder);
         if (Files.notExists(holder)) {
@@ -151,18 +232,164 @@ public class FileTransferServiceHelperUtil {
             throw new FileTransferServiceHelperUtilException("Target file descriptor is missing for retrieved chunk");
         }
         Path artifact = Paths.get(fileDescriptor.getAbsolutePath());
-        try {
+        Path metaEntry = artifact.resolveSibling(META_ENTRY_FILE_NAME);
+        UploadLock uploadLock = acquireUploadLock(metaEntry);
+        try (FileChannel fileChannel = FileChannel.open(artifact, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE)) {
             InputStream chuckStream = chunkDescriptor.getChunk();
-            byte []chunk = new byte[chuckStream.available()];
-            chuckStream.read(chunk);
-            Files.write(artifact, chunk, StandardOpenOption.CREATE, StandardOpenOption.SYNC, StandardOpenOption.APPEND);
+            long offset = chunkDescriptor.getOffset();
+            FileMetaEntry fileMetaEntry = readMetaEntry(metaEntry);
+            long chunkSize = fileMetaEntry.getChunkSize();
+            if (chunkSize == 0) {
+                synchronized (uploadLock) {
+                    long receivedSize = fileChannel.size();
+                    long position = offset == ChunkDescriptor.APPEND ? receivedSize : offset;
+                    // an upload which is not chunked is resumed from the data received so far, hence a chunk may
+                    // overwrite the received data but must not leave a gap after it
+                    if (position < 0 || position > receivedSize) {
+                        throw new FileTransferServiceHelperUtilException("Invalid offset " + offset + " for "
+                                + artifact + " of which " + receivedSize + " bytes are received");
+                    }
+                    chunkDescriptor.setSize(write(fileChannel, chuckStream, position, Long.MAX_VALUE));
+                    if (fileChannel.size() >= fileDescriptor.getActualFileSize()) {
+                        fileChannel.force(true);
+                    }
+                }
+                return;
+            }
+            if (offset == ChunkDescriptor.APPEND) {
+                synchronized (uploadLock) {
+                    // chunks of an appended upload arrive in order, hence the chunk is the first pending chunk
+                    long pendingOffset = getReceivedChunks(readMetaEntry(metaEntry)).nextClearBit(0) * chunkSize;
+                    writeChunk(chunkDescriptor, fileChannel, fileMetaEntry, uploadLock, artifact, metaEntry,
+                            pendingOffset);
+                }
+            } else {
+                writeChunk(chunkDescriptor, fileChannel, fileMetaEntry, uploadLock, artifact, metaEntry, offset);
+            }
         } catch (IOException e) {
             String msg = "Error encountered while writing to the " + artifact;
             log.error(msg, e);
             throw new FileTransferServiceHelperUtilException(msg, e);
+        } finally {
+            releaseUploadLock(metaEntry, uploadLock);
         }
     }
 
+    /**
+     * Write a chunk of a chunked upload at its offset and record it in the bitmap of the meta entry.
+     */
+    private static void writeChunk(ChunkDescriptor chunkDescriptor, FileChannel fileChannel,
+                                   FileMetaEntry fileMetaEntry, UploadLock uploadLock, Path artifact,
+                                   Path metaEntry, long offset)
+            throws IOException, FileTransferServiceHelperUtilException {
+        long chunkSize = fileMetaEntry.getChunkSize();
+        if (offset < 0 || offset % chunkSize != 0 || offset >= fileMetaEntry.getSize()) {
+            throw new FileTransferServiceHelperUtilException("Invalid chunk offset " + offset + " for "
+                    + artifact);
+        }
+        InputStream chuckStream = chunkDescriptor.getChunk();
+        long expectedSize = Math.min(chunkSize, fileMetaEntry.getSize() - offset);
+        long size = write(fileChannel, chuckStream, offset, expectedSize);
+        if (size != expectedSize || chuckStream.read() >= 0) {
+            throw new FileTransferServiceHelperUtilException("Chunk at offset " + offset + " of " + artifact
+                    + " doesn't contain " + expectedSize + " bytes");
+        }
+        chunkDescriptor.setSize(size);
+        markChunkReceived(metaEntry, fileChannel, uploadLock, (int) (offset / chunkSize));
+    }
+
+    /**
+     * Write at most limit bytes of a chunk to the artifact, starting from the given position. Positional writes let
+     * the chunks of an artifact be written concurrently through separate channels.
+     */
+    private static long write(FileChannel fileChannel, InputStream chunk, long position, long limit)
+            throws IOException {
+        ReadableByteChannel source = Channels.newChannel(chunk);
+        ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+        long written = 0;
+        while (written < limit) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), limit - written));
+            if (source.read(buffer) < 0) {
+                break;
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                written += fileChannel.write(buffer, position + written);
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Record a written chunk in the bitmap of the meta entry. The artifact is synced once, when its last chunk is
+     * recorded, instead of on every chunk. Hence the bitmap lets uploads resume after interrupted connections, while
+     * chunks recorded before a crash of the server itself may need to be uploaded again.
+     */
+    private static void markChunkReceived(Path metaEntry, FileChannel fileChannel, UploadLock uploadLock,
+                                          int chunkIndex) throws IOException, FileTransferServiceHelperUtilException {
+        synchronized (uploadLock) {
+            FileMetaEntry fileMetaEntry = readMetaEntry(metaEntry);
+            BitSet receivedChunks = getReceivedChunks(fileMetaEntry);
+            if (receivedChunks.get(chunkIndex)) {
+                return;
+            }
+            receivedChunks.set(chunkIndex);
+            fileMetaEntry.setReceivedChunks(receivedChunks.toLongArray());
+            boolean completed = receivedChunks.cardinality() == getChunkCount(fileMetaEntry);
+            if (completed) {
+                fileChannel.force(true);
+            }
+            Path tempMetaEntry = metaEntry.resolveSibling(META_ENTRY_FILE_NAME + TEMP_FILE_SUFFIX);
+            try (FileChannel metaEntryChannel = FileChannel.open(tempMetaEntry, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer metaEntryContent = ByteBuffer.wrap(gson.toJson(fileMetaEntry)
+                        .getBytes(StandardCharsets.UTF_8));
+                while (metaEntryContent.hasRemaining()) {
+                    metaEntryChannel.write(metaEntryContent);
+                }
+                if (completed) {
+                    metaEntryChannel.force(true);
+                }
+            }
+            try {
+                Files.move(tempMetaEntry, metaEntry, StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempMetaEntry, metaEntry, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (completed) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Received all chunks of " + fileMetaEntry.getFileName() + "."
+                            + fileMetaEntry.getExtension());
+                }
+            }
+        }
+    }
+
+    private static UploadLock acquireUploadLock(Path metaEntry) {
+        return uploadLocks.compute(metaEntry, (key, uploadLock) -> {
+            UploadLock acquiredLock = uploadLock == null ? new UploadLock() : uploadLock;
+            acquiredLock.holders++;
+            return acquiredLock;
+        });
+    }
+
+    private static void releaseUploadLock(Path metaEntry, UploadLock uploadLock) {
+        uploadLocks.computeIfPresent(metaEntry, (key, currentLock) ->
+                currentLock == uploadLock && --currentLock.holders == 0 ? null : currentLock);
+    }
+
+    private static BitSet getReceivedChunks(FileMetaEntry fileMetaEntry) {
+        return fileMetaEntry.getReceivedChunks() == null ? new BitSet()
+                : BitSet.valueOf(fileMetaEntry.getReceivedChunks());
+    }
+
+    private static int getChunkCount(FileMetaEntry fileMetaEntry) {
+        return (int) ((fileMetaEntry.getSize() + fileMetaEntry.getChunkSize() - 1) / fileMetaEntry.getChunkSize());
+    }
+
     public static FileDescriptor resolve(URL downloadUrl) throws FileTransferServiceHelperUtilException {
         if (downloadUrl == null) {
             throw new FileTransferServiceHelperUtilException("Received null for download url");
@@ -300,4 +527,13 @@ public class FileTransferServiceHelperUtil {
             throw new FileTransferServiceHelperUtilException("Error encountered while getting file input stream", e);
         }
     }
+
+    /**
+     * Lock of an upload along with the number of writes holding it, which are updated only within the
+     * {@link #uploadLocks} map operations.
+     */
+    private static class UploadLock {
+
+        private int holders;
+    }
 }
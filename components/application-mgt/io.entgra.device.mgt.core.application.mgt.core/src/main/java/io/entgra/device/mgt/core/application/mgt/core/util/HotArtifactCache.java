@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2018 - 2024, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.application.mgt.core.util;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the most requested artifacts memory mapped, so that the same release binary pulled by many devices during a
+ * rollout is served from the page cache without opening the file for each download. An artifact is mapped once it
+ * has been requested the configured number of times, and the least recently requested artifacts are unmapped when
+ * the mapped artifacts exceed the configured size.
+ */
+public class HotArtifactCache {
+
+    private static final Log log = LogFactory.getLog(HotArtifactCache.class);
+
+    /**
+     * Maximum number of artifacts whose requests are counted before they are mapped. Counts are reset once it is
+     * reached, so that artifacts requested a few times long ago do not pile up.
+     */
+    private static final int MAX_TRACKED_ARTIFACTS = 10000;
+
+    private final long capacity;
+    private final int requestThreshold;
+    private final Map<Path, Integer> requestCounts = new HashMap<>();
+    private final LinkedHashMap<Path, CachedArtifact> artifacts = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedSize;
+
+    /**
+     * @param capacity         maximum total size of the mapped artifacts in bytes, where 0 disables the cache.
+     * @param requestThreshold number of requests after which an artifact is mapped.
+     */
+    public HotArtifactCache(long capacity, int requestThreshold) {
+        this.capacity = capacity;
+        this.requestThreshold = Math.max(requestThreshold, 1);
+    }
+
+    public boolean isEnabled() {
+        return capacity > 0;
+    }
+
+    /**
+     * Records a request for an artifact and returns its content if it is mapped, mapping it if it has become one of
+     * the most requested artifacts.
+     *
+     * @param artifact     path of the artifact.
+     * @param size         current size of the artifact in bytes.
+     * @param lastModified current last modified time of the artifact, which is compared with the mapped artifact to
+     *                     detect replaced files.
+     * @return read only content of the artifact, or null if the artifact is not mapped.
+     */
+    public synchronized ByteBuffer get(Path artifact, long size, long lastModified) {
+        if (!isEnabled()) {
+            return null;
+        }
+        CachedArtifact cachedArtifact = artifacts.get(artifact);
+        if (cachedArtifact != null) {
+            if (cachedArtifact.size == size && cachedArtifact.lastModified == lastModified) {
+                return cachedArtifact.content.duplicate();
+            }
+            remove(artifact);
+        }
+        if (size > capacity || size > Integer.MAX_VALUE) {
+            return null;
+        }
+        if (requestCounts.size() >= MAX_TRACKED_ARTIFACTS && !requestCounts.containsKey(artifact)) {
+            requestCounts.clear();
+        }
+        int requestCount = requestCounts.merge(artifact, 1, Integer::sum);
+        if (requestCount < requestThreshold) {
+            return null;
+        }
+        try (FileChannel fileChannel = FileChannel.open(artifact, StandardOpenOption.READ)) {
+            ByteBuffer content = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, size).asReadOnlyBuffer();
+            requestCounts.remove(artifact);
+            evict(size);
+            artifacts.put(artifact, new CachedArtifact(content, size, lastModified));
+            cachedSize += size;
+            if (log.isDebugEnabled()) {
+                log.debug("Mapped artifact " + artifact + " of " + size + " bytes after " + requestCount
+                        + " requests");
+            }
+            return content.duplicate();
+        } catch (IOException e) {
+            log.error("Error occurred while mapping the artifact " + artifact, e);
+            return null;
+        }
+    }
+
+    /**
+     * Unmaps an artifact, if it is mapped, after it is deleted or replaced.
+     *
+     * @param artifact path of the artifact.
+     */
+    public synchronized void remove(Path artifact) {
+        CachedArtifact cachedArtifact = artifacts.remove(artifact);
+        if (cachedArtifact != null) {
+            cachedSize -= cachedArtifact.size;
+        }
+    }
+
+    /**
+     * Unmaps the artifacts under a directory, after the directory is deleted.
+     *
+     * @param directory path of the directory.
+     */
+    public synchronized void removeAll(Path directory) {
+        Iterator<Map.Entry<Path, CachedArtifact>> iterator = artifacts.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Path, CachedArtifact> entry = iterator.next();
+            if (entry.getKey().startsWith(directory)) {
+                cachedSize -= entry.getValue().size;
+                iterator.remove();
+            }
+        }
+    }
+
+    private void evict(long requiredSize) {
+        Iterator<CachedArtifact> iterator = artifacts.values().iterator();
+        while (cachedSize + requiredSize > capacity && iterator.hasNext()) {
+            cachedSize -= iterator.next().size;
+            iterator.remove();
+        }
+    }
+
+    private static class CachedArtifact {
+
+        private final ByteBuffer content;
+        private final long size;
+        private final long lastModified;
+
+        private CachedArtifact(ByteBuffer content, long size, long lastModified) {
+            this.content = content;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+}
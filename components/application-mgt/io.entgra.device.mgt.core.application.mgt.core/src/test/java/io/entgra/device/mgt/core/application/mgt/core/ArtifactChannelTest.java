@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2018 - 2024, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.application.mgt.core;
+
+import io.entgra.device.mgt.core.application.mgt.common.ArtifactChannel;
+import io.entgra.device.mgt.core.application.mgt.common.ByteRange;
+import io.entgra.device.mgt.core.application.mgt.core.impl.ApplicationStorageManagerImpl;
+import io.entgra.device.mgt.core.application.mgt.core.util.Constants;
+import io.entgra.device.mgt.core.application.mgt.core.util.HotArtifactCache;
+import io.entgra.device.mgt.core.device.mgt.core.common.util.StorageManagementUtil;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class ArtifactChannelTest {
+    private static final String APP_HASH_VALUE = "a1b2c3";
+    private static final String ARTIFACT_NAME = "app.apk";
+    private static final byte[] ARTIFACT_CONTENT = "0123456789abcdefghij".getBytes(StandardCharsets.UTF_8);
+    private static final int TENANT_ID = -1234;
+
+    private Path storage;
+
+    @BeforeClass
+    public void init() throws Exception {
+        storage = Files.createTempDirectory("artifact-channel");
+        Path artifactDirectory = storage.resolve(String.valueOf(TENANT_ID)).resolve(APP_HASH_VALUE)
+                .resolve(Constants.APP_ARTIFACT);
+        Files.createDirectories(artifactDirectory);
+        Files.write(artifactDirectory.resolve(ARTIFACT_NAME), ARTIFACT_CONTENT);
+    }
+
+    @Test
+    public void testGetFileChannel() throws Exception {
+        ApplicationStorageManagerImpl storageManager =
+                new ApplicationStorageManagerImpl(storage + File.separator, "3");
+        try (ArtifactChannel artifactChannel = storageManager
+                .getFileChannel(APP_HASH_VALUE, Constants.APP_ARTIFACT, ARTIFACT_NAME, TENANT_ID)) {
+            Assert.assertEquals(artifactChannel.getSize(), ARTIFACT_CONTENT.length);
+            Assert.assertEquals(artifactChannel.getETag(), "\"" + APP_HASH_VALUE + "\"");
+            Assert.assertTrue(artifactChannel.isNotModified("\"other\", W/\"" + APP_HASH_VALUE + "\""));
+            Assert.assertFalse(artifactChannel.isNotModified("\"other\""));
+            Assert.assertEquals(read(artifactChannel, ByteRange.parse("bytes=5-9", artifactChannel.getSize())),
+                    "56789");
+        }
+        String otherTenantArtifact = "../../../" + TENANT_ID + "/" + APP_HASH_VALUE + "/" + Constants.APP_ARTIFACT
+                + "/" + ARTIFACT_NAME;
+        Assert.assertNull(storageManager.getFileChannel(APP_HASH_VALUE, Constants.APP_ARTIFACT, otherTenantArtifact,
+                TENANT_ID + 1), "Artifact of another tenant is accessible");
+        Assert.assertNull(storageManager.getFileChannel(APP_HASH_VALUE, Constants.APP_ARTIFACT, "missing.apk",
+                TENANT_ID));
+    }
+
+    @Test
+    public void testGetMappedFileChannel() throws Exception {
+        ApplicationStorageManagerImpl storageManager =
+                new ApplicationStorageManagerImpl(storage + File.separator, "3", "1", "2");
+        for (int i = 0; i < 3; i++) {
+            try (ArtifactChannel artifactChannel = storageManager
+                    .getFileChannel(APP_HASH_VALUE, Constants.APP_ARTIFACT, ARTIFACT_NAME, TENANT_ID)) {
+                Assert.assertEquals(read(artifactChannel, ByteRange.parse("bytes=-5", artifactChannel.getSize())),
+                        "fghij");
+                Assert.assertEquals(read(artifactChannel, null), new String(ARTIFACT_CONTENT, StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    public void testHotArtifactCache() throws Exception {
+        Path artifact = storage.resolve(String.valueOf(TENANT_ID)).resolve(APP_HASH_VALUE)
+                .resolve(Constants.APP_ARTIFACT).resolve(ARTIFACT_NAME);
+        long lastModified = Files.getLastModifiedTime(artifact).toMillis();
+        HotArtifactCache hotArtifactCache = new HotArtifactCache(ARTIFACT_CONTENT.length, 2);
+        Assert.assertNull(hotArtifactCache.get(artifact, ARTIFACT_CONTENT.length, lastModified));
+        Assert.assertNotNull(hotArtifactCache.get(artifact, ARTIFACT_CONTENT.length, lastModified));
+        Assert.assertEquals(hotArtifactCache.get(artifact, ARTIFACT_CONTENT.length, lastModified).remaining(),
+                ARTIFACT_CONTENT.length);
+        Assert.assertNull(hotArtifactCache.get(artifact, ARTIFACT_CONTENT.length, lastModified + 1),
+                "Replaced artifact is served from the cache");
+        hotArtifactCache.get(artifact, ARTIFACT_CONTENT.length, lastModified);
+        hotArtifactCache.removeAll(storage.resolve(String.valueOf(TENANT_ID)));
+        Assert.assertNull(hotArtifactCache.get(artifact, ARTIFACT_CONTENT.length, lastModified));
+    }
+
+    @Test
+    public void testParseByteRange() {
+        Assert.assertNull(ByteRange.parse(null, 20));
+        Assert.assertNull(ByteRange.parse("bytes=0-1,5-6", 20));
+        Assert.assertNull(ByteRange.parse("bytes=9-5", 20));
+        Assert.assertEquals(ByteRange.parse("bytes=15-", 20).getContentRange(), "bytes 15-19/20");
+        Assert.assertEquals(ByteRange.parse("bytes=15-100", 20).getLength(), 5);
+        Assert.assertEquals(ByteRange.parse("bytes=-100", 20).getContentRange(), "bytes 0-19/20");
+        Assert.assertFalse(ByteRange.parse("bytes=20-", 20).isSatisfiable());
+        Assert.assertEquals(ByteRange.parse("bytes=20-", 20).getContentRange(), "bytes */20");
+    }
+
+    @AfterClass
+    public void cleanup() throws Exception {
+        StorageManagementUtil.delete(storage.toFile());
+    }
+
+    private static String read(ArtifactChannel artifactChannel, ByteRange byteRange) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long position = byteRange == null ? 0 : byteRange.getStart();
+        long count = byteRange == null ? artifactChannel.getSize() : byteRange.getLength();
+        Assert.assertEquals(artifactChannel.transferTo(position, count, Channels.newChannel(out)), count);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2018 - 2024, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.application.mgt.core;
+
+import io.entgra.device.mgt.core.application.mgt.common.BulkAppOperationJob;
+import io.entgra.device.mgt.core.application.mgt.common.config.BulkAppOperationConfiguration;
+import io.entgra.device.mgt.core.application.mgt.common.exception.ApplicationManagementException;
+import io.entgra.device.mgt.core.application.mgt.core.config.Configuration;
+import io.entgra.device.mgt.core.application.mgt.core.config.ConfigurationManager;
+import io.entgra.device.mgt.core.application.mgt.core.util.BulkAppOperationJobManager;
+import io.entgra.device.mgt.core.device.mgt.common.DeviceIdentifier;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link BulkAppOperationJobManager}, which run the jobs on a single worker with a queue of a single job.
+ */
+public class BulkAppOperationJobManagerTest {
+    private static final String APP_UUID = "a1b2c3";
+    private static final int TENANT_ID = -1234;
+    private static final int WORKER_COUNT = 1;
+    private static final int QUEUE_CAPACITY = 1;
+
+    private Configuration configuration;
+    private BulkAppOperationConfiguration bulkAppOperationConfiguration;
+
+    @BeforeClass
+    public void init() {
+        configuration = ConfigurationManager.getInstance().getConfiguration();
+        Assert.assertNotNull(configuration, "Application management configuration is not loaded");
+        bulkAppOperationConfiguration = configuration.getBulkAppOperationConfiguration();
+        BulkAppOperationConfiguration testConfiguration = new BulkAppOperationConfiguration();
+        testConfiguration.setWorkerCount(WORKER_COUNT);
+        testConfiguration.setQueueCapacity(QUEUE_CAPACITY);
+        configuration.setBulkAppOperationConfiguration(testConfiguration);
+        shutdownExistingInstance();
+    }
+
+    @AfterClass
+    public void cleanUp() {
+        configuration.setBulkAppOperationConfiguration(bulkAppOperationConfiguration);
+        shutdownExistingInstance();
+    }
+
+    @Test(description = "Check whether the progress reported by a running job is visible to the tenant of the job")
+    public void testJobProgress() throws Exception {
+        BulkAppOperationJobManager jobManager = BulkAppOperationJobManager.getInstance();
+        CountDownLatch chunkProcessed = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        BulkAppOperationJob job = jobManager.submit(TENANT_ID, APP_UUID, "GROUP", "INSTALL", runningJob -> {
+            jobManager.update(runningJob, chunkJob -> {
+                chunkJob.setStage(BulkAppOperationJob.Stage.OPERATION_FAN_OUT);
+                chunkJob.setTotalDevices(2);
+                chunkJob.setProcessedDevices(1);
+            });
+            chunkProcessed.countDown();
+            try {
+                resume.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            jobManager.update(runningJob, completedJob -> {
+                completedJob.setProcessedDevices(2);
+                completedJob.getIgnoredDeviceIdentifiers().add(new DeviceIdentifier("device", "android"));
+                completedJob.setStage(BulkAppOperationJob.Stage.COMPLETED);
+            });
+        });
+        BulkAppOperationJob progress;
+        try {
+            Assert.assertNotNull(job.getJobId());
+            Assert.assertEquals(job.getApplicationUUID(), APP_UUID);
+
+            Assert.assertTrue(chunkProcessed.await(10, TimeUnit.SECONDS), "Job is not started");
+            progress = jobManager.getJob(job.getJobId(), TENANT_ID);
+            Assert.assertEquals(progress.getStage(), BulkAppOperationJob.Stage.OPERATION_FAN_OUT);
+            Assert.assertEquals(progress.getTotalDevices(), 2);
+            Assert.assertEquals(progress.getProcessedDevices(), 1);
+            Assert.assertNull(jobManager.getJob(job.getJobId(), TENANT_ID + 1), "Job of another tenant is accessible");
+        } finally {
+            resume.countDown();
+        }
+        progress = awaitCompletion(jobManager, job.getJobId());
+        Assert.assertEquals(progress.getStage(), BulkAppOperationJob.Stage.COMPLETED);
+        Assert.assertEquals(progress.getProcessedDevices(), 2);
+        Assert.assertEquals(progress.getIgnoredDeviceIdentifiers().size(), 1);
+    }
+
+    @Test(description = "Check whether a job which fails unexpectedly is marked as failed")
+    public void testFailedJob() throws Exception {
+        BulkAppOperationJobManager jobManager = BulkAppOperationJobManager.getInstance();
+        BulkAppOperationJob job = jobManager.submit(TENANT_ID, APP_UUID, "ROLE", "UNINSTALL", runningJob -> {
+            throw new IllegalStateException("Unexpected failure");
+        });
+        BulkAppOperationJob progress = awaitCompletion(jobManager, job.getJobId());
+        Assert.assertEquals(progress.getStage(), BulkAppOperationJob.Stage.FAILED);
+        Assert.assertNotNull(progress.getMessage());
+    }
+
+    @Test(description = "Check whether jobs wait in the queue while the workers are busy and are rejected once the "
+            + "queue is full")
+    public void testRejectWhenQueueFull() throws Exception {
+        BulkAppOperationJobManager jobManager = BulkAppOperationJobManager.getInstance();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        BulkAppOperationJob runningJob;
+        BulkAppOperationJob queuedJob;
+        try {
+            runningJob = jobManager.submit(TENANT_ID, APP_UUID, "DEVICE", "INSTALL", job -> {
+                jobManager.update(job, resolvingJob -> resolvingJob.setStage(
+                        BulkAppOperationJob.Stage.RESOLVING_DEVICES));
+                started.countDown();
+                try {
+                    resume.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                jobManager.update(job, completedJob -> completedJob.setStage(BulkAppOperationJob.Stage.COMPLETED));
+            });
+            Assert.assertTrue(started.await(10, TimeUnit.SECONDS), "Job is not started");
+            Assert.assertEquals(jobManager.getJob(runningJob.getJobId(), TENANT_ID).getStage(),
+                    BulkAppOperationJob.Stage.RESOLVING_DEVICES);
+
+            queuedJob = jobManager.submit(TENANT_ID, APP_UUID, "DEVICE", "INSTALL",
+                    job -> jobManager.update(job,
+                            completedJob -> completedJob.setStage(BulkAppOperationJob.Stage.COMPLETED)));
+            Assert.assertEquals(queuedJob.getStage(), BulkAppOperationJob.Stage.QUEUED);
+            Assert.assertEquals(jobManager.getJob(queuedJob.getJobId(), TENANT_ID).getStage(),
+                    BulkAppOperationJob.Stage.QUEUED, "Job is started while the worker is busy");
+
+            try {
+                jobManager.submit(TENANT_ID, APP_UUID, "DEVICE", "INSTALL", job -> { });
+                Assert.fail("Job is accepted to a full queue");
+            } catch (ApplicationManagementException e) {
+                Assert.assertTrue(e.getMessage().contains(APP_UUID), "Rejection doesn't refer the application");
+            }
+        } finally {
+            resume.countDown();
+        }
+
+        Assert.assertEquals(awaitCompletion(jobManager, runningJob.getJobId()).getStage(),
+                BulkAppOperationJob.Stage.COMPLETED);
+        Assert.assertEquals(awaitCompletion(jobManager, queuedJob.getJobId()).getStage(),
+                BulkAppOperationJob.Stage.COMPLETED);
+        BulkAppOperationJob acceptedJob = jobManager.submit(TENANT_ID, APP_UUID, "DEVICE", "INSTALL",
+                job -> jobManager.update(job,
+                        completedJob -> completedJob.setStage(BulkAppOperationJob.Stage.COMPLETED)));
+        Assert.assertEquals(awaitCompletion(jobManager, acceptedJob.getJobId()).getStage(),
+                BulkAppOperationJob.Stage.COMPLETED, "Job is not accepted after the queue is drained");
+    }
+
+    @Test(description = "Check whether shutting down fails the unfinished jobs and a new instance accepts jobs",
+            dependsOnMethods = {"testJobProgress", "testFailedJob", "testRejectWhenQueueFull"})
+    public void testShutdown() throws Exception {
+        BulkAppOperationJobManager jobManager = BulkAppOperationJobManager.getInstance();
+        CountDownLatch started = new CountDownLatch(1);
+        BulkAppOperationJob job = jobManager.submit(TENANT_ID, APP_UUID, "USER", "INSTALL", runningJob -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            jobManager.update(runningJob, completedJob -> completedJob.setStage(BulkAppOperationJob.Stage.COMPLETED));
+        });
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        jobManager.shutdown();
+        Assert.assertNull(BulkAppOperationJobManager.getExistingInstance(), "Shut down instance is still accessible");
+        BulkAppOperationJob progress = awaitCompletion(jobManager, job.getJobId());
+        Assert.assertEquals(progress.getStage(), BulkAppOperationJob.Stage.FAILED);
+        Assert.assertNotNull(progress.getMessage());
+
+        BulkAppOperationJobManager newJobManager = BulkAppOperationJobManager.getInstance();
+        Assert.assertNotSame(newJobManager, jobManager);
+        BulkAppOperationJob newJob = newJobManager.submit(TENANT_ID, APP_UUID, "USER", "INSTALL",
+                runningJob -> newJobManager.update(runningJob,
+                        completedJob -> completedJob.setStage(BulkAppOperationJob.Stage.COMPLETED)));
+        Assert.assertEquals(awaitCompletion(newJobManager, newJob.getJobId()).getStage(),
+                BulkAppOperationJob.Stage.COMPLETED);
+    }
+
+    private BulkAppOperationJob awaitCompletion(BulkAppOperationJobManager jobManager, String jobId)
+            throws InterruptedException {
+        long timeout = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        BulkAppOperationJob job = jobManager.getJob(jobId, TENANT_ID);
+        while (!job.getStage().isFinished() && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+            job = jobManager.getJob(jobId, TENANT_ID);
+        }
+        return job;
+    }
+
+    private void shutdownExistingInstance() {
+        BulkAppOperationJobManager jobManager = BulkAppOperationJobManager.getExistingInstance();
+        if (jobManager != null) {
+            jobManager.shutdown();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2018 - 2024, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.application.mgt.core;
+
+import io.entgra.device.mgt.core.application.mgt.common.ChunkDescriptor;
+import io.entgra.device.mgt.core.application.mgt.common.FileMetaEntry;
+import io.entgra.device.mgt.core.application.mgt.common.exception.FileTransferServiceException;
+import io.entgra.device.mgt.core.application.mgt.common.services.FileTransferService;
+import io.entgra.device.mgt.core.application.mgt.core.impl.FileTransferServiceImpl;
+import io.entgra.device.mgt.core.application.mgt.core.util.FileTransferServiceHelperUtil;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class FileTransferServiceTest {
+    private static final byte[] ARTIFACT_CONTENT = "0123456789".getBytes(StandardCharsets.UTF_8);
+    private static final long CHUNK_SIZE = 4;
+
+    private FileTransferService fileTransferService;
+
+    @BeforeClass
+    public void init() throws Exception {
+        fileTransferService = FileTransferServiceImpl.getInstance();
+    }
+
+    @Test
+    public void testWriteChunksInParallel() throws Exception {
+        String artifactHolder = generateUploadLink("chunked", CHUNK_SIZE);
+        Assert.assertEquals(fileTransferService.getPendingChunkOffsets(artifactHolder), Arrays.asList(0L, 4L, 8L));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<ChunkDescriptor>> writes = new ArrayList<>();
+            for (long offset : new long[]{8, 0}) {
+                writes.add(executorService.submit(() -> writeChunk(artifactHolder, offset)));
+            }
+            for (Future<ChunkDescriptor> write : writes) {
+                write.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        Assert.assertEquals(fileTransferService.getPendingChunkOffsets(artifactHolder),
+                Collections.singletonList(4L));
+
+        ChunkDescriptor chunkDescriptor = writeChunk(artifactHolder, 4);
+        Assert.assertEquals(chunkDescriptor.getSize(), CHUNK_SIZE);
+        Assert.assertTrue(fileTransferService.getPendingChunkOffsets(artifactHolder).isEmpty());
+        Assert.assertEquals(Files.readAllBytes(Paths.get(chunkDescriptor.getAssociateFileDescriptor()
+                .getAbsolutePath())), ARTIFACT_CONTENT);
+    }
+
+    @Test(expectedExceptions = FileTransferServiceException.class)
+    public void testWriteChunkAtInvalidOffset() throws Exception {
+        String artifactHolder = generateUploadLink("misaligned", CHUNK_SIZE);
+        fileTransferService.writeChunk(fileTransferService.resolve(artifactHolder,
+                new ByteArrayInputStream(ARTIFACT_CONTENT, 3, 4), 3));
+    }
+
+    @Test
+    public void testAppendChunks() throws Exception {
+        String artifactHolder = generateUploadLink("appended", 0);
+        fileTransferService.writeChunk(fileTransferService.resolve(artifactHolder,
+                new ByteArrayInputStream(ARTIFACT_CONTENT, 0, 6)));
+        Assert.assertEquals(fileTransferService.getPendingChunkOffsets(artifactHolder),
+                Collections.singletonList(6L));
+        ChunkDescriptor chunkDescriptor = fileTransferService.resolve(artifactHolder,
+                new ByteArrayInputStream(ARTIFACT_CONTENT, 6, 4));
+        fileTransferService.writeChunk(chunkDescriptor);
+        Assert.assertTrue(fileTransferService.getPendingChunkOffsets(artifactHolder).isEmpty());
+        Assert.assertEquals(Files.readAllBytes(Paths.get(chunkDescriptor.getAssociateFileDescriptor()
+                .getAbsolutePath())), ARTIFACT_CONTENT);
+    }
+
+    @Test
+    public void testResumeAtOffset() throws Exception {
+        String artifactHolder = generateUploadLink("resumed", 0);
+        fileTransferService.writeChunk(fileTransferService.resolve(artifactHolder,
+                new ByteArrayInputStream(ARTIFACT_CONTENT, 0, 6), 0));
+        List<Long> pendingChunkOffsets = fileTransferService.getPendingChunkOffsets(artifactHolder);
+        Assert.assertEquals(pendingChunkOffsets, Collections.singletonList(6L));
+        ChunkDescriptor chunkDescriptor = fileTransferService.resolve(artifactHolder,
+                new ByteArrayInputStream(ARTIFACT_CONTENT, 6, 4), pendingChunkOffsets.get(0));
+        fileTransferService.writeChunk(chunkDescriptor);
+        Assert.assertEquals(chunkDescriptor.getSize(), 4);
+        Assert.assertTrue(fileTransferService.getPendingChunkOffsets(artifactHolder).isEmpty());
+        Assert.assertEquals(Files.readAllBytes(Paths.get(chunkDescriptor.getAssociateFileDescriptor()
+                .getAbsolutePath())), ARTIFACT_CONTENT);
+    }
+
+    @Test(expectedExceptions = FileTransferServiceException.class)
+    public void testResumeAfterGap() throws Exception {
+        String artifactHolder = generateUploadLink("gapped", 0);
+        fileTransferService.writeChunk(fileTransferService.resolve(artifactHolder,
+                new ByteArrayInputStream(ARTIFACT_CONTENT, 0, 4)));
+        fileTransferService.writeChunk(fileTransferService.resolve(artifactHolder,
+                new ByteArrayInputStream(ARTIFACT_CONTENT, 6, 4), 6));
+    }
+
+    @Test
+    public void testAppendChunksOfChunkedUpload() throws Exception {
+        String artifactHolder = generateUploadLink("chunked-appended", CHUNK_SIZE);
+        ChunkDescriptor chunkDescriptor = null;
+        for (int offset = 0; offset < ARTIFACT_CONTENT.length; offset += CHUNK_SIZE) {
+            chunkDescriptor = fileTransferService.resolve(artifactHolder, new ByteArrayInputStream(ARTIFACT_CONTENT,
+                    offset, (int) Math.min(CHUNK_SIZE, ARTIFACT_CONTENT.length - offset)));
+            fileTransferService.writeChunk(chunkDescriptor);
+        }
+        Assert.assertTrue(fileTransferService.getPendingChunkOffsets(artifactHolder).isEmpty());
+        Assert.assertEquals(Files.readAllBytes(Paths.get(chunkDescriptor.getAssociateFileDescriptor()
+                .getAbsolutePath())), ARTIFACT_CONTENT);
+        try {
+            fileTransferService.writeChunk(fileTransferService.resolve(artifactHolder,
+                    new ByteArrayInputStream(ARTIFACT_CONTENT, 0, (int) CHUNK_SIZE)));
+            Assert.fail("Chunk is appended to a completed upload");
+        } catch (FileTransferServiceException e) {
+            Assert.assertTrue(getUploadLocks().isEmpty(), "Upload lock is retained after a failed write");
+        }
+    }
+
+    @Test(dependsOnMethods = {"testWriteChunksInParallel", "testWriteChunkAtInvalidOffset", "testAppendChunks",
+            "testResumeAtOffset", "testResumeAfterGap", "testAppendChunksOfChunkedUpload"})
+    public void testUploadLocksReleased() throws Exception {
+        Assert.assertTrue(getUploadLocks().isEmpty(), "Upload locks are retained after the writes");
+    }
+
+    private Map<?, ?> getUploadLocks() throws Exception {
+        Field uploadLocks = FileTransferServiceHelperUtil.class.getDeclaredField("uploadLocks");
+        uploadLocks.setAccessible(true);
+        return (Map<?, ?>) uploadLocks.get(null);
+    }
+
+    private String generateUploadLink(String fileName, long chunkSize) throws Exception {
+        FileMetaEntry metaEntry = new FileMetaEntry();
+        metaEntry.setFileName(fileName);
+        metaEntry.setExtension("apk");
+        metaEntry.setSize(ARTIFACT_CONTENT.length);
+        metaEntry.setChunkSize(chunkSize);
+        String[] segments = fileTransferService.generateUploadLink(metaEntry).getRelativeTransferLink().split("/");
+        return segments[segments.length - 1];
+    }
+
+    private ChunkDescriptor writeChunk(String artifactHolder, long offset) throws Exception {
+        int length = (int) Math.min(CHUNK_SIZE, ARTIFACT_CONTENT.length - offset);
+        ChunkDescriptor chunkDescriptor = fileTransferService.resolve(artifactHolder,
+                new ByteArrayInputStream(ARTIFACT_CONTENT, (int) offset, length), offset);
+        fileTransferService.writeChunk(chunkDescriptor);
+        return chunkDescriptor;
+    }
+}
@@ -0,0 +1,502 @@
+/*
+ * Copyright (c) 2018 - 2024, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.application.mgt.core.impl;
+
+import io.entgra.device.mgt.core.application.mgt.common.ApplicationInstallResponse;
+import io.entgra.device.mgt.core.application.mgt.common.ApplicationSubscriptionInfo;
+import io.entgra.device.mgt.core.application.mgt.common.ApplicationType;
+import io.entgra.device.mgt.core.application.mgt.common.BulkAppOperationJob;
+import io.entgra.device.mgt.core.application.mgt.common.SubAction;
+import io.entgra.device.mgt.core.application.mgt.common.SubscribingDeviceIdHolder;
+import io.entgra.device.mgt.core.application.mgt.common.dto.ApplicationDTO;
+import io.entgra.device.mgt.core.application.mgt.common.dto.ApplicationReleaseDTO;
+import io.entgra.device.mgt.core.application.mgt.common.dto.DeviceSubscriptionDTO;
+import io.entgra.device.mgt.core.application.mgt.common.dto.VppUserDTO;
+import io.entgra.device.mgt.core.application.mgt.common.exception.ApplicationManagementException;
+import io.entgra.device.mgt.core.application.mgt.core.BaseTestCase;
+import io.entgra.device.mgt.core.application.mgt.core.TestUtils;
+import io.entgra.device.mgt.core.application.mgt.core.dao.impl.subscription.GenericSubscriptionDAOImpl;
+import io.entgra.device.mgt.core.application.mgt.core.dao.impl.subscription.PostgreSQLSubscriptionDAOImpl;
+import io.entgra.device.mgt.core.application.mgt.core.util.ConnectionManagerUtil;
+import io.entgra.device.mgt.core.application.mgt.core.util.Constants;
+import io.entgra.device.mgt.core.device.mgt.common.Device;
+import io.entgra.device.mgt.core.device.mgt.common.DeviceIdentifier;
+import io.entgra.device.mgt.core.device.mgt.common.EnrolmentInfo;
+import io.entgra.device.mgt.core.device.mgt.common.operation.mgt.Activity;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+
+public class SubscriptionManagerImplTest extends BaseTestCase {
+
+    private static final int TENANT_ID = -1234;
+    private static final String DEVICE_TYPE = "android";
+    private static final String SUBSCRIBER = "bulk-subscriber";
+
+    private int nextDeviceId = 1;
+
+    @Test
+    public void testDistinctDevices() {
+        Device first = getDevice(1);
+        Device second = getDevice(2);
+        List<Device> devices = new ArrayList<>();
+        devices.add(first);
+        devices.add(null);
+        devices.add(second);
+        devices.add(getDevice(1));
+        devices.add(first);
+
+        List<Device> distinctDevices = new SubscriptionManagerImpl().getDistinctDevices(devices);
+        Assert.assertEquals(distinctDevices.size(), 2);
+        Assert.assertSame(distinctDevices.get(0), first, "Resolved order of the devices is not kept");
+        Assert.assertSame(distinctDevices.get(1), second, "Resolved order of the devices is not kept");
+    }
+
+    @Test
+    public void testChunkedJob() throws Exception {
+        ApplicationDTO applicationDTO = addApplication();
+        int chunkSize = Constants.BulkAppOperation.DEVICE_CHUNK_SIZE;
+        List<Device> devices = getDevices(2 * chunkSize + 1);
+        List<Device> resolvedDevices = new ArrayList<>(devices);
+        resolvedDevices.addAll(devices.subList(0, 10));
+        TestSubscriptionManager subscriptionManager = new TestSubscriptionManager(resolvedDevices);
+        subscriptionManager.failingDevice = devices.get(chunkSize);
+
+        BulkAppOperationJob job = runJob(subscriptionManager, applicationDTO);
+        Assert.assertEquals(job.getStage(), BulkAppOperationJob.Stage.COMPLETED, job.getMessage());
+        Assert.assertEquals(job.getTotalDevices(), devices.size());
+        Assert.assertEquals(job.getTotalChunks(), 3);
+        Assert.assertEquals(job.getProcessedChunks(), 3);
+        Assert.assertEquals(job.getProcessedDevices(), devices.size());
+        Assert.assertEquals(subscriptionManager.chunkSizes, Arrays.asList(chunkSize, chunkSize, 1));
+        Assert.assertEquals(job.getActivities().size(), 2, "Chunks after the failed chunk are not processed");
+        Assert.assertEquals(job.getFailedDeviceIdentifiers().size(), chunkSize);
+        Assert.assertTrue(job.getFailedDeviceIdentifiers().contains(getDeviceIdentifier(devices.get(chunkSize))));
+        Assert.assertNotNull(job.getMessage());
+        Assert.assertEquals(getUserSubscriptionCount(applicationDTO), 1, "Bulk subscriber is not persisted");
+    }
+
+    @Test
+    public void testAllChunksFailed() throws Exception {
+        ApplicationDTO applicationDTO = addApplication();
+        TestSubscriptionManager subscriptionManager = new TestSubscriptionManager(getDevices(3));
+        subscriptionManager.failAll = true;
+
+        BulkAppOperationJob job = runJob(subscriptionManager, applicationDTO);
+        Assert.assertEquals(job.getStage(), BulkAppOperationJob.Stage.FAILED);
+        Assert.assertEquals(job.getFailedDeviceIdentifiers().size(), 3);
+        Assert.assertEquals(getUserSubscriptionCount(applicationDTO), 0);
+    }
+
+    @Test
+    public void testAllDevicesPending() throws Exception {
+        ApplicationDTO applicationDTO = addApplication();
+        List<Device> devices = getDevices(3);
+        addPendingSubscriptions(applicationDTO, devices);
+        TestSubscriptionManager subscriptionManager = new TestSubscriptionManager(devices);
+
+        BulkAppOperationJob job = runJob(subscriptionManager, applicationDTO);
+        Assert.assertEquals(job.getStage(), BulkAppOperationJob.Stage.FAILED);
+        Assert.assertEquals(job.getMessage(),
+                "All devices in the subscription have pending operations for this application.");
+        Assert.assertEquals(job.getIgnoredDeviceIdentifiers().size(), devices.size());
+        Assert.assertTrue(job.getActivities().isEmpty());
+    }
+
+    @Test
+    public void testVppUsersOfOwners() throws Exception {
+        int chunkSize = Constants.BulkAppOperation.DEVICE_CHUNK_SIZE;
+        String prefix = "vpp-" + UUID.randomUUID() + "-";
+        List<String> owners = new ArrayList<>();
+        for (int i = 0; i < 2 * chunkSize + 1; i++) {
+            owners.add(prefix + i);
+        }
+        PreparedStatement stmt = null;
+        try {
+            ConnectionManagerUtil.beginDBTransaction();
+            Connection conn = ConnectionManagerUtil.getDBConnection();
+            stmt = conn.prepareStatement("INSERT INTO AP_VPP_USER (DM_USERNAME, TENANT_ID) VALUES (?, ?)");
+            for (int i = 0; i < owners.size(); i += 2) {
+                stmt.setString(1, owners.get(i));
+                stmt.setInt(2, TENANT_ID);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            ConnectionManagerUtil.commitDBTransaction();
+        } finally {
+            TestUtils.cleanupResources(null, stmt, null);
+            ConnectionManagerUtil.closeDBConnection();
+        }
+
+        List<VppUserDTO> users;
+        try {
+            ConnectionManagerUtil.openDBConnection();
+            users = new SubscriptionManagerImpl().getVppUsers(owners, TENANT_ID);
+        } finally {
+            ConnectionManagerUtil.closeDBConnection();
+        }
+        Assert.assertEquals(users.size(), chunkSize + 1);
+        Set<String> usernames = new HashSet<>();
+        for (VppUserDTO user : users) {
+            usernames.add(user.getDmUsername());
+        }
+        Assert.assertTrue(usernames.contains(owners.get(0)));
+        Assert.assertTrue(usernames.contains(owners.get(2 * chunkSize)), "Owners of the last chunk are not queried");
+        Assert.assertFalse(usernames.contains(owners.get(1)));
+    }
+
+    @Test
+    public void testChunkedDeviceSubscriptions() throws Exception {
+        int releaseId = addApplication().getApplicationReleaseDTOs().get(0).getId();
+        List<Integer> deviceIds = new ArrayList<>();
+        for (Device device : getDevices(2 * getIdChunkSize() + 1)) {
+            deviceIds.add(device.getId());
+        }
+        GenericSubscriptionDAOImpl subscriptionDAO = new GenericSubscriptionDAOImpl();
+        try {
+            ConnectionManagerUtil.beginDBTransaction();
+            subscriptionDAO.addDeviceSubscription(SUBSCRIBER, deviceIds, "USER", "PENDING", releaseId, TENANT_ID);
+            subscriptionDAO.updateDeviceSubscription(SUBSCRIBER, deviceIds, SubAction.INSTALL.toString(), "USER",
+                    "COMPLETED", releaseId, TENANT_ID);
+            ConnectionManagerUtil.commitDBTransaction();
+        } finally {
+            ConnectionManagerUtil.closeDBConnection();
+        }
+
+        Map<Integer, DeviceSubscriptionDTO> deviceSubscriptions;
+        List<Integer> deviceSubIds;
+        try {
+            ConnectionManagerUtil.openDBConnection();
+            deviceSubscriptions = subscriptionDAO.getDeviceSubscriptions(deviceIds, releaseId, TENANT_ID);
+            deviceSubIds = subscriptionDAO.getDeviceSubIds(deviceIds, releaseId, TENANT_ID);
+        } finally {
+            ConnectionManagerUtil.closeDBConnection();
+        }
+        Assert.assertEquals(deviceSubscriptions.keySet(), new HashSet<>(deviceIds));
+        Assert.assertEquals(deviceSubIds.size(), deviceIds.size());
+        Assert.assertEquals(deviceSubscriptions.get(deviceIds.get(0)).getStatus(), "COMPLETED");
+        Assert.assertEquals(deviceSubscriptions.get(deviceIds.get(deviceIds.size() - 1)).getStatus(), "COMPLETED",
+                "Devices of the last chunk are not updated");
+    }
+
+    @Test
+    public void testDeviceSubscriptionsOfNoDevices() throws Exception {
+        RecordingConnection recordingConnection = new RecordingConnection();
+        for (GenericSubscriptionDAOImpl subscriptionDAO : Arrays.asList(new GenericSubscriptionDAOImpl(),
+                new PostgreSQLSubscriptionDAOImpl())) {
+            Connection conn = ConnectionManagerUtil.getCurrentConnection().get();
+            ConnectionManagerUtil.getCurrentConnection().set(recordingConnection.getConnection());
+            try {
+                List<Integer> deviceIds = Collections.emptyList();
+                subscriptionDAO.addDeviceSubscription(SUBSCRIBER, deviceIds, "USER", "PENDING", 1, TENANT_ID);
+                subscriptionDAO.updateDeviceSubscription(SUBSCRIBER, deviceIds, SubAction.INSTALL.toString(), "USER",
+                        "COMPLETED", 1, TENANT_ID);
+                subscriptionDAO.addOperationMapping(1, deviceIds, TENANT_ID);
+                Assert.assertTrue(subscriptionDAO.getDeviceSubscriptions(deviceIds, 1, TENANT_ID).isEmpty());
+                Assert.assertTrue(subscriptionDAO.getDeviceSubIds(deviceIds, 1, TENANT_ID).isEmpty());
+            } finally {
+                ConnectionManagerUtil.getCurrentConnection().set(conn);
+            }
+        }
+        Assert.assertTrue(recordingConnection.executedStatements.isEmpty(), "Statement is executed for no devices");
+        Assert.assertTrue(recordingConnection.idArrays.isEmpty());
+    }
+
+    @Test
+    public void testPostgreSQLDeviceIdArray() throws Exception {
+        List<Integer> deviceIds = new ArrayList<>();
+        for (int i = 1; i <= 2 * getIdChunkSize() + 1; i++) {
+            deviceIds.add(i);
+        }
+        RecordingConnection recordingConnection = new RecordingConnection();
+        PostgreSQLSubscriptionDAOImpl subscriptionDAO = new PostgreSQLSubscriptionDAOImpl();
+        Connection conn = ConnectionManagerUtil.getCurrentConnection().get();
+        ConnectionManagerUtil.getCurrentConnection().set(recordingConnection.getConnection());
+        try {
+            subscriptionDAO.addDeviceSubscription(SUBSCRIBER, deviceIds, "USER", "PENDING", 1, TENANT_ID);
+            subscriptionDAO.updateDeviceSubscription(SUBSCRIBER, deviceIds, SubAction.INSTALL.toString(), "USER",
+                    "COMPLETED", 1, TENANT_ID);
+            subscriptionDAO.getDeviceSubIds(deviceIds, 1, TENANT_ID);
+        } finally {
+            ConnectionManagerUtil.getCurrentConnection().set(conn);
+        }
+        Assert.assertEquals(recordingConnection.executedStatements.size(), 3,
+                "Device ids are not bound to a single statement");
+        Assert.assertTrue(recordingConnection.executedStatements.get(0).contains("UNNEST(?)"));
+        Assert.assertTrue(recordingConnection.executedStatements.get(1).contains("= ANY(?)"));
+        Assert.assertTrue(recordingConnection.executedStatements.get(2).contains("= ANY(?)"));
+        Assert.assertEquals(recordingConnection.idArrays.size(), 3);
+        for (Object[] idArray : recordingConnection.idArrays) {
+            Assert.assertEquals(idArray, deviceIds.toArray(new Integer[0]));
+        }
+    }
+
+    private static int getIdChunkSize() throws Exception {
+        Field idChunkSize = GenericSubscriptionDAOImpl.class.getDeclaredField("ID_CHUNK_SIZE");
+        idChunkSize.setAccessible(true);
+        return idChunkSize.getInt(null);
+    }
+
+    private BulkAppOperationJob runJob(SubscriptionManagerImpl subscriptionManager, ApplicationDTO applicationDTO) {
+        BulkAppOperationJob job = new BulkAppOperationJob();
+        job.setJobId(UUID.randomUUID().toString());
+        job.setStage(BulkAppOperationJob.Stage.QUEUED);
+        subscriptionManager.runBulkAppOperationJob(job, applicationDTO, Collections.singletonList(SUBSCRIBER),
+                "USER", "INSTALL", new Properties(), false);
+        return new BulkAppOperationJob(job);
+    }
+
+    private ApplicationDTO addApplication() throws Exception {
+        String uuid = UUID.randomUUID().toString();
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        try {
+            ConnectionManagerUtil.beginDBTransaction();
+            Connection conn = ConnectionManagerUtil.getDBConnection();
+            stmt = conn.prepareStatement("INSERT INTO AP_APP (NAME, TYPE, TENANT_ID, SUB_TYPE, DEVICE_TYPE_ID) "
+                    + "VALUES (?, ?, ?, 'FREE', 1)", Statement.RETURN_GENERATED_KEYS);
+            stmt.setString(1, "bulk-app-" + uuid);
+            stmt.setString(2, ApplicationType.WEB_CLIP.toString());
+            stmt.setInt(3, TENANT_ID);
+            stmt.executeUpdate();
+            rs = stmt.getGeneratedKeys();
+            Assert.assertTrue(rs.next());
+            int appId = rs.getInt(1);
+            rs.close();
+            stmt.close();
+
+            stmt = conn.prepareStatement("INSERT INTO AP_APP_RELEASE (DESCRIPTION, VERSION, TENANT_ID, UUID, "
+                    + "RELEASE_TYPE, PACKAGE_NAME, INSTALLER_LOCATION, ICON_LOCATION, SC_1_LOCATION, "
+                    + "APP_HASH_VALUE, SUPPORTED_OS_VERSIONS, CURRENT_STATE, AP_APP_ID) "
+                    + "VALUES ('release', '1.0', ?, ?, 'stable', ?, 'https://entgra.io', 'icon', 'shot', ?, 'ALL', "
+                    + "'PUBLISHED', ?)", Statement.RETURN_GENERATED_KEYS);
+            stmt.setInt(1, TENANT_ID);
+            stmt.setString(2, uuid);
+            stmt.setString(3, "io.entgra.bulk." + appId);
+            stmt.setString(4, uuid);
+            stmt.setInt(5, appId);
+            stmt.executeUpdate();
+            rs = stmt.getGeneratedKeys();
+            Assert.assertTrue(rs.next());
+            int releaseId = rs.getInt(1);
+            ConnectionManagerUtil.commitDBTransaction();
+
+            ApplicationReleaseDTO applicationReleaseDTO = new ApplicationReleaseDTO();
+            applicationReleaseDTO.setId(releaseId);
+            applicationReleaseDTO.setUuid(uuid);
+            ApplicationDTO applicationDTO = new ApplicationDTO();
+            applicationDTO.setId(appId);
+            applicationDTO.setType(ApplicationType.WEB_CLIP.toString());
+            applicationDTO.setApplicationReleaseDTOs(Collections.singletonList(applicationReleaseDTO));
+            return applicationDTO;
+        } finally {
+            TestUtils.cleanupResources(null, stmt, rs);
+            ConnectionManagerUtil.closeDBConnection();
+        }
+    }
+
+    private void addPendingSubscriptions(ApplicationDTO applicationDTO, List<Device> devices) throws Exception {
+        PreparedStatement stmt = null;
+        try {
+            ConnectionManagerUtil.beginDBTransaction();
+            Connection conn = ConnectionManagerUtil.getDBConnection();
+            stmt = conn.prepareStatement("INSERT INTO AP_DEVICE_SUBSCRIPTION (TENANT_ID, SUBSCRIBED_BY, "
+                    + "SUBSCRIBED_TIMESTAMP, ACTION_TRIGGERED_FROM, STATUS, DM_DEVICE_ID, AP_APP_RELEASE_ID) "
+                    + "VALUES (?, 'admin', ?, 'USER', 'PENDING', ?, ?)");
+            for (Device device : devices) {
+                stmt.setInt(1, TENANT_ID);
+                stmt.setTimestamp(2, new Timestamp(System.currentTimeMillis()));
+                stmt.setInt(3, device.getId());
+                stmt.setInt(4, applicationDTO.getApplicationReleaseDTOs().get(0).getId());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            ConnectionManagerUtil.commitDBTransaction();
+        } finally {
+            TestUtils.cleanupResources(null, stmt, null);
+            ConnectionManagerUtil.closeDBConnection();
+        }
+    }
+
+    private int getUserSubscriptionCount(ApplicationDTO applicationDTO) throws Exception {
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        try {
+            ConnectionManagerUtil.openDBConnection();
+            stmt = ConnectionManagerUtil.getDBConnection().prepareStatement("SELECT COUNT(*) FROM "
+                    + "AP_USER_SUBSCRIPTION WHERE AP_APP_RELEASE_ID = ? AND USER_NAME = ?");
+            stmt.setInt(1, applicationDTO.getApplicationReleaseDTOs().get(0).getId());
+            stmt.setString(2, SUBSCRIBER);
+            rs = stmt.executeQuery();
+            Assert.assertTrue(rs.next());
+            return rs.getInt(1);
+        } finally {
+            TestUtils.cleanupResources(null, stmt, rs);
+            ConnectionManagerUtil.closeDBConnection();
+        }
+    }
+
+    private List<Device> getDevices(int count) {
+        List<Device> devices = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            devices.add(getDevice(nextDeviceId++));
+        }
+        return devices;
+    }
+
+    private static Device getDevice(int id) {
+        Device device = new Device();
+        device.setId(id);
+        device.setDeviceIdentifier("bulk-device-" + id);
+        device.setType(DEVICE_TYPE);
+        EnrolmentInfo enrolmentInfo = new EnrolmentInfo();
+        enrolmentInfo.setOwner(SUBSCRIBER);
+        device.setEnrolmentInfo(enrolmentInfo);
+        return device;
+    }
+
+    private static DeviceIdentifier getDeviceIdentifier(Device device) {
+        return new DeviceIdentifier(device.getDeviceIdentifier(), device.getType());
+    }
+
+    /**
+     * Stands in for a PostgreSQL connection, recording the executed statements and the id arrays created through
+     * {@link Connection#createArrayOf(String, Object[])} for the {@code INTEGER} type.
+     */
+    private static class RecordingConnection {
+
+        private final List<String> executedStatements = new ArrayList<>();
+        private final List<Object[]> idArrays = new ArrayList<>();
+
+        private Connection getConnection() {
+            return proxy(Connection.class, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "prepareStatement":
+                        return getStatement((String) args[0]);
+                    case "createArrayOf":
+                        Assert.assertEquals(args[0], "INTEGER");
+                        Object[] elements = (Object[]) args[1];
+                        idArrays.add(elements);
+                        return proxy(Array.class, (arrayProxy, arrayMethod, arrayArgs) ->
+                                "getArray".equals(arrayMethod.getName()) ? elements : null);
+                    default:
+                        return null;
+                }
+            });
+        }
+
+        private PreparedStatement getStatement(String sql) {
+            return proxy(PreparedStatement.class, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "executeUpdate":
+                        executedStatements.add(sql);
+                        return 0;
+                    case "executeBatch":
+                        executedStatements.add(sql);
+                        return new int[0];
+                    case "executeQuery":
+                        executedStatements.add(sql);
+                        return proxy(ResultSet.class, (rsProxy, rsMethod, rsArgs) ->
+                                boolean.class.equals(rsMethod.getReturnType()) ? false : null);
+                    default:
+                        return null;
+                }
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type}, handler);
+        }
+    }
+
+    /**
+     * Resolves the subscribing devices from a fixed list and stands in for the operation management service, while
+     * the subscriptions are read from and written to the database.
+     */
+    private static class TestSubscriptionManager extends SubscriptionManagerImpl {
+
+        private final List<Device> resolvedDevices;
+        private final List<Integer> chunkSizes = new ArrayList<>();
+        private Device failingDevice;
+        private boolean failAll;
+
+        private TestSubscriptionManager(List<Device> resolvedDevices) {
+            this.resolvedDevices = resolvedDevices;
+        }
+
+        @Override
+        <T> ApplicationSubscriptionInfo getAppSubscriptionInfo(ApplicationDTO applicationDTO, String subType,
+                List<T> params) {
+            ApplicationSubscriptionInfo applicationSubscriptionInfo = new ApplicationSubscriptionInfo();
+            applicationSubscriptionInfo.setDevices(new ArrayList<>(resolvedDevices));
+            List<String> subscribers = new ArrayList<>();
+            for (T param : params) {
+                subscribers.add((String) param);
+            }
+            applicationSubscriptionInfo.setSubscribers(subscribers);
+            applicationSubscriptionInfo.setErrorDeviceIdentifiers(new ArrayList<>());
+            return applicationSubscriptionInfo;
+        }
+
+        @Override
+        ApplicationInstallResponse performActionOnDevices(String deviceType,
+                SubscribingDeviceIdHolder subscribingDeviceIdHolder, ApplicationDTO applicationDTO, String subType,
+                List<String> subscribers, String action, Properties properties,
+                boolean isOperationReExecutingDisabled) throws ApplicationManagementException {
+            Set<DeviceIdentifier> deviceIdentifiers = new HashSet<>();
+            deviceIdentifiers.addAll(subscribingDeviceIdHolder.getAppInstallableDevices().keySet());
+            deviceIdentifiers.addAll(subscribingDeviceIdHolder.getAppReInstallableDevices().keySet());
+            deviceIdentifiers.addAll(subscribingDeviceIdHolder.getSkippedDevices().keySet());
+            chunkSizes.add(deviceIdentifiers.size());
+            if (failAll || (failingDevice != null && deviceIdentifiers.contains(getDeviceIdentifier(failingDevice)))) {
+                throw new ApplicationManagementException("Error occurred while adding the application install "
+                        + "operation to devices");
+            }
+            ApplicationInstallResponse applicationInstallResponse = new ApplicationInstallResponse();
+            List<Activity> activities = new ArrayList<>();
+            if (!subscribingDeviceIdHolder.getAppInstallableDevices().isEmpty()) {
+                Activity activity = new Activity();
+                activity.setActivityId(UUID.randomUUID().toString());
+                activities.add(activity);
+            }
+            applicationInstallResponse.setActivities(activities);
+            applicationInstallResponse.setIgnoredDeviceIdentifiers(new ArrayList<>());
+            return applicationInstallResponse;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.extensions.device.organization.cache;
+
+import io.entgra.device.mgt.core.device.mgt.core.config.DeviceConfigurationManager;
+import io.entgra.device.mgt.core.device.mgt.core.config.DeviceManagementConfig;
+import io.entgra.device.mgt.core.device.mgt.core.config.cache.DeviceOrganizationCacheConfiguration;
+import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.util.DeviceOrganizationGraph;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the device organizations of each tenant in memory, so that device hierarchies are assembled without going to
+ * the database. The organizations of a tenant are dropped when they are added, updated or deleted on this node and
+ * expire after the configured time to pick up the changes made by other nodes. Changes are not propagated across the
+ * cluster, hence the expiry time bounds how long other nodes serve a hierarchy which has since changed, and is kept
+ * short by default.
+ */
+public class DeviceOrganizationCache {
+
+    private static final int DEFAULT_EXPIRY_TIME = 30;
+    private static final int DEFAULT_CAPACITY = 100;
+
+    private static volatile DeviceOrganizationCache deviceOrganizationCache;
+
+    private final boolean enabled;
+    private final long expiryTimeMillis;
+    private final int capacity;
+    private final Map<Integer, CachedGraph> tenantGraphs = new ConcurrentHashMap<>();
+    private final Map<Integer, Object> tenantLocks = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    DeviceOrganizationCache(boolean enabled, long expiryTimeMillis, int capacity) {
+        this.enabled = enabled;
+        this.expiryTimeMillis = expiryTimeMillis;
+        this.capacity = capacity;
+    }
+
+    public static DeviceOrganizationCache getInstance() {
+        if (deviceOrganizationCache == null) {
+            synchronized (DeviceOrganizationCache.class) {
+                if (deviceOrganizationCache == null) {
+                    DeviceManagementConfig config = DeviceConfigurationManager.getInstance()
+                            .getDeviceManagementConfig();
+                    DeviceOrganizationCacheConfiguration cacheConfig = config != null ?
+                            config.getDeviceOrganizationCacheConfiguration() : null;
+                    if (cacheConfig != null && cacheConfig.isEnabled()) {
+                        int expiryTime = cacheConfig.getExpiryTime() > 0 ?
+                                cacheConfig.getExpiryTime() : DEFAULT_EXPIRY_TIME;
+                        int capacity = cacheConfig.getCapacity() > 0 ? cacheConfig.getCapacity() : DEFAULT_CAPACITY;
+                        deviceOrganizationCache = new DeviceOrganizationCache(true,
+                                TimeUnit.SECONDS.toMillis(expiryTime), capacity);
+                    } else {
+                        deviceOrganizationCache = new DeviceOrganizationCache(false, 0, 0);
+                    }
+                }
+            }
+        }
+        return deviceOrganizationCache;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the organizations of the tenant, or null if they are not cached or have expired.
+     */
+    public DeviceOrganizationGraph getGraph(int tenantId) {
+        CachedGraph cachedGraph = tenantGraphs.get(tenantId);
+        if (cachedGraph == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - cachedGraph.loadedTime > expiryTimeMillis) {
+            tenantGraphs.remove(tenantId, cachedGraph);
+            return null;
+        }
+        return cachedGraph.graph;
+    }
+
+    /**
+     * @return the lock to hold while loading the organizations of the tenant, so that they are loaded once.
+     */
+    public Object getLoadLock(int tenantId) {
+        return tenantLocks.computeIfAbsent(tenantId, id -> new Object());
+    }
+
+    /**
+     * @return the version to pass to {@link #putGraph(int, DeviceOrganizationGraph, long)}, to be taken before the
+     * organizations are read from the database.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Caches the organizations of a tenant, unless organizations were changed since they were read, in which case
+     * they may already be stale. Evicts the organizations loaded first when the cache is full.
+     *
+     * @param loadedVersion the version taken before the organizations were read.
+     */
+    public void putGraph(int tenantId, DeviceOrganizationGraph graph, long loadedVersion) {
+        if (!enabled) {
+            return;
+        }
+        if (tenantGraphs.size() >= capacity && !tenantGraphs.containsKey(tenantId)) {
+            evictEldest();
+        }
+        CachedGraph cachedGraph = new CachedGraph(graph, System.currentTimeMillis());
+        tenantGraphs.put(tenantId, cachedGraph);
+        if (version.get() != loadedVersion) {
+            tenantGraphs.remove(tenantId, cachedGraph);
+        }
+    }
+
+    /**
+     * Drops the organizations of a tenant after they are changed.
+     */
+    public void invalidate(int tenantId) {
+        if (!enabled) {
+            return;
+        }
+        version.incrementAndGet();
+        tenantGraphs.remove(tenantId);
+    }
+
+    private void evictEldest() {
+        Integer eldestTenantId = null;
+        long eldestLoadedTime = Long.MAX_VALUE;
+        for (Map.Entry<Integer, CachedGraph> entry : tenantGraphs.entrySet()) {
+            if (entry.getValue().loadedTime < eldestLoadedTime) {
+                eldestLoadedTime = entry.getValue().loadedTime;
+                eldestTenantId = entry.getKey();
+            }
+        }
+        if (eldestTenantId != null) {
+            tenantGraphs.remove(eldestTenantId);
+        }
+    }
+
+    private static class CachedGraph {
+
+        private final DeviceOrganizationGraph graph;
+        private final long loadedTime;
+
+        private CachedGraph(DeviceOrganizationGraph graph, long loadedTime) {
+            this.graph = graph;
+            this.loadedTime = loadedTime;
+        }
+    }
+}
@@ -17,6 +17,7 @@
  */
 package io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao;
 
+import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.util.DeviceOrganizationGraph;
 import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dto.DeviceNodeResult;
 import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dto.DeviceOrganization;
 import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dto.PaginationRequest;
@@ -62,6 +63,15 @@ public interface DeviceOrganizationDAO {
      */
     List<DeviceOrganization> getAllDeviceOrganizations() throws DeviceOrganizationMgtDAOException;
 
+    /**
+     * Retrieves all device organizations of a tenant along with the details of the organized devices.
+     *
+     * @param tenantID The ID of the tenant.
+     * @return The device organizations of the tenant as a graph.
+     * @throws DeviceOrganizationMgtDAOException If an error occurs while retrieving device organization records.
+     */
+    DeviceOrganizationGraph getDeviceOrganizationGraph(int tenantID) throws DeviceOrganizationMgtDAOException;
+
     /**
      * Retrieves device Organization Roots
      *
@@ -71,7 +71,7 @@ public class DeviceOrganizationDAOFactory {
                 case DataBaseTypes.DB_TYPE_POSTGRESQL:
                 case DataBaseTypes.DB_TYPE_MSSQL:
                 case DataBaseTypes.DB_TYPE_ORACLE:
-                    return new DeviceOrganizationDAOImpl();
+                    return new DeviceOrganizationDAOImpl(databaseEngine);
                 case DataBaseTypes.DB_TYPE_MYSQL:
                     return new DeviceOrganizationMysqlDAOImpl();
                 default:
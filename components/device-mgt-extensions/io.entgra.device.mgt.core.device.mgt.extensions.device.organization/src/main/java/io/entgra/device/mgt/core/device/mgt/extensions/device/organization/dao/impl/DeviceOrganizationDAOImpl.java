@@ -19,6 +19,8 @@ package io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.
 
 import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.DeviceOrganizationDAO;
 import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.util.ConnectionManagerUtil;
+import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.util.DeviceOrganizationDaoUtil;
+import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.util.DeviceOrganizationGraph;
 import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dto.AdditionResult;
 import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dto.DeviceNode;
 import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dto.DeviceNodeResult;
@@ -37,13 +39,15 @@ import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
-import java.util.Set;
 
+import static io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.util.DeviceOrganizationDaoUtil.getAncestorOrganizationsQuery;
+import static io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.util.DeviceOrganizationDaoUtil.getCyclicRelationshipQuery;
+import static io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.util.DeviceOrganizationDaoUtil.getDescendantOrganizationsQuery;
 import static io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.util.DeviceOrganizationDaoUtil.getDeviceFromResultSet;
 import static io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.util.DeviceOrganizationDaoUtil.loadDeviceOrganization;
+import static io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.util.DeviceOrganizationDaoUtil.loadDeviceOrganizationGraph;
 import static io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.util.DeviceOrganizationDaoUtil.loadDeviceOrganizationWithDeviceDetails;
 
 /**
@@ -53,39 +57,35 @@ public class DeviceOrganizationDAOImpl implements DeviceOrganizationDAO {
 
     private static final Log log = LogFactory.getLog(DeviceOrganizationDAOImpl.class);
 
+    private final String databaseEngine;
+
+    public DeviceOrganizationDAOImpl(String databaseEngine) {
+        this.databaseEngine = databaseEngine;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public DeviceNodeResult getChildrenOfDeviceNode(int deviceId, int maxDepth, boolean includeDevice, int tenantID)
             throws DeviceOrganizationMgtDAOException {
-        List<DeviceNode> childNodes = new ArrayList<>();
-        Set<DeviceOrganization> organizations = new HashSet<>();
-        Set<Integer> visited = new HashSet<>();
-        Set<Integer> twiceVisited = new HashSet<>();
-
         try {
             Connection conn = ConnectionManagerUtil.getDBConnection();
             DeviceNode deviceNode = getDeviceDetails(deviceId, conn);
-            boolean parentAdded = false; // Flag to track whether the parent device has been added
-            getChildrenRecursive(
-                    deviceNode,
-                    maxDepth,
-                    visited,
-                    twiceVisited,
-                    conn,
-                    childNodes,
-                    includeDevice,
-                    parentAdded,
-                    tenantID,
-                    organizations
-            );
-            if (!includeDevice
-                    && !parentAdded
-            ) {
-                childNodes.add(deviceNode); // Add the parent device if it hasn't been added and includeDevice is false.
+            DeviceOrganizationGraph graph = new DeviceOrganizationGraph();
+            if (maxDepth > 0) {
+                String sql = getDescendantOrganizationsQuery(databaseEngine);
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setInt(1, tenantID);
+                    stmt.setInt(2, deviceNode.getDeviceId());
+                    stmt.setInt(3, tenantID);
+                    stmt.setInt(4, Math.min(maxDepth, DeviceOrganizationGraph.MAX_TRAVERSAL_DEPTH));
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        loadDeviceOrganizationGraph(rs, graph);
+                    }
+                }
             }
-            return new DeviceNodeResult(childNodes, organizations);
+            return graph.getChildren(deviceNode, maxDepth, includeDevice);
         } catch (DBConnectionException e) {
             String msg = "Error occurred while obtaining DB connection to retrieve all child devices for " +
                     "parent device ID " + deviceId;
@@ -99,114 +99,29 @@ public class DeviceOrganizationDAOImpl implements DeviceOrganizationDAO {
         }
     }
 
-    private void getChildrenRecursive(DeviceNode node,
-                                      int maxDepth,
-                                      Set<Integer> visited,
-                                      Set<Integer> twiceVisited,
-                                      Connection conn,
-                                      List<DeviceNode> childNodes,
-                                      boolean includeDevice,
-                                      boolean parentAdded,
-                                      int tenantID,
-                                      Set<DeviceOrganization> organizations
-    )
-            throws SQLException {
-        if (maxDepth <= 0) {
-            return;
-        }
-        if (twiceVisited.contains(node.getDeviceId())) {
-            return;
-        }
-
-        if (visited.contains(node.getDeviceId())) {
-            twiceVisited.add(node.getDeviceId());
-        }
-
-        visited.add(node.getDeviceId());
-
-        String sql = "SELECT D.ID, D.NAME, D.DESCRIPTION, D.DEVICE_IDENTIFICATION, DT.NAME AS DEVICE_TYPE_NAME, " +
-                "DO.ORGANIZATION_ID, DO.TENANT_ID, DO.DEVICE_ID, DO.PARENT_DEVICE_ID, DO.DEVICE_ORGANIZATION_META ," +
-                "DO.LAST_UPDATED_TIMESTAMP FROM DM_DEVICE D " +
-                "JOIN DM_DEVICE_ORGANIZATION DO ON D.ID = DO.DEVICE_ID " +
-                "JOIN DM_DEVICE_TYPE DT ON D.DEVICE_TYPE_ID = DT.ID " +
-                "WHERE DO.TENANT_ID = ? AND DO.PARENT_DEVICE_ID = ? ";
-
-        boolean hasChildren = false;
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, tenantID);
-            stmt.setInt(2, node.getDeviceId());
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                DeviceNode child;
-                DeviceOrganization organization;
-                while (rs.next()) {
-                    child = getDeviceFromResultSet(rs);
-                    node.getChildren().add(child);
-                    hasChildren = true;
-                    if (includeDevice
-                            && !parentAdded
-                    ) {
-                        childNodes.add(node); // Add the parent device only if includeDevice is true and it hasn't been added.
-                        parentAdded = true; // Set the flag to true after adding the parent device.
-                    }
-
-                    organization = loadDeviceOrganization(rs);
-                    organizations.add(organization);
-
-                    getChildrenRecursive(
-                            child,
-                            (maxDepth - 1),
-                            visited,
-                            twiceVisited,
-                            conn,
-                            childNodes,
-                            includeDevice,
-                            parentAdded,
-                            tenantID,
-                            organizations
-                    );
-                }
-            }
-        }
-
-        // Add the parent node if it doesn't have children and includeDevice is true
-        if (!hasChildren && includeDevice && !parentAdded) {
-            childNodes.add(node);
-            parentAdded = true;
-        }
-    }
-
     /**
      * {@inheritDoc}
      */
     @Override
     public DeviceNodeResult getParentsOfDeviceNode(int deviceId, int maxDepth, boolean includeDevice, int tenantID)
             throws DeviceOrganizationMgtDAOException {
-
-        List<DeviceNode> parentNodes = new ArrayList<>();
-        Set<DeviceOrganization> organizations = new HashSet<>();
-        Set<Integer> visited = new HashSet<>();
-        Set<Integer> twiceVisited = new HashSet<>();
         try {
             Connection conn = ConnectionManagerUtil.getDBConnection();
             DeviceNode deviceNode = getDeviceDetails(deviceId, conn);
-            boolean childAdded = false;
-            getParentsRecursive(
-                    deviceNode,
-                    maxDepth,
-                    visited,
-                    twiceVisited,
-                    conn,
-                    parentNodes,
-                    includeDevice,
-                    childAdded,
-                    tenantID,
-                    organizations);
-            if (!includeDevice && !childAdded) {
-                parentNodes.add(deviceNode);
+            DeviceOrganizationGraph graph = new DeviceOrganizationGraph();
+            if (maxDepth > 0) {
+                String sql = getAncestorOrganizationsQuery(databaseEngine);
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setInt(1, tenantID);
+                    stmt.setInt(2, deviceNode.getDeviceId());
+                    stmt.setInt(3, tenantID);
+                    stmt.setInt(4, Math.min(maxDepth, DeviceOrganizationGraph.MAX_TRAVERSAL_DEPTH));
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        loadDeviceOrganizationGraph(rs, graph);
+                    }
+                }
             }
-
-            return new DeviceNodeResult(parentNodes, organizations);
+            return graph.getParents(deviceNode, maxDepth, includeDevice);
         } catch (DBConnectionException e) {
             String msg = "Error occurred while obtaining DB connection to retrieve parent devices for " +
                     "device ID " + deviceId;
@@ -220,70 +135,6 @@ public class DeviceOrganizationDAOImpl implements DeviceOrganizationDAO {
         }
     }
 
-    private void getParentsRecursive(DeviceNode node,
-                                     int maxDepth,
-                                     Set<Integer> visited,
-                                     Set<Integer> twiceVisited,
-                                     Connection conn,
-                                     List<DeviceNode> parentNodes,
-                                     boolean includeDevice,
-                                     boolean childAdded,
-                                     int tenantID,
-                                     Set<DeviceOrganization> organizations)
-            throws SQLException {
-        if (maxDepth <= 0) {
-            return;
-        }
-        if (twiceVisited.contains(node.getDeviceId())) {
-            return;
-        }
-
-        if (visited.contains(node.getDeviceId())) {
-            twiceVisited.add(node.getDeviceId());
-        }
-
-        visited.add(node.getDeviceId());
-
-        String sql = "SELECT D.ID, D.NAME, D.DESCRIPTION, D.DEVICE_IDENTIFICATION, DT.NAME AS DEVICE_TYPE_NAME, " +
-                "DO.ORGANIZATION_ID,  DO.TENANT_ID, DO.DEVICE_ID, DO.PARENT_DEVICE_ID, DO.DEVICE_ORGANIZATION_META ," +
-                "DO.LAST_UPDATED_TIMESTAMP FROM DM_DEVICE D " +
-                "JOIN DM_DEVICE_ORGANIZATION DO ON D.ID = DO.PARENT_DEVICE_ID " +
-                "JOIN DM_DEVICE_TYPE DT ON D.DEVICE_TYPE_ID = DT.ID " +
-                "WHERE DO.TENANT_ID = ? AND DO.DEVICE_ID = ?";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, tenantID);
-            stmt.setInt(2, node.getDeviceId());
-            try (ResultSet rs = stmt.executeQuery()) {
-                DeviceNode parent;
-                DeviceOrganization organization;
-                while (rs.next()) {
-                    parent = getDeviceFromResultSet(rs);
-                    node.getParents().add(parent);
-                    if (includeDevice && !childAdded) {
-                        parentNodes.add(node);
-                        childAdded = true;
-                    }
-
-                    organization = loadDeviceOrganization(rs);
-                    organizations.add(organization);
-
-                    getParentsRecursive(
-                            parent,
-                            (maxDepth - 1),
-                            visited,
-                            twiceVisited,
-                            conn,
-                            parentNodes,
-                            includeDevice,
-                            childAdded,
-                            tenantID,
-                            organizations);
-                }
-            }
-        }
-    }
-
     private DeviceNode getDeviceDetails(int deviceId, Connection conn) throws SQLException {
         String sql = "SELECT D.ID, D.NAME, D.DESCRIPTION, D.DEVICE_IDENTIFICATION, DT.NAME AS DEVICE_TYPE_NAME " +
                 "FROM DM_DEVICE D " +
@@ -301,6 +152,50 @@ public class DeviceOrganizationDAOImpl implements DeviceOrganizationDAO {
         return node;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DeviceOrganizationGraph getDeviceOrganizationGraph(int tenantID) throws DeviceOrganizationMgtDAOException {
+        DeviceOrganizationGraph graph = new DeviceOrganizationGraph();
+        try {
+            Connection conn = ConnectionManagerUtil.getDBConnection();
+            String sql = "SELECT * FROM DM_DEVICE_ORGANIZATION WHERE TENANT_ID = ? ORDER BY ORGANIZATION_ID";
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, tenantID);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        graph.addOrganization(loadDeviceOrganization(rs));
+                    }
+                }
+            }
+            sql = "SELECT D.ID, D.NAME, D.DESCRIPTION, D.DEVICE_IDENTIFICATION, DT.NAME AS DEVICE_TYPE_NAME " +
+                    "FROM DM_DEVICE D " +
+                    "JOIN DM_DEVICE_TYPE DT ON D.DEVICE_TYPE_ID = DT.ID " +
+                    "WHERE D.ID IN (SELECT DEVICE_ID FROM DM_DEVICE_ORGANIZATION WHERE TENANT_ID = ?) " +
+                    "OR D.ID IN (SELECT PARENT_DEVICE_ID FROM DM_DEVICE_ORGANIZATION WHERE TENANT_ID = ?)";
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, tenantID);
+                stmt.setInt(2, tenantID);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        graph.addDevice(DeviceOrganizationDaoUtil.getDeviceDetails(rs));
+                    }
+                }
+            }
+            return graph;
+        } catch (DBConnectionException e) {
+            String msg = "Error occurred while obtaining DB connection to retrieve device organizations of tenant " +
+                    tenantID;
+            log.error(msg);
+            throw new DeviceOrganizationMgtDAOException(msg, e);
+        } catch (SQLException e) {
+            String msg = "Error occurred while processing SQL to retrieve device organizations of tenant " + tenantID;
+            log.error(msg);
+            throw new DeviceOrganizationMgtDAOException(msg, e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -542,94 +437,18 @@ public class DeviceOrganizationDAOImpl implements DeviceOrganizationDAO {
         }
     }
 
-    //    @Override
     private boolean isCyclicRelationshipExist(Connection conn, int deviceID, Integer parentDeviceID, int tenantID)
             throws DeviceOrganizationMgtDAOException {
-
-        Set<Integer> visited = new HashSet<>();
-        Set<Integer> ancestors = new HashSet<>();
-        try {
-            // Fetch all ancestors of the current device
-            getAllAncestors(conn, deviceID, tenantID, visited, ancestors);
-
-            // Check if the parentDeviceID is among the ancestors
-            return ancestors.contains(deviceID);
-        }
-        catch (SQLException e) {
-            String msg = "Error occurred while processing SQL to check cyclic relationship for deviceID " +
-                    deviceID + " and parentDeviceID " + parentDeviceID;
-            log.error(msg);
-            throw new DeviceOrganizationMgtDAOException(msg, e);
-        }
-    }
-
-    private Set<Integer> getAllAncestors(Connection conn, int deviceID, int tenantID, Set<Integer> visited, Set<Integer> ancestors)
-            throws SQLException, DeviceOrganizationMgtDAOException {
-
-        try (PreparedStatement statement = conn.prepareStatement(
-                "SELECT PARENT_DEVICE_ID FROM DM_DEVICE_ORGANIZATION WHERE DEVICE_ID = ? AND TENANT_ID = ?")) {
-            statement.setInt(1, deviceID);
-            statement.setInt(2, tenantID);
-
+        try (PreparedStatement statement = conn.prepareStatement(getCyclicRelationshipQuery(databaseEngine))) {
+            statement.setInt(1, tenantID);
+            statement.setInt(2, deviceID);
+            statement.setInt(3, tenantID);
+            statement.setInt(4, deviceID);
+            statement.setInt(5, DeviceOrganizationGraph.MAX_TRAVERSAL_DEPTH);
+            statement.setInt(6, deviceID);
             try (ResultSet resultSet = statement.executeQuery()) {
-                while (resultSet.next()) {
-                    int parentDeviceID = resultSet.getInt("PARENT_DEVICE_ID");
-
-                    if (!visited.contains(parentDeviceID)) {
-                        // If the parentDeviceID has not been visited, add it to the visited set
-                        visited.add(parentDeviceID);
-
-                        // Recursively fetch ancestors for the current parentDeviceID
-                        ancestors.add(parentDeviceID);
-                        ancestors.addAll(getAllAncestors(conn, parentDeviceID, tenantID, visited, ancestors));
-
-                        // Remove the special value if it was added due to a previous cyclic relationship
-                        ancestors.remove(-1);
-                    } else {
-                        // Detected cyclic relationship
-
-                        ancestors.add(-1);  // Special value indicating a cyclic relationship
-                        return ancestors;
-                    }
-                }
+                return resultSet.next();
             }
-        }
-
-        return ancestors;
-    }
-
-
-    //TODO : FOR ORACLE AND POSTGRES SQL isCyclicRelationshipExist need to be implemented.Below method work only for H2 sql
-
-    /**
-     * {@inheritDoc}
-     */
-    public boolean isCyclicRelationshipExistSQL(int deviceID, Integer parentDeviceID, int tenantID)
-            throws DeviceOrganizationMgtDAOException {
-        try {
-            Connection conn = ConnectionManagerUtil.getDBConnection();
-            String sql = "WITH RECURSIVE all_paths AS ( " +
-                    "SELECT DEVICE_ID, CAST(DEVICE_ID AS VARCHAR(500)) AS path, 0 AS is_cycle " +
-                    "FROM DM_DEVICE_ORGANIZATION WHERE PARENT_DEVICE_ID = ? " +
-                    "UNION ALL " +
-                    "SELECT r.DEVICE_ID, CONCAT(d.path, ',', r.DEVICE_ID), " +
-                    "ARRAY_CONTAINS(r.DEVICE_ID, STRING_SPLIT(d.path, ',')) AS is_cycle " +
-                    "FROM DM_DEVICE_ORGANIZATION r, all_paths d WHERE " +
-                    "r.PARENT_DEVICE_ID = d.DEVICE_ID AND d.is_cycle = 0) " +
-                    "SELECT path, is_cycle FROM all_paths WHERE is_cycle = 1 ";
-            try (PreparedStatement statement = conn.prepareStatement(sql)) {
-                if (parentDeviceID != null) {
-                    statement.setInt(1, parentDeviceID);
-                }
-                try (ResultSet resultSet = statement.executeQuery()) {
-                    return resultSet.next();
-                }
-            }
-        } catch (DBConnectionException e) {
-            String msg = "Error occurred while obtaining DB connection to check cyclic relationship for deviceID " +
-                    deviceID + " and parentDeviceID " + parentDeviceID;
-            log.error(msg);
-            throw new DeviceOrganizationMgtDAOException(msg, e);
         } catch (SQLException e) {
             String msg = "Error occurred while processing SQL to check cyclic relationship for deviceID " +
                     deviceID + " and parentDeviceID " + parentDeviceID;
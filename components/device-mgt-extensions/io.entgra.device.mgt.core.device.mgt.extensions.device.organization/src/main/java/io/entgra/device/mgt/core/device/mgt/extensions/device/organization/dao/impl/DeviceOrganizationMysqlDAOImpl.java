@@ -18,7 +18,10 @@
 package io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.impl;
 
 import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.DeviceOrganizationDAO;
+import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.DeviceOrganizationDAOFactory;
 import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.util.ConnectionManagerUtil;
+import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.util.DeviceOrganizationDaoUtil;
+import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.util.DeviceOrganizationGraph;
 import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dto.AdditionResult;
 import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dto.DeviceNode;
 import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dto.DeviceNodeResult;
@@ -37,13 +40,15 @@ import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
-import java.util.Set;
 
+import static io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.util.DeviceOrganizationDaoUtil.getAncestorOrganizationsQuery;
+import static io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.util.DeviceOrganizationDaoUtil.getCyclicRelationshipQuery;
+import static io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.util.DeviceOrganizationDaoUtil.getDescendantOrganizationsQuery;
 import static io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.util.DeviceOrganizationDaoUtil.getDeviceFromResultSet;
 import static io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.util.DeviceOrganizationDaoUtil.loadDeviceOrganization;
+import static io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.util.DeviceOrganizationDaoUtil.loadDeviceOrganizationGraph;
 import static io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.util.DeviceOrganizationDaoUtil.loadDeviceOrganizationWithDeviceDetails;
 
 /**
@@ -53,39 +58,31 @@ public class DeviceOrganizationMysqlDAOImpl implements DeviceOrganizationDAO {
 
     private static final Log log = LogFactory.getLog(DeviceOrganizationMysqlDAOImpl.class);
 
+    private final String databaseEngine = DeviceOrganizationDAOFactory.DataBaseTypes.DB_TYPE_MYSQL;
+
     /**
      * {@inheritDoc}
      */
     @Override
     public DeviceNodeResult getChildrenOfDeviceNode(int deviceId, int maxDepth, boolean includeDevice, int tenantID)
             throws DeviceOrganizationMgtDAOException {
-        List<DeviceNode> childNodes = new ArrayList<>();
-        Set<DeviceOrganization> organizations = new HashSet<>();
-        Set<Integer> visited = new HashSet<>();
-        Set<Integer> twiceVisited = new HashSet<>();
-
         try {
             Connection conn = ConnectionManagerUtil.getDBConnection();
             DeviceNode deviceNode = getDeviceDetails(deviceId, conn);
-            boolean parentAdded = false; // Flag to track whether the parent device has been added
-            getChildrenRecursive(
-                    deviceNode,
-                    maxDepth,
-                    visited,
-                    twiceVisited,
-                    conn,
-                    childNodes,
-                    includeDevice,
-                    parentAdded,
-                    tenantID,
-                    organizations
-            );
-            if (!includeDevice
-                    && !parentAdded
-            ) {
-                childNodes.add(deviceNode); // Add the parent device if it hasn't been added and includeDevice is false.
+            DeviceOrganizationGraph graph = new DeviceOrganizationGraph();
+            if (maxDepth > 0) {
+                String sql = getDescendantOrganizationsQuery(databaseEngine);
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setInt(1, tenantID);
+                    stmt.setInt(2, deviceNode.getDeviceId());
+                    stmt.setInt(3, tenantID);
+                    stmt.setInt(4, Math.min(maxDepth, DeviceOrganizationGraph.MAX_TRAVERSAL_DEPTH));
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        loadDeviceOrganizationGraph(rs, graph);
+                    }
+                }
             }
-            return new DeviceNodeResult(childNodes, organizations);
+            return graph.getChildren(deviceNode, maxDepth, includeDevice);
         } catch (DBConnectionException e) {
             String msg = "Error occurred while obtaining DB connection to retrieve all child devices for " +
                     "parent device ID " + deviceId;
@@ -99,114 +96,29 @@ public class DeviceOrganizationMysqlDAOImpl implements DeviceOrganizationDAO {
         }
     }
 
-    private void getChildrenRecursive(DeviceNode node,
-                                      int maxDepth,
-                                      Set<Integer> visited,
-                                      Set<Integer> twiceVisited,
-                                      Connection conn,
-                                      List<DeviceNode> childNodes,
-                                      boolean includeDevice,
-                                      boolean parentAdded,
-                                      int tenantID,
-                                      Set<DeviceOrganization> organizations
-    )
-            throws SQLException {
-        if (maxDepth <= 0) {
-            return;
-        }
-        if (twiceVisited.contains(node.getDeviceId())) {
-            return;
-        }
-
-        if (visited.contains(node.getDeviceId())) {
-            twiceVisited.add(node.getDeviceId());
-        }
-
-        visited.add(node.getDeviceId());
-
-        String sql = "SELECT D.ID, D.NAME, D.DESCRIPTION, D.DEVICE_IDENTIFICATION, DT.NAME AS DEVICE_TYPE_NAME, " +
-                "DO.ORGANIZATION_ID, DO.TENANT_ID, DO.DEVICE_ID, DO.PARENT_DEVICE_ID, DO.DEVICE_ORGANIZATION_META ," +
-                "DO.LAST_UPDATED_TIMESTAMP FROM DM_DEVICE D " +
-                "JOIN DM_DEVICE_ORGANIZATION DO ON D.ID = DO.DEVICE_ID " +
-                "JOIN DM_DEVICE_TYPE DT ON D.DEVICE_TYPE_ID = DT.ID " +
-                "WHERE DO.TENANT_ID = ? AND DO.PARENT_DEVICE_ID = ? ";
-
-        boolean hasChildren = false;
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, tenantID);
-            stmt.setInt(2, node.getDeviceId());
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                DeviceNode child;
-                DeviceOrganization organization;
-                while (rs.next()) {
-                    child = getDeviceFromResultSet(rs);
-                    node.getChildren().add(child);
-                    hasChildren = true;
-                    if (includeDevice
-                            && !parentAdded
-                    ) {
-                        childNodes.add(node); // Add the parent device only if includeDevice is true and it hasn't been added.
-                        parentAdded = true; // Set the flag to true after adding the parent device.
-                    }
-
-                    organization = loadDeviceOrganization(rs);
-                    organizations.add(organization);
-
-                    getChildrenRecursive(
-                            child,
-                            (maxDepth - 1),
-                            visited,
-                            twiceVisited,
-                            conn,
-                            childNodes,
-                            includeDevice,
-                            parentAdded,
-                            tenantID,
-                            organizations
-                    );
-                }
-            }
-        }
-
-        // Add the parent node if it doesn't have children and includeDevice is true
-        if (!hasChildren && includeDevice && !parentAdded) {
-            childNodes.add(node);
-            parentAdded = true;
-        }
-    }
-
     /**
      * {@inheritDoc}
      */
     @Override
     public DeviceNodeResult getParentsOfDeviceNode(int deviceId, int maxDepth, boolean includeDevice, int tenantID)
             throws DeviceOrganizationMgtDAOException {
-
-        List<DeviceNode> parentNodes = new ArrayList<>();
-        Set<DeviceOrganization> organizations = new HashSet<>();
-        Set<Integer> visited = new HashSet<>();
-        Set<Integer> twiceVisited = new HashSet<>();
         try {
             Connection conn = ConnectionManagerUtil.getDBConnection();
             DeviceNode deviceNode = getDeviceDetails(deviceId, conn);
-            boolean childAdded = false;
-            getParentsRecursive(
-                    deviceNode,
-                    maxDepth,
-                    visited,
-                    twiceVisited,
-                    conn,
-                    parentNodes,
-                    includeDevice,
-                    childAdded,
-                    tenantID,
-                    organizations);
-            if (!includeDevice && !childAdded) {
-                parentNodes.add(deviceNode);
+            DeviceOrganizationGraph graph = new DeviceOrganizationGraph();
+            if (maxDepth > 0) {
+                String sql = getAncestorOrganizationsQuery(databaseEngine);
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setInt(1, tenantID);
+                    stmt.setInt(2, deviceNode.getDeviceId());
+                    stmt.setInt(3, tenantID);
+                    stmt.setInt(4, Math.min(maxDepth, DeviceOrganizationGraph.MAX_TRAVERSAL_DEPTH));
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        loadDeviceOrganizationGraph(rs, graph);
+                    }
+                }
             }
-
-            return new DeviceNodeResult(parentNodes, organizations);
+            return graph.getParents(deviceNode, maxDepth, includeDevice);
         } catch (DBConnectionException e) {
             String msg = "Error occurred while obtaining DB connection to retrieve parent devices for " +
                     "device ID " + deviceId;
@@ -220,70 +132,6 @@ public class DeviceOrganizationMysqlDAOImpl implements DeviceOrganizationDAO {
         }
     }
 
-    private void getParentsRecursive(DeviceNode node,
-                                     int maxDepth,
-                                     Set<Integer> visited,
-                                     Set<Integer> twiceVisited,
-                                     Connection conn,
-                                     List<DeviceNode> parentNodes,
-                                     boolean includeDevice,
-                                     boolean childAdded,
-                                     int tenantID,
-                                     Set<DeviceOrganization> organizations)
-            throws SQLException {
-        if (maxDepth <= 0) {
-            return;
-        }
-        if (twiceVisited.contains(node.getDeviceId())) {
-            return;
-        }
-
-        if (visited.contains(node.getDeviceId())) {
-            twiceVisited.add(node.getDeviceId());
-        }
-
-        visited.add(node.getDeviceId());
-
-        String sql = "SELECT D.ID, D.NAME, D.DESCRIPTION, D.DEVICE_IDENTIFICATION, DT.NAME AS DEVICE_TYPE_NAME, " +
-                "DO.ORGANIZATION_ID,  DO.TENANT_ID, DO.DEVICE_ID, DO.PARENT_DEVICE_ID, DO.DEVICE_ORGANIZATION_META ," +
-                "DO.LAST_UPDATED_TIMESTAMP FROM DM_DEVICE D " +
-                "JOIN DM_DEVICE_ORGANIZATION DO ON D.ID = DO.PARENT_DEVICE_ID " +
-                "JOIN DM_DEVICE_TYPE DT ON D.DEVICE_TYPE_ID = DT.ID " +
-                "WHERE DO.TENANT_ID = ? AND DO.DEVICE_ID = ?";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, tenantID);
-            stmt.setInt(2, node.getDeviceId());
-            try (ResultSet rs = stmt.executeQuery()) {
-                DeviceNode parent;
-                DeviceOrganization organization;
-                while (rs.next()) {
-                    parent = getDeviceFromResultSet(rs);
-                    node.getParents().add(parent);
-                    if (includeDevice && !childAdded) {
-                        parentNodes.add(node);
-                        childAdded = true;
-                    }
-
-                    organization = loadDeviceOrganization(rs);
-                    organizations.add(organization);
-
-                    getParentsRecursive(
-                            parent,
-                            (maxDepth - 1),
-                            visited,
-                            twiceVisited,
-                            conn,
-                            parentNodes,
-                            includeDevice,
-                            childAdded,
-                            tenantID,
-                            organizations);
-                }
-            }
-        }
-    }
-
     private DeviceNode getDeviceDetails(int deviceId, Connection conn) throws SQLException {
         String sql = "SELECT D.ID, D.NAME, D.DESCRIPTION, D.DEVICE_IDENTIFICATION, DT.NAME AS DEVICE_TYPE_NAME " +
                 "FROM DM_DEVICE D " +
@@ -301,6 +149,50 @@ public class DeviceOrganizationMysqlDAOImpl implements DeviceOrganizationDAO {
         return node;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DeviceOrganizationGraph getDeviceOrganizationGraph(int tenantID) throws DeviceOrganizationMgtDAOException {
+        DeviceOrganizationGraph graph = new DeviceOrganizationGraph();
+        try {
+            Connection conn = ConnectionManagerUtil.getDBConnection();
+            String sql = "SELECT * FROM DM_DEVICE_ORGANIZATION WHERE TENANT_ID = ? ORDER BY ORGANIZATION_ID";
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, tenantID);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        graph.addOrganization(loadDeviceOrganization(rs));
+                    }
+                }
+            }
+            sql = "SELECT D.ID, D.NAME, D.DESCRIPTION, D.DEVICE_IDENTIFICATION, DT.NAME AS DEVICE_TYPE_NAME " +
+                    "FROM DM_DEVICE D " +
+                    "JOIN DM_DEVICE_TYPE DT ON D.DEVICE_TYPE_ID = DT.ID " +
+                    "WHERE D.ID IN (SELECT DEVICE_ID FROM DM_DEVICE_ORGANIZATION WHERE TENANT_ID = ?) " +
+                    "OR D.ID IN (SELECT PARENT_DEVICE_ID FROM DM_DEVICE_ORGANIZATION WHERE TENANT_ID = ?)";
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, tenantID);
+                stmt.setInt(2, tenantID);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        graph.addDevice(DeviceOrganizationDaoUtil.getDeviceDetails(rs));
+                    }
+                }
+            }
+            return graph;
+        } catch (DBConnectionException e) {
+            String msg = "Error occurred while obtaining DB connection to retrieve device organizations of tenant " +
+                    tenantID;
+            log.error(msg);
+            throw new DeviceOrganizationMgtDAOException(msg, e);
+        } catch (SQLException e) {
+            String msg = "Error occurred while processing SQL to retrieve device organizations of tenant " + tenantID;
+            log.error(msg);
+            throw new DeviceOrganizationMgtDAOException(msg, e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -446,7 +338,7 @@ public class DeviceOrganizationMysqlDAOImpl implements DeviceOrganizationDAO {
                 inserted = stmt.executeUpdate();
 
                 if (deviceOrganization.isCheckCyclicRelationship()) {
-                    boolean isCyclic = isCyclicRelationshipExist(conn,
+                    boolean isCyclic = isCyclicRelationshipExist(conn, deviceOrganization.getDeviceId(),
                             deviceOrganization.getParentDeviceId(), deviceOrganization.getTenantID());
                     if (isCyclic) {
                         result.setCyclic(true);
@@ -540,55 +432,26 @@ public class DeviceOrganizationMysqlDAOImpl implements DeviceOrganizationDAO {
         }
     }
 
-    private boolean isCyclicRelationshipExist(Connection conn, Integer parentDeviceID, int tenantID)
+    private boolean isCyclicRelationshipExist(Connection conn, int deviceID, Integer parentDeviceID, int tenantID)
             throws DeviceOrganizationMgtDAOException {
-        try {
-            // Check for cyclic relationship
-            if (hasCyclicRelationship(conn, parentDeviceID, tenantID)){
-                log.error("cyclic relationship detected. Insertion not allowed.");
-                return true;
+        try (PreparedStatement statement = conn.prepareStatement(getCyclicRelationshipQuery(databaseEngine))) {
+            statement.setInt(1, tenantID);
+            statement.setInt(2, deviceID);
+            statement.setInt(3, tenantID);
+            statement.setInt(4, deviceID);
+            statement.setInt(5, DeviceOrganizationGraph.MAX_TRAVERSAL_DEPTH);
+            statement.setInt(6, deviceID);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
             }
-            return false;
         } catch (SQLException e) {
-            String msg = "Error occurred while processing SQL to check cyclic relationship for " +
-                    "parentDeviceID " + parentDeviceID;
+            String msg = "Error occurred while processing SQL to check cyclic relationship for deviceID " +
+                    deviceID + " and parentDeviceID " + parentDeviceID;
             log.error(msg);
             throw new DeviceOrganizationMgtDAOException(msg, e);
         }
     }
 
-    private boolean hasCyclicRelationship(Connection connection, Integer parentDeviceID, int tenantID) throws SQLException {
-        try (PreparedStatement statement = connection.prepareStatement(
-                "WITH RECURSIVE all_paths AS\n" +
-                        "(" +
-                        "SELECT DEVICE_ID AS DEVICE_ID,\n" +
-                        "CAST(DEVICE_ID AS CHAR(500)) AS path, 0 AS is_cycle\n" +
-                        "FROM DM_DEVICE_ORGANIZATION\n" +
-                        "WHERE PARENT_DEVICE_ID=? AND TENANT_ID = ?\n" +
-                        "UNION ALL\n" +
-                        "SELECT r.DEVICE_ID,\n" +
-                        "CONCAT(d.path, ',', r.DEVICE_ID),\n" +
-                        "FIND_IN_SET(r.DEVICE_ID, d.path)!=0\n" +
-                        "FROM DM_DEVICE_ORGANIZATION r, all_paths d\n" +
-                        "WHERE r.PARENT_DEVICE_ID=d.DEVICE_ID\n" +
-                        "AND is_cycle=0" +
-                        ")\n" +
-                        "SELECT\n" +
-                        "  DEVICE_ID,\n" +
-                        "  path,\n" +
-                        "  is_cycle\n" +
-                        "FROM\n" +
-                        "  all_paths\n" +
-                        "WHERE\n" +
-                        "  is_cycle = 1;")) {
-            statement.setInt(1, parentDeviceID);
-            statement.setInt(2, tenantID);
-            try (ResultSet resultSet = statement.executeQuery()) {
-                return resultSet.next();
-            }
-        }
-    }
-
     /**
      * {@inheritDoc}
      */
@@ -20,6 +20,7 @@ package io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.
 
 
 import io.entgra.device.mgt.core.device.mgt.common.Device;
+import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.DeviceOrganizationDAOFactory;
 import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dto.DeviceNode;
 import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dto.DeviceOrganization;
 import org.apache.commons.logging.Log;
@@ -97,4 +98,99 @@ public class DeviceOrganizationDaoUtil {
         return device;
     }
 
+    /**
+     * Helper method to add the organizations in a ResultSet, along with the details of the devices they lead to,
+     * to a DeviceOrganizationGraph
+     *
+     * @param rs    The ResultSet containing organization and device data.
+     * @param graph The graph to add the organizations to.
+     * @throws SQLException If there's an issue reading data from the ResultSet.
+     */
+    public static void loadDeviceOrganizationGraph(ResultSet rs, DeviceOrganizationGraph graph) throws SQLException {
+        while (rs.next()) {
+            graph.addOrganization(loadDeviceOrganization(rs));
+            graph.addDevice(getDeviceDetails(rs));
+        }
+    }
+
+    /**
+     * Builds the query retrieving the organizations below a device, with the details of their child devices, in a
+     * single round trip. Parameters are the tenant ID, the device ID, the tenant ID and the maximum depth.
+     *
+     * @param databaseType The product name of the database.
+     * @return The recursive query.
+     */
+    public static String getDescendantOrganizationsQuery(String databaseType) {
+        return getRecursiveWithClause(databaseType) + "ORG_TREE (ORGANIZATION_ID, DEVICE_ID, DEPTH) AS (" +
+                "SELECT ORGANIZATION_ID, DEVICE_ID, 1 FROM DM_DEVICE_ORGANIZATION " +
+                "WHERE TENANT_ID = ? AND PARENT_DEVICE_ID = ? " +
+                "UNION ALL " +
+                "SELECT ORG.ORGANIZATION_ID, ORG.DEVICE_ID, T.DEPTH + 1 FROM DM_DEVICE_ORGANIZATION ORG " +
+                "JOIN ORG_TREE T ON ORG.PARENT_DEVICE_ID = T.DEVICE_ID " +
+                "WHERE ORG.TENANT_ID = ? AND T.DEPTH < ?) " +
+                "SELECT D.ID, D.NAME, D.DESCRIPTION, D.DEVICE_IDENTIFICATION, DT.NAME AS DEVICE_TYPE_NAME, " +
+                "ORG.ORGANIZATION_ID, ORG.TENANT_ID, ORG.DEVICE_ID, ORG.PARENT_DEVICE_ID, " +
+                "ORG.DEVICE_ORGANIZATION_META, ORG.LAST_UPDATED_TIMESTAMP FROM DM_DEVICE_ORGANIZATION ORG " +
+                "JOIN DM_DEVICE D ON D.ID = ORG.DEVICE_ID " +
+                "JOIN DM_DEVICE_TYPE DT ON D.DEVICE_TYPE_ID = DT.ID " +
+                "WHERE ORG.ORGANIZATION_ID IN (SELECT ORGANIZATION_ID FROM ORG_TREE) " +
+                "ORDER BY ORG.ORGANIZATION_ID";
+    }
+
+    /**
+     * Builds the query retrieving the organizations above a device, with the details of their parent devices, in a
+     * single round trip. Parameters are the tenant ID, the device ID, the tenant ID and the maximum depth.
+     *
+     * @param databaseType The product name of the database.
+     * @return The recursive query.
+     */
+    public static String getAncestorOrganizationsQuery(String databaseType) {
+        return getRecursiveWithClause(databaseType) + "ORG_TREE (ORGANIZATION_ID, PARENT_DEVICE_ID, DEPTH) AS (" +
+                "SELECT ORGANIZATION_ID, PARENT_DEVICE_ID, 1 FROM DM_DEVICE_ORGANIZATION " +
+                "WHERE TENANT_ID = ? AND DEVICE_ID = ? " +
+                "UNION ALL " +
+                "SELECT ORG.ORGANIZATION_ID, ORG.PARENT_DEVICE_ID, T.DEPTH + 1 FROM DM_DEVICE_ORGANIZATION ORG " +
+                "JOIN ORG_TREE T ON ORG.DEVICE_ID = T.PARENT_DEVICE_ID " +
+                "WHERE ORG.TENANT_ID = ? AND T.DEPTH < ?) " +
+                "SELECT D.ID, D.NAME, D.DESCRIPTION, D.DEVICE_IDENTIFICATION, DT.NAME AS DEVICE_TYPE_NAME, " +
+                "ORG.ORGANIZATION_ID, ORG.TENANT_ID, ORG.DEVICE_ID, ORG.PARENT_DEVICE_ID, " +
+                "ORG.DEVICE_ORGANIZATION_META, ORG.LAST_UPDATED_TIMESTAMP FROM DM_DEVICE_ORGANIZATION ORG " +
+                "JOIN DM_DEVICE D ON D.ID = ORG.PARENT_DEVICE_ID " +
+                "JOIN DM_DEVICE_TYPE DT ON D.DEVICE_TYPE_ID = DT.ID " +
+                "WHERE ORG.ORGANIZATION_ID IN (SELECT ORGANIZATION_ID FROM ORG_TREE) " +
+                "ORDER BY ORG.ORGANIZATION_ID";
+    }
+
+    /**
+     * Builds the query checking whether a device is one of its own ancestors. The ancestors are not expanded beyond
+     * the device itself, so the query ends even though the organization is cyclic. Parameters are the tenant ID, the
+     * device ID, the tenant ID, the device ID, the maximum depth and the device ID.
+     *
+     * @param databaseType The product name of the database.
+     * @return The recursive query.
+     */
+    public static String getCyclicRelationshipQuery(String databaseType) {
+        return getRecursiveWithClause(databaseType) + "ANCESTORS (DEVICE_ID, DEPTH) AS (" +
+                "SELECT PARENT_DEVICE_ID, 1 FROM DM_DEVICE_ORGANIZATION " +
+                "WHERE TENANT_ID = ? AND DEVICE_ID = ? AND PARENT_DEVICE_ID IS NOT NULL " +
+                "UNION ALL " +
+                "SELECT ORG.PARENT_DEVICE_ID, A.DEPTH + 1 FROM DM_DEVICE_ORGANIZATION ORG " +
+                "JOIN ANCESTORS A ON ORG.DEVICE_ID = A.DEVICE_ID " +
+                "WHERE ORG.TENANT_ID = ? AND ORG.PARENT_DEVICE_ID IS NOT NULL AND A.DEVICE_ID <> ? " +
+                "AND A.DEPTH < ?) " +
+                "SELECT 1 FROM ANCESTORS WHERE DEVICE_ID = ?";
+    }
+
+    /**
+     * SQL Server and Oracle open recursive common table expressions with a plain WITH, while MySQL 8, PostgreSQL
+     * and H2 require WITH RECURSIVE.
+     */
+    private static String getRecursiveWithClause(String databaseType) {
+        if (DeviceOrganizationDAOFactory.DataBaseTypes.DB_TYPE_MSSQL.equals(databaseType)
+                || DeviceOrganizationDAOFactory.DataBaseTypes.DB_TYPE_ORACLE.equals(databaseType)) {
+            return "WITH ";
+        }
+        return "WITH RECURSIVE ";
+    }
+
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.util;
+
+import io.entgra.device.mgt.core.device.mgt.common.Device;
+import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dto.DeviceNode;
+import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dto.DeviceNodeResult;
+import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dto.DeviceOrganization;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Adjacency lists of device organizations along with the details of the devices they connect. Device hierarchies are
+ * assembled from it in memory, either from the organizations returned by a single traversal query or from all the
+ * organizations of a tenant held in the device organization cache.
+ */
+public class DeviceOrganizationGraph {
+
+    /**
+     * Maximum number of levels a hierarchy is traversed, which keeps recursive traversal queries within the default
+     * recursion limits of MySQL and SQL Server and bounds the traversal of cyclic organizations.
+     */
+    public static final int MAX_TRAVERSAL_DEPTH = 100;
+
+    private final Map<Integer, List<DeviceOrganization>> childOrganizations = new HashMap<>();
+    private final Map<Integer, List<DeviceOrganization>> parentOrganizations = new HashMap<>();
+    private final Map<Integer, Device> devices = new HashMap<>();
+    private int organizationCount;
+
+    /**
+     * Adds an organization to the graph. Organizations of root devices do not link two devices, hence they are not
+     * part of any hierarchy.
+     *
+     * @param organization the organization to add.
+     */
+    public void addOrganization(DeviceOrganization organization) {
+        if (organization.getParentDeviceId() == null) {
+            return;
+        }
+        childOrganizations.computeIfAbsent(organization.getParentDeviceId(), id -> new ArrayList<>())
+                .add(organization);
+        parentOrganizations.computeIfAbsent(organization.getDeviceId(), id -> new ArrayList<>())
+                .add(organization);
+        organizationCount++;
+    }
+
+    public void addDevice(Device device) {
+        devices.put(device.getId(), device);
+    }
+
+    /**
+     * @param deviceId ID of the device.
+     * @return details of the device, or null if the device is not organized.
+     */
+    public Device getDevice(int deviceId) {
+        return devices.get(deviceId);
+    }
+
+    public int getOrganizationCount() {
+        return organizationCount;
+    }
+
+    /**
+     * Assembles the descendants of a device, the same way the children of each device used to be queried one after
+     * the other. A device is expanded at most twice, so that a cyclic organization ends the traversal.
+     *
+     * @param root          node of the device to start from.
+     * @param maxDepth      maximum number of levels to traverse.
+     * @param includeDevice whether the result is only to include the device when it is traversed.
+     * @return the node of the device, with its descendants, and the organizations traversed.
+     */
+    public DeviceNodeResult getChildren(DeviceNode root, int maxDepth, boolean includeDevice) {
+        Set<DeviceOrganization> organizations = new HashSet<>();
+        addRelatives(root, Math.min(maxDepth, MAX_TRAVERSAL_DEPTH), true, new HashSet<>(), new HashSet<>(),
+                organizations);
+        List<DeviceNode> nodes = new ArrayList<>();
+        if (!includeDevice || maxDepth > 0) {
+            nodes.add(root);
+        }
+        return new DeviceNodeResult(nodes, organizations);
+    }
+
+    /**
+     * Assembles the ancestors of a device, the same way the parents of each device used to be queried one after the
+     * other. A device is expanded at most twice, so that a cyclic organization ends the traversal.
+     *
+     * @param root          node of the device to start from.
+     * @param maxDepth      maximum number of levels to traverse.
+     * @param includeDevice whether the result is only to include the device when it has parents.
+     * @return the node of the device, with its ancestors, and the organizations traversed.
+     */
+    public DeviceNodeResult getParents(DeviceNode root, int maxDepth, boolean includeDevice) {
+        Set<DeviceOrganization> organizations = new HashSet<>();
+        addRelatives(root, Math.min(maxDepth, MAX_TRAVERSAL_DEPTH), false, new HashSet<>(), new HashSet<>(),
+                organizations);
+        List<DeviceNode> nodes = new ArrayList<>();
+        if (!includeDevice || !root.getParents().isEmpty()) {
+            nodes.add(root);
+        }
+        return new DeviceNodeResult(nodes, organizations);
+    }
+
+    /**
+     * @param deviceId ID of the device.
+     * @return node of the device carrying its details, without relatives.
+     */
+    public DeviceNode newNode(int deviceId) {
+        DeviceNode node = new DeviceNode();
+        node.setDeviceId(deviceId);
+        node.setDevice(devices.get(deviceId));
+        return node;
+    }
+
+    private void addRelatives(DeviceNode node, int depth, boolean isChildren, Set<Integer> visited,
+                              Set<Integer> twiceVisited, Set<DeviceOrganization> organizations) {
+        if (depth <= 0 || twiceVisited.contains(node.getDeviceId())) {
+            return;
+        }
+        if (!visited.add(node.getDeviceId())) {
+            twiceVisited.add(node.getDeviceId());
+        }
+        List<DeviceOrganization> relatives = (isChildren ? childOrganizations : parentOrganizations)
+                .getOrDefault(node.getDeviceId(), Collections.emptyList());
+        for (DeviceOrganization organization : relatives) {
+            DeviceNode relative = newNode(isChildren ? organization.getDeviceId() : organization.getParentDeviceId());
+            if (isChildren) {
+                node.getChildren().add(relative);
+            } else {
+                node.getParents().add(relative);
+            }
+            organizations.add(organization);
+            addRelatives(relative, depth - 1, isChildren, visited, twiceVisited, organizations);
+        }
+    }
+}
@@ -17,9 +17,11 @@
  */
 package io.entgra.device.mgt.core.device.mgt.extensions.device.organization.impl;
 
+import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.cache.DeviceOrganizationCache;
 import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.DeviceOrganizationDAO;
 import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.DeviceOrganizationDAOFactory;
 import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.util.ConnectionManagerUtil;
+import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.util.DeviceOrganizationGraph;
 import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dto.DeviceNodeResult;
 import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dto.PaginationRequest;
 import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dto.DeviceOrganization;
@@ -59,11 +61,14 @@ public class DeviceOrganizationServiceImpl implements DeviceOrganizationService
                     ", includeDevice = " + includeDevice;
             throw new BadRequestException(msg);
         }
+        int tenantID = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
+        DeviceOrganizationGraph graph = getCachedDeviceOrganizationGraph(tenantID);
+        if (graph != null && graph.getDevice(deviceId) != null) {
+            return graph.getChildren(graph.newNode(deviceId), maxDepth, includeDevice);
+        }
         try {
             // Open a database connection
             ConnectionManagerUtil.openDBConnection();
-            //set device details
-            int tenantID = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
             return deviceOrganizationDao.getChildrenOfDeviceNode(deviceId, maxDepth, includeDevice, tenantID);
         } catch (DBConnectionException e) {
             String msg = "Error occurred while obtaining the database connection to retrieve child devices : " +
@@ -95,10 +100,14 @@ public class DeviceOrganizationServiceImpl implements DeviceOrganizationService
                     ", includeDevice = " + includeDevice;
             throw new BadRequestException(msg);
         }
+        int tenantID = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
+        DeviceOrganizationGraph graph = getCachedDeviceOrganizationGraph(tenantID);
+        if (graph != null && graph.getDevice(deviceId) != null) {
+            return graph.getParents(graph.newNode(deviceId), maxDepth, includeDevice);
+        }
         try {
             // Open a database connection
             ConnectionManagerUtil.openDBConnection();
-            int tenantID = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
             return deviceOrganizationDao.getParentsOfDeviceNode(deviceId, maxDepth, includeDevice, tenantID);
         } catch (DBConnectionException e) {
             String msg = "Error occurred while obtaining the database connection to retrieve parent devices for : " +
@@ -118,6 +127,55 @@ public class DeviceOrganizationServiceImpl implements DeviceOrganizationService
         }
     }
 
+    /**
+     * Retrieves the device organizations of the tenant from the device organization cache, loading them from the
+     * database when they are not cached.
+     *
+     * @param tenantID The ID of the tenant.
+     * @return The device organizations of the tenant, or null if the cache is disabled.
+     * @throws DeviceOrganizationMgtPluginException If the device organizations could not be loaded.
+     */
+    private DeviceOrganizationGraph getCachedDeviceOrganizationGraph(int tenantID)
+            throws DeviceOrganizationMgtPluginException {
+        DeviceOrganizationCache cache = DeviceOrganizationCache.getInstance();
+        if (!cache.isEnabled()) {
+            return null;
+        }
+        DeviceOrganizationGraph graph = cache.getGraph(tenantID);
+        if (graph != null) {
+            return graph;
+        }
+        synchronized (cache.getLoadLock(tenantID)) {
+            graph = cache.getGraph(tenantID);
+            if (graph != null) {
+                return graph;
+            }
+            long version = cache.getVersion();
+            try {
+                ConnectionManagerUtil.openDBConnection();
+                graph = deviceOrganizationDao.getDeviceOrganizationGraph(tenantID);
+            } catch (DBConnectionException e) {
+                String msg = "Error occurred while obtaining the database connection to load device organizations " +
+                        "of tenant " + tenantID;
+                log.error(msg);
+                throw new DeviceOrganizationMgtPluginException(msg, e);
+            } catch (DeviceOrganizationMgtDAOException e) {
+                String msg = "Error occurred in the database level while loading device organizations of tenant " +
+                        tenantID;
+                log.error(msg);
+                throw new DeviceOrganizationMgtPluginException(msg, e);
+            } finally {
+                ConnectionManagerUtil.closeDBConnection();
+            }
+            cache.putGraph(tenantID, graph, version);
+            if (log.isDebugEnabled()) {
+                log.debug("Loaded " + graph.getOrganizationCount() + " device organizations of tenant " + tenantID +
+                        " to the device organization cache");
+            }
+            return graph;
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -289,6 +347,7 @@ public class DeviceOrganizationServiceImpl implements DeviceOrganizationService
                 return false;
             }
             ConnectionManagerUtil.commitDBTransaction();
+            DeviceOrganizationCache.getInstance().invalidate(tenantID);
             return true;
         } catch (DBConnectionException e) {
             msg = "Error occurred while obtaining the database connection to add device organization. " +
@@ -316,7 +375,12 @@ public class DeviceOrganizationServiceImpl implements DeviceOrganizationService
         try {
             ConnectionManagerUtil.openDBConnection();
             int tenantID = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
-            return deviceOrganizationDao.deleteDeviceOrganizationByUniqueKey(deviceID, parentDeviceID, tenantID);
+            boolean isDeleted = deviceOrganizationDao.deleteDeviceOrganizationByUniqueKey(deviceID, parentDeviceID,
+                    tenantID);
+            if (isDeleted) {
+                DeviceOrganizationCache.getInstance().invalidate(tenantID);
+            }
+            return isDeleted;
         } catch (DBConnectionException e) {
             String msg = "Error occurred while obtaining the database connection to retrieve organization. " +
                     "Params : deviceID = " + deviceID + ", parentDeviceID = " + parentDeviceID;
@@ -446,6 +510,7 @@ public class DeviceOrganizationServiceImpl implements DeviceOrganizationService
                 throw new DeviceOrganizationMgtPluginException(msg);
             }
             ConnectionManagerUtil.commitDBTransaction();
+            DeviceOrganizationCache.getInstance().invalidate(tenantID);
             return true;
         } catch (DBConnectionException e) {
             msg = "Error occurred while obtaining the database connection to update device organization for " +
@@ -530,6 +595,7 @@ public class DeviceOrganizationServiceImpl implements DeviceOrganizationService
                 throw new DeviceOrganizationMgtPluginException(msg);
             }
             ConnectionManagerUtil.commitDBTransaction();
+            DeviceOrganizationCache.getInstance().invalidate(tenantID);
             return true;
         } catch (DBConnectionException e) {
             msg = "Error occurred while obtaining the database connection to delete device organization for " +
@@ -582,6 +648,7 @@ public class DeviceOrganizationServiceImpl implements DeviceOrganizationService
                 throw new DeviceOrganizationMgtPluginException(msg);
             }
             ConnectionManagerUtil.commitDBTransaction();
+            DeviceOrganizationCache.getInstance().invalidate(tenantID);
             return true;
         } catch (DBConnectionException e) {
             msg = "Error occurred while obtaining the database connection to delete device organizations associated with " +
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2018 - 2024, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.extensions.device.organization;
+
+import io.entgra.device.mgt.core.device.mgt.common.Device;
+import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dao.util.DeviceOrganizationGraph;
+import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dto.DeviceNode;
+import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dto.DeviceNodeResult;
+import io.entgra.device.mgt.core.device.mgt.extensions.device.organization.dto.DeviceOrganization;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class DeviceOrganizationGraphTest {
+
+    @Test(description = "This method tests assembling the descendants of a device with a depth limit")
+    public void testGetChildren() {
+        DeviceOrganizationGraph graph = createGraph(new int[][]{{2, 1}, {3, 1}, {4, 2}, {5, 4}});
+        DeviceNodeResult result = graph.getChildren(graph.newNode(1), 2, true);
+        Assert.assertEquals(result.getNodes().size(), 1);
+        DeviceNode root = result.getNodes().get(0);
+        Assert.assertEquals(root.getDevice().getName(), "Meter_1");
+        Assert.assertEquals(root.getChildren().size(), 2);
+        DeviceNode child = root.getChildren().get(0);
+        Assert.assertEquals(child.getDeviceId(), 2);
+        Assert.assertEquals(child.getChildren().size(), 1);
+        Assert.assertTrue(child.getChildren().get(0).getChildren().isEmpty(), "Depth limit is not applied");
+        Assert.assertEquals(result.getEdges().size(), 3);
+    }
+
+    @Test(description = "This method tests assembling the ancestors of a device")
+    public void testGetParents() {
+        DeviceOrganizationGraph graph = createGraph(new int[][]{{2, 1}, {3, 2}, {3, 4}});
+        DeviceNodeResult result = graph.getParents(graph.newNode(3), 5, false);
+        DeviceNode device = result.getNodes().get(0);
+        Assert.assertEquals(device.getParents().size(), 2);
+        Assert.assertEquals(device.getParents().get(0).getParents().get(0).getDeviceId(), 1);
+        Assert.assertEquals(result.getEdges().size(), 3);
+
+        result = graph.getParents(graph.newNode(1), 5, true);
+        Assert.assertTrue(result.getNodes().isEmpty(), "Root device is included though it has no parents");
+    }
+
+    @Test(description = "This method tests that a cyclic organization ends the traversal")
+    public void testGetChildrenOfCyclicOrganization() {
+        DeviceOrganizationGraph graph = createGraph(new int[][]{{2, 1}, {3, 2}, {1, 3}});
+        DeviceNodeResult result = graph.getChildren(graph.newNode(1), Integer.MAX_VALUE, false);
+        int depth = 0;
+        DeviceNode node = result.getNodes().get(0);
+        while (!node.getChildren().isEmpty()) {
+            node = node.getChildren().get(0);
+            depth++;
+        }
+        Assert.assertEquals(depth, 6);
+        Assert.assertEquals(result.getEdges().size(), 3);
+    }
+
+    private static DeviceOrganizationGraph createGraph(int[][] organizations) {
+        DeviceOrganizationGraph graph = new DeviceOrganizationGraph();
+        int organizationId = 0;
+        for (int[] organization : organizations) {
+            DeviceOrganization deviceOrganization = new DeviceOrganization();
+            deviceOrganization.setOrganizationId(++organizationId);
+            deviceOrganization.setDeviceId(organization[0]);
+            deviceOrganization.setParentDeviceId(organization[1]);
+            graph.addOrganization(deviceOrganization);
+            for (int deviceId : organization) {
+                Device device = new Device();
+                device.setId(deviceId);
+                device.setName("Meter_" + deviceId);
+                graph.addDevice(device);
+            }
+        }
+        return graph;
+    }
+}
@@ -19,6 +19,7 @@ package io.entgra.device.mgt.core.device.mgt.extensions.push.notification.provid
 
 import com.google.gson.JsonObject;
 import io.entgra.device.mgt.core.device.mgt.common.Device;
+import io.entgra.device.mgt.core.device.mgt.common.DeviceIdentifier;
 import io.entgra.device.mgt.core.device.mgt.common.EnrolmentInfo;
 import io.entgra.device.mgt.core.device.mgt.common.exceptions.DeviceManagementException;
 import io.entgra.device.mgt.core.device.mgt.common.push.notification.NotificationContext;
@@ -27,6 +28,8 @@ import io.entgra.device.mgt.core.device.mgt.common.push.notification.PushNotific
 import io.entgra.device.mgt.core.device.mgt.common.push.notification.PushNotificationExecutionFailedException;
 import io.entgra.device.mgt.core.device.mgt.extensions.push.notification.provider.fcm.internal.FCMDataHolder;
 import io.entgra.device.mgt.core.device.mgt.extensions.push.notification.provider.fcm.util.FCMUtil;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
@@ -34,7 +37,14 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 public class FCMNotificationStrategy implements NotificationStrategy {
 
@@ -44,6 +54,7 @@ public class FCMNotificationStrategy implements NotificationStrategy {
     private static final String FCM_API_KEY = "fcmAPIKey";
     private static final int TIME_TO_LIVE = 2419199; // 1 second less than 28 days
     private static final int HTTP_STATUS_CODE_OK = 200;
+    private static final long BATCH_TIMEOUT_SECONDS = 60;
     private final PushNotificationConfig config;
     private static final String FCM_ENDPOINT_KEY = "FCM_SERVER_ENDPOINT";
 
@@ -60,14 +71,11 @@ public class FCMNotificationStrategy implements NotificationStrategy {
     public void execute(NotificationContext ctx) throws PushNotificationExecutionFailedException {
         try {
             if (NOTIFIER_TYPE_FCM.equals(config.getType())) {
-                Device device = FCMDataHolder.getInstance().getDeviceManagementProviderService()
-                        .getDeviceWithTypeProperties(ctx.getDeviceId());
-                if(device.getEnrolmentInfo() != null
-                        && device.getEnrolmentInfo().getStatus() != EnrolmentInfo.Status.REMOVED
-                        && device.getProperties() != null && getFCMToken(device.getProperties()) != null) {
+                String fcmToken = resolveFCMToken(ctx.getDeviceId());
+                if (fcmToken != null) {
                     FCMUtil.getInstance().getDefaultApplication().refreshIfExpired();
                     sendWakeUpCall(FCMUtil.getInstance().getDefaultApplication().getAccessToken().getTokenValue(),
-                            getFCMToken(device.getProperties()));
+                            fcmToken);
                 }
             } else {
                 if (log.isDebugEnabled()) {
@@ -82,6 +90,104 @@ public class FCMNotificationStrategy implements NotificationStrategy {
         }
     }
 
+    /**
+     * Send wakeup calls to a batch of devices. FCM tokens of all distinct devices are resolved up front in a single
+     * lookup and the calls are then sent concurrently over the shared HTTP client, which multiplexes them over HTTP/2
+     * connections. Calls which are still pending when the batch times out are cancelled and reported as failed.
+     * @param contexts Notification contexts of the devices to be notified
+     * @return Notification contexts of the devices which could not be notified
+     * @throws PushNotificationExecutionFailedException If the access token, the FCM endpoint or the devices cannot be
+     * resolved
+     */
+    @Override
+    public List<NotificationContext> executeBatch(List<NotificationContext> contexts)
+            throws PushNotificationExecutionFailedException {
+        List<NotificationContext> failedContexts = Collections.synchronizedList(new ArrayList<>());
+        if (!NOTIFIER_TYPE_FCM.equals(config.getType())) {
+            if (log.isDebugEnabled()) {
+                log.debug("Not using FCM notifier as notifier type is set to " + config.getType() +
+                        " in Platform Configurations.");
+            }
+            return failedContexts;
+        }
+        String fcmServerEndpoint = getFCMServerEndpoint();
+        String accessToken;
+        try {
+            FCMUtil.getInstance().getDefaultApplication().refreshIfExpired();
+            accessToken = FCMUtil.getInstance().getDefaultApplication().getAccessToken().getTokenValue();
+        } catch (IOException e) {
+            throw new PushNotificationExecutionFailedException("Error occurred while refreshing FCM access token", e);
+        }
+
+        Map<String, String> fcmTokens;
+        try {
+            fcmTokens = resolveFCMTokens(contexts);
+        } catch (DeviceManagementException e) {
+            throw new PushNotificationExecutionFailedException("Error occurred while retrieving device information " +
+                    "of " + contexts.size() + " devices", e);
+        }
+        Map<String, List<NotificationContext>> tokenContexts = new HashMap<>();
+        for (NotificationContext ctx : contexts) {
+            String fcmToken = fcmTokens.get(getDeviceKey(ctx.getDeviceId()));
+            if (fcmToken != null) {
+                tokenContexts.computeIfAbsent(fcmToken, k -> new ArrayList<>()).add(ctx);
+            }
+        }
+
+        // a call is removed from the pending calls by whichever of its callback or the timeout handles it first
+        Map<String, Call> pendingCalls = new ConcurrentHashMap<>();
+        CountDownLatch latch = new CountDownLatch(tokenContexts.size());
+        for (Map.Entry<String, List<NotificationContext>> tokenEntry : tokenContexts.entrySet()) {
+            Request request = getWakeUpRequest(fcmServerEndpoint, accessToken, tokenEntry.getKey());
+            Call call = FCMUtil.getInstance().getHttpClient().newCall(request);
+            pendingCalls.put(tokenEntry.getKey(), call);
+            call.enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    if (pendingCalls.remove(tokenEntry.getKey()) != null) {
+                        log.error("Error occurred while sending FCM message to the FCM server", e);
+                        failedContexts.addAll(tokenEntry.getValue());
+                    }
+                    latch.countDown();
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) {
+                    try (response) {
+                        if (pendingCalls.remove(tokenEntry.getKey()) != null && !response.isSuccessful()) {
+                            log.error("Response Status: " + response.code() + ", Response Message: "
+                                    + response.message());
+                            failedContexts.addAll(tokenEntry.getValue());
+                        }
+                    } finally {
+                        latch.countDown();
+                    }
+                }
+            });
+        }
+        try {
+            if (!latch.await(BATCH_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                int timedOutCalls = 0;
+                for (Map.Entry<String, Call> pendingCall : pendingCalls.entrySet()) {
+                    if (pendingCalls.remove(pendingCall.getKey()) != null) {
+                        pendingCall.getValue().cancel();
+                        failedContexts.addAll(tokenContexts.get(pendingCall.getKey()));
+                        timedOutCalls++;
+                    }
+                }
+                log.error("Timed out while waiting for FCM responses of " + timedOutCalls + " devices");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PushNotificationExecutionFailedException("Interrupted while sending FCM messages", e);
+        }
+        return new ArrayList<>(failedContexts);
+    }
+
+    @Override
+    public boolean isBatchSupported() {
+        return true;
+    }
 
     /**
      * Send FCM message to the FCM server to initiate the push notification
@@ -92,6 +198,26 @@ public class FCMNotificationStrategy implements NotificationStrategy {
      */
     private void sendWakeUpCall(String accessToken, String registrationId) throws IOException,
             PushNotificationExecutionFailedException {
+        Request request = getWakeUpRequest(getFCMServerEndpoint(), accessToken, registrationId);
+        try (Response response = FCMUtil.getInstance().getHttpClient().newCall(request).execute()) {
+            if (log.isDebugEnabled()) {
+                log.debug("FCM message sent to the FCM server. Response code: " + response.code()
+                        + " Response message : " + response.message());
+            }
+            if(!response.isSuccessful()) {
+                String msg = "Response Status: " + response.code() + ", Response Message: " + response.message();
+                log.error(msg);
+                throw new IOException(msg);
+            }
+        }
+    }
+
+    /**
+     * Get the FCM server endpoint configured in the context metadata
+     * @return FCM server endpoint
+     * @throws PushNotificationExecutionFailedException If the endpoint is not configured
+     */
+    private static String getFCMServerEndpoint() throws PushNotificationExecutionFailedException {
         String fcmServerEndpoint = FCMUtil.getInstance().getContextMetadataProperties()
                 .getProperty(FCM_ENDPOINT_KEY);
         if(fcmServerEndpoint == null) {
@@ -99,24 +225,72 @@ public class FCMNotificationStrategy implements NotificationStrategy {
             log.error(msg);
             throw new PushNotificationExecutionFailedException(msg);
         }
+        return fcmServerEndpoint;
+    }
 
-        RequestBody fcmRequest = getFCMRequest(registrationId);
-        Request request = new Request.Builder()
+    /**
+     * Build the wakeup request for a device
+     * @param fcmServerEndpoint FCM server endpoint
+     * @param accessToken Access token to authenticate with the FCM server
+     * @param registrationId Registration ID of the device
+     * @return Wakeup request
+     */
+    private static Request getWakeUpRequest(String fcmServerEndpoint, String accessToken, String registrationId) {
+        return new Request.Builder()
                 .url(fcmServerEndpoint)
-                .post(fcmRequest)
+                .post(getFCMRequest(registrationId))
                 .addHeader("Authorization", "Bearer " + accessToken)
                 .build();
-        try (Response response = FCMUtil.getInstance().getHttpClient().newCall(request).execute()) {
-            if (log.isDebugEnabled()) {
-                log.debug("FCM message sent to the FCM server. Response code: " + response.code()
-                        + " Response message : " + response.message());
-            }
-            if(!response.isSuccessful()) {
-                String msg = "Response Status: " + response.code() + ", Response Message: " + response.message();
-                log.error(msg);
-                throw new IOException(msg);
+    }
+
+    /**
+     * Resolve the FCM token of an enrolled device
+     * @param deviceIdentifier Identifier of the device
+     * @return FCM token of the device or null if the device is removed or does not have a token
+     * @throws DeviceManagementException If an error occurs while retrieving the device
+     */
+    private static String resolveFCMToken(DeviceIdentifier deviceIdentifier) throws DeviceManagementException {
+        Device device = FCMDataHolder.getInstance().getDeviceManagementProviderService()
+                .getDeviceWithTypeProperties(deviceIdentifier);
+        if (device != null && device.getEnrolmentInfo() != null
+                && device.getEnrolmentInfo().getStatus() != EnrolmentInfo.Status.REMOVED
+                && device.getProperties() != null) {
+            return getFCMToken(device.getProperties());
+        }
+        return null;
+    }
+
+    /**
+     * Resolve the FCM tokens of the enrolled devices of a batch through a single lookup of the devices
+     * @param contexts Notification contexts of the devices
+     * @return FCM tokens keyed by {@link #getDeviceKey(DeviceIdentifier)}, excluding the devices which are removed
+     * or do not have a token
+     * @throws DeviceManagementException If an error occurs while retrieving the devices
+     */
+    private static Map<String, String> resolveFCMTokens(List<NotificationContext> contexts)
+            throws DeviceManagementException {
+        List<DeviceIdentifier> deviceIdentifiers = new ArrayList<>();
+        for (NotificationContext ctx : contexts) {
+            deviceIdentifiers.add(ctx.getDeviceId());
+        }
+        Map<String, String> fcmTokens = new HashMap<>();
+        for (Device device : FCMDataHolder.getInstance().getDeviceManagementProviderService()
+                .getDevicesWithTypeProperties(deviceIdentifiers)) {
+            if (device.getEnrolmentInfo() != null
+                    && device.getEnrolmentInfo().getStatus() != EnrolmentInfo.Status.REMOVED
+                    && device.getProperties() != null) {
+                String fcmToken = getFCMToken(device.getProperties());
+                if (fcmToken != null) {
+                    fcmTokens.put(getDeviceKey(new DeviceIdentifier(device.getDeviceIdentifier(),
+                            device.getType())), fcmToken);
+                }
             }
         }
+        return fcmTokens;
+    }
+
+    private static String getDeviceKey(DeviceIdentifier deviceIdentifier) {
+        return deviceIdentifier.getType() + ":" + deviceIdentifier.getId();
     }
 
     /**
@@ -23,7 +23,9 @@ import io.entgra.device.mgt.core.device.mgt.core.config.push.notification.Contex
 import io.entgra.device.mgt.core.device.mgt.core.config.push.notification.PushNotificationConfiguration;
 import io.entgra.device.mgt.core.device.mgt.extensions.push.notification.provider.fcm.FCMNotificationStrategy;
 import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.utils.CarbonUtils;
@@ -33,6 +35,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.TimeUnit;
@@ -48,6 +51,7 @@ public class FCMUtil {
     private Properties contextMetadataProperties;
     private static ConnectionPool connectionPool;
     private static OkHttpClient client;
+    private static final int MAX_CONCURRENT_REQUESTS = 200;
 
     private FCMUtil() {
         initContextConfigs();
@@ -56,11 +60,20 @@ public class FCMUtil {
     }
 
     /**
-     * Initialize the connection pool for the OkHttpClient instance.
+     * Initialize the connection pool for the OkHttpClient instance. The FCM server negotiates HTTP/2, hence
+     * concurrent requests of a batch are multiplexed over the pooled connections instead of opening a connection
+     * per request.
      */
     private void initPooledConnection() {
         connectionPool = new ConnectionPool(25, 1, TimeUnit.MINUTES);
-        client = new OkHttpClient.Builder().connectionPool(connectionPool).build();
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(MAX_CONCURRENT_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(MAX_CONCURRENT_REQUESTS);
+        client = new OkHttpClient.Builder()
+                .connectionPool(connectionPool)
+                .dispatcher(dispatcher)
+                .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .build();
     }
 
     /**
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.common;
+
+import java.util.List;
+
+/**
+ * Keyset cursor used to walk the devices of a device type page by page. Pages are ordered by device id and
+ * enrolment id, and each page starts right after the last row of the previous one, so the cost of fetching a page
+ * does not grow with the position of the page.
+ */
+public class DeviceCursor {
+
+    public static final int DEFAULT_PAGE_SIZE = 500;
+    public static final int MAX_PAGE_SIZE = 5000;
+
+    private final String deviceType;
+    private final int pageSize;
+    private int lastDeviceId;
+    private int lastEnrolmentId;
+    private TaskPartition partition;
+    private boolean exhausted;
+
+    public DeviceCursor(String deviceType) {
+        this(deviceType, DEFAULT_PAGE_SIZE);
+    }
+
+    public DeviceCursor(String deviceType, int pageSize) {
+        this.deviceType = deviceType;
+        if (pageSize <= 0) {
+            this.pageSize = DEFAULT_PAGE_SIZE;
+        } else {
+            this.pageSize = Math.min(pageSize, MAX_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Restricts the cursor to the devices allocated to a node when dynamic task partitioning is enabled.
+     *
+     * @param partition bucket ranges allocated to the current server.
+     */
+    public void setPartition(TaskPartition partition) {
+        this.partition = partition;
+    }
+
+    public boolean isPartitioned() {
+        return partition != null;
+    }
+
+    /**
+     * Moves the cursor past the given page. A page smaller than the page size marks the cursor as exhausted.
+     *
+     * @param page devices returned for the current position of the cursor.
+     */
+    public void advance(List<Device> page) {
+        if (page == null || page.isEmpty()) {
+            exhausted = true;
+            return;
+        }
+        Device last = page.get(page.size() - 1);
+        lastDeviceId = last.getId();
+        lastEnrolmentId = last.getEnrolmentInfo().getId();
+        if (page.size() < pageSize) {
+            exhausted = true;
+        }
+    }
+
+    public boolean hasNext() {
+        return !exhausted;
+    }
+
+    public String getDeviceType() {
+        return deviceType;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public int getLastDeviceId() {
+        return lastDeviceId;
+    }
+
+    public int getLastEnrolmentId() {
+        return lastEnrolmentId;
+    }
+
+    public TaskPartition getPartition() {
+        return partition;
+    }
+
+}
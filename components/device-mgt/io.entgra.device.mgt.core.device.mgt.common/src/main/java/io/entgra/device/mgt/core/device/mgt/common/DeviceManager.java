@@ -22,6 +22,7 @@ import io.entgra.device.mgt.core.device.mgt.common.exceptions.DeviceManagementEx
 import io.entgra.device.mgt.core.device.mgt.common.license.mgt.License;
 import io.entgra.device.mgt.core.device.mgt.common.license.mgt.LicenseManagementException;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -136,6 +137,25 @@ public interface DeviceManager {
      */
     Device getDevice(DeviceIdentifier deviceId) throws DeviceManagementException;
 
+    /**
+     * Method to retrieve metadata of a set of devices corresponding to a particular type. Device types which keep
+     * their metadata in a data store are expected to fetch the metadata of all the devices at once.
+     *
+     * @param deviceIds Fully qualified device identifiers of the same device type
+     * @return Metadata of the devices which have metadata
+     * @throws DeviceManagementException If some unusual behaviour is observed obtaining the device objects
+     */
+    default List<Device> getDevices(List<DeviceIdentifier> deviceIds) throws DeviceManagementException {
+        List<Device> devices = new ArrayList<>();
+        for (DeviceIdentifier deviceId : deviceIds) {
+            Device device = getDevice(deviceId);
+            if (device != null) {
+                devices.add(device);
+            }
+        }
+        return devices;
+    }
+
     /**
      * Method to update device properties.
      *
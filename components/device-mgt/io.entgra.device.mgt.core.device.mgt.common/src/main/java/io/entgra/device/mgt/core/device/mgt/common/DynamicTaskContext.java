@@ -22,6 +22,8 @@ public class DynamicTaskContext {
 
     private int serverHashIndex;
     private int activeServerCount;
+    private TaskPartition taskPartition;
+    private long version;
     private boolean partitioningEnabled = false;
 
     public int getServerHashIndex() {
@@ -40,6 +42,25 @@ public class DynamicTaskContext {
         this.activeServerCount = activeServerCount;
     }
 
+    /**
+     * @return bucket ranges of the devices allocated to the current server, or null when not yet known.
+     */
+    public TaskPartition getTaskPartition() {
+        return taskPartition;
+    }
+
+    public void setTaskPartition(TaskPartition taskPartition) {
+        this.taskPartition = taskPartition;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public boolean isPartitioningEnabled() {
         return partitioningEnabled;
     }
@@ -21,12 +21,19 @@ package io.entgra.device.mgt.core.device.mgt.common;
 public class ServerCtxInfo {
     private int activeServerCount;
     private int localServerHashIdx;
+    private TaskPartition taskPartition;
+    private long version;
 
     public ServerCtxInfo(int activeServerCount, int localServerHashIdx){
         this.activeServerCount = activeServerCount;
         this.localServerHashIdx = localServerHashIdx;
     }
 
+    public ServerCtxInfo(int activeServerCount, int localServerHashIdx, TaskPartition taskPartition) {
+        this(activeServerCount, localServerHashIdx);
+        this.taskPartition = taskPartition;
+    }
+
     public int getActiveServerCount() {
         return activeServerCount;
     }
@@ -42,4 +49,31 @@ public class ServerCtxInfo {
     public void setLocalServerHashIdx(int localServerHashIdx) {
         this.localServerHashIdx = localServerHashIdx;
     }
+
+    /**
+     * @return devices allocated to the local server, falling back to the modulo of the hash index when the
+     * partition was not resolved by the heart beat service.
+     */
+    public TaskPartition getTaskPartition() {
+        if (taskPartition == null && activeServerCount > 0) {
+            return TaskPartition.ofModulo(activeServerCount, localServerHashIdx);
+        }
+        return taskPartition;
+    }
+
+    public void setTaskPartition(TaskPartition taskPartition) {
+        this.taskPartition = taskPartition;
+    }
+
+    /**
+     * @return version of the active server view this information was taken from, which only changes when servers
+     * join or leave the cluster, or 0 if the information is not versioned.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
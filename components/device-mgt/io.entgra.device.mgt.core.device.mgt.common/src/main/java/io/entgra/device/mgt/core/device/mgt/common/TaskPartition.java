@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.common;
+
+import java.util.Arrays;
+
+/**
+ * Share of the devices allocated to a node when dynamic task partitioning is enabled. Every device falls in to the
+ * bucket {@code MOD(ID, bucketCount)}, and a node owns a set of inclusive bucket ranges. Partitions computed from a
+ * consistent hash ring keep most of the buckets with their owners when nodes join or leave the cluster.
+ */
+public class TaskPartition {
+
+    private final int bucketCount;
+    private final int[] rangeStarts;
+    private final int[] rangeEnds;
+
+    /**
+     * @param bucketCount number of buckets the devices are spread across.
+     * @param rangeStarts first bucket of each owned range, in ascending order.
+     * @param rangeEnds last bucket of each owned range, in ascending order.
+     */
+    public TaskPartition(int bucketCount, int[] rangeStarts, int[] rangeEnds) {
+        if (bucketCount <= 0) {
+            throw new IllegalArgumentException("Bucket count must be positive, but was " + bucketCount);
+        }
+        if (rangeStarts.length != rangeEnds.length) {
+            throw new IllegalArgumentException("Range starts and range ends must be of the same length");
+        }
+        for (int i = 0; i < rangeStarts.length; i++) {
+            if (rangeStarts[i] < 0 || rangeStarts[i] > rangeEnds[i] || rangeEnds[i] >= bucketCount
+                    || (i > 0 && rangeStarts[i] <= rangeEnds[i - 1])) {
+                throw new IllegalArgumentException("Invalid bucket range [" + rangeStarts[i] + ", "
+                        + rangeEnds[i] + "] for " + bucketCount + " buckets");
+            }
+        }
+        this.bucketCount = bucketCount;
+        this.rangeStarts = rangeStarts.clone();
+        this.rangeEnds = rangeEnds.clone();
+    }
+
+    /**
+     * Creates the partition used before consistent hashing, where a node owns the devices for which
+     * {@code MOD(ID, activeServerCount)} equals its hash index.
+     *
+     * @param activeServerCount number of active servers in the cluster.
+     * @param serverIndex hash index of the server.
+     * @return partition holding the single bucket of the server.
+     */
+    public static TaskPartition ofModulo(int activeServerCount, int serverIndex) {
+        return new TaskPartition(activeServerCount, new int[]{serverIndex}, new int[]{serverIndex});
+    }
+
+    public int getBucketCount() {
+        return bucketCount;
+    }
+
+    public int getRangeCount() {
+        return rangeStarts.length;
+    }
+
+    public int getRangeStart(int range) {
+        return rangeStarts[range];
+    }
+
+    public int getRangeEnd(int range) {
+        return rangeEnds[range];
+    }
+
+    public boolean isEmpty() {
+        return rangeStarts.length == 0;
+    }
+
+    public int getOwnedBucketCount() {
+        int count = 0;
+        for (int i = 0; i < rangeStarts.length; i++) {
+            count += rangeEnds[i] - rangeStarts[i] + 1;
+        }
+        return count;
+    }
+
+    public boolean ownsBucket(int bucket) {
+        int low = 0;
+        int high = rangeStarts.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (bucket < rangeStarts[mid]) {
+                high = mid - 1;
+            } else if (bucket > rangeEnds[mid]) {
+                low = mid + 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param id device id.
+     * @return true if the device falls in to one of the buckets of this partition.
+     */
+    public boolean owns(long id) {
+        return ownsBucket((int) Math.floorMod(id, (long) bucketCount));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TaskPartition)) {
+            return false;
+        }
+        TaskPartition that = (TaskPartition) o;
+        return bucketCount == that.bucketCount && Arrays.equals(rangeStarts, that.rangeStarts)
+                && Arrays.equals(rangeEnds, that.rangeEnds);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = bucketCount;
+        result = 31 * result + Arrays.hashCode(rangeStarts);
+        result = 31 * result + Arrays.hashCode(rangeEnds);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("TaskPartition{bucketCount=").append(bucketCount)
+                .append(", ranges=[");
+        for (int i = 0; i < rangeStarts.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(rangeStarts[i]).append('-').append(rangeEnds[i]);
+        }
+        return builder.append("]}").toString();
+    }
+}
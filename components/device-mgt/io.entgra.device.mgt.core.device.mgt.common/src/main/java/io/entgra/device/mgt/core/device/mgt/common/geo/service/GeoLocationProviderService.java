@@ -113,6 +113,16 @@ public interface GeoLocationProviderService {
      */
     List<GeofenceData> getGeoFences() throws GeoLocationBasedServiceException;
 
+    /**
+     * Get the geo fences of the tenant which contain the given point
+     * @param latitude latitude of the point
+     * @param longitude longitude of the point
+     * @return {@link GeofenceData} list of the geo fences containing the point
+     * @throws GeoLocationBasedServiceException for errors occur while querying geo fences
+     */
+    List<GeofenceData> getGeoFencesContaining(double latitude, double longitude)
+            throws GeoLocationBasedServiceException;
+
     /**
      * Delete Geofence with ID
      * @param fenceId Id of the fence which should be deleted
@@ -17,12 +17,45 @@
  */
 package io.entgra.device.mgt.core.device.mgt.common.push.notification;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public interface NotificationStrategy {
 
     void init();
 
     void execute(NotificationContext ctx) throws PushNotificationExecutionFailedException;
 
+    /**
+     * Send push notifications to a batch of devices. Strategies which are able to notify several devices more
+     * efficiently than one by one should override this together with {@link #isBatchSupported()}. The default
+     * implementation falls back to {@link #execute(NotificationContext)} for each context.
+     * @param contexts Notification contexts of the devices to be notified
+     * @return Notification contexts which could not be notified
+     * @throws PushNotificationExecutionFailedException if none of the devices could be notified due to an error
+     * which applies to the whole batch
+     */
+    default List<NotificationContext> executeBatch(List<NotificationContext> contexts)
+            throws PushNotificationExecutionFailedException {
+        List<NotificationContext> failedContexts = new ArrayList<>();
+        for (NotificationContext ctx : contexts) {
+            try {
+                execute(ctx);
+            } catch (PushNotificationExecutionFailedException e) {
+                failedContexts.add(ctx);
+            }
+        }
+        return failedContexts;
+    }
+
+    /**
+     * Check whether this strategy provides its own implementation of {@link #executeBatch(List)}.
+     * @return true if batch sending is supported natively, otherwise false
+     */
+    default boolean isBatchSupported() {
+        return false;
+    }
+
     NotificationContext buildContext();
 
     /**
@@ -161,6 +161,91 @@ public final class DeviceManagementConstants {
         public static final int DEFAULT_SCHEDULER_TASK_INITIAL_DELAY = 60000;
         public static final int DEFAULT_BATCH_DELAY_MILLS = 60000;
         public static final int DEFAULT_BATCH_SIZE = 1000;
+        public static final int DEFAULT_PROVIDER_PARALLELISM = 5;
+        public static final int DEFAULT_UPDATE_BATCH_SIZE = 200;
+        public static final int DEFAULT_DISPATCH_TIMEOUT_MILLS = 30000;
+        public static final int DEFAULT_EXECUTOR_POOL_SIZE = 10;
+        public static final int DEFAULT_EXECUTOR_QUEUE_CAPACITY = 10000;
+        public static final int DEFAULT_RETRY_DELAY_MILLS = 2000;
+        public static final int DEFAULT_RETRY_QUEUE_CAPACITY = 10000;
+        public static final int MAX_RETRY_ATTEMPTS = 3;
+        public static final String EXECUTOR_MBEAN_NAME =
+                "io.entgra.device.mgt.core:type=PushNotificationExecutor";
+    }
+
+    public static final class DeviceCache {
+        private DeviceCache() {
+            throw new AssertionError();
+        }
+        public static final int DEFAULT_NEAR_CACHE_CAPACITY = 2000;
+        public static final int DEFAULT_NEAR_CACHE_EXPIRY_TIME = 60;
+        public static final int DEFAULT_NEGATIVE_CACHE_EXPIRY_TIME = 30;
+    }
+
+    public static final class DeviceInfoWriteBehind {
+        private DeviceInfoWriteBehind() {
+            throw new AssertionError();
+        }
+        public static final int DEFAULT_FLUSH_INTERVAL_MILLS = 5000;
+        public static final int DEFAULT_BATCH_SIZE = 200;
+        public static final int DEFAULT_MAX_PENDING_UPDATES = 20000;
+        public static final int DEFAULT_SNAPSHOT_CAPACITY = 10000;
+        public static final int DEFAULT_SNAPSHOT_EXPIRY_TIME = 900;
+        public static final int MAX_FLUSH_ATTEMPTS = 3;
+        public static final int SHUTDOWN_TIMEOUT_SECONDS = 30;
+    }
+
+    public static final class LocationIngestion {
+        private LocationIngestion() {
+            throw new AssertionError();
+        }
+        public static final int DEFAULT_FLUSH_INTERVAL_MILLS = 2000;
+        public static final int DEFAULT_BATCH_SIZE = 500;
+        public static final int DEFAULT_MAX_PENDING_LOCATIONS = 50000;
+        public static final int DEFAULT_MAX_LOCATIONS_PER_DEVICE = 100;
+        public static final int MAX_FLUSH_ATTEMPTS = 3;
+        public static final int SHUTDOWN_TIMEOUT_SECONDS = 30;
+    }
+
+    public static final class GeoClusterIndex {
+        private GeoClusterIndex() {
+            throw new AssertionError();
+        }
+        public static final int DEFAULT_MAX_GEOHASH_LENGTH = 9;
+        public static final int DEFAULT_REBUILD_INTERVAL = 300;
+    }
+
+    public static final class GeofenceIndex {
+        private GeofenceIndex() {
+            throw new AssertionError();
+        }
+        public static final double DEFAULT_GRID_CELL_SIZE = 0.05;
+        public static final int DEFAULT_REBUILD_INTERVAL = 300;
+        public static final int MAX_CELLS_PER_FENCE = 4096;
+    }
+
+    public static final class ReportingPublisher {
+        private ReportingPublisher() {
+            throw new AssertionError();
+        }
+        public static final int DEFAULT_WORKER_COUNT = 4;
+        public static final int DEFAULT_QUEUE_CAPACITY = 10000;
+        public static final int DEFAULT_MAX_BATCH_SIZE = 1;
+        public static final String DEFAULT_OVERFLOW_POLICY = "DROP_OLDEST";
+        public static final int DEFAULT_MAX_RETRIES = 3;
+        public static final int DEFAULT_RETRY_BACKOFF_MILLS = 500;
+        public static final int MAX_RETRY_BACKOFF_MILLS = 30000;
+        public static final int DEFAULT_MAX_CONNECTIONS = 20;
+        public static final int DEFAULT_CONNECTION_TIMEOUT_MILLS = 5000;
+        public static final int DEFAULT_SOCKET_TIMEOUT_MILLS = 10000;
+        public static final int SHUTDOWN_TIMEOUT_SECONDS = 30;
+    }
+
+    public static final class OperationPayload {
+        private OperationPayload() {
+            throw new AssertionError();
+        }
+        public static final int DEFAULT_MIGRATION_BATCH_SIZE = 500;
     }
 
     public static final class User {
@@ -22,10 +22,8 @@ import io.entgra.device.mgt.core.device.mgt.common.DeviceStatusTaskPluginConfig;
 import io.entgra.device.mgt.core.device.mgt.common.OperationMonitoringTaskConfig;
 import io.entgra.device.mgt.core.device.mgt.common.ProvisioningConfig;
 import io.entgra.device.mgt.core.device.mgt.common.exceptions.DeviceManagementException;
-import io.entgra.device.mgt.core.device.mgt.common.exceptions.InvalidConfigurationException;
 import io.entgra.device.mgt.core.device.mgt.common.operation.mgt.OperationManager;
 import io.entgra.device.mgt.core.device.mgt.common.pull.notification.PullNotificationSubscriber;
-import io.entgra.device.mgt.core.device.mgt.common.push.notification.NotificationStrategy;
 import io.entgra.device.mgt.core.device.mgt.common.spi.DeviceManagementService;
 import io.entgra.device.mgt.core.device.mgt.common.type.mgt.DeviceTypeDefinitionProvider;
 import io.entgra.device.mgt.core.device.mgt.common.type.mgt.DeviceTypeMetaDefinition;
@@ -40,6 +38,7 @@ import io.entgra.device.mgt.core.device.mgt.core.internal.DeviceManagerStartupLi
 import io.entgra.device.mgt.core.device.mgt.core.internal.DeviceMonitoringOperationDataHolder;
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.OperationManagerImpl;
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.OperationManagerRepository;
+import io.entgra.device.mgt.core.device.mgt.core.push.notification.mgt.NotificationStrategyRegistry;
 import io.entgra.device.mgt.core.device.mgt.core.status.task.DeviceStatusTaskException;
 import io.entgra.device.mgt.core.device.mgt.core.status.task.DeviceStatusTaskManagerService;
 import io.entgra.device.mgt.core.device.mgt.core.status.task.impl.DeviceStatusTaskManagerServiceImpl;
@@ -170,14 +169,7 @@ public class DeviceManagementPluginRepository implements DeviceManagerStartupLis
             }
         }
         if (operationManager != null) {
-            try {
-                NotificationStrategy notificationStrategy = operationManager.getNotificationStrategy();
-                if (notificationStrategy != null) {
-                    notificationStrategy.undeploy();
-                }
-            } catch (InvalidConfigurationException ignore) {
-                //error occurred while undeploying strategy, ignore error
-            }
+            NotificationStrategyRegistry.getInstance().remove(deviceTypeIdentifier);
             operationManagerRepository.removeOperationManager(deviceTypeIdentifier);
         }
     }
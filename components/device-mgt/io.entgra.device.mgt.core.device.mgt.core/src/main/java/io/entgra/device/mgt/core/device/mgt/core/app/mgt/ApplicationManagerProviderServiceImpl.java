@@ -291,9 +291,8 @@ public class ApplicationManagerProviderServiceImpl implements ApplicationManagem
                 deviceDetailsWrapper.setTenantId(tenantId);
                 deviceDetailsWrapper.setDevice(device);
                 deviceDetailsWrapper.setApplications(newApplications);
-                ReportingPublisherManager reportingManager = new ReportingPublisherManager();
-                reportingManager.publishData(deviceDetailsWrapper, DeviceManagementConstants
-                        .Report.APP_USAGE_ENDPOINT);
+                ReportingPublisherManager.getInstance().publishData(deviceDetailsWrapper, reportingHost
+                        + DeviceManagementConstants.Report.APP_USAGE_ENDPOINT);
             }
 
         } catch (DeviceManagementDAOException e) {
@@ -55,7 +55,10 @@ public class DeviceCacheKey {
 
     @Override
     public int hashCode() {
-        return toString().hashCode();
+        int result = tenantId;
+        result = 31 * result + (deviceType != null ? deviceType.hashCode() : 0);
+        result = 31 * result + (deviceId != null ? deviceId.hashCode() : 0);
+        return result;
     }
 
     @Override
@@ -65,8 +68,13 @@ public class DeviceCacheKey {
 
     @Override
     public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
         if (obj instanceof DeviceCacheKey) {
-            return (this.hashCode() == obj.hashCode());
+            DeviceCacheKey other = (DeviceCacheKey) obj;
+            return tenantId == other.tenantId && Objects.equals(deviceType, other.deviceType)
+                    && Objects.equals(deviceId, other.deviceId);
         }
         return false;
     }
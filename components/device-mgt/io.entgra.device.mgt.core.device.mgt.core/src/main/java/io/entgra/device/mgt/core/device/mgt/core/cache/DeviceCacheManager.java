@@ -38,6 +38,42 @@ public interface DeviceCacheManager {
      */
     void addDeviceToCache(DeviceIdentifier deviceIdentifier, Device device, int tenantId);
 
+    /**
+     * Adds a device object read from the database to the device-cache, unless the device was updated or removed
+     * from the cache after the read started.
+     * @param deviceIdentifier - DeviceIdentifier of the device to be added.
+     * @param device - Device object to be added.
+     * @param tenantId - Owning tenant of the device.
+     * @param cacheVersion - Cache version captured through {@link #getCacheVersion()} before reading the device.
+     *
+     */
+    void addDeviceToCache(DeviceIdentifier deviceIdentifier, Device device, int tenantId, long cacheVersion);
+
+    /**
+     * Records that no device exists for the given identifier so that repeated lookups do not reach the database.
+     * @param deviceIdentifier - DeviceIdentifier which could not be resolved.
+     * @param tenantId - Tenant the lookup was made for.
+     * @param cacheVersion - Cache version captured through {@link #getCacheVersion()} before the lookup.
+     *
+     */
+    void addUnknownDeviceToCache(DeviceIdentifier deviceIdentifier, int tenantId, long cacheVersion);
+
+    /**
+     * Checks whether the given identifier is cached as a non existing device.
+     * @param deviceIdentifier - DeviceIdentifier of the device.
+     * @param tenantId - Owning tenant of the device.
+     * @return true if the device is known not to exist.
+     *
+     */
+    boolean isUnknownDevice(DeviceIdentifier deviceIdentifier, int tenantId);
+
+    /**
+     * Returns the current version of the device-cache, to be captured before reading a device from the database.
+     * @return cache version
+     *
+     */
+    long getCacheVersion();
+
     /**
      * Removes a device object from device-cache.
      * @param deviceIdentifier - DeviceIdentifier of the device to be removed.
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.cache.impl;
+
+import io.entgra.device.mgt.core.device.mgt.common.Device;
+import io.entgra.device.mgt.core.device.mgt.core.cache.DeviceCacheKey;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import javax.cache.event.CacheEntryCreatedListener;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryListenerException;
+import javax.cache.event.CacheEntryRemovedListener;
+import javax.cache.event.CacheEntryUpdatedListener;
+
+/**
+ * Listens to the changes of the distributed device cache and invalidates the matching {@link DeviceNearCache}
+ * entries. Changes made on other nodes of the cluster reach the local device cache as cluster invalidations, hence
+ * the near cache and its negative entries are dropped whenever the device is enrolled, updated or removed elsewhere.
+ * Changes made through {@link DeviceCacheManagerImpl} on this node are already applied to the near cache and are
+ * ignored.
+ */
+public class DeviceCacheInvalidationListener implements CacheEntryCreatedListener<DeviceCacheKey, Device>,
+        CacheEntryUpdatedListener<DeviceCacheKey, Device>, CacheEntryRemovedListener<DeviceCacheKey, Device> {
+
+    private static final Log log = LogFactory.getLog(DeviceCacheInvalidationListener.class);
+
+    private static final ThreadLocal<Boolean> localWrite = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    /**
+     * Marks the changes made by the current thread as local, until {@link #endLocalWrite()} is invoked.
+     */
+    static void beginLocalWrite() {
+        localWrite.set(Boolean.TRUE);
+    }
+
+    static void endLocalWrite() {
+        localWrite.remove();
+    }
+
+    @Override
+    public void entryCreated(CacheEntryEvent<? extends DeviceCacheKey, ? extends Device> event)
+            throws CacheEntryListenerException {
+        invalidate(event);
+    }
+
+    @Override
+    public void entryUpdated(CacheEntryEvent<? extends DeviceCacheKey, ? extends Device> event)
+            throws CacheEntryListenerException {
+        invalidate(event);
+    }
+
+    @Override
+    public void entryRemoved(CacheEntryEvent<? extends DeviceCacheKey, ? extends Device> event)
+            throws CacheEntryListenerException {
+        invalidate(event);
+    }
+
+    private void invalidate(CacheEntryEvent<? extends DeviceCacheKey, ? extends Device> event) {
+        DeviceCacheKey cacheKey = event.getKey();
+        if (cacheKey == null || localWrite.get()) {
+            return;
+        }
+        DeviceNearCache.getInstance().invalidate(cacheKey);
+        if (log.isDebugEnabled()) {
+            log.debug("Invalidated near cache entry of device '" + cacheKey + "' upon a change of the device cache");
+        }
+    }
+}
@@ -27,10 +27,15 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import javax.cache.Cache;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 /**
- * Implementation of DeviceCacheManager.
+ * Implementation of DeviceCacheManager. Lookups are served from a node local {@link DeviceNearCache} first and
+ * fall back to the device JCache. A {@link DeviceCacheInvalidationListener} registered on each tenant's device JCache
+ * keeps the near cache consistent with the changes made on the other nodes.
  */
 public class DeviceCacheManagerImpl implements DeviceCacheManager {
 
@@ -38,6 +43,10 @@ public class DeviceCacheManagerImpl implements DeviceCacheManager {
 
     private static DeviceCacheManagerImpl deviceCacheManager;
 
+    private final DeviceCacheInvalidationListener invalidationListener = new DeviceCacheInvalidationListener();
+    private final Set<Cache<DeviceCacheKey, Device>> listenedCaches =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
     private DeviceCacheManagerImpl() {
     }
 
@@ -54,60 +63,165 @@ public class DeviceCacheManagerImpl implements DeviceCacheManager {
 
     @Override
     public void addDeviceToCache(DeviceIdentifier deviceIdentifier, Device device, int tenantId) {
-        Cache<DeviceCacheKey, Device> lCache = DeviceManagerUtil.getDeviceCache();
+        Cache<DeviceCacheKey, Device> lCache = getDeviceCache();
         if (lCache != null) {
             DeviceCacheKey cacheKey = getCacheKey(deviceIdentifier, tenantId);
-            if (lCache.containsKey(cacheKey)) {
-                this.updateDeviceInCache(deviceIdentifier, device, tenantId);
-            } else {
+            DeviceNearCache.getInstance().put(cacheKey, device);
+            DeviceCacheInvalidationListener.beginLocalWrite();
+            try {
                 lCache.put(cacheKey, device);
+            } finally {
+                DeviceCacheInvalidationListener.endLocalWrite();
+            }
+        }
+    }
+
+    @Override
+    public void addDeviceToCache(DeviceIdentifier deviceIdentifier, Device device, int tenantId, long cacheVersion) {
+        Cache<DeviceCacheKey, Device> lCache = getDeviceCache();
+        if (lCache != null) {
+            DeviceCacheKey cacheKey = getCacheKey(deviceIdentifier, tenantId);
+            if (DeviceNearCache.getInstance().putIfNewer(cacheKey, device, cacheVersion)) {
+                DeviceCacheInvalidationListener.beginLocalWrite();
+                try {
+                    lCache.put(cacheKey, device);
+                } finally {
+                    DeviceCacheInvalidationListener.endLocalWrite();
+                }
+            } else if (log.isDebugEnabled()) {
+                log.debug("Skipped caching stale state of device '" + cacheKey + "'");
             }
         }
     }
 
+    @Override
+    public void addUnknownDeviceToCache(DeviceIdentifier deviceIdentifier, int tenantId, long cacheVersion) {
+        if (getDeviceCache() != null) {
+            DeviceNearCache.getInstance().putAbsent(getCacheKey(deviceIdentifier, tenantId), cacheVersion);
+        }
+    }
+
+    @Override
+    public boolean isUnknownDevice(DeviceIdentifier deviceIdentifier, int tenantId) {
+        return getDeviceCache() != null &&
+                DeviceNearCache.getInstance().isAbsent(getCacheKey(deviceIdentifier, tenantId));
+    }
+
+    @Override
+    public long getCacheVersion() {
+        return DeviceNearCache.getInstance().currentVersion();
+    }
+
     @Override
     public void removeDeviceFromCache(DeviceIdentifier deviceIdentifier, int tenantId) {
-        Cache<DeviceCacheKey, Device> lCache = DeviceManagerUtil.getDeviceCache();
+        Cache<DeviceCacheKey, Device> lCache = getDeviceCache();
         if (lCache != null) {
             DeviceCacheKey cacheKey = getCacheKey(deviceIdentifier, tenantId);
-            if (lCache.containsKey(cacheKey)) {
+            DeviceNearCache.getInstance().invalidate(cacheKey);
+            DeviceCacheInvalidationListener.beginLocalWrite();
+            try {
                 lCache.remove(cacheKey);
+            } finally {
+                DeviceCacheInvalidationListener.endLocalWrite();
             }
         }
     }
 
     @Override
     public void removeDevicesFromCache(List<DeviceCacheKey> deviceList) {
-        Cache<DeviceCacheKey, Device> lCache = DeviceManagerUtil.getDeviceCache();
+        Cache<DeviceCacheKey, Device> lCache = getDeviceCache();
         if (lCache != null) {
-            for (DeviceCacheKey cacheKey : deviceList) {
-                if (lCache.containsKey(cacheKey)) {
+            DeviceNearCache nearCache = DeviceNearCache.getInstance();
+            DeviceCacheInvalidationListener.beginLocalWrite();
+            try {
+                for (DeviceCacheKey cacheKey : deviceList) {
+                    nearCache.invalidate(cacheKey);
                     lCache.remove(cacheKey);
                 }
+            } finally {
+                DeviceCacheInvalidationListener.endLocalWrite();
             }
         }
     }
 
     @Override
     public void updateDeviceInCache(DeviceIdentifier deviceIdentifier, Device device, int tenantId) {
-        Cache<DeviceCacheKey, Device> lCache = DeviceManagerUtil.getDeviceCache();
+        Cache<DeviceCacheKey, Device> lCache = getDeviceCache();
         if (lCache != null) {
             DeviceCacheKey cacheKey = getCacheKey(deviceIdentifier, tenantId);
-            if (lCache.containsKey(cacheKey)) {
+            DeviceNearCache.getInstance().replace(cacheKey, device);
+            DeviceCacheInvalidationListener.beginLocalWrite();
+            try {
                 lCache.replace(cacheKey, device);
+            } finally {
+                DeviceCacheInvalidationListener.endLocalWrite();
             }
         }
     }
 
     @Override
     public Device getDeviceFromCache(DeviceIdentifier deviceIdentifier, int tenantId) {
-        Cache<DeviceCacheKey, Device> lCache = DeviceManagerUtil.getDeviceCache();
+        Cache<DeviceCacheKey, Device> lCache = getDeviceCache();
         if (lCache != null) {
-            return lCache.get(getCacheKey(deviceIdentifier, tenantId));
+            DeviceCacheKey cacheKey = getCacheKey(deviceIdentifier, tenantId);
+            DeviceNearCache nearCache = DeviceNearCache.getInstance();
+            DeviceNearCache.Entry entry = nearCache.get(cacheKey);
+            if (entry != null) {
+                return entry.getDevice();
+            }
+            long cacheVersion = nearCache.currentVersion();
+            Device device = lCache.get(cacheKey);
+            if (device != null) {
+                nearCache.putIfNewer(cacheKey, device, cacheVersion);
+            }
+            return device;
         }
         return null;
     }
 
+    /**
+     * @return number of device lookups served by the near cache, including the ones for non existing devices.
+     */
+    public long getNearCacheHitCount() {
+        DeviceNearCache nearCache = DeviceNearCache.getInstance();
+        return nearCache.getHitCount() + nearCache.getNegativeHitCount();
+    }
+
+    /**
+     * @return number of lookups of non existing devices served by the near cache.
+     */
+    public long getNegativeCacheHitCount() {
+        return DeviceNearCache.getInstance().getNegativeHitCount();
+    }
+
+    /**
+     * @return number of device lookups which had to fall back to the distributed device cache.
+     */
+    public long getNearCacheMissCount() {
+        return DeviceNearCache.getInstance().getMissCount();
+    }
+
+    /**
+     * @return number of entries evicted from the near cache due to expiry or capacity.
+     */
+    public long getNearCacheEvictionCount() {
+        return DeviceNearCache.getInstance().getEvictionCount();
+    }
+
+    /**
+     * @return the device JCache of the current tenant, with the near cache invalidation listener registered on it.
+     */
+    private Cache<DeviceCacheKey, Device> getDeviceCache() {
+        Cache<DeviceCacheKey, Device> lCache = DeviceManagerUtil.getDeviceCache();
+        if (lCache != null && !listenedCaches.contains(lCache)) {
+            synchronized (listenedCaches) {
+                if (listenedCaches.add(lCache)) {
+                    lCache.registerCacheEntryListener(invalidationListener);
+                }
+            }
+        }
+        return lCache;
+    }
 
     private DeviceCacheKey getCacheKey(DeviceIdentifier deviceIdentifier, int tenantId) {
         DeviceCacheKey deviceCacheKey = new DeviceCacheKey();
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.cache.impl;
+
+import io.entgra.device.mgt.core.device.mgt.common.Device;
+import io.entgra.device.mgt.core.device.mgt.core.DeviceManagementConstants;
+import io.entgra.device.mgt.core.device.mgt.core.cache.DeviceCacheKey;
+import io.entgra.device.mgt.core.device.mgt.core.config.DeviceConfigurationManager;
+import io.entgra.device.mgt.core.device.mgt.core.config.DeviceManagementConfig;
+import io.entgra.device.mgt.core.device.mgt.core.config.cache.DeviceCacheConfiguration;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Node local, bounded near cache kept in front of the device JCache. Entries are partitioned per tenant so that a
+ * single large tenant can only evict its own devices. Besides resolved devices, the cache remembers identifiers which
+ * are known not to exist (negative entries) and recent invalidations, so that a device read from the database before
+ * a concurrent update cannot overwrite the newer state. All updates are single compute style map operations.
+ * <p>
+ * The version clock only orders the reads and writes made on this node. Changes made on other nodes reach this node
+ * as invalidations of the device JCache, which {@link DeviceCacheInvalidationListener} applies to the near cache.
+ */
+final class DeviceNearCache {
+
+    private static volatile DeviceNearCache nearCache;
+
+    private final ConcurrentMap<Integer, TenantRegion> regions = new ConcurrentHashMap<>();
+    private final AtomicLong versionClock = new AtomicLong();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong negativeHitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final int capacity;
+    private final long expiryTimeMillis;
+    private final long negativeExpiryTimeMillis;
+
+    private DeviceNearCache(int capacity, int expiryTime, int negativeExpiryTime) {
+        this.capacity = capacity > 0 ? capacity : DeviceManagementConstants.DeviceCache.DEFAULT_NEAR_CACHE_CAPACITY;
+        this.expiryTimeMillis = TimeUnit.SECONDS.toMillis(expiryTime > 0 ? expiryTime :
+                DeviceManagementConstants.DeviceCache.DEFAULT_NEAR_CACHE_EXPIRY_TIME);
+        this.negativeExpiryTimeMillis = TimeUnit.SECONDS.toMillis(negativeExpiryTime > 0 ? negativeExpiryTime :
+                DeviceManagementConstants.DeviceCache.DEFAULT_NEGATIVE_CACHE_EXPIRY_TIME);
+    }
+
+    static DeviceNearCache getInstance() {
+        if (nearCache == null) {
+            synchronized (DeviceNearCache.class) {
+                if (nearCache == null) {
+                    DeviceManagementConfig config = DeviceConfigurationManager.getInstance().getDeviceManagementConfig();
+                    DeviceCacheConfiguration cacheConfig = config != null ? config.getDeviceCacheConfiguration() : null;
+                    if (cacheConfig != null) {
+                        nearCache = new DeviceNearCache(cacheConfig.getNearCacheCapacity(),
+                                cacheConfig.getNearCacheExpiryTime(), cacheConfig.getNegativeCacheExpiryTime());
+                    } else {
+                        nearCache = new DeviceNearCache(0, 0, 0);
+                    }
+                }
+            }
+        }
+        return nearCache;
+    }
+
+    /**
+     * Returns a version to be captured before the device is read from the source of truth and passed back to
+     * {@link #putIfNewer(DeviceCacheKey, Device, long)} once the read completes.
+     */
+    long currentVersion() {
+        return versionClock.get();
+    }
+
+    /**
+     * @return the cached entry or null when the key is unknown, expired or recently invalidated.
+     */
+    Entry get(DeviceCacheKey key) {
+        TenantRegion region = regions.get(key.getTenantId());
+        Entry entry = region != null ? region.entries.get(key) : null;
+        if (entry == null || entry.state == State.INVALIDATED) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            if (region.entries.remove(key, entry)) {
+                evictionCount.incrementAndGet();
+            }
+            missCount.incrementAndGet();
+            return null;
+        }
+        if (entry.state == State.ABSENT) {
+            negativeHitCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+        }
+        return entry;
+    }
+
+    /**
+     * Unconditionally stores the given device, used when the caller holds the latest state of the device.
+     */
+    void put(DeviceCacheKey key, Device device) {
+        store(key, new Entry(State.PRESENT, device, versionClock.incrementAndGet(),
+                System.currentTimeMillis() + expiryTimeMillis));
+    }
+
+    /**
+     * Stores a device read from the database unless the key was written or invalidated after the read started.
+     *
+     * @return true if the entry was stored.
+     */
+    boolean putIfNewer(DeviceCacheKey key, Device device, long readVersion) {
+        Entry candidate = new Entry(State.PRESENT, device, versionClock.incrementAndGet(),
+                System.currentTimeMillis() + expiryTimeMillis);
+        TenantRegion region = getRegion(key.getTenantId());
+        Entry stored = region.entries.merge(key, candidate,
+                (existing, value) -> existing.version > readVersion ? existing : value);
+        if (stored == candidate) {
+            region.evictIfRequired();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Updates the device only if the key is currently cached with a device.
+     */
+    void replace(DeviceCacheKey key, Device device) {
+        TenantRegion region = regions.get(key.getTenantId());
+        if (region != null) {
+            region.entries.computeIfPresent(key, (k, existing) -> existing.state == State.PRESENT ?
+                    new Entry(State.PRESENT, device, versionClock.incrementAndGet(),
+                            System.currentTimeMillis() + expiryTimeMillis) : existing);
+        }
+    }
+
+    /**
+     * Records that no device exists for the key, unless the key was written after the lookup started.
+     */
+    void putAbsent(DeviceCacheKey key, long readVersion) {
+        Entry candidate = new Entry(State.ABSENT, null, versionClock.incrementAndGet(),
+                System.currentTimeMillis() + negativeExpiryTimeMillis);
+        TenantRegion region = getRegion(key.getTenantId());
+        Entry stored = region.entries.merge(key, candidate,
+                (existing, value) -> existing.version > readVersion ? existing : value);
+        if (stored == candidate) {
+            region.evictIfRequired();
+        }
+    }
+
+    /**
+     * Replaces the entry with a short lived invalidation marker so that in-flight reads which started before the
+     * invalidation are not cached afterwards.
+     */
+    void invalidate(DeviceCacheKey key) {
+        store(key, new Entry(State.INVALIDATED, null, versionClock.incrementAndGet(),
+                System.currentTimeMillis() + negativeExpiryTimeMillis));
+    }
+
+    /**
+     * @return true if the key is known not to exist. Unlike {@link #get(DeviceCacheKey)} this does not update the
+     * hit and miss counters.
+     */
+    boolean isAbsent(DeviceCacheKey key) {
+        TenantRegion region = regions.get(key.getTenantId());
+        Entry entry = region != null ? region.entries.get(key) : null;
+        return entry != null && entry.state == State.ABSENT && !entry.isExpired(System.currentTimeMillis());
+    }
+
+    long getHitCount() {
+        return hitCount.get();
+    }
+
+    long getNegativeHitCount() {
+        return negativeHitCount.get();
+    }
+
+    long getMissCount() {
+        return missCount.get();
+    }
+
+    long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    private void store(DeviceCacheKey key, Entry entry) {
+        TenantRegion region = getRegion(key.getTenantId());
+        region.entries.put(key, entry);
+        region.evictIfRequired();
+    }
+
+    private TenantRegion getRegion(int tenantId) {
+        return regions.computeIfAbsent(tenantId, id -> new TenantRegion());
+    }
+
+    enum State {
+        PRESENT, ABSENT, INVALIDATED
+    }
+
+    static final class Entry {
+        private final State state;
+        private final Device device;
+        private final long version;
+        private final long expiryTime;
+
+        private Entry(State state, Device device, long version, long expiryTime) {
+            this.state = state;
+            this.device = device;
+            this.version = version;
+            this.expiryTime = expiryTime;
+        }
+
+        boolean isAbsent() {
+            return state == State.ABSENT;
+        }
+
+        Device getDevice() {
+            return device;
+        }
+
+        private boolean isExpired(long now) {
+            return now > expiryTime;
+        }
+    }
+
+    private final class TenantRegion {
+        private final ConcurrentHashMap<DeviceCacheKey, Entry> entries = new ConcurrentHashMap<>();
+        private final AtomicBoolean evicting = new AtomicBoolean();
+
+        /**
+         * Brings the region back under capacity. Expired entries are dropped first and the remaining overflow is
+         * removed in iteration order. Only one thread sweeps a region at a time, others continue without waiting.
+         */
+        private void evictIfRequired() {
+            if (entries.mappingCount() <= capacity || !evicting.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                long now = System.currentTimeMillis();
+                Iterator<Map.Entry<DeviceCacheKey, Entry>> iterator = entries.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next().getValue().isExpired(now)) {
+                        iterator.remove();
+                        evictionCount.incrementAndGet();
+                    }
+                }
+                long overflow = entries.mappingCount() - capacity;
+                iterator = entries.entrySet().iterator();
+                while (overflow > 0 && iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                    evictionCount.incrementAndGet();
+                    overflow--;
+                }
+            } finally {
+                evicting.set(false);
+            }
+        }
+    }
+}
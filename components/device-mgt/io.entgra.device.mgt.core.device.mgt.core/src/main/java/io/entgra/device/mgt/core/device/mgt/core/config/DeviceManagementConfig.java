@@ -24,14 +24,21 @@ import io.entgra.device.mgt.core.device.mgt.core.config.archival.ArchivalConfigu
 import io.entgra.device.mgt.core.device.mgt.core.config.cache.BillingCacheConfiguration;
 import io.entgra.device.mgt.core.device.mgt.core.config.cache.CertificateCacheConfiguration;
 import io.entgra.device.mgt.core.device.mgt.core.config.cache.DeviceCacheConfiguration;
+import io.entgra.device.mgt.core.device.mgt.core.config.cache.DeviceOrganizationCacheConfiguration;
 import io.entgra.device.mgt.core.device.mgt.core.config.cache.GeoFenceCacheConfiguration;
 import io.entgra.device.mgt.core.device.mgt.core.config.enrollment.guide.EnrollmentGuideConfiguration;
 import io.entgra.device.mgt.core.device.mgt.core.config.geo.location.GeoLocationConfiguration;
 import io.entgra.device.mgt.core.device.mgt.core.config.identity.IdentityConfigurations;
 import io.entgra.device.mgt.core.device.mgt.core.config.keymanager.KeyManagerConfigurations;
 import io.entgra.device.mgt.core.device.mgt.core.config.metadata.mgt.MetaDataConfiguration;
+import io.entgra.device.mgt.core.device.mgt.core.config.operation.payload.OperationPayloadConfiguration;
+import io.entgra.device.mgt.core.device.mgt.core.config.details.DeviceInfoWriteBehindConfiguration;
+import io.entgra.device.mgt.core.device.mgt.core.config.geo.location.GeoClusterIndexConfiguration;
+import io.entgra.device.mgt.core.device.mgt.core.config.geo.location.GeofenceIndexConfiguration;
+import io.entgra.device.mgt.core.device.mgt.core.config.geo.location.LocationIngestionConfiguration;
 import io.entgra.device.mgt.core.device.mgt.core.config.operation.timeout.OperationTimeoutConfiguration;
 import io.entgra.device.mgt.core.device.mgt.core.config.pagination.PaginationConfiguration;
+import io.entgra.device.mgt.core.device.mgt.core.config.report.ReportingPublisherConfiguration;
 import io.entgra.device.mgt.core.device.mgt.core.config.policy.PolicyConfiguration;
 import io.entgra.device.mgt.core.device.mgt.core.config.pull.notification.PullNotificationConfiguration;
 import io.entgra.device.mgt.core.device.mgt.core.config.push.notification.PushNotificationConfiguration;
@@ -65,6 +72,7 @@ public final class DeviceManagementConfig {
     private BillingCacheConfiguration billingCacheConfiguration;
     private EventOperationTaskConfiguration eventOperationTaskConfiguration;
     private CertificateCacheConfiguration certificateCacheConfiguration;
+    private DeviceOrganizationCacheConfiguration deviceOrganizationCacheConfiguration;
     private OperationAnalyticsConfiguration operationAnalyticsConfiguration;
     private GeoLocationConfiguration geoLocationConfiguration;
     private String defaultGroupsConfiguration;
@@ -73,6 +81,12 @@ public final class DeviceManagementConfig {
     private EnrollmentNotificationConfiguration enrollmentNotificationConfiguration;
     private DefaultRoles defaultRoles;
     private OperationTimeoutConfiguration operationTimeoutConfiguration;
+    private OperationPayloadConfiguration operationPayloadConfiguration;
+    private DeviceInfoWriteBehindConfiguration deviceInfoWriteBehindConfiguration;
+    private LocationIngestionConfiguration locationIngestionConfiguration;
+    private GeoClusterIndexConfiguration geoClusterIndexConfiguration;
+    private GeofenceIndexConfiguration geofenceIndexConfiguration;
+    private ReportingPublisherConfiguration reportingPublisherConfiguration;
     private MetaDataConfiguration metaDataConfiguration;
     private EnrollmentGuideConfiguration enrollmentGuideConfiguration;
 
@@ -205,6 +219,16 @@ public final class DeviceManagementConfig {
         this.certificateCacheConfiguration = certificateCacheConfiguration;
     }
 
+    @XmlElement(name = "DeviceOrganizationCacheConfiguration")
+    public DeviceOrganizationCacheConfiguration getDeviceOrganizationCacheConfiguration() {
+        return deviceOrganizationCacheConfiguration;
+    }
+
+    public void setDeviceOrganizationCacheConfiguration(
+            DeviceOrganizationCacheConfiguration deviceOrganizationCacheConfiguration) {
+        this.deviceOrganizationCacheConfiguration = deviceOrganizationCacheConfiguration;
+    }
+
     @XmlElement(name = "OperationAnalyticsConfiguration", required = true)
     public OperationAnalyticsConfiguration getOperationAnalyticsConfiguration() {
         return operationAnalyticsConfiguration;
@@ -273,6 +297,61 @@ public final class DeviceManagementConfig {
         this.operationTimeoutConfiguration = operationTimeoutConfiguration;
     }
 
+    @XmlElement(name = "OperationPayloadConfiguration")
+    public OperationPayloadConfiguration getOperationPayloadConfiguration() {
+        return operationPayloadConfiguration;
+    }
+
+    public void setOperationPayloadConfiguration(OperationPayloadConfiguration operationPayloadConfiguration) {
+        this.operationPayloadConfiguration = operationPayloadConfiguration;
+    }
+
+    @XmlElement(name = "DeviceInfoWriteBehindConfiguration")
+    public DeviceInfoWriteBehindConfiguration getDeviceInfoWriteBehindConfiguration() {
+        return deviceInfoWriteBehindConfiguration;
+    }
+
+    public void setDeviceInfoWriteBehindConfiguration(
+            DeviceInfoWriteBehindConfiguration deviceInfoWriteBehindConfiguration) {
+        this.deviceInfoWriteBehindConfiguration = deviceInfoWriteBehindConfiguration;
+    }
+
+    @XmlElement(name = "LocationIngestionConfiguration")
+    public LocationIngestionConfiguration getLocationIngestionConfiguration() {
+        return locationIngestionConfiguration;
+    }
+
+    public void setLocationIngestionConfiguration(LocationIngestionConfiguration locationIngestionConfiguration) {
+        this.locationIngestionConfiguration = locationIngestionConfiguration;
+    }
+
+    @XmlElement(name = "GeoClusterIndexConfiguration")
+    public GeoClusterIndexConfiguration getGeoClusterIndexConfiguration() {
+        return geoClusterIndexConfiguration;
+    }
+
+    public void setGeoClusterIndexConfiguration(GeoClusterIndexConfiguration geoClusterIndexConfiguration) {
+        this.geoClusterIndexConfiguration = geoClusterIndexConfiguration;
+    }
+
+    @XmlElement(name = "GeofenceIndexConfiguration")
+    public GeofenceIndexConfiguration getGeofenceIndexConfiguration() {
+        return geofenceIndexConfiguration;
+    }
+
+    public void setGeofenceIndexConfiguration(GeofenceIndexConfiguration geofenceIndexConfiguration) {
+        this.geofenceIndexConfiguration = geofenceIndexConfiguration;
+    }
+
+    @XmlElement(name = "ReportingPublisherConfiguration")
+    public ReportingPublisherConfiguration getReportingPublisherConfiguration() {
+        return reportingPublisherConfiguration;
+    }
+
+    public void setReportingPublisherConfiguration(ReportingPublisherConfiguration reportingPublisherConfiguration) {
+        this.reportingPublisherConfiguration = reportingPublisherConfiguration;
+    }
+
     @XmlElement(name = "MetaDataConfiguration", required = true)
     public MetaDataConfiguration getMetaDataConfiguration() {
         return metaDataConfiguration;
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.config.geo.location;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * This class is for configuring the in-memory spatial index which answers geofence containment checks.
+ */
+@XmlRootElement(name = "GeofenceIndexConfiguration")
+public class GeofenceIndexConfiguration {
+
+    private boolean enabled;
+    private double gridCellSize;
+    private int rebuildInterval;
+
+    @XmlElement(name = "Enabled")
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @XmlElement(name = "GridCellSize")
+    public double getGridCellSize() {
+        return gridCellSize;
+    }
+
+    public void setGridCellSize(double gridCellSize) {
+        this.gridCellSize = gridCellSize;
+    }
+
+    @XmlElement(name = "RebuildInterval")
+    public int getRebuildInterval() {
+        return rebuildInterval;
+    }
+
+    public void setRebuildInterval(int rebuildInterval) {
+        this.rebuildInterval = rebuildInterval;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.config.geo.location;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * This class is for configuring the asynchronous ingestion of device locations.
+ */
+@XmlRootElement(name = "LocationIngestionConfiguration")
+public class LocationIngestionConfiguration {
+
+    private boolean enabled;
+    private int flushIntervalMills;
+    private int batchSize;
+    private int maxPendingLocations;
+    private int maxLocationsPerDevice;
+
+    @XmlElement(name = "Enabled")
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @XmlElement(name = "FlushIntervalMills")
+    public int getFlushIntervalMills() {
+        return flushIntervalMills;
+    }
+
+    public void setFlushIntervalMills(int flushIntervalMills) {
+        this.flushIntervalMills = flushIntervalMills;
+    }
+
+    @XmlElement(name = "BatchSize")
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @XmlElement(name = "MaxPendingLocations")
+    public int getMaxPendingLocations() {
+        return maxPendingLocations;
+    }
+
+    public void setMaxPendingLocations(int maxPendingLocations) {
+        this.maxPendingLocations = maxPendingLocations;
+    }
+
+    @XmlElement(name = "MaxLocationsPerDevice")
+    public int getMaxLocationsPerDevice() {
+        return maxLocationsPerDevice;
+    }
+
+    public void setMaxLocationsPerDevice(int maxLocationsPerDevice) {
+        this.maxLocationsPerDevice = maxLocationsPerDevice;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.entgra.device.mgt.core.device.mgt.core.config.operation.payload;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * This class is for configuring how operation payloads are encoded when persisted.
+ */
+@XmlRootElement(name = "OperationPayloadConfiguration")
+public class OperationPayloadConfiguration {
+
+    private String codecClass;
+    private int compressionThreshold;
+    private boolean migrationEnabled;
+    private int migrationBatchSize;
+
+    @XmlElement(name = "CodecClass")
+    public String getCodecClass() {
+        return codecClass;
+    }
+
+    public void setCodecClass(String codecClass) {
+        this.codecClass = codecClass;
+    }
+
+    @XmlElement(name = "CompressionThreshold")
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    public void setCompressionThreshold(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @XmlElement(name = "MigrationEnabled")
+    public boolean isMigrationEnabled() {
+        return migrationEnabled;
+    }
+
+    public void setMigrationEnabled(boolean migrationEnabled) {
+        this.migrationEnabled = migrationEnabled;
+    }
+
+    @XmlElement(name = "MigrationBatchSize")
+    public int getMigrationBatchSize() {
+        return migrationBatchSize;
+    }
+
+    public void setMigrationBatchSize(int migrationBatchSize) {
+        this.migrationBatchSize = migrationBatchSize;
+    }
+}
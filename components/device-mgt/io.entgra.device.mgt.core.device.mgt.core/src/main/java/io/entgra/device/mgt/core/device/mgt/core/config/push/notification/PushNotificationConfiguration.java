@@ -32,6 +32,13 @@ public class PushNotificationConfiguration {
     private int schedulerBatchDelayMills;
     private int schedulerTaskInitialDelay;
     private boolean schedulerTaskEnabled;
+    private int schedulerProviderParallelism;
+    private int schedulerUpdateBatchSize;
+    private int schedulerDispatchTimeoutMills;
+    private int executorPoolSize;
+    private int executorQueueCapacity;
+    private int retryDelayMills;
+    private int retryQueueCapacity;
     private List<String> pushNotificationProviders;
     private List<ContextMetadata> contextMetadata;
 
@@ -71,6 +78,69 @@ public class PushNotificationConfiguration {
         this.schedulerTaskEnabled = schedulerTaskEnabled;
     }
 
+    @XmlElement(name = "SchedulerProviderParallelism")
+    public int getSchedulerProviderParallelism() {
+        return schedulerProviderParallelism;
+    }
+
+    public void setSchedulerProviderParallelism(int schedulerProviderParallelism) {
+        this.schedulerProviderParallelism = schedulerProviderParallelism;
+    }
+
+    @XmlElement(name = "SchedulerUpdateBatchSize")
+    public int getSchedulerUpdateBatchSize() {
+        return schedulerUpdateBatchSize;
+    }
+
+    public void setSchedulerUpdateBatchSize(int schedulerUpdateBatchSize) {
+        this.schedulerUpdateBatchSize = schedulerUpdateBatchSize;
+    }
+
+    @XmlElement(name = "SchedulerDispatchTimeoutMills")
+    public int getSchedulerDispatchTimeoutMills() {
+        return schedulerDispatchTimeoutMills;
+    }
+
+    public void setSchedulerDispatchTimeoutMills(int schedulerDispatchTimeoutMills) {
+        this.schedulerDispatchTimeoutMills = schedulerDispatchTimeoutMills;
+    }
+
+    @XmlElement(name = "ExecutorPoolSize")
+    public int getExecutorPoolSize() {
+        return executorPoolSize;
+    }
+
+    public void setExecutorPoolSize(int executorPoolSize) {
+        this.executorPoolSize = executorPoolSize;
+    }
+
+    @XmlElement(name = "ExecutorQueueCapacity")
+    public int getExecutorQueueCapacity() {
+        return executorQueueCapacity;
+    }
+
+    public void setExecutorQueueCapacity(int executorQueueCapacity) {
+        this.executorQueueCapacity = executorQueueCapacity;
+    }
+
+    @XmlElement(name = "RetryDelayMills")
+    public int getRetryDelayMills() {
+        return retryDelayMills;
+    }
+
+    public void setRetryDelayMills(int retryDelayMills) {
+        this.retryDelayMills = retryDelayMills;
+    }
+
+    @XmlElement(name = "RetryQueueCapacity")
+    public int getRetryQueueCapacity() {
+        return retryQueueCapacity;
+    }
+
+    public void setRetryQueueCapacity(int retryQueueCapacity) {
+        this.retryQueueCapacity = retryQueueCapacity;
+    }
+
     @XmlElementWrapper(name = "PushNotificationProviders", required = true)
     @XmlElement(name = "Provider", required = true)
     public List<String> getPushNotificationProviders() {
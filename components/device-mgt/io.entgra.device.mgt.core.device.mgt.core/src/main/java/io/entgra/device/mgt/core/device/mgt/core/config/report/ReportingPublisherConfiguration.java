@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.config.report;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * This class is for configuring how device events are queued, batched and posted to the reporting backend.
+ */
+@XmlRootElement(name = "ReportingPublisherConfiguration")
+public class ReportingPublisherConfiguration {
+
+    private int workerCount;
+    private int queueCapacity;
+    private int maxBatchSize;
+    private String overflowPolicy;
+    private int maxRetries;
+    private int retryBackoffMills;
+    private int maxConnections;
+    private int maxConnectionsPerRoute;
+    private int connectionTimeoutMills;
+    private int socketTimeoutMills;
+
+    @XmlElement(name = "WorkerCount")
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    public void setWorkerCount(int workerCount) {
+        this.workerCount = workerCount;
+    }
+
+    @XmlElement(name = "QueueCapacity")
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    @XmlElement(name = "MaxBatchSize")
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @XmlElement(name = "OverflowPolicy")
+    public String getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(String overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    @XmlElement(name = "MaxRetries")
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    @XmlElement(name = "RetryBackoffMills")
+    public int getRetryBackoffMills() {
+        return retryBackoffMills;
+    }
+
+    public void setRetryBackoffMills(int retryBackoffMills) {
+        this.retryBackoffMills = retryBackoffMills;
+    }
+
+    @XmlElement(name = "MaxConnections")
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    @XmlElement(name = "MaxConnectionsPerRoute")
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    @XmlElement(name = "ConnectionTimeoutMills")
+    public int getConnectionTimeoutMills() {
+        return connectionTimeoutMills;
+    }
+
+    public void setConnectionTimeoutMills(int connectionTimeoutMills) {
+        this.connectionTimeoutMills = connectionTimeoutMills;
+    }
+
+    @XmlElement(name = "SocketTimeoutMills")
+    public int getSocketTimeoutMills() {
+        return socketTimeoutMills;
+    }
+
+    public void setSocketTimeoutMills(int socketTimeoutMills) {
+        this.socketTimeoutMills = socketTimeoutMills;
+    }
+}
@@ -20,10 +20,12 @@ package io.entgra.device.mgt.core.device.mgt.core.dao;
 
 import io.entgra.device.mgt.core.device.mgt.common.Count;
 import io.entgra.device.mgt.core.device.mgt.common.Device;
+import io.entgra.device.mgt.core.device.mgt.common.DeviceCursor;
 import io.entgra.device.mgt.core.device.mgt.common.DeviceIdentifier;
 import io.entgra.device.mgt.core.device.mgt.common.EnrolmentInfo;
 import io.entgra.device.mgt.core.device.mgt.common.EnrolmentInfo.Status;
 import io.entgra.device.mgt.core.device.mgt.common.PaginationRequest;
+import io.entgra.device.mgt.core.device.mgt.common.TaskPartition;
 import io.entgra.device.mgt.core.device.mgt.common.configuration.mgt.DevicePropertyInfo;
 import io.entgra.device.mgt.core.device.mgt.common.device.details.DeviceData;
 import io.entgra.device.mgt.core.device.mgt.common.device.details.DeviceLocationHistorySnapshot;
@@ -32,6 +34,7 @@ import io.entgra.device.mgt.core.device.mgt.common.exceptions.DeviceManagementEx
 import io.entgra.device.mgt.core.device.mgt.common.geo.service.GeoCluster;
 import io.entgra.device.mgt.core.device.mgt.common.geo.service.GeoQuery;
 import io.entgra.device.mgt.core.device.mgt.core.dto.DeviceType;
+import io.entgra.device.mgt.core.device.mgt.core.dto.EnrolmentLocationDTO;
 import org.apache.commons.collections.map.SingletonMap;
 
 import java.sql.SQLException;
@@ -130,6 +133,15 @@ public interface DeviceDAO {
     boolean recordDeviceUpdate(DeviceIdentifier deviceIdentifier, int tenantId)
             throws DeviceManagementDAOException;
 
+    /**
+     * This method is used to update the last updated timestamp of a set of devices using a single JDBC batch.
+     *
+     * @param deviceIds ids of the devices which were updated.
+     * @param tenantId  tenant id of the devices.
+     * @throws DeviceManagementDAOException if SQL error occurred while processing the query.
+     */
+    void recordDeviceUpdates(List<Integer> deviceIds, int tenantId) throws DeviceManagementDAOException;
+
     Device getDevice(DeviceData deviceData, int tenantId) throws DeviceManagementDAOException;
 
 
@@ -347,16 +359,15 @@ public interface DeviceDAO {
     List<Device> getDevicesIds(PaginationRequest request, int tenantId) throws DeviceManagementDAOException;
 
     /**
-     * This method is used to retrieve the devices of a given tenant as a paginated result, along the lines of
-     * activeServerCount and serverIndex
+     * This method is used to retrieve the devices of a given tenant as a paginated result, restricted to the
+     * devices allocated to the current server
      *
      * @param request
      * @param tenantId
-     * @param activeServerCount
-     * @param serverIndex
+     * @param partition bucket ranges allocated to the current server
      * @return
      */
-    List<Device> getAllocatedDevices(PaginationRequest request, int tenantId, int activeServerCount, int serverIndex) throws DeviceManagementDAOException;
+    List<Device> getAllocatedDevices(PaginationRequest request, int tenantId, TaskPartition partition) throws DeviceManagementDAOException;
 
     /**
      * This method is used to search for devices within a specific group.
@@ -391,14 +402,26 @@ public interface DeviceDAO {
     /**
      * This method is used to retrieve the list of devices attributed to a specific node
      * when using dynamic partitioning to allocate tasks given the tenant and device type
-     * along with activeServerCount and serverIndex
+     * along with the bucket ranges allocated to the node
      *
      * @param type device type.
      * @param tenantId tenant id.
+     * @param partition bucket ranges allocated to the current server.
      * @return returns list of devices of provided type.
      * @throws DeviceManagementDAOException
      */
-    List<Device> getAllocatedDevices(String type, int tenantId, int activeServerCount, int serverIndex) throws DeviceManagementDAOException;
+    List<Device> getAllocatedDevices(String type, int tenantId, TaskPartition partition) throws DeviceManagementDAOException;
+
+    /**
+     * This method is used to retrieve the next page of devices of a given tenant and device type, starting right
+     * after the last device and enrolment ids held by the cursor. Rows are ordered by device id and enrolment id.
+     *
+     * @param cursor cursor holding the device type, page size, last position and the optional partition.
+     * @param tenantId tenant id.
+     * @return returns at most page size devices following the cursor position.
+     * @throws DeviceManagementDAOException
+     */
+    List<Device> getDevicesAfter(DeviceCursor cursor, int tenantId) throws DeviceManagementDAOException;
 
     List<Device> getDevices(long timestamp, int tenantId) throws DeviceManagementDAOException;
 
@@ -612,6 +635,15 @@ public interface DeviceDAO {
      */
     List<GeoCluster> findGeoClusters(GeoQuery geoQuery, int tenantId) throws DeviceManagementDAOException;
 
+    /**
+     * This method is used to retrieve the current locations of all the enrolments of a tenant which are not removed.
+     *
+     * @param tenantId tenant id.
+     * @return returns the locations along with the enrolment and device details.
+     * @throws DeviceManagementDAOException if SQL error occurred while processing the query.
+     */
+    List<EnrolmentLocationDTO> getEnrolmentLocations(int tenantId) throws DeviceManagementDAOException;
+
     /**
      * This method is used to identify whether given device ids are exist or not.
      *
@@ -745,13 +777,12 @@ public interface DeviceDAO {
      * Get All devices for monitoring
      * @param deviceTypeId device type identifier
      * @param deviceTypeName name of the type. (android, ios ...)
-     * @param activeServerCount Number of available servers
-     * @param serverHashIndex server index number
+     * @param partition bucket ranges allocated to the current server, or null to retrieve all devices
      * @return device object
      * @throws DeviceManagementDAOException
      */
     List<DeviceMonitoringData> getAllDevicesForMonitoring(int deviceTypeId, String deviceTypeName,
-                                                          int activeServerCount, int serverHashIndex)
+                                                          TaskPartition partition)
             throws DeviceManagementDAOException;
 
     /**
@@ -19,10 +19,12 @@
 package io.entgra.device.mgt.core.device.mgt.core.dao.impl;
 
 import io.entgra.device.mgt.core.device.mgt.common.Device;
+import io.entgra.device.mgt.core.device.mgt.common.DeviceCursor;
 import io.entgra.device.mgt.core.device.mgt.common.DeviceIdentifier;
 import io.entgra.device.mgt.core.device.mgt.common.EnrolmentInfo;
 import io.entgra.device.mgt.core.device.mgt.common.EnrolmentInfo.Status;
 import io.entgra.device.mgt.core.device.mgt.common.PaginationRequest;
+import io.entgra.device.mgt.core.device.mgt.common.TaskPartition;
 import io.entgra.device.mgt.core.device.mgt.common.configuration.mgt.DevicePropertyInfo;
 import io.entgra.device.mgt.core.device.mgt.common.device.details.DeviceData;
 import io.entgra.device.mgt.core.device.mgt.common.device.details.DeviceLocationHistorySnapshot;
@@ -34,6 +36,7 @@ import io.entgra.device.mgt.core.device.mgt.core.dao.DeviceManagementDAOExceptio
 import io.entgra.device.mgt.core.device.mgt.core.dao.DeviceManagementDAOFactory;
 import io.entgra.device.mgt.core.device.mgt.core.dao.util.DeviceManagementDAOUtil;
 import io.entgra.device.mgt.core.device.mgt.core.dto.DeviceType;
+import io.entgra.device.mgt.core.device.mgt.core.dto.EnrolmentLocationDTO;
 import org.apache.commons.collections.map.SingletonMap;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.LogFactory;
@@ -153,6 +156,32 @@ public abstract class AbstractDeviceDAOImpl implements DeviceDAO {
         }
     }
 
+    @Override
+    public void recordDeviceUpdates(List<Integer> deviceIds, int tenantId) throws DeviceManagementDAOException {
+        if (deviceIds.isEmpty()) {
+            return;
+        }
+        try {
+            Connection conn = this.getConnection();
+            String sql = "UPDATE DM_DEVICE SET LAST_UPDATED_TIMESTAMP = ? WHERE ID = ? AND TENANT_ID = ?";
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                Timestamp updatedTime = new Timestamp(new Date().getTime());
+                for (Integer deviceId : deviceIds) {
+                    stmt.setTimestamp(1, updatedTime);
+                    stmt.setInt(2, deviceId);
+                    stmt.setInt(3, tenantId);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+        } catch (SQLException e) {
+            String msg = "Error occurred while updating device update timestamp of " + deviceIds.size() +
+                    " devices of tenant " + tenantId;
+            log.error(msg, e);
+            throw new DeviceManagementDAOException(msg, e);
+        }
+    }
+
     @Override
     public Device getDevice(DeviceData deviceData, int tenantId) throws DeviceManagementDAOException {
         Device device = null;
@@ -815,8 +844,8 @@ public abstract class AbstractDeviceDAOImpl implements DeviceDAO {
 
 
     @Override
-    public List<Device> getAllocatedDevices(String type, int tenantId, int activeServerCount,
-                                            int serverIndex) throws DeviceManagementDAOException {
+    public List<Device> getAllocatedDevices(String type, int tenantId, TaskPartition partition)
+            throws DeviceManagementDAOException {
         List<Device> devices;
         try {
             Connection conn = this.getConnection();
@@ -843,15 +872,14 @@ public abstract class AbstractDeviceDAOImpl implements DeviceDAO {
                     "WHERE d1.ID = e.DEVICE_ID" +
                     "        AND e.DEVICE_TYPE = ?" +
                     "        AND e.TENANT_ID = ?" +
-                    "        AND MOD(d1.ID, ?) = ? " +
-                    "ORDER BY e.DATE_OF_LAST_UPDATE DESC";
+                    DeviceManagementDAOUtil.buildPartitionCondition("MOD(d1.ID, ?)", partition) +
+                    " ORDER BY e.DATE_OF_LAST_UPDATE DESC";
 
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                 stmt.setInt(1, tenantId);
                 stmt.setString(2, type);
                 stmt.setInt(3, tenantId);
-                stmt.setInt(4, activeServerCount);
-                stmt.setInt(5, serverIndex);
+                DeviceManagementDAOUtil.setPartitionParameters(stmt, 4, partition);
                 devices = new ArrayList<>();
 
                 try (ResultSet rs = stmt.executeQuery()) {
@@ -860,15 +888,79 @@ public abstract class AbstractDeviceDAOImpl implements DeviceDAO {
                         devices.add(device);
                     }
                 } catch (Exception e) {
-                    String msg = "Error encountered while populating allocated active devices for server with index : " + serverIndex +
-                            " active-server-count " + activeServerCount + " device-type " + type + " tenant-id " + tenantId;
+                    String msg = "Error encountered while populating allocated active devices for server with " +
+                            partition + " device-type " + type + " tenant-id " + tenantId;
                     log.error(msg, e);
                     throw new DeviceManagementDAOException(msg, e);
                 }
             }
         } catch (SQLException e) {
-            String msg = "Error encountered while retrieving allocated devices for server with index : " + serverIndex +
-                    " active-server-count " + activeServerCount + " device-type " + type + " tenant-id " + tenantId;
+            String msg = "Error encountered while retrieving allocated devices for server with " + partition +
+                    " device-type " + type + " tenant-id " + tenantId;
+            log.error(msg, e);
+            throw new DeviceManagementDAOException(msg, e);
+        }
+        return devices;
+    }
+
+    @Override
+    public List<Device> getDevicesAfter(DeviceCursor cursor, int tenantId) throws DeviceManagementDAOException {
+        List<Device> devices = new ArrayList<>();
+        try {
+            Connection conn = this.getConnection();
+            String sql = "SELECT d1.ID AS DEVICE_ID," +
+                    "    d1.DESCRIPTION," +
+                    "    d1.NAME AS DEVICE_NAME," +
+                    "    d1.LAST_UPDATED_TIMESTAMP, " +
+                    "    e.DEVICE_TYPE," +
+                    "    e.DEVICE_IDENTIFICATION," +
+                    "    e.OWNER," +
+                    "    e.OWNERSHIP," +
+                    "    e.STATUS," +
+                    "    e.IS_TRANSFERRED," +
+                    "    e.DATE_OF_LAST_UPDATE," +
+                    "    e.DATE_OF_ENROLMENT," +
+                    "    e.ID AS ENROLMENT_ID " +
+                    "FROM DM_ENROLMENT e," +
+                    "    (SELECT d.ID," +
+                    "            d.DESCRIPTION," +
+                    "            d.NAME," +
+                    "            d.LAST_UPDATED_TIMESTAMP" +
+                    "    FROM DM_DEVICE d" +
+                    "    WHERE d.TENANT_ID = ? AND d.ID >= ?) d1 " +
+                    "WHERE d1.ID = e.DEVICE_ID" +
+                    "        AND e.DEVICE_TYPE = ?" +
+                    "        AND e.TENANT_ID = ?" +
+                    "        AND (d1.ID > ? OR (d1.ID = ? AND e.ID > ?))";
+            if (cursor.isPartitioned()) {
+                sql = sql + DeviceManagementDAOUtil.buildPartitionCondition("MOD(d1.ID, ?)", cursor.getPartition());
+            }
+            sql = sql + " ORDER BY d1.ID, e.ID";
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int paramIndex = 1;
+                stmt.setInt(paramIndex++, tenantId);
+                stmt.setInt(paramIndex++, cursor.getLastDeviceId());
+                stmt.setString(paramIndex++, cursor.getDeviceType());
+                stmt.setInt(paramIndex++, tenantId);
+                stmt.setInt(paramIndex++, cursor.getLastDeviceId());
+                stmt.setInt(paramIndex++, cursor.getLastDeviceId());
+                stmt.setInt(paramIndex++, cursor.getLastEnrolmentId());
+                if (cursor.isPartitioned()) {
+                    DeviceManagementDAOUtil.setPartitionParameters(stmt, paramIndex, cursor.getPartition());
+                }
+                // keyset pagination needs no offset, so a row cap is enough and stays portable across databases
+                stmt.setMaxRows(cursor.getPageSize());
+                stmt.setFetchSize(cursor.getPageSize());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        devices.add(DeviceManagementDAOUtil.loadActiveDevice(rs, false));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            String msg = "Error occurred while listing devices of type '" + cursor.getDeviceType() +
+                    "' after device id " + cursor.getLastDeviceId();
             log.error(msg, e);
             throw new DeviceManagementDAOException(msg, e);
         }
@@ -2025,6 +2117,41 @@ public abstract class AbstractDeviceDAOImpl implements DeviceDAO {
         return geoClusters;
     }
 
+    @Override
+    public List<EnrolmentLocationDTO> getEnrolmentLocations(int tenantId) throws DeviceManagementDAOException {
+        List<EnrolmentLocationDTO> enrolmentLocations = new ArrayList<>();
+        try {
+            Connection conn = this.getConnection();
+            String sql = "SELECT E.ID AS ENROLMENT_ID, D.ID AS DEVICE_ID, D.DEVICE_IDENTIFICATION, E.DEVICE_TYPE, " +
+                    "L.LATITUDE, L.LONGITUDE " +
+                    "FROM DM_DEVICE_LOCATION L, DM_ENROLMENT E, DM_DEVICE D " +
+                    "WHERE L.DEVICE_ID = D.ID AND E.DEVICE_ID = D.ID AND E.STATUS != 'REMOVED' " +
+                    "AND L.LATITUDE IS NOT NULL AND L.LONGITUDE IS NOT NULL " +
+                    "AND E.TENANT_ID = ? AND D.TENANT_ID = ?";
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, tenantId);
+                stmt.setInt(2, tenantId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        EnrolmentLocationDTO enrolmentLocation = new EnrolmentLocationDTO();
+                        enrolmentLocation.setEnrolmentId(rs.getInt("ENROLMENT_ID"));
+                        enrolmentLocation.setDeviceId(rs.getInt("DEVICE_ID"));
+                        enrolmentLocation.setDeviceIdentifier(rs.getString("DEVICE_IDENTIFICATION"));
+                        enrolmentLocation.setDeviceType(rs.getString("DEVICE_TYPE"));
+                        enrolmentLocation.setLatitude(rs.getDouble("LATITUDE"));
+                        enrolmentLocation.setLongitude(rs.getDouble("LONGITUDE"));
+                        enrolmentLocations.add(enrolmentLocation);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            String msg = "Error occurred while retrieving the enrolment locations of tenant " + tenantId;
+            log.error(msg, e);
+            throw new DeviceManagementDAOException(msg, e);
+        }
+        return enrolmentLocations;
+    }
+
     @Override
     public List<Device> getDevicesByIdentifiers(List<String> deviceIdentifiers, int tenantId)
             throws DeviceManagementDAOException {
@@ -3005,7 +3132,7 @@ public abstract class AbstractDeviceDAOImpl implements DeviceDAO {
 
     @Override
     public List<DeviceMonitoringData> getAllDevicesForMonitoring(
-            int deviceTypeId, String deviceTypeName, int activeServerCount, int serverHashIndex)
+            int deviceTypeId, String deviceTypeName, TaskPartition partition)
             throws DeviceManagementDAOException {
         List<DeviceMonitoringData> devices = new ArrayList<>();
 
@@ -3028,17 +3155,16 @@ public abstract class AbstractDeviceDAOImpl implements DeviceDAO {
                 " WHERE STATUS IN ('ACTIVE', 'UNREACHABLE') " +
                 " GROUP BY DEVICE_ID) E" +
                 " WHERE D.ID = E.DEVICE_ID AND E.ENROLMENT_ID = EN.ID AND D.DEVICE_TYPE_ID = ?";
-        if (activeServerCount > 0) {
-            sql += " AND MOD(D.ID, ?) = ?";
+        if (partition != null) {
+            sql += DeviceManagementDAOUtil.buildPartitionCondition("MOD(D.ID, ?)", partition);
         }
 
         try {
             Connection conn = this.getConnection();
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                 stmt.setInt(1, deviceTypeId);
-                if (activeServerCount > 0) {
-                    stmt.setInt(2, activeServerCount);
-                    stmt.setInt(3, serverHashIndex);
+                if (partition != null) {
+                    DeviceManagementDAOUtil.setPartitionParameters(stmt, 2, partition);
                 }
 
                 try (ResultSet rs = stmt.executeQuery()) {
@@ -23,6 +23,7 @@ import io.entgra.device.mgt.core.device.mgt.common.Device;
 import io.entgra.device.mgt.core.device.mgt.common.DeviceManagementConstants;
 import io.entgra.device.mgt.core.device.mgt.common.EnrolmentInfo;
 import io.entgra.device.mgt.core.device.mgt.common.PaginationRequest;
+import io.entgra.device.mgt.core.device.mgt.common.TaskPartition;
 import io.entgra.device.mgt.core.device.mgt.common.device.details.DeviceInfo;
 import io.entgra.device.mgt.core.device.mgt.core.dao.DeviceManagementDAOException;
 import io.entgra.device.mgt.core.device.mgt.core.dao.impl.AbstractDeviceDAOImpl;
@@ -536,7 +537,7 @@ public class GenericDeviceDAOImpl extends AbstractDeviceDAOImpl {
 
     @Override
     public List<Device> getAllocatedDevices(PaginationRequest request, int tenantId,
-                                            int activeServerCount, int serverIndex)
+                                            TaskPartition partition)
             throws DeviceManagementDAOException {
         List<Device> devices;
         String deviceType = request.getDeviceType();
@@ -615,8 +616,8 @@ public class GenericDeviceDAOImpl extends AbstractDeviceDAOImpl {
                 sql += buildStatusQuery(statusList);
                 isStatusProvided = true;
             }
-            if (activeServerCount > 0){
-                sql = sql + " AND MOD(d1.ID, ?) = ?";
+            if (partition != null) {
+                sql = sql + DeviceManagementDAOUtil.buildPartitionCondition("MOD(d1.ID, ?)", partition);
                 isPartitionedTask = true;
             }
             sql = sql + " LIMIT ? OFFSET ?";
@@ -648,8 +649,7 @@ public class GenericDeviceDAOImpl extends AbstractDeviceDAOImpl {
                     }
                 }
                 if (isPartitionedTask) {
-                    stmt.setInt(paramIdx++, activeServerCount);
-                    stmt.setInt(paramIdx++, serverIndex);
+                    paramIdx = DeviceManagementDAOUtil.setPartitionParameters(stmt, paramIdx, partition);
                 }
                 stmt.setInt(paramIdx++, request.getRowCount());
                 stmt.setInt(paramIdx, request.getStartIndex());
@@ -21,6 +21,7 @@ package io.entgra.device.mgt.core.device.mgt.core.dao.impl.device;
 import io.entgra.device.mgt.core.device.mgt.common.Count;
 import io.entgra.device.mgt.core.device.mgt.common.Device;
 import io.entgra.device.mgt.core.device.mgt.common.PaginationRequest;
+import io.entgra.device.mgt.core.device.mgt.common.TaskPartition;
 import io.entgra.device.mgt.core.device.mgt.common.EnrolmentInfo;
 import io.entgra.device.mgt.core.device.mgt.common.device.details.DeviceInfo;
 import io.entgra.device.mgt.core.device.mgt.core.dao.DeviceManagementDAOException;
@@ -333,7 +334,7 @@ public class PostgreSQLDeviceDAOImpl extends GenericDeviceDAOImpl {
 
     @Override
     public List<Device> getAllocatedDevices(PaginationRequest request, int tenantId,
-                                            int activeServerCount, int serverIndex)
+                                            TaskPartition partition)
             throws DeviceManagementDAOException {
         Connection conn;
         List<Device> devices = null;
@@ -405,8 +406,8 @@ public class PostgreSQLDeviceDAOImpl extends GenericDeviceDAOImpl {
                 sql += buildStatusQuery(statusList);
                 isStatusProvided = true;
             }
-            if (activeServerCount > 0){
-                sql = sql + " AND MOD(d1.ID, ?) = ?";
+            if (partition != null) {
+                sql = sql + DeviceManagementDAOUtil.buildPartitionCondition("MOD(d1.ID, ?)", partition);
                 isPartitionedTask = true;
             }
             sql = sql + " LIMIT ? OFFSET ?";
@@ -435,8 +436,7 @@ public class PostgreSQLDeviceDAOImpl extends GenericDeviceDAOImpl {
                     }
                 }
                 if (isPartitionedTask) {
-                    stmt.setInt(paramIdx++, activeServerCount);
-                    stmt.setInt(paramIdx++, serverIndex);
+                    paramIdx = DeviceManagementDAOUtil.setPartitionParameters(stmt, paramIdx, partition);
                 }
                 stmt.setInt(paramIdx++, request.getRowCount());
                 stmt.setInt(paramIdx, request.getStartIndex());
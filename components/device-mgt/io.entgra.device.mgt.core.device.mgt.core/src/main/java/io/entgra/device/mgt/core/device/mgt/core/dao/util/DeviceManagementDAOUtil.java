@@ -20,6 +20,7 @@ package io.entgra.device.mgt.core.device.mgt.core.dao.util;
 import io.entgra.device.mgt.core.device.mgt.common.Device;
 import io.entgra.device.mgt.core.device.mgt.common.DeviceIdentifier;
 import io.entgra.device.mgt.core.device.mgt.common.EnrolmentInfo;
+import io.entgra.device.mgt.core.device.mgt.common.TaskPartition;
 import io.entgra.device.mgt.core.device.mgt.common.device.details.DeviceInfo;
 import io.entgra.device.mgt.core.device.mgt.common.device.details.DeviceLocationHistorySnapshot;
 import io.entgra.device.mgt.core.device.mgt.common.device.details.DeviceMonitoringData;
@@ -49,6 +50,7 @@ import java.util.Hashtable;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
+import java.util.StringJoiner;
 
 public final class DeviceManagementDAOUtil {
 
@@ -374,4 +376,50 @@ public final class DeviceManagementDAOUtil {
                 .toLocalDateTime();
         return Timestamp.valueOf(l).getTime() / 1000;
     }
+
+    /**
+     * Builds the condition restricting a query to the devices of a task partition. Each owned bucket range becomes
+     * a BETWEEN check on the bucket expression, whose parameters are bound by
+     * {@link #setPartitionParameters(PreparedStatement, int, TaskPartition)}.
+     *
+     * @param bucketExpression SQL expression of the bucket of a row, with a placeholder for the bucket count,
+     *                         e.g. {@code MOD(d.ID, ?)}.
+     * @param partition bucket ranges allocated to the current server, or null when the query is not partitioned.
+     * @return condition starting with " AND ", or an empty string when there is no partition.
+     */
+    public static String buildPartitionCondition(String bucketExpression, TaskPartition partition) {
+        if (partition == null) {
+            return "";
+        }
+        if (partition.isEmpty()) {
+            return " AND 1 = 0";
+        }
+        StringJoiner joiner = new StringJoiner(" OR ", " AND (", ")");
+        for (int i = 0; i < partition.getRangeCount(); i++) {
+            joiner.add(bucketExpression + " BETWEEN ? AND ?");
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Binds the parameters of a condition built by {@link #buildPartitionCondition(String, TaskPartition)}.
+     *
+     * @param stmt statement to bind the parameters to.
+     * @param paramIdx index of the first partition parameter.
+     * @param partition bucket ranges allocated to the current server, or null when the query is not partitioned.
+     * @return index of the parameter following the partition parameters.
+     * @throws SQLException if the parameters cannot be bound.
+     */
+    public static int setPartitionParameters(PreparedStatement stmt, int paramIdx, TaskPartition partition)
+            throws SQLException {
+        if (partition == null) {
+            return paramIdx;
+        }
+        for (int i = 0; i < partition.getRangeCount(); i++) {
+            stmt.setInt(paramIdx++, partition.getBucketCount());
+            stmt.setInt(paramIdx++, partition.getRangeStart(i));
+            stmt.setInt(paramIdx++, partition.getRangeEnd(i));
+        }
+        return paramIdx;
+    }
 }
@@ -76,10 +76,27 @@ public interface DeviceInformationManager {
     @Deprecated
     void addDeviceLocation(DeviceLocation deviceLocation) throws DeviceDetailsMgtException;
 
+    /**
+     * This method will store the location reported by the device. When asynchronous location ingestion is enabled,
+     * the location is queued to be written in the background together with the locations of other devices, unless
+     * the queue is full.
+     * @param device - Device which reported the location.
+     * @param deviceLocation - Location of the device.
+     * @throws DeviceDetailsMgtException if the location had to be written directly and it failed.
+     */
     void addDeviceLocation(Device device, DeviceLocation deviceLocation) throws DeviceDetailsMgtException;
 
     void deleteDeviceLocation(Device device) throws DeviceDetailsMgtException;
 
+    /**
+     * This method will store the locations reported by the device. Only the most recent location of the device is
+     * kept as its current location while all the locations are added to the location history. When asynchronous
+     * location ingestion is enabled, the locations are queued to be written in the background together with the
+     * locations of other devices, unless the queue is full.
+     * @param device - Device which reported the locations.
+     * @param deviceLocations - Locations in the order they were recorded.
+     * @throws DeviceDetailsMgtException if the locations had to be written directly and it failed.
+     */
     void addDeviceLocations(Device device, List<DeviceLocation> deviceLocations) throws
             DeviceDetailsMgtException;
 
@@ -22,6 +22,8 @@ package io.entgra.device.mgt.core.device.mgt.core.device.details.mgt.dao;
 import io.entgra.device.mgt.core.device.mgt.common.Device;
 import io.entgra.device.mgt.core.device.mgt.common.device.details.DeviceInfo;
 import io.entgra.device.mgt.core.device.mgt.common.device.details.DeviceLocation;
+import io.entgra.device.mgt.core.device.mgt.core.dto.DeviceInfoUpdateDTO;
+import io.entgra.device.mgt.core.device.mgt.core.dto.DeviceLocationsDTO;
 
 import java.util.List;
 import java.util.Map;
@@ -138,5 +140,33 @@ public interface DeviceDetailsDAO {
 
     void updateDeviceInformation(int deviceId, int enrollmentId, DeviceInfo newDeviceInfo) throws DeviceDetailsMgtDAOException;
 
+    /**
+     * This method will write the device information changes of many enrolments using JDBC batches. Device
+     * information and properties which are updated but not yet present in the database are inserted instead.
+     * The update timestamp of the device information is moved for every enrolment which has changes, including
+     * the ones of which only the properties are changed, and is set to the given updates.
+     * @param deviceInfoUpdates - device information changes, one entry per enrolment.
+     * @throws DeviceDetailsMgtDAOException if SQL error occurred while processing the query.
+     */
+    void saveDeviceInformation(List<DeviceInfoUpdateDTO> deviceInfoUpdates) throws DeviceDetailsMgtDAOException;
+
+    /**
+     * This method will return the update timestamps of the device information of the given enrolments.
+     * @param enrolmentIds - IDs of the enrolments.
+     * @return update timestamps against the enrolment IDs. Enrolments without device information are not included.
+     * @throws DeviceDetailsMgtDAOException if SQL error occurred while processing the query.
+     */
+    Map<Integer, Long> getDeviceInformationUpdateTimestamps(List<Integer> enrolmentIds)
+            throws DeviceDetailsMgtDAOException;
+
+    /**
+     * This method will write the locations of many devices using JDBC batches. The last location of each device is
+     * written as its current location, inserting it if the device has no location yet, and all the locations are
+     * added to the location history.
+     * @param deviceLocations - locations with precomputed geohashes, one entry per device.
+     * @throws DeviceDetailsMgtDAOException if SQL error occurred while processing the query.
+     */
+    void saveDeviceLocations(List<DeviceLocationsDTO> deviceLocations) throws DeviceDetailsMgtDAOException;
+
     void updateDeviceLocation(DeviceLocation deviceLocation, int enrollmentId) throws DeviceDetailsMgtDAOException;
 }
@@ -26,6 +26,8 @@ import io.entgra.device.mgt.core.device.mgt.core.dao.DeviceManagementDAOFactory;
 import io.entgra.device.mgt.core.device.mgt.core.dao.util.DeviceManagementDAOUtil;
 import io.entgra.device.mgt.core.device.mgt.core.device.details.mgt.dao.DeviceDetailsDAO;
 import io.entgra.device.mgt.core.device.mgt.core.device.details.mgt.dao.DeviceDetailsMgtDAOException;
+import io.entgra.device.mgt.core.device.mgt.core.dto.DeviceInfoUpdateDTO;
+import io.entgra.device.mgt.core.device.mgt.core.dto.DeviceLocationsDTO;
 import io.entgra.device.mgt.core.device.mgt.core.geo.geoHash.GeoHashGenerator;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
@@ -35,9 +37,12 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.StringJoiner;
 
 public class DeviceDetailsDAOImpl implements DeviceDetailsDAO {
 
@@ -542,6 +547,289 @@ public class DeviceDetailsDAOImpl implements DeviceDetailsDAO {
         }
     }
 
+    @Override
+    public void saveDeviceInformation(List<DeviceInfoUpdateDTO> deviceInfoUpdates)
+            throws DeviceDetailsMgtDAOException {
+        List<DeviceInfoUpdateDTO> detailInserts = new ArrayList<>();
+        List<DeviceInfoUpdateDTO> detailUpdates = new ArrayList<>();
+        List<DeviceInfoUpdateDTO> propertyUpdates = new ArrayList<>();
+        for (DeviceInfoUpdateDTO deviceInfoUpdate : deviceInfoUpdates) {
+            if (deviceInfoUpdate.isNewDeviceInfo()) {
+                detailInserts.add(deviceInfoUpdate);
+            } else if (deviceInfoUpdate.hasChanges()) {
+                // the row is written for property changes as well, so that its update timestamp tells any change
+                detailUpdates.add(deviceInfoUpdate);
+            }
+            if (!deviceInfoUpdate.getUpdatedProperties().isEmpty()) {
+                propertyUpdates.add(deviceInfoUpdate);
+            }
+        }
+        long updateTimestamp = Instant.now().toEpochMilli();
+        try {
+            Connection conn = this.getConnection();
+            if (!detailUpdates.isEmpty()) {
+                String sql = "UPDATE DM_DEVICE_DETAIL SET DEVICE_MODEL = ?, VENDOR = ?, " +
+                        "OS_VERSION = ?, OS_BUILD_DATE = ?, BATTERY_LEVEL = ?, INTERNAL_TOTAL_MEMORY = ?, " +
+                        "INTERNAL_AVAILABLE_MEMORY = ?, EXTERNAL_TOTAL_MEMORY = ?, EXTERNAL_AVAILABLE_MEMORY = ?, " +
+                        "CONNECTION_TYPE = ?, SSID = ?, CPU_USAGE = ?, TOTAL_RAM_MEMORY = ?, AVAILABLE_RAM_MEMORY = ?, " +
+                        "PLUGGED_IN = ?, UPDATE_TIMESTAMP = ? WHERE DEVICE_ID = ? AND ENROLMENT_ID = ?";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (DeviceInfoUpdateDTO deviceInfoUpdate : detailUpdates) {
+                        int index = setDeviceInfoParams(stmt, 1, deviceInfoUpdate.getDeviceInfo());
+                        stmt.setLong(index++, updateTimestamp);
+                        stmt.setInt(index++, deviceInfoUpdate.getDeviceId());
+                        stmt.setInt(index, deviceInfoUpdate.getEnrolmentId());
+                        stmt.addBatch();
+                    }
+                    int[] updateCounts = stmt.executeBatch();
+                    for (int i = 0; i < updateCounts.length; i++) {
+                        if (updateCounts[i] == 0) {
+                            detailInserts.add(detailUpdates.get(i));
+                        } else {
+                            detailUpdates.get(i).setUpdateTimestamp(updateTimestamp);
+                        }
+                    }
+                }
+            }
+            if (!detailInserts.isEmpty()) {
+                String sql = "INSERT INTO DM_DEVICE_DETAIL (DEVICE_MODEL, VENDOR, OS_VERSION, OS_BUILD_DATE, " +
+                        "BATTERY_LEVEL, INTERNAL_TOTAL_MEMORY, INTERNAL_AVAILABLE_MEMORY, EXTERNAL_TOTAL_MEMORY, " +
+                        "EXTERNAL_AVAILABLE_MEMORY, CONNECTION_TYPE, SSID, CPU_USAGE, TOTAL_RAM_MEMORY, " +
+                        "AVAILABLE_RAM_MEMORY, PLUGGED_IN, UPDATE_TIMESTAMP, DEVICE_ID, ENROLMENT_ID) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (DeviceInfoUpdateDTO deviceInfoUpdate : detailInserts) {
+                        int index = setDeviceInfoParams(stmt, 1, deviceInfoUpdate.getDeviceInfo());
+                        stmt.setLong(index++, updateTimestamp);
+                        stmt.setInt(index++, deviceInfoUpdate.getDeviceId());
+                        stmt.setInt(index, deviceInfoUpdate.getEnrolmentId());
+                        stmt.addBatch();
+                        deviceInfoUpdate.setUpdateTimestamp(updateTimestamp);
+                    }
+                    stmt.executeBatch();
+                }
+            }
+
+            Map<DeviceInfoUpdateDTO, Map<String, String>> propertyInserts = new HashMap<>();
+            for (DeviceInfoUpdateDTO deviceInfoUpdate : deviceInfoUpdates) {
+                if (!deviceInfoUpdate.getAddedProperties().isEmpty()) {
+                    propertyInserts.put(deviceInfoUpdate, new HashMap<>(deviceInfoUpdate.getAddedProperties()));
+                }
+            }
+            if (!propertyUpdates.isEmpty()) {
+                String sql = "UPDATE DM_DEVICE_INFO SET VALUE_FIELD = ? WHERE DEVICE_ID = ? AND KEY_FIELD = ? " +
+                        "AND ENROLMENT_ID = ?";
+                List<DeviceInfoUpdateDTO> batchOwners = new ArrayList<>();
+                List<String> batchKeys = new ArrayList<>();
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (DeviceInfoUpdateDTO deviceInfoUpdate : propertyUpdates) {
+                        for (Map.Entry<String, String> property : deviceInfoUpdate.getUpdatedProperties().entrySet()) {
+                            stmt.setString(1, property.getValue());
+                            stmt.setInt(2, deviceInfoUpdate.getDeviceId());
+                            stmt.setString(3, property.getKey());
+                            stmt.setInt(4, deviceInfoUpdate.getEnrolmentId());
+                            stmt.addBatch();
+                            batchOwners.add(deviceInfoUpdate);
+                            batchKeys.add(property.getKey());
+                        }
+                    }
+                    int[] updateCounts = stmt.executeBatch();
+                    for (int i = 0; i < updateCounts.length; i++) {
+                        if (updateCounts[i] == 0) {
+                            DeviceInfoUpdateDTO owner = batchOwners.get(i);
+                            propertyInserts.computeIfAbsent(owner, k -> new HashMap<>())
+                                    .put(batchKeys.get(i), owner.getUpdatedProperties().get(batchKeys.get(i)));
+                        }
+                    }
+                }
+            }
+            if (!propertyInserts.isEmpty()) {
+                String sql = "INSERT INTO DM_DEVICE_INFO (DEVICE_ID, KEY_FIELD, VALUE_FIELD, ENROLMENT_ID) " +
+                        "VALUES (?, ?, ?, ?)";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (Map.Entry<DeviceInfoUpdateDTO, Map<String, String>> entry : propertyInserts.entrySet()) {
+                        for (Map.Entry<String, String> property : entry.getValue().entrySet()) {
+                            stmt.setInt(1, entry.getKey().getDeviceId());
+                            stmt.setString(2, property.getKey());
+                            stmt.setString(3, property.getValue());
+                            stmt.setInt(4, entry.getKey().getEnrolmentId());
+                            stmt.addBatch();
+                        }
+                    }
+                    stmt.executeBatch();
+                }
+            }
+        } catch (SQLException e) {
+            throw new DeviceDetailsMgtDAOException("Error occurred while saving device information of "
+                    + deviceInfoUpdates.size() + " enrolments.", e);
+        }
+    }
+
+    @Override
+    public Map<Integer, Long> getDeviceInformationUpdateTimestamps(List<Integer> enrolmentIds)
+            throws DeviceDetailsMgtDAOException {
+        Map<Integer, Long> updateTimestamps = new HashMap<>();
+        if (enrolmentIds.isEmpty()) {
+            return updateTimestamps;
+        }
+        StringJoiner joiner = new StringJoiner(",",
+                "SELECT ENROLMENT_ID, UPDATE_TIMESTAMP FROM DM_DEVICE_DETAIL WHERE ENROLMENT_ID IN (", ")");
+        enrolmentIds.forEach(enrolmentId -> joiner.add("?"));
+        try {
+            Connection conn = this.getConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(joiner.toString())) {
+                int index = 1;
+                for (Integer enrolmentId : enrolmentIds) {
+                    stmt.setInt(index++, enrolmentId);
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        updateTimestamps.put(rs.getInt("ENROLMENT_ID"), rs.getLong("UPDATE_TIMESTAMP"));
+                    }
+                }
+            }
+            return updateTimestamps;
+        } catch (SQLException e) {
+            throw new DeviceDetailsMgtDAOException("Error occurred while fetching the update timestamps of the "
+                    + "device information of " + enrolmentIds.size() + " enrolments.", e);
+        }
+    }
+
+    @Override
+    public void saveDeviceLocations(List<DeviceLocationsDTO> deviceLocations) throws DeviceDetailsMgtDAOException {
+        if (deviceLocations.isEmpty()) {
+            return;
+        }
+        long currentTime = DeviceManagementDAOUtil.getCurrentUTCTime() * 1000L;
+        List<DeviceLocationsDTO> locationInserts = new ArrayList<>();
+        try {
+            Connection conn = this.getConnection();
+            String sql = "UPDATE DM_DEVICE_LOCATION SET LATITUDE = ?, LONGITUDE = ?, " +
+                    "STREET1 = ?, STREET2 = ?, CITY = ?, ZIP = ?, STATE = ?, COUNTRY = ?, GEO_HASH = ?, " +
+                    "UPDATE_TIMESTAMP = ? WHERE DEVICE_ID = ? AND ENROLMENT_ID = ?";
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (DeviceLocationsDTO locations : deviceLocations) {
+                    DeviceLocation location = locations.getLatestLocation();
+                    removeInvalidZip(location, locations.getDevice().getEnrolmentInfo().getId());
+                    stmt.setDouble(1, location.getLatitude());
+                    stmt.setDouble(2, location.getLongitude());
+                    stmt.setString(3, location.getStreet1());
+                    stmt.setString(4, location.getStreet2());
+                    stmt.setString(5, location.getCity());
+                    stmt.setString(6, location.getZip());
+                    stmt.setString(7, location.getState());
+                    stmt.setString(8, location.getCountry());
+                    stmt.setString(9, locations.getLatestGeoHash());
+                    stmt.setLong(10, currentTime);
+                    stmt.setInt(11, locations.getDevice().getId());
+                    stmt.setInt(12, locations.getDevice().getEnrolmentInfo().getId());
+                    stmt.addBatch();
+                }
+                int[] updateCounts = stmt.executeBatch();
+                for (int i = 0; i < updateCounts.length; i++) {
+                    if (updateCounts[i] == 0) {
+                        locationInserts.add(deviceLocations.get(i));
+                    }
+                }
+            }
+            if (!locationInserts.isEmpty()) {
+                sql = "INSERT INTO DM_DEVICE_LOCATION (DEVICE_ID, LATITUDE, LONGITUDE, STREET1, " +
+                        "STREET2, CITY, ZIP, STATE, COUNTRY, GEO_HASH, UPDATE_TIMESTAMP, ENROLMENT_ID, ALTITUDE, " +
+                        "SPEED, BEARING, DISTANCE) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (DeviceLocationsDTO locations : locationInserts) {
+                        DeviceLocation location = locations.getLatestLocation();
+                        stmt.setInt(1, locations.getDevice().getId());
+                        stmt.setDouble(2, location.getLatitude());
+                        stmt.setDouble(3, location.getLongitude());
+                        stmt.setString(4, location.getStreet1());
+                        stmt.setString(5, location.getStreet2());
+                        stmt.setString(6, location.getCity());
+                        stmt.setString(7, location.getZip());
+                        stmt.setString(8, location.getState());
+                        stmt.setString(9, location.getCountry());
+                        stmt.setString(10, locations.getLatestGeoHash());
+                        if (location.getUpdatedTime() == null) {
+                            stmt.setLong(11, currentTime);
+                        } else {
+                            stmt.setLong(11, DeviceManagementDAOUtil.convertLocalTimeIntoUTC(
+                                    location.getUpdatedTime()) * 1000L);
+                        }
+                        stmt.setInt(12, locations.getDevice().getEnrolmentInfo().getId());
+                        stmt.setDouble(13, location.getAltitude());
+                        stmt.setFloat(14, location.getSpeed());
+                        stmt.setFloat(15, location.getBearing());
+                        stmt.setDouble(16, location.getDistance());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+            }
+            sql = "INSERT INTO DM_DEVICE_HISTORY_LAST_SEVEN_DAYS " +
+                    "(DEVICE_ID, DEVICE_ID_NAME, TENANT_ID, DEVICE_TYPE_NAME, LATITUDE, LONGITUDE, SPEED, HEADING, " +
+                    "TIMESTAMP, GEO_HASH, DEVICE_OWNER, DEVICE_ALTITUDE, DISTANCE) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (DeviceLocationsDTO locations : deviceLocations) {
+                    Device device = locations.getDevice();
+                    for (int i = 0; i < locations.getLocations().size(); i++) {
+                        DeviceLocation location = locations.getLocations().get(i);
+                        stmt.setInt(1, device.getId());
+                        stmt.setString(2, device.getDeviceIdentifier());
+                        stmt.setInt(3, locations.getTenantId());
+                        stmt.setString(4, device.getType());
+                        stmt.setDouble(5, location.getLatitude());
+                        stmt.setDouble(6, location.getLongitude());
+                        stmt.setFloat(7, location.getSpeed());
+                        stmt.setFloat(8, location.getBearing());
+                        if (location.getUpdatedTime() == null) {
+                            stmt.setLong(9, System.currentTimeMillis());
+                        } else {
+                            stmt.setLong(9, location.getUpdatedTime().getTime());
+                        }
+                        stmt.setString(10, locations.getGeoHashes()[i]);
+                        stmt.setString(11, device.getEnrolmentInfo().getOwner());
+                        stmt.setDouble(12, location.getAltitude());
+                        stmt.setDouble(13, location.getDistance());
+                        stmt.addBatch();
+                    }
+                }
+                stmt.executeBatch();
+            }
+        } catch (SQLException e) {
+            String msg = "Error occurred while saving the locations of " + deviceLocations.size() + " devices.";
+            log.error(msg, e);
+            throw new DeviceDetailsMgtDAOException(msg, e);
+        }
+    }
+
+    private void removeInvalidZip(DeviceLocation deviceLocation, int enrollmentId) {
+        if (StringUtils.isNotBlank(deviceLocation.getZip()) && deviceLocation.getZip().length() > 10) {
+            log.error("Saving unusually long zip " + deviceLocation.getZip() + ", deviceId:"
+                    + deviceLocation.getDeviceId() + ", enrollmentId:" + enrollmentId);
+            deviceLocation.setZip(null);
+        }
+    }
+
+    private int setDeviceInfoParams(PreparedStatement stmt, int index, DeviceInfo deviceInfo) throws SQLException {
+        stmt.setString(index++, deviceInfo.getDeviceModel());
+        stmt.setString(index++, deviceInfo.getVendor());
+        stmt.setString(index++, deviceInfo.getOsVersion());
+        stmt.setString(index++, deviceInfo.getOsBuildDate());
+        stmt.setDouble(index++, deviceInfo.getBatteryLevel());
+        stmt.setDouble(index++, deviceInfo.getInternalTotalMemory());
+        stmt.setDouble(index++, deviceInfo.getInternalAvailableMemory());
+        stmt.setDouble(index++, deviceInfo.getExternalTotalMemory());
+        stmt.setDouble(index++, deviceInfo.getExternalAvailableMemory());
+        stmt.setString(index++, deviceInfo.getConnectionType());
+        stmt.setString(index++, deviceInfo.getSsid());
+        stmt.setDouble(index++, deviceInfo.getCpuUsage());
+        stmt.setDouble(index++, deviceInfo.getTotalRAMMemory());
+        stmt.setDouble(index++, deviceInfo.getAvailableRAMMemory());
+        stmt.setBoolean(index++, deviceInfo.isPluggedIn());
+        return index;
+    }
+
     private Connection getConnection() throws SQLException {
         return DeviceManagementDAOFactory.getConnection();
     }
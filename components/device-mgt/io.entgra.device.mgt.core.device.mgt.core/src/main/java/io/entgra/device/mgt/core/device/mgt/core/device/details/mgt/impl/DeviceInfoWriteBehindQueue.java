@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.device.details.mgt.impl;
+
+import io.entgra.device.mgt.core.device.mgt.common.Device;
+import io.entgra.device.mgt.core.device.mgt.common.device.details.DeviceInfo;
+import io.entgra.device.mgt.core.device.mgt.core.DeviceManagementConstants;
+import io.entgra.device.mgt.core.device.mgt.core.device.details.mgt.DeviceDetailsMgtException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Coalesces device information reported by devices and hands it over to a {@link Flusher} in batches. Only the
+ * latest report of an enrolment is kept while it waits for the next flush; values missing in the latest report are
+ * taken from the earlier ones. Pending reports are flushed when the queue is shut down.
+ */
+class DeviceInfoWriteBehindQueue {
+
+    private static final Log log = LogFactory.getLog(DeviceInfoWriteBehindQueue.class);
+
+    private final ConcurrentHashMap<Integer, PendingDeviceInfo> pendingDeviceInfo = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flushExecutor;
+    private final Flusher flusher;
+    private final int batchSize;
+    private final int maxPendingUpdates;
+    /**
+     * Offers hold the read lock while they queue a report and the shutdown holds the write lock while it sets the
+     * shutdown flag. Hence, a report is either queued before the final flush or rejected and written by the caller.
+     */
+    private final ReadWriteLock shutdownLock = new ReentrantReadWriteLock();
+    private boolean isShutdown;
+
+    interface Flusher {
+        void flush(List<PendingDeviceInfo> batch) throws DeviceDetailsMgtException;
+    }
+
+    DeviceInfoWriteBehindQueue(Flusher flusher, int flushIntervalMills, int batchSize, int maxPendingUpdates) {
+        this.flusher = flusher;
+        this.batchSize = batchSize > 0 ? batchSize : DeviceManagementConstants.DeviceInfoWriteBehind.DEFAULT_BATCH_SIZE;
+        this.maxPendingUpdates = maxPendingUpdates > 0 ? maxPendingUpdates :
+                DeviceManagementConstants.DeviceInfoWriteBehind.DEFAULT_MAX_PENDING_UPDATES;
+        long interval = flushIntervalMills > 0 ? flushIntervalMills :
+                DeviceManagementConstants.DeviceInfoWriteBehind.DEFAULT_FLUSH_INTERVAL_MILLS;
+        this.flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "device-info-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flushExecutor.scheduleWithFixedDelay(this::flushPending, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues the device information to be written with the next flush.
+     *
+     * @return false if the queue is full or shut down, in which case the caller has to write the information itself.
+     */
+    boolean offer(Device device, DeviceInfo deviceInfo, int tenantId) {
+        int enrolmentId = device.getEnrolmentInfo().getId();
+        Lock offerLock = shutdownLock.readLock();
+        offerLock.lock();
+        try {
+            if (isShutdown || (pendingDeviceInfo.size() >= maxPendingUpdates &&
+                    !pendingDeviceInfo.containsKey(enrolmentId))) {
+                return false;
+            }
+            pendingDeviceInfo.merge(enrolmentId, new PendingDeviceInfo(device, deviceInfo, tenantId),
+                    (previous, latest) -> latest.coalesce(previous));
+            return true;
+        } finally {
+            offerLock.unlock();
+        }
+    }
+
+    int getPendingCount() {
+        return pendingDeviceInfo.size();
+    }
+
+    /**
+     * Stops the periodic flush and writes all the pending device information before returning.
+     */
+    void shutdown() {
+        Lock shutdownFlagLock = shutdownLock.writeLock();
+        shutdownFlagLock.lock();
+        try {
+            isShutdown = true;
+        } finally {
+            shutdownFlagLock.unlock();
+        }
+        flushExecutor.shutdown();
+        try {
+            if (!flushExecutor.awaitTermination(DeviceManagementConstants.DeviceInfoWriteBehind
+                    .SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Device info flush did not complete within the shutdown timeout");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushPending();
+        if (!pendingDeviceInfo.isEmpty()) {
+            log.error("Unable to write device information of " + pendingDeviceInfo.size() +
+                    " enrolments during shutdown");
+        }
+    }
+
+    private synchronized void flushPending() {
+        try {
+            while (!pendingDeviceInfo.isEmpty()) {
+                List<PendingDeviceInfo> batch = new ArrayList<>(batchSize);
+                Iterator<Integer> iterator = pendingDeviceInfo.keySet().iterator();
+                while (batch.size() < batchSize && iterator.hasNext()) {
+                    PendingDeviceInfo pending = pendingDeviceInfo.remove(iterator.next());
+                    if (pending != null) {
+                        batch.add(pending);
+                    }
+                }
+                if (!writeBatch(batch)) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Error occurred while flushing device information", e);
+        }
+    }
+
+    /**
+     * @return false if the batch could not be written and was put back to the queue.
+     */
+    private boolean writeBatch(List<PendingDeviceInfo> batch) {
+        try {
+            flusher.flush(batch);
+            return true;
+        } catch (DeviceDetailsMgtException e) {
+            log.error("Error occurred while writing device information of " + batch.size() + " enrolments", e);
+            for (PendingDeviceInfo pending : batch) {
+                if (++pending.attempts < DeviceManagementConstants.DeviceInfoWriteBehind.MAX_FLUSH_ATTEMPTS) {
+                    pendingDeviceInfo.merge(pending.getDevice().getEnrolmentInfo().getId(), pending,
+                            (latest, failed) -> latest.coalesce(failed));
+                } else {
+                    log.error("Discarding device information of device '" + pending.getDevice()
+                            .getDeviceIdentifier() + "' after " + pending.attempts + " failed attempts");
+                }
+            }
+            return false;
+        }
+    }
+
+    static final class PendingDeviceInfo {
+        private final Device device;
+        private final DeviceInfo deviceInfo;
+        private final int tenantId;
+        private int attempts;
+
+        private PendingDeviceInfo(Device device, DeviceInfo deviceInfo, int tenantId) {
+            this.device = device;
+            this.deviceInfo = deviceInfo;
+            this.tenantId = tenantId;
+        }
+
+        Device getDevice() {
+            return device;
+        }
+
+        DeviceInfo getDeviceInfo() {
+            return deviceInfo;
+        }
+
+        int getTenantId() {
+            return tenantId;
+        }
+
+        private PendingDeviceInfo coalesce(PendingDeviceInfo previous) {
+            DeviceInformationManagerImpl.processDeviceInfo(previous.deviceInfo, deviceInfo);
+            attempts = Math.max(attempts, previous.attempts);
+            return this;
+        }
+    }
+}
@@ -35,6 +35,10 @@ import io.entgra.device.mgt.core.device.mgt.common.exceptions.TransactionManagem
 import io.entgra.device.mgt.core.device.mgt.common.group.mgt.DeviceGroup;
 import io.entgra.device.mgt.core.device.mgt.common.group.mgt.GroupManagementException;
 import io.entgra.device.mgt.core.device.mgt.core.DeviceManagementConstants;
+import io.entgra.device.mgt.core.device.mgt.core.config.DeviceConfigurationManager;
+import io.entgra.device.mgt.core.device.mgt.core.config.DeviceManagementConfig;
+import io.entgra.device.mgt.core.device.mgt.core.config.details.DeviceInfoWriteBehindConfiguration;
+import io.entgra.device.mgt.core.device.mgt.core.config.geo.location.LocationIngestionConfiguration;
 import io.entgra.device.mgt.core.device.mgt.core.dao.DeviceDAO;
 import io.entgra.device.mgt.core.device.mgt.core.dao.DeviceManagementDAOException;
 import io.entgra.device.mgt.core.device.mgt.core.dao.DeviceManagementDAOFactory;
@@ -42,6 +46,12 @@ import io.entgra.device.mgt.core.device.mgt.core.device.details.mgt.DeviceDetail
 import io.entgra.device.mgt.core.device.mgt.core.device.details.mgt.DeviceInformationManager;
 import io.entgra.device.mgt.core.device.mgt.core.device.details.mgt.dao.DeviceDetailsDAO;
 import io.entgra.device.mgt.core.device.mgt.core.device.details.mgt.dao.DeviceDetailsMgtDAOException;
+import io.entgra.device.mgt.core.device.mgt.core.device.details.mgt.impl.DeviceInfoWriteBehindQueue.PendingDeviceInfo;
+import io.entgra.device.mgt.core.device.mgt.core.device.details.mgt.impl.DeviceLocationIngestionQueue.PendingDeviceLocations;
+import io.entgra.device.mgt.core.device.mgt.core.dto.DeviceInfoUpdateDTO;
+import io.entgra.device.mgt.core.device.mgt.core.dto.DeviceLocationsDTO;
+import io.entgra.device.mgt.core.device.mgt.core.geo.cluster.GeoClusterIndex;
+import io.entgra.device.mgt.core.device.mgt.core.geo.geoHash.GeoHashGenerator;
 import io.entgra.device.mgt.core.device.mgt.core.internal.DeviceManagementDataHolder;
 import io.entgra.device.mgt.core.device.mgt.core.report.mgt.Constants;
 import io.entgra.device.mgt.core.device.mgt.core.service.GroupManagementProviderService;
@@ -51,10 +61,16 @@ import org.wso2.carbon.user.api.UserStoreException;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
@@ -66,9 +82,48 @@ public class DeviceInformationManagerImpl implements DeviceInformationManager {
     private static final String LOCATION_EVENT_STREAM_DEFINITION = "org.wso2.iot.LocationStream";
     private static final String DEVICE_INFO_EVENT_STREAM_DEFINITION = "org.wso2.iot.DeviceInfoStream";
 
+    private final DeviceInfoWriteBehindQueue deviceInfoWriteBehindQueue;
+    private final Map<Integer, DeviceInfoSnapshot> deviceInfoSnapshots;
+    private final long snapshotExpiryMillis;
+    private final DeviceLocationIngestionQueue deviceLocationIngestionQueue;
+
     public DeviceInformationManagerImpl() {
         this.deviceDAO = DeviceManagementDAOFactory.getDeviceDAO();
         this.deviceDetailsDAO = DeviceManagementDAOFactory.getDeviceDetailsDAO();
+        DeviceManagementConfig config = DeviceConfigurationManager.getInstance().getDeviceManagementConfig();
+        DeviceInfoWriteBehindConfiguration writeBehindConfig = config != null ?
+                config.getDeviceInfoWriteBehindConfiguration() : null;
+        if (writeBehindConfig != null && writeBehindConfig.isEnabled()) {
+            int snapshotCapacity = writeBehindConfig.getSnapshotCapacity() > 0 ? writeBehindConfig
+                    .getSnapshotCapacity() : DeviceManagementConstants.DeviceInfoWriteBehind.DEFAULT_SNAPSHOT_CAPACITY;
+            this.deviceInfoSnapshots = Collections.synchronizedMap(
+                    new LinkedHashMap<Integer, DeviceInfoSnapshot>(16, 0.75f, true) {
+                        @Override
+                        protected boolean removeEldestEntry(Map.Entry<Integer, DeviceInfoSnapshot> eldest) {
+                            return size() > snapshotCapacity;
+                        }
+                    });
+            this.snapshotExpiryMillis = TimeUnit.SECONDS.toMillis(writeBehindConfig.getSnapshotExpiryTime() > 0 ?
+                    writeBehindConfig.getSnapshotExpiryTime() :
+                    DeviceManagementConstants.DeviceInfoWriteBehind.DEFAULT_SNAPSHOT_EXPIRY_TIME);
+            this.deviceInfoWriteBehindQueue = new DeviceInfoWriteBehindQueue(this::persistDeviceInfo,
+                    writeBehindConfig.getFlushIntervalMills(), writeBehindConfig.getBatchSize(),
+                    writeBehindConfig.getMaxPendingUpdates());
+        } else {
+            this.deviceInfoSnapshots = null;
+            this.snapshotExpiryMillis = 0;
+            this.deviceInfoWriteBehindQueue = null;
+        }
+        LocationIngestionConfiguration locationIngestionConfig = config != null ?
+                config.getLocationIngestionConfiguration() : null;
+        if (locationIngestionConfig != null && locationIngestionConfig.isEnabled()) {
+            this.deviceLocationIngestionQueue = new DeviceLocationIngestionQueue(this::persistDeviceLocations,
+                    locationIngestionConfig.getFlushIntervalMills(), locationIngestionConfig.getBatchSize(),
+                    locationIngestionConfig.getMaxPendingLocations(),
+                    locationIngestionConfig.getMaxLocationsPerDevice());
+        } else {
+            this.deviceLocationIngestionQueue = null;
+        }
     }
 
     @Override
@@ -92,6 +147,16 @@ public class DeviceInformationManagerImpl implements DeviceInformationManager {
             //Asynchronous call to publish the device information to the reporting service. Hence, response is ignored.
             publishEvents(device, deviceDetailsWrapper, DeviceManagementConstants.Report.DEVICE_INFO_PARAM);
 
+            if (deviceInfoWriteBehindQueue != null) {
+                if (deviceInfoWriteBehindQueue.offer(device, deviceInfo,
+                        CarbonContext.getThreadLocalCarbonContext().getTenantId())) {
+                    return;
+                }
+                //queue is full or shut down, hence the information is written directly and the snapshot is no
+                //longer valid
+                deviceInfoSnapshots.remove(device.getEnrolmentInfo().getId());
+            }
+
             DeviceManagementDAOFactory.beginTransaction();
             DeviceInfo newDeviceInfo;
             DeviceInfo previousDeviceInfo = deviceDetailsDAO.getDeviceInformation(device.getId(),
@@ -200,6 +265,176 @@ public class DeviceInformationManagerImpl implements DeviceInformationManager {
         }
     }
 
+    /**
+     * Writes a batch of coalesced device information in a single transaction. Each report is compared with the
+     * last written snapshot of the enrolment and only the changed values are written. A snapshot is used only if the
+     * update timestamp of the persisted device information is still the one the snapshot was taken at, hence the
+     * values written by the other nodes are loaded from the database.
+     *
+     * @param batch coalesced device information, one entry per enrolment.
+     * @throws DeviceDetailsMgtException if the batch could not be written.
+     */
+    void persistDeviceInfo(List<PendingDeviceInfo> batch) throws DeviceDetailsMgtException {
+        List<DeviceInfoUpdateDTO> deviceInfoUpdates = new ArrayList<>();
+        List<DeviceInfoUpdateDTO> processedUpdates = new ArrayList<>();
+        Map<Integer, List<Integer>> updatedDeviceIds = new HashMap<>();
+        Map<Integer, Map<String, String>> writtenProperties = new HashMap<>();
+        long now = System.currentTimeMillis();
+        try {
+            DeviceManagementDAOFactory.beginTransaction();
+            Map<Integer, DeviceInfoSnapshot> snapshots = new HashMap<>();
+            for (PendingDeviceInfo pending : batch) {
+                int enrolmentId = pending.getDevice().getEnrolmentInfo().getId();
+                DeviceInfoSnapshot snapshot = deviceInfoSnapshots.get(enrolmentId);
+                if (snapshot != null && snapshot.expiryTime > now) {
+                    snapshots.put(enrolmentId, snapshot);
+                }
+            }
+            Map<Integer, Long> updateTimestamps = deviceDetailsDAO.getDeviceInformationUpdateTimestamps(
+                    new ArrayList<>(snapshots.keySet()));
+            for (PendingDeviceInfo pending : batch) {
+                Device device = pending.getDevice();
+                int enrolmentId = device.getEnrolmentInfo().getId();
+                DeviceInfo deviceInfo = pending.getDeviceInfo();
+                DeviceInfo previousDeviceInfo;
+                Map<String, String> previousDeviceProperties;
+                long previousUpdateTimestamp = 0;
+                DeviceInfoSnapshot snapshot = snapshots.get(enrolmentId);
+                Long updateTimestamp = updateTimestamps.get(enrolmentId);
+                if (snapshot != null && updateTimestamp != null && snapshot.updateTimestamp == updateTimestamp) {
+                    previousDeviceInfo = snapshot.deviceInfo;
+                    previousDeviceProperties = snapshot.deviceProperties;
+                    previousUpdateTimestamp = snapshot.updateTimestamp;
+                } else {
+                    previousDeviceInfo = deviceDetailsDAO.getDeviceInformation(device.getId(), enrolmentId);
+                    previousDeviceProperties = deviceDetailsDAO.getDeviceProperties(device.getId(), enrolmentId);
+                    if (previousDeviceInfo != null && previousDeviceInfo.getUpdatedTime() != null) {
+                        previousUpdateTimestamp = previousDeviceInfo.getUpdatedTime().getTime();
+                    }
+                }
+
+                DeviceInfoUpdateDTO deviceInfoUpdate = new DeviceInfoUpdateDTO();
+                deviceInfoUpdate.setDeviceId(device.getId());
+                deviceInfoUpdate.setEnrolmentId(enrolmentId);
+                deviceInfoUpdate.setUpdateTimestamp(previousUpdateTimestamp);
+                DeviceInfo newDeviceInfo;
+                if (previousDeviceInfo != null) {
+                    previousDeviceInfo.setDeviceDetailsMap(new HashMap<>());
+                    newDeviceInfo = processDeviceInfo(previousDeviceInfo, deviceInfo);
+                    deviceInfoUpdate.setDeviceInfoChanged(isDeviceInfoChanged(previousDeviceInfo, newDeviceInfo));
+                } else {
+                    newDeviceInfo = deviceInfo;
+                    deviceInfoUpdate.setNewDeviceInfo(true);
+                }
+                deviceInfoUpdate.setDeviceInfo(newDeviceInfo);
+                if (previousDeviceProperties.isEmpty()) {
+                    deviceInfoUpdate.getAddedProperties().putAll(newDeviceInfo.getDeviceDetailsMap());
+                } else {
+                    addOSVersionValue(device, newDeviceInfo);
+                    for (Map.Entry<String, String> property : newDeviceInfo.getDeviceDetailsMap().entrySet()) {
+                        if (previousDeviceProperties.containsKey(property.getKey())) {
+                            String val = previousDeviceProperties.get(property.getKey());
+                            if (val != null && !val.equals(property.getValue())) {
+                                deviceInfoUpdate.getUpdatedProperties().put(property.getKey(), property.getValue());
+                            }
+                        } else {
+                            deviceInfoUpdate.getAddedProperties().put(property.getKey(), property.getValue());
+                        }
+                    }
+                }
+                if (deviceInfoUpdate.hasChanges()) {
+                    deviceInfoUpdates.add(deviceInfoUpdate);
+                }
+                processedUpdates.add(deviceInfoUpdate);
+                Map<String, String> deviceProperties = new HashMap<>(previousDeviceProperties);
+                deviceProperties.putAll(deviceInfoUpdate.getAddedProperties());
+                deviceProperties.putAll(deviceInfoUpdate.getUpdatedProperties());
+                writtenProperties.put(enrolmentId, deviceProperties);
+
+                String name = deviceInfo.getDeviceDetailsMap().get(DeviceManagementConstants.Payload
+                        .DEVICE_INFO_DEVICE_NAME);
+                if (StringUtils.isNotEmpty(name) && !name.equals(device.getName())) {
+                    log.info("Device identifier " + device.getDeviceIdentifier() + ", Device name " +
+                            "changed by user from " + device.getName() + " to " + name);
+                    device.setName(name);
+                    deviceDAO.updateDevice(device, pending.getTenantId());
+                } else {
+                    updatedDeviceIds.computeIfAbsent(pending.getTenantId(), k -> new ArrayList<>())
+                            .add(device.getId());
+                }
+            }
+            deviceDetailsDAO.saveDeviceInformation(deviceInfoUpdates);
+            for (Map.Entry<Integer, List<Integer>> tenantDevices : updatedDeviceIds.entrySet()) {
+                deviceDAO.recordDeviceUpdates(tenantDevices.getValue(), tenantDevices.getKey());
+            }
+            DeviceManagementDAOFactory.commitTransaction();
+            for (DeviceInfoUpdateDTO deviceInfoUpdate : processedUpdates) {
+                deviceInfoSnapshots.put(deviceInfoUpdate.getEnrolmentId(), new DeviceInfoSnapshot(
+                        deviceInfoUpdate.getDeviceInfo(), writtenProperties.get(deviceInfoUpdate.getEnrolmentId()),
+                        deviceInfoUpdate.getUpdateTimestamp(), now + snapshotExpiryMillis));
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Device information of " + batch.size() + " enrolments processed and changes of "
+                        + deviceInfoUpdates.size() + " enrolments written");
+            }
+        } catch (TransactionManagementException e) {
+            throw new DeviceDetailsMgtException("Transactional error occurred while writing device information.", e);
+        } catch (DeviceDetailsMgtDAOException e) {
+            DeviceManagementDAOFactory.rollbackTransaction();
+            removeSnapshots(batch);
+            throw new DeviceDetailsMgtException("Error occurred while writing device information.", e);
+        } catch (DeviceManagementDAOException e) {
+            DeviceManagementDAOFactory.rollbackTransaction();
+            removeSnapshots(batch);
+            throw new DeviceDetailsMgtException("Error occurred while updating the last update timestamp of the " +
+                    "devices", e);
+        } finally {
+            DeviceManagementDAOFactory.closeConnection();
+        }
+    }
+
+    /**
+     * Writes the device information and locations which are waiting to be flushed. Invoked when the service is
+     * shutting down.
+     */
+    public void shutdown() {
+        if (deviceInfoWriteBehindQueue != null) {
+            deviceInfoWriteBehindQueue.shutdown();
+        }
+        if (deviceLocationIngestionQueue != null) {
+            deviceLocationIngestionQueue.shutdown();
+        }
+    }
+
+    private void removeSnapshots(List<PendingDeviceInfo> batch) {
+        for (PendingDeviceInfo pending : batch) {
+            deviceInfoSnapshots.remove(pending.getDevice().getEnrolmentInfo().getId());
+        }
+    }
+
+    private boolean isDeviceInfoChanged(DeviceInfo previousDeviceInfo, DeviceInfo newDeviceInfo) {
+        return !Objects.equals(previousDeviceInfo.getDeviceModel(), newDeviceInfo.getDeviceModel())
+                || !Objects.equals(previousDeviceInfo.getVendor(), newDeviceInfo.getVendor())
+                || !Objects.equals(previousDeviceInfo.getOsVersion(), newDeviceInfo.getOsVersion())
+                || !Objects.equals(previousDeviceInfo.getOsBuildDate(), newDeviceInfo.getOsBuildDate())
+                || !Objects.equals(previousDeviceInfo.getBatteryLevel(), newDeviceInfo.getBatteryLevel())
+                || !Objects.equals(previousDeviceInfo.getInternalTotalMemory(),
+                newDeviceInfo.getInternalTotalMemory())
+                || !Objects.equals(previousDeviceInfo.getInternalAvailableMemory(),
+                newDeviceInfo.getInternalAvailableMemory())
+                || !Objects.equals(previousDeviceInfo.getExternalTotalMemory(),
+                newDeviceInfo.getExternalTotalMemory())
+                || !Objects.equals(previousDeviceInfo.getExternalAvailableMemory(),
+                newDeviceInfo.getExternalAvailableMemory())
+                || !Objects.equals(previousDeviceInfo.getConnectionType(), newDeviceInfo.getConnectionType())
+                || !Objects.equals(previousDeviceInfo.getSsid(), newDeviceInfo.getSsid())
+                || !Objects.equals(previousDeviceInfo.getCpuUsage(), newDeviceInfo.getCpuUsage())
+                || !Objects.equals(previousDeviceInfo.getTotalRAMMemory(), newDeviceInfo.getTotalRAMMemory())
+                || !Objects.equals(previousDeviceInfo.getAvailableRAMMemory(),
+                newDeviceInfo.getAvailableRAMMemory())
+                || previousDeviceInfo.isPluggedIn() != newDeviceInfo.isPluggedIn();
+    }
+
     public int publishEvents(String deviceId, String deviceType, String payload, String eventType)
             throws DeviceDetailsMgtException {
 
@@ -212,12 +447,9 @@ public class DeviceInformationManagerImpl implements DeviceInformationManager {
             deviceDetailsWrapper.setEvents(payload);
             Future<Integer> apiCallback = publishEvents(device, deviceDetailsWrapper, eventType);
             if (null != apiCallback) {
-                boolean isDebugEnabled = log.isDebugEnabled();
-                while(!apiCallback.isDone()) {
-                    if (isDebugEnabled) {
-                        log.debug("Waiting for the response from the API for the reporting data " +
-                                "publishing for the device " + deviceId + ". Event payload: " + payload);
-                    }
+                if (log.isDebugEnabled()) {
+                    log.debug("Waiting for the response from the API for the reporting data " +
+                            "publishing for the device " + deviceId + ". Event payload: " + payload);
                 }
                 return apiCallback.get();
             }
@@ -283,8 +515,7 @@ public class DeviceInformationManagerImpl implements DeviceInformationManager {
 
                 String eventUrl = reportingHost + DeviceManagementConstants.Report
                         .REPORTING_CONTEXT + DeviceManagementConstants.URL_SEPERATOR + eventType;
-                ReportingPublisherManager reportingManager = new ReportingPublisherManager();
-                return reportingManager.publishData(deviceDetailsWrapper, eventUrl);
+                return ReportingPublisherManager.getInstance().publishData(deviceDetailsWrapper, eventUrl);
             } catch (GroupManagementException e) {
                 log.error("Error occurred while getting group list", e);
             } catch (UserStoreException e) {
@@ -403,6 +634,12 @@ public class DeviceInformationManagerImpl implements DeviceInformationManager {
 
     @Override
     public void addDeviceLocation(Device device, DeviceLocation deviceLocation) throws DeviceDetailsMgtException {
+        if (!offerDeviceLocations(device, Collections.singletonList(deviceLocation))) {
+            writeDeviceLocation(device, deviceLocation);
+        }
+    }
+
+    private void writeDeviceLocation(Device device, DeviceLocation deviceLocation) throws DeviceDetailsMgtException {
         try {
             deviceLocation.setDeviceId(device.getId());
             DeviceManagementDAOFactory.beginTransaction();
@@ -443,6 +680,10 @@ public class DeviceInformationManagerImpl implements DeviceInformationManager {
                 }
             }
             DeviceManagementDAOFactory.commitTransaction();
+            if (!HttpReportingUtil.isLocationPublishing() || !HttpReportingUtil.isTrackerEnabled()) {
+                GeoClusterIndex.getInstance().updateLocation(device, deviceLocation,
+                        CarbonContext.getThreadLocalCarbonContext().getTenantId());
+            }
         } catch (TransactionManagementException e) {
             throw new DeviceDetailsMgtException("Transactional error occurred while adding the device location " +
                     "information.", e);
@@ -491,6 +732,16 @@ public class DeviceInformationManagerImpl implements DeviceInformationManager {
 
     @Override
     public void addDeviceLocations(Device device, List<DeviceLocation> deviceLocations) throws DeviceDetailsMgtException {
+        if (deviceLocations == null || deviceLocations.isEmpty()) {
+            return;
+        }
+        if (!offerDeviceLocations(device, deviceLocations)) {
+            writeDeviceLocations(device, deviceLocations);
+        }
+    }
+
+    private void writeDeviceLocations(Device device, List<DeviceLocation> deviceLocations)
+            throws DeviceDetailsMgtException {
         try {
             DeviceLocation mostRecentDeviceLocation = deviceLocations.get(deviceLocations.size()  - 1);
             mostRecentDeviceLocation.setDeviceId(device.getId());
@@ -525,6 +776,10 @@ public class DeviceInformationManagerImpl implements DeviceInformationManager {
             }
 
             DeviceManagementDAOFactory.commitTransaction();
+            if (!HttpReportingUtil.isTrackerEnabled()) {
+                GeoClusterIndex.getInstance().updateLocation(device, mostRecentDeviceLocation,
+                        CarbonContext.getThreadLocalCarbonContext().getTenantId());
+            }
         } catch (TransactionManagementException e) {
             throw new DeviceDetailsMgtException("Transactional error occurred while adding the device location " +
                     "information.", e);
@@ -536,6 +791,96 @@ public class DeviceInformationManagerImpl implements DeviceInformationManager {
         }
     }
 
+    /**
+     * Queues the device locations to be written in the background together with the locations of other devices.
+     *
+     * @return false if the locations have to be written directly, since asynchronous ingestion is disabled, the
+     * locations are to be sent to the tracker, a location has no coordinates or the queue is full.
+     */
+    private boolean offerDeviceLocations(Device device, List<DeviceLocation> deviceLocations) {
+        if (deviceLocationIngestionQueue == null || HttpReportingUtil.isTrackerEnabled()) {
+            return false;
+        }
+        for (DeviceLocation deviceLocation : deviceLocations) {
+            if (deviceLocation.getLatitude() == null || deviceLocation.getLongitude() == null) {
+                return false;
+            }
+        }
+        for (DeviceLocation deviceLocation : deviceLocations) {
+            deviceLocation.setDeviceId(device.getId());
+            if (deviceLocation.getUpdatedTime() == null) {
+                deviceLocation.setUpdatedTime(new Date());
+            }
+        }
+        if (deviceLocationIngestionQueue.offer(device, deviceLocations,
+                CarbonContext.getThreadLocalCarbonContext().getTenantId())) {
+            return true;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Location ingestion queue is full, writing the locations of device '" +
+                    device.getDeviceIdentifier() + "' synchronously");
+        }
+        return false;
+    }
+
+    /**
+     * Writes a batch of queued device locations in a single transaction. Geohashes of all the locations in the
+     * batch are computed in one pass before the write.
+     *
+     * @param batch locations of the devices to be written
+     * @throws DeviceDetailsMgtException if the batch could not be written
+     */
+    void persistDeviceLocations(List<PendingDeviceLocations> batch) throws DeviceDetailsMgtException {
+        List<List<DeviceLocation>> locationsOfDevices = new ArrayList<>(batch.size());
+        int locationCount = 0;
+        for (PendingDeviceLocations pending : batch) {
+            List<DeviceLocation> locations = pending.getLocations();
+            locationsOfDevices.add(locations);
+            locationCount += locations.size();
+        }
+        double[] latitudes = new double[locationCount];
+        double[] longitudes = new double[locationCount];
+        int index = 0;
+        for (List<DeviceLocation> locations : locationsOfDevices) {
+            for (DeviceLocation location : locations) {
+                latitudes[index] = location.getLatitude();
+                longitudes[index++] = location.getLongitude();
+            }
+        }
+        String[] geoHashes = GeoHashGenerator.encodeGeohashes(latitudes, longitudes);
+
+        List<DeviceLocationsDTO> deviceLocations = new ArrayList<>(batch.size());
+        index = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            List<DeviceLocation> locations = locationsOfDevices.get(i);
+            DeviceLocationsDTO deviceLocationsDTO = new DeviceLocationsDTO();
+            deviceLocationsDTO.setDevice(batch.get(i).getDevice());
+            deviceLocationsDTO.setTenantId(batch.get(i).getTenantId());
+            deviceLocationsDTO.setLocations(locations);
+            deviceLocationsDTO.setGeoHashes(Arrays.copyOfRange(geoHashes, index, index + locations.size()));
+            index += locations.size();
+            deviceLocations.add(deviceLocationsDTO);
+        }
+        try {
+            DeviceManagementDAOFactory.beginTransaction();
+            deviceDetailsDAO.saveDeviceLocations(deviceLocations);
+            DeviceManagementDAOFactory.commitTransaction();
+            for (DeviceLocationsDTO deviceLocationsDTO : deviceLocations) {
+                GeoClusterIndex.getInstance().updateLocation(deviceLocationsDTO.getDevice(),
+                        deviceLocationsDTO.getLatestLocation(), deviceLocationsDTO.getTenantId());
+            }
+        } catch (TransactionManagementException e) {
+            throw new DeviceDetailsMgtException("Transactional error occurred while writing the locations of " +
+                    batch.size() + " devices.", e);
+        } catch (DeviceDetailsMgtDAOException e) {
+            DeviceManagementDAOFactory.rollbackTransaction();
+            throw new DeviceDetailsMgtException("Error occurred while writing the locations of " + batch.size() +
+                    " devices.", e);
+        } finally {
+            DeviceManagementDAOFactory.closeConnection();
+        }
+    }
+
     @Override
     public DeviceLocation getDeviceLocation(DeviceIdentifier deviceId) throws DeviceDetailsMgtException {
         Device device = getDevice(deviceId);
@@ -600,7 +945,7 @@ public class DeviceInformationManagerImpl implements DeviceInformationManager {
         }
     }
 
-    private DeviceInfo processDeviceInfo(DeviceInfo previousDeviceInfo, DeviceInfo newDeviceInfo) {
+    static DeviceInfo processDeviceInfo(DeviceInfo previousDeviceInfo, DeviceInfo newDeviceInfo) {
         if (newDeviceInfo.getDeviceModel().isEmpty()) {
             newDeviceInfo.setDeviceModel(previousDeviceInfo.getDeviceModel());
         }
@@ -695,5 +1040,22 @@ public class DeviceInformationManagerImpl implements DeviceInformationManager {
         }
     }
 
-}
+    /**
+     * Last written device information and properties of an enrolment, along with the update timestamp of the
+     * persisted device information at the time they were written.
+     */
+    private static final class DeviceInfoSnapshot {
+        private final DeviceInfo deviceInfo;
+        private final Map<String, String> deviceProperties;
+        private final long updateTimestamp;
+        private final long expiryTime;
 
+        private DeviceInfoSnapshot(DeviceInfo deviceInfo, Map<String, String> deviceProperties, long updateTimestamp,
+                                   long expiryTime) {
+            this.deviceInfo = deviceInfo;
+            this.deviceProperties = deviceProperties;
+            this.updateTimestamp = updateTimestamp;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.device.details.mgt.impl;
+
+import io.entgra.device.mgt.core.device.mgt.common.Device;
+import io.entgra.device.mgt.core.device.mgt.common.device.details.DeviceLocation;
+import io.entgra.device.mgt.core.device.mgt.core.DeviceManagementConstants;
+import io.entgra.device.mgt.core.device.mgt.core.device.details.mgt.DeviceDetailsMgtException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded queue of device locations waiting to be written by a {@link Flusher}. Locations are grouped per
+ * enrolment so that a flush writes the latest location of each device once, along with its queued history.
+ * Repeated reports of the same point are dropped and each device keeps at most a configured number of pending
+ * locations, discarding the oldest ones first.
+ */
+class DeviceLocationIngestionQueue {
+
+    private static final Log log = LogFactory.getLog(DeviceLocationIngestionQueue.class);
+
+    private final ConcurrentHashMap<Integer, PendingDeviceLocations> pendingLocations = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingLocationCount = new AtomicInteger();
+    private final AtomicLong discardedLocationCount = new AtomicLong();
+    private final ScheduledExecutorService flushExecutor;
+    private final Flusher flusher;
+    private final int batchSize;
+    private final int maxPendingLocations;
+    private final int maxLocationsPerDevice;
+    private volatile boolean isShutdown;
+
+    interface Flusher {
+        void flush(List<PendingDeviceLocations> batch) throws DeviceDetailsMgtException;
+    }
+
+    DeviceLocationIngestionQueue(Flusher flusher, int flushIntervalMills, int batchSize, int maxPendingLocations,
+                                 int maxLocationsPerDevice) {
+        this.flusher = flusher;
+        this.batchSize = batchSize > 0 ? batchSize : DeviceManagementConstants.LocationIngestion.DEFAULT_BATCH_SIZE;
+        this.maxPendingLocations = maxPendingLocations > 0 ? maxPendingLocations :
+                DeviceManagementConstants.LocationIngestion.DEFAULT_MAX_PENDING_LOCATIONS;
+        this.maxLocationsPerDevice = maxLocationsPerDevice > 0 ? maxLocationsPerDevice :
+                DeviceManagementConstants.LocationIngestion.DEFAULT_MAX_LOCATIONS_PER_DEVICE;
+        long interval = flushIntervalMills > 0 ? flushIntervalMills :
+                DeviceManagementConstants.LocationIngestion.DEFAULT_FLUSH_INTERVAL_MILLS;
+        this.flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "device-location-ingestion");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flushExecutor.scheduleWithFixedDelay(this::flushPending, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues the locations to be written with the next flush.
+     *
+     * @return false if the queue is full or shut down, in which case the caller has to write the locations itself.
+     */
+    boolean offer(Device device, List<DeviceLocation> locations, int tenantId) {
+        if (isShutdown) {
+            return false;
+        }
+        if (pendingLocationCount.addAndGet(locations.size()) > maxPendingLocations) {
+            pendingLocationCount.addAndGet(-locations.size());
+            return false;
+        }
+        int[] queued = new int[1];
+        pendingLocations.compute(device.getEnrolmentInfo().getId(), (enrolmentId, pending) -> {
+            if (pending == null) {
+                pending = new PendingDeviceLocations(device, tenantId);
+            }
+            queued[0] = pending.append(device, locations, maxLocationsPerDevice);
+            return pending;
+        });
+        if (queued[0] != locations.size()) {
+            pendingLocationCount.addAndGet(queued[0] - locations.size());
+        }
+        return true;
+    }
+
+    int getPendingLocationCount() {
+        return pendingLocationCount.get();
+    }
+
+    long getDiscardedLocationCount() {
+        return discardedLocationCount.get();
+    }
+
+    /**
+     * Stops the periodic flush and writes all the pending locations before returning.
+     */
+    void shutdown() {
+        isShutdown = true;
+        flushExecutor.shutdown();
+        try {
+            if (!flushExecutor.awaitTermination(DeviceManagementConstants.LocationIngestion.SHUTDOWN_TIMEOUT_SECONDS,
+                    TimeUnit.SECONDS)) {
+                log.warn("Device location flush did not complete within the shutdown timeout");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushPending();
+        if (!pendingLocations.isEmpty()) {
+            log.error("Unable to write " + pendingLocationCount.get() + " device locations during shutdown");
+        }
+    }
+
+    private synchronized void flushPending() {
+        try {
+            while (!pendingLocations.isEmpty()) {
+                List<PendingDeviceLocations> batch = new ArrayList<>(batchSize);
+                Iterator<Integer> iterator = pendingLocations.keySet().iterator();
+                while (batch.size() < batchSize && iterator.hasNext()) {
+                    PendingDeviceLocations pending = pendingLocations.remove(iterator.next());
+                    if (pending != null) {
+                        pendingLocationCount.addAndGet(-pending.locations.size());
+                        batch.add(pending);
+                    }
+                }
+                if (!writeBatch(batch)) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Error occurred while flushing device locations", e);
+        }
+    }
+
+    /**
+     * @return false if the batch could not be written and was put back to the queue.
+     */
+    private boolean writeBatch(List<PendingDeviceLocations> batch) {
+        try {
+            flusher.flush(batch);
+            return true;
+        } catch (DeviceDetailsMgtException e) {
+            log.error("Error occurred while writing the locations of " + batch.size() + " devices", e);
+            for (PendingDeviceLocations failed : batch) {
+                if (++failed.attempts >= DeviceManagementConstants.LocationIngestion.MAX_FLUSH_ATTEMPTS) {
+                    log.error("Discarding " + failed.locations.size() + " locations of device '" +
+                            failed.device.getDeviceIdentifier() + "' after " + failed.attempts + " failed attempts");
+                    discardedLocationCount.addAndGet(failed.locations.size());
+                    continue;
+                }
+                int[] queued = new int[1];
+                pendingLocations.compute(failed.device.getEnrolmentInfo().getId(), (enrolmentId, latest) -> {
+                    int previousCount = 0;
+                    if (latest != null) {
+                        previousCount = latest.locations.size();
+                        failed.append(latest.device, new ArrayList<>(latest.locations), maxLocationsPerDevice);
+                    }
+                    queued[0] = failed.locations.size() - previousCount;
+                    return failed;
+                });
+                pendingLocationCount.addAndGet(queued[0]);
+            }
+            return false;
+        }
+    }
+
+    final class PendingDeviceLocations {
+        private Device device;
+        private final int tenantId;
+        private final ArrayDeque<DeviceLocation> locations = new ArrayDeque<>();
+        private int attempts;
+
+        private PendingDeviceLocations(Device device, int tenantId) {
+            this.device = device;
+            this.tenantId = tenantId;
+        }
+
+        Device getDevice() {
+            return device;
+        }
+
+        int getTenantId() {
+            return tenantId;
+        }
+
+        /**
+         * @return locations in the order they were reported, the last one being the latest location.
+         */
+        List<DeviceLocation> getLocations() {
+            return new ArrayList<>(locations);
+        }
+
+        /**
+         * @return the change in the number of pending locations of the device.
+         */
+        private int append(Device reportedDevice, List<DeviceLocation> reported, int maxLocations) {
+            int initialSize = locations.size();
+            device = reportedDevice;
+            for (DeviceLocation location : reported) {
+                DeviceLocation last = locations.peekLast();
+                if (last != null && isSamePoint(last, location)) {
+                    continue;
+                }
+                locations.addLast(location);
+                if (locations.size() > maxLocations) {
+                    locations.pollFirst();
+                    discardedLocationCount.incrementAndGet();
+                }
+            }
+            return locations.size() - initialSize;
+        }
+
+        private boolean isSamePoint(DeviceLocation previous, DeviceLocation location) {
+            return Objects.equals(previous.getLatitude(), location.getLatitude())
+                    && Objects.equals(previous.getLongitude(), location.getLongitude())
+                    && Objects.equals(previous.getUpdatedTime(), location.getUpdatedTime());
+        }
+    }
+}
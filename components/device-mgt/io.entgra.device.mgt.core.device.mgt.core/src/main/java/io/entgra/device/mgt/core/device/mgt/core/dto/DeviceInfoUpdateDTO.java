@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.dto;
+
+import io.entgra.device.mgt.core.device.mgt.common.device.details.DeviceInfo;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds the changes to be written for the device information of a single enrolment.
+ */
+public class DeviceInfoUpdateDTO {
+    private int deviceId;
+    private int enrolmentId;
+    private DeviceInfo deviceInfo;
+    private boolean newDeviceInfo;
+    private boolean deviceInfoChanged;
+    private long updateTimestamp;
+    private Map<String, String> addedProperties = new HashMap<>();
+    private Map<String, String> updatedProperties = new HashMap<>();
+
+    public int getDeviceId() {
+        return deviceId;
+    }
+
+    public void setDeviceId(int deviceId) {
+        this.deviceId = deviceId;
+    }
+
+    public int getEnrolmentId() {
+        return enrolmentId;
+    }
+
+    public void setEnrolmentId(int enrolmentId) {
+        this.enrolmentId = enrolmentId;
+    }
+
+    public DeviceInfo getDeviceInfo() {
+        return deviceInfo;
+    }
+
+    public void setDeviceInfo(DeviceInfo deviceInfo) {
+        this.deviceInfo = deviceInfo;
+    }
+
+    public boolean isNewDeviceInfo() {
+        return newDeviceInfo;
+    }
+
+    public void setNewDeviceInfo(boolean newDeviceInfo) {
+        this.newDeviceInfo = newDeviceInfo;
+    }
+
+    public boolean isDeviceInfoChanged() {
+        return deviceInfoChanged;
+    }
+
+    public void setDeviceInfoChanged(boolean deviceInfoChanged) {
+        this.deviceInfoChanged = deviceInfoChanged;
+    }
+
+    /**
+     * @return update timestamp of the device information row, which is the previously persisted one until the
+     * changes are written.
+     */
+    public long getUpdateTimestamp() {
+        return updateTimestamp;
+    }
+
+    public void setUpdateTimestamp(long updateTimestamp) {
+        this.updateTimestamp = updateTimestamp;
+    }
+
+    public Map<String, String> getAddedProperties() {
+        return addedProperties;
+    }
+
+    public void setAddedProperties(Map<String, String> addedProperties) {
+        this.addedProperties = addedProperties;
+    }
+
+    public Map<String, String> getUpdatedProperties() {
+        return updatedProperties;
+    }
+
+    public void setUpdatedProperties(Map<String, String> updatedProperties) {
+        this.updatedProperties = updatedProperties;
+    }
+
+    public boolean hasChanges() {
+        return newDeviceInfo || deviceInfoChanged || !addedProperties.isEmpty() || !updatedProperties.isEmpty();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.dto;
+
+import io.entgra.device.mgt.core.device.mgt.common.Device;
+import io.entgra.device.mgt.core.device.mgt.common.device.details.DeviceLocation;
+
+import java.util.List;
+
+/**
+ * Holds the locations reported by a single device together with their geohashes, to be written as a part of a batch.
+ * The last location is taken as the current location of the device.
+ */
+public class DeviceLocationsDTO {
+    private Device device;
+    private int tenantId;
+    private List<DeviceLocation> locations;
+    private String[] geoHashes;
+
+    public Device getDevice() {
+        return device;
+    }
+
+    public void setDevice(Device device) {
+        this.device = device;
+    }
+
+    public int getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(int tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public List<DeviceLocation> getLocations() {
+        return locations;
+    }
+
+    public void setLocations(List<DeviceLocation> locations) {
+        this.locations = locations;
+    }
+
+    public String[] getGeoHashes() {
+        return geoHashes;
+    }
+
+    public void setGeoHashes(String[] geoHashes) {
+        this.geoHashes = geoHashes;
+    }
+
+    public DeviceLocation getLatestLocation() {
+        return locations.get(locations.size() - 1);
+    }
+
+    public String getLatestGeoHash() {
+        return geoHashes[geoHashes.length - 1];
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.geo.cluster;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Aggregated locations of the enrolments within a geohash cell. Removing a location which lies on the bounds marks
+ * the bounds as stale, to be recomputed from the child cells when they are read next.
+ */
+class GeoCell {
+
+    private long count;
+    private double latitudeSum;
+    private double longitudeSum;
+    private double minLatitude = Double.POSITIVE_INFINITY;
+    private double maxLatitude = Double.NEGATIVE_INFINITY;
+    private double minLongitude = Double.POSITIVE_INFINITY;
+    private double maxLongitude = Double.NEGATIVE_INFINITY;
+    private int enrolmentIdXor;
+    private boolean boundsStale;
+    private final Set<Integer> enrolmentIds;
+
+    /**
+     * @param isLeaf whether the cell is at the deepest level of the index, where the enrolments are tracked
+     */
+    GeoCell(boolean isLeaf) {
+        this.enrolmentIds = isLeaf ? new HashSet<>() : null;
+    }
+
+    void add(IndexedEnrolment enrolment) {
+        count++;
+        latitudeSum += enrolment.getLatitude();
+        longitudeSum += enrolment.getLongitude();
+        enrolmentIdXor ^= enrolment.getEnrolmentId();
+        expandBounds(enrolment.getLatitude(), enrolment.getLongitude());
+        if (enrolmentIds != null) {
+            enrolmentIds.add(enrolment.getEnrolmentId());
+        }
+    }
+
+    void remove(IndexedEnrolment enrolment) {
+        count--;
+        latitudeSum -= enrolment.getLatitude();
+        longitudeSum -= enrolment.getLongitude();
+        enrolmentIdXor ^= enrolment.getEnrolmentId();
+        if (enrolment.getLatitude() == minLatitude || enrolment.getLatitude() == maxLatitude
+                || enrolment.getLongitude() == minLongitude || enrolment.getLongitude() == maxLongitude) {
+            boundsStale = true;
+        }
+        if (enrolmentIds != null) {
+            enrolmentIds.remove(enrolment.getEnrolmentId());
+        }
+    }
+
+    /**
+     * Adds the aggregated locations of another cell, whose bounds have to be up to date.
+     */
+    void merge(GeoCell cell) {
+        count += cell.count;
+        latitudeSum += cell.latitudeSum;
+        longitudeSum += cell.longitudeSum;
+        enrolmentIdXor ^= cell.enrolmentIdXor;
+        minLatitude = Math.min(minLatitude, cell.minLatitude);
+        maxLatitude = Math.max(maxLatitude, cell.maxLatitude);
+        minLongitude = Math.min(minLongitude, cell.minLongitude);
+        maxLongitude = Math.max(maxLongitude, cell.maxLongitude);
+    }
+
+    void resetBounds() {
+        minLatitude = Double.POSITIVE_INFINITY;
+        maxLatitude = Double.NEGATIVE_INFINITY;
+        minLongitude = Double.POSITIVE_INFINITY;
+        maxLongitude = Double.NEGATIVE_INFINITY;
+        boundsStale = false;
+    }
+
+    void expandBounds(double latitude, double longitude) {
+        minLatitude = Math.min(minLatitude, latitude);
+        maxLatitude = Math.max(maxLatitude, latitude);
+        minLongitude = Math.min(minLongitude, longitude);
+        maxLongitude = Math.max(maxLongitude, longitude);
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    double getAverageLatitude() {
+        return latitudeSum / count;
+    }
+
+    double getAverageLongitude() {
+        return longitudeSum / count;
+    }
+
+    double getMinLatitude() {
+        return minLatitude;
+    }
+
+    double getMaxLatitude() {
+        return maxLatitude;
+    }
+
+    double getMinLongitude() {
+        return minLongitude;
+    }
+
+    double getMaxLongitude() {
+        return maxLongitude;
+    }
+
+    /**
+     * @return id of the only enrolment in the cell, valid only when the count is one.
+     */
+    int getSingleEnrolmentId() {
+        return enrolmentIdXor;
+    }
+
+    boolean isBoundsStale() {
+        return boundsStale;
+    }
+
+    Set<Integer> getEnrolmentIds() {
+        return enrolmentIds;
+    }
+}
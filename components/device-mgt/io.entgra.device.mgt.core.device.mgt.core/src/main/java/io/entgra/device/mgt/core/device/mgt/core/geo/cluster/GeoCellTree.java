@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.geo.cluster;
+
+import io.entgra.device.mgt.core.device.mgt.core.geo.geoHash.GeoHashGenerator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Geohash prefix tree of the enrolment locations of a single device type. Each level holds the aggregated cells of
+ * one geohash length, keyed by the packed geohash, and the deepest level also tracks the enrolments of each cell.
+ * Not thread safe, access is guarded by the owning {@link TenantGeoIndex}.
+ */
+class GeoCellTree {
+
+    private static final int BITS_PER_CHAR = 5;
+    private static final int CHILD_COUNT = 1 << BITS_PER_CHAR;
+    private static final int MAX_PROBED_CELLS = 1 << 16;
+
+    private final int depth;
+    private final List<Map<Long, GeoCell>> levels;
+
+    GeoCellTree(int depth) {
+        this.depth = depth;
+        this.levels = new ArrayList<>(depth);
+        for (int i = 0; i < depth; i++) {
+            levels.add(new HashMap<>());
+        }
+    }
+
+    void add(IndexedEnrolment enrolment) {
+        for (int precision = depth; precision >= 1; precision--) {
+            boolean isLeaf = precision == depth;
+            levels.get(precision - 1).computeIfAbsent(toPrefix(enrolment.getGeohash(), precision),
+                    key -> new GeoCell(isLeaf)).add(enrolment);
+        }
+    }
+
+    void remove(IndexedEnrolment enrolment) {
+        for (int precision = depth; precision >= 1; precision--) {
+            Map<Long, GeoCell> level = levels.get(precision - 1);
+            long key = toPrefix(enrolment.getGeohash(), precision);
+            GeoCell cell = level.get(key);
+            if (cell != null) {
+                cell.remove(enrolment);
+                if (cell.getCount() <= 0) {
+                    level.remove(key);
+                }
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return levels.get(0).isEmpty();
+    }
+
+    /**
+     * Aggregates the locations within the area into the cells of the given geohash length. Cells which lie partly
+     * within the area are aggregated from their child cells, down to the individual locations at the deepest level.
+     *
+     * @param clusters   aggregated cells keyed by the packed geohash, to be added to
+     * @param enrolments locations of the enrolments of the tenant, keyed by the enrolment id
+     */
+    void collect(int precision, double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                 Map<Long, GeoCell> clusters, Map<Integer, IndexedEnrolment> enrolments) {
+        Map<Long, GeoCell> level = levels.get(precision - 1);
+        int lonBitCount = (precision * BITS_PER_CHAR + 1) / 2;
+        int latBitCount = precision * BITS_PER_CHAR / 2;
+        double lonSpan = Math.floor((maxLongitude - minLongitude) / (360.0 / (1L << lonBitCount))) + 2;
+        double latSpan = Math.floor((maxLatitude - minLatitude) / (180.0 / (1L << latBitCount))) + 2;
+        if (lonSpan * latSpan <= Math.min(level.size(), MAX_PROBED_CELLS)) {
+            for (long key : GeoHashGenerator.coveringCells(minLatitude, minLongitude, maxLatitude, maxLongitude,
+                    precision)) {
+                GeoCell cell = level.get(key);
+                if (cell != null) {
+                    collectCluster(key, precision, cell, minLatitude, minLongitude, maxLatitude, maxLongitude,
+                            clusters, enrolments);
+                }
+            }
+        } else {
+            for (Map.Entry<Long, GeoCell> entry : level.entrySet()) {
+                collectCluster(entry.getKey(), precision, entry.getValue(), minLatitude, minLongitude, maxLatitude,
+                        maxLongitude, clusters, enrolments);
+            }
+        }
+    }
+
+    private void collectCluster(long key, int precision, GeoCell cell, double minLatitude, double minLongitude,
+                                double maxLatitude, double maxLongitude, Map<Long, GeoCell> clusters,
+                                Map<Integer, IndexedEnrolment> enrolments) {
+        refreshBounds(key, precision, cell, enrolments);
+        if (isOutside(cell, minLatitude, minLongitude, maxLatitude, maxLongitude)) {
+            return;
+        }
+        GeoCell cluster = clusters.get(key);
+        if (cluster == null) {
+            cluster = new GeoCell(false);
+            collect(key, precision, cell, minLatitude, minLongitude, maxLatitude, maxLongitude, cluster, enrolments);
+            if (cluster.getCount() > 0) {
+                clusters.put(key, cluster);
+            }
+        } else {
+            collect(key, precision, cell, minLatitude, minLongitude, maxLatitude, maxLongitude, cluster, enrolments);
+        }
+    }
+
+    private void collect(long key, int precision, GeoCell cell, double minLatitude, double minLongitude,
+                         double maxLatitude, double maxLongitude, GeoCell cluster,
+                         Map<Integer, IndexedEnrolment> enrolments) {
+        refreshBounds(key, precision, cell, enrolments);
+        if (isOutside(cell, minLatitude, minLongitude, maxLatitude, maxLongitude)) {
+            return;
+        }
+        if (cell.getMinLatitude() >= minLatitude && cell.getMaxLatitude() <= maxLatitude
+                && cell.getMinLongitude() >= minLongitude && cell.getMaxLongitude() <= maxLongitude) {
+            cluster.merge(cell);
+        } else if (precision == depth) {
+            for (Integer enrolmentId : cell.getEnrolmentIds()) {
+                IndexedEnrolment enrolment = enrolments.get(enrolmentId);
+                if (enrolment.getLatitude() >= minLatitude && enrolment.getLatitude() <= maxLatitude
+                        && enrolment.getLongitude() >= minLongitude && enrolment.getLongitude() <= maxLongitude) {
+                    cluster.add(enrolment);
+                }
+            }
+        } else {
+            Map<Long, GeoCell> children = levels.get(precision);
+            for (int i = 0; i < CHILD_COUNT; i++) {
+                long childKey = (key << BITS_PER_CHAR) | i;
+                GeoCell child = children.get(childKey);
+                if (child != null) {
+                    collect(childKey, precision + 1, child, minLatitude, minLongitude, maxLatitude, maxLongitude,
+                            cluster, enrolments);
+                }
+            }
+        }
+    }
+
+    private void refreshBounds(long key, int precision, GeoCell cell, Map<Integer, IndexedEnrolment> enrolments) {
+        if (!cell.isBoundsStale()) {
+            return;
+        }
+        cell.resetBounds();
+        if (precision == depth) {
+            for (Integer enrolmentId : cell.getEnrolmentIds()) {
+                IndexedEnrolment enrolment = enrolments.get(enrolmentId);
+                cell.expandBounds(enrolment.getLatitude(), enrolment.getLongitude());
+            }
+            return;
+        }
+        Map<Long, GeoCell> children = levels.get(precision);
+        for (int i = 0; i < CHILD_COUNT; i++) {
+            long childKey = (key << BITS_PER_CHAR) | i;
+            GeoCell child = children.get(childKey);
+            if (child != null) {
+                refreshBounds(childKey, precision + 1, child, enrolments);
+                cell.expandBounds(child.getMinLatitude(), child.getMinLongitude());
+                cell.expandBounds(child.getMaxLatitude(), child.getMaxLongitude());
+            }
+        }
+    }
+
+    private boolean isOutside(GeoCell cell, double minLatitude, double minLongitude, double maxLatitude,
+                              double maxLongitude) {
+        return cell.getMaxLatitude() < minLatitude || cell.getMinLatitude() > maxLatitude
+                || cell.getMaxLongitude() < minLongitude || cell.getMinLongitude() > maxLongitude;
+    }
+
+    private long toPrefix(long geohash, int precision) {
+        return geohash >>> (BITS_PER_CHAR * (depth - precision));
+    }
+}
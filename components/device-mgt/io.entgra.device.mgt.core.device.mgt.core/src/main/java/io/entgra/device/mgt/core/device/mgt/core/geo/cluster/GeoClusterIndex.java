@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.geo.cluster;
+
+import io.entgra.device.mgt.core.device.mgt.common.Device;
+import io.entgra.device.mgt.core.device.mgt.common.EnrolmentInfo;
+import io.entgra.device.mgt.core.device.mgt.common.device.details.DeviceLocation;
+import io.entgra.device.mgt.core.device.mgt.common.geo.service.GeoCluster;
+import io.entgra.device.mgt.core.device.mgt.common.geo.service.GeoCoordinate;
+import io.entgra.device.mgt.core.device.mgt.common.geo.service.GeoQuery;
+import io.entgra.device.mgt.core.device.mgt.core.DeviceManagementConstants;
+import io.entgra.device.mgt.core.device.mgt.core.config.DeviceConfigurationManager;
+import io.entgra.device.mgt.core.device.mgt.core.config.DeviceManagementConfig;
+import io.entgra.device.mgt.core.device.mgt.core.config.geo.location.GeoClusterIndexConfiguration;
+import io.entgra.device.mgt.core.device.mgt.core.dao.DeviceDAO;
+import io.entgra.device.mgt.core.device.mgt.core.dao.DeviceManagementDAOException;
+import io.entgra.device.mgt.core.device.mgt.core.dao.DeviceManagementDAOFactory;
+import io.entgra.device.mgt.core.device.mgt.core.geo.geoHash.GeoHashGenerator;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Answers geo cluster queries from an in-memory geohash prefix tree instead of aggregating the location table for
+ * every query. The index of a tenant is loaded from the database on the first query after startup, kept up to date
+ * by the location write path of this node and reloaded periodically in the background to pick up the changes made
+ * by other nodes.
+ * Queries the index cannot answer, such as the ones filtering by owner, are left to the database.
+ */
+public class GeoClusterIndex {
+
+    private static final Log log = LogFactory.getLog(GeoClusterIndex.class);
+    private static final int DEVICE_LOOKUP_BATCH_SIZE = 500;
+
+    private static volatile GeoClusterIndex geoClusterIndex;
+
+    private final boolean enabled;
+    private final int maxGeohashLength;
+    private final long rebuildIntervalMillis;
+    private final ConcurrentHashMap<Integer, TenantGeoIndex> tenantIndexes = new ConcurrentHashMap<>();
+    private final ExecutorService reloadExecutor =
+            Executors.newSingleThreadExecutor(newThreadFactory("geo-cluster-index-loader-"));
+
+    GeoClusterIndex(boolean enabled, int maxGeohashLength, long rebuildIntervalMillis) {
+        this.enabled = enabled;
+        this.maxGeohashLength = maxGeohashLength;
+        this.rebuildIntervalMillis = rebuildIntervalMillis;
+    }
+
+    public static GeoClusterIndex getInstance() {
+        if (geoClusterIndex == null) {
+            synchronized (GeoClusterIndex.class) {
+                if (geoClusterIndex == null) {
+                    DeviceManagementConfig config = DeviceConfigurationManager.getInstance()
+                            .getDeviceManagementConfig();
+                    GeoClusterIndexConfiguration indexConfig = config != null ?
+                            config.getGeoClusterIndexConfiguration() : null;
+                    if (indexConfig != null && indexConfig.isEnabled()) {
+                        int maxGeohashLength = indexConfig.getMaxGeohashLength() > 0 ?
+                                Math.min(indexConfig.getMaxGeohashLength(), GeoHashGenerator.MAX_PACKED_PRECISION) :
+                                DeviceManagementConstants.GeoClusterIndex.DEFAULT_MAX_GEOHASH_LENGTH;
+                        long rebuildInterval = indexConfig.getRebuildInterval() > 0 ?
+                                indexConfig.getRebuildInterval() :
+                                DeviceManagementConstants.GeoClusterIndex.DEFAULT_REBUILD_INTERVAL;
+                        geoClusterIndex = new GeoClusterIndex(true, maxGeohashLength,
+                                TimeUnit.SECONDS.toMillis(rebuildInterval));
+                    } else {
+                        geoClusterIndex = new GeoClusterIndex(false, 0, 0);
+                    }
+                }
+            }
+        }
+        return geoClusterIndex;
+    }
+
+    /**
+     * @return the current instance, or null if the instance is not created yet or is already shut down.
+     */
+    public static GeoClusterIndex getExistingInstance() {
+        return geoClusterIndex;
+    }
+
+    /**
+     * Records the current location of a device, once it is written to the database. Ignored until the index of the
+     * tenant is loaded, since it is then read from the database.
+     */
+    public void updateLocation(Device device, DeviceLocation location, int tenantId) {
+        TenantGeoIndex index = enabled ? tenantIndexes.get(tenantId) : null;
+        if (index == null || location.getLatitude() == null || location.getLongitude() == null) {
+            return;
+        }
+        EnrolmentInfo enrolmentInfo = device.getEnrolmentInfo();
+        if (EnrolmentInfo.Status.REMOVED.equals(enrolmentInfo.getStatus())) {
+            index.remove(enrolmentInfo.getId());
+        } else {
+            index.update(enrolmentInfo.getId(), device.getId(), device.getDeviceIdentifier(), device.getType(),
+                    location.getLatitude(), location.getLongitude());
+        }
+    }
+
+    /**
+     * Drops the location of an enrolment which is removed.
+     */
+    public void removeEnrolment(int enrolmentId, int tenantId) {
+        TenantGeoIndex index = enabled ? tenantIndexes.get(tenantId) : null;
+        if (index != null) {
+            index.remove(enrolmentId);
+        }
+    }
+
+    /**
+     * @return whether the query only filters by device type and the area, and its geohash length is indexed.
+     */
+    public boolean isSupported(GeoQuery geoQuery) {
+        return enabled && geoQuery.getGeohashLength() >= 1 && geoQuery.getGeohashLength() <= maxGeohashLength
+                && isEmpty(geoQuery.getDeviceIdentifiers()) && isEmpty(geoQuery.getOwners())
+                && isEmpty(geoQuery.getOwnerships()) && isEmpty(geoQuery.getStatuses())
+                && geoQuery.getCreatedBefore() == 0 && geoQuery.getCreatedAfter() == 0
+                && geoQuery.getUpdatedBefore() == 0 && geoQuery.getUpdatedAfter() == 0;
+    }
+
+    /**
+     * Finds the geo clusters from the index, loading the index of the tenant if needed. Has to be invoked with an
+     * open connection.
+     *
+     * @return the geo clusters, or null if the query has to be answered by the database.
+     * @throws DeviceManagementDAOException if the devices of the single device clusters could not be retrieved.
+     */
+    public List<GeoCluster> findGeoClusters(GeoQuery geoQuery, int tenantId) throws DeviceManagementDAOException {
+        if (!isSupported(geoQuery)) {
+            return null;
+        }
+        TenantGeoIndex index = getLoadedIndex(tenantId);
+        if (index == null) {
+            return null;
+        }
+        int precision = geoQuery.getGeohashLength();
+        Map<Long, GeoCell> cells = index.findClusters(precision, geoQuery.getDeviceTypes(),
+                geoQuery.getSouthWest().getLatitude(), geoQuery.getSouthWest().getLongitude(),
+                geoQuery.getNorthEast().getLatitude(), geoQuery.getNorthEast().getLongitude());
+
+        Map<Integer, Device> singleDevices = getSingleDevices(index, cells, tenantId);
+        List<GeoCluster> geoClusters = new ArrayList<>(cells.size());
+        for (Map.Entry<Long, GeoCell> entry : cells.entrySet()) {
+            GeoCell cell = entry.getValue();
+            Device device = null;
+            if (cell.getCount() == 1) {
+                device = singleDevices.get(cell.getSingleEnrolmentId());
+                if (device == null) {
+                    continue;
+                }
+            }
+            geoClusters.add(new GeoCluster(new GeoCoordinate(cell.getAverageLatitude(), cell.getAverageLongitude()),
+                    new GeoCoordinate(cell.getMinLatitude(), cell.getMinLongitude()),
+                    new GeoCoordinate(cell.getMaxLatitude(), cell.getMaxLongitude()), cell.getCount(),
+                    GeoHashGenerator.toGeohash(entry.getKey(), precision), device));
+        }
+        return geoClusters;
+    }
+
+    /**
+     * Retrieves the devices of the clusters with a single enrolment. Enrolments which are no longer active are
+     * dropped from the index and left out of the result.
+     */
+    private Map<Integer, Device> getSingleDevices(TenantGeoIndex index, Map<Long, GeoCell> cells, int tenantId)
+            throws DeviceManagementDAOException {
+        Set<Integer> enrolmentIds = new HashSet<>();
+        Set<String> deviceIdentifiers = new HashSet<>();
+        for (GeoCell cell : cells.values()) {
+            if (cell.getCount() == 1) {
+                IndexedEnrolment enrolment = index.getEnrolment(cell.getSingleEnrolmentId());
+                if (enrolment != null) {
+                    enrolmentIds.add(enrolment.getEnrolmentId());
+                    deviceIdentifiers.add(enrolment.getDeviceIdentifier());
+                }
+            }
+        }
+        Map<Integer, Device> devices = new HashMap<>();
+        if (deviceIdentifiers.isEmpty()) {
+            return devices;
+        }
+        DeviceDAO deviceDAO = DeviceManagementDAOFactory.getDeviceDAO();
+        List<String> identifiers = new ArrayList<>(deviceIdentifiers);
+        for (int from = 0; from < identifiers.size(); from += DEVICE_LOOKUP_BATCH_SIZE) {
+            for (Device device : deviceDAO.getDevicesByIdentifiers(identifiers.subList(from,
+                    Math.min(from + DEVICE_LOOKUP_BATCH_SIZE, identifiers.size())), tenantId)) {
+                int enrolmentId = device.getEnrolmentInfo().getId();
+                if (enrolmentIds.contains(enrolmentId)
+                        && !EnrolmentInfo.Status.REMOVED.equals(device.getEnrolmentInfo().getStatus())) {
+                    devices.put(enrolmentId, device);
+                }
+            }
+        }
+        for (Integer enrolmentId : enrolmentIds) {
+            if (!devices.containsKey(enrolmentId)) {
+                index.remove(enrolmentId);
+            }
+        }
+        return devices;
+    }
+
+    /**
+     * @return the index of the tenant, loading it from the database when it is not loaded yet. An index which is due
+     * for a reload is returned as it is, while the replacement is loaded in the background. Null if the index is
+     * being loaded by another thread or could not be loaded.
+     */
+    private TenantGeoIndex getLoadedIndex(int tenantId) {
+        TenantGeoIndex index = tenantIndexes.computeIfAbsent(tenantId, id -> new TenantGeoIndex(maxGeohashLength));
+        if (!index.isLoaded()) {
+            if (!index.tryBeginRebuild()) {
+                return null;
+            }
+            try {
+                loadIndex(index, tenantId);
+                return index;
+            } catch (DeviceManagementDAOException e) {
+                log.error("Error occurred while loading the geo cluster index of tenant " + tenantId, e);
+                return null;
+            } finally {
+                index.endRebuild();
+            }
+        }
+        if (System.currentTimeMillis() - index.getLoadedTime() > rebuildIntervalMillis && index.tryBeginRebuild()) {
+            try {
+                reloadExecutor.execute(() -> reloadIndex(index, tenantId));
+            } catch (RejectedExecutionException e) {
+                index.endRebuild();
+                log.warn("Geo cluster index of tenant " + tenantId + " is not reloaded since the index is shut down");
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Loads a replacement of the index on a connection of its own, while the changes made to the index in the
+     * meantime are forwarded to the replacement.
+     */
+    private void reloadIndex(TenantGeoIndex index, int tenantId) {
+        TenantGeoIndex loadingIndex = new TenantGeoIndex(maxGeohashLength);
+        index.setSuccessor(loadingIndex);
+        try {
+            DeviceManagementDAOFactory.openConnection();
+            try {
+                loadIndex(loadingIndex, tenantId);
+                tenantIndexes.replace(tenantId, index, loadingIndex);
+            } finally {
+                DeviceManagementDAOFactory.closeConnection();
+            }
+        } catch (SQLException e) {
+            log.error("Error occurred while opening a connection to reload the geo cluster index of tenant "
+                    + tenantId, e);
+        } catch (DeviceManagementDAOException e) {
+            log.error("Error occurred while reloading the geo cluster index of tenant " + tenantId, e);
+        } finally {
+            if (tenantIndexes.get(tenantId) != loadingIndex) {
+                index.setSuccessor(null);
+            }
+            index.endRebuild();
+        }
+    }
+
+    private void loadIndex(TenantGeoIndex index, int tenantId) throws DeviceManagementDAOException {
+        long start = System.currentTimeMillis();
+        index.load(DeviceManagementDAOFactory.getDeviceDAO().getEnrolmentLocations(tenantId));
+        if (log.isDebugEnabled()) {
+            log.debug("Loaded " + index.size() + " enrolment locations of tenant " + tenantId +
+                    " to the geo cluster index in " + (System.currentTimeMillis() - start) + " ms");
+        }
+    }
+
+    /**
+     * Stops the reloads of the indexes. Invoked when the service is shutting down, where a subsequent
+     * {@link #getInstance()} creates a new instance.
+     */
+    public void shutdown() {
+        synchronized (GeoClusterIndex.class) {
+            if (geoClusterIndex == this) {
+                geoClusterIndex = null;
+            }
+        }
+        reloadExecutor.shutdownNow();
+    }
+
+    private boolean isEmpty(List<?> list) {
+        return list == null || list.isEmpty();
+    }
+
+    private static ThreadFactory newThreadFactory(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+        return runnable -> {
+            Thread thread = defaultFactory.newThread(runnable);
+            thread.setName(prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.geo.cluster;
+
+/**
+ * Current location of an enrolment held in the geo cluster index.
+ */
+class IndexedEnrolment {
+
+    private final int enrolmentId;
+    private final int deviceId;
+    private final String deviceIdentifier;
+    private final String deviceType;
+    private final double latitude;
+    private final double longitude;
+    private final long geohash;
+
+    IndexedEnrolment(int enrolmentId, int deviceId, String deviceIdentifier, String deviceType, double latitude,
+                     double longitude, long geohash) {
+        this.enrolmentId = enrolmentId;
+        this.deviceId = deviceId;
+        this.deviceIdentifier = deviceIdentifier;
+        this.deviceType = deviceType;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.geohash = geohash;
+    }
+
+    int getEnrolmentId() {
+        return enrolmentId;
+    }
+
+    int getDeviceId() {
+        return deviceId;
+    }
+
+    String getDeviceIdentifier() {
+        return deviceIdentifier;
+    }
+
+    String getDeviceType() {
+        return deviceType;
+    }
+
+    double getLatitude() {
+        return latitude;
+    }
+
+    double getLongitude() {
+        return longitude;
+    }
+
+    /**
+     * @return packed geohash of the location at the deepest level of the index.
+     */
+    long getGeohash() {
+        return geohash;
+    }
+}
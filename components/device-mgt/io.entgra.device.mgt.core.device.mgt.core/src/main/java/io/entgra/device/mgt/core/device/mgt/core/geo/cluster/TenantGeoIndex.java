@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.geo.cluster;
+
+import io.entgra.device.mgt.core.device.mgt.core.dto.EnrolmentLocationDTO;
+import io.entgra.device.mgt.core.device.mgt.core.geo.geoHash.GeoHashGenerator;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Enrolment locations of a single tenant, indexed in a geohash prefix tree per device type. Locations reported
+ * before the index is loaded are kept and take precedence over the ones loaded from the database, which may be older.
+ * While a replacement index is being loaded, changes are forwarded to it as well.
+ */
+class TenantGeoIndex {
+
+    private final int depth;
+    private final Map<Integer, IndexedEnrolment> enrolments = new HashMap<>();
+    private final Map<String, GeoCellTree> trees = new HashMap<>();
+    private final Set<Integer> removedEnrolmentIds = new HashSet<>();
+    private final AtomicBoolean isRebuilding = new AtomicBoolean();
+    private volatile long loadedTime;
+    private volatile TenantGeoIndex successor;
+
+    TenantGeoIndex(int depth) {
+        this.depth = depth;
+    }
+
+    synchronized void update(int enrolmentId, int deviceId, String deviceIdentifier, String deviceType,
+                             double latitude, double longitude) {
+        IndexedEnrolment existing = enrolments.get(enrolmentId);
+        if (existing == null || existing.getLatitude() != latitude || existing.getLongitude() != longitude
+                || !existing.getDeviceType().equals(deviceType)) {
+            if (existing != null) {
+                removeFromTree(existing);
+            }
+            put(new IndexedEnrolment(enrolmentId, deviceId, deviceIdentifier, deviceType, latitude, longitude,
+                    GeoHashGenerator.encode(latitude, longitude, depth)));
+        }
+        if (successor != null) {
+            successor.update(enrolmentId, deviceId, deviceIdentifier, deviceType, latitude, longitude);
+        }
+    }
+
+    synchronized void remove(int enrolmentId) {
+        IndexedEnrolment existing = enrolments.remove(enrolmentId);
+        if (existing != null) {
+            removeFromTree(existing);
+        }
+        if (loadedTime == 0) {
+            removedEnrolmentIds.add(enrolmentId);
+        }
+        if (successor != null) {
+            successor.remove(enrolmentId);
+        }
+    }
+
+    /**
+     * Adds the locations read from the database, skipping the enrolments which were updated or removed since.
+     */
+    synchronized void load(List<EnrolmentLocationDTO> enrolmentLocations) {
+        for (EnrolmentLocationDTO location : enrolmentLocations) {
+            if (!enrolments.containsKey(location.getEnrolmentId())
+                    && !removedEnrolmentIds.contains(location.getEnrolmentId())) {
+                put(new IndexedEnrolment(location.getEnrolmentId(), location.getDeviceId(),
+                        location.getDeviceIdentifier(), location.getDeviceType(), location.getLatitude(),
+                        location.getLongitude(), GeoHashGenerator.encode(location.getLatitude(),
+                        location.getLongitude(), depth)));
+            }
+        }
+        removedEnrolmentIds.clear();
+        loadedTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Aggregates the locations within the area into cells of the given geohash length.
+     *
+     * @param deviceTypes device types to include, all device types if null or empty
+     * @return aggregated cells keyed by the packed geohash
+     */
+    synchronized Map<Long, GeoCell> findClusters(int precision, List<String> deviceTypes, double minLatitude,
+                                                 double minLongitude, double maxLatitude, double maxLongitude) {
+        Map<Long, GeoCell> clusters = new HashMap<>();
+        if (minLatitude > maxLatitude || minLongitude > maxLongitude) {
+            return clusters;
+        }
+        if (deviceTypes == null || deviceTypes.isEmpty()) {
+            for (GeoCellTree tree : trees.values()) {
+                tree.collect(precision, minLatitude, minLongitude, maxLatitude, maxLongitude, clusters, enrolments);
+            }
+        } else {
+            for (String deviceType : new HashSet<>(deviceTypes)) {
+                GeoCellTree tree = trees.get(deviceType);
+                if (tree != null) {
+                    tree.collect(precision, minLatitude, minLongitude, maxLatitude, maxLongitude, clusters,
+                            enrolments);
+                }
+            }
+        }
+        return clusters;
+    }
+
+    synchronized IndexedEnrolment getEnrolment(int enrolmentId) {
+        return enrolments.get(enrolmentId);
+    }
+
+    synchronized int size() {
+        return enrolments.size();
+    }
+
+    boolean isLoaded() {
+        return loadedTime != 0;
+    }
+
+    long getLoadedTime() {
+        return loadedTime;
+    }
+
+    boolean tryBeginRebuild() {
+        return isRebuilding.compareAndSet(false, true);
+    }
+
+    void endRebuild() {
+        isRebuilding.set(false);
+    }
+
+    /**
+     * Forwards the subsequent changes to the index which is being loaded to replace this one.
+     */
+    void setSuccessor(TenantGeoIndex successor) {
+        this.successor = successor;
+    }
+
+    private void put(IndexedEnrolment enrolment) {
+        enrolments.put(enrolment.getEnrolmentId(), enrolment);
+        trees.computeIfAbsent(enrolment.getDeviceType(), deviceType -> new GeoCellTree(depth)).add(enrolment);
+    }
+
+    private void removeFromTree(IndexedEnrolment enrolment) {
+        GeoCellTree tree = trees.get(enrolment.getDeviceType());
+        tree.remove(enrolment);
+        if (tree.isEmpty()) {
+            trees.remove(enrolment.getDeviceType());
+        }
+    }
+}
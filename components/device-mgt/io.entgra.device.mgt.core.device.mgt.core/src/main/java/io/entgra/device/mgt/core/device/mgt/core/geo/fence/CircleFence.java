@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.geo.fence;
+
+import io.entgra.device.mgt.core.device.mgt.common.geo.service.GeofenceData;
+
+/**
+ * A circular fence, given by its center and radius in meters. Containment is decided by the great-circle distance.
+ */
+class CircleFence extends IndexedFence {
+
+    private static final double EARTH_RADIUS = 6371008.8;
+
+    private final double centerLatitude;
+    private final double centerLongitude;
+    private final double cosCenterLatitude;
+    private final double haversineLimit;
+
+    private CircleFence(GeofenceData geofenceData, double minLatitude, double minLongitude, double maxLatitude,
+                        double maxLongitude, double angularRadius) {
+        super(geofenceData, minLatitude, minLongitude, maxLatitude, maxLongitude);
+        this.centerLatitude = geofenceData.getLatitude();
+        this.centerLongitude = geofenceData.getLongitude();
+        this.cosCenterLatitude = Math.cos(Math.toRadians(centerLatitude));
+        double sinHalfRadius = Math.sin(Math.min(angularRadius, Math.PI) / 2);
+        this.haversineLimit = sinHalfRadius * sinHalfRadius;
+    }
+
+    static CircleFence of(GeofenceData geofenceData) {
+        double latitude = geofenceData.getLatitude();
+        double longitude = geofenceData.getLongitude();
+        if (geofenceData.getRadius() <= 0 || latitude < -90 || latitude > 90 || longitude < -180
+                || longitude > 180) {
+            return null;
+        }
+        double angularRadius = geofenceData.getRadius() / EARTH_RADIUS;
+        double latitudeDelta = Math.toDegrees(angularRadius);
+        double minLatitude = latitude - latitudeDelta;
+        double maxLatitude = latitude + latitudeDelta;
+        double minLongitude = -180;
+        double maxLongitude = 180;
+        if (minLatitude > -90 && maxLatitude < 90) {
+            double longitudeDelta = Math.toDegrees(Math.asin(Math.sin(angularRadius)
+                    / Math.cos(Math.toRadians(latitude))));
+            if (longitudeDelta < 180) {
+                minLongitude = longitude - longitudeDelta;
+                maxLongitude = longitude + longitudeDelta;
+            }
+        }
+        return new CircleFence(geofenceData, Math.max(minLatitude, -90), minLongitude, Math.min(maxLatitude, 90),
+                maxLongitude, angularRadius);
+    }
+
+    @Override
+    boolean contains(double latitude, double longitude) {
+        if (!isInBounds(latitude, longitude)) {
+            return false;
+        }
+        double sinHalfLatitude = Math.sin(Math.toRadians(latitude - centerLatitude) / 2);
+        double sinHalfLongitude = Math.sin(Math.toRadians(longitude - centerLongitude) / 2);
+        double haversine = sinHalfLatitude * sinHalfLatitude
+                + cosCenterLatitude * Math.cos(Math.toRadians(latitude)) * sinHalfLongitude * sinHalfLongitude;
+        return haversine <= haversineLimit;
+    }
+}
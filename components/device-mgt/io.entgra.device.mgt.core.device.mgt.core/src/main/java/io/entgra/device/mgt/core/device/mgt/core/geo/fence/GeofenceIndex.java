@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.geo.fence;
+
+import io.entgra.device.mgt.core.device.mgt.common.geo.service.GeofenceData;
+import io.entgra.device.mgt.core.device.mgt.core.DeviceManagementConstants;
+import io.entgra.device.mgt.core.device.mgt.core.config.DeviceConfigurationManager;
+import io.entgra.device.mgt.core.device.mgt.core.config.DeviceManagementConfig;
+import io.entgra.device.mgt.core.device.mgt.core.config.geo.location.GeofenceIndexConfiguration;
+import io.entgra.device.mgt.core.device.mgt.core.dao.DeviceManagementDAOException;
+import io.entgra.device.mgt.core.device.mgt.core.dao.EventManagementDAOFactory;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers geofence containment checks from an in-memory spatial index instead of testing a point against every fence
+ * of the tenant. The index of a tenant is loaded from the database on the first check after startup, kept up to date
+ * by the fence create, update and delete paths of this node and reloaded periodically to pick up the changes made by
+ * other nodes. Comparing the fences containing consecutive locations of a device gives its fence entries and exits.
+ */
+public class GeofenceIndex {
+
+    private static final Log log = LogFactory.getLog(GeofenceIndex.class);
+
+    private static volatile GeofenceIndex geofenceIndex;
+
+    private final boolean enabled;
+    private final double gridCellSize;
+    private final long rebuildIntervalMillis;
+    private final ConcurrentHashMap<Integer, TenantFenceIndex> tenantIndexes = new ConcurrentHashMap<>();
+
+    GeofenceIndex(boolean enabled, double gridCellSize, long rebuildIntervalMillis) {
+        this.enabled = enabled;
+        this.gridCellSize = gridCellSize;
+        this.rebuildIntervalMillis = rebuildIntervalMillis;
+    }
+
+    public static GeofenceIndex getInstance() {
+        if (geofenceIndex == null) {
+            synchronized (GeofenceIndex.class) {
+                if (geofenceIndex == null) {
+                    DeviceManagementConfig config = DeviceConfigurationManager.getInstance()
+                            .getDeviceManagementConfig();
+                    GeofenceIndexConfiguration indexConfig = config != null ?
+                            config.getGeofenceIndexConfiguration() : null;
+                    if (indexConfig != null && indexConfig.isEnabled()) {
+                        double gridCellSize = indexConfig.getGridCellSize() > 0 ?
+                                Math.min(indexConfig.getGridCellSize(), 180) :
+                                DeviceManagementConstants.GeofenceIndex.DEFAULT_GRID_CELL_SIZE;
+                        long rebuildInterval = indexConfig.getRebuildInterval() > 0 ?
+                                indexConfig.getRebuildInterval() :
+                                DeviceManagementConstants.GeofenceIndex.DEFAULT_REBUILD_INTERVAL;
+                        geofenceIndex = new GeofenceIndex(true, gridCellSize,
+                                TimeUnit.SECONDS.toMillis(rebuildInterval));
+                    } else {
+                        geofenceIndex = new GeofenceIndex(false, 0, 0);
+                    }
+                }
+            }
+        }
+        return geofenceIndex;
+    }
+
+    /**
+     * Records a created or updated fence, once it is written to the database. Ignored until the index of the tenant
+     * is loaded, since it is then read from the database.
+     */
+    public void updateFence(GeofenceData geofenceData, int tenantId) {
+        TenantFenceIndex index = enabled ? tenantIndexes.get(tenantId) : null;
+        if (index == null) {
+            return;
+        }
+        IndexedFence fence = IndexedFence.of(geofenceData);
+        if (fence == null) {
+            log.warn("Geofence " + geofenceData.getId() + " of tenant " + tenantId + " has no usable shape, hence "
+                    + "it is left out of the geofence index");
+        }
+        index.update(geofenceData.getId(), fence);
+    }
+
+    /**
+     * Drops a fence which is deleted.
+     */
+    public void removeFence(int fenceId, int tenantId) {
+        TenantFenceIndex index = enabled ? tenantIndexes.get(tenantId) : null;
+        if (index != null) {
+            index.remove(fenceId);
+        }
+    }
+
+    /**
+     * Finds the fences of the tenant which contain the point, loading the index of the tenant if needed. Has to be
+     * invoked with an open event management connection.
+     *
+     * @return the fences containing the point, or null if the check has to be done against the fences in the database.
+     */
+    public List<GeofenceData> findContainingFences(double latitude, double longitude, int tenantId) {
+        if (!enabled) {
+            return null;
+        }
+        TenantFenceIndex index = getLoadedIndex(tenantId);
+        return index != null ? index.findContainingFences(latitude, longitude) : null;
+    }
+
+    /**
+     * Tests the point against each of the given fences, for when the index is not available.
+     *
+     * @return the fences containing the point.
+     */
+    public static List<GeofenceData> filterContainingFences(List<GeofenceData> geofences, double latitude,
+                                                            double longitude) {
+        List<GeofenceData> containingFences = new ArrayList<>();
+        for (GeofenceData geofenceData : geofences) {
+            IndexedFence fence = IndexedFence.of(geofenceData);
+            if (fence != null && fence.contains(latitude, longitude)) {
+                containingFences.add(geofenceData);
+            }
+        }
+        return containingFences;
+    }
+
+    /**
+     * @return the index of the tenant, loading it from the database when it is not loaded yet or due for a reload.
+     * Null if the index is being loaded by another thread or could not be loaded.
+     */
+    private TenantFenceIndex getLoadedIndex(int tenantId) {
+        TenantFenceIndex index = tenantIndexes.computeIfAbsent(tenantId, id -> newTenantIndex());
+        boolean isReloadRequired = !index.isLoaded()
+                || System.currentTimeMillis() - index.getLoadedTime() > rebuildIntervalMillis;
+        if (!isReloadRequired || !index.tryBeginRebuild()) {
+            return index.isLoaded() ? index : null;
+        }
+        try {
+            TenantFenceIndex loadingIndex = index;
+            if (index.isLoaded()) {
+                loadingIndex = newTenantIndex();
+                index.setSuccessor(loadingIndex);
+            }
+            long start = System.currentTimeMillis();
+            List<IndexedFence> fences = new ArrayList<>();
+            for (GeofenceData geofenceData : EventManagementDAOFactory.getGeofenceDAO()
+                    .getGeoFencesOfTenant(tenantId)) {
+                IndexedFence fence = IndexedFence.of(geofenceData);
+                if (fence != null) {
+                    fences.add(fence);
+                } else if (log.isDebugEnabled()) {
+                    log.debug("Geofence " + geofenceData.getId() + " of tenant " + tenantId
+                            + " has no usable shape, hence it is left out of the geofence index");
+                }
+            }
+            loadingIndex.load(fences);
+            tenantIndexes.put(tenantId, loadingIndex);
+            if (log.isDebugEnabled()) {
+                log.debug("Loaded " + loadingIndex.size() + " geofences of tenant " + tenantId +
+                        " to the geofence index in " + (System.currentTimeMillis() - start) + " ms");
+            }
+            return loadingIndex;
+        } catch (DeviceManagementDAOException e) {
+            log.error("Error occurred while loading the geofence index of tenant " + tenantId, e);
+            index.setSuccessor(null);
+            return index.isLoaded() ? index : null;
+        } finally {
+            index.endRebuild();
+        }
+    }
+
+    private TenantFenceIndex newTenantIndex() {
+        return new TenantFenceIndex(gridCellSize, DeviceManagementConstants.GeofenceIndex.MAX_CELLS_PER_FENCE);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.geo.fence;
+
+import io.entgra.device.mgt.core.device.mgt.common.geo.service.GeofenceData;
+
+/**
+ * A geofence with its precomputed bounding box, as kept in the spatial index. Longitude bounds of a fence which
+ * crosses the antimeridian lie outside the [-180, 180] range.
+ */
+abstract class IndexedFence {
+
+    static final String CIRCLE_SHAPE = "circle";
+
+    private final GeofenceData geofenceData;
+    private final double minLatitude;
+    private final double minLongitude;
+    private final double maxLatitude;
+    private final double maxLongitude;
+
+    IndexedFence(GeofenceData geofenceData, double minLatitude, double minLongitude, double maxLatitude,
+                 double maxLongitude) {
+        this.geofenceData = geofenceData;
+        this.minLatitude = minLatitude;
+        this.minLongitude = minLongitude;
+        this.maxLatitude = maxLatitude;
+        this.maxLongitude = maxLongitude;
+    }
+
+    /**
+     * @return the indexed form of the fence, or null if the fence has no usable shape.
+     */
+    static IndexedFence of(GeofenceData geofenceData) {
+        if (CIRCLE_SHAPE.equalsIgnoreCase(geofenceData.getFenceShape())) {
+            return CircleFence.of(geofenceData);
+        }
+        return PolygonFence.of(geofenceData);
+    }
+
+    /**
+     * @return whether the point lies within the fence.
+     */
+    abstract boolean contains(double latitude, double longitude);
+
+    /**
+     * @return whether the point lies within the bounding box of the fence.
+     */
+    boolean isInBounds(double latitude, double longitude) {
+        if (latitude < minLatitude || latitude > maxLatitude) {
+            return false;
+        }
+        return (longitude >= minLongitude && longitude <= maxLongitude)
+                || (longitude + 360 >= minLongitude && longitude + 360 <= maxLongitude)
+                || (longitude - 360 >= minLongitude && longitude - 360 <= maxLongitude);
+    }
+
+    GeofenceData getGeofenceData() {
+        return geofenceData;
+    }
+
+    int getFenceId() {
+        return geofenceData.getId();
+    }
+
+    double getMinLatitude() {
+        return minLatitude;
+    }
+
+    double getMinLongitude() {
+        return minLongitude;
+    }
+
+    double getMaxLatitude() {
+        return maxLatitude;
+    }
+
+    double getMaxLongitude() {
+        return maxLongitude;
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.geo.fence;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import io.entgra.device.mgt.core.device.mgt.common.geo.service.GeofenceData;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A polygon fence read from the GeoJSON of the fence. Polygons, multi polygons, features and feature collections
+ * are accepted, as well as plain arrays of [longitude, latitude] pairs or {"lat", "lng"} objects. Holes and the
+ * parts of a multi polygon are handled with the even-odd rule over all the rings.
+ */
+class PolygonFence extends IndexedFence {
+
+    private final double[][] ringLatitudes;
+    private final double[][] ringLongitudes;
+
+    private PolygonFence(GeofenceData geofenceData, double minLatitude, double minLongitude, double maxLatitude,
+                         double maxLongitude, double[][] ringLatitudes, double[][] ringLongitudes) {
+        super(geofenceData, minLatitude, minLongitude, maxLatitude, maxLongitude);
+        this.ringLatitudes = ringLatitudes;
+        this.ringLongitudes = ringLongitudes;
+    }
+
+    static PolygonFence of(GeofenceData geofenceData) {
+        if (geofenceData.getGeoJson() == null || geofenceData.getGeoJson().trim().isEmpty()) {
+            return null;
+        }
+        List<double[][]> rings = new ArrayList<>();
+        try {
+            collectRings(JsonParser.parseString(geofenceData.getGeoJson()), rings);
+        } catch (JsonParseException | IllegalStateException | UnsupportedOperationException
+                 | NumberFormatException e) {
+            return null;
+        }
+        if (rings.isEmpty()) {
+            return null;
+        }
+        double[][] ringLatitudes = new double[rings.size()][];
+        double[][] ringLongitudes = new double[rings.size()][];
+        double minLatitude = Double.POSITIVE_INFINITY;
+        double minLongitude = Double.POSITIVE_INFINITY;
+        double maxLatitude = Double.NEGATIVE_INFINITY;
+        double maxLongitude = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < rings.size(); i++) {
+            ringLatitudes[i] = rings.get(i)[0];
+            ringLongitudes[i] = rings.get(i)[1];
+            for (int j = 0; j < ringLatitudes[i].length; j++) {
+                minLatitude = Math.min(minLatitude, ringLatitudes[i][j]);
+                maxLatitude = Math.max(maxLatitude, ringLatitudes[i][j]);
+                minLongitude = Math.min(minLongitude, ringLongitudes[i][j]);
+                maxLongitude = Math.max(maxLongitude, ringLongitudes[i][j]);
+            }
+        }
+        if (minLatitude < -90 || maxLatitude > 90 || minLongitude < -180 || maxLongitude > 180) {
+            return null;
+        }
+        return new PolygonFence(geofenceData, minLatitude, minLongitude, maxLatitude, maxLongitude,
+                ringLatitudes, ringLongitudes);
+    }
+
+    @Override
+    boolean contains(double latitude, double longitude) {
+        if (!isInBounds(latitude, longitude)) {
+            return false;
+        }
+        boolean isInside = false;
+        for (int i = 0; i < ringLatitudes.length; i++) {
+            double[] latitudes = ringLatitudes[i];
+            double[] longitudes = ringLongitudes[i];
+            for (int j = 0, k = latitudes.length - 1; j < latitudes.length; k = j++) {
+                if ((latitudes[j] > latitude) != (latitudes[k] > latitude)
+                        && longitude < (longitudes[k] - longitudes[j]) * (latitude - latitudes[j])
+                        / (latitudes[k] - latitudes[j]) + longitudes[j]) {
+                    isInside = !isInside;
+                }
+            }
+        }
+        return isInside;
+    }
+
+    private static void collectRings(JsonElement element, List<double[][]> rings) {
+        if (element.isJsonObject()) {
+            JsonObject object = element.getAsJsonObject();
+            if (object.has("features")) {
+                collectRings(object.get("features"), rings);
+            } else if (object.has("geometries")) {
+                collectRings(object.get("geometries"), rings);
+            } else if (object.has("geometry")) {
+                collectRings(object.get("geometry"), rings);
+            } else if (object.has("coordinates")) {
+                collectRings(object.get("coordinates"), rings);
+            }
+        } else if (element.isJsonArray()) {
+            JsonArray array = element.getAsJsonArray();
+            if (isRing(array)) {
+                double[][] ring = toRing(array);
+                if (ring != null) {
+                    rings.add(ring);
+                }
+            } else {
+                for (JsonElement child : array) {
+                    collectRings(child, rings);
+                }
+            }
+        }
+    }
+
+    private static boolean isRing(JsonArray array) {
+        if (array.size() == 0) {
+            return false;
+        }
+        JsonElement first = array.get(0);
+        if (first.isJsonObject()) {
+            return first.getAsJsonObject().has("lat");
+        }
+        return first.isJsonArray() && first.getAsJsonArray().size() >= 2
+                && first.getAsJsonArray().get(0).isJsonPrimitive();
+    }
+
+    /**
+     * @return the latitudes and longitudes of the ring, without the closing point, or null if it has less than three
+     * points.
+     */
+    private static double[][] toRing(JsonArray array) {
+        int size = array.size();
+        double[] latitudes = new double[size];
+        double[] longitudes = new double[size];
+        for (int i = 0; i < size; i++) {
+            JsonElement point = array.get(i);
+            if (point.isJsonObject()) {
+                JsonObject latLng = point.getAsJsonObject();
+                JsonElement longitude = latLng.has("lng") ? latLng.get("lng") : latLng.get("lon");
+                if (!latLng.has("lat") || longitude == null) {
+                    throw new JsonParseException("Point without a latitude or longitude: " + latLng);
+                }
+                latitudes[i] = latLng.get("lat").getAsDouble();
+                longitudes[i] = longitude.getAsDouble();
+            } else {
+                JsonArray coordinates = point.getAsJsonArray();
+                if (coordinates.size() < 2) {
+                    throw new JsonParseException("Position without a latitude or longitude: " + coordinates);
+                }
+                longitudes[i] = coordinates.get(0).getAsDouble();
+                latitudes[i] = coordinates.get(1).getAsDouble();
+            }
+        }
+        if (size > 1 && latitudes[0] == latitudes[size - 1] && longitudes[0] == longitudes[size - 1]) {
+            size--;
+        }
+        if (size < 3) {
+            return null;
+        }
+        double[][] ring = new double[2][];
+        ring[0] = Arrays.copyOf(latitudes, size);
+        ring[1] = Arrays.copyOf(longitudes, size);
+        return ring;
+    }
+}
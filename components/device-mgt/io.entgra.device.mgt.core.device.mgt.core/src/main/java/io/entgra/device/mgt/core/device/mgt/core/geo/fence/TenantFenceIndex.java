@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.geo.fence;
+
+import io.entgra.device.mgt.core.device.mgt.common.geo.service.GeofenceData;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Geofences of a single tenant, indexed in a uniform latitude/longitude grid. Each fence is registered in every cell
+ * its bounding box overlaps, so a containment check only tests the fences of the cell of the point. Fences spanning
+ * more than maxCellsPerFence cells are kept aside and tested for every point instead. Fences changed before the index
+ * is loaded are kept and take precedence over the ones loaded from the database, which may be older. While a
+ * replacement index is being loaded, changes are forwarded to it as well.
+ */
+class TenantFenceIndex {
+
+    private final double rowHeight;
+    private final double columnWidth;
+    private final int rows;
+    private final int columns;
+    private final int maxCellsPerFence;
+    private final Map<Integer, IndexedFence> fences = new HashMap<>();
+    private final Map<Long, List<IndexedFence>> cells = new HashMap<>();
+    private final List<IndexedFence> largeFences = new ArrayList<>();
+    private final Set<Integer> removedFenceIds = new HashSet<>();
+    private final AtomicBoolean isRebuilding = new AtomicBoolean();
+    private volatile long loadedTime;
+    private volatile TenantFenceIndex successor;
+
+    TenantFenceIndex(double cellSize, int maxCellsPerFence) {
+        this.rows = (int) Math.ceil(180 / cellSize);
+        this.columns = (int) Math.ceil(360 / cellSize);
+        this.rowHeight = 180.0 / rows;
+        this.columnWidth = 360.0 / columns;
+        this.maxCellsPerFence = maxCellsPerFence;
+    }
+
+    /**
+     * Adds or replaces a fence. A fence whose shape can not be indexed is dropped.
+     */
+    synchronized void update(int fenceId, IndexedFence fence) {
+        IndexedFence existing = fences.remove(fenceId);
+        if (existing != null) {
+            unregister(existing);
+        }
+        if (fence != null) {
+            fences.put(fenceId, fence);
+            register(fence);
+        } else if (loadedTime == 0) {
+            removedFenceIds.add(fenceId);
+        }
+        if (successor != null) {
+            successor.update(fenceId, fence);
+        }
+    }
+
+    synchronized void remove(int fenceId) {
+        update(fenceId, null);
+    }
+
+    /**
+     * Adds the fences read from the database, skipping the ones which were updated or removed since.
+     */
+    synchronized void load(List<IndexedFence> loadedFences) {
+        for (IndexedFence fence : loadedFences) {
+            if (!fences.containsKey(fence.getFenceId()) && !removedFenceIds.contains(fence.getFenceId())) {
+                fences.put(fence.getFenceId(), fence);
+                register(fence);
+            }
+        }
+        removedFenceIds.clear();
+        loadedTime = System.currentTimeMillis();
+    }
+
+    /**
+     * @return the fences which contain the point.
+     */
+    synchronized List<GeofenceData> findContainingFences(double latitude, double longitude) {
+        List<GeofenceData> containingFences = new ArrayList<>();
+        List<IndexedFence> candidates = cells.get(toCellKey(toRow(latitude), toColumn(longitude)));
+        if (candidates != null) {
+            for (IndexedFence fence : candidates) {
+                if (fence.contains(latitude, longitude)) {
+                    containingFences.add(fence.getGeofenceData());
+                }
+            }
+        }
+        for (IndexedFence fence : largeFences) {
+            if (fence.contains(latitude, longitude)) {
+                containingFences.add(fence.getGeofenceData());
+            }
+        }
+        return containingFences;
+    }
+
+    synchronized int size() {
+        return fences.size();
+    }
+
+    boolean isLoaded() {
+        return loadedTime != 0;
+    }
+
+    long getLoadedTime() {
+        return loadedTime;
+    }
+
+    boolean tryBeginRebuild() {
+        return isRebuilding.compareAndSet(false, true);
+    }
+
+    void endRebuild() {
+        isRebuilding.set(false);
+    }
+
+    /**
+     * Forwards the subsequent changes to the index which is being loaded to replace this one.
+     */
+    void setSuccessor(TenantFenceIndex successor) {
+        this.successor = successor;
+    }
+
+    private void register(IndexedFence fence) {
+        int minRow = toRow(fence.getMinLatitude());
+        int maxRow = toRow(fence.getMaxLatitude());
+        long columnSpan = getColumnSpan(fence);
+        if ((maxRow - minRow + 1) * columnSpan > maxCellsPerFence) {
+            largeFences.add(fence);
+            return;
+        }
+        int minColumn = toColumn(fence.getMinLongitude());
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int i = 0; i < columnSpan; i++) {
+                cells.computeIfAbsent(toCellKey(row, (minColumn + i) % columns), key -> new ArrayList<>())
+                        .add(fence);
+            }
+        }
+    }
+
+    private void unregister(IndexedFence fence) {
+        int minRow = toRow(fence.getMinLatitude());
+        int maxRow = toRow(fence.getMaxLatitude());
+        long columnSpan = getColumnSpan(fence);
+        if ((maxRow - minRow + 1) * columnSpan > maxCellsPerFence) {
+            largeFences.remove(fence);
+            return;
+        }
+        int minColumn = toColumn(fence.getMinLongitude());
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int i = 0; i < columnSpan; i++) {
+                long key = toCellKey(row, (minColumn + i) % columns);
+                List<IndexedFence> cellFences = cells.get(key);
+                cellFences.remove(fence);
+                if (cellFences.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of grid columns the longitude bounds of the fence overlap, wrapping at the antimeridian.
+     */
+    private long getColumnSpan(IndexedFence fence) {
+        if (fence.getMaxLongitude() - fence.getMinLongitude() >= 360) {
+            return columns;
+        }
+        long span = (long) Math.floor((fence.getMaxLongitude() + 180) / columnWidth)
+                - (long) Math.floor((fence.getMinLongitude() + 180) / columnWidth) + 1;
+        return Math.min(span, columns);
+    }
+
+    private int toRow(double latitude) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor((latitude + 90) / rowHeight)));
+    }
+
+    private int toColumn(double longitude) {
+        return (int) Math.floorMod((long) Math.floor((longitude + 180) / columnWidth), (long) columns);
+    }
+
+    private long toCellKey(int row, int column) {
+        return (long) row * columns + column;
+    }
+}
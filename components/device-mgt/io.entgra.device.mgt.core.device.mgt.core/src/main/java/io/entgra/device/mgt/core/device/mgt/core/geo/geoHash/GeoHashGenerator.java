@@ -21,88 +21,327 @@ package io.entgra.device.mgt.core.device.mgt.core.geo.geoHash;
 import io.entgra.device.mgt.core.device.mgt.common.device.details.DeviceLocation;
 import io.entgra.device.mgt.core.device.mgt.common.geo.service.GeoCoordinate;
 
+import java.util.Arrays;
+
+/**
+ * Encodes and decodes geohashes. Besides the base32 string form, geohashes of up to
+ * {@link #MAX_PACKED_PRECISION} characters can be handled as a primitive long holding the interleaved longitude and
+ * latitude bits, most significant bit first, right aligned. The packed form of a geohash with the same precision
+ * preserves the ordering and the prefix relationship of the string form.
+ */
 public class GeoHashGenerator {
 
-    private static final String BASE_32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    public static final int MAX_PACKED_PRECISION = 12;
+
+    private static final char[] BASE_32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+    private static final int[] BASE_32_INDEX = new int[128];
     private static final int GEOHASH_LENGTH = 16;
+    private static final int BITS_PER_CHAR = 5;
+    private static final int MAX_PACKED_BITS = MAX_PACKED_PRECISION * BITS_PER_CHAR;
+    private static final int MAX_COVERING_CELLS = 1 << 16;
+
+    static {
+        Arrays.fill(BASE_32_INDEX, -1);
+        for (int i = 0; i < BASE_32.length; i++) {
+            BASE_32_INDEX[BASE_32[i]] = i;
+        }
+    }
 
     private GeoHashGenerator() {
     }
 
-    private static int divideRangeByValue(double value, double[] range) {
-        double mid = middle(range);
-        if (value >= mid) {
-            range[0] = mid;
-            return 1;
-        } else {
-            range[1] = mid;
-            return 0;
-        }
+    public static String encodeGeohash(double latitude, double longitude) {
+        return encodeGeohash(latitude, longitude, GEOHASH_LENGTH);
     }
 
-    private static void divideRangeByBit(int bit, double[] range) {
-        double mid = middle(range);
-        if (bit > 0) {
-            range[0] = mid;
-        } else {
-            range[1] = mid;
+    /**
+     * Encodes the coordinate to a geohash of the given number of characters.
+     *
+     * @param precision number of characters of the geohash, between 1 and 16
+     */
+    public static String encodeGeohash(double latitude, double longitude, int precision) {
+        if (precision < 1 || precision > GEOHASH_LENGTH) {
+            throw new IllegalArgumentException("Geohash precision should be between 1 and " + GEOHASH_LENGTH +
+                    " but was " + precision);
         }
+        char[] geohash = new char[precision];
+        encodeInto(latitude, longitude, precision, geohash);
+        return new String(geohash);
     }
 
-    private static double middle(double[] range) {
-        return (range[0] + range[1]) / 2;
+    /**
+     * Encodes a batch of coordinates reusing the same working buffer for all of them.
+     *
+     * @param latitudes  latitudes of the coordinates
+     * @param longitudes longitudes of the coordinates, in the same order as the latitudes
+     * @return geohashes in the order of the given coordinates
+     */
+    public static String[] encodeGeohashes(double[] latitudes, double[] longitudes) {
+        String[] geohashes = new String[latitudes.length];
+        char[] geohash = new char[GEOHASH_LENGTH];
+        for (int i = 0; i < latitudes.length; i++) {
+            encodeInto(latitudes[i], longitudes[i], GEOHASH_LENGTH, geohash);
+            geohashes[i] = new String(geohash);
+        }
+        return geohashes;
     }
 
-    public static String encodeGeohash(double latitude, double longitude) {
-        double[] latRange = new double[]{-90.0, 90.0};
-        double[] lonRange = new double[]{-180.0, 180.0};
-        boolean isEven = true;
-        int bit = 0;
-        int base32CharIndex = 0;
-        StringBuilder geohash = new StringBuilder();
-
-        while (geohash.length() < GEOHASH_LENGTH) {
-            if (isEven) {
-                base32CharIndex = (base32CharIndex << 1) | divideRangeByValue(longitude, lonRange);
-            } else {
-                base32CharIndex = (base32CharIndex << 1) | divideRangeByValue(latitude, latRange);
-            }
-
-            isEven = !isEven;
+    public static String encodeGeohash(DeviceLocation deviceLocation) {
+        return encodeGeohash(deviceLocation.getLatitude(), deviceLocation.getLongitude());
+    }
 
-            if (bit < 4) {
-                bit++;
-            } else {
-                geohash.append(BASE_32.charAt(base32CharIndex));
-                bit = 0;
-                base32CharIndex = 0;
-            }
-        }
+    /**
+     * Encodes the coordinate to the packed form of a geohash.
+     *
+     * @param precision number of geohash characters represented by the packed value, between 1 and 12
+     * @return interleaved longitude and latitude bits of the geohash
+     */
+    public static long encode(double latitude, double longitude, int precision) {
+        int bits = toPackedBits(precision);
+        return interleave(bisect(longitude, -180.0, 180.0, (bits + 1) / 2),
+                bisect(latitude, -90.0, 90.0, bits / 2), bits);
+    }
 
-        return geohash.toString();
+    /**
+     * Converts a packed geohash to its base32 string form.
+     */
+    public static String toGeohash(long geohash, int precision) {
+        toPackedBits(precision);
+        char[] chars = new char[precision];
+        writeBase32(geohash, precision, chars, 0);
+        return new String(chars);
     }
 
-    public static String encodeGeohash(DeviceLocation deviceLocation) {
-        return encodeGeohash(deviceLocation.getLatitude(), deviceLocation.getLongitude());
+    /**
+     * Converts a geohash of up to 12 characters to its packed form.
+     */
+    public static long toPackedGeohash(String geohash) {
+        toPackedBits(geohash.length());
+        long packed = 0;
+        for (int i = 0; i < geohash.length(); i++) {
+            packed = (packed << BITS_PER_CHAR) | toBase32Index(geohash.charAt(i));
+        }
+        return packed;
     }
 
     public static GeoCoordinate decodeGeohash(String geohash) {
-        double[] latRange = new double[]{-90.0, 90.0};
-        double[] lonRange = new double[]{-180.0, 180.0};
+        double minLat = -90.0;
+        double maxLat = 90.0;
+        double minLon = -180.0;
+        double maxLon = 180.0;
         boolean isEvenBit = true;
 
         for (int i = 0; i < geohash.length(); i++) {
-            int base32CharIndex = BASE_32.indexOf(geohash.charAt(i));
-            for (int j = 4; j >= 0; j--) {
+            int base32CharIndex = toBase32Index(geohash.charAt(i));
+            for (int j = BITS_PER_CHAR - 1; j >= 0; j--) {
+                boolean isSet = ((base32CharIndex >> j) & 1) != 0;
                 if (isEvenBit) {
-                    divideRangeByBit((base32CharIndex >> j) & 1, lonRange);
+                    double mid = (minLon + maxLon) / 2;
+                    if (isSet) {
+                        minLon = mid;
+                    } else {
+                        maxLon = mid;
+                    }
                 } else {
-                    divideRangeByBit((base32CharIndex >> j) & 1, latRange);
+                    double mid = (minLat + maxLat) / 2;
+                    if (isSet) {
+                        minLat = mid;
+                    } else {
+                        maxLat = mid;
+                    }
                 }
                 isEvenBit = !isEvenBit;
             }
         }
-        return new GeoCoordinate(middle(latRange), middle(lonRange));
+        return new GeoCoordinate((minLat + maxLat) / 2, (minLon + maxLon) / 2);
+    }
+
+    /**
+     * Decodes a packed geohash to the center of its cell.
+     */
+    public static GeoCoordinate decode(long geohash, int precision) {
+        int bits = toPackedBits(precision);
+        int lonBitCount = (bits + 1) / 2;
+        int latBitCount = bits / 2;
+        double lonCellWidth = 360.0 / (1L << lonBitCount);
+        double latCellHeight = 180.0 / (1L << latBitCount);
+        return new GeoCoordinate(-90.0 + (latIndex(geohash, bits) + 0.5) * latCellHeight,
+                -180.0 + (lonIndex(geohash, bits) + 0.5) * lonCellWidth);
+    }
+
+    /**
+     * Finds the cell of the same precision at the given offset from a packed geohash. Cells wrap around the
+     * antimeridian but not around the poles.
+     *
+     * @param latOffset number of cells to move towards the north, negative to move towards the south
+     * @param lonOffset number of cells to move towards the east, negative to move towards the west
+     * @return packed geohash of the cell, or -1 if the offset goes beyond a pole
+     */
+    public static long neighbour(long geohash, int precision, int latOffset, int lonOffset) {
+        int bits = toPackedBits(precision);
+        int lonBitCount = (bits + 1) / 2;
+        int latBitCount = bits / 2;
+        long lat = latIndex(geohash, bits) + latOffset;
+        if (lat < 0 || lat >= (1L << latBitCount)) {
+            return -1;
+        }
+        long lon = (lonIndex(geohash, bits) + lonOffset) & ((1L << lonBitCount) - 1);
+        return interleave(lon, lat, bits);
+    }
+
+    /**
+     * Finds the cells surrounding a packed geohash, starting from the south west cell and moving row by row towards
+     * the north. Cells beyond the poles are omitted.
+     */
+    public static long[] neighbours(long geohash, int precision) {
+        long[] neighbours = new long[8];
+        int count = 0;
+        for (int latOffset = -1; latOffset <= 1; latOffset++) {
+            for (int lonOffset = -1; lonOffset <= 1; lonOffset++) {
+                if (latOffset == 0 && lonOffset == 0) {
+                    continue;
+                }
+                long neighbour = neighbour(geohash, precision, latOffset, lonOffset);
+                if (neighbour != -1) {
+                    neighbours[count++] = neighbour;
+                }
+            }
+        }
+        return count == neighbours.length ? neighbours : Arrays.copyOf(neighbours, count);
+    }
+
+    /**
+     * Finds the packed geohashes of the given precision which together cover a bounding box. A box whose western
+     * longitude is greater than its eastern longitude is treated as crossing the antimeridian.
+     *
+     * @throws IllegalArgumentException if the box is invalid or needs more than 65536 cells at this precision
+     */
+    public static long[] coveringCells(double minLat, double minLon, double maxLat, double maxLon, int precision) {
+        if (minLat > maxLat) {
+            throw new IllegalArgumentException("Southern latitude " + minLat + " of the bounding box is greater " +
+                    "than the northern latitude " + maxLat);
+        }
+        int bits = toPackedBits(precision);
+        int lonBitCount = (bits + 1) / 2;
+        long lonCells = 1L << lonBitCount;
+        long southWest = encode(minLat, minLon, precision);
+        long northEast = encode(maxLat, maxLon, precision);
+        long fromLon = lonIndex(southWest, bits);
+        long fromLat = latIndex(southWest, bits);
+        long lonSpan = Math.floorMod(lonIndex(northEast, bits) - fromLon, lonCells) + 1;
+        long latSpan = latIndex(northEast, bits) - fromLat + 1;
+        if (lonSpan * latSpan > MAX_COVERING_CELLS) {
+            throw new IllegalArgumentException("Covering the bounding box needs " + lonSpan * latSpan +
+                    " cells at precision " + precision + ", use a lower precision");
+        }
+        long[] cells = new long[(int) (lonSpan * latSpan)];
+        int count = 0;
+        for (long lat = fromLat; lat < fromLat + latSpan; lat++) {
+            for (long lon = fromLon; lon < fromLon + lonSpan; lon++) {
+                cells[count++] = interleave(lon & (lonCells - 1), lat, bits);
+            }
+        }
+        return cells;
+    }
+
+    private static void encodeInto(double latitude, double longitude, int precision, char[] geohash) {
+        int bits = precision * BITS_PER_CHAR;
+        long lonBits = bisect(longitude, -180.0, 180.0, (bits + 1) / 2);
+        long latBits = bisect(latitude, -90.0, 90.0, bits / 2);
+        if (bits <= MAX_PACKED_BITS) {
+            writeBase32(interleave(lonBits, latBits, bits), precision, geohash, 0);
+            return;
+        }
+        int remainingBits = bits - MAX_PACKED_BITS;
+        int remainingLonBits = (remainingBits + 1) / 2;
+        int remainingLatBits = remainingBits / 2;
+        writeBase32(interleave(lonBits >>> remainingLonBits, latBits >>> remainingLatBits, MAX_PACKED_BITS),
+                MAX_PACKED_PRECISION, geohash, 0);
+        writeBase32(interleave(lonBits & ((1L << remainingLonBits) - 1), latBits & ((1L << remainingLatBits) - 1),
+                remainingBits), precision - MAX_PACKED_PRECISION, geohash, MAX_PACKED_PRECISION);
+    }
+
+    /**
+     * Halves the range towards the value the given number of times, recording 1 for every upper half chosen.
+     */
+    private static long bisect(double value, double min, double max, int bitCount) {
+        long bits = 0;
+        for (int i = 0; i < bitCount; i++) {
+            double mid = (min + max) / 2;
+            if (value >= mid) {
+                bits = (bits << 1) | 1;
+                min = mid;
+            } else {
+                bits <<= 1;
+                max = mid;
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Interleaves the bits of the longitude and the latitude, starting with the longitude at the most significant
+     * bit. Longitude has one bit more than the latitude when the total number of bits is odd.
+     */
+    private static long interleave(long lonBits, long latBits, int bits) {
+        if ((bits & 1) == 0) {
+            return (spread(lonBits) << 1) | spread(latBits);
+        }
+        return spread(lonBits) | (spread(latBits) << 1);
+    }
+
+    private static long lonIndex(long geohash, int bits) {
+        return (bits & 1) == 0 ? compact(geohash >>> 1) : compact(geohash);
+    }
+
+    private static long latIndex(long geohash, int bits) {
+        return (bits & 1) == 0 ? compact(geohash) : compact(geohash >>> 1);
+    }
+
+    /**
+     * Moves the lower 32 bits to the even bit positions.
+     */
+    private static long spread(long value) {
+        value &= 0x00000000FFFFFFFFL;
+        value = (value | (value << 16)) & 0x0000FFFF0000FFFFL;
+        value = (value | (value << 8)) & 0x00FF00FF00FF00FFL;
+        value = (value | (value << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        value = (value | (value << 2)) & 0x3333333333333333L;
+        return (value | (value << 1)) & 0x5555555555555555L;
+    }
+
+    /**
+     * Collects the bits at the even bit positions, reversing {@link #spread(long)}.
+     */
+    private static long compact(long value) {
+        value &= 0x5555555555555555L;
+        value = (value | (value >>> 1)) & 0x3333333333333333L;
+        value = (value | (value >>> 2)) & 0x0F0F0F0F0F0F0F0FL;
+        value = (value | (value >>> 4)) & 0x00FF00FF00FF00FFL;
+        value = (value | (value >>> 8)) & 0x0000FFFF0000FFFFL;
+        return (value | (value >>> 16)) & 0x00000000FFFFFFFFL;
     }
 
+    private static void writeBase32(long geohash, int precision, char[] chars, int offset) {
+        for (int i = precision - 1; i >= 0; i--) {
+            chars[offset + i] = BASE_32[(int) (geohash & 0x1F)];
+            geohash >>>= BITS_PER_CHAR;
+        }
+    }
+
+    private static int toBase32Index(char c) {
+        int index = c < BASE_32_INDEX.length ? BASE_32_INDEX[c] : -1;
+        if (index < 0) {
+            throw new IllegalArgumentException("Invalid geohash character '" + c + "'");
+        }
+        return index;
+    }
+
+    private static int toPackedBits(int precision) {
+        if (precision < 1 || precision > MAX_PACKED_PRECISION) {
+            throw new IllegalArgumentException("Packed geohash precision should be between 1 and " +
+                    MAX_PACKED_PRECISION + " but was " + precision);
+        }
+        return precision * BITS_PER_CHAR;
+    }
 }
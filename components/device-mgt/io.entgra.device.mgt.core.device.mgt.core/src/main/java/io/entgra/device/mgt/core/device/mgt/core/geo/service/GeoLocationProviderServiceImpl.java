@@ -36,6 +36,7 @@ import io.entgra.device.mgt.core.device.mgt.core.dao.EventManagementDAOFactory;
 import io.entgra.device.mgt.core.device.mgt.core.dao.GeofenceDAO;
 import io.entgra.device.mgt.core.device.mgt.core.dao.util.DeviceManagementDAOUtil;
 import io.entgra.device.mgt.core.device.mgt.core.dto.event.config.GeoFenceGroupMap;
+import io.entgra.device.mgt.core.device.mgt.core.geo.fence.GeofenceIndex;
 import io.entgra.device.mgt.core.device.mgt.core.internal.DeviceManagementDataHolder;
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.OperationMgtConstants;
 import io.entgra.device.mgt.core.identity.jwt.client.extension.JWTClient;
@@ -1263,6 +1264,7 @@ public class GeoLocationProviderServiceImpl implements GeoLocationProviderServic
                     .addFenceToCache(geofenceData, geofenceData.getId(), tenantId);
             geofenceDAO.createGeofenceGroupMapping(geofenceData, geofenceData.getGroupIds());
             EventManagementDAOFactory.commitTransaction();
+            GeofenceIndex.getInstance().updateFence(geofenceData, tenantId);
         } catch (TransactionManagementException e) {
             String msg = "Failed to begin transaction for saving geofence";
             log.error(msg, e);
@@ -1462,6 +1464,40 @@ public class GeoLocationProviderServiceImpl implements GeoLocationProviderServic
 
     }
 
+    @Override
+    public List<GeofenceData> getGeoFencesContaining(double latitude, double longitude)
+            throws GeoLocationBasedServiceException {
+        int tenantId;
+        try {
+            tenantId = DeviceManagementDAOUtil.getTenantId();
+        } catch (DeviceManagementDAOException e) {
+            String msg = "Error occurred while retrieving tenant id while get geofence data";
+            log.error(msg, e);
+            throw new GeoLocationBasedServiceException(msg, e);
+        }
+
+        try {
+            EventManagementDAOFactory.openConnection();
+            List<GeofenceData> containingFences = GeofenceIndex.getInstance()
+                    .findContainingFences(latitude, longitude, tenantId);
+            if (containingFences == null) {
+                containingFences = GeofenceIndex.filterContainingFences(
+                        geofenceDAO.getGeoFencesOfTenant(tenantId), latitude, longitude);
+            }
+            return containingFences;
+        } catch (DeviceManagementDAOException e) {
+            String msg = "Error occurred while retrieving geofence data for the tenant " + tenantId;
+            log.error(msg, e);
+            throw new GeoLocationBasedServiceException(msg, e);
+        } catch (SQLException e) {
+            String msg = "Failed to open the DB connection to retrieve Geofence";
+            log.error(msg, e);
+            throw new GeoLocationBasedServiceException(msg, e);
+        } finally {
+            EventManagementDAOFactory.closeConnection();
+        }
+    }
+
     @Override
     public boolean deleteGeofenceData(int fenceId) throws GeoLocationBasedServiceException {
         int tenantId;
@@ -1496,6 +1532,7 @@ public class GeoLocationProviderServiceImpl implements GeoLocationProviderServic
             geofenceDAO.deleteGeofenceById(fenceId);
             EventManagementDAOFactory.commitTransaction();
             GeoCacheManagerImpl.getInstance().removeFenceFromCache(fenceId, tenantId);
+            GeofenceIndex.getInstance().removeFence(fenceId, tenantId);
         } catch (DeviceManagementDAOException e) {
             EventManagementDAOFactory.rollbackTransaction();
             String msg = "Error occurred while deleting geofence";
@@ -1561,6 +1598,7 @@ public class GeoLocationProviderServiceImpl implements GeoLocationProviderServic
             }
             if (updatedRowCount > 0) {
                 GeoCacheManagerImpl.getInstance().updateGeoFenceInCache(geofenceData, fenceId, tenantId);
+                GeofenceIndex.getInstance().updateFence(geofenceData, tenantId);
             }
         } catch (TransactionManagementException e) {
             String msg = "Failed to begin transaction for saving geofence";
@@ -56,6 +56,7 @@ import io.entgra.device.mgt.core.device.mgt.core.dao.TrackerManagementDAOFactory
 import io.entgra.device.mgt.core.device.mgt.core.device.details.mgt.DeviceInformationManager;
 import io.entgra.device.mgt.core.device.mgt.core.device.details.mgt.impl.DeviceInformationManagerImpl;
 import io.entgra.device.mgt.core.device.mgt.core.event.config.EventConfigurationProviderServiceImpl;
+import io.entgra.device.mgt.core.device.mgt.core.geo.cluster.GeoClusterIndex;
 import io.entgra.device.mgt.core.device.mgt.core.geo.service.GeoLocationProviderServiceImpl;
 import io.entgra.device.mgt.core.device.mgt.core.metadata.mgt.DeviceStatusManagementServiceImpl;
 import io.entgra.device.mgt.core.device.mgt.core.metadata.mgt.MetadataManagementServiceImpl;
@@ -70,9 +71,13 @@ import io.entgra.device.mgt.core.device.mgt.core.otp.mgt.service.OTPManagementSe
 import io.entgra.device.mgt.core.device.mgt.core.permission.mgt.PermissionManagerServiceImpl;
 import io.entgra.device.mgt.core.device.mgt.core.privacy.PrivacyComplianceProvider;
 import io.entgra.device.mgt.core.device.mgt.core.privacy.impl.PrivacyComplianceProviderImpl;
+import io.entgra.device.mgt.core.device.mgt.core.push.notification.mgt.PushNotificationExecutor;
 import io.entgra.device.mgt.core.device.mgt.core.push.notification.mgt.PushNotificationProviderRepository;
 import io.entgra.device.mgt.core.device.mgt.core.push.notification.mgt.task.PushNotificationSchedulerTask;
+import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.task.OperationPayloadMigrationTask;
+import io.entgra.device.mgt.core.device.mgt.core.config.operation.payload.OperationPayloadConfiguration;
 import io.entgra.device.mgt.core.device.mgt.core.report.mgt.ReportManagementServiceImpl;
+import io.entgra.device.mgt.core.device.mgt.core.report.mgt.ReportingPublisherManager;
 import io.entgra.device.mgt.core.device.mgt.core.search.mgt.SearchManagerService;
 import io.entgra.device.mgt.core.device.mgt.core.search.mgt.impl.SearchManagerServiceImpl;
 import io.entgra.device.mgt.core.device.mgt.core.service.DeviceManagementProviderService;
@@ -125,6 +130,9 @@ public class DeviceManagementServiceComponent {
     private static final List<PluginInitializationListener> listeners = new ArrayList<>();
     private static final List<DeviceManagementService> deviceManagers = new ArrayList<>();
     private static final List<DeviceManagerStartupListener> startupListeners = new ArrayList<>();
+    private DeviceInformationManagerImpl deviceInformationManager;
+    private ScheduledExecutorService pushNotificationScheduler;
+    private PushNotificationSchedulerTask pushNotificationSchedulerTask;
 
     public static void registerPluginInitializationListener(PluginInitializationListener listener) {
         synchronized (LOCK) {
@@ -226,12 +234,24 @@ public class DeviceManagementServiceComponent {
                     config.getPushNotificationConfiguration().setSchedulerTaskInitialDelay(DeviceManagementConstants
                             .PushNotifications.DEFAULT_SCHEDULER_TASK_INITIAL_DELAY);
                 }
-                ScheduledExecutorService pushNotificationExecutor = Executors.newSingleThreadScheduledExecutor();
-                pushNotificationExecutor.scheduleWithFixedDelay(new PushNotificationSchedulerTask(), config
+                pushNotificationSchedulerTask = new PushNotificationSchedulerTask();
+                pushNotificationScheduler = Executors.newSingleThreadScheduledExecutor();
+                pushNotificationScheduler.scheduleWithFixedDelay(pushNotificationSchedulerTask, config
                         .getPushNotificationConfiguration().getSchedulerTaskInitialDelay(), config
                         .getPushNotificationConfiguration().getSchedulerBatchDelayMills(), TimeUnit.MILLISECONDS);
             }
 
+            // Start migration of legacy operation payloads
+            OperationPayloadConfiguration operationPayloadConfig = config.getOperationPayloadConfiguration();
+            if (operationPayloadConfig != null && operationPayloadConfig.isMigrationEnabled()) {
+                int migrationBatchSize = operationPayloadConfig.getMigrationBatchSize() > 0 ?
+                        operationPayloadConfig.getMigrationBatchSize() :
+                        DeviceManagementConstants.OperationPayload.DEFAULT_MIGRATION_BATCH_SIZE;
+                ExecutorService operationPayloadMigrationExecutor = Executors.newSingleThreadExecutor();
+                operationPayloadMigrationExecutor.execute(new OperationPayloadMigrationTask(migrationBatchSize));
+                operationPayloadMigrationExecutor.shutdown();
+            }
+
             PrivacyComplianceProvider privacyComplianceProvider = new PrivacyComplianceProviderImpl();
             DeviceManagementDataHolder.getInstance().setPrivacyComplianceProvider(privacyComplianceProvider);
             componentContext.getBundleContext().registerService(PrivacyComplianceProvider.class.getName(),
@@ -248,7 +268,27 @@ public class DeviceManagementServiceComponent {
     @SuppressWarnings("unused")
     @Deactivate
     protected void deactivate(ComponentContext componentContext) {
-        //do nothing
+        if (deviceInformationManager != null) {
+            deviceInformationManager.shutdown();
+        }
+        if (pushNotificationScheduler != null) {
+            pushNotificationScheduler.shutdownNow();
+        }
+        if (pushNotificationSchedulerTask != null) {
+            pushNotificationSchedulerTask.shutdown();
+        }
+        PushNotificationExecutor pushNotificationExecutor = PushNotificationExecutor.getExistingInstance();
+        if (pushNotificationExecutor != null) {
+            pushNotificationExecutor.shutdown();
+        }
+        ReportingPublisherManager reportingPublisherManager = ReportingPublisherManager.getExistingInstance();
+        if (reportingPublisherManager != null) {
+            reportingPublisherManager.shutdown();
+        }
+        GeoClusterIndex geoClusterIndex = GeoClusterIndex.getExistingInstance();
+        if (geoClusterIndex != null) {
+            geoClusterIndex.shutdown();
+        }
     }
 
     private void initOperationsManager() throws OperationManagementException {
@@ -390,7 +430,7 @@ public class DeviceManagementServiceComponent {
         PermissionManagerService permissionManagerService = PermissionManagerServiceImpl.getInstance();
         bundleContext.registerService(PermissionManagerService.class.getName(), permissionManagerService, null);
 
-        DeviceInformationManager deviceInformationManager = new DeviceInformationManagerImpl();
+        deviceInformationManager = new DeviceInformationManagerImpl();
         bundleContext.registerService(DeviceInformationManager.class, deviceInformationManager, null);
         DeviceManagementDataHolder.getInstance().setDeviceInformationManager(deviceInformationManager);
 
@@ -49,9 +49,7 @@ import io.entgra.device.mgt.core.device.mgt.common.operation.mgt.OperationManage
 import io.entgra.device.mgt.core.device.mgt.common.operation.mgt.OperationManager;
 import io.entgra.device.mgt.core.device.mgt.common.push.notification.NotificationContext;
 import io.entgra.device.mgt.core.device.mgt.common.push.notification.NotificationStrategy;
-import io.entgra.device.mgt.core.device.mgt.common.push.notification.PushNotificationConfig;
 import io.entgra.device.mgt.core.device.mgt.common.push.notification.PushNotificationExecutionFailedException;
-import io.entgra.device.mgt.core.device.mgt.common.push.notification.PushNotificationProvider;
 import io.entgra.device.mgt.core.device.mgt.common.operation.mgt.*;
 import io.entgra.device.mgt.core.device.mgt.common.push.notification.*;
 import io.entgra.device.mgt.core.device.mgt.common.spi.DeviceManagementService;
@@ -71,6 +69,8 @@ import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.OperationMapp
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.util.OperationDAOUtil;
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.util.DeviceIDHolder;
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.util.OperationIdComparator;
+import io.entgra.device.mgt.core.device.mgt.core.push.notification.mgt.NotificationStrategyRegistry;
+import io.entgra.device.mgt.core.device.mgt.core.push.notification.mgt.PushNotificationExecutor;
 import io.entgra.device.mgt.core.device.mgt.core.service.DeviceManagementProviderService;
 import io.entgra.device.mgt.core.device.mgt.core.task.DeviceTaskManager;
 import io.entgra.device.mgt.core.device.mgt.core.task.impl.DeviceTaskManagerImpl;
@@ -87,14 +87,14 @@ import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * This class implements all the functionality exposed as part of the OperationManager. Any transaction initiated
@@ -105,8 +105,6 @@ public class OperationManagerImpl implements OperationManager {
 
     DeviceConnectivityLogContext.Builder deviceConnectivityLogContextBuilder = new DeviceConnectivityLogContext.Builder();
     private static final EntgraLogger log = new EntgraDeviceConnectivityLoggerImpl(OperationManagerImpl.class);
-    private static final int CACHE_VALIDITY_PERIOD = 5 * 60 * 1000;
-    private static final String NOTIFIER_TYPE_LOCAL = "LOCAL";
     private static final String SYSTEM = "system";
     public static final int maxOperationCacheSize = 100;
 
@@ -120,12 +118,8 @@ public class OperationManagerImpl implements OperationManager {
     private final EnrollmentDAO enrollmentDAO;
     private String deviceType;
     private DeviceManagementService deviceManagementService;
-    private final Map<Integer, NotificationStrategy> notificationStrategies;
-    private final Map<Integer, Long> lastUpdatedTimeStamps;
     private final ConcurrentMap<Integer, String> operationsInitBy;
 
-    private final ThreadPoolExecutor notificationExecutor;
-
     public OperationManagerImpl() {
         commandOperationDAO = OperationManagementDAOFactory.getCommandOperationDAO();
         configOperationDAO = OperationManagementDAOFactory.getConfigOperationDAO();
@@ -135,10 +129,7 @@ public class OperationManagerImpl implements OperationManager {
         operationDAO = OperationManagementDAOFactory.getOperationDAO();
         deviceDAO = DeviceManagementDAOFactory.getDeviceDAO();
         enrollmentDAO = DeviceManagementDAOFactory.getEnrollmentDAO();
-        notificationStrategies = new HashMap<>();
-        lastUpdatedTimeStamps = new HashMap<>();
         operationsInitBy = new ConcurrentHashMap<>();
-        notificationExecutor = (ThreadPoolExecutor) Executors.newFixedThreadPool(10);
     }
 
     public OperationManagerImpl(String deviceType, DeviceManagementService deviceManagementService) {
@@ -148,32 +139,12 @@ public class OperationManagerImpl implements OperationManager {
     }
 
     public NotificationStrategy getNotificationStrategy() {
-        // Notification strategy can be set by the platform configurations. Therefore it is needed to
-        // get tenant specific notification strategy dynamically in the runtime. However since this is
-        // a resource intensive retrieval, we are maintaining tenant aware local cache here to keep device
-        // type specific notification strategy.
+        // Notification strategy can be set by the platform configurations. Therefore it is needed to get tenant
+        // specific notification strategy in the runtime. Strategies are resolved once per tenant and kept in the
+        // registry, which is refreshed when the platform configuration of the device type is saved.
         int tenantId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId(false);
-        long lastUpdatedTimeStamp = 0;
-        if (lastUpdatedTimeStamps.containsKey(tenantId)) {
-            lastUpdatedTimeStamp = lastUpdatedTimeStamps.get(tenantId);
-        }
-        if (Calendar.getInstance().getTimeInMillis() - lastUpdatedTimeStamp > CACHE_VALIDITY_PERIOD) {
-            PushNotificationConfig pushNoteConfig = deviceManagementService.getPushNotificationConfig();
-            if (pushNoteConfig != null && !NOTIFIER_TYPE_LOCAL.equals(pushNoteConfig.getType())) {
-                PushNotificationProvider provider = DeviceManagementDataHolder.getInstance()
-                        .getPushNotificationProviderRepository().getProvider(pushNoteConfig.getType());
-                if (provider == null) {
-                    log.error("No registered push notification provider found for the type '" +
-                            pushNoteConfig.getType() + "' under tenant ID '" + tenantId + "'.");
-                    return null;
-                }
-                notificationStrategies.put(tenantId, provider.getNotificationStrategy(pushNoteConfig));
-            } else {
-                notificationStrategies.remove(tenantId);
-            }
-            lastUpdatedTimeStamps.put(tenantId, Calendar.getInstance().getTimeInMillis());
-        }
-        return notificationStrategies.get(tenantId);
+        return NotificationStrategyRegistry.getInstance().getNotificationStrategy(tenantId, deviceType,
+                deviceManagementService);
     }
 
     @Override
@@ -349,8 +320,7 @@ public class OperationManagerImpl implements OperationManager {
 
                 if(dynamicTaskContext != null && dynamicTaskContext.isPartitioningEnabled()) {
                     devices = deviceDAO.getAllocatedDevices(paginationRequest, tenantId,
-                                                                         dynamicTaskContext.getActiveServerCount(),
-                                                            dynamicTaskContext.getServerHashIndex());
+                                                            dynamicTaskContext.getTaskPartition());
                 } else {
                     devices = deviceDAO.getDevices(paginationRequest, tenantId);
                 }
@@ -387,8 +357,8 @@ public class OperationManagerImpl implements OperationManager {
                         enrolments.remove(enrolmentId);
                     }
                     if (enrolments.size() == 0) {
-                        //No operations to be add. All are repeated.
-                        break;
+                        //No operations to be add for this page. All are repeated.
+                        continue;
                     }
                 }
                 persistsOperation(operation, operationDto, enrolments);
@@ -431,34 +401,27 @@ public class OperationManagerImpl implements OperationManager {
                 notificationStrategy != null) {
             isScheduled = notificationStrategy.getConfig() != null && notificationStrategy.getConfig().isScheduled();
         }
-        int failAttempts = 0;
-        while (true) {
-            try {
-                operationMappingDAO.addOperationMapping(operationDto,
-                        new ArrayList<>(enrolments.values()), isScheduled, tenantId);
-                OperationManagementDAOFactory.commitTransaction();
-                break;
-            } catch (OperationManagementDAOException e) {
-                OperationManagementDAOFactory.rollbackTransaction();
-                if (++failAttempts > 3) {
-                    String msg = "Error occurred while updating operation mapping. Operation ID: " +
-                            operationId;
-                    log.error(msg, e);
-                    throw new OperationManagementException(msg, e);
-                }
-                log.warn("Unable to update operation status. Operation ID: " + operationId +
-                        ", Attempt: " + failAttempts + ", Error: " + e.getMessage());
-                try {
-                    Thread.sleep(2000);
-                } catch (InterruptedException ignore) {
-                    break;
-                }
+        // leave the notifications to the scheduler task when the notification executor cannot take them
+        if (!isScheduled && notificationStrategy != null && PushNotificationExecutor.getInstance()
+                .isSaturated(notificationStrategy.isBatchSupported() ? 1 : enrolments.size())) {
+            if (log.isDebugEnabled()) {
+                log.debug("Push notification executor is saturated, hence scheduling notifications of operation " +
+                        operationId);
             }
+            isScheduled = true;
+        }
+        try {
+            operationDAO.addOperationMappings(operationDto, new ArrayList<>(enrolments.values()), isScheduled,
+                    tenantId);
+            OperationManagementDAOFactory.commitTransaction();
+        } catch (OperationManagementDAOException e) {
+            OperationManagementDAOFactory.rollbackTransaction();
+            String msg = "Error occurred while adding operation mappings. Operation ID: " + operationId;
+            log.error(msg, e);
+            throw new OperationManagementException(msg, e);
         }
         if (!isScheduled && notificationStrategy != null) {
-            for (Device device : enrolments.values()) {
-                this.sendNotification(operation, device);
-            }
+            this.sendNotifications(operation, enrolments.values());
         }
     }
 
@@ -472,7 +435,8 @@ public class OperationManagerImpl implements OperationManager {
          */
         if (notificationStrategy != null) {
             int tenantId = CarbonContext.getThreadLocalCarbonContext().getTenantId();
-            notificationExecutor.execute(() -> {
+            PushNotificationExecutor notificationExecutor = PushNotificationExecutor.getInstance();
+            boolean isSubmitted = notificationExecutor.submit(() -> {
                 PrivilegedCarbonContext.startTenantFlow();
                 PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantId(tenantId, true);
                 if (log.isDebugEnabled()) {
@@ -482,51 +446,128 @@ public class OperationManagerImpl implements OperationManager {
                 try {
                     notificationStrategy.execute(new NotificationContext(deviceIdentifier, operation));
                 } catch (PushNotificationExecutionFailedException e) {
+                    notificationExecutor.recordFailure();
                     log.error("Error occurred while sending push notifications to " + device.getType() +
                             " device carrying id '" + device.getDeviceIdentifier() + "'", e);
-                    /*
-                     * Reschedule if push notification failed. Doing db transactions in atomic way to prevent
-                     * deadlocks.
-                     */
-                    int failAttempts = 0;
-                    while (true) {
-                        try {
-                            OperationManagementDAOFactory.beginTransaction();
-                            operationMappingDAO.updateOperationMapping(operation.getId(), device.getEnrolmentInfo().getId(),
-                                    io.entgra.device.mgt.core.device.mgt.core.dto.operation.mgt.Operation.PushNotificationStatus.SCHEDULED);
-                            OperationManagementDAOFactory.commitTransaction();
-                            break;
-                        } catch (OperationManagementDAOException ex) {
-                            OperationManagementDAOFactory.rollbackTransaction();
-                            if (++failAttempts > 3) {
-                                String msg = "Error occurred while setting push notification status to SCHEDULED. Operation ID: " +
-                                        operation.getId() + ", Enrollment ID: " + device.getEnrolmentInfo().getId() +
-                                        ", Device ID:" + device.getDeviceIdentifier();
-                                log.error(msg, e);
-                                break;
-                            }
-                            log.warn("Unable to set push notification status to SCHEDULED. Operation ID: " +
-                                    operation.getId() + ", Enrollment ID: " + device.getEnrolmentInfo().getId() +
-                                    ", Device ID:" + device.getDeviceIdentifier() + ", Attempt: " + failAttempts +
-                                    ", Error: " + e.getMessage());
-                            try {
-                                Thread.sleep(2000);
-                            } catch (InterruptedException ignore) {
-                                break;
-                            }
-                        } catch (TransactionManagementException ex) {
-                            log.error("Error occurred while initiating the transaction", ex);
-                            break;
-                        } finally {
-                            OperationManagementDAOFactory.closeConnection();
-                        }
-                    }
+                    rescheduleNotification(operation, device, 1);
                 } catch (Exception e) {
+                    notificationExecutor.recordFailure();
                     log.error("Error occurred while sending notifications to " + device.getType() +
                             " device carrying id '" + device.getDeviceIdentifier() + "'", e);
                 }
                 PrivilegedCarbonContext.endTenantFlow();
             });
+            if (!isSubmitted) {
+                // the executor is saturated, hence leave the notification to the scheduler task
+                notificationExecutor.runLater(() -> rescheduleNotification(operation, device, 1));
+            }
+        }
+    }
+
+    /**
+     * Send push notifications of an operation to a set of devices. If the notification strategy supports batch
+     * sending, all the devices are notified through a single batch submission, otherwise each device is notified
+     * separately.
+     *
+     * @param operation Operation which the devices should be notified about
+     * @param devices   Devices to be notified
+     */
+    private void sendNotifications(Operation operation, Collection<Device> devices) {
+        NotificationStrategy notificationStrategy = getNotificationStrategy();
+        if (notificationStrategy == null) {
+            return;
+        }
+        if (!notificationStrategy.isBatchSupported()) {
+            for (Device device : devices) {
+                this.sendNotification(operation, device);
+            }
+            return;
+        }
+        int tenantId = CarbonContext.getThreadLocalCarbonContext().getTenantId();
+        List<Device> notifiedDevices = new ArrayList<>(devices);
+        PushNotificationExecutor notificationExecutor = PushNotificationExecutor.getInstance();
+        boolean isSubmitted = notificationExecutor.submit(() -> {
+            PrivilegedCarbonContext.startTenantFlow();
+            PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantId(tenantId, true);
+            if (log.isDebugEnabled()) {
+                log.debug("Sending push notification batch to " + notifiedDevices.size() + " devices from add " +
+                        "operation method.");
+            }
+            Map<NotificationContext, Device> contextDevices = new IdentityHashMap<>();
+            for (Device device : notifiedDevices) {
+                contextDevices.put(new NotificationContext(new DeviceIdentifier(device.getDeviceIdentifier(),
+                        device.getType()), operation), device);
+            }
+            try {
+                List<NotificationContext> failedContexts = notificationStrategy
+                        .executeBatch(new ArrayList<>(contextDevices.keySet()));
+                for (NotificationContext failedContext : failedContexts) {
+                    Device device = contextDevices.get(failedContext);
+                    notificationExecutor.recordFailure();
+                    log.error("Error occurred while sending push notifications to " + device.getType() +
+                            " device carrying id '" + device.getDeviceIdentifier() + "'");
+                    rescheduleNotification(operation, device, 1);
+                }
+            } catch (PushNotificationExecutionFailedException e) {
+                notificationExecutor.recordFailure();
+                log.error("Error occurred while sending push notification batch of operation " +
+                        operation.getId(), e);
+                for (Device device : notifiedDevices) {
+                    rescheduleNotification(operation, device, 1);
+                }
+            } catch (Exception e) {
+                notificationExecutor.recordFailure();
+                log.error("Error occurred while sending notification batch of operation " + operation.getId(), e);
+            } finally {
+                PrivilegedCarbonContext.endTenantFlow();
+            }
+        });
+        if (!isSubmitted) {
+            // the executor is saturated, hence leave the notifications to the scheduler task
+            notificationExecutor.runLater(() -> {
+                for (Device device : notifiedDevices) {
+                    rescheduleNotification(operation, device, 1);
+                }
+            });
+        }
+    }
+
+    /**
+     * Reschedule if push notification failed. Doing db transactions in atomic way to prevent deadlocks. A failed
+     * update is retried through the notification executor after a delay instead of blocking the current thread.
+     *
+     * @param operation Operation of the failed push notification
+     * @param device    Device which could not be notified
+     * @param attempt   Number of the current attempt
+     */
+    private void rescheduleNotification(Operation operation, Device device, int attempt) {
+        try {
+            OperationManagementDAOFactory.beginTransaction();
+            operationMappingDAO.updateOperationMapping(operation.getId(), device.getEnrolmentInfo().getId(),
+                    io.entgra.device.mgt.core.device.mgt.core.dto.operation.mgt.Operation.PushNotificationStatus.SCHEDULED);
+            OperationManagementDAOFactory.commitTransaction();
+        } catch (OperationManagementDAOException ex) {
+            OperationManagementDAOFactory.rollbackTransaction();
+            if (attempt >= DeviceManagementConstants.PushNotifications.MAX_RETRY_ATTEMPTS) {
+                String msg = "Error occurred while setting push notification status to SCHEDULED. Operation ID: " +
+                        operation.getId() + ", Enrollment ID: " + device.getEnrolmentInfo().getId() +
+                        ", Device ID:" + device.getDeviceIdentifier();
+                log.error(msg, ex);
+                return;
+            }
+            log.warn("Unable to set push notification status to SCHEDULED. Operation ID: " +
+                    operation.getId() + ", Enrollment ID: " + device.getEnrolmentInfo().getId() +
+                    ", Device ID:" + device.getDeviceIdentifier() + ", Attempt: " + attempt +
+                    ", Error: " + ex.getMessage());
+            if (!PushNotificationExecutor.getInstance().scheduleRetry(() -> rescheduleNotification(operation, device, attempt + 1),
+                    attempt)) {
+                log.error("Unable to retry setting push notification status to SCHEDULED. Operation ID: " +
+                        operation.getId() + ", Enrollment ID: " + device.getEnrolmentInfo().getId());
+            }
+        } catch (TransactionManagementException ex) {
+            log.error("Error occurred while initiating the transaction", ex);
+        } finally {
+            OperationManagementDAOFactory.closeConnection();
         }
     }
 
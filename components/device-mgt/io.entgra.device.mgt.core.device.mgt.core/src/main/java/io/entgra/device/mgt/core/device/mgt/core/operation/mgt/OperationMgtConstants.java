@@ -29,4 +29,16 @@ public class OperationMgtConstants {
         public static final String EVENT_UPDATE = "EVENT_UPDATE";
         public static final String EVENT_REVOKE = "EVENT_REVOKE";
     }
+
+    public final class OperationMappingBatch {
+        private OperationMappingBatch() {
+        }
+
+        // Oracle limits an IN list to 1000 expressions
+        public static final int ENROLMENT_LOOKUP_CHUNK_SIZE = 1000;
+        public static final int INSERT_CHUNK_SIZE = 500;
+        // SQL Server limits a statement to 2100 parameters and 13 are bound per row
+        public static final int SQL_SERVER_INSERT_CHUNK_SIZE = 150;
+        public static final int ORACLE_INSERT_CHUNK_SIZE = 100;
+    }
 }
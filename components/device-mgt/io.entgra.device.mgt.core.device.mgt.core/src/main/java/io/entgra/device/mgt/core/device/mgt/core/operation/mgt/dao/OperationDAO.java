@@ -18,14 +18,17 @@
 package io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao;
 
 import io.entgra.device.mgt.core.device.mgt.common.ActivityPaginationRequest;
+import io.entgra.device.mgt.core.device.mgt.common.Device;
 import io.entgra.device.mgt.core.device.mgt.common.DeviceIdentifier;
 import io.entgra.device.mgt.core.device.mgt.common.PaginationRequest;
+import io.entgra.device.mgt.core.device.mgt.common.TaskPartition;
 import io.entgra.device.mgt.core.device.mgt.common.operation.mgt.Activity;
 import io.entgra.device.mgt.core.device.mgt.common.operation.mgt.OperationResponse;
 import io.entgra.device.mgt.core.device.mgt.common.operation.mgt.DeviceActivity;
 import io.entgra.device.mgt.core.device.mgt.core.dao.DeviceManagementDAOException;
 import io.entgra.device.mgt.core.device.mgt.core.dto.OperationDTO;
 import io.entgra.device.mgt.core.device.mgt.core.dto.operation.mgt.Operation;
+import io.entgra.device.mgt.core.device.mgt.core.dto.operation.mgt.OperationPayloadBlob;
 import io.entgra.device.mgt.core.device.mgt.core.dto.operation.mgt.OperationResponseMeta;
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.OperationMapping;
 
@@ -70,6 +73,19 @@ public interface OperationDAO {
     Map<Integer, Integer> getExistingNotExecutedOperationIDs(Integer[] enrolmentIds, String operationCode)
             throws OperationManagementDAOException;
 
+    /**
+     * Map an operation to a set of devices. The mappings are written in chunks so that a group wide operation
+     * costs a handful of statements instead of one round trip per device.
+     *
+     * @param operation   operation which is already persisted
+     * @param devices     devices to which the operation is added
+     * @param isScheduled whether the push notifications of the operation are sent by the scheduler task
+     * @param tenantId    ID of the current tenant
+     * @throws OperationManagementDAOException if connection establishment or SQL execution fails.
+     */
+    void addOperationMappings(Operation operation, List<Device> devices, boolean isScheduled, int tenantId)
+            throws OperationManagementDAOException;
+
     OperationResponseMeta addOperationResponse(int enrolmentId, io.entgra.device.mgt.core.device.mgt.common.operation.mgt.Operation operation, String deviceId)
             throws OperationManagementDAOException;
 
@@ -112,7 +128,7 @@ public interface OperationDAO {
                                                                       int limit) throws OperationManagementDAOException;
 
     Map<Integer, List<OperationMapping>> getAllocatedOperationMappingsByStatus(Operation.Status opStatus,
-            Operation.PushNotificationStatus pushNotificationStatus, int limit, int activeServerCount, int serverIndex)
+            Operation.PushNotificationStatus pushNotificationStatus, int limit, TaskPartition partition)
             throws OperationManagementDAOException;
 
     List<Activity> getActivities(List<String> deviceTypes, String operationCode, long updatedSince, String operationStatus)
@@ -140,4 +156,23 @@ public interface OperationDAO {
      */
     OperationDTO getOperationDetailsById(int operationId, int tenantId)
             throws OperationManagementDAOException;
+
+    /**
+     * Retrieve the persisted details and properties of a batch of operations in the ascending order of their IDs.
+     *
+     * @param lastOperationId ID of the last operation of the previous batch, operations with greater IDs are retrieved
+     * @param limit           maximum number of operations to be retrieved
+     * @return List of {@link OperationPayloadBlob}
+     * @throws OperationManagementDAOException if connection establishment or SQL execution fails.
+     */
+    List<OperationPayloadBlob> getOperationPayloadBlobs(int lastOperationId, int limit)
+            throws OperationManagementDAOException;
+
+    /**
+     * Replace the persisted details and properties of a batch of operations.
+     *
+     * @param payloadBlobs re-encoded details and properties of the operations
+     * @throws OperationManagementDAOException if connection establishment or SQL execution fails.
+     */
+    void updateOperationPayloadBlobs(List<OperationPayloadBlob> payloadBlobs) throws OperationManagementDAOException;
 }
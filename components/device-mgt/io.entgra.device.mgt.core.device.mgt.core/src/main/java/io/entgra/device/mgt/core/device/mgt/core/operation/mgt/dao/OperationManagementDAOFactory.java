@@ -22,6 +22,8 @@ import io.entgra.device.mgt.core.device.mgt.common.DeviceManagementConstants;
 import io.entgra.device.mgt.core.device.mgt.common.exceptions.IllegalTransactionStateException;
 import io.entgra.device.mgt.core.device.mgt.common.exceptions.TransactionManagementException;
 import io.entgra.device.mgt.core.device.mgt.common.exceptions.UnsupportedDatabaseEngineException;
+import io.entgra.device.mgt.core.device.mgt.core.config.DeviceConfigurationManager;
+import io.entgra.device.mgt.core.device.mgt.core.config.DeviceManagementConfig;
 import io.entgra.device.mgt.core.device.mgt.core.config.datasource.DataSourceConfig;
 import io.entgra.device.mgt.core.device.mgt.core.config.datasource.JNDILookupDefinition;
 import io.entgra.device.mgt.core.device.mgt.core.dao.util.DeviceManagementDAOUtil;
@@ -30,6 +32,9 @@ import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.impl.operatio
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.impl.operation.OracleOperationDAOImpl;
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.impl.operation.PostgreSQLOperationDAOImpl;
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.impl.operation.SQLServerOperationDAOImpl;
+import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.util.CompactOperationPayloadCodec;
+import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.util.OperationPayloadCodec;
+import io.entgra.device.mgt.core.device.mgt.core.config.operation.payload.OperationPayloadConfiguration;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -45,6 +50,7 @@ public class OperationManagementDAOFactory {
     private static DataSource dataSource;
     private static String databaseEngine;
     private static ThreadLocal<Connection> currentConnection = new ThreadLocal<Connection>();
+    private static volatile OperationPayloadCodec operationPayloadCodec;
 
     public static OperationDAO getCommandOperationDAO() {
         return new CommandOperationDAOImpl();
@@ -100,6 +106,44 @@ public class OperationManagementDAOFactory {
         throw new RuntimeException("Database engine has not initialized properly.");
     }
 
+    /**
+     * Get the codec used to encode and decode operation payloads, properties and large responses. The codec
+     * class and its compression threshold can be configured through the OperationPayloadConfiguration of
+     * cdm-config.xml, otherwise {@link CompactOperationPayloadCodec} is used.
+     *
+     * @return {@link OperationPayloadCodec} shared by all the operation DAOs
+     */
+    public static OperationPayloadCodec getOperationPayloadCodec() {
+        if (operationPayloadCodec == null) {
+            synchronized (OperationManagementDAOFactory.class) {
+                if (operationPayloadCodec == null) {
+                    operationPayloadCodec = initOperationPayloadCodec();
+                }
+            }
+        }
+        return operationPayloadCodec;
+    }
+
+    private static OperationPayloadCodec initOperationPayloadCodec() {
+        DeviceManagementConfig deviceManagementConfig = DeviceConfigurationManager.getInstance()
+                .getDeviceManagementConfig();
+        OperationPayloadConfiguration payloadConfig = deviceManagementConfig != null ?
+                deviceManagementConfig.getOperationPayloadConfiguration() : null;
+        if (payloadConfig == null) {
+            return new CompactOperationPayloadCodec();
+        }
+        if (payloadConfig.getCodecClass() != null && !payloadConfig.getCodecClass().trim().isEmpty()) {
+            try {
+                return (OperationPayloadCodec) Class.forName(payloadConfig.getCodecClass().trim())
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                log.error("Unable to initialize operation payload codec '" + payloadConfig.getCodecClass() +
+                        "', hence falling back to the default codec.", e);
+            }
+        }
+        return new CompactOperationPayloadCodec(payloadConfig.getCompressionThreshold());
+    }
+
     public static void init(DataSource dtSource) {
         dataSource = dtSource;
         try {
@@ -28,9 +28,7 @@ import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.OperationMana
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.OperationManagementDAOFactory;
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.OperationManagementDAOUtil;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.Date;
@@ -55,7 +53,7 @@ public class ConfigOperationDAOImpl extends GenericOperationDAOImpl {
             stmt.setLong(3, 0);
             stmt.setString(4, operation.getCode());
             stmt.setString(5, operation.getInitiatedBy());
-            stmt.setObject(6, operation);
+            stmt.setBytes(6, OperationManagementDAOFactory.getOperationPayloadCodec().encode(operation));
             stmt.setInt(7, PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId());
             stmt.executeUpdate();
 
@@ -67,6 +65,9 @@ public class ConfigOperationDAOImpl extends GenericOperationDAOImpl {
             return id;
         } catch (SQLException e) {
             throw new OperationManagementDAOException("Error occurred while adding command operation", e);
+        } catch (IOException e) {
+            throw new OperationManagementDAOException("Error occurred while serializing configuration operation " +
+                    "object", e);
         } finally {
             OperationManagementDAOUtil.cleanupResources(stmt, rs);
         }
@@ -77,9 +78,6 @@ public class ConfigOperationDAOImpl extends GenericOperationDAOImpl {
         PreparedStatement stmt = null;
         ResultSet rs = null;
         ConfigOperation configOperation = null;
-
-        ByteArrayInputStream bais;
-        ObjectInputStream ois;
         try {
             Connection conn = OperationManagementDAOFactory.getConnection();
             String sql = "SELECT ID, ENABLED, OPERATION_DETAILS FROM DM_OPERATION WHERE ID = ? AND TYPE='CONFIG'";
@@ -89,9 +87,8 @@ public class ConfigOperationDAOImpl extends GenericOperationDAOImpl {
 
             if (rs.next()) {
                 byte[] operationDetails = rs.getBytes("OPERATION_DETAILS");
-                bais = new ByteArrayInputStream(operationDetails);
-                ois = new ObjectInputStream(bais);
-                configOperation = (ConfigOperation) ois.readObject();
+                configOperation = (ConfigOperation) OperationManagementDAOFactory.getOperationPayloadCodec()
+                        .decode(operationDetails);
                 configOperation.setId(rs.getInt("ID"));
                 configOperation.setEnabled(rs.getBoolean("ENABLED"));
             }
@@ -118,9 +115,6 @@ public class ConfigOperationDAOImpl extends GenericOperationDAOImpl {
         ResultSet rs = null;
         ConfigOperation configOperation;
         List<Operation> operations = new ArrayList<>();
-
-        ByteArrayInputStream bais = null;
-        ObjectInputStream ois = null;
         try {
             Connection conn = OperationManagementDAOFactory.getConnection();
             String sql = "SELECT co.ID, co.OPERATION_DETAILS FROM DM_OPERATION co " +
@@ -134,9 +128,8 @@ public class ConfigOperationDAOImpl extends GenericOperationDAOImpl {
 
             while (rs.next()) {
                 byte[] operationDetails = rs.getBytes("OPERATION_DETAILS");
-                bais = new ByteArrayInputStream(operationDetails);
-                ois = new ObjectInputStream(bais);
-                configOperation = (ConfigOperation) ois.readObject();
+                configOperation = (ConfigOperation) OperationManagementDAOFactory.getOperationPayloadCodec()
+                        .decode(operationDetails);
                 configOperation.setStatus(status);
                 configOperation.setId(rs.getInt("ID"));
                 operations.add(configOperation);
@@ -151,20 +144,6 @@ public class ConfigOperationDAOImpl extends GenericOperationDAOImpl {
             throw new OperationManagementDAOException("SQL error occurred while retrieving the operation available " +
                     "for the device'" + enrolmentId + "' with status '" + status.toString(), e);
         } finally {
-            if (bais != null) {
-                try {
-                    bais.close();
-                } catch (IOException e) {
-                    log.warn("Error occurred while closing ByteArrayOutputStream", e);
-                }
-            }
-            if (ois != null) {
-                try {
-                    ois.close();
-                } catch (IOException e) {
-                    log.warn("Error occurred while closing ObjectOutputStream", e);
-                }
-            }
             OperationManagementDAOUtil.cleanupResources(stmt, rs);
         }
         return operations;
@@ -18,8 +18,10 @@
 package io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.impl;
 
 import io.entgra.device.mgt.core.device.mgt.common.ActivityPaginationRequest;
+import io.entgra.device.mgt.core.device.mgt.common.Device;
 import io.entgra.device.mgt.core.device.mgt.common.DeviceIdentifier;
 import io.entgra.device.mgt.core.device.mgt.common.PaginationRequest;
+import io.entgra.device.mgt.core.device.mgt.common.TaskPartition;
 import io.entgra.device.mgt.core.device.mgt.common.operation.mgt.Activity;
 import io.entgra.device.mgt.core.device.mgt.common.operation.mgt.ActivityHolder;
 import io.entgra.device.mgt.core.device.mgt.common.operation.mgt.ActivityStatus;
@@ -30,9 +32,11 @@ import io.entgra.device.mgt.core.device.mgt.core.dao.util.DeviceManagementDAOUti
 import io.entgra.device.mgt.core.device.mgt.core.dto.OperationDTO;
 import io.entgra.device.mgt.core.device.mgt.core.dto.OperationResponseDTO;
 import io.entgra.device.mgt.core.device.mgt.core.dto.operation.mgt.Operation;
+import io.entgra.device.mgt.core.device.mgt.core.dto.operation.mgt.OperationPayloadBlob;
 import io.entgra.device.mgt.core.device.mgt.core.dto.operation.mgt.OperationResponseMeta;
 import io.entgra.device.mgt.core.device.mgt.core.dto.operation.mgt.ProfileOperation;
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.OperationMapping;
+import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.OperationMgtConstants;
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.OperationDAO;
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.OperationManagementDAOException;
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.OperationManagementDAOFactory;
@@ -43,9 +47,7 @@ import org.apache.commons.logging.LogFactory;
 import org.json.JSONObject;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
 import java.sql.Blob;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -83,8 +85,9 @@ public class GenericOperationDAOImpl implements OperationDAO {
             stmt.setLong(3, 0);
             stmt.setString(4, operation.getCode());
             stmt.setString(5, operation.getInitiatedBy());
-            stmt.setObject(6, operation.getPayLoad());
-            stmt.setObject(7, operation.getProperties());
+            stmt.setBytes(6, OperationManagementDAOFactory.getOperationPayloadCodec().encode(operation.getPayLoad()));
+            stmt.setBytes(7, OperationManagementDAOFactory.getOperationPayloadCodec()
+                    .encode(operation.getProperties()));
             stmt.setInt(8, PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId());
             stmt.executeUpdate();
 
@@ -97,6 +100,9 @@ public class GenericOperationDAOImpl implements OperationDAO {
         } catch (SQLException e) {
             throw new OperationManagementDAOException("Error occurred while adding operation metadata. " +
                     e.getMessage(), e);
+        } catch (IOException e) {
+            throw new OperationManagementDAOException("Error occurred while serializing operation details. " +
+                    e.getMessage(), e);
         } finally {
             OperationManagementDAOUtil.cleanupResources(stmt, rs);
         }
@@ -200,40 +206,175 @@ public class GenericOperationDAOImpl implements OperationDAO {
     @Override
     public Map<Integer, Integer> getExistingNotExecutedOperationIDs(Integer[] enrolmentIds, String operationCode)
             throws OperationManagementDAOException {
-        PreparedStatement stmt = null;
-        ResultSet rs = null;
         Map<Integer, Integer> existingOperationIds = new HashMap<>();
+        if (enrolmentIds.length == 0) {
+            return existingOperationIds;
+        }
         try {
             Connection connection = OperationManagementDAOFactory.getConnection();
-            StringBuilder query = new StringBuilder("SELECT OPERATION_ID, ENROLMENT_ID FROM DM_ENROLMENT_OP_MAPPING " +
-                    "WHERE OPERATION_CODE = ? AND STATUS IN ('NOTNOW', 'PENDING') AND ENROLMENT_ID IN (");
-            for (int i = 0; i < enrolmentIds.length; i++) {
-                query.append(" ?,");
-            }
-            query.deleteCharAt(query.length() - 1);
-            query.append(")");
-            stmt = connection.prepareStatement(query.toString());
-            stmt.setString(1, operationCode);
+            int chunkSize = OperationMgtConstants.OperationMappingBatch.ENROLMENT_LOOKUP_CHUNK_SIZE;
+            for (int from = 0; from < enrolmentIds.length; from += chunkSize) {
+                int to = Math.min(from + chunkSize, enrolmentIds.length);
+                StringBuilder query = new StringBuilder("SELECT OPERATION_ID, ENROLMENT_ID FROM " +
+                        "DM_ENROLMENT_OP_MAPPING WHERE OPERATION_CODE = ? AND STATUS IN ('NOTNOW', 'PENDING') " +
+                        "AND ENROLMENT_ID IN (");
+                for (int i = from; i < to; i++) {
+                    query.append(" ?,");
+                }
+                query.deleteCharAt(query.length() - 1);
+                query.append(")");
+                try (PreparedStatement stmt = connection.prepareStatement(query.toString())) {
+                    int paramIndex = 1;
+                    stmt.setString(paramIndex++, operationCode);
+                    for (int i = from; i < to; i++) {
+                        stmt.setInt(paramIndex++, enrolmentIds[i]);
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            existingOperationIds.put(rs.getInt("ENROLMENT_ID"), rs.getInt("OPERATION_ID"));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new OperationManagementDAOException("Error occurred while update device mapping operation status " +
+                    "metadata. " + e.getMessage(), e);
+        }
+        return existingOperationIds;
+    }
 
-            for (int i = 0; i < enrolmentIds.length; i++) {
-                stmt.setInt(i + 2, enrolmentIds[i]);
+    @Override
+    public void addOperationMappings(Operation operation, List<Device> devices, boolean isScheduled, int tenantId)
+            throws OperationManagementDAOException {
+        if (devices.isEmpty()) {
+            return;
+        }
+        long time = System.currentTimeMillis() / 1000;
+        String pushNotificationStatus = getPushNotificationStatus(isScheduled);
+        int chunkSize = OperationMgtConstants.OperationMappingBatch.INSERT_CHUNK_SIZE;
+        try {
+            Connection conn = OperationManagementDAOFactory.getConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(getOperationMappingInsertQuery(1))) {
+                int batched = 0;
+                for (Device device : devices) {
+                    setOperationMappingParams(stmt, 1, operation, device, pushNotificationStatus, time, tenantId);
+                    stmt.addBatch();
+                    if (++batched % chunkSize == 0) {
+                        stmt.executeBatch();
+                    }
+                }
+                if (batched % chunkSize != 0) {
+                    stmt.executeBatch();
+                }
             }
+        } catch (SQLException e) {
+            throw new OperationManagementDAOException("Error occurred while persisting device operation mappings. " +
+                    e.getMessage(), e);
+        }
+    }
 
-            rs = stmt.executeQuery();
-            int operationId;
-            int enrollmentId;
-            while (rs.next()) {
-                enrollmentId = rs.getInt("ENROLMENT_ID");
-                operationId = rs.getInt("OPERATION_ID");
-                existingOperationIds.put(enrollmentId, operationId);
+    /**
+     * Map an operation to a set of devices using multi-row inserts of the given size. Database specific DAOs use
+     * this when a single statement carrying many rows is cheaper than a JDBC batch of single row inserts.
+     *
+     * @param operation      operation which is already persisted
+     * @param devices        devices to which the operation is added
+     * @param isScheduled    whether the push notifications of the operation are sent by the scheduler task
+     * @param tenantId       ID of the current tenant
+     * @param rowsPerInsert  maximum number of rows written by a single statement
+     * @throws OperationManagementDAOException if connection establishment or SQL execution fails.
+     */
+    protected void addOperationMappings(Operation operation, List<Device> devices, boolean isScheduled, int tenantId,
+                                        int rowsPerInsert) throws OperationManagementDAOException {
+        if (devices.isEmpty()) {
+            return;
+        }
+        long time = System.currentTimeMillis() / 1000;
+        String pushNotificationStatus = getPushNotificationStatus(isScheduled);
+        PreparedStatement fullChunkStmt = null;
+        try {
+            Connection conn = OperationManagementDAOFactory.getConnection();
+            for (int from = 0; from < devices.size(); from += rowsPerInsert) {
+                List<Device> chunk = devices.subList(from, Math.min(from + rowsPerInsert, devices.size()));
+                PreparedStatement stmt;
+                if (chunk.size() == rowsPerInsert) {
+                    if (fullChunkStmt == null) {
+                        fullChunkStmt = conn.prepareStatement(getOperationMappingInsertQuery(rowsPerInsert));
+                    }
+                    stmt = fullChunkStmt;
+                } else {
+                    stmt = conn.prepareStatement(getOperationMappingInsertQuery(chunk.size()));
+                }
+                try {
+                    int paramIndex = 1;
+                    for (Device device : chunk) {
+                        paramIndex = setOperationMappingParams(stmt, paramIndex, operation, device,
+                                pushNotificationStatus, time, tenantId);
+                    }
+                    stmt.executeUpdate();
+                } finally {
+                    if (stmt != fullChunkStmt) {
+                        OperationManagementDAOUtil.cleanupResources(stmt, null);
+                    }
+                }
             }
         } catch (SQLException e) {
-            throw new OperationManagementDAOException("Error occurred while update device mapping operation status " +
-                    "metadata. " + e.getMessage(), e);
+            throw new OperationManagementDAOException("Error occurred while persisting device operation mappings. " +
+                    e.getMessage(), e);
         } finally {
-            OperationManagementDAOUtil.cleanupResources(stmt, rs);
+            OperationManagementDAOUtil.cleanupResources(fullChunkStmt, null);
         }
-        return existingOperationIds;
+    }
+
+    /**
+     * Build the statement which inserts the given number of operation mappings. The generic implementation uses
+     * a multi-row VALUES clause.
+     *
+     * @param rows number of mappings inserted by the statement
+     * @return insert statement with 13 parameters per mapping
+     */
+    protected String getOperationMappingInsertQuery(int rows) {
+        StringBuilder sql = new StringBuilder("INSERT INTO DM_ENROLMENT_OP_MAPPING(ENROLMENT_ID, OPERATION_ID, " +
+                "STATUS, PUSH_NOTIFICATION_STATUS, CREATED_TIMESTAMP, UPDATED_TIMESTAMP, OPERATION_CODE, " +
+                "INITIATED_BY, TYPE, DEVICE_TYPE, DEVICE_ID, DEVICE_IDENTIFICATION, TENANT_ID) VALUES ");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Bind the values of a single operation mapping starting from the given parameter index.
+     *
+     * @return index of the parameter following the bound mapping
+     */
+    protected int setOperationMappingParams(PreparedStatement stmt, int paramIndex, Operation operation,
+                                            Device device, String pushNotificationStatus, long time, int tenantId)
+            throws SQLException {
+        stmt.setInt(paramIndex++, device.getEnrolmentInfo().getId());
+        stmt.setInt(paramIndex++, operation.getId());
+        stmt.setString(paramIndex++, Operation.Status.PENDING.toString());
+        stmt.setString(paramIndex++, pushNotificationStatus);
+        stmt.setLong(paramIndex++, time);
+        stmt.setLong(paramIndex++, time);
+        stmt.setString(paramIndex++, operation.getCode());
+        stmt.setString(paramIndex++, operation.getInitiatedBy());
+        stmt.setString(paramIndex++, operation.getType().toString());
+        stmt.setString(paramIndex++, device.getType());
+        stmt.setInt(paramIndex++, device.getId());
+        stmt.setString(paramIndex++, device.getDeviceIdentifier());
+        stmt.setInt(paramIndex++, tenantId);
+        return paramIndex;
+    }
+
+    private String getPushNotificationStatus(boolean isScheduled) {
+        if (isScheduled) {
+            return Operation.PushNotificationStatus.SCHEDULED.toString();
+        }
+        return Operation.PushNotificationStatus.COMPLETED.toString();
     }
 
     @Override
@@ -301,19 +442,15 @@ public class GenericOperationDAOImpl implements OperationDAO {
                                           io.entgra.device.mgt.core.device.mgt.common.operation.mgt.Operation operation,
                                           String deviceId) throws OperationManagementDAOException {
         PreparedStatement stmt = null;
-        ByteArrayOutputStream bao = null;
-        ObjectOutputStream oos = null;
         ResultSet rs = null;
         try {
             Connection connection = OperationManagementDAOFactory.getConnection();
             stmt = connection.prepareStatement("INSERT INTO DM_DEVICE_OPERATION_RESPONSE_LARGE " +
                     "(ID, OPERATION_RESPONSE, OPERATION_ID, EN_OP_MAP_ID, RECEIVED_TIMESTAMP, DEVICE_IDENTIFICATION) " +
                     "VALUES(?, ?, ?, ?, ?, ?)");
-            bao = new ByteArrayOutputStream();
-            oos = new ObjectOutputStream(bao);
-            oos.writeObject(operation.getOperationResponse());
             stmt.setInt(1, responseMeta.getId());
-            stmt.setBytes(2, bao.toByteArray());
+            stmt.setBytes(2, OperationManagementDAOFactory.getOperationPayloadCodec()
+                    .encode(operation.getOperationResponse()));
             stmt.setInt(3, operation.getId());
             stmt.setInt(4, responseMeta.getOperationMappingId());
             stmt.setTimestamp(5, responseMeta.getReceivedTimestamp());
@@ -326,20 +463,6 @@ public class GenericOperationDAOImpl implements OperationDAO {
             throw new OperationManagementDAOException("Error occurred while serializing operation response object. " +
                     e.getMessage(), e);
         } finally {
-            if (bao != null) {
-                try {
-                    bao.close();
-                } catch (IOException e) {
-                    log.warn("Error occurred while closing ByteArrayOutputStream", e);
-                }
-            }
-            if (oos != null) {
-                try {
-                    oos.close();
-                } catch (IOException e) {
-                    log.warn("Error occurred while closing ObjectOutputStream", e);
-                }
-            }
             OperationManagementDAOUtil.cleanupResources(stmt, rs);
         }
     }
@@ -2008,7 +2131,7 @@ public class GenericOperationDAOImpl implements OperationDAO {
     @Override
     public Map<Integer, List<OperationMapping>> getAllocatedOperationMappingsByStatus(Operation.Status opStatus,
                                                                                       Operation.PushNotificationStatus pushNotificationStatus,
-                                                                                      int limit, int activeServerCount, int serverIndex)
+                                                                                      int limit, TaskPartition partition)
             throws OperationManagementDAOException {
         PreparedStatement stmt = null;
         ResultSet rs = null;
@@ -2019,14 +2142,14 @@ public class GenericOperationDAOImpl implements OperationDAO {
             conn = OperationManagementDAOFactory.getConnection();
             String sql = "SELECT op.ENROLMENT_ID, op.OPERATION_ID, d.DEVICE_IDENTIFICATION, dt.NAME as DEVICE_TYPE, " +
                     "d.TENANT_ID FROM DM_DEVICE d, DM_ENROLMENT_OP_MAPPING op, DM_DEVICE_TYPE dt  WHERE op.STATUS = ?" +
-                    " AND op.PUSH_NOTIFICATION_STATUS = ? AND d.DEVICE_TYPE_ID = dt.ID AND d.ID=op.ENROLMENT_ID AND MOD(d.ID, ?) = ? ORDER" +
-                    " BY op.OPERATION_ID LIMIT ?";
+                    " AND op.PUSH_NOTIFICATION_STATUS = ? AND d.DEVICE_TYPE_ID = dt.ID AND d.ID=op.ENROLMENT_ID" +
+                    DeviceManagementDAOUtil.buildPartitionCondition("MOD(d.ID, ?)", partition) +
+                    " ORDER BY op.OPERATION_ID LIMIT ?";
             stmt = conn.prepareStatement(sql);
             stmt.setString(1, opStatus.toString());
             stmt.setString(2, pushNotificationStatus.toString());
-            stmt.setInt(3, activeServerCount);
-            stmt.setInt(4, serverIndex);
-            stmt.setInt(5, limit);
+            int paramIdx = DeviceManagementDAOUtil.setPartitionParameters(stmt, 3, partition);
+            stmt.setInt(paramIdx, limit);
             rs = stmt.executeQuery();
             while (rs.next()) {
                 int tenantID = rs.getInt("TENANT_ID");
@@ -2870,4 +2993,54 @@ public class GenericOperationDAOImpl implements OperationDAO {
 
         return operationDetails;
     }
+
+    @Override
+    public List<OperationPayloadBlob> getOperationPayloadBlobs(int lastOperationId, int limit)
+            throws OperationManagementDAOException {
+        List<OperationPayloadBlob> payloadBlobs = new ArrayList<>();
+        String sql = "SELECT ID, OPERATION_DETAILS, OPERATION_PROPERTIES FROM DM_OPERATION WHERE ID > ? ORDER BY ID";
+        try {
+            Connection conn = OperationManagementDAOFactory.getConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setMaxRows(limit);
+                stmt.setInt(1, lastOperationId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        OperationPayloadBlob payloadBlob = new OperationPayloadBlob();
+                        payloadBlob.setOperationId(rs.getInt("ID"));
+                        payloadBlob.setDetails(rs.getBytes("OPERATION_DETAILS"));
+                        payloadBlob.setProperties(rs.getBytes("OPERATION_PROPERTIES"));
+                        payloadBlobs.add(payloadBlob);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            String msg = "Error occurred while retrieving operation details after operation " + lastOperationId;
+            log.error(msg, e);
+            throw new OperationManagementDAOException(msg, e);
+        }
+        return payloadBlobs;
+    }
+
+    @Override
+    public void updateOperationPayloadBlobs(List<OperationPayloadBlob> payloadBlobs)
+            throws OperationManagementDAOException {
+        String sql = "UPDATE DM_OPERATION SET OPERATION_DETAILS = ?, OPERATION_PROPERTIES = ? WHERE ID = ?";
+        try {
+            Connection conn = OperationManagementDAOFactory.getConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (OperationPayloadBlob payloadBlob : payloadBlobs) {
+                    stmt.setBytes(1, payloadBlob.getDetails());
+                    stmt.setBytes(2, payloadBlob.getProperties());
+                    stmt.setInt(3, payloadBlob.getOperationId());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+        } catch (SQLException e) {
+            String msg = "Error occurred while updating operation details of " + payloadBlobs.size() + " operations";
+            log.error(msg, e);
+            throw new OperationManagementDAOException(msg, e);
+        }
+    }
 }
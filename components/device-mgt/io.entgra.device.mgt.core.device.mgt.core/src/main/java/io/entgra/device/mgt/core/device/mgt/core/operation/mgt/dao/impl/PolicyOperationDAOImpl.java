@@ -41,8 +41,6 @@ public class PolicyOperationDAOImpl extends GenericOperationDAOImpl {
     public int addOperation(Operation operation) throws OperationManagementDAOException {
         PreparedStatement stmt = null;
         ResultSet rs = null;
-        ByteArrayOutputStream bao = null;
-        ObjectOutputStream oos = null;
         int operationId = -1;
         try {
 
@@ -58,11 +56,7 @@ public class PolicyOperationDAOImpl extends GenericOperationDAOImpl {
             stmt.setString(4, operation.getCode());
             stmt.setString(5, operation.getInitiatedBy());
 
-            bao = new ByteArrayOutputStream();
-            oos = new ObjectOutputStream(bao);
-            oos.writeObject(operation);
-
-            stmt.setBytes(6, bao.toByteArray());
+            stmt.setBytes(6, OperationManagementDAOFactory.getOperationPayloadCodec().encode(operation));
             stmt.setBoolean(7, operation.isEnabled());
             stmt.setInt(8, PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId());
             stmt.executeUpdate();
@@ -77,20 +71,6 @@ public class PolicyOperationDAOImpl extends GenericOperationDAOImpl {
         } catch (IOException e) {
             throw new OperationManagementDAOException("Error occurred while serializing policy operation object", e);
         } finally {
-            if (bao != null) {
-                try {
-                    bao.close();
-                } catch (IOException e) {
-                    log.warn("Error occurred while closing ByteArrayOutputStream", e);
-                }
-            }
-            if (oos != null) {
-                try {
-                    oos.close();
-                } catch (IOException e) {
-                    log.warn("Error occurred while closing ObjectOutputStream", e);
-                }
-            }
             OperationManagementDAOUtil.cleanupResources(stmt, rs);
         }
     }
@@ -100,9 +80,6 @@ public class PolicyOperationDAOImpl extends GenericOperationDAOImpl {
         PreparedStatement stmt = null;
         ResultSet rs = null;
         PolicyOperation policyOperation = null;
-
-        ByteArrayInputStream bais;
-        ObjectInputStream ois;
         try {
             Connection conn = OperationManagementDAOFactory.getConnection();
             String sql = "SELECT ID, ENABLED, OPERATION_DETAILS FROM DM_OPERATION WHERE ID=? AND TYPE='POLICY'";
@@ -112,9 +89,8 @@ public class PolicyOperationDAOImpl extends GenericOperationDAOImpl {
 
             if (rs.next()) {
                 byte[] operationDetails = rs.getBytes("OPERATION_DETAILS");
-                bais = new ByteArrayInputStream(operationDetails);
-                ois = new ObjectInputStream(bais);
-                policyOperation = (PolicyOperation) ois.readObject();
+                policyOperation = (PolicyOperation) OperationManagementDAOFactory.getOperationPayloadCodec()
+                        .decode(operationDetails);
                 policyOperation.setId(rs.getInt("ID"));
             }
         } catch (IOException e) {
@@ -139,9 +115,6 @@ public class PolicyOperationDAOImpl extends GenericOperationDAOImpl {
         ResultSet rs = null;
         PolicyOperation policyOperation;
         List<Operation> operations = new ArrayList<>();
-
-        ByteArrayInputStream bais = null;
-        ObjectInputStream ois = null;
         try {
             Connection conn = OperationManagementDAOFactory.getConnection();
             String sql = "SELECT po.ID, ENABLED, OPERATION_DETAILS FROM DM_OPERATION po " +
@@ -155,9 +128,8 @@ public class PolicyOperationDAOImpl extends GenericOperationDAOImpl {
 
             while (rs.next()) {
                 byte[] operationDetails = rs.getBytes("OPERATION_DETAILS");
-                bais = new ByteArrayInputStream(operationDetails);
-                ois = new ObjectInputStream(bais);
-                policyOperation = (PolicyOperation) ois.readObject();
+                policyOperation = (PolicyOperation) OperationManagementDAOFactory.getOperationPayloadCodec()
+                        .decode(operationDetails);
                 policyOperation.setStatus(status);
                 policyOperation.setId(rs.getInt("ID"));
                 operations.add(policyOperation);
@@ -172,20 +144,6 @@ public class PolicyOperationDAOImpl extends GenericOperationDAOImpl {
             throw new OperationManagementDAOException("SQL error occurred while retrieving the operation " +
                     "available for the device'" + enrolmentId + "' with status '" + status.toString(), e);
         } finally {
-            if (bais != null) {
-                try {
-                    bais.close();
-                } catch (IOException e) {
-                    log.warn("Error occurred while closing ByteArrayOutputStream", e);
-                }
-            }
-            if (ois != null) {
-                try {
-                    ois.close();
-                } catch (IOException e) {
-                    log.warn("Error occurred while closing ObjectOutputStream", e);
-                }
-            }
             OperationManagementDAOUtil.cleanupResources(stmt, rs);
         }
         return operations;
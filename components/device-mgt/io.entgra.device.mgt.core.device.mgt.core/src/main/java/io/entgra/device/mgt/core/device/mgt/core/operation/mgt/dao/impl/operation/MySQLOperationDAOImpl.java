@@ -18,11 +18,14 @@
 
 package io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.impl.operation;
 
+import io.entgra.device.mgt.core.device.mgt.common.Device;
 import io.entgra.device.mgt.core.device.mgt.common.DeviceIdentifier;
 import io.entgra.device.mgt.core.device.mgt.common.operation.mgt.Activity;
 import io.entgra.device.mgt.core.device.mgt.common.operation.mgt.ActivityHolder;
 import io.entgra.device.mgt.core.device.mgt.common.operation.mgt.ActivityStatus;
 import io.entgra.device.mgt.core.device.mgt.common.operation.mgt.OperationResponse;
+import io.entgra.device.mgt.core.device.mgt.core.dto.operation.mgt.Operation;
+import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.OperationMgtConstants;
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.OperationManagementDAOException;
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.OperationManagementDAOFactory;
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.OperationManagementDAOUtil;
@@ -316,4 +319,11 @@ public class MySQLOperationDAOImpl extends GenericOperationDAOImpl {
             throw new OperationManagementDAOException(msg, e);
         }
     }
+
+    @Override
+    public void addOperationMappings(Operation operation, List<Device> devices, boolean isScheduled, int tenantId)
+            throws OperationManagementDAOException {
+        addOperationMappings(operation, devices, isScheduled, tenantId,
+                OperationMgtConstants.OperationMappingBatch.INSERT_CHUNK_SIZE);
+    }
 }
@@ -18,12 +18,14 @@
 
 package io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.impl.operation;
 
+import io.entgra.device.mgt.core.device.mgt.common.Device;
 import io.entgra.device.mgt.core.device.mgt.common.DeviceIdentifier;
 import io.entgra.device.mgt.core.device.mgt.common.PaginationRequest;
 import io.entgra.device.mgt.core.device.mgt.common.operation.mgt.Activity;
 import io.entgra.device.mgt.core.device.mgt.common.operation.mgt.ActivityHolder;
 import io.entgra.device.mgt.core.device.mgt.core.dto.operation.mgt.Operation;
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.OperationMapping;
+import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.OperationMgtConstants;
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.OperationManagementDAOException;
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.OperationManagementDAOFactory;
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.OperationManagementDAOUtil;
@@ -332,4 +334,24 @@ public class OracleOperationDAOImpl extends GenericOperationDAOImpl {
             throw new OperationManagementDAOException(msg, e);
         }
     }
+
+    @Override
+    public void addOperationMappings(Operation operation, List<Device> devices, boolean isScheduled, int tenantId)
+            throws OperationManagementDAOException {
+        addOperationMappings(operation, devices, isScheduled, tenantId,
+                OperationMgtConstants.OperationMappingBatch.ORACLE_INSERT_CHUNK_SIZE);
+    }
+
+    @Override
+    protected String getOperationMappingInsertQuery(int rows) {
+        StringBuilder sql = new StringBuilder("INSERT ALL");
+        for (int i = 0; i < rows; i++) {
+            sql.append(" INTO DM_ENROLMENT_OP_MAPPING(ENROLMENT_ID, OPERATION_ID, STATUS, " +
+                    "PUSH_NOTIFICATION_STATUS, CREATED_TIMESTAMP, UPDATED_TIMESTAMP, OPERATION_CODE, INITIATED_BY, " +
+                    "TYPE, DEVICE_TYPE, DEVICE_ID, DEVICE_IDENTIFICATION, TENANT_ID) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        }
+        sql.append(" SELECT 1 FROM DUAL");
+        return sql.toString();
+    }
 }
@@ -18,9 +18,11 @@
 
 package io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.impl.operation;
 
+import io.entgra.device.mgt.core.device.mgt.common.Device;
 import io.entgra.device.mgt.core.device.mgt.common.PaginationRequest;
 import io.entgra.device.mgt.core.device.mgt.core.dto.operation.mgt.Operation;
 import io.entgra.device.mgt.core.device.mgt.core.dto.operation.mgt.OperationResponseMeta;
+import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.OperationMgtConstants;
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.OperationManagementDAOException;
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.OperationManagementDAOFactory;
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.OperationManagementDAOUtil;
@@ -282,4 +284,11 @@ public class PostgreSQLOperationDAOImpl extends GenericOperationDAOImpl {
             OperationManagementDAOUtil.cleanupResources(stmt, rs);
         }
     }
+
+    @Override
+    public void addOperationMappings(Operation operation, List<Device> devices, boolean isScheduled, int tenantId)
+            throws OperationManagementDAOException {
+        addOperationMappings(operation, devices, isScheduled, tenantId,
+                OperationMgtConstants.OperationMappingBatch.INSERT_CHUNK_SIZE);
+    }
 }
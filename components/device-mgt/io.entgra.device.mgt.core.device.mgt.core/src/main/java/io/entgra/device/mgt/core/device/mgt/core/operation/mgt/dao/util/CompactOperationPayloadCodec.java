@@ -0,0 +1,416 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.util;
+
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Default {@link OperationPayloadCodec} which writes a small header in front of every payload.
+ * <pre>
+ *  +------+-----+-----+---------+------+-------+------
+ *  | 0x00 | 'O' | 'P' | version | kind | flags | body
+ *  +------+-----+-----+---------+------+-------+------
+ * </pre>
+ * String payloads, which carry the JSON of policies and profiles, are written as plain UTF-8. Other objects are
+ * written as JSON in which every value of a polymorphic slot (the payload itself, fields declared as {@link Object},
+ * and the elements of collections and maps) is tagged with its class, so that the object is read back as the same
+ * type without Java serialization. Bodies larger than the compression threshold are GZIP compressed.
+ * <p>
+ * Blobs which start with the header must carry a supported version, otherwise they are rejected. Blobs written in
+ * the legacy formats, i.e. Java serialized objects and raw UTF-8 strings, are still read so that they can be
+ * migrated.
+ */
+public class CompactOperationPayloadCodec implements OperationPayloadCodec {
+
+    public static final int DEFAULT_COMPRESSION_THRESHOLD = 1024;
+
+    private static final byte[] MAGIC = {0x00, 'O', 'P'};
+    private static final byte VERSION = 2;
+    private static final byte KIND_STRING = 1;
+    private static final byte KIND_JSON = 2;
+    private static final byte FLAG_GZIP = 1;
+    private static final int HEADER_LENGTH = MAGIC.length + 3;
+
+    private static final int JAVA_SERIALIZATION_MAGIC_0 = 0xAC;
+    private static final int JAVA_SERIALIZATION_MAGIC_1 = 0xED;
+
+    private static final String TYPE = "type";
+    private static final String VALUE = "value";
+    private static final String PAYLOAD_PACKAGE = "io.entgra.device.mgt.core.";
+    private static final String[] ALLOWED_PACKAGES = {"java.lang.", "java.util.", PAYLOAD_PACKAGE};
+
+    private final int compressionThreshold;
+    private final Gson gson;
+
+    public CompactOperationPayloadCodec() {
+        this(DEFAULT_COMPRESSION_THRESHOLD);
+    }
+
+    public CompactOperationPayloadCodec(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold > 0 ? compressionThreshold : DEFAULT_COMPRESSION_THRESHOLD;
+        this.gson = new GsonBuilder()
+                .setExclusionStrategies(new TypedFieldExclusionStrategy())
+                .registerTypeAdapterFactory(new TypedFieldAdapterFactory())
+                .registerTypeHierarchyAdapter(Class.class, new ClassAdapter().nullSafe())
+                .create();
+    }
+
+    @Override
+    public byte[] encode(Object payload) throws IOException {
+        if (payload == null) {
+            return null;
+        }
+        byte kind;
+        byte[] body;
+        if (payload instanceof String) {
+            kind = KIND_STRING;
+            body = ((String) payload).getBytes(StandardCharsets.UTF_8);
+        } else {
+            kind = KIND_JSON;
+            try {
+                body = gson.toJson(toTypedTree(payload)).getBytes(StandardCharsets.UTF_8);
+            } catch (JsonParseException | IllegalArgumentException e) {
+                throw new IOException("Unable to encode operation payload of type " + payload.getClass().getName(), e);
+            }
+        }
+        byte flags = 0;
+        if (body.length > compressionThreshold) {
+            flags |= FLAG_GZIP;
+            body = compress(body);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(HEADER_LENGTH + body.length);
+        out.write(MAGIC);
+        out.write(VERSION);
+        out.write(kind);
+        out.write(flags);
+        out.write(body);
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object decode(byte[] bytes) throws IOException, ClassNotFoundException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (hasMagic(bytes)) {
+            if (bytes.length < HEADER_LENGTH) {
+                throw new IOException("Operation payload header is truncated");
+            }
+            int version = bytes[MAGIC.length];
+            if (version != VERSION) {
+                throw new IOException("Unsupported operation payload version " + version);
+            }
+            byte kind = bytes[MAGIC.length + 1];
+            byte flags = bytes[MAGIC.length + 2];
+            try (InputStream body = openBody(bytes, HEADER_LENGTH, flags)) {
+                switch (kind) {
+                    case KIND_STRING:
+                        return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+                    case KIND_JSON:
+                        return fromTypedTree(
+                                JsonParser.parseString(new String(body.readAllBytes(), StandardCharsets.UTF_8)));
+                    default:
+                        throw new IOException("Unsupported operation payload kind " + kind);
+                }
+            } catch (JsonParseException | IllegalStateException | ClassCastException e) {
+                throw new IOException("Malformed operation payload", e);
+            }
+        }
+        if (isJavaSerialized(bytes)) {
+            return readObject(new ByteArrayInputStream(bytes));
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean isLegacy(byte[] bytes) {
+        return bytes != null && bytes.length > 0 && !hasMagic(bytes);
+    }
+
+    private JsonElement toTypedTree(Object value) {
+        if (value == null) {
+            return JsonNull.INSTANCE;
+        }
+        JsonElement tree;
+        if (value instanceof Collection) {
+            JsonArray elements = new JsonArray();
+            for (Object element : (Collection<?>) value) {
+                elements.add(toTypedTree(element));
+            }
+            tree = elements;
+        } else if (value instanceof Map) {
+            JsonObject entries = new JsonObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                entries.add(String.valueOf(entry.getKey()), toTypedTree(entry.getValue()));
+            }
+            tree = entries;
+        } else {
+            tree = gson.toJsonTree(value, value.getClass());
+        }
+        JsonObject typed = new JsonObject();
+        typed.addProperty(TYPE, value.getClass().getName());
+        typed.add(VALUE, tree);
+        return typed;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object fromTypedTree(JsonElement element) throws IOException {
+        if (element == null || element.isJsonNull()) {
+            return null;
+        }
+        JsonObject typed = element.getAsJsonObject();
+        JsonElement typeTag = typed.get(TYPE);
+        JsonElement tree = typed.get(VALUE);
+        if (typeTag == null || tree == null) {
+            throw new IOException("Operation payload value is not type tagged");
+        }
+        Class<?> type = loadType(typeTag.getAsString());
+        if (Collection.class.isAssignableFrom(type)) {
+            Collection<Object> collection = (Collection<Object>) newInstance(type,
+                    Set.class.isAssignableFrom(type) ? LinkedHashSet.class : ArrayList.class);
+            for (JsonElement value : tree.getAsJsonArray()) {
+                collection.add(fromTypedTree(value));
+            }
+            return collection;
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            Map<Object, Object> map = (Map<Object, Object>) newInstance(type, LinkedHashMap.class);
+            for (Map.Entry<String, JsonElement> entry : tree.getAsJsonObject().entrySet()) {
+                map.put(entry.getKey(), fromTypedTree(entry.getValue()));
+            }
+            return map;
+        }
+        return gson.fromJson(tree, type);
+    }
+
+    /**
+     * Load the class of a type tag. Only the classes of the payload model and of the JDK value types can be
+     * loaded, so that a persisted tag cannot be used to instantiate an arbitrary class.
+     */
+    private static Class<?> loadType(String name) throws IOException {
+        for (String allowedPackage : ALLOWED_PACKAGES) {
+            if (name.startsWith(allowedPackage)) {
+                try {
+                    return Class.forName(name, false, CompactOperationPayloadCodec.class.getClassLoader());
+                } catch (ClassNotFoundException e) {
+                    throw new IOException("Unknown operation payload type " + name, e);
+                }
+            }
+        }
+        throw new IOException("Operation payload type " + name + " is not allowed");
+    }
+
+    private static Object newInstance(Class<?> type, Class<?> fallbackType) throws IOException {
+        try {
+            if (!Modifier.isAbstract(type.getModifiers())) {
+                return type.getDeclaredConstructor().newInstance();
+            }
+        } catch (ReflectiveOperationException | RuntimeException ignored) {
+            // Unmodifiable and other collections without a default constructor are read into the fallback type
+        }
+        try {
+            return fallbackType.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IOException("Unable to create an instance of " + fallbackType.getName(), e);
+        }
+    }
+
+    private static boolean isPayloadType(Class<?> type) {
+        return type.getName().startsWith(PAYLOAD_PACKAGE);
+    }
+
+    private static boolean isTypedField(Field field) {
+        int modifiers = field.getModifiers();
+        return field.getType() == Object.class && !Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers);
+    }
+
+    private static boolean hasMagic(byte[] bytes) {
+        if (bytes.length < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (bytes[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isJavaSerialized(byte[] bytes) {
+        return bytes.length > 2 && (bytes[0] & 0xFF) == JAVA_SERIALIZATION_MAGIC_0
+                && (bytes[1] & 0xFF) == JAVA_SERIALIZATION_MAGIC_1;
+    }
+
+    private static InputStream openBody(byte[] bytes, int offset, byte flags) throws IOException {
+        InputStream body = new ByteArrayInputStream(bytes, offset, bytes.length - offset);
+        if ((flags & FLAG_GZIP) != 0) {
+            body = new GZIPInputStream(body);
+        }
+        return body;
+    }
+
+    private static Object readObject(InputStream in) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(in)) {
+            return ois.readObject();
+        }
+    }
+
+    private static byte[] compress(byte[] bytes) throws IOException {
+        ByteArrayOutputStream bao = new ByteArrayOutputStream(bytes.length / 2);
+        try (OutputStream gzip = new GZIPOutputStream(bao)) {
+            gzip.write(bytes);
+        }
+        return bao.toByteArray();
+    }
+
+    /**
+     * Skips the {@link Object} fields of the payload model in the reflective mapping, since they are written with
+     * a type tag by {@link TypedFieldAdapterFactory}.
+     */
+    private static class TypedFieldExclusionStrategy implements ExclusionStrategy {
+
+        @Override
+        public boolean shouldSkipField(FieldAttributes fieldAttributes) {
+            return fieldAttributes.getDeclaredClass() == Object.class
+                    && isPayloadType(fieldAttributes.getDeclaringClass());
+        }
+
+        @Override
+        public boolean shouldSkipClass(Class<?> type) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes the {@link Object} fields of the payload model as type tagged values next to the fields written by the
+     * reflective mapping, and sets them back when the object is read.
+     */
+    private class TypedFieldAdapterFactory implements TypeAdapterFactory {
+
+        @Override
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> typeToken) {
+            Class<? super T> rawType = typeToken.getRawType();
+            if (!isPayloadType(rawType)) {
+                return null;
+            }
+            List<Field> typedFields = new ArrayList<>();
+            for (Class<?> type = rawType; type != null && isPayloadType(type); type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (isTypedField(field)) {
+                        field.setAccessible(true);
+                        typedFields.add(field);
+                    }
+                }
+            }
+            if (typedFields.isEmpty()) {
+                return null;
+            }
+            TypeAdapter<T> delegate = gson.getDelegateAdapter(this, typeToken);
+            TypeAdapter<JsonElement> treeAdapter = gson.getAdapter(JsonElement.class);
+            return new TypeAdapter<T>() {
+                @Override
+                public void write(JsonWriter out, T value) throws IOException {
+                    if (value == null) {
+                        out.nullValue();
+                        return;
+                    }
+                    JsonObject tree = delegate.toJsonTree(value).getAsJsonObject();
+                    try {
+                        for (Field field : typedFields) {
+                            Object fieldValue = field.get(value);
+                            if (fieldValue != null) {
+                                tree.add(field.getName(), toTypedTree(fieldValue));
+                            }
+                        }
+                    } catch (IllegalAccessException e) {
+                        throw new IOException("Unable to read the fields of " + rawType.getName(), e);
+                    }
+                    treeAdapter.write(out, tree);
+                }
+
+                @Override
+                public T read(JsonReader in) throws IOException {
+                    if (in.peek() == JsonToken.NULL) {
+                        in.nextNull();
+                        return null;
+                    }
+                    JsonObject tree = treeAdapter.read(in).getAsJsonObject();
+                    T value = delegate.fromJsonTree(tree);
+                    try {
+                        for (Field field : typedFields) {
+                            field.set(value, fromTypedTree(tree.get(field.getName())));
+                        }
+                    } catch (IllegalAccessException e) {
+                        throw new IOException("Unable to set the fields of " + rawType.getName(), e);
+                    }
+                    return value;
+                }
+            };
+        }
+    }
+
+    /**
+     * Writes classes, such as the types of configuration properties, by their names.
+     */
+    private static class ClassAdapter extends TypeAdapter<Class<?>> {
+
+        @Override
+        public void write(JsonWriter out, Class<?> value) throws IOException {
+            out.value(value.getName());
+        }
+
+        @Override
+        public Class<?> read(JsonReader in) throws IOException {
+            return loadType(in.nextString());
+        }
+    }
+}
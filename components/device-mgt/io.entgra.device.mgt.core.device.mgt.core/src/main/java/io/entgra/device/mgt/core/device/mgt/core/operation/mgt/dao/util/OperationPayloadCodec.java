@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.util;
+
+import java.io.IOException;
+
+/**
+ * Encodes operation payloads, properties and large responses into the binary form persisted in the operation
+ * tables and decodes them back. Implementations must be able to decode blobs written by the legacy Java
+ * serialization based persistence so that existing rows remain readable.
+ */
+public interface OperationPayloadCodec {
+
+    /**
+     * Encode an object to be persisted.
+     *
+     * @param payload Object to be encoded, may be null
+     * @return Encoded bytes or null if the payload is null
+     * @throws IOException if the object cannot be encoded
+     */
+    byte[] encode(Object payload) throws IOException;
+
+    /**
+     * Decode persisted bytes, which may either be written by this codec or by the legacy persistence.
+     *
+     * @param bytes Persisted bytes, may be null
+     * @return Decoded object or null if the bytes are null or empty
+     * @throws IOException            if the bytes cannot be decoded
+     * @throws ClassNotFoundException if the class of a serialized object cannot be found
+     */
+    Object decode(byte[] bytes) throws IOException, ClassNotFoundException;
+
+    /**
+     * Check whether persisted bytes are written in a legacy format and should be re-encoded.
+     *
+     * @param bytes Persisted bytes
+     * @return true if the bytes are not written in the current format of this codec
+     */
+    boolean isLegacy(byte[] bytes);
+}
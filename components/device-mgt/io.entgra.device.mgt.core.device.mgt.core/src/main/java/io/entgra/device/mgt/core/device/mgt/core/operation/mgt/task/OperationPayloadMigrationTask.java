@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.entgra.device.mgt.core.device.mgt.core.operation.mgt.task;
+
+import io.entgra.device.mgt.core.device.mgt.common.exceptions.TransactionManagementException;
+import io.entgra.device.mgt.core.device.mgt.core.dto.operation.mgt.OperationPayloadBlob;
+import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.OperationDAO;
+import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.OperationManagementDAOException;
+import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.OperationManagementDAOFactory;
+import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.util.OperationPayloadCodec;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link OperationPayloadMigrationTask} rewrites operation details and properties which are persisted in a legacy
+ * format using the configured {@link OperationPayloadCodec}, hence Java serialized objects are decoded and written
+ * back in the current format of the codec. Operations are processed in batches in the ascending
+ * order of their IDs and each batch is updated in its own transaction, hence the task can be interrupted and
+ * re-run safely.
+ */
+public class OperationPayloadMigrationTask implements Runnable {
+
+    private static final Log log = LogFactory.getLog(OperationPayloadMigrationTask.class);
+    private final OperationDAO operationDAO = OperationManagementDAOFactory.getOperationDAO();
+    private final OperationPayloadCodec codec = OperationManagementDAOFactory.getOperationPayloadCodec();
+    private final int batchSize;
+
+    public OperationPayloadMigrationTask(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run() {
+        int lastOperationId = 0;
+        int migratedCount = 0;
+        try {
+            log.info("Operation payload migration started");
+            while (true) {
+                List<OperationPayloadBlob> payloadBlobs;
+                try {
+                    OperationManagementDAOFactory.openConnection();
+                    payloadBlobs = operationDAO.getOperationPayloadBlobs(lastOperationId, batchSize);
+                } finally {
+                    OperationManagementDAOFactory.closeConnection();
+                }
+                if (payloadBlobs.isEmpty()) {
+                    break;
+                }
+                lastOperationId = payloadBlobs.get(payloadBlobs.size() - 1).getOperationId();
+                List<OperationPayloadBlob> legacyBlobs = new ArrayList<>();
+                for (OperationPayloadBlob payloadBlob : payloadBlobs) {
+                    if (reEncode(payloadBlob)) {
+                        legacyBlobs.add(payloadBlob);
+                    }
+                }
+                if (!legacyBlobs.isEmpty()) {
+                    try {
+                        OperationManagementDAOFactory.beginTransaction();
+                        operationDAO.updateOperationPayloadBlobs(legacyBlobs);
+                        OperationManagementDAOFactory.commitTransaction();
+                        migratedCount += legacyBlobs.size();
+                    } catch (TransactionManagementException | OperationManagementDAOException e) {
+                        OperationManagementDAOFactory.rollbackTransaction();
+                        log.error("Error occurred while migrating payloads of operations up to " +
+                                lastOperationId, e);
+                    } finally {
+                        OperationManagementDAOFactory.closeConnection();
+                    }
+                }
+            }
+            log.info("Operation payload migration completed. Migrated " + migratedCount + " operations.");
+        } catch (SQLException | OperationManagementDAOException e) {
+            log.error("Operation payload migration stopped after operation " + lastOperationId, e);
+        } catch (Throwable cause) {
+            log.error("OperationPayloadMigrationTask failed due to " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Re-encode the legacy details and properties of an operation.
+     *
+     * @param payloadBlob Persisted details and properties of the operation
+     * @return true if any of them were in a legacy format and are re-encoded
+     */
+    private boolean reEncode(OperationPayloadBlob payloadBlob) {
+        boolean isLegacyDetails = codec.isLegacy(payloadBlob.getDetails());
+        boolean isLegacyProperties = codec.isLegacy(payloadBlob.getProperties());
+        if (!isLegacyDetails && !isLegacyProperties) {
+            return false;
+        }
+        try {
+            if (isLegacyDetails) {
+                payloadBlob.setDetails(codec.encode(codec.decode(payloadBlob.getDetails())));
+            }
+            if (isLegacyProperties) {
+                payloadBlob.setProperties(codec.encode(codec.decode(payloadBlob.getProperties())));
+            }
+            return true;
+        } catch (IOException | ClassNotFoundException e) {
+            log.warn("Unable to migrate payload of operation " + payloadBlob.getOperationId() + ", hence it is " +
+                    "kept in the legacy format.", e);
+            return false;
+        }
+    }
+}
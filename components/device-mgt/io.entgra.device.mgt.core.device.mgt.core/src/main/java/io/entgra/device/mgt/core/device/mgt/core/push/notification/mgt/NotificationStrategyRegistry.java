@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.push.notification.mgt;
+
+import io.entgra.device.mgt.core.device.mgt.common.exceptions.InvalidConfigurationException;
+import io.entgra.device.mgt.core.device.mgt.common.push.notification.NotificationStrategy;
+import io.entgra.device.mgt.core.device.mgt.common.push.notification.PushNotificationConfig;
+import io.entgra.device.mgt.core.device.mgt.common.push.notification.PushNotificationProvider;
+import io.entgra.device.mgt.core.device.mgt.common.spi.DeviceManagementService;
+import io.entgra.device.mgt.core.device.mgt.core.dto.DeviceTypeServiceIdentifier;
+import io.entgra.device.mgt.core.device.mgt.core.internal.DeviceManagementDataHolder;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registry of the notification strategies in use, kept per tenant and device type. Strategies are resolved once
+ * and reused; they are re-resolved when the platform configuration of a device type is saved. Entries are also
+ * revalidated in the background after {@link #REVALIDATION_PERIOD_MILLIS} so that changes saved through another
+ * node are picked up, while the stale strategy keeps serving callers until the new one is ready.
+ */
+public class NotificationStrategyRegistry {
+
+    private static final Log log = LogFactory.getLog(NotificationStrategyRegistry.class);
+
+    private static final long REVALIDATION_PERIOD_MILLIS = 5 * 60 * 1000;
+    private static final String NOTIFIER_TYPE_LOCAL = "LOCAL";
+
+    private static volatile NotificationStrategyRegistry notificationStrategyRegistry;
+
+    private final ConcurrentMap<String, StrategyHolder> strategies = new ConcurrentHashMap<>();
+    private final Set<String> revalidatingKeys = ConcurrentHashMap.newKeySet();
+    private final ExecutorService revalidationExecutor;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong refreshCount = new AtomicLong();
+
+    private NotificationStrategyRegistry() {
+        revalidationExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-strategy-revalidation");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static NotificationStrategyRegistry getInstance() {
+        if (notificationStrategyRegistry == null) {
+            synchronized (NotificationStrategyRegistry.class) {
+                if (notificationStrategyRegistry == null) {
+                    notificationStrategyRegistry = new NotificationStrategyRegistry();
+                }
+            }
+        }
+        return notificationStrategyRegistry;
+    }
+
+    /**
+     * Get the notification strategy of a device type for a tenant. Only the first lookup of a tenant and device type
+     * resolves the push notification configuration, subsequent lookups are served from the registry.
+     *
+     * @param tenantId                ID of the tenant
+     * @param deviceType              device type
+     * @param deviceManagementService device management service of the device type
+     * @return notification strategy, or null if the device type does not use push notifications
+     */
+    public NotificationStrategy getNotificationStrategy(int tenantId, String deviceType,
+                                                        DeviceManagementService deviceManagementService) {
+        if (deviceType == null || deviceManagementService == null) {
+            return null;
+        }
+        String key = getKey(tenantId, deviceType);
+        StrategyHolder holder = strategies.get(key);
+        if (holder != null) {
+            hitCount.incrementAndGet();
+            if (holder.isExpired()) {
+                scheduleRevalidation(key, tenantId, deviceType, deviceManagementService);
+            }
+            return holder.getStrategy();
+        }
+        missCount.incrementAndGet();
+        holder = strategies.computeIfAbsent(key, k -> resolve(tenantId, deviceManagementService, null));
+        return holder != null ? holder.getStrategy() : null;
+    }
+
+    /**
+     * Re-resolve the notification strategy of a device type for a tenant. The current strategy is reused if the
+     * push notification configuration has not changed. Must be called within the flow of the given tenant.
+     *
+     * @param tenantId                ID of the tenant
+     * @param deviceType              device type
+     * @param deviceManagementService device management service of the device type
+     */
+    public void refresh(int tenantId, String deviceType, DeviceManagementService deviceManagementService) {
+        if (deviceType == null || deviceManagementService == null) {
+            return;
+        }
+        refreshCount.incrementAndGet();
+        strategies.compute(getKey(tenantId, deviceType),
+                (key, current) -> {
+                    StrategyHolder updated = resolve(tenantId, deviceManagementService, current);
+                    // keep serving the current strategy if the new one could not be resolved
+                    return updated != null ? updated : current;
+                });
+    }
+
+    /**
+     * Remove the notification strategies of a device type and undeploy them. Strategies of all the tenants are
+     * removed if the device type is shared with all tenants.
+     *
+     * @param deviceTypeIdentifier identifier of the device type which is being removed
+     */
+    public void remove(DeviceTypeServiceIdentifier deviceTypeIdentifier) {
+        String suffix = ":" + deviceTypeIdentifier.getDeviceType();
+        String key = getKey(deviceTypeIdentifier.getTenantId(), deviceTypeIdentifier.getDeviceType());
+        strategies.entrySet().removeIf(entry -> {
+            if (deviceTypeIdentifier.isSharedWithAllTenant() ? !entry.getKey().endsWith(suffix) :
+                    !entry.getKey().equals(key)) {
+                return false;
+            }
+            NotificationStrategy strategy = entry.getValue().getStrategy();
+            if (strategy != null) {
+                try {
+                    strategy.undeploy();
+                } catch (InvalidConfigurationException ignore) {
+                    //error occurred while undeploying strategy, ignore error
+                }
+            }
+            return true;
+        });
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getRefreshCount() {
+        return refreshCount.get();
+    }
+
+    private void scheduleRevalidation(String key, int tenantId, String deviceType,
+                                      DeviceManagementService deviceManagementService) {
+        if (!revalidatingKeys.add(key)) {
+            return;
+        }
+        try {
+            revalidationExecutor.execute(() -> {
+                try {
+                    PrivilegedCarbonContext.startTenantFlow();
+                    PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantId(tenantId, true);
+                    refresh(tenantId, deviceType, deviceManagementService);
+                } catch (RuntimeException e) {
+                    log.error("Error occurred while revalidating the notification strategy of device type '" +
+                            deviceType + "' under tenant ID '" + tenantId + "'.", e);
+                } finally {
+                    PrivilegedCarbonContext.endTenantFlow();
+                    revalidatingKeys.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            revalidatingKeys.remove(key);
+        }
+    }
+
+    /**
+     * Resolve the notification strategy of the current push notification configuration. Strategies are not
+     * undeployed when they are replaced since providers such as MQTT share the underlying adapter between
+     * strategy instances of the same configuration.
+     *
+     * @return resolved holder, or null if the push notification provider is not registered
+     */
+    private StrategyHolder resolve(int tenantId, DeviceManagementService deviceManagementService,
+                                   StrategyHolder current) {
+        PushNotificationConfig pushNoteConfig = deviceManagementService.getPushNotificationConfig();
+        ConfigFingerprint fingerprint = new ConfigFingerprint(pushNoteConfig);
+        if (current != null && current.getFingerprint().equals(fingerprint)) {
+            return new StrategyHolder(current.getStrategy(), fingerprint);
+        }
+        if (pushNoteConfig == null || NOTIFIER_TYPE_LOCAL.equals(pushNoteConfig.getType())) {
+            return new StrategyHolder(null, fingerprint);
+        }
+        PushNotificationProvider provider = DeviceManagementDataHolder.getInstance()
+                .getPushNotificationProviderRepository().getProvider(pushNoteConfig.getType());
+        if (provider == null) {
+            log.error("No registered push notification provider found for the type '" +
+                    pushNoteConfig.getType() + "' under tenant ID '" + tenantId + "'.");
+            return null;
+        }
+        return new StrategyHolder(provider.getNotificationStrategy(pushNoteConfig), fingerprint);
+    }
+
+    private static String getKey(int tenantId, String deviceType) {
+        return tenantId + ":" + deviceType;
+    }
+
+    private static class StrategyHolder {
+
+        private final NotificationStrategy strategy;
+        private final ConfigFingerprint fingerprint;
+        private final long resolvedTime;
+
+        StrategyHolder(NotificationStrategy strategy, ConfigFingerprint fingerprint) {
+            this.strategy = strategy;
+            this.fingerprint = fingerprint;
+            this.resolvedTime = System.currentTimeMillis();
+        }
+
+        NotificationStrategy getStrategy() {
+            return strategy;
+        }
+
+        ConfigFingerprint getFingerprint() {
+            return fingerprint;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() - resolvedTime > REVALIDATION_PERIOD_MILLIS;
+        }
+    }
+
+    /**
+     * Value view of a push notification configuration, since the configuration bean does not define equality.
+     */
+    private static class ConfigFingerprint {
+
+        private final String type;
+        private final boolean isScheduled;
+        private final Map<String, String> properties;
+
+        ConfigFingerprint(PushNotificationConfig config) {
+            if (config == null) {
+                this.type = null;
+                this.isScheduled = false;
+                this.properties = Collections.emptyMap();
+            } else {
+                this.type = config.getType();
+                this.isScheduled = config.isScheduled();
+                this.properties = config.getProperties() != null ?
+                        new HashMap<>(config.getProperties()) : Collections.emptyMap();
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ConfigFingerprint)) {
+                return false;
+            }
+            ConfigFingerprint that = (ConfigFingerprint) o;
+            return isScheduled == that.isScheduled && Objects.equals(type, that.type) &&
+                    properties.equals(that.properties);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, isScheduled, properties);
+        }
+    }
+}
@@ -0,0 +1,380 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.push.notification.mgt;
+
+import io.entgra.device.mgt.core.device.mgt.core.DeviceManagementConstants;
+import io.entgra.device.mgt.core.device.mgt.core.config.DeviceConfigurationManager;
+import io.entgra.device.mgt.core.device.mgt.core.config.DeviceManagementConfig;
+import io.entgra.device.mgt.core.device.mgt.core.config.push.notification.PushNotificationConfiguration;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executor shared by all the operation managers to send push notifications of newly added operations. The
+ * notification queue is bounded, so callers are told when the executor is saturated and are expected to leave the
+ * notifications to the push notification scheduler task instead. Failed notifications are retried through a
+ * separate scheduler so that no notification thread sleeps between attempts. The retries pending on the scheduler
+ * are capped as well, and the retries beyond the cap are shed since the affected notifications are still left in
+ * their previous status.
+ */
+public class PushNotificationExecutor implements PushNotificationExecutorMBean {
+
+    private static final Log log = LogFactory.getLog(PushNotificationExecutor.class);
+
+    private static volatile PushNotificationExecutor pushNotificationExecutor;
+
+    private final ThreadPoolExecutor notificationExecutor;
+    private final ScheduledThreadPoolExecutor retryExecutor;
+    private final int queueCapacity;
+    private final int retryQueueCapacity;
+    private final long retryDelayMillis;
+    private final AtomicInteger pendingRetries = new AtomicInteger();
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong retryCount = new AtomicLong();
+    private final AtomicLong shedRetryCount = new AtomicLong();
+    private final AtomicLong totalLatencyMillis = new AtomicLong();
+    private final AtomicLong maxLatencyMillis = new AtomicLong();
+    private final ThreadLocal<Boolean> taskFailed = new ThreadLocal<>();
+
+    private PushNotificationExecutor() {
+        int poolSize = DeviceManagementConstants.PushNotifications.DEFAULT_EXECUTOR_POOL_SIZE;
+        int capacity = DeviceManagementConstants.PushNotifications.DEFAULT_EXECUTOR_QUEUE_CAPACITY;
+        int retryCapacity = DeviceManagementConstants.PushNotifications.DEFAULT_RETRY_QUEUE_CAPACITY;
+        long retryDelay = DeviceManagementConstants.PushNotifications.DEFAULT_RETRY_DELAY_MILLS;
+        DeviceManagementConfig deviceManagementConfig = DeviceConfigurationManager.getInstance()
+                .getDeviceManagementConfig();
+        PushNotificationConfiguration config = deviceManagementConfig != null ?
+                deviceManagementConfig.getPushNotificationConfiguration() : null;
+        if (config != null) {
+            if (config.getExecutorPoolSize() > 0) {
+                poolSize = config.getExecutorPoolSize();
+            }
+            if (config.getExecutorQueueCapacity() > 0) {
+                capacity = config.getExecutorQueueCapacity();
+            }
+            if (config.getRetryDelayMills() > 0) {
+                retryDelay = config.getRetryDelayMills();
+            }
+            if (config.getRetryQueueCapacity() > 0) {
+                retryCapacity = config.getRetryQueueCapacity();
+            }
+        }
+        this.queueCapacity = capacity;
+        this.retryQueueCapacity = retryCapacity;
+        this.retryDelayMillis = retryDelay;
+        this.notificationExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity), newThreadFactory("push-notification-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryExecutor = new ScheduledThreadPoolExecutor(1, newThreadFactory("push-notification-retry-"));
+        this.retryExecutor.setRemoveOnCancelPolicy(true);
+        registerMBean();
+    }
+
+    public static PushNotificationExecutor getInstance() {
+        if (pushNotificationExecutor == null) {
+            synchronized (PushNotificationExecutor.class) {
+                if (pushNotificationExecutor == null) {
+                    pushNotificationExecutor = new PushNotificationExecutor();
+                }
+            }
+        }
+        return pushNotificationExecutor;
+    }
+
+    /**
+     * @return the current instance, or null if the instance is not created yet or is already shut down.
+     */
+    public static PushNotificationExecutor getExistingInstance() {
+        return pushNotificationExecutor;
+    }
+
+    /**
+     * Submit a notification task without blocking the caller. A task is counted as failed if it throws or marks itself
+     * as failed through {@link #recordFailure()}, otherwise it is counted as completed.
+     *
+     * @param task notification task
+     * @return false if the executor is saturated and the task was not accepted
+     */
+    public boolean submit(Runnable task) {
+        long submittedTime = System.currentTimeMillis();
+        try {
+            notificationExecutor.execute(() -> {
+                taskFailed.set(Boolean.FALSE);
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    taskFailed.set(Boolean.TRUE);
+                    log.error("Error occurred while running push notification task", e);
+                } finally {
+                    if (Boolean.TRUE.equals(taskFailed.get())) {
+                        failedCount.incrementAndGet();
+                    } else {
+                        completedCount.incrementAndGet();
+                    }
+                    taskFailed.remove();
+                    recordLatency(System.currentTimeMillis() - submittedTime);
+                }
+            });
+            submittedCount.incrementAndGet();
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            if (log.isDebugEnabled()) {
+                log.debug("Push notification executor is saturated, queue depth: " + getQueueDepth());
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Run a retry of a failed notification step after the configured retry delay.
+     *
+     * @param task    retry task
+     * @param attempt number of the attempt, used to back off linearly
+     * @return false if the retry was shed since too many retries are pending or the executor is shut down
+     */
+    public boolean scheduleRetry(Runnable task, int attempt) {
+        if (!reserveRetry()) {
+            return false;
+        }
+        try {
+            retryExecutor.schedule(() -> runRetry(task), retryDelayMillis * Math.max(attempt, 1),
+                    TimeUnit.MILLISECONDS);
+            retryCount.incrementAndGet();
+            return true;
+        } catch (RejectedExecutionException e) {
+            releaseRetry();
+            return false;
+        }
+    }
+
+    /**
+     * Run a follow up task, such as persisting a fallback status, on the retry scheduler without any delay.
+     *
+     * @param task follow up task
+     * @return false if the task was shed since too many retries are pending or the executor is shut down
+     */
+    public boolean runLater(Runnable task) {
+        if (!reserveRetry()) {
+            return false;
+        }
+        try {
+            retryExecutor.execute(() -> runRetry(task));
+            return true;
+        } catch (RejectedExecutionException e) {
+            releaseRetry();
+            return false;
+        }
+    }
+
+    /**
+     * Check whether the executor can accept at least the given number of notification tasks.
+     *
+     * @param tasks number of tasks to be submitted
+     * @return true if the remaining queue capacity is less than the number of tasks
+     */
+    public boolean isSaturated(int tasks) {
+        return notificationExecutor.getQueue().remainingCapacity() < tasks;
+    }
+
+    /**
+     * Mark the notification task running on the current thread as failed, so that it is counted once as failed
+     * instead of completed however many of its notifications have failed. A failure recorded outside of a
+     * notification task is counted right away.
+     */
+    public void recordFailure() {
+        if (taskFailed.get() != null) {
+            taskFailed.set(Boolean.TRUE);
+        } else {
+            failedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Stops the notification threads once the submitted notifications are sent. Invoked when the service is shutting
+     * down, where the pending retries are dropped. A subsequent {@link #getInstance()} creates a new instance.
+     */
+    public void shutdown() {
+        synchronized (PushNotificationExecutor.class) {
+            if (pushNotificationExecutor == this) {
+                pushNotificationExecutor = null;
+            }
+        }
+        notificationExecutor.shutdown();
+        int droppedRetries = retryExecutor.shutdownNow().size();
+        if (droppedRetries > 0) {
+            log.warn(droppedRetries + " push notification retries are dropped since the service is shutting down");
+        }
+        unregisterMBean();
+    }
+
+    @Override
+    public int getPoolSize() {
+        return notificationExecutor.getPoolSize();
+    }
+
+    @Override
+    public int getActiveCount() {
+        return notificationExecutor.getActiveCount();
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return notificationExecutor.getQueue().size();
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    @Override
+    public int getRetryQueueDepth() {
+        return retryExecutor.getQueue().size();
+    }
+
+    @Override
+    public int getRetryQueueCapacity() {
+        return retryQueueCapacity;
+    }
+
+    @Override
+    public long getShedRetryCount() {
+        return shedRetryCount.get();
+    }
+
+    @Override
+    public long getSubmittedCount() {
+        return submittedCount.get();
+    }
+
+    @Override
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    @Override
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    @Override
+    public long getRetryCount() {
+        return retryCount.get();
+    }
+
+    @Override
+    public double getAverageLatencyMillis() {
+        long finished = completedCount.get() + failedCount.get();
+        return finished == 0 ? 0 : (double) totalLatencyMillis.get() / finished;
+    }
+
+    @Override
+    public long getMaxLatencyMillis() {
+        return maxLatencyMillis.get();
+    }
+
+    private void recordLatency(long latencyMillis) {
+        totalLatencyMillis.addAndGet(latencyMillis);
+        maxLatencyMillis.accumulateAndGet(latencyMillis, Math::max);
+    }
+
+    private boolean reserveRetry() {
+        if (pendingRetries.incrementAndGet() > retryQueueCapacity || retryExecutor.isShutdown()) {
+            releaseRetry();
+            long shedRetries = shedRetryCount.incrementAndGet();
+            if (shedRetries % 1000 == 1) {
+                log.warn("Push notification retry is shed since " + retryQueueCapacity + " retries are pending or "
+                        + "the executor is shut down, shed retries: " + shedRetries);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private void releaseRetry() {
+        pendingRetries.decrementAndGet();
+    }
+
+    private void runRetry(Runnable task) {
+        releaseRetry();
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            log.error("Error occurred while running push notification retry task", e);
+        }
+    }
+
+    private void registerMBean() {
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(DeviceManagementConstants.PushNotifications.EXECUTOR_MBEAN_NAME);
+            if (!mBeanServer.isRegistered(objectName)) {
+                mBeanServer.registerMBean(this, objectName);
+            }
+        } catch (JMException e) {
+            log.warn("Unable to register the push notification executor MBean", e);
+        }
+    }
+
+    private void unregisterMBean() {
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(DeviceManagementConstants.PushNotifications.EXECUTOR_MBEAN_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            log.warn("Unable to unregister the push notification executor MBean", e);
+        }
+    }
+
+    private static ThreadFactory newThreadFactory(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+        return runnable -> {
+            Thread thread = defaultFactory.newThread(runnable);
+            thread.setName(prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -19,7 +19,6 @@ package io.entgra.device.mgt.core.device.mgt.core.push.notification.mgt.task;
 
 import io.entgra.device.mgt.core.device.mgt.common.ServerCtxInfo;
 import io.entgra.device.mgt.core.server.bootup.heartbeat.beacon.exception.HeartBeatManagementException;
-import io.entgra.device.mgt.core.server.bootup.heartbeat.beacon.service.HeartBeatManagementService;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
@@ -29,7 +28,9 @@ import io.entgra.device.mgt.core.device.mgt.common.operation.mgt.OperationManage
 import io.entgra.device.mgt.core.device.mgt.common.push.notification.NotificationContext;
 import io.entgra.device.mgt.core.device.mgt.common.push.notification.NotificationStrategy;
 import io.entgra.device.mgt.core.device.mgt.common.push.notification.PushNotificationExecutionFailedException;
+import io.entgra.device.mgt.core.device.mgt.core.DeviceManagementConstants;
 import io.entgra.device.mgt.core.device.mgt.core.config.DeviceConfigurationManager;
+import io.entgra.device.mgt.core.device.mgt.core.config.push.notification.PushNotificationConfiguration;
 import io.entgra.device.mgt.core.device.mgt.core.dto.operation.mgt.Operation;
 import io.entgra.device.mgt.core.device.mgt.core.internal.DeviceManagementDataHolder;
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.OperationMapping;
@@ -39,13 +40,35 @@ import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.OperationMana
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.OperationMappingDAO;
 import io.entgra.device.mgt.core.device.mgt.core.service.DeviceManagementProviderService;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * ${{@link PushNotificationSchedulerTask}} is for sending push notifications for given device batch.
+ * Operation mappings of a batch are grouped by tenant and device type so that the notification strategy and each
+ * distinct operation are resolved only once per group, and the notifications are then dispatched through a bounded
+ * worker pool per push notification provider. Sent mappings are marked as completed in chunked batch updates.
+ * Dispatches which do not complete within the dispatch timeout are cancelled and their mappings are left scheduled,
+ * so that they are retried on a later run.
+ * The worker pools run on daemon threads and are stopped through {@link #shutdown()} when the service is shutting
+ * down, where the mappings which are not sent yet are left scheduled.
  */
 public class PushNotificationSchedulerTask implements Runnable {
 
@@ -54,12 +77,18 @@ public class PushNotificationSchedulerTask implements Runnable {
     private final OperationMappingDAO operationMappingDAO = OperationManagementDAOFactory.getOperationMappingDAO();
     private final DeviceManagementProviderService provider = DeviceManagementDataHolder.getInstance()
             .getDeviceManagementProvider();
+    private final Map<String, ExecutorService> providerExecutors = new ConcurrentHashMap<>();
+    private volatile boolean isShutdown;
 
     @Override
     public void run() {
+        if (isShutdown) {
+            return;
+        }
         try {
             Map<Integer, List<OperationMapping>> operationMappingsTenantMap = new HashMap<>();
-            List<OperationMapping> operationsCompletedList = new LinkedList<>();
+            PushNotificationConfiguration pushNotificationConfig = DeviceConfigurationManager.getInstance()
+                    .getDeviceManagementConfig().getPushNotificationConfiguration();
             if (log.isDebugEnabled()) {
                 log.debug("Push notification job started");
             }
@@ -71,9 +100,8 @@ public class PushNotificationSchedulerTask implements Runnable {
                         ServerCtxInfo serverCtxInfo = DeviceManagementDataHolder.getInstance().getHeartBeatService().getServerCtxInfo();
                         if (serverCtxInfo != null) {
                             operationMappingsTenantMap = operationDAO.getAllocatedOperationMappingsByStatus(Operation.Status
-                                            .PENDING, Operation.PushNotificationStatus.SCHEDULED, DeviceConfigurationManager.getInstance()
-                                            .getDeviceManagementConfig().getPushNotificationConfiguration().getSchedulerBatchSize(),
-                                    serverCtxInfo.getActiveServerCount(), serverCtxInfo.getLocalServerHashIdx());
+                                            .PENDING, Operation.PushNotificationStatus.SCHEDULED,
+                                    pushNotificationConfig.getSchedulerBatchSize(), serverCtxInfo.getTaskPartition());
                         } else {
                             if (log.isDebugEnabled()) {
                                 log.debug("Active server information not recorded yet.");
@@ -81,8 +109,8 @@ public class PushNotificationSchedulerTask implements Runnable {
                         }
                     } else {
                         operationMappingsTenantMap = operationDAO.getOperationMappingsByStatus(Operation.Status
-                                .PENDING, Operation.PushNotificationStatus.SCHEDULED, DeviceConfigurationManager.getInstance()
-                                .getDeviceManagementConfig().getPushNotificationConfiguration().getSchedulerBatchSize());
+                                .PENDING, Operation.PushNotificationStatus.SCHEDULED,
+                                pushNotificationConfig.getSchedulerBatchSize());
                     }
                 } catch (HeartBeatManagementException e) {
                     throw new RuntimeException(e);
@@ -92,64 +120,330 @@ public class PushNotificationSchedulerTask implements Runnable {
             } finally {
                 OperationManagementDAOFactory.closeConnection();
             }
-            // Sending push notification to each device
-            for (List<OperationMapping> operationMappings : operationMappingsTenantMap.values()) {
-                for (OperationMapping operationMapping : operationMappings) {
-                    try {
-                        if (log.isDebugEnabled()) {
-                            log.debug("Sending push notification for operationId :" + operationMapping.getOperationId() +
-                                    " to deviceId : " + operationMapping.getDeviceIdentifier().getId());
-                        }
-                        // Set tenant id and domain
-                        PrivilegedCarbonContext.startTenantFlow();
-                        PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantId(operationMapping.getTenantId(), true);
-                        // Get notification strategy for given device type
-                        NotificationStrategy notificationStrategy = provider.getNotificationStrategyByDeviceType
-                                (operationMapping.getDeviceIdentifier().getType());
-                        // Send the push notification on given strategy
-                        if (notificationStrategy != null) {
-                            notificationStrategy.execute(new NotificationContext(operationMapping.getDeviceIdentifier(),
-                                    provider.getOperation(operationMapping.getDeviceIdentifier().getType(), operationMapping
-                                            .getOperationId())));
-                            operationMapping.setPushNotificationStatus(Operation.PushNotificationStatus.COMPLETED);
-                            operationsCompletedList.add(operationMapping);
-                        } else {
-                            if (log.isDebugEnabled()) {
-                                log.debug("Tenant '" + PrivilegedCarbonContext.getThreadLocalCarbonContext()
-                                        .getTenantDomain() + "' does not have push notification strategy.");
-                            }
-                        }
-                    } catch (DeviceManagementException e) {
-                        log.error("Error occurred while getting notification strategy for operation mapping " +
-                                operationMapping.getDeviceIdentifier().getType(), e);
-                    } catch (OperationManagementException e) {
-                        log.error("Unable to get the operation for operation " + operationMapping.getOperationId(), e);
-                    } catch (PushNotificationExecutionFailedException e) {
-                        log.error("Error occurred while sending push notification to operation:  " + operationMapping
-                                .getOperationId(), e);
-                    } finally {
-                        PrivilegedCarbonContext.endTenantFlow();
-                    }
-                }
+            // Dispatch push notifications per tenant and device type
+            int parallelism = pushNotificationConfig.getSchedulerProviderParallelism() > 0 ?
+                    pushNotificationConfig.getSchedulerProviderParallelism() :
+                    DeviceManagementConstants.PushNotifications.DEFAULT_PROVIDER_PARALLELISM;
+            List<Dispatch> dispatches = new ArrayList<>();
+            for (Map.Entry<Integer, List<OperationMapping>> tenantEntry : operationMappingsTenantMap.entrySet()) {
+                dispatches.addAll(dispatchTenantNotifications(tenantEntry.getKey(), tenantEntry.getValue(),
+                        parallelism));
             }
             // Update push notification status to competed for operations which already sent
-            if (operationsCompletedList.size() > 0) {
+            int updateBatchSize = pushNotificationConfig.getSchedulerUpdateBatchSize() > 0 ?
+                    pushNotificationConfig.getSchedulerUpdateBatchSize() :
+                    DeviceManagementConstants.PushNotifications.DEFAULT_UPDATE_BATCH_SIZE;
+            int dispatchTimeout = pushNotificationConfig.getSchedulerDispatchTimeoutMills() > 0 ?
+                    pushNotificationConfig.getSchedulerDispatchTimeoutMills() :
+                    DeviceManagementConstants.PushNotifications.DEFAULT_DISPATCH_TIMEOUT_MILLS;
+            long dispatchDeadline = System.currentTimeMillis() + dispatchTimeout;
+            List<OperationMapping> operationsCompletedList = new LinkedList<>();
+            List<OperationMapping> operationsTimedOutList = new ArrayList<>();
+            for (Dispatch dispatch : dispatches) {
                 try {
-                    OperationManagementDAOFactory.beginTransaction();
-                    operationMappingDAO.updateOperationMapping(operationsCompletedList);
-                    OperationManagementDAOFactory.commitTransaction();
-                } catch (TransactionManagementException | OperationManagementDAOException e) {
-                    OperationManagementDAOFactory.rollbackTransaction();
-                    log.error("Error occurred while updating operation mappings for sent notifications ", e);
-                } finally {
-                    OperationManagementDAOFactory.closeConnection();
+                    operationsCompletedList.addAll(dispatch.getFuture().get(
+                            Math.max(dispatchDeadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS));
+                } catch (ExecutionException e) {
+                    log.error("Error occurred while dispatching push notification.", e.getCause());
+                } catch (TimeoutException e) {
+                    dispatch.getFuture().cancel(true);
+                    log.warn("Push notification dispatch of " + dispatch.getOperationMappings().size() +
+                            " operation mappings did not complete within " + dispatchTimeout + " ms, hence " +
+                            "leaving them to be retried.");
+                    operationsTimedOutList.addAll(dispatch.getOperationMappings());
+                }
+                if (operationsCompletedList.size() >= updateBatchSize) {
+                    updateOperationMappings(operationsCompletedList);
+                    operationsCompletedList = new LinkedList<>();
                 }
             }
+            if (!operationsCompletedList.isEmpty()) {
+                updateOperationMappings(operationsCompletedList);
+            }
+            if (!operationsTimedOutList.isEmpty()) {
+                rescheduleOperationMappings(operationsTimedOutList);
+            }
             if (log.isDebugEnabled()) {
                 log.debug("Push notification job running completed.");
             }
+        } catch (RejectedExecutionException | CancellationException e) {
+            log.warn("Push notification job is stopped since the service is shutting down");
         } catch (Throwable cause) {
             log.error("PushNotificationSchedulerTask failed due to " + cause.getMessage(), cause);
         }
     }
+
+    /**
+     * Resolve the notification strategies and operations of a tenant once per device type and operation, and submit
+     * the notifications to the executor of the relevant push notification provider. Strategies which support batch
+     * sending receive all the mappings of a device type as a single batch, otherwise each mapping is sent separately.
+     *
+     * @param tenantId          Tenant which the operation mappings belong to
+     * @param operationMappings Operation mappings of the tenant
+     * @param parallelism       Number of concurrent dispatches allowed per push notification provider
+     * @return List of dispatches, each of which yields the operation mappings whose notifications were sent
+     */
+    List<Dispatch> dispatchTenantNotifications(int tenantId, List<OperationMapping> operationMappings,
+                                               int parallelism) {
+        Map<String, List<OperationMapping>> deviceTypeMappings = new HashMap<>();
+        for (OperationMapping operationMapping : operationMappings) {
+            deviceTypeMappings.computeIfAbsent(operationMapping.getDeviceIdentifier().getType(),
+                    k -> new ArrayList<>()).add(operationMapping);
+        }
+        List<Dispatch> dispatches = new ArrayList<>();
+        try {
+            // Set tenant id and domain
+            PrivilegedCarbonContext.startTenantFlow();
+            PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantId(tenantId, true);
+            for (Map.Entry<String, List<OperationMapping>> deviceTypeEntry : deviceTypeMappings.entrySet()) {
+                String deviceType = deviceTypeEntry.getKey();
+                NotificationStrategy notificationStrategy;
+                try {
+                    // Get notification strategy for given device type
+                    notificationStrategy = provider.getNotificationStrategyByDeviceType(deviceType);
+                } catch (DeviceManagementException e) {
+                    log.error("Error occurred while getting notification strategy for operation mapping " +
+                            deviceType, e);
+                    continue;
+                }
+                if (notificationStrategy == null) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Tenant '" + PrivilegedCarbonContext.getThreadLocalCarbonContext()
+                                .getTenantDomain() + "' does not have push notification strategy for device type '"
+                                + deviceType + "'.");
+                    }
+                    continue;
+                }
+                ExecutorService executor = getProviderExecutor(notificationStrategy, parallelism);
+                Map<Integer, io.entgra.device.mgt.core.device.mgt.common.operation.mgt.Operation> operations =
+                        new HashMap<>();
+                Map<NotificationContext, OperationMapping> batch = new IdentityHashMap<>();
+                for (OperationMapping operationMapping : deviceTypeEntry.getValue()) {
+                    int operationId = operationMapping.getOperationId();
+                    if (!operations.containsKey(operationId)) {
+                        try {
+                            operations.put(operationId, provider.getOperation(deviceType, operationId));
+                        } catch (OperationManagementException e) {
+                            log.error("Unable to get the operation for operation " + operationId, e);
+                            operations.put(operationId, null);
+                        }
+                    }
+                    io.entgra.device.mgt.core.device.mgt.common.operation.mgt.Operation operation =
+                            operations.get(operationId);
+                    if (operation == null) {
+                        continue;
+                    }
+                    if (notificationStrategy.isBatchSupported()) {
+                        batch.put(new NotificationContext(operationMapping.getDeviceIdentifier(), operation),
+                                operationMapping);
+                    } else {
+                        dispatches.add(new Dispatch(executor.submit(new NotificationDispatcher(tenantId,
+                                notificationStrategy, operationMapping, operation)),
+                                Collections.singletonList(operationMapping)));
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    dispatches.add(new Dispatch(executor.submit(new BatchNotificationDispatcher(tenantId,
+                            notificationStrategy, batch)), new ArrayList<>(batch.values())));
+                }
+            }
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+        return dispatches;
+    }
+
+    /**
+     * Get the worker pool of the push notification provider which backs the given strategy.
+     *
+     * @param notificationStrategy Notification strategy of the device type
+     * @param parallelism          Number of workers of a newly created pool
+     * @return {@link ExecutorService} shared by all device types using the same push notification provider
+     */
+    private ExecutorService getProviderExecutor(NotificationStrategy notificationStrategy, int parallelism) {
+        String providerType = notificationStrategy.getConfig() != null ?
+                notificationStrategy.getConfig().getType() : notificationStrategy.getClass().getName();
+        ExecutorService executor = providerExecutors.computeIfAbsent(providerType,
+                k -> Executors.newFixedThreadPool(parallelism, newThreadFactory("push-notification-" + k + "-")));
+        if (isShutdown) {
+            // the pool may have been created after the shutdown, hence it is stopped here
+            stopExecutor(executor);
+        }
+        return executor;
+    }
+
+    /**
+     * Stop the worker pools of the push notification providers. Invoked when the service is shutting down, where
+     * any further run of the task is skipped.
+     */
+    public void shutdown() {
+        isShutdown = true;
+        for (ExecutorService executor : providerExecutors.values()) {
+            stopExecutor(executor);
+        }
+    }
+
+    private void stopExecutor(ExecutorService executor) {
+        // cancel the dispatches which never started, so that the task does not wait for them
+        for (Runnable dispatch : executor.shutdownNow()) {
+            if (dispatch instanceof Future) {
+                ((Future<?>) dispatch).cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Mark the operation mappings of timed out dispatches as scheduled, so that they are picked again on a later run.
+     * The status is written through copies of the mappings since a cancelled dispatcher may still be completing them.
+     *
+     * @param operationMappings Operation mappings of the timed out dispatches
+     */
+    private void rescheduleOperationMappings(List<OperationMapping> operationMappings) {
+        List<OperationMapping> scheduledMappings = new ArrayList<>(operationMappings.size());
+        for (OperationMapping operationMapping : operationMappings) {
+            OperationMapping scheduledMapping = new OperationMapping();
+            scheduledMapping.setEnrollmentId(operationMapping.getEnrollmentId());
+            scheduledMapping.setOperationId(operationMapping.getOperationId());
+            scheduledMapping.setPushNotificationStatus(Operation.PushNotificationStatus.SCHEDULED);
+            scheduledMappings.add(scheduledMapping);
+        }
+        updateOperationMappings(scheduledMappings);
+    }
+
+    private void updateOperationMappings(List<OperationMapping> operationMappings) {
+        try {
+            OperationManagementDAOFactory.beginTransaction();
+            operationMappingDAO.updateOperationMapping(operationMappings);
+            OperationManagementDAOFactory.commitTransaction();
+        } catch (TransactionManagementException | OperationManagementDAOException e) {
+            OperationManagementDAOFactory.rollbackTransaction();
+            log.error("Error occurred while updating push notification status of operation mappings ", e);
+        } finally {
+            OperationManagementDAOFactory.closeConnection();
+        }
+    }
+
+    private static ThreadFactory newThreadFactory(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+        return runnable -> {
+            Thread thread = defaultFactory.newThread(runnable);
+            thread.setName(prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Pending notification dispatch together with the operation mappings it sends.
+     */
+    static class Dispatch {
+
+        private final Future<List<OperationMapping>> future;
+        private final List<OperationMapping> operationMappings;
+
+        Dispatch(Future<List<OperationMapping>> future, List<OperationMapping> operationMappings) {
+            this.future = future;
+            this.operationMappings = operationMappings;
+        }
+
+        Future<List<OperationMapping>> getFuture() {
+            return future;
+        }
+
+        List<OperationMapping> getOperationMappings() {
+            return operationMappings;
+        }
+    }
+
+    /**
+     * Sends the push notification of a single operation mapping within the tenant flow of the mapping.
+     */
+    private static class NotificationDispatcher implements Callable<List<OperationMapping>> {
+
+        private final int tenantId;
+        private final NotificationStrategy notificationStrategy;
+        private final OperationMapping operationMapping;
+        private final io.entgra.device.mgt.core.device.mgt.common.operation.mgt.Operation operation;
+
+        NotificationDispatcher(int tenantId, NotificationStrategy notificationStrategy,
+                               OperationMapping operationMapping,
+                               io.entgra.device.mgt.core.device.mgt.common.operation.mgt.Operation operation) {
+            this.tenantId = tenantId;
+            this.notificationStrategy = notificationStrategy;
+            this.operationMapping = operationMapping;
+            this.operation = operation;
+        }
+
+        @Override
+        public List<OperationMapping> call() {
+            try {
+                if (log.isDebugEnabled()) {
+                    log.debug("Sending push notification for operationId :" + operationMapping.getOperationId() +
+                            " to deviceId : " + operationMapping.getDeviceIdentifier().getId());
+                }
+                PrivilegedCarbonContext.startTenantFlow();
+                PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantId(tenantId, true);
+                notificationStrategy.execute(new NotificationContext(operationMapping.getDeviceIdentifier(),
+                        operation));
+                operationMapping.setPushNotificationStatus(Operation.PushNotificationStatus.COMPLETED);
+                return Collections.singletonList(operationMapping);
+            } catch (PushNotificationExecutionFailedException e) {
+                log.error("Error occurred while sending push notification to operation:  " + operationMapping
+                        .getOperationId(), e);
+                return Collections.emptyList();
+            } finally {
+                PrivilegedCarbonContext.endTenantFlow();
+            }
+        }
+    }
+
+    /**
+     * Sends the push notifications of a batch of operation mappings through a single batch call of the strategy.
+     */
+    private static class BatchNotificationDispatcher implements Callable<List<OperationMapping>> {
+
+        private final int tenantId;
+        private final NotificationStrategy notificationStrategy;
+        private final Map<NotificationContext, OperationMapping> batch;
+
+        BatchNotificationDispatcher(int tenantId, NotificationStrategy notificationStrategy,
+                                    Map<NotificationContext, OperationMapping> batch) {
+            this.tenantId = tenantId;
+            this.notificationStrategy = notificationStrategy;
+            this.batch = batch;
+        }
+
+        @Override
+        public List<OperationMapping> call() {
+            try {
+                if (log.isDebugEnabled()) {
+                    log.debug("Sending push notification batch of " + batch.size() + " operation mappings");
+                }
+                PrivilegedCarbonContext.startTenantFlow();
+                PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantId(tenantId, true);
+                Map<NotificationContext, OperationMapping> sentMappings = new IdentityHashMap<>(batch);
+                for (NotificationContext failedContext : notificationStrategy
+                        .executeBatch(new ArrayList<>(batch.keySet()))) {
+                    OperationMapping failedMapping = sentMappings.remove(failedContext);
+                    if (failedMapping != null) {
+                        log.error("Error occurred while sending push notification to operation:  " +
+                                failedMapping.getOperationId() + " of device " +
+                                failedMapping.getDeviceIdentifier().getId());
+                    }
+                }
+                List<OperationMapping> completedMappings = new ArrayList<>(sentMappings.values());
+                for (OperationMapping operationMapping : completedMappings) {
+                    operationMapping.setPushNotificationStatus(Operation.PushNotificationStatus.COMPLETED);
+                }
+                return completedMappings;
+            } catch (PushNotificationExecutionFailedException e) {
+                log.error("Error occurred while sending push notification batch of " + batch.size() +
+                        " operation mappings", e);
+                return Collections.emptyList();
+            } finally {
+                PrivilegedCarbonContext.endTenantFlow();
+            }
+        }
+    }
 }
@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.report.mgt;
+
+import io.entgra.device.mgt.core.device.mgt.common.exceptions.EventPublishingException;
+import io.entgra.device.mgt.core.device.mgt.core.DeviceManagementConstants;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded queue of device events waiting to be posted to the reporting backend. A fixed set of workers takes the
+ * queued events, groups the ones of the same endpoint into batches of up to maxBatchSize events and posts each batch
+ * with a single request, retrying failed requests with a jittered exponential backoff. When the queue is full the
+ * overflow policy decides which event is dropped, or makes the reporting thread post its event itself.
+ */
+class ReportingEventQueue {
+
+    private static final Log log = LogFactory.getLog(ReportingEventQueue.class);
+    private static final long POLL_INTERVAL_MILLS = 1000;
+
+    private final BlockingQueue<PendingEvent> queue;
+    private final ExecutorService workers;
+    private final Sender sender;
+    private final int maxBatchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final int maxRetries;
+    private final long retryBackoffMills;
+    private final ReportingPublisherMetrics metrics;
+    private volatile boolean isShutdown;
+
+    enum OverflowPolicy {
+        DROP_OLDEST, DROP_NEWEST, CALLER_RUNS
+    }
+
+    interface Sender {
+        /**
+         * Posts the body to the endpoint.
+         *
+         * @return HTTP status code of the response.
+         * @throws IOException if the request could not be completed.
+         */
+        int send(String endpoint, String body) throws IOException;
+    }
+
+    ReportingEventQueue(Sender sender, int workerCount, int queueCapacity, int maxBatchSize,
+                        OverflowPolicy overflowPolicy, int maxRetries, long retryBackoffMills) {
+        this.sender = sender;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMills = retryBackoffMills;
+        this.metrics = new ReportingPublisherMetrics(queue::size);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "reporting-publisher-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::drain);
+        }
+    }
+
+    /**
+     * Queues the event to be posted to the endpoint.
+     *
+     * @return future completed with the HTTP status code of the request which carried the event, or exceptionally
+     * with an {@link EventPublishingException} if the event was dropped or could not be posted.
+     */
+    Future<Integer> offer(String endpoint, String payload) {
+        PendingEvent event = new PendingEvent(endpoint, payload);
+        if (isShutdown) {
+            drop(event, "the reporting publisher is shut down");
+            return event.result;
+        }
+        while (!queue.offer(event)) {
+            switch (overflowPolicy) {
+                case DROP_NEWEST:
+                    drop(event, "the reporting queue is full");
+                    return event.result;
+                case CALLER_RUNS:
+                    publish(endpoint, Collections.singletonList(event));
+                    return event.result;
+                default:
+                    PendingEvent oldest = queue.poll();
+                    if (oldest != null) {
+                        drop(oldest, "the reporting queue is full");
+                    }
+            }
+        }
+        return event.result;
+    }
+
+    ReportingPublisherMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Stops accepting events and waits for the workers to post the queued ones. Events which could not be posted
+     * within the timeout are dropped.
+     */
+    void shutdown() {
+        isShutdown = true;
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(DeviceManagementConstants.ReportingPublisher.SHUTDOWN_TIMEOUT_SECONDS,
+                    TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        List<PendingEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (PendingEvent event : remaining) {
+            drop(event, "the reporting publisher is shut down");
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Reporting publisher is shut down. " + metrics);
+        }
+    }
+
+    private void drain() {
+        List<PendingEvent> batch = new ArrayList<>();
+        while (true) {
+            PendingEvent first;
+            try {
+                first = queue.poll(POLL_INTERVAL_MILLS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                if (isShutdown) {
+                    return;
+                }
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, maxBatchSize - 1);
+            Map<String, List<PendingEvent>> eventsByEndpoint = new LinkedHashMap<>();
+            for (PendingEvent event : batch) {
+                eventsByEndpoint.computeIfAbsent(event.endpoint, endpoint -> new ArrayList<>()).add(event);
+            }
+            for (Map.Entry<String, List<PendingEvent>> entry : eventsByEndpoint.entrySet()) {
+                publish(entry.getKey(), entry.getValue());
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Posts the events of an endpoint with a single request, retrying while the backend is unavailable.
+     */
+    private void publish(String endpoint, List<PendingEvent> events) {
+        String body = toRequestBody(events);
+        long start = System.currentTimeMillis();
+        int attempt = 0;
+        while (true) {
+            try {
+                int statusCode = sender.send(endpoint, body);
+                if (!isRetryable(statusCode) || attempt >= maxRetries || isShutdown) {
+                    boolean isSuccessful = statusCode >= 200 && statusCode < 300;
+                    metrics.recordRequest(events.size(), isSuccessful, System.currentTimeMillis() - start);
+                    if (!isSuccessful) {
+                        log.warn("Reporting backend " + endpoint + " responded with " + statusCode + " to "
+                                + events.size() + " event(s)");
+                    } else if (log.isDebugEnabled()) {
+                        log.debug("Published " + events.size() + " event(s) to the reporting backend: " + endpoint
+                                + ", Response code: " + statusCode);
+                    }
+                    for (PendingEvent event : events) {
+                        event.result.complete(statusCode);
+                    }
+                    return;
+                }
+            } catch (IOException e) {
+                if (attempt >= maxRetries || isShutdown) {
+                    metrics.recordRequest(events.size(), false, System.currentTimeMillis() - start);
+                    String message = (e instanceof ConnectException ?
+                            "Connection refused while publishing reporting data to the API: " :
+                            "Error occurred when publishing reporting data to the API: ") + endpoint;
+                    log.error(message, e);
+                    fail(events, new EventPublishingException(message, e));
+                    return;
+                }
+            } catch (RuntimeException e) {
+                metrics.recordRequest(events.size(), false, System.currentTimeMillis() - start);
+                String message = "Error occurred when publishing reporting data to the API: " + endpoint;
+                log.error(message, e);
+                fail(events, new EventPublishingException(message, e));
+                return;
+            }
+            attempt++;
+            metrics.recordRetry();
+            try {
+                Thread.sleep(getBackoff(attempt));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                metrics.recordRequest(events.size(), false, System.currentTimeMillis() - start);
+                fail(events, new EventPublishingException("Interrupted while retrying to publish reporting data "
+                        + "to the API: " + endpoint, e));
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the body posted for the events, a JSON array of the events if batching is enabled.
+     */
+    private String toRequestBody(List<PendingEvent> events) {
+        if (maxBatchSize == 1) {
+            return events.get(0).payload;
+        }
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < events.size(); i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append(events.get(i).payload);
+        }
+        return body.append(']').toString();
+    }
+
+    /**
+     * @return exponential backoff for the attempt, with half of it randomized to spread out the retries of the
+     * workers.
+     */
+    private long getBackoff(int attempt) {
+        long backoff = Math.min(retryBackoffMills << Math.min(attempt - 1, 20),
+                DeviceManagementConstants.ReportingPublisher.MAX_RETRY_BACKOFF_MILLS);
+        return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    }
+
+    private boolean isRetryable(int statusCode) {
+        return statusCode >= 500 || statusCode == 429;
+    }
+
+    private void drop(PendingEvent event, String reason) {
+        metrics.recordDrop();
+        if (log.isDebugEnabled()) {
+            log.debug("Dropped reporting event to " + event.endpoint + " since " + reason);
+        }
+        event.result.completeExceptionally(new EventPublishingException("Reporting event to " + event.endpoint
+                + " is dropped since " + reason));
+    }
+
+    private void fail(List<PendingEvent> events, EventPublishingException e) {
+        for (PendingEvent event : events) {
+            event.result.completeExceptionally(e);
+        }
+    }
+
+    private static final class PendingEvent {
+        private final String endpoint;
+        private final String payload;
+        private final CompletableFuture<Integer> result = new CompletableFuture<>();
+
+        private PendingEvent(String endpoint, String payload) {
+            this.endpoint = endpoint;
+            this.payload = payload;
+        }
+    }
+}
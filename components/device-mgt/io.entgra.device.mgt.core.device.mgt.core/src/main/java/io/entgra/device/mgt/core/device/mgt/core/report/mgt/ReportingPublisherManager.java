@@ -19,10 +19,13 @@
 package io.entgra.device.mgt.core.device.mgt.core.report.mgt;
 
 import io.entgra.device.mgt.core.device.mgt.common.device.details.DeviceDetailsWrapper;
-import io.entgra.device.mgt.core.device.mgt.common.exceptions.EventPublishingException;
+import io.entgra.device.mgt.core.device.mgt.core.DeviceManagementConstants;
+import io.entgra.device.mgt.core.device.mgt.core.config.DeviceConfigurationManager;
+import io.entgra.device.mgt.core.device.mgt.core.config.DeviceManagementConfig;
+import io.entgra.device.mgt.core.device.mgt.core.config.report.ReportingPublisherConfiguration;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
@@ -32,56 +35,127 @@ import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.protocol.HTTP;
 
 import java.io.IOException;
-import java.net.ConnectException;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
+/**
+ * Publishes device events to the reporting backend through a bounded queue drained by a configurable number of
+ * workers, which share a single pooled HTTP client.
+ */
 public class ReportingPublisherManager {
 
     private static final Log log = LogFactory.getLog(ReportingPublisherManager.class);
-    private final static ExecutorService executorService;
-    private DeviceDetailsWrapper payload;
-    private String endpoint;
-    private static final PoolingHttpClientConnectionManager poolingManager;
-
-    static {
-        executorService = Executors.newFixedThreadPool(10); //todo make this configurable
-        poolingManager = new PoolingHttpClientConnectionManager();
-        poolingManager.setMaxTotal(10); //todo make this configurable
-        poolingManager.setDefaultMaxPerRoute(10);
+
+    private static volatile ReportingPublisherManager reportingPublisherManager;
+
+    private final CloseableHttpClient client;
+    private final ReportingEventQueue eventQueue;
+
+    private ReportingPublisherManager(ReportingPublisherConfiguration config) {
+        int maxConnections = getOrDefault(config != null ? config.getMaxConnections() : 0,
+                DeviceManagementConstants.ReportingPublisher.DEFAULT_MAX_CONNECTIONS);
+        PoolingHttpClientConnectionManager poolingManager = new PoolingHttpClientConnectionManager();
+        poolingManager.setMaxTotal(maxConnections);
+        poolingManager.setDefaultMaxPerRoute(getOrDefault(config != null ? config.getMaxConnectionsPerRoute() : 0,
+                maxConnections));
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(getOrDefault(config != null ? config.getConnectionTimeoutMills() : 0,
+                        DeviceManagementConstants.ReportingPublisher.DEFAULT_CONNECTION_TIMEOUT_MILLS))
+                .setSocketTimeout(getOrDefault(config != null ? config.getSocketTimeoutMills() : 0,
+                        DeviceManagementConstants.ReportingPublisher.DEFAULT_SOCKET_TIMEOUT_MILLS))
+                .build();
+        this.client = HttpClients.custom().setConnectionManager(poolingManager)
+                .setDefaultRequestConfig(requestConfig).build();
+        this.eventQueue = new ReportingEventQueue(this::post,
+                getOrDefault(config != null ? config.getWorkerCount() : 0,
+                        DeviceManagementConstants.ReportingPublisher.DEFAULT_WORKER_COUNT),
+                getOrDefault(config != null ? config.getQueueCapacity() : 0,
+                        DeviceManagementConstants.ReportingPublisher.DEFAULT_QUEUE_CAPACITY),
+                getOrDefault(config != null ? config.getMaxBatchSize() : 0,
+                        DeviceManagementConstants.ReportingPublisher.DEFAULT_MAX_BATCH_SIZE),
+                getOverflowPolicy(config != null ? config.getOverflowPolicy() : null),
+                config != null && config.getMaxRetries() >= 0 ? config.getMaxRetries() :
+                        DeviceManagementConstants.ReportingPublisher.DEFAULT_MAX_RETRIES,
+                getOrDefault(config != null ? config.getRetryBackoffMills() : 0,
+                        DeviceManagementConstants.ReportingPublisher.DEFAULT_RETRY_BACKOFF_MILLS));
+    }
+
+    public static ReportingPublisherManager getInstance() {
+        if (reportingPublisherManager == null) {
+            synchronized (ReportingPublisherManager.class) {
+                if (reportingPublisherManager == null) {
+                    DeviceManagementConfig config = DeviceConfigurationManager.getInstance()
+                            .getDeviceManagementConfig();
+                    reportingPublisherManager = new ReportingPublisherManager(config != null ?
+                            config.getReportingPublisherConfiguration() : null);
+                }
+            }
+        }
+        return reportingPublisherManager;
+    }
+
+    /**
+     * @return the current instance, or null if the instance is not created yet or is already shut down.
+     */
+    public static ReportingPublisherManager getExistingInstance() {
+        return reportingPublisherManager;
     }
 
+    /**
+     * Queues the device event to be posted to the reporting backend.
+     *
+     * @param deviceDetailsWrapper event payload
+     * @param eventUrl endpoint of the reporting backend to post the event to
+     * @return future completed with the HTTP status code of the request which carried the event, or exceptionally
+     * with an {@link io.entgra.device.mgt.core.device.mgt.common.exceptions.EventPublishingException} if the event
+     * was dropped or could not be posted.
+     */
     public Future<Integer> publishData(DeviceDetailsWrapper deviceDetailsWrapper, String eventUrl) {
-        this.payload = deviceDetailsWrapper;
-        this.endpoint = eventUrl;
-        return executorService.submit(new ReportingPublisher());
+        return eventQueue.offer(eventUrl, deviceDetailsWrapper.getJSONString());
     }
 
-    private class ReportingPublisher implements Callable<Integer> {
-        @Override
-        public Integer call() throws EventPublishingException {
-            try (CloseableHttpClient client = HttpClients.custom().setConnectionManager(poolingManager).build()) {
-                HttpPost apiEndpoint = new HttpPost(endpoint);
-                apiEndpoint.setHeader(HTTP.CONTENT_TYPE, ContentType.APPLICATION_JSON.toString());
-                StringEntity requestEntity = new StringEntity(payload.getJSONString(), ContentType.APPLICATION_JSON);
-                apiEndpoint.setEntity(requestEntity);
-                HttpResponse response = client.execute(apiEndpoint);
-                int statusCode = response.getStatusLine().getStatusCode();
-                if (log.isDebugEnabled()) {
-                    log.debug("Published data to the reporting backend: " + endpoint + ", Response code: " + statusCode);
-                }
-                return statusCode;
-            } catch (ConnectException e) {
-                String message = "Connection refused while publishing reporting data to the API: " + endpoint;
-                log.error(message, e);
-                throw new EventPublishingException(message, e);
-            } catch (IOException e) {
-                String message = "Error occurred when publishing reporting data to the API: " + endpoint;
-                log.error(message, e);
-                throw new EventPublishingException(message, e);
+    public ReportingPublisherMetrics getMetrics() {
+        return eventQueue.getMetrics();
+    }
+
+    /**
+     * Posts the queued events and releases the connections. Invoked when the service is shutting down. A subsequent
+     * {@link #getInstance()} creates a new instance.
+     */
+    public void shutdown() {
+        synchronized (ReportingPublisherManager.class) {
+            if (reportingPublisherManager == this) {
+                reportingPublisherManager = null;
             }
         }
+        eventQueue.shutdown();
+        try {
+            client.close();
+        } catch (IOException e) {
+            log.warn("Error occurred while closing the HTTP client of the reporting publisher", e);
+        }
+    }
+
+    private int post(String endpoint, String body) throws IOException {
+        HttpPost apiEndpoint = new HttpPost(endpoint);
+        apiEndpoint.setHeader(HTTP.CONTENT_TYPE, ContentType.APPLICATION_JSON.toString());
+        apiEndpoint.setEntity(new StringEntity(body, ContentType.APPLICATION_JSON));
+        return client.execute(apiEndpoint, response -> response.getStatusLine().getStatusCode());
+    }
+
+    private ReportingEventQueue.OverflowPolicy getOverflowPolicy(String overflowPolicy) {
+        String policy = overflowPolicy != null && !overflowPolicy.trim().isEmpty() ? overflowPolicy.trim() :
+                DeviceManagementConstants.ReportingPublisher.DEFAULT_OVERFLOW_POLICY;
+        try {
+            return ReportingEventQueue.OverflowPolicy.valueOf(policy.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.warn("Unknown reporting overflow policy " + policy + ", hence using "
+                    + DeviceManagementConstants.ReportingPublisher.DEFAULT_OVERFLOW_POLICY);
+            return ReportingEventQueue.OverflowPolicy.valueOf(
+                    DeviceManagementConstants.ReportingPublisher.DEFAULT_OVERFLOW_POLICY);
+        }
+    }
+
+    private int getOrDefault(int value, int defaultValue) {
+        return value > 0 ? value : defaultValue;
     }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.report.mgt;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the reporting publisher, for monitoring how far the reporting backend keeps up with the device events.
+ */
+public class ReportingPublisherMetrics {
+
+    private final LongAdder publishedEventCount = new LongAdder();
+    private final LongAdder failedEventCount = new LongAdder();
+    private final LongAdder droppedEventCount = new LongAdder();
+    private final LongAdder retryCount = new LongAdder();
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder totalPublishLatency = new LongAdder();
+    private final AtomicLong maxPublishLatency = new AtomicLong();
+    private final QueueDepth queueDepth;
+
+    interface QueueDepth {
+        int get();
+    }
+
+    ReportingPublisherMetrics(QueueDepth queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+
+    void recordRequest(int eventCount, boolean isSuccessful, long latencyMills) {
+        requestCount.increment();
+        totalPublishLatency.add(latencyMills);
+        maxPublishLatency.accumulateAndGet(latencyMills, Math::max);
+        if (isSuccessful) {
+            publishedEventCount.add(eventCount);
+        } else {
+            failedEventCount.add(eventCount);
+        }
+    }
+
+    void recordRetry() {
+        retryCount.increment();
+    }
+
+    void recordDrop() {
+        droppedEventCount.increment();
+    }
+
+    /**
+     * @return number of events waiting in the queue.
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * @return number of events accepted by the reporting backend.
+     */
+    public long getPublishedEventCount() {
+        return publishedEventCount.sum();
+    }
+
+    /**
+     * @return number of events which could not be published after all the retries.
+     */
+    public long getFailedEventCount() {
+        return failedEventCount.sum();
+    }
+
+    /**
+     * @return number of events dropped since the queue was full or the publisher was shut down.
+     */
+    public long getDroppedEventCount() {
+        return droppedEventCount.sum();
+    }
+
+    public long getRetryCount() {
+        return retryCount.sum();
+    }
+
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * @return average time taken by a request to the reporting backend, including the retries, in milliseconds.
+     */
+    public double getAveragePublishLatency() {
+        long requests = requestCount.sum();
+        return requests == 0 ? 0 : (double) totalPublishLatency.sum() / requests;
+    }
+
+    public long getMaxPublishLatency() {
+        return maxPublishLatency.get();
+    }
+
+    @Override
+    public String toString() {
+        return "queueDepth=" + getQueueDepth() + ", published=" + getPublishedEventCount() + ", failed="
+                + getFailedEventCount() + ", dropped=" + getDroppedEventCount() + ", retries=" + getRetryCount()
+                + ", requests=" + getRequestCount() + ", averageLatencyMills=" + getAveragePublishLatency()
+                + ", maxLatencyMills=" + getMaxPublishLatency();
+    }
+}
@@ -94,6 +94,26 @@ public interface DeviceManagementProviderService {
      */
     List<Device> getAllocatedDevices(String deviceType, int activeServerCount, int serverIndex) throws DeviceManagementException;
 
+    /**
+     * Method returns a list of devices allocated to a specific node of the server, given the bucket ranges the node
+     * owns in the task partitioning ring
+     * @param deviceType
+     * @param partition bucket ranges allocated to the node
+     * @return
+     * @throws DeviceManagementException
+     */
+    List<Device> getAllocatedDevices(String deviceType, TaskPartition partition) throws DeviceManagementException;
+
+    /**
+     * Method returns the next page of devices for the given cursor and advances the cursor past the returned page.
+     * Pages are fetched by keyset on the device id, so walking all devices of a type keeps only one page in memory.
+     *
+     * @param cursor cursor created for the device type, optionally restricted to a server partition.
+     * @return next page of devices, or an empty list once the cursor is exhausted.
+     * @throws DeviceManagementException If some unusual behaviour is observed while fetching the devices.
+     */
+    List<Device> getNextDevicePage(DeviceCursor cursor) throws DeviceManagementException;
+
     /**
      * Method to retrieve all the devices registered in the system.
      *
@@ -227,6 +247,16 @@ public interface DeviceManagementProviderService {
      */
     Device getDeviceWithTypeProperties(DeviceIdentifier deviceId) throws DeviceManagementException;
 
+    /**
+     * Returns the devices of the specified ids along with their device type properties. The devices and the
+     * properties of each device type are fetched in batches instead of once per device.
+     *
+     * @param deviceIds device Ids
+     * @return devices which are available, each carrying its latest enrolment.
+     * @throws DeviceManagementException if the devices or their properties could not be retrieved.
+     */
+    List<Device> getDevicesWithTypeProperties(List<DeviceIdentifier> deviceIds) throws DeviceManagementException;
+
     /**
      * Returns the device of specified id.
      *
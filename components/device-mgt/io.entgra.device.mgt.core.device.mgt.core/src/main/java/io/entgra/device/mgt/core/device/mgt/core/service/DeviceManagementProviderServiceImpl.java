@@ -54,6 +54,7 @@ import org.wso2.carbon.context.CarbonContext;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
 import io.entgra.device.mgt.core.device.mgt.common.ActivityPaginationRequest;
 import io.entgra.device.mgt.core.device.mgt.common.Device;
+import io.entgra.device.mgt.core.device.mgt.common.DeviceCursor;
 import io.entgra.device.mgt.core.device.mgt.common.DeviceEnrollmentInfoNotification;
 import io.entgra.device.mgt.core.device.mgt.common.DeviceIdentifier;
 import io.entgra.device.mgt.core.device.mgt.common.DeviceManager;
@@ -70,6 +71,7 @@ import io.entgra.device.mgt.core.device.mgt.common.PaginationRequest;
 import io.entgra.device.mgt.core.device.mgt.common.PaginationResult;
 import io.entgra.device.mgt.core.device.mgt.common.StartupOperationConfig;
 import io.entgra.device.mgt.core.device.mgt.common.BillingResponse;
+import io.entgra.device.mgt.core.device.mgt.common.TaskPartition;
 import io.entgra.device.mgt.core.device.mgt.common.app.mgt.Application;
 import io.entgra.device.mgt.core.device.mgt.common.app.mgt.ApplicationManagementException;
 import io.entgra.device.mgt.core.device.mgt.common.configuration.mgt.AmbiguousConfigurationException;
@@ -136,6 +138,7 @@ import io.entgra.device.mgt.core.device.mgt.core.dto.DeviceType;
 import io.entgra.device.mgt.core.device.mgt.core.dto.DeviceTypeServiceIdentifier;
 import io.entgra.device.mgt.core.device.mgt.core.dto.DeviceTypeVersion;
 import io.entgra.device.mgt.core.device.mgt.common.geo.service.GeoCluster;
+import io.entgra.device.mgt.core.device.mgt.core.geo.cluster.GeoClusterIndex;
 import io.entgra.device.mgt.core.device.mgt.core.internal.DeviceManagementDataHolder;
 import io.entgra.device.mgt.core.device.mgt.core.internal.DeviceManagementServiceComponent;
 import io.entgra.device.mgt.core.device.mgt.core.internal.PluginInitializationListener;
@@ -144,6 +147,7 @@ import io.entgra.device.mgt.core.device.mgt.core.metadata.mgt.dao.MetadataManage
 import io.entgra.device.mgt.core.device.mgt.core.metadata.mgt.dao.MetadataManagementDAOFactory;
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.CommandOperation;
 import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.ProfileOperation;
+import io.entgra.device.mgt.core.device.mgt.core.push.notification.mgt.NotificationStrategyRegistry;
 import io.entgra.device.mgt.core.device.mgt.core.util.DeviceManagerUtil;
 import io.entgra.device.mgt.core.device.mgt.core.util.HttpReportingUtil;
 import io.entgra.device.mgt.core.transport.mgt.email.sender.core.ContentProviderInfo;
@@ -189,6 +193,7 @@ public class DeviceManagementProviderServiceImpl implements DeviceManagementProv
     private static final EntgraLogger log = new EntgraDeviceEnrolmentLoggerImpl(DeviceManagementProviderServiceImpl.class);
 
     private static final String OPERATION_RESPONSE_EVENT_STREAM_DEFINITION = "org.wso2.iot.OperationResponseStream";
+    private static final int DEVICE_LOOKUP_BATCH_SIZE = 500;
     private final DeviceManagementPluginRepository pluginRepository;
     private final DeviceDAO deviceDAO;
     private final DeviceTypeDAO deviceTypeDAO;
@@ -220,10 +225,17 @@ public class DeviceManagementProviderServiceImpl implements DeviceManagementProv
 
     @Override
     public boolean saveConfiguration(PlatformConfiguration configuration) throws DeviceManagementException {
-        DeviceManager dms =
-                pluginRepository.getDeviceManagementService(configuration.getType(),
-                        this.getTenantId()).getDeviceManager();
-        return dms.saveConfiguration(configuration);
+        int tenantId = this.getTenantId();
+        DeviceManagementService deviceManagementService =
+                pluginRepository.getDeviceManagementService(configuration.getType(), tenantId);
+        DeviceManager dms = deviceManagementService.getDeviceManager();
+        boolean isSaved = dms.saveConfiguration(configuration);
+        if (isSaved) {
+            // push notification configs may be part of the platform configuration
+            NotificationStrategyRegistry.getInstance().refresh(tenantId, configuration.getType(),
+                    deviceManagementService);
+        }
+        return isSaved;
     }
 
     @Override
@@ -362,6 +374,7 @@ public class DeviceManagementProviderServiceImpl implements DeviceManagementProv
                             device.setEnrolmentInfo(enrollment);
                             DeviceManagementDAOFactory.commitTransaction();
                             this.removeDeviceFromCache(deviceIdentifier);
+                            GeoClusterIndex.getInstance().removeEnrolment(existingEnrolmentInfo.getId(), tenantId);
                             if (log.isDebugEnabled()) {
                                 log.debug("An enrolment is successfully added with the id '" + enrollment.getId() +
                                         "' associated with " + "the device identified by key '" +
@@ -445,6 +458,8 @@ public class DeviceManagementProviderServiceImpl implements DeviceManagementProv
                         "platform '" + device.getType() + " upon the user '" +
                         device.getEnrolmentInfo().getOwner() + "'");
             }
+            //clears any negative cache entry recorded before the device existed
+            this.removeDeviceFromCache(deviceIdentifier);
             status = true;
         }
 
@@ -754,6 +769,7 @@ public class DeviceManagementProviderServiceImpl implements DeviceManagementProv
             addDeviceStatus(deviceStatusManagementService, tenantId, updatedRows, device.getEnrolmentInfo(), device.getType());
             DeviceManagementDAOFactory.commitTransaction();
             this.removeDeviceFromCache(deviceId);
+            GeoClusterIndex.getInstance().removeEnrolment(device.getEnrolmentInfo().getId(), tenantId);
         } catch (DeviceManagementDAOException e) {
             DeviceManagementDAOFactory.rollbackTransaction();
             String msg = "Error occurred while removing '" + deviceId.getType() +
@@ -978,19 +994,24 @@ public class DeviceManagementProviderServiceImpl implements DeviceManagementProv
 
     @Override
     public List<Device> getAllocatedDevices(String deviceType, int activeServerCount, int serverIndex) throws DeviceManagementException {
+        return getAllocatedDevices(deviceType, TaskPartition.ofModulo(activeServerCount, serverIndex));
+    }
+
+    @Override
+    public List<Device> getAllocatedDevices(String deviceType, TaskPartition partition) throws DeviceManagementException {
         if (deviceType == null) {
             String msg = "Device type is empty for method getAllDevices";
             log.error(msg);
             throw new DeviceManagementException(msg);
         }
         if (log.isDebugEnabled()) {
-            log.debug("Getting allocated Devices for Server with index " + serverIndex + " and" +
+            log.debug("Getting allocated Devices for Server with " + partition + " and" +
                     " type '" + deviceType);
         }
         List<Device> allocatedDevices;
         try {
             DeviceManagementDAOFactory.openConnection();
-            allocatedDevices = deviceDAO.getAllocatedDevices(deviceType, this.getTenantId(), activeServerCount, serverIndex);
+            allocatedDevices = deviceDAO.getAllocatedDevices(deviceType, this.getTenantId(), partition);
             if (allocatedDevices == null) {
                 if (log.isDebugEnabled()) {
                     log.debug("No device is found upon the type '" + deviceType + "'");
@@ -1016,6 +1037,40 @@ public class DeviceManagementProviderServiceImpl implements DeviceManagementProv
         return allocatedDevices;
     }
 
+    @Override
+    public List<Device> getNextDevicePage(DeviceCursor cursor) throws DeviceManagementException {
+        if (cursor == null || cursor.getDeviceType() == null) {
+            String msg = "Device type is empty for method getNextDevicePage";
+            log.error(msg);
+            throw new DeviceManagementException(msg);
+        }
+        if (!cursor.hasNext()) {
+            return new ArrayList<>();
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Getting devices of type '" + cursor.getDeviceType() + "' after device id " +
+                    cursor.getLastDeviceId());
+        }
+        List<Device> devices;
+        try {
+            DeviceManagementDAOFactory.openConnection();
+            devices = deviceDAO.getDevicesAfter(cursor, this.getTenantId());
+        } catch (DeviceManagementDAOException e) {
+            String msg = "Error occurred while retrieving a page of devices of type '" +
+                    cursor.getDeviceType() + "' that are being managed within the scope of current tenant";
+            log.error(msg, e);
+            throw new DeviceManagementException(msg, e);
+        } catch (SQLException e) {
+            String msg = "Error occurred while opening a connection to the data source";
+            log.error(msg, e);
+            throw new DeviceManagementException(msg, e);
+        } finally {
+            DeviceManagementDAOFactory.closeConnection();
+        }
+        cursor.advance(devices);
+        return devices;
+    }
+
     @Override
     public List<Device> getAllDevices() throws DeviceManagementException {
         return this.getAllDevices(true);
@@ -1529,7 +1584,18 @@ public class DeviceManagementProviderServiceImpl implements DeviceManagementProv
         }
         int tenantId = this.getTenantId();
         Device device = this.getDeviceFromCache(deviceId);
+        boolean isLoadedFromDB = false;
+        long cacheVersion = 0;
         if (device == null) {
+            DeviceCacheManagerImpl deviceCacheManager = DeviceCacheManagerImpl.getInstance();
+            if (deviceCacheManager.isUnknownDevice(deviceId, tenantId)) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Device of type '" + deviceId.getType() + "' and id '" + deviceId.getId() +
+                            "' is cached as non existing");
+                }
+                return null;
+            }
+            cacheVersion = deviceCacheManager.getCacheVersion();
             try {
                 DeviceManagementDAOFactory.openConnection();
                 device = deviceDAO.getDevice(deviceId, tenantId);
@@ -1539,8 +1605,10 @@ public class DeviceManagementProviderServiceImpl implements DeviceManagementProv
                     if (log.isDebugEnabled()) {
                         log.debug(msg);
                     }
+                    deviceCacheManager.addUnknownDeviceToCache(deviceId, tenantId, cacheVersion);
                     return null;
                 }
+                isLoadedFromDB = true;
             } catch (DeviceManagementDAOException e) {
                 String msg = "Error occurred while obtaining the device for '" + deviceId.getId() + "'";
                 log.error(msg, e);
@@ -1560,7 +1628,11 @@ public class DeviceManagementProviderServiceImpl implements DeviceManagementProv
         if (requireDeviceInfo) {
             this.populateAllDeviceInfo(device);
         }
-        this.addDeviceToCache(deviceId, device);
+        if (isLoadedFromDB) {
+            DeviceCacheManagerImpl.getInstance().addDeviceToCache(deviceId, device, tenantId, cacheVersion);
+        } else if (requireDeviceInfo) {
+            this.addDeviceToCache(deviceId, device);
+        }
         return device;
     }
 
@@ -1857,6 +1929,80 @@ public class DeviceManagementProviderServiceImpl implements DeviceManagementProv
         return device;
     }
 
+    @Override
+    public List<Device> getDevicesWithTypeProperties(List<DeviceIdentifier> deviceIds)
+            throws DeviceManagementException {
+        if (deviceIds == null) {
+            String msg = "Received null device identifier list for getDevicesWithTypeProperties";
+            log.error(msg);
+            throw new DeviceManagementException(msg);
+        }
+        Map<String, Map<String, Device>> typeDevices = new HashMap<>();
+        for (DeviceIdentifier deviceId : deviceIds) {
+            typeDevices.computeIfAbsent(deviceId.getType(), k -> new HashMap<>()).put(deviceId.getId(), null);
+        }
+        List<String> identifiers = new ArrayList<>(deviceIds.stream().map(DeviceIdentifier::getId)
+                .collect(Collectors.toSet()));
+        if (log.isDebugEnabled()) {
+            log.debug("Get tenanted devices with type properties, device count: " + identifiers.size());
+        }
+        int tenantId = this.getTenantId();
+        try {
+            DeviceManagementDAOFactory.openConnection();
+            for (int from = 0; from < identifiers.size(); from += DEVICE_LOOKUP_BATCH_SIZE) {
+                // devices are ordered by the latest enrolment first, hence the latest enrolment of a device is kept
+                for (Device device : deviceDAO.getDevicesByIdentifiers(identifiers.subList(from,
+                        Math.min(from + DEVICE_LOOKUP_BATCH_SIZE, identifiers.size())), tenantId)) {
+                    Map<String, Device> devices = typeDevices.get(device.getType());
+                    if (devices != null && devices.containsKey(device.getDeviceIdentifier())
+                            && devices.get(device.getDeviceIdentifier()) == null) {
+                        devices.put(device.getDeviceIdentifier(), device);
+                    }
+                }
+            }
+        } catch (DeviceManagementDAOException e) {
+            String msg = "Error occurred while obtaining " + identifiers.size() + " devices";
+            log.error(msg, e);
+            throw new DeviceManagementException(msg, e);
+        } catch (SQLException e) {
+            String msg = "Error occurred while opening a connection to the data source";
+            log.error(msg, e);
+            throw new DeviceManagementException(msg, e);
+        } finally {
+            DeviceManagementDAOFactory.closeConnection();
+        }
+
+        List<Device> result = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Device>> typeEntry : typeDevices.entrySet()) {
+            List<DeviceIdentifier> typeDeviceIds = new ArrayList<>();
+            for (Device device : typeEntry.getValue().values()) {
+                if (device != null) {
+                    typeDeviceIds.add(new DeviceIdentifier(device.getDeviceIdentifier(), device.getType()));
+                    result.add(device);
+                }
+            }
+            DeviceManager deviceManager = this.getDeviceManager(typeEntry.getKey());
+            if (deviceManager == null || typeDeviceIds.isEmpty()) {
+                if (log.isDebugEnabled() && deviceManager == null) {
+                    log.debug("Device Manager associated with the device type '" + typeEntry.getKey() + "' is " +
+                            "null. Therefore, not attempting to get the device type properties");
+                }
+                continue;
+            }
+            for (int from = 0; from < typeDeviceIds.size(); from += DEVICE_LOOKUP_BATCH_SIZE) {
+                for (Device dmsDevice : deviceManager.getDevices(typeDeviceIds.subList(from,
+                        Math.min(from + DEVICE_LOOKUP_BATCH_SIZE, typeDeviceIds.size())))) {
+                    Device device = typeEntry.getValue().get(dmsDevice.getDeviceIdentifier());
+                    if (device != null) {
+                        device.setFeatures(dmsDevice.getFeatures());
+                        device.setProperties(dmsDevice.getProperties());
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
     @Override
     public Device getDevice(DeviceIdentifier deviceId, Date since) throws DeviceManagementException {
         return this.getDevice(deviceId, since, true);
@@ -4003,9 +4149,14 @@ public class DeviceManagementProviderServiceImpl implements DeviceManagementProv
         if (log.isDebugEnabled()) {
             log.debug("Get information about geo clusters for query: " + new Gson().toJson(geoQuery));
         }
+        int tenantId = this.getTenantId();
         try {
             DeviceManagementDAOFactory.openConnection();
-            return deviceDAO.findGeoClusters(geoQuery, this.getTenantId());
+            List<GeoCluster> geoClusters = GeoClusterIndex.getInstance().findGeoClusters(geoQuery, tenantId);
+            if (geoClusters != null) {
+                return geoClusters;
+            }
+            return deviceDAO.findGeoClusters(geoQuery, tenantId);
         } catch (DeviceManagementDAOException e) {
             String msg = "Error occurred while retrieving the geo clusters.";
             log.error(msg, e);
@@ -4603,6 +4754,9 @@ public class DeviceManagementProviderServiceImpl implements DeviceManagementProv
                 }
             }
             DeviceManagementDAOFactory.commitTransaction();
+            for (Device device : devices) {
+                GeoClusterIndex.getInstance().removeEnrolment(device.getEnrolmentInfo().getId(), tenantId);
+            }
         } catch (TransactionManagementException e) {
             String msg = "Error occurred while initiating transaction";
             log.error(msg, e);
@@ -28,6 +28,7 @@ import io.entgra.device.mgt.core.device.mgt.common.DeviceIdentifier;
 import io.entgra.device.mgt.core.device.mgt.common.DeviceStatusTaskPluginConfig;
 import io.entgra.device.mgt.core.device.mgt.common.DynamicTaskContext;
 import io.entgra.device.mgt.core.device.mgt.common.EnrolmentInfo;
+import io.entgra.device.mgt.core.device.mgt.common.TaskPartition;
 import io.entgra.device.mgt.core.device.mgt.common.device.details.DeviceMonitoringData;
 import io.entgra.device.mgt.core.device.mgt.common.exceptions.DeviceManagementException;
 import io.entgra.device.mgt.core.device.mgt.common.exceptions.TransactionManagementException;
@@ -68,11 +69,10 @@ public class DeviceStatusMonitoringTask extends DynamicPartitionedScheduleTask {
             DynamicTaskContext ctx = getTaskContext();
             if (ctx != null && ctx.isPartitioningEnabled()) {
                 return DeviceManagementDAOFactory.getDeviceDAO()
-                        .getAllDevicesForMonitoring(this.deviceTypeId, this.deviceType,
-                                ctx.getActiveServerCount(), ctx.getServerHashIndex());
+                        .getAllDevicesForMonitoring(this.deviceTypeId, this.deviceType, ctx.getTaskPartition());
             } else {
                 return DeviceManagementDAOFactory.getDeviceDAO()
-                        .getAllDevicesForMonitoring(this.deviceTypeId, this.deviceType, -1, -1);
+                        .getAllDevicesForMonitoring(this.deviceTypeId, this.deviceType, null);
             }
         } catch (DeviceManagementDAOException e) {
             String msg = "Error occurred while retrieving devices list for monitoring.";
@@ -125,7 +125,13 @@ public class DeviceStatusMonitoringTask extends DynamicPartitionedScheduleTask {
                             PrivilegedCarbonContext.startTenantFlow();
                             PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(domain, true);
                             monitoringDevices = entry.getValue();
+                            //Devices of the buckets handed over to another server after they were loaded are
+                            //left to the new owner.
+                            TaskPartition partition = getCurrentTaskPartition();
                             for (DeviceMonitoringData monitoringData : monitoringDevices) {
+                                if (partition != null && !partition.owns(monitoringData.getDevice().getId())) {
+                                    continue;
+                                }
                                 long lastUpdatedTime = (timeMillis - monitoringData
                                         .getLastUpdatedTime()) / 1000;
 
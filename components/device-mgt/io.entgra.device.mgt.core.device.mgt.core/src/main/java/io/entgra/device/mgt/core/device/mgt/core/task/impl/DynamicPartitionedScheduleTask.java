@@ -18,8 +18,10 @@
 
 package io.entgra.device.mgt.core.device.mgt.core.task.impl;
 
+import io.entgra.device.mgt.core.device.mgt.common.DeviceCursor;
 import io.entgra.device.mgt.core.device.mgt.common.DynamicTaskContext;
 import io.entgra.device.mgt.core.device.mgt.common.ServerCtxInfo;
+import io.entgra.device.mgt.core.device.mgt.common.TaskPartition;
 import io.entgra.device.mgt.core.device.mgt.core.internal.DeviceManagementDataHolder;
 import io.entgra.device.mgt.core.server.bootup.heartbeat.beacon.exception.HeartBeatManagementException;
 import io.entgra.device.mgt.core.task.mgt.common.constant.TaskMgtConstants;
@@ -111,43 +113,92 @@ public abstract class DynamicPartitionedScheduleTask implements Task {
         return getProperty(TaskMgtConstants.Task.LOCAL_TASK_NAME);
     }
 
-    public synchronized void refreshContext() {
-        if (taskContext != null && taskContext.isPartitioningEnabled()) {
+    /**
+     * Refreshes the task context from the cached active server view of the heart beat service. A new context is
+     * published only when the view version changed, so the refresh takes no lock and does not go to the database
+     * while the cluster formation is unchanged.
+     */
+    public void refreshContext() {
+        DynamicTaskContext currentContext = taskContext;
+        if (currentContext != null && currentContext.isPartitioningEnabled()) {
             try {
-                updateContext();
+                updateContext(currentContext);
             } catch (HeartBeatManagementException e) {
                 log.error("Error refreshing Variables necessary for Dynamic Task Scheduling. Dynamic Tasks will not function.", e);
             }
         }
     }
 
-    private synchronized void updateContext() throws HeartBeatManagementException {
+    private void updateContext(DynamicTaskContext currentContext) throws HeartBeatManagementException {
         ServerCtxInfo ctxInfo = DeviceManagementDataHolder.getInstance().getHeartBeatService().getServerCtxInfo();
         if (ctxInfo != null) {
+            if (ctxInfo.getVersion() > 0 && ctxInfo.getVersion() == currentContext.getVersion()) {
+                return;
+            }
             if (log.isDebugEnabled()) {
                 log.debug("Received ServerCtxInfo. ActiveServerCount: " + ctxInfo.getActiveServerCount() +
-                        ", LocalServerHashIdx: " + ctxInfo.getLocalServerHashIdx());
+                        ", LocalServerHashIdx: " + ctxInfo.getLocalServerHashIdx() +
+                        ", Version: " + ctxInfo.getVersion());
             }
-            populateContext(ctxInfo);
+            taskContext = populateContext(ctxInfo);
         } else {
             log.info("Dynamic Task Context not present. Tasks will run on regular worker/manager mode.");
         }
     }
 
-    private synchronized void populateContext(ServerCtxInfo ctxInfo) {
+    private DynamicTaskContext populateContext(ServerCtxInfo ctxInfo) {
         if (log.isDebugEnabled()) {
             log.debug("Populating task context with ServerCtxInfo. " +
                     "ActiveServerCount: " + ctxInfo.getActiveServerCount() +
                     ", LocalServerHashIdx: " + ctxInfo.getLocalServerHashIdx());
         }
-        taskContext.setActiveServerCount(ctxInfo.getActiveServerCount());
-        taskContext.setServerHashIndex(ctxInfo.getLocalServerHashIdx());
+        DynamicTaskContext context = new DynamicTaskContext();
+        context.setPartitioningEnabled(true);
+        context.setActiveServerCount(ctxInfo.getActiveServerCount());
+        context.setServerHashIndex(ctxInfo.getLocalServerHashIdx());
+        context.setTaskPartition(ctxInfo.getTaskPartition());
+        context.setVersion(ctxInfo.getVersion());
 
         if (log.isDebugEnabled()) {
-            log.debug("Initiating execution of dynamic task for server : " + taskContext.getServerHashIndex() +
-                    " where active server count is : " + taskContext.getActiveServerCount() +
-                    " partitioning task enabled : " + taskContext.isPartitioningEnabled());
+            log.debug("Initiating execution of dynamic task for server : " + context.getServerHashIndex() +
+                    " where active server count is : " + context.getActiveServerCount() +
+                    " allocated partition : " + context.getTaskPartition() +
+                    " partitioning task enabled : " + context.isPartitioningEnabled());
+        }
+        return context;
+    }
+
+    /**
+     * Refreshes the task context and returns the device buckets currently allocated to this server. Tasks call this
+     * while a run is in progress, so that a cluster formation change takes effect within the run: buckets handed over
+     * to other servers are given up for the rest of the run, and buckets taken over from other servers are processed
+     * for the devices the run has not passed yet.
+     *
+     * @return current partition of this server, or null when dynamic task partitioning is disabled.
+     */
+    protected TaskPartition getCurrentTaskPartition() {
+        refreshContext();
+        DynamicTaskContext currentContext = taskContext;
+        if (currentContext == null || !currentContext.isPartitioningEnabled()) {
+            return null;
+        }
+        return currentContext.getTaskPartition();
+    }
+
+    /**
+     * Restricts a cursor to the current partition of this server. Called before fetching each page, so the pages
+     * following a cluster formation change only contain the devices of the buckets this server owns after the change.
+     *
+     * @param cursor cursor of the running task.
+     */
+    protected void updatePartition(DeviceCursor cursor) {
+        TaskPartition partition = getCurrentTaskPartition();
+        if (cursor.isPartitioned() && !cursor.getPartition().equals(partition)) {
+            log.info("Partition of the task " + getTaskName() + " changed from " + cursor.getPartition() + " to " +
+                    partition + " while walking the devices of type " + cursor.getDeviceType() +
+                    ". Continuing with the buckets currently allocated to the server.");
         }
+        cursor.setPartition(partition);
     }
 
     protected abstract void setup();
@@ -19,6 +19,7 @@
 package io.entgra.device.mgt.core.device.mgt.core;
 
 import io.entgra.device.mgt.core.device.mgt.common.ServerCtxInfo;
+import io.entgra.device.mgt.core.server.bootup.heartbeat.beacon.dto.ActiveServerView;
 import io.entgra.device.mgt.core.server.bootup.heartbeat.beacon.dto.HeartBeatEvent;
 import io.entgra.device.mgt.core.server.bootup.heartbeat.beacon.dto.ServerContext;
 import io.entgra.device.mgt.core.server.bootup.heartbeat.beacon.exception.HeartBeatManagementException;
@@ -71,4 +72,14 @@ public class TestHeartBeatManagementService implements HeartBeatManagementServic
     public void notifyClusterFormationChanged(int elapsedTimeInSeconds) throws HeartBeatManagementException {
 
     }
+
+    @Override
+    public ActiveServerView getActiveServerView() throws HeartBeatManagementException {
+        return null;
+    }
+
+    @Override
+    public ActiveServerView refreshActiveServerView(int elapsedTimeInSeconds) throws HeartBeatManagementException {
+        return null;
+    }
 }
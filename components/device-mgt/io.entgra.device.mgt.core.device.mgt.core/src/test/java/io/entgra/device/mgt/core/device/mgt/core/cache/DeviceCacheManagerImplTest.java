@@ -127,4 +127,37 @@ public class DeviceCacheManagerImplTest extends BaseDeviceManagementTest {
         }
         deviceCacheManager.removeDevicesFromCache(deviceCacheKeyList);
     }
+
+    @Test(description = "test caching an unknown device and clearing it once the device is added",
+            dependsOnMethods = {"testRemoveDevicesFromCache"})
+    public void testUnknownDeviceInCache() {
+        DeviceIdentifier unknownDeviceId = new DeviceIdentifier(DEVICE_ID_PREFIX + "UNKNOWN", DEVICE_TYPE);
+        long cacheVersion = deviceCacheManager.getCacheVersion();
+        deviceCacheManager.addUnknownDeviceToCache(unknownDeviceId, MultitenantConstants.SUPER_TENANT_ID,
+                cacheVersion);
+        Assert.assertTrue(deviceCacheManager.isUnknownDevice(unknownDeviceId, MultitenantConstants.SUPER_TENANT_ID),
+                "Unknown device is not cached");
+        Assert.assertNull(deviceCacheManager.getDeviceFromCache(unknownDeviceId,
+                MultitenantConstants.SUPER_TENANT_ID), "A device is returned for an unknown identifier");
+        deviceCacheManager.addDeviceToCache(unknownDeviceId, devices.get(1), MultitenantConstants.SUPER_TENANT_ID);
+        Assert.assertFalse(deviceCacheManager.isUnknownDevice(unknownDeviceId, MultitenantConstants.SUPER_TENANT_ID),
+                "Added device is still cached as unknown");
+        Assert.assertEquals(deviceCacheManager.getDeviceFromCache(unknownDeviceId,
+                MultitenantConstants.SUPER_TENANT_ID), devices.get(1), "Added device is not returned from cache");
+    }
+
+    @Test(description = "test skipping a device read before it was removed from the cache",
+            dependsOnMethods = {"testUnknownDeviceInCache"})
+    public void testStaleDeviceNotAddedToCache() {
+        long cacheVersion = deviceCacheManager.getCacheVersion();
+        deviceCacheManager.removeDeviceFromCache(deviceIds.get(2), MultitenantConstants.SUPER_TENANT_ID);
+        deviceCacheManager.addDeviceToCache(deviceIds.get(2), devices.get(2), MultitenantConstants.SUPER_TENANT_ID,
+                cacheVersion);
+        Assert.assertNull(deviceCacheManager.getDeviceFromCache(deviceIds.get(2),
+                MultitenantConstants.SUPER_TENANT_ID), "Stale device state is added to the cache");
+        deviceCacheManager.addDeviceToCache(deviceIds.get(2), devices.get(2), MultitenantConstants.SUPER_TENANT_ID,
+                deviceCacheManager.getCacheVersion());
+        Assert.assertEquals(deviceCacheManager.getDeviceFromCache(deviceIds.get(2),
+                MultitenantConstants.SUPER_TENANT_ID), devices.get(2), "Device read after removal is not cached");
+    }
 }
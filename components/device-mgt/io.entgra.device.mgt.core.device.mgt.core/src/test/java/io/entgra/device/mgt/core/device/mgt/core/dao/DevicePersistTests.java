@@ -19,12 +19,14 @@
 package io.entgra.device.mgt.core.device.mgt.core.dao;
 
 import io.entgra.device.mgt.core.device.mgt.common.Device;
+import io.entgra.device.mgt.core.device.mgt.common.DeviceCursor;
 import io.entgra.device.mgt.core.device.mgt.common.DeviceIdentifier;
 import io.entgra.device.mgt.core.device.mgt.common.EnrolmentInfo;
 import io.entgra.device.mgt.core.device.mgt.common.EnrolmentInfo.Status;
 import io.entgra.device.mgt.core.device.mgt.common.device.details.DeviceData;
 import io.entgra.device.mgt.core.device.mgt.common.exceptions.TransactionManagementException;
 import io.entgra.device.mgt.core.device.mgt.common.PaginationRequest;
+import io.entgra.device.mgt.core.device.mgt.common.TaskPartition;
 import io.entgra.device.mgt.core.device.mgt.common.geo.service.GeoCoordinate;
 import io.entgra.device.mgt.core.device.mgt.common.geo.service.GeoQuery;
 import io.entgra.device.mgt.core.device.mgt.common.geo.service.GeoCluster;
@@ -464,7 +466,8 @@ public class DevicePersistTests extends BaseDeviceManagementTest {
         Device device = TestDataHolder.initialTestDevice;
         try {
             DeviceManagementDAOFactory.beginTransaction();
-            List<Device> results = deviceDAO.getAllocatedDevices(device.getType(), TestDataHolder.SUPER_TENANT_ID, 1, 0);
+            List<Device> results = deviceDAO.getAllocatedDevices(device.getType(), TestDataHolder.SUPER_TENANT_ID,
+                    TaskPartition.ofModulo(1, 0));
             Assert.assertEquals(1, results.size(), "No device returned");
             DeviceManagementDAOFactory.commitTransaction();
         } catch (DeviceManagementDAOException e) {
@@ -474,6 +477,26 @@ public class DevicePersistTests extends BaseDeviceManagementTest {
         }
     }
 
+    @Test(dependsOnMethods = "testAddDeviceTest")
+    public void getDevicesAfterCursor() throws DeviceManagementDAOException, TransactionManagementException {
+        Device device = TestDataHolder.initialTestDevice;
+        try {
+            DeviceManagementDAOFactory.beginTransaction();
+            DeviceCursor cursor = new DeviceCursor(device.getType(), 1);
+            List<Device> results = deviceDAO.getDevicesAfter(cursor, TestDataHolder.SUPER_TENANT_ID);
+            Assert.assertEquals(1, results.size(), "No device returned");
+            cursor.advance(results);
+            Assert.assertTrue(cursor.hasNext(), "Cursor exhausted before reaching the end");
+            results = deviceDAO.getDevicesAfter(cursor, TestDataHolder.SUPER_TENANT_ID);
+            Assert.assertTrue(results.isEmpty(), "Device returned again after the cursor advanced past it");
+            DeviceManagementDAOFactory.commitTransaction();
+        } catch (DeviceManagementDAOException e) {
+            throw new DeviceManagementDAOException("Error occurred while retrieving the device" + e);
+        } finally {
+            DeviceManagementDAOFactory.closeConnection();
+        }
+    }
+
     @Test(dependsOnMethods = "testAddDeviceTest")
     public void getDevicesOfUser() throws DeviceManagementDAOException, TransactionManagementException {
         try {
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.device.details.mgt.impl;
+
+import io.entgra.device.mgt.core.device.mgt.common.Device;
+import io.entgra.device.mgt.core.device.mgt.common.EnrolmentInfo;
+import io.entgra.device.mgt.core.device.mgt.common.device.details.DeviceInfo;
+import io.entgra.device.mgt.core.device.mgt.core.device.details.mgt.DeviceDetailsMgtException;
+import io.entgra.device.mgt.core.device.mgt.core.device.details.mgt.impl.DeviceInfoWriteBehindQueue.PendingDeviceInfo;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Unit tests for DeviceInfoWriteBehindQueue.
+ */
+public class DeviceInfoWriteBehindQueueTest {
+
+    private static final int TENANT_ID = -1234;
+    private static final int FLUSH_INTERVAL_MILLS = 60000;
+    private static final int OFFER_THREAD_COUNT = 4;
+    private static final int OFFERS_PER_THREAD = 5000;
+
+    @Test(description = "Reports of the same enrolment are coalesced and flushed on shutdown")
+    public void testCoalesceAndFlushOnShutdown() {
+        List<List<PendingDeviceInfo>> flushedBatches = new ArrayList<>();
+        DeviceInfoWriteBehindQueue queue = new DeviceInfoWriteBehindQueue(flushedBatches::add,
+                FLUSH_INTERVAL_MILLS, 10, 10);
+        Device device = getDevice(1);
+        DeviceInfo firstReport = new DeviceInfo();
+        firstReport.setDeviceModel("SM-G960F");
+        firstReport.setBatteryLevel(80.0);
+        firstReport.getDeviceDetailsMap().put("IMEI", "356938035643809");
+        DeviceInfo secondReport = new DeviceInfo();
+        secondReport.setBatteryLevel(75.0);
+
+        Assert.assertTrue(queue.offer(device, firstReport, TENANT_ID));
+        Assert.assertTrue(queue.offer(device, secondReport, TENANT_ID));
+        Assert.assertTrue(queue.offer(getDevice(2), new DeviceInfo(), TENANT_ID));
+        Assert.assertEquals(queue.getPendingCount(), 2, "Reports of the same enrolment are not coalesced");
+
+        queue.shutdown();
+        Assert.assertEquals(flushedBatches.size(), 1, "Pending reports are not flushed in a single batch");
+        Assert.assertEquals(queue.getPendingCount(), 0);
+        PendingDeviceInfo flushed = null;
+        for (PendingDeviceInfo pending : flushedBatches.get(0)) {
+            if (pending.getDevice() == device) {
+                flushed = pending;
+            }
+        }
+        Assert.assertNotNull(flushed);
+        Assert.assertEquals(flushed.getDeviceInfo().getBatteryLevel(), 75.0, 0.0);
+        Assert.assertEquals(flushed.getDeviceInfo().getDeviceModel(), "SM-G960F");
+        Assert.assertEquals(flushed.getDeviceInfo().getDeviceDetailsMap().get("IMEI"), "356938035643809");
+        Assert.assertFalse(queue.offer(device, new DeviceInfo(), TENANT_ID), "Report accepted after shutdown");
+    }
+
+    @Test(description = "Reports are rejected once the queue is full and failed batches are retried")
+    public void testQueueFullAndRetry() {
+        List<List<PendingDeviceInfo>> flushedBatches = new ArrayList<>();
+        int[] failures = {1};
+        DeviceInfoWriteBehindQueue queue = new DeviceInfoWriteBehindQueue(batch -> {
+            if (failures[0]-- > 0) {
+                throw new DeviceDetailsMgtException("Simulated failure");
+            }
+            flushedBatches.add(batch);
+        }, FLUSH_INTERVAL_MILLS, 10, 1);
+        Assert.assertTrue(queue.offer(getDevice(1), new DeviceInfo(), TENANT_ID));
+        Assert.assertFalse(queue.offer(getDevice(2), new DeviceInfo(), TENANT_ID), "Report accepted to a full queue");
+        Assert.assertTrue(queue.offer(getDevice(1), new DeviceInfo(), TENANT_ID));
+
+        queue.shutdown();
+        Assert.assertEquals(queue.getPendingCount(), 1, "Failed batch is not returned to the queue");
+        Assert.assertTrue(flushedBatches.isEmpty());
+    }
+
+    @Test(description = "Reports offered while the queue is shutting down are either flushed or rejected")
+    public void testNoReportLostOnShutdown() throws InterruptedException {
+        Set<Integer> flushedEnrolments = ConcurrentHashMap.newKeySet();
+        Set<Integer> acceptedEnrolments = ConcurrentHashMap.newKeySet();
+        DeviceInfoWriteBehindQueue queue = new DeviceInfoWriteBehindQueue(batch -> {
+            for (PendingDeviceInfo pending : batch) {
+                flushedEnrolments.add(pending.getDevice().getEnrolmentInfo().getId());
+            }
+        }, 1, OFFER_THREAD_COUNT * OFFERS_PER_THREAD, OFFER_THREAD_COUNT * OFFERS_PER_THREAD);
+        CountDownLatch started = new CountDownLatch(OFFER_THREAD_COUNT);
+        List<Thread> offerThreads = new ArrayList<>();
+        for (int i = 0; i < OFFER_THREAD_COUNT; i++) {
+            int firstId = i * OFFERS_PER_THREAD + 1;
+            Thread offerThread = new Thread(() -> {
+                started.countDown();
+                for (int id = firstId; id < firstId + OFFERS_PER_THREAD; id++) {
+                    if (queue.offer(getDevice(id), new DeviceInfo(), TENANT_ID)) {
+                        acceptedEnrolments.add(id);
+                    }
+                }
+            });
+            offerThreads.add(offerThread);
+            offerThread.start();
+        }
+        started.await();
+        queue.shutdown();
+        for (Thread offerThread : offerThreads) {
+            offerThread.join();
+        }
+        Assert.assertEquals(queue.getPendingCount(), 0, "Report is queued after shutdown");
+        Assert.assertEquals(flushedEnrolments, acceptedEnrolments, "Accepted report is not flushed");
+    }
+
+    private Device getDevice(int id) {
+        Device device = new Device();
+        device.setId(id);
+        device.setDeviceIdentifier("WRITE-BEHIND-DEVICE-" + id);
+        EnrolmentInfo enrolmentInfo = new EnrolmentInfo();
+        enrolmentInfo.setId(id);
+        device.setEnrolmentInfo(enrolmentInfo);
+        return device;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.device.details.mgt.impl;
+
+import io.entgra.device.mgt.core.device.mgt.common.Device;
+import io.entgra.device.mgt.core.device.mgt.common.EnrolmentInfo;
+import io.entgra.device.mgt.core.device.mgt.common.device.details.DeviceLocation;
+import io.entgra.device.mgt.core.device.mgt.core.device.details.mgt.DeviceDetailsMgtException;
+import io.entgra.device.mgt.core.device.mgt.core.device.details.mgt.impl.DeviceLocationIngestionQueue.PendingDeviceLocations;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Unit tests for DeviceLocationIngestionQueue.
+ */
+public class DeviceLocationIngestionQueueTest {
+
+    private static final int TENANT_ID = -1234;
+    private static final int FLUSH_INTERVAL_MILLS = 60000;
+
+    @Test(description = "Locations are grouped per enrolment, repeated points are dropped and the oldest locations " +
+            "are discarded once a device exceeds its limit")
+    public void testGroupAndBoundLocations() {
+        List<List<PendingDeviceLocations>> flushedBatches = new ArrayList<>();
+        DeviceLocationIngestionQueue queue = new DeviceLocationIngestionQueue(flushedBatches::add,
+                FLUSH_INTERVAL_MILLS, 10, 100, 3);
+        Device device = getDevice(1);
+        DeviceLocation first = getLocation(6.9271, 79.8612, 1000);
+        Assert.assertTrue(queue.offer(device, Arrays.asList(first, getLocation(6.9271, 79.8612, 1000)), TENANT_ID));
+        Assert.assertEquals(queue.getPendingLocationCount(), 1, "Repeated location is not dropped");
+        Assert.assertTrue(queue.offer(device, Arrays.asList(getLocation(6.9272, 79.8613, 2000),
+                getLocation(6.9273, 79.8614, 3000), getLocation(6.9274, 79.8615, 4000)), TENANT_ID));
+        Assert.assertTrue(queue.offer(getDevice(2), Collections.singletonList(getLocation(7.2906, 80.6337, 1000)),
+                TENANT_ID));
+        Assert.assertEquals(queue.getPendingLocationCount(), 4);
+        Assert.assertEquals(queue.getDiscardedLocationCount(), 1);
+
+        queue.shutdown();
+        Assert.assertEquals(flushedBatches.size(), 1, "Pending locations are not flushed in a single batch");
+        Assert.assertEquals(queue.getPendingLocationCount(), 0);
+        PendingDeviceLocations flushed = null;
+        for (PendingDeviceLocations pending : flushedBatches.get(0)) {
+            if (pending.getDevice() == device) {
+                flushed = pending;
+            }
+        }
+        Assert.assertNotNull(flushed);
+        List<DeviceLocation> locations = flushed.getLocations();
+        Assert.assertEquals(locations.size(), 3);
+        Assert.assertFalse(locations.contains(first), "Oldest location is not discarded");
+        Assert.assertEquals(locations.get(locations.size() - 1).getUpdatedTime().getTime(), 4000);
+        Assert.assertFalse(queue.offer(device, Collections.singletonList(first), TENANT_ID),
+                "Location accepted after shutdown");
+    }
+
+    @Test(description = "Locations are rejected once the queue is full and failed batches are retried")
+    public void testQueueFullAndRetry() {
+        List<List<PendingDeviceLocations>> flushedBatches = new ArrayList<>();
+        int[] failures = {1};
+        DeviceLocationIngestionQueue queue = new DeviceLocationIngestionQueue(batch -> {
+            if (failures[0]-- > 0) {
+                throw new DeviceDetailsMgtException("Simulated failure");
+            }
+            flushedBatches.add(batch);
+        }, FLUSH_INTERVAL_MILLS, 10, 2, 10);
+        Assert.assertTrue(queue.offer(getDevice(1), Arrays.asList(getLocation(6.9271, 79.8612, 1000),
+                getLocation(6.9272, 79.8613, 2000)), TENANT_ID));
+        Assert.assertFalse(queue.offer(getDevice(2), Collections.singletonList(getLocation(7.2906, 80.6337, 1000)),
+                TENANT_ID), "Location accepted to a full queue");
+
+        queue.shutdown();
+        Assert.assertEquals(queue.getPendingLocationCount(), 2, "Failed batch is not returned to the queue");
+        Assert.assertTrue(flushedBatches.isEmpty());
+    }
+
+    private Device getDevice(int id) {
+        Device device = new Device();
+        device.setId(id);
+        device.setDeviceIdentifier("LOCATION-INGESTION-DEVICE-" + id);
+        EnrolmentInfo enrolmentInfo = new EnrolmentInfo();
+        enrolmentInfo.setId(id);
+        device.setEnrolmentInfo(enrolmentInfo);
+        return device;
+    }
+
+    private DeviceLocation getLocation(double latitude, double longitude, long updatedTime) {
+        DeviceLocation location = new DeviceLocation();
+        location.setLatitude(latitude);
+        location.setLongitude(longitude);
+        location.setUpdatedTime(new Date(updatedTime));
+        return location;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.geo.cluster;
+
+import io.entgra.device.mgt.core.device.mgt.core.dto.EnrolmentLocationDTO;
+import io.entgra.device.mgt.core.device.mgt.core.geo.geoHash.GeoHashGenerator;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Unit tests for TenantGeoIndex.
+ */
+public class TenantGeoIndexTest {
+
+    private static final int DEPTH = 6;
+
+    @Test(description = "Locations are aggregated per cell, counting only the locations within the area")
+    public void testFindClusters() {
+        TenantGeoIndex index = new TenantGeoIndex(DEPTH);
+        index.load(Arrays.asList(getLocation(1, "android", 6.9271, 79.8612),
+                getLocation(2, "android", 6.9319, 79.8478),
+                getLocation(3, "ios", 6.9200, 79.8550),
+                getLocation(4, "android", 7.2906, 80.6337)));
+
+        Map<Long, GeoCell> clusters = index.findClusters(3, null, 6.0, 79.0, 8.0, 81.0);
+        GeoCell colombo = clusters.get(GeoHashGenerator.encode(6.9271, 79.8612, 3));
+        Assert.assertEquals(colombo.getCount(), 3);
+        Assert.assertEquals(colombo.getMinLatitude(), 6.9200, 0.0);
+        Assert.assertEquals(colombo.getMaxLongitude(), 79.8612, 0.0);
+        Assert.assertEquals(colombo.getAverageLatitude(), (6.9271 + 6.9319 + 6.9200) / 3, 1e-9);
+
+        GeoCell kandy = clusters.get(GeoHashGenerator.encode(7.2906, 80.6337, 3));
+        Assert.assertEquals(kandy.getCount(), 1);
+        Assert.assertEquals(kandy.getSingleEnrolmentId(), 4);
+
+        clusters = index.findClusters(3, null, 6.925, 79.0, 8.0, 81.0);
+        Assert.assertEquals(clusters.get(GeoHashGenerator.encode(6.9271, 79.8612, 3)).getCount(), 2,
+                "Locations outside the area are counted");
+
+        clusters = index.findClusters(3, Collections.singletonList("ios"), 6.0, 79.0, 8.0, 81.0);
+        Assert.assertEquals(clusters.size(), 1);
+        Assert.assertEquals(clusters.values().iterator().next().getSingleEnrolmentId(), 3);
+    }
+
+    @Test(description = "Bounds are recomputed once a location on the bounds moves or is removed")
+    public void testUpdateAndRemove() {
+        TenantGeoIndex index = new TenantGeoIndex(DEPTH);
+        index.load(Arrays.asList(getLocation(1, "android", 6.9271, 79.8612),
+                getLocation(2, "android", 6.9319, 79.8478)));
+        index.update(2, 2, "DEVICE-2", "android", 6.9280, 79.8600);
+        GeoCell cell = index.findClusters(2, null, 6.0, 79.0, 8.0, 81.0).values().iterator().next();
+        Assert.assertEquals(cell.getCount(), 2);
+        Assert.assertEquals(cell.getMaxLatitude(), 6.9280, 0.0);
+        Assert.assertEquals(cell.getMinLongitude(), 79.8600, 0.0);
+
+        index.remove(1);
+        cell = index.findClusters(2, null, 6.0, 79.0, 8.0, 81.0).values().iterator().next();
+        Assert.assertEquals(cell.getCount(), 1);
+        Assert.assertEquals(cell.getSingleEnrolmentId(), 2);
+        Assert.assertEquals(cell.getMinLatitude(), 6.9280, 0.0);
+        Assert.assertEquals(cell.getMaxLongitude(), 79.8600, 0.0);
+    }
+
+    @Test(description = "Changes made before the index is loaded take precedence over the loaded locations")
+    public void testChangesBeforeLoad() {
+        TenantGeoIndex index = new TenantGeoIndex(DEPTH);
+        index.update(1, 1, "DEVICE-1", "android", 7.2906, 80.6337);
+        index.remove(2);
+        Assert.assertFalse(index.isLoaded());
+        index.load(Arrays.asList(getLocation(1, "android", 6.9271, 79.8612),
+                getLocation(2, "android", 6.9319, 79.8478)));
+        Assert.assertTrue(index.isLoaded());
+        Assert.assertEquals(index.size(), 1);
+        Assert.assertEquals(index.getEnrolment(1).getLatitude(), 7.2906, 0.0);
+    }
+
+    private EnrolmentLocationDTO getLocation(int enrolmentId, String deviceType, double latitude, double longitude) {
+        EnrolmentLocationDTO location = new EnrolmentLocationDTO();
+        location.setEnrolmentId(enrolmentId);
+        location.setDeviceId(enrolmentId);
+        location.setDeviceIdentifier("DEVICE-" + enrolmentId);
+        location.setDeviceType(deviceType);
+        location.setLatitude(latitude);
+        location.setLongitude(longitude);
+        return location;
+    }
+}
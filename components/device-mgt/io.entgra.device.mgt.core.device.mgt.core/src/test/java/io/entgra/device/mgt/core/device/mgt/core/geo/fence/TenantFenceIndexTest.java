@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.geo.fence;
+
+import io.entgra.device.mgt.core.device.mgt.common.geo.service.GeofenceData;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Unit tests for TenantFenceIndex.
+ */
+public class TenantFenceIndexTest {
+
+    private static final double CELL_SIZE = 0.05;
+    private static final int MAX_CELLS_PER_FENCE = 64;
+    private static final String COLOMBO_POLYGON = "{\"type\":\"Feature\",\"geometry\":{\"type\":\"Polygon\","
+            + "\"coordinates\":[[[79.84,6.90],[79.88,6.90],[79.88,6.94],[79.84,6.94],[79.84,6.90]],"
+            + "[[79.855,6.915],[79.865,6.915],[79.865,6.925],[79.855,6.925],[79.855,6.915]]]}}";
+
+    @Test(description = "Circles and polygons contain the points within them, excluding the holes of polygons")
+    public void testFindContainingFences() {
+        TenantFenceIndex index = new TenantFenceIndex(CELL_SIZE, MAX_CELLS_PER_FENCE);
+        index.load(Arrays.asList(IndexedFence.of(getCircle(1, 6.9271, 79.8612, 1000)),
+                IndexedFence.of(getPolygon(2, COLOMBO_POLYGON)),
+                IndexedFence.of(getPolygon(3, "[{\"lat\":7.28,\"lng\":80.62},{\"lat\":7.28,\"lng\":80.65},"
+                        + "{\"lat\":7.30,\"lng\":80.65}]"))));
+        Assert.assertEquals(index.size(), 3);
+
+        Assert.assertEquals(getFenceIds(index.findContainingFences(6.9300, 79.8680)), setOf(1, 2));
+        Assert.assertEquals(getFenceIds(index.findContainingFences(6.9200, 79.8600)), setOf(1),
+                "Point in the hole of the polygon is contained");
+        Assert.assertEquals(getFenceIds(index.findContainingFences(6.9050, 79.8450)), setOf(2));
+        Assert.assertEquals(getFenceIds(index.findContainingFences(6.9271, 79.8712)), setOf(2),
+                "Point 1.1 km away from the center is contained in the circle");
+        Assert.assertEquals(getFenceIds(index.findContainingFences(7.2850, 80.6400)), setOf(3));
+        Assert.assertTrue(index.findContainingFences(7.2950, 80.6250).isEmpty());
+        Assert.assertEquals(getFenceIds(GeofenceIndex.filterContainingFences(Arrays.asList(
+                getCircle(1, 6.9271, 79.8612, 1000), getPolygon(2, COLOMBO_POLYGON)), 6.9300, 79.8680)),
+                setOf(1, 2));
+    }
+
+    @Test(description = "Fences are moved and dropped incrementally, including the ones kept outside the grid")
+    public void testUpdateAndRemove() {
+        TenantFenceIndex index = new TenantFenceIndex(CELL_SIZE, MAX_CELLS_PER_FENCE);
+        index.load(Arrays.asList(IndexedFence.of(getCircle(1, 6.9271, 79.8612, 1000)),
+                IndexedFence.of(getCircle(2, 7.0, 80.0, 200000))));
+        Assert.assertEquals(getFenceIds(index.findContainingFences(6.9271, 79.8612)), setOf(1, 2));
+
+        index.update(1, IndexedFence.of(getCircle(1, 7.2906, 80.6337, 1000)));
+        Assert.assertEquals(getFenceIds(index.findContainingFences(6.9271, 79.8612)), setOf(2));
+        Assert.assertEquals(getFenceIds(index.findContainingFences(7.2906, 80.6337)), setOf(1, 2));
+
+        index.remove(2);
+        Assert.assertEquals(getFenceIds(index.findContainingFences(7.2906, 80.6337)), setOf(1));
+        Assert.assertTrue(index.findContainingFences(6.9271, 79.8612).isEmpty());
+
+        index.update(1, null);
+        Assert.assertEquals(index.size(), 0);
+        Assert.assertTrue(index.findContainingFences(7.2906, 80.6337).isEmpty());
+    }
+
+    @Test(description = "Changes made before the index is loaded take precedence over the loaded fences")
+    public void testChangesBeforeLoad() {
+        TenantFenceIndex index = new TenantFenceIndex(CELL_SIZE, MAX_CELLS_PER_FENCE);
+        index.update(1, IndexedFence.of(getCircle(1, 7.2906, 80.6337, 1000)));
+        index.remove(2);
+        Assert.assertFalse(index.isLoaded());
+        index.load(Arrays.asList(IndexedFence.of(getCircle(1, 6.9271, 79.8612, 1000)),
+                IndexedFence.of(getCircle(2, 6.9271, 79.8612, 1000))));
+        Assert.assertTrue(index.isLoaded());
+        Assert.assertEquals(index.size(), 1);
+        Assert.assertEquals(getFenceIds(index.findContainingFences(7.2906, 80.6337)), setOf(1));
+        Assert.assertTrue(index.findContainingFences(6.9271, 79.8612).isEmpty());
+    }
+
+    @Test(description = "The index finds the same fences as testing every fence, also across the antimeridian")
+    public void testMatchesLinearScan() {
+        Random random = new Random(42);
+        List<IndexedFence> fences = new ArrayList<>();
+        for (int id = 1; id <= 500; id++) {
+            double latitude = -60 + random.nextDouble() * 120;
+            double longitude = id % 10 == 0 ? 179.9 + random.nextDouble() * 0.2 - 0.1
+                    : -180 + random.nextDouble() * 360;
+            GeofenceData geofenceData;
+            if (random.nextBoolean()) {
+                geofenceData = getCircle(id, latitude, Math.min(longitude, 180), 100 + random.nextInt(50000));
+            } else {
+                double size = 0.01 + random.nextDouble() * 0.5;
+                longitude = Math.max(-180, Math.min(180 - size, longitude));
+                geofenceData = getPolygon(id, "[[" + longitude + "," + latitude + "],[" + (longitude + size) + ","
+                        + latitude + "],[" + (longitude + size / 2) + "," + (latitude + size) + "]]");
+            }
+            fences.add(IndexedFence.of(geofenceData));
+        }
+        TenantFenceIndex index = new TenantFenceIndex(CELL_SIZE, MAX_CELLS_PER_FENCE);
+        index.load(fences);
+        for (int i = 0; i < 20000; i++) {
+            IndexedFence fence = fences.get(random.nextInt(fences.size()));
+            double latitude = fence.getMinLatitude()
+                    + random.nextDouble() * (fence.getMaxLatitude() - fence.getMinLatitude());
+            double longitude = fence.getMinLongitude()
+                    + random.nextDouble() * (fence.getMaxLongitude() - fence.getMinLongitude());
+            longitude = longitude > 180 ? longitude - 360 : longitude < -180 ? longitude + 360 : longitude;
+            Set<Integer> expectedFenceIds = new HashSet<>();
+            for (IndexedFence candidate : fences) {
+                if (candidate.contains(latitude, longitude)) {
+                    expectedFenceIds.add(candidate.getFenceId());
+                }
+            }
+            Assert.assertEquals(getFenceIds(index.findContainingFences(latitude, longitude)), expectedFenceIds,
+                    "Fences containing " + latitude + ", " + longitude);
+        }
+    }
+
+    private GeofenceData getCircle(int id, double latitude, double longitude, float radius) {
+        GeofenceData geofenceData = new GeofenceData();
+        geofenceData.setId(id);
+        geofenceData.setFenceShape("Circle");
+        geofenceData.setLatitude(latitude);
+        geofenceData.setLongitude(longitude);
+        geofenceData.setRadius(radius);
+        return geofenceData;
+    }
+
+    private GeofenceData getPolygon(int id, String geoJson) {
+        GeofenceData geofenceData = new GeofenceData();
+        geofenceData.setId(id);
+        geofenceData.setFenceShape("Polygon");
+        geofenceData.setGeoJson(geoJson);
+        return geofenceData;
+    }
+
+    private Set<Integer> getFenceIds(List<GeofenceData> geofences) {
+        Set<Integer> fenceIds = new HashSet<>();
+        for (GeofenceData geofenceData : geofences) {
+            fenceIds.add(geofenceData.getId());
+        }
+        return fenceIds;
+    }
+
+    private Set<Integer> setOf(Integer... fenceIds) {
+        return new HashSet<>(Arrays.asList(fenceIds));
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.geo.geoHash;
+
+import io.entgra.device.mgt.core.device.mgt.common.geo.service.GeoCoordinate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares GeoHashGenerator with the range array and StringBuilder based implementation it replaced. Not part of
+ * the test suite, run the main method from the test classpath with the profilers of choice, e.g. the gc profiler
+ * to compare the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeoHashGeneratorBenchmark {
+
+    private static final int COORDINATE_COUNT = 1024;
+
+    private final double[] latitudes = new double[COORDINATE_COUNT];
+    private final double[] longitudes = new double[COORDINATE_COUNT];
+    private final String[] geohashes = new String[COORDINATE_COUNT];
+    private final long[] packedGeohashes = new long[COORDINATE_COUNT];
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < COORDINATE_COUNT; i++) {
+            latitudes[i] = random.nextDouble() * 180 - 90;
+            longitudes[i] = random.nextDouble() * 360 - 180;
+            geohashes[i] = GeoHashGenerator.encodeGeohash(latitudes[i], longitudes[i]);
+            packedGeohashes[i] = GeoHashGenerator.encode(latitudes[i], longitudes[i],
+                    GeoHashGenerator.MAX_PACKED_PRECISION);
+        }
+    }
+
+    @Benchmark
+    public void encodeLegacy(Blackhole blackhole) {
+        for (int i = 0; i < COORDINATE_COUNT; i++) {
+            blackhole.consume(LegacyGeoHashGenerator.encodeGeohash(latitudes[i], longitudes[i]));
+        }
+    }
+
+    @Benchmark
+    public void encode(Blackhole blackhole) {
+        for (int i = 0; i < COORDINATE_COUNT; i++) {
+            blackhole.consume(GeoHashGenerator.encodeGeohash(latitudes[i], longitudes[i]));
+        }
+    }
+
+    @Benchmark
+    public void encodeBatch(Blackhole blackhole) {
+        blackhole.consume(GeoHashGenerator.encodeGeohashes(latitudes, longitudes));
+    }
+
+    @Benchmark
+    public void encodePacked(Blackhole blackhole) {
+        for (int i = 0; i < COORDINATE_COUNT; i++) {
+            blackhole.consume(GeoHashGenerator.encode(latitudes[i], longitudes[i],
+                    GeoHashGenerator.MAX_PACKED_PRECISION));
+        }
+    }
+
+    @Benchmark
+    public void decodeLegacy(Blackhole blackhole) {
+        for (int i = 0; i < COORDINATE_COUNT; i++) {
+            blackhole.consume(LegacyGeoHashGenerator.decodeGeohash(geohashes[i]));
+        }
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) {
+        for (int i = 0; i < COORDINATE_COUNT; i++) {
+            blackhole.consume(GeoHashGenerator.decodeGeohash(geohashes[i]));
+        }
+    }
+
+    @Benchmark
+    public void decodePacked(Blackhole blackhole) {
+        for (int i = 0; i < COORDINATE_COUNT; i++) {
+            blackhole.consume(GeoHashGenerator.decode(packedGeohashes[i], GeoHashGenerator.MAX_PACKED_PRECISION));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(GeoHashGeneratorBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * The implementation GeoHashGenerator had before the packed representation, kept as the benchmark baseline.
+     */
+    private static final class LegacyGeoHashGenerator {
+
+        private static final String BASE_32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+        private static final int GEOHASH_LENGTH = 16;
+
+        private static int divideRangeByValue(double value, double[] range) {
+            double mid = middle(range);
+            if (value >= mid) {
+                range[0] = mid;
+                return 1;
+            } else {
+                range[1] = mid;
+                return 0;
+            }
+        }
+
+        private static void divideRangeByBit(int bit, double[] range) {
+            double mid = middle(range);
+            if (bit > 0) {
+                range[0] = mid;
+            } else {
+                range[1] = mid;
+            }
+        }
+
+        private static double middle(double[] range) {
+            return (range[0] + range[1]) / 2;
+        }
+
+        static String encodeGeohash(double latitude, double longitude) {
+            double[] latRange = new double[]{-90.0, 90.0};
+            double[] lonRange = new double[]{-180.0, 180.0};
+            boolean isEven = true;
+            int bit = 0;
+            int base32CharIndex = 0;
+            StringBuilder geohash = new StringBuilder();
+
+            while (geohash.length() < GEOHASH_LENGTH) {
+                if (isEven) {
+                    base32CharIndex = (base32CharIndex << 1) | divideRangeByValue(longitude, lonRange);
+                } else {
+                    base32CharIndex = (base32CharIndex << 1) | divideRangeByValue(latitude, latRange);
+                }
+
+                isEven = !isEven;
+
+                if (bit < 4) {
+                    bit++;
+                } else {
+                    geohash.append(BASE_32.charAt(base32CharIndex));
+                    bit = 0;
+                    base32CharIndex = 0;
+                }
+            }
+
+            return geohash.toString();
+        }
+
+        static GeoCoordinate decodeGeohash(String geohash) {
+            double[] latRange = new double[]{-90.0, 90.0};
+            double[] lonRange = new double[]{-180.0, 180.0};
+            boolean isEvenBit = true;
+
+            for (int i = 0; i < geohash.length(); i++) {
+                int base32CharIndex = BASE_32.indexOf(geohash.charAt(i));
+                for (int j = 4; j >= 0; j--) {
+                    if (isEvenBit) {
+                        divideRangeByBit((base32CharIndex >> j) & 1, lonRange);
+                    } else {
+                        divideRangeByBit((base32CharIndex >> j) & 1, latRange);
+                    }
+                    isEvenBit = !isEvenBit;
+                }
+            }
+            return new GeoCoordinate(middle(latRange), middle(lonRange));
+        }
+    }
+}
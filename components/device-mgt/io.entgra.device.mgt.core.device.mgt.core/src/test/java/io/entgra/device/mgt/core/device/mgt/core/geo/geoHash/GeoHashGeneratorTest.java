@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.geo.geoHash;
+
+import io.entgra.device.mgt.core.device.mgt.common.geo.service.GeoCoordinate;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Unit tests for GeoHashGenerator.
+ */
+public class GeoHashGeneratorTest {
+
+    @Test(description = "Geohashes are encoded to the same strings as stored in the location tables")
+    public void testEncodeGeohash() {
+        Assert.assertEquals(GeoHashGenerator.encodeGeohash(57.64911, 10.40744), "u4pruydqqvj8pr9y");
+        Assert.assertEquals(GeoHashGenerator.encodeGeohash(6.9271, 79.8612), "tc0z3m11kc4c0c8g");
+        Assert.assertEquals(GeoHashGenerator.encodeGeohash(-33.8688, 151.2093), "r3gx2f77bn447k9j");
+        Assert.assertEquals(GeoHashGenerator.encodeGeohash(57.64911, 10.40744, 11), "u4pruydqqvj");
+        Assert.assertEquals(GeoHashGenerator.encodeGeohashes(new double[]{57.64911, 6.9271},
+                new double[]{10.40744, 79.8612}), new String[]{"u4pruydqqvj8pr9y", "tc0z3m11kc4c0c8g"});
+    }
+
+    @Test(description = "Packed geohashes match the string form at every precision")
+    public void testPackedGeohash() {
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            double latitude = random.nextDouble() * 180 - 90;
+            double longitude = random.nextDouble() * 360 - 180;
+            String geohash = GeoHashGenerator.encodeGeohash(latitude, longitude);
+            for (int precision = 1; precision <= GeoHashGenerator.MAX_PACKED_PRECISION; precision++) {
+                long packed = GeoHashGenerator.encode(latitude, longitude, precision);
+                String prefix = geohash.substring(0, precision);
+                Assert.assertEquals(GeoHashGenerator.toGeohash(packed, precision), prefix);
+                Assert.assertEquals(GeoHashGenerator.toPackedGeohash(prefix), packed);
+                GeoCoordinate center = GeoHashGenerator.decodeGeohash(prefix);
+                GeoCoordinate packedCenter = GeoHashGenerator.decode(packed, precision);
+                Assert.assertEquals(packedCenter.getLatitude(), center.getLatitude(), 0.0);
+                Assert.assertEquals(packedCenter.getLongitude(), center.getLongitude(), 0.0);
+            }
+        }
+    }
+
+    @Test(description = "Geohashes are decoded to the center of their cells")
+    public void testDecodeGeohash() {
+        GeoCoordinate coordinate = GeoHashGenerator.decodeGeohash("u4pruydqqvj");
+        Assert.assertEquals(coordinate.getLatitude(), 57.64911, 1e-6);
+        Assert.assertEquals(coordinate.getLongitude(), 10.40744, 1e-6);
+    }
+
+    @Test(description = "Invalid geohashes and precisions are rejected", expectedExceptions =
+            IllegalArgumentException.class)
+    public void testInvalidGeohash() {
+        GeoHashGenerator.toPackedGeohash("u4pa");
+    }
+
+    @Test(description = "Neighbours wrap around the antimeridian but not the poles")
+    public void testNeighbours() {
+        Assert.assertEquals(toGeohashes(GeoHashGenerator.neighbours(
+                GeoHashGenerator.toPackedGeohash("u4pruyd"), 7), 7), new HashSet<>(Arrays.asList(
+                "u4pruy3", "u4pruy6", "u4pruy7", "u4pruy9", "u4pruye", "u4pruyc", "u4pruyf", "u4pruyg")));
+        Assert.assertEquals(toGeohashes(GeoHashGenerator.neighbours(
+                GeoHashGenerator.toPackedGeohash("b"), 1), 1), new HashSet<>(Arrays.asList(
+                "x", "8", "9", "z", "c")));
+        Assert.assertEquals(GeoHashGenerator.neighbour(GeoHashGenerator.toPackedGeohash("b"), 1, 1, 0), -1);
+    }
+
+    @Test(description = "Cells covering a bounding box are enumerated, including boxes crossing the antimeridian")
+    public void testCoveringCells() {
+        Assert.assertEquals(toGeohashes(GeoHashGenerator.coveringCells(6.9, 79.8, 7.0, 79.9, 4), 4),
+                new HashSet<>(Arrays.asList("tc0x", "tc0z")));
+        Assert.assertEquals(toGeohashes(GeoHashGenerator.coveringCells(-1, 179, 1, -179, 2), 2),
+                new HashSet<>(Arrays.asList("rz", "2p", "xb", "80")));
+    }
+
+    private Set<String> toGeohashes(long[] cells, int precision) {
+        Set<String> geohashes = new HashSet<>();
+        for (long cell : cells) {
+            geohashes.add(GeoHashGenerator.toGeohash(cell, precision));
+        }
+        return geohashes;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.entgra.device.mgt.core.device.mgt.core.operation;
+
+import io.entgra.device.mgt.core.device.mgt.core.dto.operation.mgt.ConfigOperation;
+import io.entgra.device.mgt.core.device.mgt.core.dto.operation.mgt.PolicyOperation;
+import io.entgra.device.mgt.core.device.mgt.core.dto.operation.mgt.ProfileOperation;
+import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.util.CompactOperationPayloadCodec;
+import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.dao.util.OperationPayloadCodec;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * This class tests the encoding and decoding of operation payloads by {@link CompactOperationPayloadCodec}
+ */
+public class OperationPayloadCodecTest {
+
+    private final OperationPayloadCodec codec = new CompactOperationPayloadCodec(64);
+
+    @Test(description = "Round trip a short JSON payload")
+    public void testStringPayload() throws Exception {
+        String payload = "{\"policyName\":\"test\"}";
+        byte[] encoded = codec.encode(payload);
+        Assert.assertFalse(codec.isLegacy(encoded));
+        Assert.assertEquals(codec.decode(encoded), payload);
+    }
+
+    @Test(description = "Round trip a payload which exceeds the compression threshold")
+    public void testCompressedPayload() throws Exception {
+        StringBuilder payload = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            payload.append("{\"featureCode\":\"CAMERA\",\"enabled\":true}");
+        }
+        byte[] encoded = codec.encode(payload.toString());
+        Assert.assertTrue(encoded.length < payload.length());
+        Assert.assertEquals(codec.decode(encoded), payload.toString());
+    }
+
+    @Test(description = "Round trip a non string payload")
+    public void testSerializablePayload() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("key", "value");
+        Assert.assertEquals(codec.decode(codec.encode(properties)), properties);
+    }
+
+    @Test(description = "Round trip a policy operation without Java serialization")
+    public void testPolicyOperationPayload() throws Exception {
+        ProfileOperation profileOperation = new ProfileOperation();
+        profileOperation.setCode("CAMERA");
+        profileOperation.setPayLoad("{\"enabled\":false}");
+        profileOperation.setEnabled(true);
+        List<ProfileOperation> profileOperations = new ArrayList<>();
+        profileOperations.add(profileOperation);
+        PolicyOperation policyOperation = new PolicyOperation();
+        policyOperation.setCode("POLICY_BUNDLE");
+        policyOperation.setProfileOperations(profileOperations);
+        policyOperation.setPayLoad(profileOperations);
+        Properties properties = new Properties();
+        properties.setProperty("key", "value");
+        policyOperation.setProperties(properties);
+
+        byte[] encoded = codec.encode(policyOperation);
+        Assert.assertFalse(codec.isLegacy(encoded));
+        Assert.assertFalse(new String(encoded, StandardCharsets.ISO_8859_1).contains("java.io.ObjectOutputStream"));
+        PolicyOperation decoded = (PolicyOperation) codec.decode(encoded);
+        Assert.assertEquals(decoded.getCode(), "POLICY_BUNDLE");
+        Assert.assertEquals(decoded.getProperties(), properties);
+        Assert.assertEquals(decoded.getProfileOperations().size(), 1);
+        Assert.assertEquals(decoded.getProfileOperations().get(0).getPayLoad(), "{\"enabled\":false}");
+        List<?> payload = (List<?>) decoded.getPayLoad();
+        Assert.assertTrue(payload.get(0) instanceof ProfileOperation);
+        Assert.assertEquals(((ProfileOperation) payload.get(0)).getCode(), "CAMERA");
+    }
+
+    @Test(description = "Round trip a configuration property with a typed value")
+    public void testConfigPropertyPayload() throws Exception {
+        ConfigOperation.Property property = new ConfigOperation.Property("timeout", 30, Integer.class);
+        ConfigOperation.Property decoded = (ConfigOperation.Property) codec.decode(codec.encode(property));
+        Assert.assertEquals(decoded.getValue(), 30);
+        Assert.assertEquals(decoded.getType(), Integer.class);
+    }
+
+    @Test(description = "Reject payloads of an unknown version", expectedExceptions = IOException.class)
+    public void testUnknownVersion() throws Exception {
+        byte[] encoded = codec.encode("{}");
+        encoded[3] = 9;
+        codec.decode(encoded);
+    }
+
+    @Test(description = "Reject payloads tagged with a type outside the payload model",
+            expectedExceptions = IOException.class)
+    public void testDisallowedType() throws Exception {
+        OperationPayloadCodec uncompressedCodec = new CompactOperationPayloadCodec(4096);
+        byte[] encoded = uncompressedCodec.encode(Collections.singletonList("value"));
+        String json = new String(encoded, 6, encoded.length - 6, StandardCharsets.UTF_8)
+                .replace("java.lang.String", "javax.script.ScriptEngineManager");
+        ByteArrayOutputStream bao = new ByteArrayOutputStream();
+        bao.write(encoded, 0, 6);
+        bao.write(json.getBytes(StandardCharsets.UTF_8));
+        uncompressedCodec.decode(bao.toByteArray());
+    }
+
+    @Test(description = "Read payloads persisted in legacy formats")
+    public void testLegacyPayload() throws Exception {
+        ByteArrayOutputStream bao = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bao)) {
+            oos.writeObject("legacy");
+        }
+        Assert.assertTrue(codec.isLegacy(bao.toByteArray()));
+        Assert.assertEquals(codec.decode(bao.toByteArray()), "legacy");
+
+        byte[] raw = "raw".getBytes(StandardCharsets.UTF_8);
+        Assert.assertTrue(codec.isLegacy(raw));
+        Assert.assertEquals(codec.decode(raw), "raw");
+
+        byte[] rawWithHeaderPrefix = "OPERATION".getBytes(StandardCharsets.UTF_8);
+        Assert.assertTrue(codec.isLegacy(rawWithHeaderPrefix));
+        Assert.assertEquals(codec.decode(rawWithHeaderPrefix), "OPERATION");
+        Assert.assertNull(codec.decode(null));
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.push.notification.mgt;
+
+import io.entgra.device.mgt.core.device.mgt.core.config.DeviceConfigurationManager;
+import io.entgra.device.mgt.core.device.mgt.core.config.push.notification.PushNotificationConfiguration;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Unit tests for {@link PushNotificationExecutor}.
+ */
+public class PushNotificationExecutorTest {
+
+    private static final int POOL_SIZE = 1;
+    private static final int QUEUE_CAPACITY = 2;
+    private static final int RETRY_DELAY_MILLS = 100;
+    private static final int RETRY_QUEUE_CAPACITY = 2;
+    private static final long TIMEOUT_MILLS = 10000;
+
+    private PushNotificationConfiguration config;
+    private int poolSize;
+    private int queueCapacity;
+    private int retryDelayMills;
+    private int retryQueueCapacity;
+    private PushNotificationExecutor executor;
+
+    @BeforeClass
+    public void init() throws Exception {
+        DeviceConfigurationManager.getInstance().initConfig();
+        config = DeviceConfigurationManager.getInstance().getDeviceManagementConfig()
+                .getPushNotificationConfiguration();
+        poolSize = config.getExecutorPoolSize();
+        queueCapacity = config.getExecutorQueueCapacity();
+        retryDelayMills = config.getRetryDelayMills();
+        retryQueueCapacity = config.getRetryQueueCapacity();
+        config.setExecutorPoolSize(POOL_SIZE);
+        config.setExecutorQueueCapacity(QUEUE_CAPACITY);
+        config.setRetryDelayMills(RETRY_DELAY_MILLS);
+        config.setRetryQueueCapacity(RETRY_QUEUE_CAPACITY);
+    }
+
+    @AfterClass
+    public void cleanUp() {
+        config.setExecutorPoolSize(poolSize);
+        config.setExecutorQueueCapacity(queueCapacity);
+        config.setRetryDelayMills(retryDelayMills);
+        config.setRetryQueueCapacity(retryQueueCapacity);
+    }
+
+    @BeforeMethod
+    public void createExecutor() {
+        PushNotificationExecutor existingExecutor = PushNotificationExecutor.getExistingInstance();
+        if (existingExecutor != null) {
+            existingExecutor.shutdown();
+        }
+        executor = PushNotificationExecutor.getInstance();
+    }
+
+    @AfterMethod
+    public void shutdownExecutor() {
+        executor.shutdown();
+    }
+
+    @Test(description = "Notifications are rejected without blocking the caller once the queue is full")
+    public void testRejectWhenQueueFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blockingTask = () -> {
+            try {
+                release.await(TIMEOUT_MILLS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        for (int i = 0; i < POOL_SIZE + QUEUE_CAPACITY; i++) {
+            Assert.assertTrue(executor.submit(blockingTask), "Notification rejected before the queue is full");
+        }
+        Assert.assertTrue(executor.isSaturated(1));
+        Assert.assertEquals(executor.getQueueDepth(), QUEUE_CAPACITY);
+
+        Assert.assertFalse(executor.submit(blockingTask), "Notification accepted to a full queue");
+        Assert.assertEquals(executor.getRejectedCount(), 1);
+        Assert.assertEquals(executor.getSubmittedCount(), POOL_SIZE + QUEUE_CAPACITY);
+
+        release.countDown();
+        waitFor(() -> executor.getCompletedCount() == POOL_SIZE + QUEUE_CAPACITY);
+        Assert.assertFalse(executor.isSaturated(QUEUE_CAPACITY));
+        Assert.assertTrue(executor.submit(() -> { }), "Notification rejected after the queue is drained");
+    }
+
+    @Test(description = "Each notification task is counted once, either as completed or as failed")
+    public void testTaskCountedOnce() throws InterruptedException {
+        Assert.assertTrue(executor.submit(() -> {
+            executor.recordFailure();
+            executor.recordFailure();
+        }));
+        Assert.assertTrue(executor.submit(() -> {
+            throw new IllegalStateException("Simulated failure");
+        }));
+        Assert.assertTrue(executor.submit(() -> { }));
+
+        waitFor(() -> executor.getCompletedCount() + executor.getFailedCount() == 3);
+        Assert.assertEquals(executor.getFailedCount(), 2);
+        Assert.assertEquals(executor.getCompletedCount(), 1);
+
+        executor.recordFailure();
+        Assert.assertEquals(executor.getFailedCount(), 3, "Failure recorded outside of a task is not counted");
+    }
+
+    @Test(description = "Retries run after the retry delay and are shed once too many retries are pending")
+    public void testRetry() throws InterruptedException {
+        CountDownLatch retried = new CountDownLatch(1);
+        long scheduledTime = System.currentTimeMillis();
+        Assert.assertTrue(executor.scheduleRetry(retried::countDown, 1));
+        Assert.assertTrue(retried.await(TIMEOUT_MILLS, TimeUnit.MILLISECONDS), "Retry did not run");
+        Assert.assertTrue(System.currentTimeMillis() - scheduledTime >= RETRY_DELAY_MILLS,
+                "Retry ran before the retry delay");
+        Assert.assertEquals(executor.getRetryCount(), 1);
+
+        int attempt = (int) (TIMEOUT_MILLS / RETRY_DELAY_MILLS);
+        for (int i = 0; i < RETRY_QUEUE_CAPACITY; i++) {
+            Assert.assertTrue(executor.scheduleRetry(() -> { }, attempt), "Retry shed before the cap is reached");
+        }
+        Assert.assertFalse(executor.scheduleRetry(() -> { }, attempt), "Retry accepted beyond the cap");
+        Assert.assertFalse(executor.runLater(() -> { }), "Follow up task accepted beyond the cap");
+        Assert.assertEquals(executor.getShedRetryCount(), 2);
+        Assert.assertEquals(executor.getRetryQueueDepth(), RETRY_QUEUE_CAPACITY);
+
+        executor.shutdown();
+        Assert.assertFalse(executor.scheduleRetry(() -> { }, 1), "Retry accepted after shutdown");
+    }
+
+    private void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLS;
+        while (!condition.getAsBoolean()) {
+            Assert.assertTrue(System.currentTimeMillis() < deadline, "Condition is not met in time");
+            Thread.sleep(10);
+        }
+    }
+}
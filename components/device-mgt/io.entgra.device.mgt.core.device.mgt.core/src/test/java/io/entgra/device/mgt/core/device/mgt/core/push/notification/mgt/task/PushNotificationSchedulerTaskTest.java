@@ -17,8 +17,12 @@
  */
 package io.entgra.device.mgt.core.device.mgt.core.push.notification.mgt.task;
 
+import io.entgra.device.mgt.core.device.mgt.common.DeviceIdentifier;
 import io.entgra.device.mgt.core.device.mgt.common.exceptions.DeviceManagementException;
 import io.entgra.device.mgt.core.device.mgt.common.operation.mgt.OperationManagementException;
+import io.entgra.device.mgt.core.device.mgt.common.push.notification.NotificationContext;
+import io.entgra.device.mgt.core.device.mgt.common.push.notification.NotificationStrategy;
+import io.entgra.device.mgt.core.device.mgt.common.push.notification.PushNotificationConfig;
 import io.entgra.device.mgt.core.device.mgt.core.common.BaseDeviceManagementTest;
 import io.entgra.device.mgt.core.device.mgt.core.config.DeviceConfigurationManager;
 import io.entgra.device.mgt.core.device.mgt.core.dto.operation.mgt.Operation;
@@ -40,10 +44,15 @@ import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 import org.wso2.carbon.registry.core.exceptions.RegistryException;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class contains unit tests to test {@link PushNotificationSchedulerTask} class.
@@ -93,4 +102,145 @@ public class PushNotificationSchedulerTaskTest extends BaseDeviceManagementTest
             OperationManagementDAOFactory.closeConnection();
         }
     }
+
+    @Test(description = "Tests whether notifications are grouped by device type and dispatched per provider")
+    public void testDispatchGroupedByDeviceTypeAndProvider() throws Exception {
+        RecordingNotificationStrategy batchStrategy = new RecordingNotificationStrategy("PROVIDER_A", true);
+        RecordingNotificationStrategy singleStrategy = new RecordingNotificationStrategy("PROVIDER_A", false);
+        RecordingNotificationStrategy otherProviderStrategy = new RecordingNotificationStrategy("PROVIDER_B", true);
+        Mockito.doReturn(batchStrategy).when(this.deviceMgtProviderService)
+                .getNotificationStrategyByDeviceType("batchType");
+        Mockito.doReturn(singleStrategy).when(this.deviceMgtProviderService)
+                .getNotificationStrategyByDeviceType("singleType");
+        Mockito.doReturn(otherProviderStrategy).when(this.deviceMgtProviderService)
+                .getNotificationStrategyByDeviceType("otherType");
+        Mockito.doReturn(null).when(this.deviceMgtProviderService)
+                .getNotificationStrategyByDeviceType("unsupportedType");
+        Mockito.doReturn(new io.entgra.device.mgt.core.device.mgt.common.operation.mgt.Operation())
+                .when(this.deviceMgtProviderService).getOperation(Mockito.anyString(), Mockito.anyInt());
+
+        List<OperationMapping> operationMappings = new ArrayList<>();
+        operationMappings.add(getOperationMapping(1, "batchType", 1));
+        operationMappings.add(getOperationMapping(2, "batchType", 1));
+        operationMappings.add(getOperationMapping(3, "batchType", 2));
+        operationMappings.add(getOperationMapping(4, "singleType", 1));
+        operationMappings.add(getOperationMapping(5, "singleType", 1));
+        operationMappings.add(getOperationMapping(6, "otherType", 3));
+        operationMappings.add(getOperationMapping(7, "unsupportedType", 4));
+
+        PushNotificationSchedulerTask task = new PushNotificationSchedulerTask();
+        try {
+            List<PushNotificationSchedulerTask.Dispatch> dispatches = task.dispatchTenantNotifications(
+                    MultitenantConstants.SUPER_TENANT_ID, operationMappings, 2);
+            Assert.assertEquals(dispatches.size(), 4, "Notifications are not grouped into a batch per device type");
+            Map<String, Integer> dispatchedMappings = new HashMap<>();
+            for (PushNotificationSchedulerTask.Dispatch dispatch : dispatches) {
+                List<OperationMapping> sentMappings = dispatch.getFuture().get(10, TimeUnit.SECONDS);
+                Assert.assertEquals(sentMappings.size(), dispatch.getOperationMappings().size());
+                for (OperationMapping sentMapping : sentMappings) {
+                    Assert.assertEquals(sentMapping.getPushNotificationStatus(),
+                            Operation.PushNotificationStatus.COMPLETED);
+                    dispatchedMappings.merge(sentMapping.getDeviceIdentifier().getType(), 1, Integer::sum);
+                }
+            }
+            Assert.assertEquals(dispatchedMappings.get("batchType"), Integer.valueOf(3));
+            Assert.assertEquals(dispatchedMappings.get("singleType"), Integer.valueOf(2));
+            Assert.assertEquals(dispatchedMappings.get("otherType"), Integer.valueOf(1));
+            Assert.assertFalse(dispatchedMappings.containsKey("unsupportedType"));
+
+            Assert.assertEquals(batchStrategy.getBatchSizes(), Collections.singletonList(3));
+            Assert.assertEquals(batchStrategy.getNotifiedCount(), 0);
+            Assert.assertTrue(singleStrategy.getBatchSizes().isEmpty());
+            Assert.assertEquals(singleStrategy.getNotifiedCount(), 2);
+            Assert.assertEquals(otherProviderStrategy.getBatchSizes(), Collections.singletonList(1));
+            for (String threadName : batchStrategy.getThreadNames()) {
+                Assert.assertTrue(threadName.startsWith("push-notification-PROVIDER_A-"), threadName);
+            }
+            for (String threadName : singleStrategy.getThreadNames()) {
+                Assert.assertTrue(threadName.startsWith("push-notification-PROVIDER_A-"), threadName);
+            }
+            for (String threadName : otherProviderStrategy.getThreadNames()) {
+                Assert.assertTrue(threadName.startsWith("push-notification-PROVIDER_B-"), threadName);
+            }
+            Mockito.verify(this.deviceMgtProviderService, Mockito.times(1)).getOperation("batchType", 1);
+            Mockito.verify(this.deviceMgtProviderService, Mockito.times(1)).getOperation("singleType", 1);
+        } finally {
+            task.shutdown();
+        }
+    }
+
+    private OperationMapping getOperationMapping(int enrolmentId, String deviceType, int operationId) {
+        OperationMapping operationMapping = new OperationMapping();
+        operationMapping.setEnrollmentId(enrolmentId);
+        operationMapping.setOperationId(operationId);
+        operationMapping.setTenantId(MultitenantConstants.SUPER_TENANT_ID);
+        operationMapping.setDeviceIdentifier(new DeviceIdentifier("device-" + enrolmentId, deviceType));
+        operationMapping.setPushNotificationStatus(Operation.PushNotificationStatus.SCHEDULED);
+        return operationMapping;
+    }
+
+    /**
+     * Notification strategy which records the notifications sent through it.
+     */
+    private static class RecordingNotificationStrategy implements NotificationStrategy {
+
+        private final PushNotificationConfig config;
+        private final boolean batchSupported;
+        private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> threadNames = Collections.synchronizedList(new ArrayList<>());
+        private final List<NotificationContext> notifiedContexts = Collections.synchronizedList(new ArrayList<>());
+
+        RecordingNotificationStrategy(String providerType, boolean batchSupported) {
+            this.config = new PushNotificationConfig(providerType, true, new HashMap<>());
+            this.batchSupported = batchSupported;
+        }
+
+        @Override
+        public void init() {
+        }
+
+        @Override
+        public void execute(NotificationContext ctx) {
+            threadNames.add(Thread.currentThread().getName());
+            notifiedContexts.add(ctx);
+        }
+
+        @Override
+        public List<NotificationContext> executeBatch(List<NotificationContext> contexts) {
+            threadNames.add(Thread.currentThread().getName());
+            batchSizes.add(contexts.size());
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isBatchSupported() {
+            return batchSupported;
+        }
+
+        @Override
+        public NotificationContext buildContext() {
+            return null;
+        }
+
+        @Override
+        public void undeploy() {
+        }
+
+        @Override
+        public PushNotificationConfig getConfig() {
+            return config;
+        }
+
+        List<Integer> getBatchSizes() {
+            return batchSizes;
+        }
+
+        List<String> getThreadNames() {
+            return threadNames;
+        }
+
+        int getNotifiedCount() {
+            return notifiedContexts.size();
+        }
+    }
 }
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.device.mgt.core.report.mgt;
+
+import io.entgra.device.mgt.core.device.mgt.common.exceptions.EventPublishingException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for ReportingEventQueue.
+ */
+public class ReportingEventQueueTest {
+
+    private static final String DEVICE_INFO_ENDPOINT = "http://localhost:9445/event/device-info";
+    private static final String APP_USAGE_ENDPOINT = "http://localhost:9445/event/app-usage";
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Test(description = "Events queued while a request is in flight are posted together, one request per endpoint")
+    public void testBatchesPerEndpoint() throws Exception {
+        BlockingSender sender = new BlockingSender();
+        ReportingEventQueue queue = new ReportingEventQueue(sender, 1, 100, 10,
+                ReportingEventQueue.OverflowPolicy.DROP_NEWEST, 0, 1);
+        try {
+            Future<Integer> first = queue.offer(DEVICE_INFO_ENDPOINT, "{\"id\":1}");
+            Assert.assertTrue(sender.started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            List<Future<Integer>> results = new ArrayList<>();
+            results.add(queue.offer(DEVICE_INFO_ENDPOINT, "{\"id\":2}"));
+            results.add(queue.offer(APP_USAGE_ENDPOINT, "{\"id\":3}"));
+            results.add(queue.offer(DEVICE_INFO_ENDPOINT, "{\"id\":4}"));
+            Assert.assertEquals(queue.getMetrics().getQueueDepth(), 3);
+            sender.release.countDown();
+
+            Assert.assertEquals(first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).intValue(), 200);
+            for (Future<Integer> result : results) {
+                Assert.assertEquals(result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).intValue(), 200);
+            }
+            Assert.assertEquals(sender.requests, Arrays.asList(
+                    DEVICE_INFO_ENDPOINT + " [{\"id\":1}]",
+                    DEVICE_INFO_ENDPOINT + " [{\"id\":2},{\"id\":4}]",
+                    APP_USAGE_ENDPOINT + " [{\"id\":3}]"));
+            Assert.assertEquals(queue.getMetrics().getPublishedEventCount(), 4);
+            Assert.assertEquals(queue.getMetrics().getRequestCount(), 3);
+        } finally {
+            queue.shutdown();
+        }
+    }
+
+    @Test(description = "Requests are retried while the backend is unavailable, up to the maximum retries")
+    public void testRetries() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        ReportingEventQueue queue = new ReportingEventQueue((endpoint, body) ->
+                attempts.incrementAndGet() <= 2 ? 503 : 200, 1, 100, 1,
+                ReportingEventQueue.OverflowPolicy.DROP_NEWEST, 3, 1);
+        try {
+            Assert.assertEquals(queue.offer(DEVICE_INFO_ENDPOINT, "{\"id\":1}")
+                    .get(TIMEOUT_SECONDS, TimeUnit.SECONDS).intValue(), 200);
+            Assert.assertEquals(attempts.get(), 3);
+            Assert.assertEquals(queue.getMetrics().getRetryCount(), 2);
+        } finally {
+            queue.shutdown();
+        }
+
+        AtomicInteger failedAttempts = new AtomicInteger();
+        queue = new ReportingEventQueue((endpoint, body) -> {
+            failedAttempts.incrementAndGet();
+            throw new IOException("Connection reset");
+        }, 1, 100, 1, ReportingEventQueue.OverflowPolicy.DROP_NEWEST, 2, 1);
+        try {
+            assertFailed(queue.offer(DEVICE_INFO_ENDPOINT, "{\"id\":1}"));
+            Assert.assertEquals(failedAttempts.get(), 3);
+            Assert.assertEquals(queue.getMetrics().getFailedEventCount(), 1);
+        } finally {
+            queue.shutdown();
+        }
+    }
+
+    @Test(description = "A full queue drops the oldest or the newest event, or lets the caller post its event")
+    public void testOverflowPolicies() throws Exception {
+        for (ReportingEventQueue.OverflowPolicy policy : ReportingEventQueue.OverflowPolicy.values()) {
+            BlockingSender sender = new BlockingSender();
+            ReportingEventQueue queue = new ReportingEventQueue(sender, 1, 1, 1, policy, 0, 1);
+            try {
+                Future<Integer> inFlight = queue.offer(DEVICE_INFO_ENDPOINT, "{\"id\":1}");
+                Assert.assertTrue(sender.started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+                Future<Integer> queued = queue.offer(DEVICE_INFO_ENDPOINT, "{\"id\":2}");
+                Future<Integer> overflowing = queue.offer(DEVICE_INFO_ENDPOINT, "{\"id\":3}");
+                sender.release.countDown();
+
+                Assert.assertEquals(inFlight.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).intValue(), 200);
+                switch (policy) {
+                    case DROP_OLDEST:
+                        assertFailed(queued);
+                        Assert.assertEquals(overflowing.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).intValue(), 200);
+                        break;
+                    case DROP_NEWEST:
+                        Assert.assertEquals(queued.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).intValue(), 200);
+                        assertFailed(overflowing);
+                        break;
+                    default:
+                        Assert.assertTrue(overflowing.isDone(), "Overflowing event is not posted by the caller");
+                        Assert.assertEquals(overflowing.get().intValue(), 200);
+                        Assert.assertEquals(queued.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).intValue(), 200);
+                }
+                Assert.assertEquals(queue.getMetrics().getDroppedEventCount(),
+                        policy == ReportingEventQueue.OverflowPolicy.CALLER_RUNS ? 0 : 1);
+            } finally {
+                queue.shutdown();
+            }
+        }
+    }
+
+    @Test(description = "Queued events are posted before the queue shuts down and later events are dropped")
+    public void testShutdown() throws Exception {
+        BlockingSender sender = new BlockingSender();
+        ReportingEventQueue queue = new ReportingEventQueue(sender, 1, 100, 1,
+                ReportingEventQueue.OverflowPolicy.DROP_NEWEST, 0, 1);
+        Future<Integer> inFlight = queue.offer(DEVICE_INFO_ENDPOINT, "{\"id\":1}");
+        Assert.assertTrue(sender.started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        Future<Integer> queued = queue.offer(DEVICE_INFO_ENDPOINT, "{\"id\":2}");
+        sender.release.countDown();
+        queue.shutdown();
+
+        Assert.assertEquals(inFlight.get().intValue(), 200);
+        Assert.assertEquals(queued.get().intValue(), 200);
+        assertFailed(queue.offer(DEVICE_INFO_ENDPOINT, "{\"id\":3}"));
+    }
+
+    private void assertFailed(Future<Integer> result) throws Exception {
+        try {
+            result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            Assert.fail("Event is published");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof EventPublishingException);
+        }
+    }
+
+    /**
+     * Records the requests, holding back the responses to the workers until released.
+     */
+    private static class BlockingSender implements ReportingEventQueue.Sender {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public int send(String endpoint, String body) throws IOException {
+            requests.add(endpoint + " " + body);
+            if (!Thread.currentThread().getName().startsWith("reporting-publisher-")) {
+                return 200;
+            }
+            started.countDown();
+            try {
+                release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for the response", e);
+            }
+            return 200;
+        }
+    }
+}
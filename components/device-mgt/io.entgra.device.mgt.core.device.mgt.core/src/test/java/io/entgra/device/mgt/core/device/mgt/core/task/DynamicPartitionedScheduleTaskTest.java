@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.entgra.device.mgt.core.device.mgt.core.task;
+
+import io.entgra.device.mgt.core.device.mgt.common.DeviceCursor;
+import io.entgra.device.mgt.core.device.mgt.common.ServerCtxInfo;
+import io.entgra.device.mgt.core.device.mgt.common.TaskPartition;
+import io.entgra.device.mgt.core.device.mgt.core.internal.DeviceManagementDataHolder;
+import io.entgra.device.mgt.core.device.mgt.core.task.impl.DynamicPartitionedScheduleTask;
+import io.entgra.device.mgt.core.server.bootup.heartbeat.beacon.service.HeartBeatManagementService;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * This class tests whether a running {@link DynamicPartitionedScheduleTask} picks up the partition changes made by a
+ * cluster formation change.
+ */
+public class DynamicPartitionedScheduleTaskTest {
+
+    private static final String DEVICE_TYPE = "partitionedDeviceType";
+    private static final int BUCKET_COUNT = 4;
+
+    private HeartBeatManagementService previousHeartBeatService;
+    private HeartBeatManagementService heartBeatService;
+
+    @BeforeClass
+    public void init() {
+        previousHeartBeatService = DeviceManagementDataHolder.getInstance().getHeartBeatService();
+        heartBeatService = Mockito.mock(HeartBeatManagementService.class);
+        DeviceManagementDataHolder.getInstance().setHeartBeatService(heartBeatService);
+    }
+
+    @AfterClass
+    public void cleanUp() {
+        DeviceManagementDataHolder.getInstance().setHeartBeatService(previousHeartBeatService);
+    }
+
+    @Test(description = "Check whether the cursor of a running task follows the buckets handed over to other servers")
+    public void testPartitionHandover() throws Exception {
+        TaskPartition partition = new TaskPartition(BUCKET_COUNT, new int[]{0}, new int[]{1});
+        TaskPartition nextPartition = new TaskPartition(BUCKET_COUNT, new int[]{1}, new int[]{2});
+        Mockito.when(heartBeatService.isTaskPartitioningEnabled()).thenReturn(true);
+        Mockito.when(heartBeatService.getServerCtxInfo()).thenReturn(createServerCtxInfo(partition, 1));
+        PartitionedTask task = new PartitionedTask();
+        task.init();
+
+        DeviceCursor cursor = new DeviceCursor(DEVICE_TYPE);
+        task.updatePartition(cursor);
+        Assert.assertEquals(cursor.getPartition(), partition);
+
+        Mockito.when(heartBeatService.getServerCtxInfo()).thenReturn(createServerCtxInfo(nextPartition, 2));
+        task.updatePartition(cursor);
+        Assert.assertEquals(cursor.getPartition(), nextPartition, "Cursor is not moved to the new partition");
+        TaskPartition currentPartition = task.getCurrentTaskPartition();
+        Assert.assertFalse(currentPartition.owns(BUCKET_COUNT), "Bucket handed over to another server is owned");
+        Assert.assertTrue(currentPartition.owns(BUCKET_COUNT + 2), "Bucket taken over is not owned");
+    }
+
+    @Test(description = "Check whether the cursor is not partitioned when task partitioning is disabled")
+    public void testPartitioningDisabled() throws Exception {
+        Mockito.when(heartBeatService.isTaskPartitioningEnabled()).thenReturn(false);
+        PartitionedTask task = new PartitionedTask();
+        task.init();
+
+        DeviceCursor cursor = new DeviceCursor(DEVICE_TYPE);
+        task.updatePartition(cursor);
+        Assert.assertFalse(cursor.isPartitioned());
+        Assert.assertNull(task.getCurrentTaskPartition());
+    }
+
+    private ServerCtxInfo createServerCtxInfo(TaskPartition partition, long version) {
+        ServerCtxInfo ctxInfo = new ServerCtxInfo(2, 0, partition);
+        ctxInfo.setVersion(version);
+        return ctxInfo;
+    }
+
+    private static class PartitionedTask extends DynamicPartitionedScheduleTask {
+
+        @Override
+        protected void setup() {
+        }
+
+        @Override
+        protected void executeDynamicTask() {
+        }
+
+        @Override
+        public TaskPartition getCurrentTaskPartition() {
+            return super.getCurrentTaskPartition();
+        }
+
+        @Override
+        public void updatePartition(DeviceCursor cursor) {
+            super.updatePartition(cursor);
+        }
+    }
+}
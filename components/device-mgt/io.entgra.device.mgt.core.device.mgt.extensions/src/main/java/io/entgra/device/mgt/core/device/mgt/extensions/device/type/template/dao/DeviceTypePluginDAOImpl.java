@@ -91,6 +91,46 @@ public class DeviceTypePluginDAOImpl implements PluginDAO {
         return device;
     }
 
+    @Override
+    public List<Device> getDevices(List<String> deviceIds) throws DeviceTypeMgtPluginException {
+        List<Device> devices = new ArrayList<>();
+        if (deviceIds.isEmpty()) {
+            return devices;
+        }
+        String query = selectDBQueryToGetAllDevice + " WHERE " + deviceDAODefinition.getPrimaryKey() + " IN ("
+                + getPreparedInputString(deviceIds.size()) + ")";
+        try {
+            Connection conn = deviceTypeDAOHandler.getConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                int index = 1;
+                for (String deviceId : deviceIds) {
+                    stmt.setString(index++, deviceId);
+                }
+                try (ResultSet resultSet = stmt.executeQuery()) {
+                    while (resultSet.next()) {
+                        Device device = new Device();
+                        device.setDeviceIdentifier(resultSet.getString(deviceDAODefinition.getPrimaryKey()));
+                        List<Device.Property> properties = new ArrayList<>();
+                        for (String columnName : deviceDAODefinition.getColumnNames()) {
+                            Device.Property property = new Device.Property();
+                            property.setName(columnName);
+                            property.setValue(resultSet.getString(columnName));
+                            properties.add(property);
+                        }
+                        device.setProperties(properties);
+                        devices.add(device);
+                    }
+                }
+            }
+            return devices;
+        } catch (SQLException e) {
+            String msg = "Error occurred while fetching " + deviceIds.size() + " devices from " +
+                    deviceDAODefinition.getDeviceTableName();
+            log.error(msg, e);
+            throw new DeviceTypeMgtPluginException(msg, e);
+        }
+    }
+
     public boolean addDevice(Device device) throws DeviceTypeMgtPluginException {
         boolean status = false;
         Connection conn = null;
@@ -27,6 +27,8 @@ public interface PluginDAO {
 
     Device getDevice(String deviceId) throws DeviceTypeMgtPluginException;
 
+    List<Device> getDevices(List<String> deviceIds) throws DeviceTypeMgtPluginException;
+
     boolean addDevice(Device device) throws DeviceTypeMgtPluginException;
 
     boolean updateDevice(Device device) throws DeviceTypeMgtPluginException;
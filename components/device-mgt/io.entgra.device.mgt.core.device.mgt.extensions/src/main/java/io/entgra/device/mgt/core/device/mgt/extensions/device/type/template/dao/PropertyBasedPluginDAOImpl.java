@@ -31,6 +31,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.StringJoiner;
 
 /**
  * Implements CRUD for Devices. This holds the generic implementation. An instance of this will be created for
@@ -91,6 +92,52 @@ public class PropertyBasedPluginDAOImpl implements PluginDAO {
         return device;
     }
 
+    @Override
+    public List<Device> getDevices(List<String> deviceIds) throws DeviceTypeMgtPluginException {
+        Map<String, Device> deviceMap = new HashMap<>();
+        if (deviceIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        StringJoiner joiner = new StringJoiner(", ", "SELECT DEVICE_IDENTIFICATION, PROPERTY_NAME, PROPERTY_VALUE " +
+                "FROM DM_DEVICE_PROPERTIES WHERE DEVICE_TYPE_NAME = ? AND TENANT_ID = ? AND DEVICE_IDENTIFICATION " +
+                "IN (", ")");
+        for (int i = 0; i < deviceIds.size(); i++) {
+            joiner.add("?");
+        }
+        try {
+            Connection conn = deviceTypeDAOHandler.getConnection();
+            try (PreparedStatement stmt = conn.prepareStatement(joiner.toString())) {
+                int index = 1;
+                stmt.setString(index++, deviceType);
+                stmt.setInt(index++, PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId(true));
+                for (String deviceId : deviceIds) {
+                    stmt.setString(index++, deviceId);
+                }
+                try (ResultSet resultSet = stmt.executeQuery()) {
+                    while (resultSet.next()) {
+                        String deviceId = resultSet.getString("DEVICE_IDENTIFICATION");
+                        Device device = deviceMap.computeIfAbsent(deviceId, k -> {
+                            Device newDevice = new Device();
+                            newDevice.setDeviceIdentifier(k);
+                            newDevice.setType(deviceType);
+                            newDevice.setProperties(new ArrayList<>());
+                            return newDevice;
+                        });
+                        Device.Property property = new Device.Property();
+                        property.setName(resultSet.getString(PROPERTY_KEY_COLUMN_NAME));
+                        property.setValue(resultSet.getString(PROPERTY_VALUE_COLUMN_NAME));
+                        device.getProperties().add(property);
+                    }
+                }
+            }
+            return new ArrayList<>(deviceMap.values());
+        } catch (SQLException e) {
+            String msg = "Error occurred while fetching " + deviceIds.size() + " devices of type " + deviceType;
+            log.error(msg, e);
+            throw new DeviceTypeMgtPluginException(msg, e);
+        }
+    }
+
     public boolean addDevice(Device device) throws DeviceTypeMgtPluginException {
         boolean status = false;
         Connection conn = null;
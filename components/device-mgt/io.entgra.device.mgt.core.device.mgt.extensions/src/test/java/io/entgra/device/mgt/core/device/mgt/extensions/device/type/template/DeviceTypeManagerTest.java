@@ -47,6 +47,7 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -158,6 +159,24 @@ public class DeviceTypeManagerTest {
                 "GetDevice call" + " failed in custom deviceTypeManager");
     }
 
+    @Test(description = "This test case tests the getDevices method of the DeviceTypeManager", dependsOnMethods =
+            {"testEnrollDevice"})
+    public void testGetDevices() throws DeviceManagementException {
+        List<Device> devices = androidDeviceTypeManager.getDevices(Arrays.asList(nonExistingDeviceIdentifier,
+                new DeviceIdentifier(sampleDevice2.getDeviceIdentifier(), androidDeviceType)));
+        Assert.assertEquals(devices.size(), 1, "Non existing sampleDevice was retrieved or existing sampleDevice " +
+                "was not retrieved");
+        Assert.assertEquals(devices.get(0).getDeviceIdentifier(), sampleDevice2.getDeviceIdentifier(),
+                "Existing sampleDevice was not retrieved");
+        devices = customDeviceTypeManager.getDevices(Collections.singletonList(
+                new DeviceIdentifier(customDeviceType, customDeviceType)));
+        Assert.assertEquals(devices.size(), 1, "GetDevices call failed in custom deviceTypeManager");
+        Assert.assertEquals(devices.get(0).getProperties().size(), 2,
+                "GetDevices call did not fetch the properties in custom deviceTypeManager");
+        Assert.assertTrue(androidDeviceTypeManager.getDevices(Collections.emptyList()).isEmpty(),
+                "Devices were retrieved for an empty list of identifiers");
+    }
+
     @Test(description = "This test case tests the enrollment of the device")
     public void testEnrollDevice() throws DeviceManagementException {
         Assert.assertTrue(androidDeviceTypeManager.enrollDevice(sampleDevice1), "New android device enrollment failed");
@@ -37,11 +37,16 @@ import java.util.List;
 @XmlRootElement(name = "HeartBeatBeaconConfig")
 public class HeartBeatBeaconConfig {
 
+    public static final int DEFAULT_PARTITION_BUCKET_COUNT = 1024;
+    public static final int DEFAULT_VIRTUAL_NODES_PER_SERVER = 32;
+
     private boolean enabled;
     private int notifierFrequency;
     private int notifierDelay;
     private int serverTimeOutIntervalInSeconds;
     private int timeSkew;
+    private int partitionBucketCount = DEFAULT_PARTITION_BUCKET_COUNT;
+    private int virtualNodesPerServer = DEFAULT_VIRTUAL_NODES_PER_SERVER;
     private DataSourceConfig dataSourceConfig;
 
     private static HeartBeatBeaconConfig config;
@@ -100,6 +105,29 @@ public class HeartBeatBeaconConfig {
         this.serverTimeOutIntervalInSeconds = serverTimeOutIntervalInSeconds;
     }
 
+    /**
+     * Number of buckets the devices are spread across for dynamic task partitioning. Buckets are allocated to the
+     * active servers through a consistent hash ring. A value of zero or less falls back to allocating the devices
+     * by the modulo of the active server count.
+     */
+    @XmlElement(name = "PartitionBucketCount")
+    public int getPartitionBucketCount() {
+        return partitionBucketCount;
+    }
+
+    public void setPartitionBucketCount(int partitionBucketCount) {
+        this.partitionBucketCount = partitionBucketCount;
+    }
+
+    @XmlElement(name = "VirtualNodesPerServer")
+    public int getVirtualNodesPerServer() {
+        return virtualNodesPerServer;
+    }
+
+    public void setVirtualNodesPerServer(int virtualNodesPerServer) {
+        this.virtualNodesPerServer = virtualNodesPerServer;
+    }
+
     @XmlElement(name = "DataSourceConfiguration", required = true)
     public DataSourceConfig getDataSourceConfig() {
         return dataSourceConfig;
@@ -222,15 +222,18 @@ public class GenericHeartBeatDAOImpl implements HeartBeatDAO {
         Map<String, ServerContext> ctxList = new HashMap<>();
         try {
             Connection conn = HeartBeatBeaconDAOFactory.getConnection();
-            String sql = "SELECT (@row_number:=@row_number + 1) AS IDX, UUID, HOST_NAME, SERVER_PORT from " +
-                         "SERVER_HEART_BEAT_EVENTS, (SELECT @row_number:=-1) AS TEMP " +
+            String sql = "SELECT UUID, HOST_NAME, SERVER_PORT FROM SERVER_HEART_BEAT_EVENTS " +
                          "WHERE LAST_UPDATED_TIMESTAMP > ? " +
                          "ORDER BY UUID";
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                 stmt.setTimestamp(1, new Timestamp(System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(elapsedTimeInSeconds)));
                 try (ResultSet resultSet = stmt.executeQuery()) {
+                    // servers are indexed by their position in the UUID order
+                    int index = 0;
                     while (resultSet.next()) {
-                        ctxList.put(resultSet.getString("UUID"), HeartBeatBeaconDAOUtil.populateContext(resultSet));
+                        ServerContext ctx = HeartBeatBeaconDAOUtil.populateContext(resultSet);
+                        ctx.setIndex(index++);
+                        ctxList.put(ctx.getUuid(), ctx);
                     }
                 }
             }
@@ -84,7 +84,6 @@ public final class HeartBeatBeaconDAOUtil {
 
     public static ServerContext populateContext(ResultSet resultSet) throws SQLException {
         ServerContext ctx = new ServerContext();
-        ctx.setIndex(resultSet.getInt("IDX"));
         ctx.setUuid(resultSet.getString("UUID"));
         ctx.setHostName(resultSet.getString("HOST_NAME"));
         ctx.setCarbonServerPort(resultSet.getInt("SERVER_PORT"));
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.server.bootup.heartbeat.beacon.dto;
+
+import io.entgra.device.mgt.core.device.mgt.common.TaskPartition;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the active servers of the cluster, as seen by the local server on its last heart beat.
+ * The version only changes when servers join or leave the cluster, so a consumer can tell whether the cluster
+ * formation changed by comparing versions.
+ */
+public class ActiveServerView {
+
+    private final long version;
+    private final Map<String, ServerContext> servers;
+    private final TaskPartition localTaskPartition;
+    private final long refreshedTime;
+
+    public ActiveServerView(long version, Map<String, ServerContext> servers, TaskPartition localTaskPartition,
+                            long refreshedTime) {
+        this.version = version;
+        this.servers = Collections.unmodifiableMap(new HashMap<>(servers));
+        this.localTaskPartition = localTaskPartition;
+        this.refreshedTime = refreshedTime;
+    }
+
+    /**
+     * @param refreshedTime time the unchanged set of active servers was confirmed at.
+     * @return view of the same version, marked as refreshed at the given time.
+     */
+    public ActiveServerView refreshedAt(long refreshedTime) {
+        return new ActiveServerView(version, servers, localTaskPartition, refreshedTime);
+    }
+
+    /**
+     * @param activeServers active servers keyed by UUID.
+     * @return true if the given servers are the servers of this view.
+     */
+    public boolean hasSameServers(Map<String, ServerContext> activeServers) {
+        return servers.keySet().equals(activeServers.keySet());
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return active servers keyed by UUID.
+     */
+    public Map<String, ServerContext> getServers() {
+        return servers;
+    }
+
+    public int getActiveServerCount() {
+        return servers.size();
+    }
+
+    public ServerContext getServer(String uuid) {
+        return servers.get(uuid);
+    }
+
+    /**
+     * @return device buckets allocated to the local server, or null if the local server is not active.
+     */
+    public TaskPartition getLocalTaskPartition() {
+        return localTaskPartition;
+    }
+
+    public long getRefreshedTime() {
+        return refreshedTime;
+    }
+}
@@ -85,6 +85,7 @@ public class HeartBeatExecutor implements ServerStartupObserver {
                 public void run() {
                     try {
                         recordHeartBeat(designatedUUID);
+                        refreshActiveServerView(cumulativeTimeOut);
                         electDynamicTaskExecutionCandidate(cumulativeTimeOut);
                         notifyClusterFormationChanged(cumulativeTimeOut);
                     } catch (Exception e) {
@@ -111,6 +112,11 @@ public class HeartBeatExecutor implements ServerStartupObserver {
         HeartBeatBeaconDataHolder.getInstance().getHeartBeatManagementService().recordHeartBeat(new HeartBeatEvent(uuid));
     }
 
+    static void refreshActiveServerView(int cumulativeTimeOut) throws HeartBeatManagementException {
+        HeartBeatBeaconDataHolder.getInstance().getHeartBeatManagementService()
+                .refreshActiveServerView(cumulativeTimeOut);
+    }
+
     static void electDynamicTaskExecutionCandidate(int cumulativeTimeOut)
             throws HeartBeatManagementException {
         HeartBeatBeaconDataHolder.getInstance().getHeartBeatManagementService().electCandidate(cumulativeTimeOut);
@@ -17,9 +17,24 @@
  */
 package io.entgra.device.mgt.core.server.bootup.heartbeat.beacon.service;
 
+import io.entgra.device.mgt.core.device.mgt.common.TaskPartition;
+
 public interface ClusterFormationChangedNotifier {
 
     String getType();
 
     void notifyClusterFormationChanged(int hashIndex, int activeServerCount);
+
+    /**
+     * Notifies that the device buckets allocated to the local server changed. Buckets of the previous partition
+     * which are not in the current one have been handed over to other servers, so work in progress on them should
+     * be wrapped up, while buckets only found in the current partition have been taken over from other servers.
+     * Dynamic partitioned tasks do not rely on this notification, as they re-read the partition of the server while
+     * running and hand the moved buckets over themselves.
+     *
+     * @param previous buckets allocated before the change, or null on the first allocation.
+     * @param current buckets allocated after the change.
+     */
+    default void notifyTaskPartitionChanged(TaskPartition previous, TaskPartition current) {
+    }
 }
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.server.bootup.heartbeat.beacon.service;
+
+import io.entgra.device.mgt.core.device.mgt.common.TaskPartition;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Allocates the device buckets of dynamic task partitioning to the active servers through a consistent hash ring.
+ * Each server is placed on the ring at a number of virtual node positions derived from its UUID, and a bucket
+ * belongs to the server of the first virtual node at or after the position of the bucket. When a server joins or
+ * leaves the cluster only the buckets next to its virtual nodes change owners, and because the positions depend on
+ * nothing but the UUIDs, every node computes the same allocation from the same set of active servers.
+ */
+public class ConsistentHashPartitioner {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int bucketCount;
+    private final int virtualNodesPerServer;
+
+    private List<String> lastServers = Collections.emptyList();
+    private Map<String, TaskPartition> lastPartitions = Collections.emptyMap();
+
+    public ConsistentHashPartitioner(int bucketCount, int virtualNodesPerServer) {
+        if (bucketCount <= 0) {
+            throw new IllegalArgumentException("Bucket count must be positive, but was " + bucketCount);
+        }
+        if (virtualNodesPerServer <= 0) {
+            throw new IllegalArgumentException("Virtual node count must be positive, but was "
+                    + virtualNodesPerServer);
+        }
+        this.bucketCount = bucketCount;
+        this.virtualNodesPerServer = virtualNodesPerServer;
+    }
+
+    public int getBucketCount() {
+        return bucketCount;
+    }
+
+    public int getVirtualNodesPerServer() {
+        return virtualNodesPerServer;
+    }
+
+    /**
+     * @param serverUUIDs UUIDs of the active servers.
+     * @param serverUUID UUID of the server to resolve the partition of.
+     * @return buckets allocated to the server, or null if the server is not one of the active servers.
+     */
+    public TaskPartition getPartition(Collection<String> serverUUIDs, String serverUUID) {
+        return partition(serverUUIDs).get(serverUUID);
+    }
+
+    /**
+     * Allocates the buckets to the given servers. The allocation of the last set of servers is kept, so that
+     * resolving the partitions on every task run costs nothing while the cluster formation is unchanged.
+     *
+     * @param serverUUIDs UUIDs of the active servers.
+     * @return buckets allocated to each server, keyed by server UUID.
+     */
+    public synchronized Map<String, TaskPartition> partition(Collection<String> serverUUIDs) {
+        List<String> servers = new ArrayList<>(new TreeSet<>(serverUUIDs));
+        if (!servers.equals(lastServers)) {
+            lastPartitions = Collections.unmodifiableMap(allocate(servers));
+            lastServers = servers;
+        }
+        return lastPartitions;
+    }
+
+    private Map<String, TaskPartition> allocate(List<String> servers) {
+        Map<String, TaskPartition> partitions = new HashMap<>();
+        if (servers.isEmpty()) {
+            return partitions;
+        }
+        int nodeCount = servers.size() * virtualNodesPerServer;
+        long[] positions = new long[nodeCount];
+        int[] owners = new int[nodeCount];
+        Integer[] order = new Integer[nodeCount];
+        for (int server = 0; server < servers.size(); server++) {
+            for (int node = 0; node < virtualNodesPerServer; node++) {
+                int i = server * virtualNodesPerServer + node;
+                positions[i] = hash(servers.get(server) + "#" + node);
+                owners[i] = server;
+                order[i] = i;
+            }
+        }
+        // ties are broken by the server UUID order, so the ring is the same on every node
+        Arrays.sort(order, (a, b) -> positions[a] != positions[b] ? Long.compare(positions[a], positions[b])
+                : Integer.compare(owners[a], owners[b]));
+
+        int[] bucketOwners = new int[bucketCount];
+        long step = Long.divideUnsigned(-1L, bucketCount);
+        int node = 0;
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            long bucketPosition = Long.MIN_VALUE + bucket * step;
+            while (node < nodeCount && positions[order[node]] < bucketPosition) {
+                node++;
+            }
+            // buckets past the last virtual node wrap around to the first one
+            bucketOwners[bucket] = owners[order[node < nodeCount ? node : 0]];
+        }
+
+        List<List<int[]>> ranges = new ArrayList<>();
+        for (int server = 0; server < servers.size(); server++) {
+            ranges.add(new ArrayList<>());
+        }
+        int start = 0;
+        for (int bucket = 1; bucket <= bucketCount; bucket++) {
+            if (bucket == bucketCount || bucketOwners[bucket] != bucketOwners[start]) {
+                ranges.get(bucketOwners[start]).add(new int[]{start, bucket - 1});
+                start = bucket;
+            }
+        }
+        for (int server = 0; server < servers.size(); server++) {
+            List<int[]> serverRanges = ranges.get(server);
+            int[] starts = new int[serverRanges.size()];
+            int[] ends = new int[serverRanges.size()];
+            for (int i = 0; i < serverRanges.size(); i++) {
+                starts[i] = serverRanges.get(i)[0];
+                ends[i] = serverRanges.get(i)[1];
+            }
+            partitions.put(servers.get(server), new TaskPartition(bucketCount, starts, ends));
+        }
+        return partitions;
+    }
+
+    /**
+     * 64 bit FNV-1a hash of the key, followed by the MurmurHash3 finalizer to spread the bits of similar keys over
+     * the whole ring.
+     */
+    static long hash(String key) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
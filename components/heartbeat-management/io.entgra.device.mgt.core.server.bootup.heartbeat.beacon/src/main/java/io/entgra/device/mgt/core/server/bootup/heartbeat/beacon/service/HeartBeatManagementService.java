@@ -19,6 +19,7 @@
 package io.entgra.device.mgt.core.server.bootup.heartbeat.beacon.service;
 
 import io.entgra.device.mgt.core.device.mgt.common.ServerCtxInfo;
+import io.entgra.device.mgt.core.server.bootup.heartbeat.beacon.dto.ActiveServerView;
 import io.entgra.device.mgt.core.server.bootup.heartbeat.beacon.dto.HeartBeatEvent;
 import io.entgra.device.mgt.core.server.bootup.heartbeat.beacon.dto.ServerContext;
 import io.entgra.device.mgt.core.server.bootup.heartbeat.beacon.exception.HeartBeatManagementException;
@@ -43,4 +44,23 @@ public interface HeartBeatManagementService {
     boolean isQualifiedToExecuteTask() throws HeartBeatManagementException;
 
     Map<Integer, ServerContext> getActiveServers() throws HeartBeatManagementException;
+
+    /**
+     * Returns the locally cached view of the active servers without going to the database, unless the view was
+     * not refreshed within the last two heart beat intervals.
+     *
+     * @return view of the active servers.
+     * @throws HeartBeatManagementException if the view had to be reloaded and could not be.
+     */
+    ActiveServerView getActiveServerView() throws HeartBeatManagementException;
+
+    /**
+     * Reloads the active servers from the database. The version of the view is only changed if servers joined or
+     * left the cluster since the last refresh.
+     *
+     * @param elapsedTimeInSeconds time since the last heart beat of a server for it to be considered active.
+     * @return refreshed view of the active servers.
+     * @throws HeartBeatManagementException if the active servers could not be loaded.
+     */
+    ActiveServerView refreshActiveServerView(int elapsedTimeInSeconds) throws HeartBeatManagementException;
 }
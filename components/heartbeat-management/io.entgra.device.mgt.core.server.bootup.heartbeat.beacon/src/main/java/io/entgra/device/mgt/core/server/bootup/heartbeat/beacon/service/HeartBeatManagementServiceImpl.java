@@ -19,11 +19,13 @@
 package io.entgra.device.mgt.core.server.bootup.heartbeat.beacon.service;
 
 import io.entgra.device.mgt.core.device.mgt.common.ServerCtxInfo;
+import io.entgra.device.mgt.core.device.mgt.common.TaskPartition;
 import io.entgra.device.mgt.core.device.mgt.common.exceptions.TransactionManagementException;
 import io.entgra.device.mgt.core.server.bootup.heartbeat.beacon.config.HeartBeatBeaconConfig;
 import io.entgra.device.mgt.core.server.bootup.heartbeat.beacon.dao.HeartBeatBeaconDAOFactory;
 import io.entgra.device.mgt.core.server.bootup.heartbeat.beacon.dao.HeartBeatDAO;
 import io.entgra.device.mgt.core.server.bootup.heartbeat.beacon.dao.exception.HeartBeatDAOException;
+import io.entgra.device.mgt.core.server.bootup.heartbeat.beacon.dto.ActiveServerView;
 import io.entgra.device.mgt.core.server.bootup.heartbeat.beacon.dto.ElectedCandidate;
 import io.entgra.device.mgt.core.server.bootup.heartbeat.beacon.dto.HeartBeatEvent;
 import io.entgra.device.mgt.core.server.bootup.heartbeat.beacon.dto.ServerContext;
@@ -43,9 +45,14 @@ public class HeartBeatManagementServiceImpl implements HeartBeatManagementServic
 
     private final HeartBeatDAO heartBeatDAO;
 
-    private static int lastActiveCount = -1;
-    private static int lastHashIndex = -1;
+    private static final int DEFAULT_NOTIFIER_FREQUENCY = 5;
+    private static final Object VIEW_LOCK = new Object();
+
+    private static long lastNotifiedVersion = -1;
+    private static TaskPartition lastPartition = null;
     private static volatile boolean isQualified = false;
+    private static volatile ConsistentHashPartitioner partitioner;
+    private static volatile ActiveServerView activeServerView;
 
     public HeartBeatManagementServiceImpl() {
         this.heartBeatDAO = HeartBeatBeaconDAOFactory.getHeartBeatDAO();
@@ -54,34 +61,15 @@ public class HeartBeatManagementServiceImpl implements HeartBeatManagementServic
 
     @Override
     public ServerCtxInfo getServerCtxInfo() throws HeartBeatManagementException {
-        int hashIndex;
-        ServerContext localServerCtx;
         ServerCtxInfo serverCtxInfo = null;
         if (HeartBeatBeaconConfig.getInstance().isEnabled()) {
-            try {
-                HeartBeatBeaconDAOFactory.openConnection();
-                int timeOutIntervalInSeconds = HeartBeatBeaconConfig.getInstance().getServerTimeOutIntervalInSeconds();
-                int timeSkew = HeartBeatBeaconConfig.getInstance().getTimeSkew();
-                int cumulativeTimeOut = timeOutIntervalInSeconds + timeSkew;
-                String localServerUUID = HeartBeatBeaconDataHolder.getInstance().getLocalServerUUID();
-                Map<String, ServerContext> serverCtxMap = heartBeatDAO.getActiveServerDetails(cumulativeTimeOut);
-                if (!serverCtxMap.isEmpty()) {
-                    localServerCtx = serverCtxMap.get(localServerUUID);
-                    if (localServerCtx != null) {
-                        hashIndex = localServerCtx.getIndex();
-                        serverCtxInfo = new ServerCtxInfo(serverCtxMap.size(), hashIndex);
-                    }
-                }
-            } catch (SQLException e) {
-                String msg = "Error occurred while opening a connection to the underlying data source";
-                log.error(msg, e);
-                throw new HeartBeatManagementException(msg, e);
-            } catch (HeartBeatDAOException e) {
-                String msg = "Error occurred while retrieving active server count.";
-                log.error(msg, e);
-                throw new HeartBeatManagementException(msg, e);
-            } finally {
-                HeartBeatBeaconDAOFactory.closeConnection();
+            ActiveServerView view = getActiveServerView();
+            String localServerUUID = HeartBeatBeaconDataHolder.getInstance().getLocalServerUUID();
+            ServerContext localServerCtx = view.getServer(localServerUUID);
+            if (localServerCtx != null) {
+                serverCtxInfo = new ServerCtxInfo(view.getActiveServerCount(), localServerCtx.getIndex(),
+                        view.getLocalTaskPartition());
+                serverCtxInfo.setVersion(view.getVersion());
             }
         } else {
             String msg = "Heart Beat Configuration Disabled. Server Context Information Not available.";
@@ -190,10 +178,10 @@ public class HeartBeatManagementServiceImpl implements HeartBeatManagementServic
     @Override
     public void electCandidate(int elapsedTimeInSeconds) throws HeartBeatManagementException {
         if (HeartBeatBeaconConfig.getInstance().isEnabled()) {
+            Map<String, ServerContext> servers = getActiveServerView(elapsedTimeInSeconds).getServers();
             try {
                 HeartBeatBeaconDAOFactory.beginTransaction();
-                Map<String, ServerContext> servers = heartBeatDAO.getActiveServerDetails(elapsedTimeInSeconds);
-                if (servers != null && !servers.isEmpty()) {
+                if (!servers.isEmpty()) {
                     ElectedCandidate presentCandidate = heartBeatDAO.retrieveCandidate();
                     if (presentCandidate != null) {
                         //if candidate is older than stipulated elapsed-time, purge and re-elect
@@ -242,52 +230,46 @@ public class HeartBeatManagementServiceImpl implements HeartBeatManagementServic
     @Override
     public void notifyClusterFormationChanged(int elapsedTimeInSeconds) throws HeartBeatManagementException {
         if (HeartBeatBeaconConfig.getInstance().isEnabled()) {
-            try {
-                HeartBeatBeaconDAOFactory.beginTransaction();
-                Map<String, ServerContext> servers = heartBeatDAO.getActiveServerDetails(elapsedTimeInSeconds);
-                HeartBeatBeaconDAOFactory.commitTransaction();
-                if (servers != null && !servers.isEmpty()) {
-                    String serverUUID = HeartBeatBeaconDataHolder.getInstance().getLocalServerUUID();
-                    ServerContext serverContext = servers.get(serverUUID);
+            ActiveServerView view = getActiveServerView(elapsedTimeInSeconds);
+            String serverUUID = HeartBeatBeaconDataHolder.getInstance().getLocalServerUUID();
+            ServerContext serverContext = view.getServer(serverUUID);
+            if (log.isDebugEnabled()) {
+                log.debug("ActiveServerView version (previous, current) : " + lastNotifiedVersion + ", "
+                        + view.getVersion());
+            }
+            // the version of the view only changes when servers join or leave the cluster
+            if (serverContext != null && view.getVersion() != lastNotifiedVersion) {
+                TaskPartition previousPartition = lastPartition;
+                TaskPartition partition = view.getLocalTaskPartition();
+                boolean partitionChanged = partition != null && !partition.equals(previousPartition);
+                lastNotifiedVersion = view.getVersion();
+                lastPartition = partition;
+                int hashIndex = serverContext.getIndex();
+                int activeServerCount = view.getActiveServerCount();
+                if (log.isDebugEnabled()) {
+                    log.debug("HashIndex : " + hashIndex + ", ActiveServerCount : " + activeServerCount);
+                    log.debug("TaskPartition (previous, current) : " + previousPartition + ", " + partition);
+                }
 
-                    if (log.isDebugEnabled()) {
-                        log.debug("HashIndex (previous, current) : " + lastHashIndex + ", " + serverContext.getIndex());
-                        log.debug("ActiveServerCount (previous, current) : " + lastActiveCount + ", " + servers.size());
-                    }
-                    // cluster change can be identified, either by changing hash index or changing active server count
-                    if ((lastHashIndex != serverContext.getIndex()) || (lastActiveCount != servers.size())) {
-                        lastHashIndex = serverContext.getIndex();
-                        lastActiveCount = servers.size();
-
-                        ClusterFormationChangedNotifierRepository repository = HeartBeatBeaconDataHolder.getInstance()
-                                .getClusterFormationChangedNotifierRepository();
-                        Map<String, ClusterFormationChangedNotifier> notifiers = repository.getNotifiers();
-                        for (String type : notifiers.keySet()) {
-                            ClusterFormationChangedNotifier notifier = notifiers.get(type);
-                            Runnable r = new Runnable() {
-                                @Override
-                                public void run() {
-                                    if (log.isDebugEnabled()) {
-                                        log.debug("notify cluster formation changed : " + notifier.getType());
-                                    }
-                                    notifier.notifyClusterFormationChanged(lastHashIndex, lastActiveCount);
-                                }
-                            };
-                            new Thread(r).start();
+                ClusterFormationChangedNotifierRepository repository = HeartBeatBeaconDataHolder.getInstance()
+                        .getClusterFormationChangedNotifierRepository();
+                Map<String, ClusterFormationChangedNotifier> notifiers = repository.getNotifiers();
+                for (String type : notifiers.keySet()) {
+                    ClusterFormationChangedNotifier notifier = notifiers.get(type);
+                    Runnable r = new Runnable() {
+                        @Override
+                        public void run() {
+                            if (log.isDebugEnabled()) {
+                                log.debug("notify cluster formation changed : " + notifier.getType());
+                            }
+                            notifier.notifyClusterFormationChanged(hashIndex, activeServerCount);
+                            if (partitionChanged) {
+                                notifier.notifyTaskPartitionChanged(previousPartition, partition);
+                            }
                         }
-                    }
+                    };
+                    new Thread(r).start();
                 }
-            } catch (HeartBeatDAOException e) {
-                String msg = "Error occurred while notifyClusterFormationChanged.";
-                log.error(msg, e);
-                throw new HeartBeatManagementException(msg, e);
-            } catch (TransactionManagementException e) {
-                HeartBeatBeaconDAOFactory.rollbackTransaction();
-                String msg = "Error occurred while electing candidate for dynamic task execution. Issue in opening a connection to the underlying data source";
-                log.error(msg, e);
-                throw new HeartBeatManagementException(msg, e);
-            } finally {
-                HeartBeatBeaconDAOFactory.closeConnection();
             }
         } else {
             String msg = "Heart Beat Configuration Disabled. Error while notifyClusterFormationChanged.";
@@ -296,6 +278,117 @@ public class HeartBeatManagementServiceImpl implements HeartBeatManagementServic
         }
     }
 
+    @Override
+    public ActiveServerView getActiveServerView() throws HeartBeatManagementException {
+        HeartBeatBeaconConfig config = HeartBeatBeaconConfig.getInstance();
+        return getActiveServerView(config.getServerTimeOutIntervalInSeconds() + config.getTimeSkew());
+    }
+
+    /**
+     * Returns the cached view of the active servers. The view is refreshed on every heart beat, so it is only
+     * loaded here when no heart beat refreshed it in the last two heart beat intervals.
+     */
+    private ActiveServerView getActiveServerView(int elapsedTimeInSeconds) throws HeartBeatManagementException {
+        ActiveServerView view = activeServerView;
+        if (view != null && !isStale(view)) {
+            return view;
+        }
+        synchronized (VIEW_LOCK) {
+            view = activeServerView;
+            if (view == null || isStale(view)) {
+                view = refreshActiveServerView(elapsedTimeInSeconds);
+            }
+        }
+        return view;
+    }
+
+    @Override
+    public ActiveServerView refreshActiveServerView(int elapsedTimeInSeconds) throws HeartBeatManagementException {
+        if (!HeartBeatBeaconConfig.getInstance().isEnabled()) {
+            String msg = "Heart Beat Configuration Disabled. Active server information not available.";
+            log.error(msg);
+            throw new HeartBeatManagementException(msg);
+        }
+        Map<String, ServerContext> servers;
+        try {
+            HeartBeatBeaconDAOFactory.openConnection();
+            servers = heartBeatDAO.getActiveServerDetails(elapsedTimeInSeconds);
+        } catch (SQLException e) {
+            String msg = "Error occurred while opening a connection to the underlying data source";
+            log.error(msg, e);
+            throw new HeartBeatManagementException(msg, e);
+        } catch (HeartBeatDAOException e) {
+            String msg = "Error occurred while retrieving active server details.";
+            log.error(msg, e);
+            throw new HeartBeatManagementException(msg, e);
+        } finally {
+            HeartBeatBeaconDAOFactory.closeConnection();
+        }
+        return updateActiveServerView(servers);
+    }
+
+    private ActiveServerView updateActiveServerView(Map<String, ServerContext> servers) {
+        String localServerUUID = HeartBeatBeaconDataHolder.getInstance().getLocalServerUUID();
+        long now = System.currentTimeMillis();
+        synchronized (VIEW_LOCK) {
+            ActiveServerView current = activeServerView;
+            ActiveServerView view;
+            if (current != null && current.hasSameServers(servers)
+                    && (current.getLocalTaskPartition() != null || !servers.containsKey(localServerUUID))) {
+                view = current.refreshedAt(now);
+            } else {
+                long version = current == null ? 1 : current.getVersion() + 1;
+                view = new ActiveServerView(version, servers, resolveTaskPartition(servers, localServerUUID), now);
+                if (log.isDebugEnabled()) {
+                    log.debug("Active servers changed. Version : " + version + ", servers : " + servers.keySet());
+                }
+            }
+            activeServerView = view;
+            return view;
+        }
+    }
+
+    private static boolean isStale(ActiveServerView view) {
+        int frequency = HeartBeatBeaconConfig.getInstance().getNotifierFrequency();
+        if (frequency <= 0) {
+            frequency = DEFAULT_NOTIFIER_FREQUENCY;
+        }
+        return System.currentTimeMillis() - view.getRefreshedTime() > TimeUnit.SECONDS.toMillis(2L * frequency);
+    }
+
+    /**
+     * Resolves the device buckets allocated to a server. Buckets are allocated through the consistent hash ring
+     * unless the bucket count is not configured, in which case the server owns the devices whose id modulo the
+     * active server count matches its hash index.
+     *
+     * @param servers active servers keyed by UUID.
+     * @param serverUUID UUID of the server to resolve the partition of.
+     * @return buckets allocated to the server, or null if the server is not active.
+     */
+    private TaskPartition resolveTaskPartition(Map<String, ServerContext> servers, String serverUUID) {
+        ServerContext serverContext = servers.get(serverUUID);
+        if (serverContext == null) {
+            return null;
+        }
+        HeartBeatBeaconConfig config = HeartBeatBeaconConfig.getInstance();
+        if (config.getPartitionBucketCount() <= 0) {
+            return TaskPartition.ofModulo(servers.size(), serverContext.getIndex());
+        }
+        return getPartitioner(config).getPartition(servers.keySet(), serverUUID);
+    }
+
+    private static ConsistentHashPartitioner getPartitioner(HeartBeatBeaconConfig config) {
+        if (partitioner == null) {
+            synchronized (HeartBeatManagementServiceImpl.class) {
+                if (partitioner == null) {
+                    int virtualNodes = config.getVirtualNodesPerServer() > 0 ? config.getVirtualNodesPerServer()
+                            : HeartBeatBeaconConfig.DEFAULT_VIRTUAL_NODES_PER_SERVER;
+                    partitioner = new ConsistentHashPartitioner(config.getPartitionBucketCount(), virtualNodes);
+                }
+            }
+        }
+        return partitioner;
+    }
 
     private void electCandidate(Map<String, ServerContext> servers) throws HeartBeatDAOException {
         String electedCandidate = getRandomElement(servers.keySet());
@@ -316,10 +409,12 @@ public class HeartBeatManagementServiceImpl implements HeartBeatManagementServic
         if (HeartBeatBeaconConfig.getInstance().isEnabled()) {
             try {
                 HeartBeatBeaconDAOFactory.beginTransaction();
-                if (heartBeatDAO.checkUUIDValidity(event.getServerUUID())) {
-                    operationSuccess = heartBeatDAO.recordHeatBeat(event);
+                // a single update both records the heart beat and tells whether the server UUID exists
+                operationSuccess = heartBeatDAO.recordHeatBeat(event);
+                if (operationSuccess) {
                     HeartBeatBeaconDAOFactory.commitTransaction();
                 } else {
+                    HeartBeatBeaconDAOFactory.rollbackTransaction();
                     String msg = "Server UUID Does not exist, heartbeat not recorded.";
                     log.error(msg);
                     throw new HeartBeatManagementException(msg);
@@ -350,26 +445,8 @@ public class HeartBeatManagementServiceImpl implements HeartBeatManagementServic
         Map<Integer, ServerContext> activeServers = new HashMap<>();
 
         if (HeartBeatBeaconConfig.getInstance().isEnabled()) {
-            try {
-                HeartBeatBeaconDAOFactory.openConnection();
-                int timeOutIntervalInSeconds = HeartBeatBeaconConfig.getInstance().getServerTimeOutIntervalInSeconds();
-                int timeSkew = HeartBeatBeaconConfig.getInstance().getTimeSkew();
-                int cumulativeTimeOut = timeOutIntervalInSeconds + timeSkew;
-                Map<String, ServerContext> serverCtxMap = heartBeatDAO.getActiveServerDetails(cumulativeTimeOut);
-                for (String uuid : serverCtxMap.keySet()) {
-                    ServerContext serverContext = serverCtxMap.get(uuid);
-                    activeServers.put(serverContext.getIndex(), serverContext);
-                }
-            } catch (SQLException e) {
-                String msg = "Error occurred while opening a connection to the underlying data source";
-                log.error(msg, e);
-                throw new HeartBeatManagementException(msg, e);
-            } catch (HeartBeatDAOException e) {
-                String msg = "Error occurred while retrieving active server details.";
-                log.error(msg, e);
-                throw new HeartBeatManagementException(msg, e);
-            } finally {
-                HeartBeatBeaconDAOFactory.closeConnection();
+            for (ServerContext serverContext : getActiveServerView().getServers().values()) {
+                activeServers.put(serverContext.getIndex(), serverContext);
             }
         } else {
             String msg = "Heart Beat Configuration Disabled. Server Context Information Not available.";
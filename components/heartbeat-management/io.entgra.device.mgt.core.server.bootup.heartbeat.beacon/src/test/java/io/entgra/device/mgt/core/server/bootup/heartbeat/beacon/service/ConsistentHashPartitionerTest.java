@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.entgra.device.mgt.core.server.bootup.heartbeat.beacon.service;
+
+import io.entgra.device.mgt.core.device.mgt.common.TaskPartition;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Unit tests for ConsistentHashPartitioner.
+ */
+public class ConsistentHashPartitionerTest {
+
+    private static final int BUCKET_COUNT = 1024;
+    private static final int VIRTUAL_NODES = 32;
+
+    @Test(description = "Every bucket is allocated to exactly one of the active servers")
+    public void testBucketsAllocatedOnce() {
+        ConsistentHashPartitioner partitioner = new ConsistentHashPartitioner(BUCKET_COUNT, VIRTUAL_NODES);
+        List<String> servers = getServers(5);
+        Map<String, TaskPartition> partitions = partitioner.partition(servers);
+        Assert.assertEquals(partitions.size(), servers.size());
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            int owners = 0;
+            for (TaskPartition partition : partitions.values()) {
+                if (partition.ownsBucket(bucket)) {
+                    owners++;
+                }
+            }
+            Assert.assertEquals(owners, 1, "Bucket " + bucket + " is not allocated to a single server");
+        }
+        for (TaskPartition partition : partitions.values()) {
+            Assert.assertTrue(partition.getOwnedBucketCount() > BUCKET_COUNT / servers.size() / 2,
+                    "Buckets are not balanced across the servers: " + partition);
+            Assert.assertTrue(partition.getOwnedBucketCount() < BUCKET_COUNT / servers.size() * 2,
+                    "Buckets are not balanced across the servers: " + partition);
+        }
+    }
+
+    @Test(description = "Every node computes the same allocation regardless of the order of the servers")
+    public void testAllocationIsDeterministic() {
+        List<String> servers = getServers(4);
+        Map<String, TaskPartition> partitions = new ConsistentHashPartitioner(BUCKET_COUNT, VIRTUAL_NODES)
+                .partition(servers);
+        List<String> shuffled = new ArrayList<>(servers);
+        Collections.reverse(shuffled);
+        Assert.assertEquals(new ConsistentHashPartitioner(BUCKET_COUNT, VIRTUAL_NODES).partition(shuffled),
+                partitions);
+        Assert.assertNull(new ConsistentHashPartitioner(BUCKET_COUNT, VIRTUAL_NODES)
+                .getPartition(servers, "unknown-server"));
+    }
+
+    @Test(description = "Only buckets of the joining server change owners when a server joins the cluster")
+    public void testMinimalReshuffleOnJoin() {
+        ConsistentHashPartitioner partitioner = new ConsistentHashPartitioner(BUCKET_COUNT, VIRTUAL_NODES);
+        List<String> servers = getServers(4);
+        Map<String, TaskPartition> before = partitioner.partition(servers);
+        String joiningServer = UUID.nameUUIDFromBytes("joining-server".getBytes()).toString();
+        List<String> joined = new ArrayList<>(servers);
+        joined.add(joiningServer);
+        Map<String, TaskPartition> after = partitioner.partition(joined);
+
+        int moved = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            String previousOwner = getOwner(before, bucket);
+            String currentOwner = getOwner(after, bucket);
+            if (!previousOwner.equals(currentOwner)) {
+                Assert.assertEquals(currentOwner, joiningServer, "Bucket " + bucket + " moved between "
+                        + "servers which were already active");
+                moved++;
+            }
+        }
+        Assert.assertEquals(moved, after.get(joiningServer).getOwnedBucketCount());
+        Assert.assertTrue(moved < BUCKET_COUNT / 2, moved + " buckets moved for a single joining server");
+
+        // leaving restores the previous allocation
+        Assert.assertEquals(partitioner.partition(servers), before);
+    }
+
+    @Test(description = "Devices are allocated to the partitions by the modulo of their ids")
+    public void testTaskPartitionOwnership() {
+        TaskPartition partition = new TaskPartition(16, new int[]{0, 5}, new int[]{2, 9});
+        Assert.assertEquals(partition.getOwnedBucketCount(), 8);
+        Assert.assertTrue(partition.owns(1));
+        Assert.assertTrue(partition.owns(16 * 7 + 9));
+        Assert.assertFalse(partition.owns(3));
+        Assert.assertFalse(partition.owns(16 * 3 + 10));
+        Assert.assertEquals(partition.toString(), "TaskPartition{bucketCount=16, ranges=[0-2, 5-9]}");
+
+        TaskPartition modulo = TaskPartition.ofModulo(3, 1);
+        Assert.assertTrue(modulo.owns(4));
+        Assert.assertFalse(modulo.owns(5));
+    }
+
+    private static String getOwner(Map<String, TaskPartition> partitions, int bucket) {
+        for (Map.Entry<String, TaskPartition> entry : partitions.entrySet()) {
+            if (entry.getValue().ownsBucket(bucket)) {
+                return entry.getKey();
+            }
+        }
+        throw new AssertionError("Bucket " + bucket + " is not allocated");
+    }
+
+    private static List<String> getServers(int count) {
+        List<String> servers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            servers.add(UUID.nameUUIDFromBytes(("server-" + i).getBytes()).toString());
+        }
+        return servers;
+    }
+}
@@ -25,6 +25,8 @@ import io.entgra.device.mgt.core.device.mgt.common.policy.mgt.ProfileFeature;
 import io.entgra.device.mgt.core.policy.decision.point.internal.PolicyDecisionPointDataHolder;
 import io.entgra.device.mgt.core.policy.mgt.common.*;
 import io.entgra.device.mgt.core.policy.mgt.core.PolicyManagerService;
+import io.entgra.device.mgt.core.policy.mgt.core.cache.EffectivePolicyCacheManager;
+import io.entgra.device.mgt.core.policy.mgt.core.cache.impl.EffectivePolicyCacheManagerImpl;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
@@ -57,7 +59,7 @@ public class MergedEvaluationPoint implements PolicyEvaluationPoint {
     public Policy getEffectivePolicy(DeviceIdentifier deviceIdentifier) throws PolicyEvaluationException {
         PIPDevice pipDevice;
         List<Policy> policyList;
-        Policy policy;
+        Policy mergedPolicy;
         try {
             policyManagerService = getPolicyManagerService();
             if (policyManagerService == null) {
@@ -65,16 +67,38 @@ public class MergedEvaluationPoint implements PolicyEvaluationPoint {
             }
             PolicyInformationPoint policyInformationPoint = policyManagerService.getPIP();
             pipDevice = policyInformationPoint.getDeviceData(deviceIdentifier);
-            policyList = policyInformationPoint.getRelatedPolicies(pipDevice);
 
-            if (policyList.size() == 0) {
-                return null;
+            EffectivePolicyCacheManager cacheManager = EffectivePolicyCacheManagerImpl.getInstance();
+            boolean isCacheEnabled = cacheManager.isEnabled();
+            mergedPolicy = isCacheEnabled ? cacheManager.getEffectivePolicy(pipDevice) : null;
+            if (mergedPolicy == null) {
+                long cacheVersion = isCacheEnabled ? cacheManager.getVersion() : 0;
+                policyList = policyInformationPoint.getRelatedPolicies(pipDevice);
+
+                if (policyList.size() == 0) {
+                    return null;
+                }
+
+                mergedPolicy = policyResolve(policyList);
+                String policyIds = "";
+                Collections.sort(policyList);
+                for (Policy appliedPolicy : policyList) {
+                    policyIds += appliedPolicy.getId() + ", ";
+                }
+                policyIds = policyIds.substring(0, policyIds.length() - 2);
+                mergedPolicy.setDescription("This is a system generated effective policy by merging Policy Id : " +
+                        policyIds);
+                // Need to set compliance of the effective policy. Get compliance of first policy using priority order
+                mergedPolicy.setCompliance(policyList.get(0).getCompliance());
+                if (isCacheEnabled) {
+                    cacheManager.addEffectivePolicy(pipDevice, mergedPolicy, cacheVersion);
+                }
             }
 
             // Set effective-policy information
+            Policy policy = new Policy();
             Profile profile = new Profile();
-            policy = policyResolve(policyList);
-            profile.setProfileFeaturesList(policy.getProfile().getProfileFeaturesList());
+            profile.setProfileFeaturesList(new ArrayList<>(mergedPolicy.getProfile().getProfileFeaturesList()));
             policy.setProfile(profile);
             Timestamp currentTimestamp = new Timestamp(Calendar.getInstance().getTime().getTime());
             profile.setCreatedDate(currentTimestamp);
@@ -88,15 +112,8 @@ public class MergedEvaluationPoint implements PolicyEvaluationPoint {
             policy.setActive(true);
             policy.setUpdated(true);
             policy.setTenantId(PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId());
-            String policyIds = "";
-            Collections.sort(policyList);
-            for (Policy appliedPolicy : policyList) {
-                policyIds += appliedPolicy.getId() + ", ";
-            }
-            policyIds = policyIds.substring(0, policyIds.length() - 2);
-            policy.setDescription("This is a system generated effective policy by merging Policy Id : " + policyIds);
-            // Need to set compliance of the effective policy. Get compliance of first policy using priority order
-            policy.setCompliance(policyList.get(0).getCompliance());
+            policy.setDescription(mergedPolicy.getDescription());
+            policy.setCompliance(mergedPolicy.getCompliance());
             // Change default 0 effective policy id to (-1)
             policy.setId(-1);
             return policy;
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.entgra.device.mgt.core.policy.mgt.core.cache;
+
+import io.entgra.device.mgt.core.device.mgt.common.policy.mgt.Policy;
+import io.entgra.device.mgt.core.policy.mgt.common.PIPDevice;
+
+/**
+ * This interface is for caching the merged effective policies. An effective policy only depends on the device type,
+ * ownership, groups, roles and the owner of a device, hence devices which share those attributes share the same cached
+ * policy. Cached policies must be invalidated whenever the policies of the tenant are changed.
+ */
+public interface EffectivePolicyCacheManager {
+
+    /**
+     * This method checks whether effective policy caching is enabled.
+     * @return true if enabled
+     */
+    boolean isEnabled();
+
+    /**
+     * This method returns the cached effective policy for the device.
+     * @param pipDevice - device data retrieved from the policy information point
+     * @return cached policy or null if there is no valid cached policy
+     */
+    Policy getEffectivePolicy(PIPDevice pipDevice);
+
+    /**
+     * This method returns the current cache version of the tenant. The version must be obtained before computing an
+     * effective policy and passed when adding it, so that policies computed concurrently with an invalidation are
+     * discarded.
+     * @return current version
+     */
+    long getVersion();
+
+    /**
+     * This method adds the effective policy of the device to the cache.
+     * @param pipDevice - device data retrieved from the policy information point
+     * @param policy - effective policy
+     * @param version - cache version obtained before computing the policy
+     */
+    void addEffectivePolicy(PIPDevice pipDevice, Policy policy, long version);
+
+    /**
+     * This method removes the cached effective policies of a device type of the tenant.
+     * @param deviceType - device type name
+     */
+    void invalidate(String deviceType);
+
+    /**
+     * This method removes all the cached effective policies of the tenant.
+     */
+    void invalidateAll();
+
+    /**
+     * @return number of lookups served from the cache
+     */
+    long getHitCount();
+
+    /**
+     * @return number of lookups which were not served from the cache
+     */
+    long getMissCount();
+}
@@ -20,6 +20,7 @@
 package io.entgra.device.mgt.core.policy.mgt.core.cache;
 
 import io.entgra.device.mgt.core.device.mgt.common.policy.mgt.Policy;
+import io.entgra.device.mgt.core.policy.mgt.common.PIPDevice;
 import io.entgra.device.mgt.core.policy.mgt.common.PolicyManagementException;
 
 import java.util.List;
@@ -79,6 +80,14 @@ public interface PolicyCacheManager {
      */
     void updatePolicy(int policyId) throws PolicyManagementException;
 
+    /**
+     * This method will reload the given policies from the policy manager and replace them in the cache. Policies which
+     * no longer exist are removed from the cache.
+     * @param policyIds - Ids of the changed policies.
+     * @throws PolicyManagementException
+     */
+    void refreshPolicies(List<Integer> policyIds) throws PolicyManagementException;
+
     /**
      * Remove policy from the cache.
      * @param policyId - Id of the policy to be removed.
@@ -122,4 +131,14 @@ public interface PolicyCacheManager {
      * @throws PolicyManagementException
      */
     List<Policy> getAllPolicies(String policyType) throws PolicyManagementException;
+
+    /**
+     * This method will return the active general policies applicable to a device, ordered by the priority. The
+     * policies are looked up from an index built over the cached policies.
+     *
+     * @param pipDevice - device data retrieved from the policy information point
+     * @return - list of policies
+     * @throws PolicyManagementException
+     */
+    List<Policy> getApplicablePolicies(PIPDevice pipDevice) throws PolicyManagementException;
 }
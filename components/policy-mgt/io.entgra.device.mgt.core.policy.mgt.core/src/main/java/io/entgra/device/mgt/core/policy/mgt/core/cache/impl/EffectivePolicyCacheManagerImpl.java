@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.entgra.device.mgt.core.policy.mgt.core.cache.impl;
+
+import io.entgra.device.mgt.core.device.mgt.common.group.mgt.DeviceGroup;
+import io.entgra.device.mgt.core.device.mgt.common.policy.mgt.CorrectiveAction;
+import io.entgra.device.mgt.core.device.mgt.common.policy.mgt.Policy;
+import io.entgra.device.mgt.core.device.mgt.common.policy.mgt.Profile;
+import io.entgra.device.mgt.core.device.mgt.common.policy.mgt.ProfileFeature;
+import io.entgra.device.mgt.core.device.mgt.core.config.DeviceConfigurationManager;
+import io.entgra.device.mgt.core.device.mgt.core.config.policy.PolicyConfiguration;
+import io.entgra.device.mgt.core.policy.mgt.common.PIPDevice;
+import io.entgra.device.mgt.core.policy.mgt.core.cache.EffectivePolicyCacheManager;
+import io.entgra.device.mgt.core.policy.mgt.core.util.PolicyManagementConstants;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Node local implementation of {@link EffectivePolicyCacheManager}. Cached policies are kept per tenant and device
+ * type so that a policy change only evicts the policies of the affected device type. Entries also expire after
+ * {@link PolicyManagementConstants#EFFECTIVE_POLICY_CACHE_EXPIRY_MILLIS} since policy changes done in other nodes of
+ * the cluster are not notified to this cache. Once a device type holds
+ * {@link PolicyManagementConstants#EFFECTIVE_POLICY_CACHE_MAX_ENTRIES} policies, the least recently used one is evicted.
+ * Policies are copied when they are cached and when they are returned, so that callers can't change the cached ones.
+ */
+public class EffectivePolicyCacheManagerImpl implements EffectivePolicyCacheManager {
+
+    private static final Log log = LogFactory.getLog(EffectivePolicyCacheManagerImpl.class);
+
+    private static volatile EffectivePolicyCacheManagerImpl effectivePolicyCacheManager;
+
+    private final Map<Integer, Map<String, Map<String, CachedPolicy>>> tenantCache = new ConcurrentHashMap<>();
+    private final Map<Integer, AtomicLong> tenantVersions = new ConcurrentHashMap<>();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    private EffectivePolicyCacheManagerImpl() {
+    }
+
+    public static EffectivePolicyCacheManager getInstance() {
+        if (effectivePolicyCacheManager == null) {
+            synchronized (EffectivePolicyCacheManagerImpl.class) {
+                if (effectivePolicyCacheManager == null) {
+                    effectivePolicyCacheManager = new EffectivePolicyCacheManagerImpl();
+                }
+            }
+        }
+        return effectivePolicyCacheManager;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        PolicyConfiguration policyConfiguration = DeviceConfigurationManager.getInstance().getDeviceManagementConfig()
+                .getPolicyConfiguration();
+        return policyConfiguration != null && policyConfiguration.getCacheEnable();
+    }
+
+    @Override
+    public Policy getEffectivePolicy(PIPDevice pipDevice) {
+        Map<String, Map<String, CachedPolicy>> deviceTypeCache = tenantCache.get(getTenantId());
+        Map<String, CachedPolicy> policyCache = deviceTypeCache == null ? null :
+                deviceTypeCache.get(getDeviceType(pipDevice));
+        CachedPolicy cachedPolicy = policyCache == null ? null : policyCache.get(buildKey(pipDevice));
+        if (cachedPolicy != null && !cachedPolicy.isExpired()) {
+            hitCount.incrementAndGet();
+            return copyPolicy(cachedPolicy.policy);
+        }
+        missCount.incrementAndGet();
+        if (log.isDebugEnabled()) {
+            log.debug("Effective policy cache miss for device " + pipDevice.getDeviceIdentifier() + ". Hits : " +
+                    hitCount.get() + ", misses : " + missCount.get());
+        }
+        return null;
+    }
+
+    @Override
+    public long getVersion() {
+        return getTenantVersion(getTenantId()).get();
+    }
+
+    @Override
+    public void addEffectivePolicy(PIPDevice pipDevice, Policy policy, long version) {
+        int tenantId = getTenantId();
+        Map<String, CachedPolicy> policyCache = tenantCache
+                .computeIfAbsent(tenantId, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(getDeviceType(pipDevice), k -> Collections.synchronizedMap(new LruPolicyCache()));
+        policyCache.put(buildKey(pipDevice), new CachedPolicy(copyPolicy(policy)));
+        // An invalidation may have happened while the policy was being computed
+        if (getTenantVersion(tenantId).get() != version) {
+            policyCache.remove(buildKey(pipDevice));
+        }
+    }
+
+    @Override
+    public void invalidate(String deviceType) {
+        int tenantId = getTenantId();
+        getTenantVersion(tenantId).incrementAndGet();
+        Map<String, Map<String, CachedPolicy>> deviceTypeCache = tenantCache.get(tenantId);
+        if (deviceTypeCache != null && deviceType != null) {
+            deviceTypeCache.remove(deviceType.toLowerCase());
+        } else if (deviceTypeCache != null) {
+            deviceTypeCache.clear();
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        int tenantId = getTenantId();
+        getTenantVersion(tenantId).incrementAndGet();
+        tenantCache.remove(tenantId);
+    }
+
+    @Override
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    @Override
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    private AtomicLong getTenantVersion(int tenantId) {
+        return tenantVersions.computeIfAbsent(tenantId, k -> new AtomicLong());
+    }
+
+    private static int getTenantId() {
+        return PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
+    }
+
+    private static String getDeviceType(PIPDevice pipDevice) {
+        return pipDevice.getDeviceType().getName().toLowerCase();
+    }
+
+    /**
+     * Build the cache key from the device attributes which are used when filtering the policies of a device type.
+     * Groups and roles are sorted so that the key does not depend on the order they are retrieved.
+     */
+    private static String buildKey(PIPDevice pipDevice) {
+        List<Integer> groupIds = new ArrayList<>();
+        if (pipDevice.getDeviceGroups() != null) {
+            for (DeviceGroup deviceGroup : pipDevice.getDeviceGroups()) {
+                groupIds.add(deviceGroup.getGroupId());
+            }
+            Collections.sort(groupIds);
+        }
+        List<String> roles = new ArrayList<>();
+        if (pipDevice.getRoles() != null) {
+            for (String role : pipDevice.getRoles()) {
+                roles.add(role.toLowerCase());
+            }
+            Collections.sort(roles);
+        }
+        return pipDevice.getOwnershipType() + "|" + groupIds + "|" + roles + "|" + pipDevice.getUserId();
+    }
+
+    private static Policy copyPolicy(Policy policy) {
+        Policy copy = new Policy();
+        copy.setPolicyPayloadVersion(policy.getPolicyPayloadVersion());
+        copy.setId(policy.getId());
+        copy.setPriorityId(policy.getPriorityId());
+        copy.setProfileId(policy.getProfileId());
+        copy.setPolicyName(policy.getPolicyName());
+        copy.setGeneric(policy.isGeneric());
+        copy.setOwnershipType(policy.getOwnershipType());
+        copy.setActive(policy.isActive());
+        copy.setUpdated(policy.isUpdated());
+        copy.setDescription(policy.getDescription());
+        copy.setCompliance(policy.getCompliance());
+        copy.setTenantId(policy.getTenantId());
+        copy.setPolicyType(policy.getPolicyType());
+        copy.setRoles(copyList(policy.getRoles()));
+        copy.setUsers(copyList(policy.getUsers()));
+        copy.setDevices(copyList(policy.getDevices()));
+        copy.setDeviceGroups(copyList(policy.getDeviceGroups()));
+        copy.setPolicyCriterias(copyList(policy.getPolicyCriterias()));
+        copy.setAttributes(policy.getAttributes() == null ? null : new HashMap<>(policy.getAttributes()));
+        copy.setCorrectiveActions(copyCorrectiveActions(policy.getCorrectiveActions()));
+        if (policy.getProfile() != null) {
+            copy.setProfile(copyProfile(policy.getProfile()));
+        }
+        return copy;
+    }
+
+    private static Profile copyProfile(Profile profile) {
+        Profile copy = new Profile();
+        copy.setProfileId(profile.getProfileId());
+        copy.setProfileName(profile.getProfileName());
+        copy.setTenantId(profile.getTenantId());
+        copy.setDeviceType(profile.getDeviceType());
+        copy.setCreatedDate(copyTimestamp(profile.getCreatedDate()));
+        copy.setUpdatedDate(copyTimestamp(profile.getUpdatedDate()));
+        copy.setProfileFeaturesList(copyProfileFeatures(profile.getProfileFeaturesList()));
+        return copy;
+    }
+
+    private static List<ProfileFeature> copyProfileFeatures(List<ProfileFeature> profileFeatures) {
+        if (profileFeatures == null) {
+            return null;
+        }
+        List<ProfileFeature> copies = new ArrayList<>(profileFeatures.size());
+        for (ProfileFeature profileFeature : profileFeatures) {
+            ProfileFeature copy = new ProfileFeature();
+            copy.setId(profileFeature.getId());
+            copy.setFeatureCode(profileFeature.getFeatureCode());
+            copy.setProfileId(profileFeature.getProfileId());
+            copy.setDeviceType(profileFeature.getDeviceType());
+            copy.setContent(profileFeature.getContent());
+            copy.setCorrectiveActions(copyCorrectiveActions(profileFeature.getCorrectiveActions()));
+            copies.add(copy);
+        }
+        return copies;
+    }
+
+    private static List<CorrectiveAction> copyCorrectiveActions(List<CorrectiveAction> correctiveActions) {
+        if (correctiveActions == null) {
+            return null;
+        }
+        List<CorrectiveAction> copies = new ArrayList<>(correctiveActions.size());
+        for (CorrectiveAction correctiveAction : correctiveActions) {
+            CorrectiveAction copy = new CorrectiveAction();
+            copy.setActionType(correctiveAction.getActionType());
+            copy.setPolicyId(correctiveAction.getPolicyId());
+            copy.setFeatureId(correctiveAction.getFeatureId());
+            copy.setAssociatedGeneralPolicyId(correctiveAction.getAssociatedGeneralPolicyId());
+            copy.setReactive(correctiveAction.isReactive());
+            copy.setOperations(copyProfileFeatures(correctiveAction.getOperations()));
+            copies.add(copy);
+        }
+        return copies;
+    }
+
+    private static <T> List<T> copyList(List<T> list) {
+        return list == null ? null : new ArrayList<>(list);
+    }
+
+    private static Timestamp copyTimestamp(Timestamp timestamp) {
+        return timestamp == null ? null : (Timestamp) timestamp.clone();
+    }
+
+    /**
+     * Policies of a device type in their access order, where the least recently used one is evicted once the
+     * maximum number of entries is exceeded.
+     */
+    private static class LruPolicyCache extends LinkedHashMap<String, CachedPolicy> {
+
+        private static final long serialVersionUID = 1L;
+
+        LruPolicyCache() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedPolicy> eldest) {
+            return size() > PolicyManagementConstants.EFFECTIVE_POLICY_CACHE_MAX_ENTRIES;
+        }
+    }
+
+    private static class CachedPolicy {
+        private final Policy policy;
+        private final long cachedTime;
+
+        CachedPolicy(Policy policy) {
+            this.policy = policy;
+            this.cachedTime = System.currentTimeMillis();
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() - cachedTime >
+                    PolicyManagementConstants.EFFECTIVE_POLICY_CACHE_EXPIRY_MILLIS;
+        }
+    }
+}
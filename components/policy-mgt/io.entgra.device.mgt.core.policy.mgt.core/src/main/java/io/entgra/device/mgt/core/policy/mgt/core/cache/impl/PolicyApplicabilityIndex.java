@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.entgra.device.mgt.core.policy.mgt.core.cache.impl;
+
+import io.entgra.device.mgt.core.device.mgt.common.group.mgt.DeviceGroup;
+import io.entgra.device.mgt.core.device.mgt.common.policy.mgt.DeviceGroupWrapper;
+import io.entgra.device.mgt.core.device.mgt.common.policy.mgt.Policy;
+import io.entgra.device.mgt.core.policy.mgt.common.PIPDevice;
+import io.entgra.device.mgt.core.policy.mgt.core.util.PolicyManagementConstants;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Inverted index over a snapshot of the cached policies. Active general policies are grouped by device type and
+ * for each device type, posting lists are kept for ownership types, roles, users and device groups. Policies which
+ * are not restricted by an attribute (empty or {@link PolicyManagementConstants#ANY}) are kept in a separate wildcard
+ * posting list of that attribute. The applicable policies of a device are then resolved by intersecting the posting
+ * lists of its attributes, which yields the same result as the filters of
+ * {@link io.entgra.device.mgt.core.policy.mgt.core.impl.PolicyFilterImpl} without scanning every policy.
+ * An index is immutable once built and must be rebuilt when the cached policies it is built from are changed.
+ */
+public class PolicyApplicabilityIndex {
+
+    private final String nodeId;
+    private final long version;
+    private final Map<String, DeviceTypeIndex> deviceTypeIndexes = new HashMap<>();
+
+    public PolicyApplicabilityIndex(long version, Collection<Policy> policies) {
+        this(null, version, policies);
+    }
+
+    public PolicyApplicabilityIndex(String nodeId, long version, Collection<Policy> policies) {
+        this.nodeId = nodeId;
+        this.version = version;
+        Map<String, List<Policy>> deviceTypePolicies = new HashMap<>();
+        for (Policy policy : policies) {
+            if (policy.isActive() && PolicyManagementConstants.GENERAL_POLICY_TYPE.equalsIgnoreCase(
+                    policy.getPolicyType()) && policy.getProfile() != null
+                    && policy.getProfile().getDeviceType() != null) {
+                deviceTypePolicies.computeIfAbsent(policy.getProfile().getDeviceType().toLowerCase(),
+                        k -> new ArrayList<>()).add(policy);
+            }
+        }
+        for (Map.Entry<String, List<Policy>> entry : deviceTypePolicies.entrySet()) {
+            Collections.sort(entry.getValue());
+            deviceTypeIndexes.put(entry.getKey(), new DeviceTypeIndex(entry.getValue()));
+        }
+    }
+
+    /**
+     * Checks whether this index is built from the given version of the cached policies.
+     * @param version - version of the cached policies
+     * @return true if the index can be used to look up the cached policies
+     */
+    public boolean isBuiltFrom(long version) {
+        return isBuiltFrom(null, version);
+    }
+
+    /**
+     * Checks whether this index is built from the given version of the cached policies created by the given node.
+     * @param nodeId - ID of the node which created the cached policies
+     * @param version - version of the cached policies
+     * @return true if the index can be used to look up the cached policies
+     */
+    public boolean isBuiltFrom(String nodeId, long version) {
+        return this.version == version && Objects.equals(this.nodeId, nodeId);
+    }
+
+    /**
+     * Returns the active general policies which are applicable to the device, ordered by the priority.
+     * @param pipDevice - device data retrieved from the policy information point
+     * @return list of applicable policies
+     */
+    public List<Policy> getApplicablePolicies(PIPDevice pipDevice) {
+        DeviceTypeIndex index = deviceTypeIndexes.get(pipDevice.getDeviceType().getName().toLowerCase());
+        if (index == null) {
+            return new ArrayList<>();
+        }
+        BitSet matches = new BitSet(index.policies.size());
+        matches.set(0, index.policies.size());
+
+        String ownershipType = pipDevice.getOwnershipType();
+        if (ownershipType != null && !ownershipType.isEmpty()) {
+            matches.and(index.ownershipTypes.lookup(Collections.singletonList(ownershipType.toLowerCase())));
+        }
+        if (pipDevice.getRoles() != null) {
+            List<String> roles = new ArrayList<>();
+            for (String role : pipDevice.getRoles()) {
+                roles.add(role.toLowerCase());
+            }
+            matches.and(index.roles.lookup(roles));
+        }
+        String userId = pipDevice.getUserId();
+        if (userId != null && !userId.isEmpty()) {
+            matches.and(index.users.lookup(Collections.singletonList(userId.toLowerCase())));
+        }
+        List<DeviceGroup> deviceGroups = pipDevice.getDeviceGroups();
+        if (deviceGroups != null && !deviceGroups.isEmpty()) {
+            List<Integer> groupIds = new ArrayList<>();
+            for (DeviceGroup deviceGroup : deviceGroups) {
+                groupIds.add(deviceGroup.getGroupId());
+            }
+            matches.and(index.groups.lookup(groupIds));
+        }
+
+        List<Policy> applicablePolicies = new ArrayList<>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            applicablePolicies.add(index.policies.get(i));
+        }
+        return applicablePolicies;
+    }
+
+    private static class DeviceTypeIndex {
+        private final List<Policy> policies;
+        private final PostingLists<String> ownershipTypes = new PostingLists<>();
+        private final PostingLists<String> roles = new PostingLists<>();
+        private final PostingLists<String> users = new PostingLists<>();
+        private final PostingLists<Integer> groups = new PostingLists<>();
+
+        DeviceTypeIndex(List<Policy> policies) {
+            this.policies = policies;
+            for (int i = 0; i < policies.size(); i++) {
+                Policy policy = policies.get(i);
+
+                String ownershipType = policy.getOwnershipType();
+                if (ownershipType == null || PolicyManagementConstants.ANY.equalsIgnoreCase(ownershipType)) {
+                    ownershipTypes.addWildcard(i);
+                } else {
+                    ownershipTypes.add(ownershipType.toLowerCase(), i);
+                }
+
+                List<String> policyRoles = policy.getRoles();
+                if (policyRoles == null || policyRoles.isEmpty()
+                        || PolicyManagementConstants.ANY.equalsIgnoreCase(policyRoles.get(0))) {
+                    roles.addWildcard(i);
+                } else {
+                    for (String role : policyRoles) {
+                        roles.add(role.toLowerCase(), i);
+                    }
+                }
+
+                List<String> policyUsers = policy.getUsers();
+                if (policyUsers == null || policyUsers.isEmpty()
+                        || policyUsers.contains(PolicyManagementConstants.ANY)) {
+                    users.addWildcard(i);
+                } else {
+                    for (String user : policyUsers) {
+                        users.add(user.toLowerCase(), i);
+                    }
+                }
+
+                List<DeviceGroupWrapper> wrappers = policy.getDeviceGroups();
+                if (wrappers == null || wrappers.isEmpty()
+                        || PolicyManagementConstants.ANY.equalsIgnoreCase(wrappers.get(0).getName())) {
+                    groups.addWildcard(i);
+                } else {
+                    for (DeviceGroupWrapper wrapper : wrappers) {
+                        groups.add(wrapper.getId(), i);
+                    }
+                }
+            }
+        }
+    }
+
+    private static class PostingLists<K> {
+        private final BitSet wildcard = new BitSet();
+        private final Map<K, BitSet> postings = new HashMap<>();
+
+        void addWildcard(int position) {
+            wildcard.set(position);
+        }
+
+        void add(K key, int position) {
+            postings.computeIfAbsent(key, k -> new BitSet()).set(position);
+        }
+
+        BitSet lookup(List<K> keys) {
+            BitSet result = (BitSet) wildcard.clone();
+            for (K key : keys) {
+                BitSet posting = postings.get(key);
+                if (posting != null) {
+                    result.or(posting);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -20,6 +20,7 @@
 package io.entgra.device.mgt.core.policy.mgt.core.cache.impl;
 
 import io.entgra.device.mgt.core.device.mgt.common.policy.mgt.Policy;
+import io.entgra.device.mgt.core.policy.mgt.common.PIPDevice;
 import io.entgra.device.mgt.core.policy.mgt.common.PolicyManagementException;
 import io.entgra.device.mgt.core.policy.mgt.core.cache.PolicyCacheManager;
 import io.entgra.device.mgt.core.policy.mgt.core.mgt.PolicyManager;
@@ -28,20 +29,48 @@ import io.entgra.device.mgt.core.policy.mgt.core.util.PolicyManagementConstants;
 import io.entgra.device.mgt.core.policy.mgt.core.util.PolicyManagerUtil;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
 
 import javax.cache.Cache;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class PolicyCacheManagerImpl implements PolicyCacheManager {
 
     private static final Log log = LogFactory.getLog(PolicyCacheManagerImpl.class);
+    private static final int SNAPSHOT_KEY = 1;
+
+    /**
+     * ID of this node, which is kept in the snapshots created by this node. Versions are only unique within a node,
+     * hence a snapshot is identified by the node ID together with the version.
+     */
+    private static final String NODE_ID = UUID.randomUUID().toString();
+
+    /**
+     * Source of the snapshot versions of this node. Versions only increase, so that a version is never reused by this
+     * node after the snapshot is removed or expired.
+     */
+    private static final AtomicLong versionClock = new AtomicLong();
 
     private static PolicyCacheManagerImpl policyCacheManager;
 
-    private static Cache<Integer, List<Policy>> getPolicyListCache() {
-        return PolicyManagerUtil.getPolicyListCache(PolicyManagementConstants.DM_CACHE_LIST);
+    private final Map<Integer, PolicyApplicabilityIndex> policyIndexes = new ConcurrentHashMap<>();
+
+    private static Cache<Integer, Policy> getPolicyCache() {
+        return PolicyManagerUtil.getPolicyCache(PolicyManagementConstants.DM_CACHE);
+    }
+
+    private static Cache<Integer, PolicyCacheSnapshot> getPolicySnapshotCache() {
+        return PolicyManagerUtil.getPolicySnapshotCache(PolicyManagementConstants.DM_CACHE_SNAPSHOT);
     }
 
     private PolicyCacheManagerImpl() {
@@ -60,28 +89,21 @@ public class PolicyCacheManagerImpl implements PolicyCacheManager {
 
     @Override
     public void addAllPolicies(List<Policy> policies) {
-
-        Cache<Integer, List<Policy>> lCache = getPolicyListCache();
-        lCache.put(1, policies);
+        this.storeAllPolicies(policies);
     }
 
     @Override
     public void updateAllPolicies(List<Policy> policies) {
-
-        Cache<Integer, List<Policy>> lCache = getPolicyListCache();
-        lCache.removeAll();
-        lCache.put(1, policies);
+        this.storeAllPolicies(policies);
     }
 
     @Override
     public List<Policy> getAllPolicies() throws PolicyManagementException {
-        Cache<Integer, List<Policy>> lCache = getPolicyListCache();
-        updateCache(lCache);
+        List<Policy> policies = getPolicies(getSnapshot());
         if (log.isDebugEnabled()) {
-            showDebugLog(lCache);
+            showDebugLog(policies);
         }
-        lCache = getPolicyListCache();
-        return lCache.get(1);
+        return policies;
     }
 
     @Override
@@ -93,95 +115,57 @@ public class PolicyCacheManagerImpl implements PolicyCacheManager {
 
     @Override
     public void removeAllPolicies() {
-
-        Cache<Integer, List<Policy>> lCache = getPolicyListCache();
-        lCache.removeAll();
+        getPolicySnapshotCache().remove(SNAPSHOT_KEY);
+        getPolicyCache().removeAll();
     }
 
     @Override
     public void addPolicy(Policy policy) {
-
-        Cache<Integer, List<Policy>> lCache = getPolicyListCache();
-        if (lCache.containsKey(1)) {
-            List<Policy> cachedPolicy = lCache.get(1);
-
-            for (Policy pol : cachedPolicy) {
-                if (pol.getId() == policy.getId()) {
-                    return;
-                }
-            }
-            cachedPolicy.add(policy);
+        PolicyCacheSnapshot snapshot = getPolicySnapshotCache().get(SNAPSHOT_KEY);
+        if (snapshot != null && !snapshot.containsPolicy(policy.getId())) {
+            applyChanges(Collections.singletonList(policy), Collections.emptyList());
         }
-
     }
 
     @Override
     public void updatePolicy(Policy policy) {
-
-        Cache<Integer, List<Policy>> lCache = getPolicyListCache();
-        if (lCache.containsKey(1)) {
-            List<Policy> cachedPolicy = lCache.get(1);
-            Iterator iterator = cachedPolicy.iterator();
-            while (iterator.hasNext()) {
-                Policy pol = (Policy) iterator.next();
-                if (pol.getId() == policy.getId()) {
-                    iterator.remove();
-                    break;
-                }
-            }
-            cachedPolicy.add(policy);
-            lCache.replace(1, cachedPolicy);
-        }
-
+        applyChanges(Collections.singletonList(policy), Collections.emptyList());
     }
 
     @Override
     public void updatePolicy(int policyId) throws PolicyManagementException {
-
-        Cache<Integer, List<Policy>> lCache = getPolicyListCache();
-        if (lCache.containsKey(1)) {
-            PolicyManager policyManager = new PolicyManagerImpl();
-            Policy policy = policyManager.getPolicy(policyId);
-            this.updatePolicy(policy);
-        }
-
+        this.refreshPolicies(Collections.singletonList(policyId));
     }
 
     @Override
     public void removePolicy(int policyId) {
+        applyChanges(Collections.emptyList(), Collections.singletonList(policyId));
+    }
 
-        Cache<Integer, List<Policy>> lCache = getPolicyListCache();
-        if (lCache.containsKey(1)) {
-            List<Policy> cachedPolicy = lCache.get(1);
-            Iterator iterator = cachedPolicy.iterator();
-            while (iterator.hasNext()) {
-                Policy pol = (Policy) iterator.next();
-                if (pol.getId() == policyId) {
-                    iterator.remove();
-                    break;
-                }
-            }
-            lCache.replace(1, cachedPolicy);
+    @Override
+    public void refreshPolicies(List<Integer> policyIds) throws PolicyManagementException {
+        if (policyIds.isEmpty() || getPolicySnapshotCache().get(SNAPSHOT_KEY) == null) {
+            return;
+        }
+        PolicyManager policyManager = new PolicyManagerImpl();
+        List<Policy> policies = policyManager.getPolicies(policyIds);
+        Set<Integer> removedPolicyIds = new HashSet<>(policyIds);
+        for (Policy policy : policies) {
+            removedPolicyIds.remove(policy.getId());
         }
+        applyChanges(policies, removedPolicyIds);
     }
 
     @Override
     public Policy getPolicy(int policyId) throws PolicyManagementException {
-
-        Cache<Integer, List<Policy>> lCache = getPolicyListCache();
-        if (!lCache.containsKey(1)) {
-            this.removeAllPolicies();
-            this.getAllPolicies();
+        PolicyCacheSnapshot snapshot = getSnapshot();
+        if (!snapshot.containsPolicy(policyId)) {
+            return null;
         }
-
-        Policy policy = null;
-        List<Policy> cachedPolicy = lCache.get(1);
-        Iterator iterator = cachedPolicy.iterator();
-        while (iterator.hasNext()) {
-            Policy pol = (Policy) iterator.next();
-            if (pol.getId() == policyId) {
-                policy = pol;
-            }
+        Policy policy = getPolicyCache().get(policyId);
+        if (policy == null) {
+            List<Policy> policies = loadPolicies(Collections.singletonList(policyId));
+            policy = policies.isEmpty() ? null : policies.get(0);
         }
         return policy;
     }
@@ -203,17 +187,8 @@ public class PolicyCacheManagerImpl implements PolicyCacheManager {
 
     @Override
     public List<Policy> getAllPolicies(String policyType) throws PolicyManagementException {
-        Cache<Integer, List<Policy>> lCache = getPolicyListCache();
-        updateCache(lCache);
-        if (log.isDebugEnabled()) {
-            showDebugLog(lCache);
-        }
-        lCache = getPolicyListCache();
         List<Policy> policyListByType = new ArrayList<>();
-        List<Policy> cachedPolicyList = lCache.get(1);
-        Iterator<Policy> iterator = cachedPolicyList.iterator();
-        while (iterator.hasNext()) {
-            Policy policy = iterator.next();
+        for (Policy policy : getPolicies(getSnapshot())) {
             if (policy.getPolicyType().equals(policyType)) {
                 policyListByType.add(policy);
             }
@@ -221,16 +196,119 @@ public class PolicyCacheManagerImpl implements PolicyCacheManager {
         return policyListByType;
     }
 
-    private void updateCache(Cache<Integer, List<Policy>> lCache) throws PolicyManagementException {
-        if (!lCache.containsKey(1)) {
+    @Override
+    public List<Policy> getApplicablePolicies(PIPDevice pipDevice) throws PolicyManagementException {
+        PolicyCacheSnapshot snapshot = getSnapshot();
+        int tenantId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
+        PolicyApplicabilityIndex policyIndex = policyIndexes.get(tenantId);
+        if (policyIndex == null || !policyIndex.isBuiltFrom(snapshot.getNodeId(), snapshot.getVersion())) {
+            policyIndex = new PolicyApplicabilityIndex(snapshot.getNodeId(), snapshot.getVersion(),
+                    getPolicies(snapshot));
+            policyIndexes.put(tenantId, policyIndex);
+        }
+        return policyIndex.getApplicablePolicies(pipDevice);
+    }
+
+    /**
+     * Returns the cached snapshot of the tenant. All the policies of the tenant are loaded if the snapshot is not
+     * available in the cache.
+     */
+    private PolicyCacheSnapshot getSnapshot() throws PolicyManagementException {
+        PolicyCacheSnapshot snapshot = getPolicySnapshotCache().get(SNAPSHOT_KEY);
+        if (snapshot == null) {
             PolicyManager policyManager = new PolicyManagerImpl();
-            this.addAllPolicies(policyManager.getPolicies());
+            snapshot = this.storeAllPolicies(policyManager.getPolicies());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the cached policies of a snapshot. Policies which have been expired from the cache are reloaded.
+     */
+    private List<Policy> getPolicies(PolicyCacheSnapshot snapshot) throws PolicyManagementException {
+        Map<Integer, Policy> cachedPolicies = getPolicyCache().getAll(snapshot.getPolicyIds());
+        List<Integer> missingPolicyIds = new ArrayList<>();
+        for (Integer policyId : snapshot.getPolicyIds()) {
+            if (cachedPolicies.get(policyId) == null) {
+                missingPolicyIds.add(policyId);
+            }
+        }
+        Map<Integer, Policy> policies = new LinkedHashMap<>(cachedPolicies);
+        if (!missingPolicyIds.isEmpty()) {
+            for (Policy policy : loadPolicies(missingPolicyIds)) {
+                policies.put(policy.getId(), policy);
+            }
+        }
+        List<Policy> policyList = new ArrayList<>(snapshot.getPolicyIds().size());
+        for (Integer policyId : snapshot.getPolicyIds()) {
+            Policy policy = policies.get(policyId);
+            if (policy != null) {
+                policyList.add(policy);
+            }
+        }
+        return policyList;
+    }
+
+    private List<Policy> loadPolicies(List<Integer> policyIds) throws PolicyManagementException {
+        PolicyManager policyManager = new PolicyManagerImpl();
+        List<Policy> policies = policyManager.getPolicies(policyIds);
+        Cache<Integer, Policy> pCache = getPolicyCache();
+        for (Policy policy : policies) {
+            pCache.put(policy.getId(), policy);
+        }
+        return policies;
+    }
+
+    /**
+     * Cache the given policies against their IDs and replace the snapshot with a new version which lists them.
+     */
+    private synchronized PolicyCacheSnapshot storeAllPolicies(List<Policy> policies) {
+        Cache<Integer, Policy> pCache = getPolicyCache();
+        pCache.removeAll();
+        List<Integer> policyIds = new ArrayList<>(policies.size());
+        for (Policy policy : policies) {
+            pCache.put(policy.getId(), policy);
+            policyIds.add(policy.getId());
+        }
+        PolicyCacheSnapshot snapshot = new PolicyCacheSnapshot(NODE_ID, versionClock.incrementAndGet(), policyIds);
+        getPolicySnapshotCache().put(SNAPSHOT_KEY, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Replace the cached entries of the changed policies and the snapshot with a new version. The entries are replaced
+     * before the snapshot, so that anything derived from the previous version is rebuilt after the policies are
+     * changed. The snapshot is replaced only if it has not been changed in the meantime by another node, otherwise it
+     * is removed so that it is reloaded on the next read. Nothing is done if the policies are not cached yet since
+     * they are loaded on the next read.
+     */
+    private synchronized void applyChanges(Collection<Policy> updatedPolicies, Collection<Integer> removedPolicyIds) {
+        Cache<Integer, PolicyCacheSnapshot> sCache = getPolicySnapshotCache();
+        PolicyCacheSnapshot snapshot = sCache.get(SNAPSHOT_KEY);
+        if (snapshot == null) {
+            return;
+        }
+        Cache<Integer, Policy> pCache = getPolicyCache();
+        List<Integer> updatedPolicyIds = new ArrayList<>(updatedPolicies.size());
+        for (Policy policy : updatedPolicies) {
+            pCache.put(policy.getId(), policy);
+            updatedPolicyIds.add(policy.getId());
+        }
+        for (Integer policyId : removedPolicyIds) {
+            pCache.remove(policyId);
+        }
+        PolicyCacheSnapshot updatedSnapshot = snapshot.withChanges(NODE_ID, versionClock.incrementAndGet(),
+                updatedPolicyIds, removedPolicyIds);
+        if (!sCache.replace(SNAPSHOT_KEY, snapshot, updatedSnapshot)) {
+            log.warn("Cached policies have been concurrently modified, hence removing them to reload.");
+            sCache.remove(SNAPSHOT_KEY);
+        } else if (log.isDebugEnabled()) {
+            log.debug("Cached policies are updated to version " + updatedSnapshot.getVersion());
         }
     }
 
-    private void showDebugLog(Cache<Integer, List<Policy>> lCache) {
-        List<Policy> cachedPolicy = lCache.get(1);
-        for (Policy policy : cachedPolicy) {
+    private void showDebugLog(List<Policy> policies) {
+        for (Policy policy : policies) {
             log.debug("Policy id in cache .. : " + policy.getId() + " policy name : " + policy.
                     getPolicyName() + " Activated : " + policy.isActive());
 
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.entgra.device.mgt.core.policy.mgt.core.cache.impl;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable, versioned list of the IDs of the cached policies of a tenant. The policies themselves are cached as
+ * separate entries against their IDs, hence a change of a policy replaces only the entry of that policy and a new
+ * snapshot with a new version. A snapshot is identified by the ID of the node which created it together with the
+ * version, which is only unique within that node. The identity tells whether anything derived from the cached
+ * policies, such as the {@link PolicyApplicabilityIndex}, is still up to date.
+ */
+public class PolicyCacheSnapshot implements Serializable {
+
+    private static final long serialVersionUID = 2960468321245783908L;
+
+    private final String nodeId;
+    private final long version;
+    private final Set<Integer> policyIds;
+
+    public PolicyCacheSnapshot(String nodeId, long version, Collection<Integer> policyIds) {
+        this.nodeId = nodeId;
+        this.version = version;
+        this.policyIds = Collections.unmodifiableSet(new LinkedHashSet<>(policyIds));
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Set<Integer> getPolicyIds() {
+        return policyIds;
+    }
+
+    public boolean containsPolicy(int policyId) {
+        return policyIds.contains(policyId);
+    }
+
+    /**
+     * Creates a snapshot with the given changes.
+     * @param nodeId - ID of the node which creates the new snapshot
+     * @param version - version of the new snapshot
+     * @param updatedPolicyIds - IDs of the policies to be added or replaced
+     * @param removedPolicyIds - IDs of the policies to be removed
+     * @return new snapshot
+     */
+    public PolicyCacheSnapshot withChanges(String nodeId, long version, Collection<Integer> updatedPolicyIds,
+                                           Collection<Integer> removedPolicyIds) {
+        Set<Integer> ids = new LinkedHashSet<>(policyIds);
+        ids.removeAll(removedPolicyIds);
+        ids.addAll(updatedPolicyIds);
+        return new PolicyCacheSnapshot(nodeId, version, ids);
+    }
+
+    /**
+     * Snapshots are compared by the node ID and the version so that conditional replacements in a clustered cache
+     * succeed only when the cached snapshot has not been changed by another node, even if the other node has reached
+     * the same version.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PolicyCacheSnapshot)) {
+            return false;
+        }
+        PolicyCacheSnapshot snapshot = (PolicyCacheSnapshot) o;
+        return version == snapshot.version && Objects.equals(nodeId, snapshot.nodeId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(nodeId, version);
+    }
+}
@@ -156,6 +156,15 @@ public interface PolicyDAO {
 
     List<Policy> getAllPolicies() throws PolicyManagerDAOException;
 
+    /**
+     * This method is used to retrieve the policies of the given IDs.
+     *
+     * @param policyIds IDs of the policies
+     * @return list of policies, policies which do not exist are omitted
+     * @throws PolicyManagerDAOException when there is an error while retrieving the policies
+     */
+    List<Policy> getPolicies(List<Integer> policyIds) throws PolicyManagerDAOException;
+
     List<Policy> getPolicyOfDeviceType(String deviceType) throws PolicyManagerDAOException;
 
     List<Integer> getPolicyIdsOfDevice(Device device) throws PolicyManagerDAOException;
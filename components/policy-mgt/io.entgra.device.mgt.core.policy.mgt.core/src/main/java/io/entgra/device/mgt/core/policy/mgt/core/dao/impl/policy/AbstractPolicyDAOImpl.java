@@ -50,6 +50,7 @@ import java.util.Calendar;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Properties;
+import java.util.StringJoiner;
 
 /**
  * Abstract implementation of PolicyDAO which holds generic SQL queries.
@@ -1097,6 +1098,36 @@ public abstract class AbstractPolicyDAOImpl implements PolicyDAO {
         }
     }
 
+    @Override
+    public List<Policy> getPolicies(List<Integer> policyIds) throws PolicyManagerDAOException {
+        Connection conn;
+        PreparedStatement stmt = null;
+        ResultSet resultSet = null;
+        int tenantId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
+        if (policyIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            conn = this.getConnection();
+            StringJoiner joiner = new StringJoiner(",",
+                    "SELECT * FROM DM_POLICY WHERE TENANT_ID = ? AND ID IN (", ")");
+            policyIds.stream().map(ignored -> "?").forEach(joiner::add);
+            stmt = conn.prepareStatement(joiner.toString());
+            int index = 1;
+            stmt.setInt(index++, tenantId);
+            for (Integer policyId : policyIds) {
+                stmt.setInt(index++, policyId);
+            }
+            resultSet = stmt.executeQuery();
+            return this.extractPolicyListFromDbResult(resultSet, tenantId);
+        } catch (SQLException e) {
+            throw new PolicyManagerDAOException("Error occurred while reading the policies " + policyIds +
+                    " from the database", e);
+        } finally {
+            PolicyManagementDAOUtil.cleanupResources(stmt, resultSet);
+        }
+    }
+
     @Override
     public List<Policy> getPolicyOfDeviceType(String deviceTypeName) throws PolicyManagerDAOException {
         return null;
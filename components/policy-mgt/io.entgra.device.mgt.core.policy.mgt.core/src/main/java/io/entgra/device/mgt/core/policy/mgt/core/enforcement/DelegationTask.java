@@ -19,6 +19,7 @@
 package io.entgra.device.mgt.core.policy.mgt.core.enforcement;
 
 import io.entgra.device.mgt.core.device.mgt.common.Device;
+import io.entgra.device.mgt.core.device.mgt.common.DeviceCursor;
 import io.entgra.device.mgt.core.device.mgt.common.EnrolmentInfo;
 import io.entgra.device.mgt.core.device.mgt.common.exceptions.DeviceManagementException;
 import io.entgra.device.mgt.core.device.mgt.core.config.DeviceConfigurationManager;
@@ -50,7 +51,7 @@ public class DelegationTask extends DynamicPartitionedScheduleTask {
             UpdatedPolicyDeviceListBean updatedPolicyDeviceList = policyManager.applyChangesMadeToPolicies();
             List<String> deviceTypes = updatedPolicyDeviceList.getChangedDeviceTypes();
             if (policyConfiguration.getCacheEnable()) {
-                PolicyCacheManagerImpl.getInstance().rePopulateCache();
+                PolicyCacheManagerImpl.getInstance().refreshPolicies(updatedPolicyDeviceList.getUpdatedPolicyIds());
             }
             if (log.isDebugEnabled()) {
                 log.debug("Number of device types which policies are changed .......... : " + deviceTypes.size());
@@ -58,32 +59,28 @@ public class DelegationTask extends DynamicPartitionedScheduleTask {
             if (!deviceTypes.isEmpty()) {
                 DeviceManagementProviderService service = PolicyManagementDataHolder.getInstance().
                         getDeviceManagementService();
-                List<Device> devices;
-                List<Device> toBeNotified;
                 for (String deviceType : deviceTypes) {
                     try {
-                        devices = new ArrayList<>();
-                        toBeNotified = new ArrayList<>();
-                        if(getTaskContext() != null && getTaskContext().isPartitioningEnabled()){
-                            devices.addAll(service.getAllocatedDevices(deviceType,
-                                                                       getTaskContext().getActiveServerCount(),
-                                                                       getTaskContext().getServerHashIndex()));
-                        } else {
-                            devices.addAll(service.getAllDevices(deviceType, false));
-                        }
-                        for (Device device : devices) {
-                            if (device != null && device.getEnrolmentInfo() != null
-                                && device.getEnrolmentInfo().getStatus() != EnrolmentInfo.Status.REMOVED) {
-                                toBeNotified.add(device);
-                                if (log.isDebugEnabled()) {
-                                    log.debug("Adding policy operation to device : " + device.getDeviceIdentifier());
+                        DeviceCursor cursor = new DeviceCursor(deviceType);
+                        while (cursor.hasNext()) {
+                            updatePartition(cursor);
+                            List<Device> devices = service.getNextDevicePage(cursor);
+                            List<Device> toBeNotified = new ArrayList<>();
+                            for (Device device : devices) {
+                                if (device != null && device.getEnrolmentInfo() != null
+                                    && device.getEnrolmentInfo().getStatus() != EnrolmentInfo.Status.REMOVED) {
+                                    toBeNotified.add(device);
+                                    if (log.isDebugEnabled()) {
+                                        log.debug("Adding policy operation to device : " +
+                                                  device.getDeviceIdentifier());
+                                    }
                                 }
                             }
-                        }
-                        if (!toBeNotified.isEmpty()) {
-                            PolicyEnforcementDelegator enforcementDelegator = new PolicyEnforcementDelegatorImpl(
-                                    toBeNotified, updatedPolicyDeviceList.getUpdatedPolicyIds());
-                            enforcementDelegator.delegate();
+                            if (!toBeNotified.isEmpty()) {
+                                PolicyEnforcementDelegator enforcementDelegator = new PolicyEnforcementDelegatorImpl(
+                                        toBeNotified, updatedPolicyDeviceList.getUpdatedPolicyIds());
+                                enforcementDelegator.delegate();
+                            }
                         }
                     } catch (DeviceManagementException e) {
                         throw new PolicyManagementException("Error occurred while fetching the devices", e);
@@ -50,6 +50,7 @@ import org.wso2.carbon.ntask.core.TaskInfo;
 import org.wso2.carbon.ntask.core.TaskManager;
 import org.wso2.carbon.ntask.core.service.TaskService;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -75,7 +76,7 @@ public class PolicyAdministratorPointImpl implements PolicyAdministratorPoint {
     public Policy addPolicy(Policy policy) throws PolicyManagementException {
         Policy resultantPolicy = policyManager.addPolicy(policy);
         if (policyConfiguration.getCacheEnable()) {
-            PolicyCacheManagerImpl.getInstance().rePopulateCache();
+            PolicyCacheManagerImpl.getInstance().updatePolicy(resultantPolicy.getId());
         }
         return resultantPolicy;
     }
@@ -84,7 +85,7 @@ public class PolicyAdministratorPointImpl implements PolicyAdministratorPoint {
     public Policy updatePolicy(Policy policy) throws PolicyManagementException {
         Policy resultantPolicy = policyManager.updatePolicy(policy);
         if (policyConfiguration.getCacheEnable()) {
-            PolicyCacheManagerImpl.getInstance().rePopulateCache();
+            PolicyCacheManagerImpl.getInstance().updatePolicy(resultantPolicy.getId());
         }
         return resultantPolicy;
     }
@@ -93,7 +94,11 @@ public class PolicyAdministratorPointImpl implements PolicyAdministratorPoint {
     public boolean updatePolicyPriorities(List<Policy> policies) throws PolicyManagementException {
         boolean bool = policyManager.updatePolicyPriorities(policies);
         if (policyConfiguration.getCacheEnable()) {
-            PolicyCacheManagerImpl.getInstance().rePopulateCache();
+            List<Integer> policyIds = new ArrayList<>();
+            for (Policy policy : policies) {
+                policyIds.add(policy.getId());
+            }
+            PolicyCacheManagerImpl.getInstance().refreshPolicies(policyIds);
         }
         return bool;
     }
@@ -102,7 +107,7 @@ public class PolicyAdministratorPointImpl implements PolicyAdministratorPoint {
     public void activatePolicy(int policyId) throws PolicyManagementException {
         policyManager.activatePolicy(policyId);
         if (policyConfiguration.getCacheEnable()) {
-            PolicyCacheManagerImpl.getInstance().rePopulateCache();
+            PolicyCacheManagerImpl.getInstance().updatePolicy(policyId);
         }
     }
 
@@ -110,7 +115,7 @@ public class PolicyAdministratorPointImpl implements PolicyAdministratorPoint {
     public void inactivatePolicy(int policyId) throws PolicyManagementException {
         policyManager.inactivatePolicy(policyId);
         if (policyConfiguration.getCacheEnable()) {
-            PolicyCacheManagerImpl.getInstance().rePopulateCache();
+            PolicyCacheManagerImpl.getInstance().updatePolicy(policyId);
         }
     }
 
@@ -119,7 +124,7 @@ public class PolicyAdministratorPointImpl implements PolicyAdministratorPoint {
         boolean bool = policyManager.deletePolicy(policy);
         if (policyConfiguration.getCacheEnable()) {
             PolicyCacheManager policyCacheManager = PolicyCacheManagerImpl.getInstance();
-            policyCacheManager.rePopulateCache();
+            policyCacheManager.removePolicy(policy.getId());
         }
         return bool;
     }
@@ -129,7 +134,7 @@ public class PolicyAdministratorPointImpl implements PolicyAdministratorPoint {
         boolean bool = policyManager.deletePolicy(policyId);
         if (policyConfiguration.getCacheEnable()) {
             PolicyCacheManager policyCacheManager = PolicyCacheManagerImpl.getInstance();
-            policyCacheManager.rePopulateCache();
+            policyCacheManager.removePolicy(policyId);
         }
         return bool;
     }
@@ -206,7 +211,7 @@ public class PolicyAdministratorPointImpl implements PolicyAdministratorPoint {
             PolicyManagementException {
         policy = policyManager.addPolicyToDevice(deviceIdentifierList, policy);
         if (policyConfiguration.getCacheEnable()) {
-            PolicyCacheManagerImpl.getInstance().rePopulateCache();
+            PolicyCacheManagerImpl.getInstance().updatePolicy(policy.getId());
         }
         return policy;
     }
@@ -215,7 +220,7 @@ public class PolicyAdministratorPointImpl implements PolicyAdministratorPoint {
     public Policy addPolicyToRole(List<String> roleNames, Policy policy) throws PolicyManagementException {
         policy = policyManager.addPolicyToRole(roleNames, policy);
         if (policyConfiguration.getCacheEnable()) {
-            PolicyCacheManagerImpl.getInstance().rePopulateCache();
+            PolicyCacheManagerImpl.getInstance().updatePolicy(policy.getId());
         }
         return policy;
     }
@@ -25,10 +25,13 @@ import io.entgra.device.mgt.core.device.mgt.common.exceptions.DeviceManagementEx
 import io.entgra.device.mgt.core.device.mgt.common.group.mgt.DeviceGroup;
 import io.entgra.device.mgt.core.device.mgt.common.group.mgt.GroupManagementException;
 import io.entgra.device.mgt.core.device.mgt.common.policy.mgt.Policy;
+import io.entgra.device.mgt.core.device.mgt.core.config.DeviceConfigurationManager;
+import io.entgra.device.mgt.core.device.mgt.core.config.policy.PolicyConfiguration;
 import io.entgra.device.mgt.core.device.mgt.core.dto.DeviceType;
 import io.entgra.device.mgt.core.device.mgt.core.service.DeviceManagementProviderService;
 import io.entgra.device.mgt.core.device.mgt.core.service.GroupManagementProviderService;
 import io.entgra.device.mgt.core.policy.mgt.common.*;
+import io.entgra.device.mgt.core.policy.mgt.core.cache.impl.PolicyCacheManagerImpl;
 import io.entgra.device.mgt.core.policy.mgt.core.internal.PolicyManagementDataHolder;
 import io.entgra.device.mgt.core.policy.mgt.core.mgt.FeatureManager;
 import io.entgra.device.mgt.core.policy.mgt.core.mgt.PolicyManager;
@@ -52,12 +55,15 @@ public class PolicyInformationPointImpl implements PolicyInformationPoint {
     private final PolicyManager policyManager;
     private final FeatureManager featureManager;
     private final DeviceManagementProviderService deviceManagementService;
+    private final PolicyConfiguration policyConfiguration;
 
     public PolicyInformationPointImpl() {
         deviceManagementService =
                 PolicyManagementDataHolder.getInstance().getDeviceManagementService();
         policyManager = new PolicyManagerImpl();
         featureManager = new FeatureManagerImpl();
+        policyConfiguration = DeviceConfigurationManager.getInstance().getDeviceManagementConfig()
+                .getPolicyConfiguration();
     }
 
     @Override
@@ -99,6 +105,32 @@ public class PolicyInformationPointImpl implements PolicyInformationPoint {
     @Override
     public List<Policy> getRelatedPolicies(PIPDevice pipDevice) throws PolicyManagementException {
 
+        List<Policy> policies;
+        if (policyConfiguration.getCacheEnable() && pipDevice.getDeviceType() != null) {
+            policies = PolicyCacheManagerImpl.getInstance().getApplicablePolicies(pipDevice);
+        } else {
+            policies = filterRelatedPolicies(pipDevice);
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("No of policies selected for the device type : " + pipDevice.getDeviceType().getName() + " : " +
+                    policies.size());
+            for (Policy policy : policies) {
+                log.debug("Names of selected policy  for above device type : " + policy.getPolicyName());
+            }
+        }
+
+        return policies;
+    }
+
+    @Override
+    public List<Feature> getRelatedFeatures(String deviceType) throws FeatureManagementException {
+        return featureManager.getAllFeatures(deviceType);
+
+    }
+
+    private List<Policy> filterRelatedPolicies(PIPDevice pipDevice) throws PolicyManagementException {
+
         List<Policy> policies = policyManager.getPoliciesOfDeviceType(pipDevice.getDeviceType().getName());
         PolicyFilter policyFilter = new PolicyFilterImpl();
 
@@ -134,24 +166,9 @@ public class PolicyInformationPointImpl implements PolicyInformationPoint {
             }
             policies = policyFilter.filterDeviceGroupsPolicies(groupMap, policies);
         }
-
-        if (log.isDebugEnabled()) {
-            log.debug("No of policies selected for the device type : " + pipDevice.getDeviceType().getName() + " : " +
-                    policies.size());
-            for (Policy policy : policies) {
-                log.debug("Names of selected policy  for above device type : " + policy.getPolicyName());
-            }
-        }
-
         return policies;
     }
 
-    @Override
-    public List<Feature> getRelatedFeatures(String deviceType) throws FeatureManagementException {
-        return featureManager.getAllFeatures(deviceType);
-
-    }
-
     private String[] getRoleOfDevice(Device device) throws PolicyManagementException {
         try {
             UserRealm userRealm = CarbonContext.getThreadLocalCarbonContext().getUserRealm();
@@ -57,6 +57,14 @@ public interface PolicyManager {
 
     List<Policy> getPolicies() throws PolicyManagementException;
 
+    /**
+     * Returns the policies of the given IDs with the same details as {@link #getPolicies()}
+     * @param policyIds IDs of the policies
+     * @return {@link List<Policy>} - list of policies, policies which do not exist are omitted
+     * @throws PolicyManagementException when there is an error while retrieving the policies
+     */
+    List<Policy> getPolicies(List<Integer> policyIds) throws PolicyManagementException;
+
     List<Policy> getPoliciesOfDevice(DeviceIdentifier deviceIdentifier) throws PolicyManagementException;
 
     List<Policy> getPoliciesOfDeviceType(String deviceType) throws PolicyManagementException;
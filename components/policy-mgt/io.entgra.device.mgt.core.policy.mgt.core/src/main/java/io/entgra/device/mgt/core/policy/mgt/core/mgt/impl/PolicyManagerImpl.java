@@ -46,6 +46,7 @@ import io.entgra.device.mgt.core.notification.logger.impl.EntgraPolicyLoggerImpl
 import io.entgra.device.mgt.core.policy.mgt.common.Criterion;
 import io.entgra.device.mgt.core.policy.mgt.common.PolicyManagementException;
 import io.entgra.device.mgt.core.policy.mgt.common.ProfileManagementException;
+import io.entgra.device.mgt.core.policy.mgt.core.cache.impl.EffectivePolicyCacheManagerImpl;
 import io.entgra.device.mgt.core.policy.mgt.core.cache.impl.PolicyCacheManagerImpl;
 import io.entgra.device.mgt.core.policy.mgt.core.dao.FeatureDAO;
 import io.entgra.device.mgt.core.policy.mgt.core.dao.FeatureManagerDAOException;
@@ -161,6 +162,7 @@ public class PolicyManagerImpl implements PolicyManager {
                 policyDAO.activatePolicy(policy.getId());
             }
             PolicyManagementDAOFactory.commitTransaction();
+            this.invalidateEffectivePolicies(policy);
         } catch (PolicyManagerDAOException e) {
             PolicyManagementDAOFactory.rollbackTransaction();
             throw new PolicyManagementException("Error occurred while adding the policy (" +
@@ -311,6 +313,8 @@ public class PolicyManagerImpl implements PolicyManager {
                 updateSingleCorrectiveActionList(policy, previousPolicy);
             }
             PolicyManagementDAOFactory.commitTransaction();
+            this.invalidateEffectivePolicies(previousPolicy);
+            this.invalidateEffectivePolicies(policy);
         } catch (PolicyManagerDAOException e) {
             PolicyManagementDAOFactory.rollbackTransaction();
             throw new PolicyManagementException("Error occurred while updating the policy ("
@@ -332,6 +336,19 @@ public class PolicyManagerImpl implements PolicyManager {
         return policy;
     }
 
+    /**
+     * Evict the cached effective policies which may have been computed using the given policy.
+     * @param policy changed policy, if the device type of the policy is unknown all the cached effective policies of
+     *               the tenant are evicted
+     */
+    private void invalidateEffectivePolicies(Policy policy) {
+        String deviceType = null;
+        if (policy != null && policy.getProfile() != null) {
+            deviceType = policy.getProfile().getDeviceType();
+        }
+        EffectivePolicyCacheManagerImpl.getInstance().invalidate(deviceType);
+    }
+
     /**
      * Using for update old type of corrective policies which has single corrective policy
      * per single general policy
@@ -544,6 +561,7 @@ public class PolicyManagerImpl implements PolicyManager {
             }
             policyDAO.recordUpdatedPolicies(policies);
             PolicyManagementDAOFactory.commitTransaction();
+            EffectivePolicyCacheManagerImpl.getInstance().invalidateAll();
         } catch (PolicyManagerDAOException e) {
             PolicyManagementDAOFactory.rollbackTransaction();
             throw new PolicyManagementException("Error occurred while updating the policy priorities", e);
@@ -566,6 +584,7 @@ public class PolicyManagerImpl implements PolicyManager {
             featureDAO.deleteFeaturesOfProfile(policy.getProfileId());
             profileDAO.deleteProfile(policy.getProfileId());
             PolicyManagementDAOFactory.commitTransaction();
+            this.invalidateEffectivePolicies(policy);
             String stringPayload = new Gson().toJson(policy);
             log.info("Policy deleted", policyLogContextBuilder.setPolicyName(policy.getPolicyName()).setPayload(stringPayload).setActionTag("DELETE_POLICY").setUserName(userName).setTenantID(tenantId).setTenantDomain(tenantDomain).build());
             return true;
@@ -621,6 +640,7 @@ public class PolicyManagerImpl implements PolicyManager {
             featureDAO.deleteFeaturesOfProfile(policy.getProfileId());
             profileDAO.deleteProfile(policy.getProfileId());
             PolicyManagementDAOFactory.commitTransaction();
+            this.invalidateEffectivePolicies(pol);
             String stringPayload = new Gson().toJson(policy);
             log.info("Policy deleted", policyLogContextBuilder.setPolicyName(policy.getPolicyName()).setPayload(stringPayload).setActionTag("DELETE_POLICY").setUserName(userName).setTenantID(tenantId).setTenantDomain(tenantDomain).build());
             return bool;
@@ -648,6 +668,7 @@ public class PolicyManagerImpl implements PolicyManager {
             policyDAO.activatePolicy(policyId);
             policyDAO.recordUpdatedPolicy(policy);
             PolicyManagementDAOFactory.commitTransaction();
+            this.invalidateEffectivePolicies(policy);
         } catch (PolicyManagerDAOException e) {
             PolicyManagementDAOFactory.rollbackTransaction();
             throw new PolicyManagementException("Error occurred while activating the policy. (Id : " + policyId + ")" +
@@ -665,6 +686,7 @@ public class PolicyManagerImpl implements PolicyManager {
             policyDAO.inactivatePolicy(policyId);
             policyDAO.recordUpdatedPolicy(policy);
             PolicyManagementDAOFactory.commitTransaction();
+            this.invalidateEffectivePolicies(policy);
         } catch (PolicyManagerDAOException e) {
             PolicyManagementDAOFactory.rollbackTransaction();
             throw new PolicyManagementException("Error occurred while inactivating the policy. (Id : " + policyId +
@@ -700,6 +722,7 @@ public class PolicyManagerImpl implements PolicyManager {
 
             policy = policyDAO.addPolicyToDevice(deviceList, policy);
             PolicyManagementDAOFactory.commitTransaction();
+            this.invalidateEffectivePolicies(policy);
 
             if (policy.getDevices() != null) {
                 if (log.isDebugEnabled()) {
@@ -734,6 +757,7 @@ public class PolicyManagerImpl implements PolicyManager {
             }
             policy = policyDAO.addPolicyToRole(roleNames, policy);
             PolicyManagementDAOFactory.commitTransaction();
+            this.invalidateEffectivePolicies(policy);
 
             if (policy.getRoles() != null) {
                 if (log.isDebugEnabled()) {
@@ -765,6 +789,7 @@ public class PolicyManagerImpl implements PolicyManager {
             }
             policy = policyDAO.addPolicyToUser(usernameList, policy);
             PolicyManagementDAOFactory.commitTransaction();
+            this.invalidateEffectivePolicies(policy);
 
             if (policy.getRoles() != null) {
                 if (log.isDebugEnabled()) {
@@ -919,6 +944,49 @@ public class PolicyManagerImpl implements PolicyManager {
         return policyList;
     }
 
+    @Override
+    public List<Policy> getPolicies(List<Integer> policyIds) throws PolicyManagementException {
+        List<Policy> policyList;
+        try {
+            PolicyManagementDAOFactory.openConnection();
+            policyList = policyDAO.getPolicies(policyIds);
+        } catch (PolicyManagerDAOException e) {
+            throw new PolicyManagementException("Error occurred while getting the policies " + policyIds, e);
+        } catch (SQLException e) {
+            throw new PolicyManagementException("Error occurred while opening a connection to the data source", e);
+        } finally {
+            PolicyManagementDAOFactory.closeConnection();
+        }
+
+        List<Profile> profileList = new ArrayList<>();
+        try {
+            for (Policy policy : policyList) {
+                profileList.add(profileManager.getProfile(policy.getProfileId()));
+            }
+        } catch (ProfileManagementException e) {
+            throw new PolicyManagementException("Error occurred while getting the profiles of policies " +
+                    policyIds, e);
+        }
+        try {
+            PolicyManagementDAOFactory.openConnection();
+            this.buildPolicyList(policyList, profileList);
+        } catch (PolicyManagerDAOException e) {
+            throw new PolicyManagementException("Error occurred while getting the policies " + policyIds, e);
+        } catch (SQLException e) {
+            throw new PolicyManagementException("Error occurred while opening a connection to the data source", e);
+        } catch (GroupManagementException e) {
+            throw new PolicyManagementException("Error occurred while getting device groups.", e);
+        } finally {
+            PolicyManagementDAOFactory.closeConnection();
+        }
+
+        // Following is done because connection close has been implemented in every method.
+        for (Policy policy : policyList) {
+            policy.setDevices(this.getPolicyAppliedDevicesIds(policy.getId()));
+        }
+        return policyList;
+    }
+
     @Override
     public List<Policy> getPoliciesOfDevice(DeviceIdentifier deviceIdentifier) throws PolicyManagementException {
         List<Integer> policyIdList;
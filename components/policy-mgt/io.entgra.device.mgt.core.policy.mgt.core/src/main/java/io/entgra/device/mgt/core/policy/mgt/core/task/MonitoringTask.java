@@ -19,6 +19,7 @@
 package io.entgra.device.mgt.core.policy.mgt.core.task;
 
 import io.entgra.device.mgt.core.device.mgt.common.Device;
+import io.entgra.device.mgt.core.device.mgt.common.DeviceCursor;
 import io.entgra.device.mgt.core.device.mgt.common.EnrolmentInfo;
 import io.entgra.device.mgt.core.device.mgt.common.policy.mgt.PolicyMonitoringManager;
 import io.entgra.device.mgt.core.device.mgt.common.policy.mgt.monitor.PolicyComplianceException;
@@ -104,15 +105,16 @@ public class MonitoringTask extends DynamicPartitionedScheduleTask {
                     PolicyMonitoringManager monitoringService =
                             PolicyManagementDataHolder.getInstance().getDeviceManagementService()
                                     .getPolicyMonitoringManager(deviceType);
-                    List<Device> devices;
-                    if (getTaskContext() != null && getTaskContext().isPartitioningEnabled()) {
-                        devices = deviceManagementProviderService
-                                .getAllocatedDevices(deviceType, getTaskContext().getActiveServerCount(),
-                                        getTaskContext().getServerHashIndex());
-                    } else {
-                        devices = deviceManagementProviderService.getAllDevices(deviceType, false);
+                    if (monitoringService == null) {
+                        continue;
                     }
-                    if (monitoringService != null && !devices.isEmpty()) {
+                    DeviceCursor cursor = new DeviceCursor(deviceType);
+                    while (cursor.hasNext()) {
+                        updatePartition(cursor);
+                        List<Device> devices = deviceManagementProviderService.getNextDevicePage(cursor);
+                        if (devices.isEmpty()) {
+                            break;
+                        }
                         List<Device> notifiableDevices = new ArrayList<>();
                         if (log.isDebugEnabled()) {
                             log.debug("TID:[" + tenant + "] Removing inactive and blocked devices from " +
@@ -39,8 +39,10 @@ public final class PolicyManagementConstants {
     public static final String MONITORING_TASK_CLAZZ = "io.entgra.device.mgt.core.policy.mgt.core.task.MonitoringTask";
 
     public static final String DM_CACHE_MANAGER = "DM_CACHE_MANAGER";
-    // public static final String DM_CACHE = "DM_CACHE";
-    public static final String DM_CACHE_LIST = "DM_CACHE_LIST";
+    public static final String DM_CACHE = "DM_CACHE";
+    public static final String DM_CACHE_SNAPSHOT = "DM_CACHE_SNAPSHOT";
+    public static final long EFFECTIVE_POLICY_CACHE_EXPIRY_MILLIS = 5 * 60 * 1000L;
+    public static final int EFFECTIVE_POLICY_CACHE_MAX_ENTRIES = 10000;
 
     public static final String DELEGATION_TASK_TYPE = "DELEGATION__TASK";
     public static final String DELEGATION_TASK_NAME = "DELEGATION";
@@ -37,6 +37,7 @@ import io.entgra.device.mgt.core.device.mgt.core.operation.mgt.ProfileOperation;
 import io.entgra.device.mgt.core.policy.mgt.common.PolicyAdministratorPoint;
 import io.entgra.device.mgt.core.policy.mgt.common.PolicyManagementException;
 import io.entgra.device.mgt.core.policy.mgt.common.PolicyTransformException;
+import io.entgra.device.mgt.core.policy.mgt.core.cache.impl.PolicyCacheSnapshot;
 import io.entgra.device.mgt.core.policy.mgt.core.config.datasource.DataSourceConfig;
 import io.entgra.device.mgt.core.policy.mgt.core.config.datasource.JNDILookupDefinition;
 import io.entgra.device.mgt.core.policy.mgt.core.dao.util.PolicyManagementDAOUtil;
@@ -380,10 +381,10 @@ public class PolicyManagerUtil {
                 Caching.getCacheManager().<Integer, Policy>getCache(name);
     }
 
-    public static Cache<Integer, List<Policy>> getPolicyListCache(String name) {
+    public static Cache<Integer, PolicyCacheSnapshot> getPolicySnapshotCache(String name) {
         CacheManager manager = getCacheManager();
-        return (manager != null) ? manager.<Integer, List<Policy>>getCache(name) :
-                Caching.getCacheManager().<Integer, List<Policy>>getCache(name);
+        return (manager != null) ? manager.<Integer, PolicyCacheSnapshot>getCache(name) :
+                Caching.getCacheManager().<Integer, PolicyCacheSnapshot>getCache(name);
     }
 
     private static CacheManager getCacheManager() {
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.entgra.device.mgt.core.policy.mgt.core.cache;
+
+import io.entgra.device.mgt.core.device.mgt.common.policy.mgt.Policy;
+import io.entgra.device.mgt.core.device.mgt.common.policy.mgt.Profile;
+import io.entgra.device.mgt.core.device.mgt.common.policy.mgt.ProfileFeature;
+import io.entgra.device.mgt.core.device.mgt.core.dto.DeviceType;
+import io.entgra.device.mgt.core.policy.mgt.common.PIPDevice;
+import io.entgra.device.mgt.core.policy.mgt.core.cache.impl.EffectivePolicyCacheManagerImpl;
+import io.entgra.device.mgt.core.policy.mgt.core.util.PolicyManagementConstants;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class tests whether {@link EffectivePolicyCacheManagerImpl} isolates the cached policies from the callers and
+ * evicts the least recently used policies.
+ */
+public class EffectivePolicyCacheManagerTest {
+
+    @Test(description = "Check whether changes made to a returned policy don't change the cached policy")
+    public void testCachedPolicyIsCopied() {
+        EffectivePolicyCacheManager cacheManager = EffectivePolicyCacheManagerImpl.getInstance();
+        PIPDevice pipDevice = createDevice("copy-type", "alice");
+        Policy policy = createPolicy("{\"enabled\":true}");
+        cacheManager.addEffectivePolicy(pipDevice, policy, cacheManager.getVersion());
+        policy.getProfile().getProfileFeaturesList().get(0).setContent("{\"enabled\":false}");
+
+        Policy cachedPolicy = cacheManager.getEffectivePolicy(pipDevice);
+        Assert.assertNotNull(cachedPolicy);
+        Assert.assertEquals(cachedPolicy.getProfile().getProfileFeaturesList().get(0).getContent(),
+                "{\"enabled\":true}");
+        cachedPolicy.getProfile().getProfileFeaturesList().get(0).setContent("{\"enabled\":false}");
+        cachedPolicy.getProfile().getProfileFeaturesList().add(new ProfileFeature());
+        cachedPolicy.setDescription("Changed");
+
+        Policy policyServedNext = cacheManager.getEffectivePolicy(pipDevice);
+        Assert.assertNotSame(policyServedNext, cachedPolicy);
+        Assert.assertEquals(policyServedNext.getProfile().getProfileFeaturesList().size(), 1);
+        Assert.assertEquals(policyServedNext.getProfile().getProfileFeaturesList().get(0).getContent(),
+                "{\"enabled\":true}");
+        Assert.assertEquals(policyServedNext.getDescription(), "Effective policy");
+    }
+
+    @Test(description = "Check whether the least recently used policy is evicted when the cache is full")
+    public void testLeastRecentlyUsedPolicyEvicted() {
+        EffectivePolicyCacheManager cacheManager = EffectivePolicyCacheManagerImpl.getInstance();
+        long version = cacheManager.getVersion();
+        PIPDevice firstDevice = createDevice("lru-type", "user0");
+        cacheManager.addEffectivePolicy(firstDevice, createPolicy("{}"), version);
+        for (int i = 1; i < PolicyManagementConstants.EFFECTIVE_POLICY_CACHE_MAX_ENTRIES; i++) {
+            cacheManager.addEffectivePolicy(createDevice("lru-type", "user" + i), createPolicy("{}"), version);
+        }
+        Assert.assertNotNull(cacheManager.getEffectivePolicy(firstDevice), "Policy is evicted before the cache is full");
+
+        cacheManager.addEffectivePolicy(createDevice("lru-type", "overflow"), createPolicy("{}"), version);
+        Assert.assertNotNull(cacheManager.getEffectivePolicy(firstDevice), "Recently used policy is evicted");
+        Assert.assertNull(cacheManager.getEffectivePolicy(createDevice("lru-type", "user1")),
+                "Least recently used policy is not evicted");
+        Assert.assertNotNull(cacheManager.getEffectivePolicy(createDevice("lru-type", "user2")),
+                "More than the least recently used policy is evicted");
+        Assert.assertNotNull(cacheManager.getEffectivePolicy(createDevice("lru-type", "overflow")));
+    }
+
+    private static Policy createPolicy(String content) {
+        ProfileFeature profileFeature = new ProfileFeature();
+        profileFeature.setFeatureCode("CAMERA");
+        profileFeature.setContent(content);
+        List<ProfileFeature> profileFeatures = new ArrayList<>();
+        profileFeatures.add(profileFeature);
+        Profile profile = new Profile();
+        profile.setProfileFeaturesList(profileFeatures);
+        Policy policy = new Policy();
+        policy.setProfile(profile);
+        policy.setDescription("Effective policy");
+        return policy;
+    }
+
+    private static PIPDevice createDevice(String deviceType, String user) {
+        PIPDevice pipDevice = new PIPDevice();
+        pipDevice.setDeviceType(new DeviceType(deviceType));
+        pipDevice.setOwnershipType("BYOD");
+        pipDevice.setRoles(new String[]{"admin"});
+        pipDevice.setUserId(user);
+        return pipDevice;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.entgra.device.mgt.core.policy.mgt.core.cache;
+
+import io.entgra.device.mgt.core.device.mgt.common.group.mgt.DeviceGroup;
+import io.entgra.device.mgt.core.device.mgt.common.policy.mgt.DeviceGroupWrapper;
+import io.entgra.device.mgt.core.device.mgt.common.policy.mgt.Policy;
+import io.entgra.device.mgt.core.device.mgt.common.policy.mgt.Profile;
+import io.entgra.device.mgt.core.device.mgt.core.dto.DeviceType;
+import io.entgra.device.mgt.core.policy.mgt.common.PIPDevice;
+import io.entgra.device.mgt.core.policy.mgt.common.PolicyFilter;
+import io.entgra.device.mgt.core.policy.mgt.core.cache.impl.PolicyApplicabilityIndex;
+import io.entgra.device.mgt.core.policy.mgt.core.impl.PolicyFilterImpl;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class tests whether {@link PolicyApplicabilityIndex} selects the same policies as {@link PolicyFilterImpl}.
+ */
+public class PolicyApplicabilityIndexTest {
+
+    private final List<Policy> policies = new ArrayList<>();
+    private PolicyApplicabilityIndex policyIndex;
+
+    @BeforeClass
+    public void init() {
+        policies.add(createPolicy(1, 3, "android", "BYOD", Collections.emptyList(),
+                Collections.emptyList(), Collections.emptyList()));
+        policies.add(createPolicy(2, 1, "android", "COPE", Arrays.asList("admin", "Internal/devicemgt-user"),
+                Collections.emptyList(), Collections.emptyList()));
+        policies.add(createPolicy(3, 2, "android", null, Collections.singletonList("ANY"),
+                Collections.singletonList("Alice"), Collections.emptyList()));
+        policies.add(createPolicy(4, 4, "android", "ANY", Collections.emptyList(),
+                Collections.singletonList("ANY"), Collections.singletonList(createGroup(10))));
+        policies.add(createPolicy(5, 5, "ios", "BYOD", Collections.emptyList(),
+                Collections.emptyList(), Collections.emptyList()));
+        Policy inactivePolicy = createPolicy(6, 6, "android", "BYOD", Collections.emptyList(),
+                Collections.emptyList(), Collections.emptyList());
+        inactivePolicy.setActive(false);
+        policies.add(inactivePolicy);
+        policyIndex = new PolicyApplicabilityIndex(1, policies);
+    }
+
+    @Test(description = "Look up policies of devices with different attributes")
+    public void testApplicablePolicies() {
+        assertSameAsFilters(createDevice("android", "BYOD", new String[]{"admin"}, "alice", 10));
+        assertSameAsFilters(createDevice("android", "COPE", new String[]{"INTERNAL/devicemgt-user"}, "bob", 11));
+        assertSameAsFilters(createDevice("android", "COPE", new String[]{}, "bob", 10));
+        assertSameAsFilters(createDevice("ios", "BYOD", new String[]{"admin"}, "alice", 10));
+        Assert.assertTrue(policyIndex.getApplicablePolicies(
+                createDevice("windows", "BYOD", new String[]{"admin"}, "alice", 10)).isEmpty());
+    }
+
+    @Test(description = "Check whether the index detects a changed version of the cached policies")
+    public void testIsBuiltFrom() {
+        Assert.assertTrue(policyIndex.isBuiltFrom(1));
+        Assert.assertFalse(policyIndex.isBuiltFrom(2));
+    }
+
+    private void assertSameAsFilters(PIPDevice pipDevice) {
+        PolicyFilter policyFilter = new PolicyFilterImpl();
+        List<Policy> expected = new ArrayList<>();
+        for (Policy policy : policies) {
+            if (policy.getProfile().getDeviceType().equalsIgnoreCase(pipDevice.getDeviceType().getName())) {
+                expected.add(policy);
+            }
+        }
+        Collections.sort(expected);
+        expected = policyFilter.filterActivePolicies(expected);
+        expected = policyFilter.filterGeneralPolicies(expected);
+        expected = policyFilter.filterOwnershipTypeBasedPolicies(pipDevice.getOwnershipType(), expected);
+        expected = policyFilter.filterRolesBasedPolicies(pipDevice.getRoles(), expected);
+        expected = policyFilter.filterUserBasedPolicies(pipDevice.getUserId(), expected);
+        Map<Integer, DeviceGroup> groupMap = new HashMap<>();
+        for (DeviceGroup deviceGroup : pipDevice.getDeviceGroups()) {
+            groupMap.put(deviceGroup.getGroupId(), deviceGroup);
+        }
+        expected = policyFilter.filterDeviceGroupsPolicies(groupMap, expected);
+        Assert.assertEquals(policyIndex.getApplicablePolicies(pipDevice), expected);
+    }
+
+    private static Policy createPolicy(int id, int priority, String deviceType, String ownershipType,
+                                       List<String> roles, List<String> users, List<DeviceGroupWrapper> groups) {
+        Profile profile = new Profile();
+        profile.setDeviceType(deviceType);
+        Policy policy = new Policy();
+        policy.setId(id);
+        policy.setPriorityId(priority);
+        policy.setPolicyName("Policy_" + id);
+        policy.setPolicyType("GENERAL");
+        policy.setActive(true);
+        policy.setProfile(profile);
+        policy.setOwnershipType(ownershipType);
+        policy.setRoles(roles);
+        policy.setUsers(users);
+        policy.setDeviceGroups(groups);
+        return policy;
+    }
+
+    private static DeviceGroupWrapper createGroup(int groupId) {
+        DeviceGroupWrapper wrapper = new DeviceGroupWrapper();
+        wrapper.setId(groupId);
+        wrapper.setName("Group_" + groupId);
+        return wrapper;
+    }
+
+    private static PIPDevice createDevice(String deviceType, String ownershipType, String[] roles, String user,
+                                          int groupId) {
+        DeviceGroup deviceGroup = new DeviceGroup();
+        deviceGroup.setGroupId(groupId);
+        PIPDevice pipDevice = new PIPDevice();
+        pipDevice.setDeviceType(new DeviceType(deviceType));
+        pipDevice.setOwnershipType(ownershipType);
+        pipDevice.setRoles(roles);
+        pipDevice.setUserId(user);
+        pipDevice.setDeviceGroups(Collections.singletonList(deviceGroup));
+        return pipDevice;
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2018 - 2023, Entgra (Pvt) Ltd. (http://www.entgra.io) All Rights Reserved.
+ *
+ * Entgra (Pvt) Ltd. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.entgra.device.mgt.core.policy.mgt.core.cache;
+
+import io.entgra.device.mgt.core.device.mgt.common.policy.mgt.Policy;
+import io.entgra.device.mgt.core.device.mgt.common.policy.mgt.Profile;
+import io.entgra.device.mgt.core.device.mgt.common.policy.mgt.ProfileFeature;
+import io.entgra.device.mgt.core.policy.mgt.core.BasePolicyManagementDAOTest;
+import io.entgra.device.mgt.core.policy.mgt.core.cache.impl.PolicyCacheManagerImpl;
+import io.entgra.device.mgt.core.policy.mgt.core.cache.impl.PolicyCacheSnapshot;
+import io.entgra.device.mgt.core.policy.mgt.core.mgt.impl.PolicyManagerImpl;
+import io.entgra.device.mgt.core.policy.mgt.core.mock.TypeXDeviceManagementService;
+import io.entgra.device.mgt.core.policy.mgt.core.util.PolicyManagementConstants;
+import io.entgra.device.mgt.core.policy.mgt.core.util.PolicyManagerUtil;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+
+import javax.cache.Cache;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * This class tests whether {@link PolicyCacheManagerImpl} replaces the cached snapshot with a new version when the
+ * cached policies are changed.
+ */
+public class PolicyCacheManagerTest extends BasePolicyManagementDAOTest {
+
+    private static final String DEVICE_TYPE = "cacheDeviceType";
+    private static final int SNAPSHOT_KEY = 1;
+    private static final int MISSING_POLICY_ID = 100001;
+
+    private PolicyCacheManager policyCacheManager;
+
+    @BeforeClass
+    public void init() throws Exception {
+        super.initializeServices();
+        deviceMgtService.registerDeviceType(new TypeXDeviceManagementService(DEVICE_TYPE));
+        policyCacheManager = PolicyCacheManagerImpl.getInstance();
+    }
+
+    @AfterClass
+    public void cleanUp() {
+        policyCacheManager.removeAllPolicies();
+    }
+
+    @Test(description = "Check whether updating a policy replaces the snapshot with a new version")
+    public void testUpdatePolicy() {
+        policyCacheManager.addAllPolicies(Arrays.asList(createPolicy(1, "policy1"), createPolicy(2, "policy2")));
+        PolicyCacheSnapshot snapshot = getSnapshot();
+
+        policyCacheManager.updatePolicy(createPolicy(2, "policy2-updated"));
+        PolicyCacheSnapshot updatedSnapshot = getSnapshot();
+        Assert.assertNotNull(updatedSnapshot, "Snapshot is removed instead of being replaced");
+        Assert.assertNotEquals(updatedSnapshot, snapshot);
+        Assert.assertEquals(updatedSnapshot.getNodeId(), snapshot.getNodeId());
+        Assert.assertTrue(updatedSnapshot.getVersion() > snapshot.getVersion());
+        Assert.assertEquals(updatedSnapshot.getPolicyIds(), new HashSet<>(Arrays.asList(1, 2)));
+        Assert.assertEquals(getCachedPolicy(2).getPolicyName(), "policy2-updated");
+
+        policyCacheManager.updatePolicy(createPolicy(3, "policy3"));
+        Assert.assertEquals(getSnapshot().getPolicyIds(), new HashSet<>(Arrays.asList(1, 2, 3)));
+    }
+
+    @Test(description = "Check whether removing a policy replaces the snapshot with a new version without the policy")
+    public void testRemovePolicy() {
+        policyCacheManager.addAllPolicies(Arrays.asList(createPolicy(1, "policy1"), createPolicy(2, "policy2")));
+        PolicyCacheSnapshot snapshot = getSnapshot();
+
+        policyCacheManager.removePolicy(1);
+        PolicyCacheSnapshot updatedSnapshot = getSnapshot();
+        Assert.assertNotNull(updatedSnapshot, "Snapshot is removed instead of being replaced");
+        Assert.assertTrue(updatedSnapshot.getVersion() > snapshot.getVersion());
+        Assert.assertEquals(updatedSnapshot.getPolicyIds(), Collections.singleton(2));
+        Assert.assertNull(getCachedPolicy(1), "Removed policy is still cached");
+    }
+
+    @Test(description = "Check whether refreshing policies reloads the existing policies and removes the deleted ones")
+    public void testRefreshPolicies() throws Exception {
+        Policy policy = new PolicyManagerImpl().addPolicy(createPolicy(0, "cachedPolicy"));
+        policyCacheManager.addAllPolicies(Arrays.asList(createPolicy(policy.getId(), "stalePolicy"),
+                createPolicy(MISSING_POLICY_ID, "deletedPolicy")));
+        PolicyCacheSnapshot snapshot = getSnapshot();
+
+        policyCacheManager.refreshPolicies(Arrays.asList(policy.getId(), MISSING_POLICY_ID));
+        PolicyCacheSnapshot updatedSnapshot = getSnapshot();
+        Assert.assertNotNull(updatedSnapshot, "Snapshot is removed instead of being replaced");
+        Assert.assertTrue(updatedSnapshot.getVersion() > snapshot.getVersion());
+        Assert.assertEquals(updatedSnapshot.getPolicyIds(), Collections.singleton(policy.getId()));
+        Assert.assertEquals(getCachedPolicy(policy.getId()).getPolicyName(), "cachedPolicy");
+        Assert.assertNull(getCachedPolicy(MISSING_POLICY_ID), "Deleted policy is still cached");
+    }
+
+    @Test(description = "Check whether refreshing policies does nothing when the policies are not cached yet")
+    public void testRefreshPoliciesWithoutSnapshot() throws Exception {
+        policyCacheManager.removeAllPolicies();
+        policyCacheManager.refreshPolicies(Collections.singletonList(MISSING_POLICY_ID));
+        Assert.assertNull(getSnapshot(), "Snapshot is created by a refresh");
+    }
+
+    @Test(description = "Check whether snapshots of the same version created by different nodes are not equal")
+    public void testSnapshotsOfDifferentNodes() {
+        policyCacheManager.addAllPolicies(Collections.singletonList(createPolicy(1, "policy1")));
+        PolicyCacheSnapshot snapshot = getSnapshot();
+        PolicyCacheSnapshot otherNodeSnapshot = new PolicyCacheSnapshot("other-node", snapshot.getVersion(),
+                snapshot.getPolicyIds());
+        Assert.assertNotEquals(otherNodeSnapshot, snapshot);
+        Assert.assertEquals(new PolicyCacheSnapshot(snapshot.getNodeId(), snapshot.getVersion(),
+                Collections.emptyList()), snapshot);
+
+        Assert.assertFalse(PolicyManagerUtil.getPolicySnapshotCache(PolicyManagementConstants.DM_CACHE_SNAPSHOT)
+                .replace(SNAPSHOT_KEY, otherNodeSnapshot, otherNodeSnapshot.withChanges("other-node",
+                        snapshot.getVersion() + 1, Collections.emptyList(), Collections.singletonList(1))),
+                "Snapshot created by this node is replaced by a change made to the snapshot of another node");
+        Assert.assertEquals(getSnapshot().getPolicyIds(), Collections.singleton(1));
+    }
+
+    private PolicyCacheSnapshot getSnapshot() {
+        return PolicyManagerUtil.getPolicySnapshotCache(PolicyManagementConstants.DM_CACHE_SNAPSHOT)
+                .get(SNAPSHOT_KEY);
+    }
+
+    private Policy getCachedPolicy(int policyId) {
+        Cache<Integer, Policy> cache = PolicyManagerUtil.getPolicyCache(PolicyManagementConstants.DM_CACHE);
+        return cache.get(policyId);
+    }
+
+    private Policy createPolicy(int policyId, String policyName) {
+        int tenantId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
+        Profile profile = new Profile();
+        profile.setTenantId(tenantId);
+        profile.setCreatedDate(new Timestamp(System.currentTimeMillis()));
+        profile.setUpdatedDate(new Timestamp(System.currentTimeMillis()));
+        profile.setDeviceType(DEVICE_TYPE);
+        profile.setProfileName(policyName + "-profile");
+        List<ProfileFeature> profileFeatures = new ArrayList<>();
+        ProfileFeature profileFeature = new ProfileFeature();
+        profileFeature.setContent("{'enable':'true'}");
+        profileFeature.setDeviceType(DEVICE_TYPE);
+        profileFeature.setFeatureCode("DISALLOW_ADJUST_VOLUME");
+        profileFeatures.add(profileFeature);
+        profile.setProfileFeaturesList(profileFeatures);
+
+        Policy policy = new Policy();
+        policy.setId(policyId);
+        policy.setPolicyName(policyName);
+        policy.setDescription(policyName);
+        policy.setProfile(profile);
+        policy.setOwnershipType("BYOD");
+        policy.setActive(false);
+        policy.setRoles(new ArrayList<>());
+        policy.setUsers(new ArrayList<>());
+        policy.setDevices(new ArrayList<>());
+        policy.setCompliance(PolicyManagementConstants.ENFORCE);
+        policy.setPolicyType(PolicyManagementConstants.GENERAL_POLICY_TYPE);
+        policy.setTenantId(tenantId);
+        return policy;
+    }
+}